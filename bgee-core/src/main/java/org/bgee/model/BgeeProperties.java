@@ -283,6 +283,39 @@ public class BgeeProperties {
      * @see #TOP_ANAT_RESULTS_WRITING_DIRECTORY_KEY
      */
     public final static String TOP_ANAT_RESULTS_WRITING_DIRECTORY_DEFAULT = "topanat/results/";
+    /**
+     * A {@code String} that is the key to access to the System property that contains 
+     * the maximum number of TopAnat analyses of a same job run concurrently. If equals to 1,
+     * the analyses of a job are run sequentially.
+     * 
+     * @see #TOP_ANAT_MAX_CONCURRENT_ANALYSES_DEFAULT
+     */
+    public final static String TOP_ANAT_MAX_CONCURRENT_ANALYSES_KEY = 
+            "org.bgee.core.topAnatMaxConcurrentAnalyses";
+    /**
+     * An {@code int} that is the default value of the maximum number of TopAnat analyses
+     * of a same job run concurrently.
+     * 
+     * @see #TOP_ANAT_MAX_CONCURRENT_ANALYSES_KEY
+     */
+    public final static int TOP_ANAT_MAX_CONCURRENT_ANALYSES_DEFAULT = 4;
+    /**
+     * A {@code String} that is the key to access to the System property that defines 
+     * whether the locks on TopAnat files should also be OS-level file locks, so that 
+     * several JVMs can safely share a same results directory.
+     * 
+     * @see #TOP_ANAT_USE_FILE_LOCKS_DEFAULT
+     * @see ManageReadWriteLocks
+     */
+    public final static String TOP_ANAT_USE_FILE_LOCKS_KEY = 
+            "org.bgee.core.topAnatUseFileLocks";
+    /**
+     * A {@code boolean} that is the default value defining whether the locks 
+     * on TopAnat files should also be OS-level file locks.
+     * 
+     * @see #TOP_ANAT_USE_FILE_LOCKS_KEY
+     */
+    public final static boolean TOP_ANAT_USE_FILE_LOCKS_DEFAULT = false;
    
     //Jobs
     /**
@@ -300,6 +333,43 @@ public class BgeeProperties {
      */
     public final static int MAX_JOB_COUNT_PER_USER_DEFAULT = 0;
 
+    //Data access
+    /**
+     * A {@code String} that is the key to access to the System property that contains 
+     * the number of {@code TransferObject}s retrieved per batch when prefetching 
+     * the results of large queries in a background thread (see 
+     * {@link org.bgee.model.dao.api.PrefetchingDAOResultSet}). If equals to 0, 
+     * results are not prefetched.
+     * 
+     * @see #DAO_RESULT_SET_PREFETCH_BATCH_SIZE_DEFAULT
+     */
+    public final static String DAO_RESULT_SET_PREFETCH_BATCH_SIZE_KEY = 
+            "org.bgee.core.daoResultSetPrefetchBatchSize";
+    /**
+     * An {@code int} that is the default value of the number of {@code TransferObject}s 
+     * retrieved per batch when prefetching results. Prefetching is disabled by default.
+     * 
+     * @see #DAO_RESULT_SET_PREFETCH_BATCH_SIZE_KEY
+     */
+    public final static int DAO_RESULT_SET_PREFETCH_BATCH_SIZE_DEFAULT = 0;
+    /**
+     * A {@code String} that is the key to access to the System property that contains 
+     * the path to the file storing the homology relations between genes, generated 
+     * by the pipeline (see {@link org.bgee.model.gene.GeneHomologyIndex}). If not set, 
+     * or if the file was generated from another release, the homology relations 
+     * are queried to the database.
+     * 
+     * @see #HOMOLOGY_INDEX_FILE_DEFAULT
+     */
+    public final static String HOMOLOGY_INDEX_FILE_KEY = "org.bgee.core.homologyIndexFile";
+    /**
+     * A {@code String} that is the default value of the path to the file storing 
+     * the homology relations between genes. No file is used by default.
+     * 
+     * @see #HOMOLOGY_INDEX_FILE_KEY
+     */
+    public final static String HOMOLOGY_INDEX_FILE_DEFAULT = null;
+
     /**
      * A {@code String} that is the key to access to the System property that is read at the 
      * initialization of {@code BgeeProperties} to set the FTP server root directory. 
@@ -983,9 +1053,21 @@ public class BgeeProperties {
         topAnatResultsWritingDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
                 TOP_ANAT_RESULTS_WRITING_DIRECTORY_KEY,
                 TOP_ANAT_RESULTS_WRITING_DIRECTORY_DEFAULT);
+        topAnatMaxConcurrentAnalyses = getIntegerOption(prop, SYS_PROPS, FILE_PROPS, 
+                TOP_ANAT_MAX_CONCURRENT_ANALYSES_KEY,
+                TOP_ANAT_MAX_CONCURRENT_ANALYSES_DEFAULT);
+        topAnatUseFileLocks = getBooleanOption(prop, SYS_PROPS, FILE_PROPS, 
+                TOP_ANAT_USE_FILE_LOCKS_KEY,
+                TOP_ANAT_USE_FILE_LOCKS_DEFAULT);
         maxJobCountPerUser = getIntegerOption(prop, SYS_PROPS, FILE_PROPS, 
                 MAX_JOB_COUNT_PER_USER_KEY,
                 MAX_JOB_COUNT_PER_USER_DEFAULT);
+        daoResultSetPrefetchBatchSize = getIntegerOption(prop, SYS_PROPS, FILE_PROPS, 
+                DAO_RESULT_SET_PREFETCH_BATCH_SIZE_KEY,
+                DAO_RESULT_SET_PREFETCH_BATCH_SIZE_DEFAULT);
+        homologyIndexFile = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
+                HOMOLOGY_INDEX_FILE_KEY,
+                HOMOLOGY_INDEX_FILE_DEFAULT);
         ftpRootDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
                 FTP_ROOT_DIRECTORY_KEY, FTP_ROOT_DIRECTORY_DEFAULT);
         downloadRootDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
@@ -1117,11 +1199,27 @@ public class BgeeProperties {
      * @see #topAnatCallerWorkingDirectory
      */ 
     private final String topAnatResultsWritingDirectory;
+    /**
+     * @see #getTopAnatMaxConcurrentAnalyses()
+     */
+    private final int topAnatMaxConcurrentAnalyses;
+    /**
+     * @see #isTopAnatUseFileLocks()
+     */
+    private final boolean topAnatUseFileLocks;
     
     /**
      * @see #getMaxJobCountPerUser()
      */
     private final int maxJobCountPerUser; 
+    /**
+     * @see #getDaoResultSetPrefetchBatchSize()
+     */
+    private final int daoResultSetPrefetchBatchSize;
+    /**
+     * @see #getHomologyIndexFile()
+     */
+    private final String homologyIndexFile;
     /**
      * A {@code String} that defines the root directory where is the FTP server, 
      * to be added to the {@code bgeeRootDirectory} to generate URL of the FTP server.
@@ -1312,6 +1410,21 @@ public class BgeeProperties {
     public String getTopAnatResultsWritingDirectory() {
         return topAnatResultsWritingDirectory;
     }
+    /**
+     * @return  An {@code int} that is the maximum number of TopAnat analyses of a same job
+     *          run concurrently. If equals to 1, the analyses of a job are run sequentially.
+     */
+    public int getTopAnatMaxConcurrentAnalyses() {
+        return topAnatMaxConcurrentAnalyses;
+    }
+    /**
+     * @return  A {@code boolean} defining whether the locks on TopAnat files should also be 
+     *          OS-level file locks, so that several JVMs can safely share a same 
+     *          results directory.
+     */
+    public boolean isTopAnatUseFileLocks() {
+        return topAnatUseFileLocks;
+    }
 
     //Jobs
     /**
@@ -1322,6 +1435,23 @@ public class BgeeProperties {
         return maxJobCountPerUser;
     }
 
+    //Data access
+    /**
+     * @return  An {@code int} that is the number of {@code TransferObject}s retrieved 
+     *          per batch when prefetching the results of large queries in a background 
+     *          thread. If equals to 0, results are not prefetched.
+     */
+    public int getDaoResultSetPrefetchBatchSize() {
+        return daoResultSetPrefetchBatchSize;
+    }
+    /**
+     * @return  A {@code String} that is the path to the file storing the homology relations 
+     *          between genes, generated by the pipeline. {@code null} if no file is used.
+     */
+    public String getHomologyIndexFile() {
+        return homologyIndexFile;
+    }
+
     /**
      * @return  A {@code String} that defines the FTP root directory, to be added to the 
      *          {@code bgeeRootDirectory} to generate URL of FTP server.
@@ -49,7 +49,6 @@ import org.bgee.model.dao.api.gene.GeneDAO.GeneTO;
 import org.bgee.model.dao.api.source.SourceToSpeciesDAO.SourceToSpeciesTO;
 import org.bgee.model.dao.api.source.SourceToSpeciesDAO.SourceToSpeciesTO.InfoType;
 import org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTO;
-import org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTOResultSet;
 import org.bgee.model.expressiondata.baseelements.DataType;
 import org.bgee.model.expressiondata.call.CallService;
 import org.bgee.model.expressiondata.call.Condition;
@@ -309,6 +308,21 @@ public class CommonService extends Service {
         return log.traceExit(geneDAO.getGeneBioTypes()
                 .stream().collect(Collectors.toMap(to -> to.getId(), to -> mapGeneBioTypeTOToGeneBioType(to))));
     }
+    /**
+     * Loads all {@code GeneBioType}s through the {@code RequestCache} shared by the {@code Service}s
+     * obtained from the same {@code ServiceFactory}, so that they are queried only once
+     * (see {@link #getRequestCache(String, Function)}).
+     *
+     * @param geneDAO   The {@code GeneDAO} to use to retrieve the gene biotypes.
+     * @return          A {@code Map} where keys are {@code Integer}s that are IDs of gene biotypes,
+     *                  the associated value being the corresponding {@code GeneBioType}.
+     */
+    protected Map<Integer, GeneBioType> loadSharedGeneBioTypeMap(GeneDAO geneDAO) {
+        log.traceEntry("{}", geneDAO);
+        RequestCache<Integer, GeneBioType> cache = this.getRequestCache("geneBioTypes",
+                ids -> loadGeneBioTypeMap(geneDAO));
+        return log.traceExit(cache.loadAll());
+    }
     protected static GeneBioType mapGeneBioTypeTOToGeneBioType(GeneBioTypeTO geneBioTypeTO) {
         log.traceEntry("{}", geneBioTypeTO);
         return log.traceExit(new GeneBioType(geneBioTypeTO.getName()));
@@ -444,30 +458,46 @@ public class CommonService extends Service {
     protected Map<Integer, Species> loadSpeciesMap(Set<Integer> speciesIds, boolean withSpeciesSourceInfo,
             Map<Integer, Source> sourceMap) {
         log.traceEntry("{}, {}, {}", speciesIds, withSpeciesSourceInfo, sourceMap);
-        return log.traceExit(this.loadSpecies(
-                ids -> this.getDaoManager().getSpeciesDAO().getSpeciesByIds(ids, null),
+        return log.traceExit(this.loadSpecies(ids -> this.loadSpeciesTOsByIds(ids),
                 speciesIds, withSpeciesSourceInfo, sourceMap)
                 .stream().collect(Collectors.toMap(s -> s.getId(), s -> s)));
     }
+    /**
+     * Loads {@code SpeciesTO}s by species IDs through the {@code RequestCache} shared
+     * by the {@code Service}s obtained from the same {@code ServiceFactory}, so that a species
+     * is queried only once (see {@link #getRequestCache(String, Function)}).
+     *
+     * @param speciesIds    A {@code Set} of {@code Integer}s that are IDs of species to load.
+     *                      If {@code null} or empty, all species are loaded.
+     * @return              A {@code Stream} of the {@code SpeciesTO}s found.
+     */
+    protected Stream<SpeciesTO> loadSpeciesTOsByIds(Set<Integer> speciesIds) {
+        log.traceEntry("{}", speciesIds);
+        RequestCache<Integer, SpeciesTO> cache = this.getRequestCache("speciesTOs",
+                ids -> this.getDaoManager().getSpeciesDAO().getSpeciesByIds(ids, null).stream()
+                .collect(Collectors.toMap(to -> to.getId(), to -> to)));
+        return log.traceExit((speciesIds == null || speciesIds.isEmpty()? cache.loadAll():
+            cache.load(speciesIds)).values().stream());
+    }
     /**
      * @param daoCall           A {@code Function} accepting a {@code Set} of {@code Integer}s
      *                          that are, in our case, IDs of species or of taxa, and returning
-     *                          a {@code SpeciesTOResultSet}, by calling, in our case, a method
-     *                          of {@code SpeciesDAO} to retrieve species either by species IDs
-     *                          or taxon IDs.
+     *                          a {@code Stream} of {@code SpeciesTO}s, by calling, in our case,
+     *                          a method of {@code SpeciesDAO} to retrieve species either
+     *                          by species IDs or taxon IDs.
      * @param speOrTaxIds
      * @param withSpeciesSourceInfo
      * @return
      * @throws DAOException
      * @throws QueryInterruptedException
      */
-    protected Set<Species> loadSpecies(Function<Set<Integer>, SpeciesTOResultSet> daoCall,
+    protected Set<Species> loadSpecies(Function<Set<Integer>, Stream<SpeciesTO>> daoCall,
             Collection<Integer> speOrTaxIds, boolean withSpeciesSourceInfo,
             Map<Integer, Source> sourceMap) throws DAOException, QueryInterruptedException {
         log.traceEntry("{}, {}, {}, {}", daoCall, speOrTaxIds, withSpeciesSourceInfo, sourceMap);
 
         Set<Integer> filteredIds = speOrTaxIds == null? new HashSet<>(): new HashSet<>(speOrTaxIds);
-        Set<SpeciesTO> speciesTOs = daoCall.apply(filteredIds).stream().collect(Collectors.toSet());
+        Set<SpeciesTO> speciesTOs = daoCall.apply(filteredIds).collect(Collectors.toSet());
         Set<Integer> sourceIds = new HashSet<>();
         Set<Integer> speciesIds = new HashSet<>();
         for (SpeciesTO speciesTO: speciesTOs) {
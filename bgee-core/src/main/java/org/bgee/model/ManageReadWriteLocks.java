@@ -1,32 +1,215 @@
 package org.bgee.model;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Manages read and write locks on files, identified by their name. Locks are shared
+ * by all instances of this class in a JVM.
+ * <p>
+ * Each file name is associated to a lock entry, counting the number of threads
+ * holding or waiting for its lock: the entry is created when the count goes from 0 to 1,
+ * and removed when it goes back to 0, atomically, so that there is no need to check
+ * whether a lock acquired is still in use.
+ * <p>
+ * Locks can be acquired with a timeout (see {@link #tryAcquireLock(String, boolean, long, TimeUnit)}),
+ * and several locks can be acquired at once, always in the same order to avoid deadlocks
+ * (see {@link #acquireLocks(Collection, Collection)}). Contention is monitored
+ * through static counters (see for instance {@link #getContendedAcquisitionCount()}).
+ * <p>
+ * If requested at instantiation, locks also acquire OS-level file locks, on a file named
+ * after the locked file, with the extension {@link #LOCK_FILE_EXTENSION}, so that
+ * several JVMs can safely share a same directory. These lock files are not deleted,
+ * as it is not possible to know whether another JVM is using them.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 14
+ */
 public class ManageReadWriteLocks {
 
-    private final static Logger log = LogManager.getLogger(ManageReadWriteLocks.class.getName()); 
+    private final static Logger log = LogManager.getLogger(ManageReadWriteLocks.class.getName());
 
     /**
-     * A {@code ConcurrentMap} that contains the locks on files that are currently read or written
+     * A {@code String} that is the extension appended to the name of a locked file
+     * to obtain the file used for OS-level file locks.
      */
-    private final static ConcurrentMap<String, ReentrantReadWriteLock> readWriteLocks =
-            new ConcurrentHashMap<String, ReentrantReadWriteLock>();
+    public final static String LOCK_FILE_EXTENSION = ".lock";
+    /**
+     * A {@code long} that is the interval in milliseconds between two attempts
+     * to acquire an OS-level file lock, when a timeout is used.
+     */
+    private final static long FILE_LOCK_POLLING_INTERVAL_MILLIS = 50;
+
+    /**
+     * An entry associated to a file name, holding the lock on this file.
+     */
+    private static class LockEntry {
+        private final ReentrantReadWriteLock lock;
+        /**
+         * An {@code int} that is the number of threads holding or waiting for
+         * {@link #lock}. Only modified when computing the value associated to
+         * this entry in {@link #lockEntries}.
+         */
+        private int refCount;
+        //Following attributes are only accessed while holding the monitor of the entry
+        /**
+         * An {@code int} that is the number of holders of {@link #fileLock}.
+         */
+        private int fileLockHolderCount;
+        private FileChannel fileChannel;
+        private FileLock fileLock;
+
+        private LockEntry() {
+            this.lock = new ReentrantReadWriteLock(true);
+            this.refCount = 0;
+            this.fileLockHolderCount = 0;
+        }
+    }
+
+    /**
+     * A {@code ConcurrentMap} that contains the lock entries of files that are currently
+     * read or written, or waited for.
+     */
+    private final static ConcurrentMap<String, LockEntry> lockEntries = new ConcurrentHashMap<>();
+
+    private final static AtomicLong acquisitionCount = new AtomicLong(0);
+    private final static AtomicLong contendedAcquisitionCount = new AtomicLong(0);
+    private final static AtomicLong waitTimeNanos = new AtomicLong(0);
+    private final static AtomicLong timeoutCount = new AtomicLong(0);
+
+    /**
+     * @return  A {@code long} that is the number of locks acquired or requested
+     *          since the class was loaded.
+     */
+    public static long getAcquisitionCount() {
+        return acquisitionCount.get();
+    }
+    /**
+     * @return  A {@code long} that is the number of lock requests that could not
+     *          be satisfied immediately since the class was loaded.
+     */
+    public static long getContendedAcquisitionCount() {
+        return contendedAcquisitionCount.get();
+    }
+    /**
+     * @return  A {@code long} that is the total time in milliseconds spent waiting
+     *          for locks since the class was loaded.
+     */
+    public static long getTotalWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.get());
+    }
+    /**
+     * @return  A {@code long} that is the number of lock requests that timed out
+     *          since the class was loaded.
+     */
+    public static long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+    /**
+     * @return  An {@code int} that is the number of files currently locked or waited for.
+     */
+    public static int getLockedFileCount() {
+        return lockEntries.size();
+    }
 
+    /**
+     * Locks acquired at once through {@link ManageReadWriteLocks#acquireLocks(Collection, Collection)},
+     * released when calling {@link #close()}.
+     */
+    public final class FileLocks implements AutoCloseable {
+        /**
+         * A {@code Map} where keys are the names of the locked files, in the order
+         * the locks were acquired, the associated value being {@code true}
+         * for a read lock, {@code false} for a write lock.
+         */
+        private final Map<String, Boolean> fileNamesToReadLock;
+        private boolean released;
+
+        private FileLocks(Map<String, Boolean> fileNamesToReadLock) {
+            this.fileNamesToReadLock = Collections.unmodifiableMap(fileNamesToReadLock);
+            this.released = false;
+        }
+
+        /**
+         * @return  A {@code Map} where keys are the names of the locked files,
+         *          the associated value being {@code true} for a read lock,
+         *          {@code false} for a write lock.
+         */
+        public Map<String, Boolean> getFileNamesToReadLock() {
+            return fileNamesToReadLock;
+        }
+
+        /**
+         * Releases the locks, in the reverse order of their acquisition.
+         * Calling this method several times has no effect.
+         */
+        @Override
+        public void close() {
+            log.traceEntry();
+            if (this.released) {
+                log.traceExit();
+                return;
+            }
+            this.released = true;
+            List<Entry<String, Boolean>> entries = new ArrayList<>(
+                    this.fileNamesToReadLock.entrySet());
+            Collections.reverse(entries);
+            for (Entry<String, Boolean> entry: entries) {
+                ManageReadWriteLocks.this.releaseLock(entry.getKey(), entry.getValue());
+            }
+            log.traceExit();
+        }
+    }
+
+    /**
+     * @see #isUseFileLocks()
+     */
+    private final boolean useFileLocks;
+
+    /**
+     * Default constructor, not using OS-level file locks.
+     */
     public ManageReadWriteLocks() {
+        this(false);
+    }
+    /**
+     * @param useFileLocks  A {@code boolean} defining whether locks acquired
+     *                      through this object should also acquire OS-level file locks.
+     */
+    public ManageReadWriteLocks(boolean useFileLocks) {
+        this.useFileLocks = useFileLocks;
     }
 
- // *************************************************
+    // *************************************************
     // FILE LOCKING
     // *************************************************
     /**
-     * Acquires a write lock corresponding to the {@code fileName} by
+     * Acquires a read lock corresponding to the {@code fileName} by
      * calling the {@link #acquireLock(String, boolean)} method
-     * 
+     *
      * @param fileName
      *            a {@code String} corresponding to the fileName to acquire
      *            the read lock.
@@ -41,14 +224,14 @@ public class ManageReadWriteLocks {
     /**
      * Acquires a write lock corresponding to the {@code fileName} by
      * calling the {@link #acquireLock(String, boolean)} method
-     * 
+     *
      * @param fileName
      *            a {@code String} corresponding to the fileName to acquire
      *            the write lock.
      * @see #acquireLock(String, boolean)
      */
     public void acquireWriteLock(String fileName) {
-        log.traceEntry(fileName);
+        log.traceEntry("{}", fileName);
         this.acquireLock(fileName, false);
         log.traceExit();
     }
@@ -56,196 +239,383 @@ public class ManageReadWriteLocks {
     /**
      * Releases the write lock corresponding to the {@code fileName} by
      * calling the {@link #releaseLock(String, boolean)} method
-     * 
+     *
      * @param fileName
      *            a {@code String} corresponding to the fileName to release
      *            the write lock
      * @see #releaseLock(String, boolean)
      */
     public void releaseWriteLock(String fileName) {
-        log.traceEntry(fileName);
+        log.traceEntry("{}", fileName);
         this.releaseLock(fileName, false);
         log.traceExit();
     }
 
+    /**
+     * Releases the read lock corresponding to the {@code fileName} by
+     * calling the {@link #releaseLock(String, boolean)} method
+     *
+     * @param fileName
+     *            a {@code String} corresponding to the fileName to release
+     *            the read lock
+     * @see #releaseLock(String, boolean)
+     */
+    public void releaseReadLock(String fileName) {
+        log.traceEntry("{}", fileName);
+        this.releaseLock(fileName, true);
+        log.traceExit();
+    }
+
     /**
      * Method to acquire a lock on a file, corresponding to the param
-     * {@code fileName}
-     * 
+     * {@code fileName}, waiting as long as necessary.
+     *
      * @param fileName
      *            a {@code String} corresponding to the fileName to
-     *            retrieve the lock from {@code readWriteLocks}
+     *            acquire the lock for.
      * @param readLock
      *            {@code true} if a read lock should be acquired.
-     *            {@code false} if it should be a read lock
-     * @see #readWriteLocks
-     */
-    public void acquireLock(String fileName, boolean readLock) {
-        log.traceEntry(fileName,readLock);
-
-        ReentrantReadWriteLock lock = this.getReadWriteLock(fileName);
-
-        if (readLock) {
-            lock.readLock().lock();
-        } else {
-            lock.writeLock().lock();
-        }
-        // {@code removeLockIfPossible(String)} determines whether the lock
-        // could be removed
-        // from the {@code ConcurrentHashMap} {@code readWriteLocks}.
-        // The problem is that {@code removeLockIfPossible(String)} could
-        // remove the lock from the map,
-        // AFTER this method acquire a lock and put it in the map
-        // (this.getReadWriteLock(this.getGeneratedKey())),
-        // but BEFORE actually locking it (lock.readLock().lock()).
-        // To solve this issue, this method will test after locking the lock
-        // whether it is still in the map,
-        // or whether the element present in the map is equal to the "locked"
-        // lock.
-        // If it is not, it will call again
-        // {@code getReadWriteLock(String)}
-        // to generate a new lock to be put in the map, or to obtain the lock
-        // generated by another thread.
-        while (readWriteLocks.get(fileName) == null
-                || !readWriteLocks.get(fileName).equals(lock)) {
-
-            lock = this.getReadWriteLock(fileName);
-            if (readLock) {
-                lock.readLock().lock();
-            } else {
-                lock.writeLock().lock();
-            }
+     *            {@code false} if it should be a write lock
+     * @throws IllegalStateException If an OS-level file lock was requested and could not
+     *                               be acquired.
+     */
+    public void acquireLock(String fileName, boolean readLock) throws IllegalStateException {
+        log.traceEntry("{}, {}", fileName, readLock);
+        try {
+            this.acquireLock(fileName, readLock, -1);
+        } catch (InterruptedException e) {
+            //cannot happen when waiting without timeout
+            Thread.currentThread().interrupt();
+            throw log.throwing(new IllegalStateException(e));
         }
         log.traceExit();
     }
 
     /**
-     * Releases the read lock corresponding to the {@code fileName} by
-     * calling the {@link #releaseLock(String, boolean)} method
-     * 
-     * @param fileName
-     *            a {@code String} corresponding to the fileName to release
-     *            the read lock
-     * @see #releaseLock(String, boolean)
+     * Method to acquire a lock on a file, corresponding to the param {@code fileName},
+     * waiting at most {@code timeout}.
+     *
+     * @param fileName  A {@code String} corresponding to the fileName to acquire the lock for.
+     * @param readLock  {@code true} if a read lock should be acquired,
+     *                  {@code false} if it should be a write lock
+     * @param timeout   A {@code long} that is the maximum time to wait for the lock.
+     * @param unit      The {@code TimeUnit} of {@code timeout}.
+     * @return          {@code true} if the lock was acquired, {@code false}
+     *                  if the timeout elapsed before.
+     * @throws InterruptedException  If the current thread was interrupted while waiting.
+     * @throws IllegalStateException If an OS-level file lock was requested and could not
+     *                               be acquired.
      */
-    public void releaseReadLock(String fileName) {
-        log.traceEntry(fileName);
-        this.releaseLock(fileName, true);
-        log.traceExit();
+    public boolean tryAcquireLock(String fileName, boolean readLock, long timeout, TimeUnit unit)
+            throws InterruptedException, IllegalStateException {
+        log.traceEntry("{}, {}, {}, {}", fileName, readLock, timeout, unit);
+        return log.traceExit(this.acquireLock(fileName, readLock,
+                Math.max(0, unit.toNanos(timeout))));
+    }
+
+    /**
+     * Acquires at once the read locks on {@code readFileNames} and the write locks
+     * on {@code writeFileNames}, waiting as long as necessary. Locks are always acquired
+     * in the natural order of the file names, so that threads acquiring several locks
+     * cannot deadlock. If a file name is present in both {@code Collection}s,
+     * only a write lock is acquired.
+     *
+     * @param readFileNames     A {@code Collection} of {@code String}s that are the names
+     *                          of the files to acquire a read lock for. Can be {@code null}.
+     * @param writeFileNames    A {@code Collection} of {@code String}s that are the names
+     *                          of the files to acquire a write lock for. Can be {@code null}.
+     * @return                  The {@code FileLocks} acquired, to be closed to release them.
+     * @throws IllegalStateException If an OS-level file lock was requested and could not
+     *                               be acquired.
+     */
+    public FileLocks acquireLocks(Collection<String> readFileNames,
+            Collection<String> writeFileNames) throws IllegalStateException {
+        log.traceEntry("{}, {}", readFileNames, writeFileNames);
+        try {
+            return log.traceExit(this.acquireLocks(readFileNames, writeFileNames, -1).get());
+        } catch (InterruptedException e) {
+            //cannot happen when waiting without timeout
+            Thread.currentThread().interrupt();
+            throw log.throwing(new IllegalStateException(e));
+        }
+    }
+
+    /**
+     * Same as {@link #acquireLocks(Collection, Collection)}, but waiting at most
+     * {@code timeout} for each lock.
+     *
+     * @param readFileNames     See {@link #acquireLocks(Collection, Collection)}.
+     * @param writeFileNames    See {@link #acquireLocks(Collection, Collection)}.
+     * @param timeout           A {@code long} that is the maximum time to wait for each lock.
+     * @param unit              The {@code TimeUnit} of {@code timeout}.
+     * @return                  An {@code Optional} containing the {@code FileLocks}
+     *                          acquired, empty if a timeout elapsed, in which case
+     *                          no lock is held.
+     * @throws InterruptedException  If the current thread was interrupted while waiting.
+     * @throws IllegalStateException If an OS-level file lock was requested and could not
+     *                               be acquired.
+     */
+    public Optional<FileLocks> tryAcquireLocks(Collection<String> readFileNames,
+            Collection<String> writeFileNames, long timeout, TimeUnit unit)
+                    throws InterruptedException, IllegalStateException {
+        log.traceEntry("{}, {}, {}, {}", readFileNames, writeFileNames, timeout, unit);
+        return log.traceExit(this.acquireLocks(readFileNames, writeFileNames,
+                Math.max(0, unit.toNanos(timeout))));
+    }
+
+    private Optional<FileLocks> acquireLocks(Collection<String> readFileNames,
+            Collection<String> writeFileNames, long timeoutNanos) throws InterruptedException {
+        log.traceEntry("{}, {}, {}", readFileNames, writeFileNames, timeoutNanos);
+        //TreeMap to always acquire the locks in the same order
+        Map<String, Boolean> fileNamesToReadLock = new TreeMap<>();
+        if (readFileNames != null) {
+            readFileNames.forEach(f -> fileNamesToReadLock.put(f, true));
+        }
+        if (writeFileNames != null) {
+            writeFileNames.forEach(f -> fileNamesToReadLock.put(f, false));
+        }
+        FileLocks locks = new FileLocks(fileNamesToReadLock);
+        Map<String, Boolean> acquired = new TreeMap<>();
+        boolean success = false;
+        try {
+            for (Entry<String, Boolean> entry: fileNamesToReadLock.entrySet()) {
+                if (!this.acquireLock(entry.getKey(), entry.getValue(), timeoutNanos)) {
+                    return log.traceExit(Optional.empty());
+                }
+                acquired.put(entry.getKey(), entry.getValue());
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                new FileLocks(acquired).close();
+            }
+        }
+        return log.traceExit(Optional.of(locks));
+    }
+
+    /**
+     * Acquires a lock, waiting as long as necessary if {@code timeoutNanos} is negative.
+     */
+    private boolean acquireLock(String fileName, boolean readLock, long timeoutNanos)
+            throws InterruptedException, IllegalStateException {
+        log.traceEntry("{}, {}, {}", fileName, readLock, timeoutNanos);
+        LockEntry entry = retain(fileName);
+        boolean locked = false;
+        Lock lock = readLock? entry.lock.readLock(): entry.lock.writeLock();
+        try {
+            acquisitionCount.incrementAndGet();
+            long start = System.nanoTime();
+            locked = lock.tryLock();
+            if (!locked) {
+                contendedAcquisitionCount.incrementAndGet();
+                log.trace("Waiting for {} lock on {}", readLock? "read": "write", fileName);
+                try {
+                    if (timeoutNanos < 0) {
+                        lock.lock();
+                        locked = true;
+                    } else {
+                        locked = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+                    }
+                } finally {
+                    waitTimeNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+            if (locked && this.isUseFileLocks()) {
+                long remainingNanos = timeoutNanos < 0? -1:
+                    Math.max(0, timeoutNanos - (System.nanoTime() - start));
+                if (!this.acquireFileLock(fileName, entry, readLock, remainingNanos)) {
+                    lock.unlock();
+                    locked = false;
+                }
+            }
+            if (!locked) {
+                timeoutCount.incrementAndGet();
+                log.debug("Timeout while waiting for {} lock on {}",
+                        readLock? "read": "write", fileName);
+            }
+        } catch (InterruptedException | RuntimeException | Error e) {
+            //if the OS-level lock could not be acquired
+            if (locked) {
+                lock.unlock();
+                locked = false;
+            }
+            throw e;
+        } finally {
+            if (!locked) {
+                releaseReference(fileName);
+            }
+        }
+        return log.traceExit(locked);
     }
 
     /**
      * Method to release a lock on a file, corresponding to the param
      * {@code fileName}
-     * 
+     *
      * @param fileName
      *            a {@code String} corresponding to the fileName to release
-     *            the lock from {@code readWriteLocks}
+     *            the lock for
      * @param readLock
-     *            {@code true} if a read lock should be acquired.
-     *            {@code false} if it should be a read lock
-     * @see #readWriteLocks
-     */
-    void releaseLock(String fileName, boolean readLock) {
-        log.traceEntry(fileName,readLock);
-        ReentrantReadWriteLock lock = this.getReadWriteLock(fileName);
-        this.removeLockIfPossible(fileName, readLock? 1: 0);
-        if (readLock) {
-            lock.readLock().unlock();
-        } else {
-            lock.writeLock().unlock();
+     *            {@code true} if a read lock should be released.
+     *            {@code false} if it should be a write lock
+     * @throws IllegalStateException If no lock is held on {@code fileName}.
+     */
+    public void releaseLock(String fileName, boolean readLock) throws IllegalStateException {
+        log.traceEntry("{}, {}", fileName, readLock);
+        LockEntry entry = lockEntries.get(fileName);
+        if (entry == null) {
+            throw log.throwing(new IllegalStateException("No lock held on " + fileName));
+        }
+        try {
+            if (this.isUseFileLocks()) {
+                this.releaseFileLock(fileName, entry);
+            }
+        } finally {
+            try {
+                if (readLock) {
+                    entry.lock.readLock().unlock();
+                } else {
+                    entry.lock.writeLock().unlock();
+                }
+            } finally {
+                releaseReference(fileName);
+            }
         }
         log.traceExit();
     }
 
     /**
-     * Try to remove the {@code ReentrantReadWriteLock} corresponding to
-     * the param {@code fileName}, from the {@code ConcurrentHashMap}
-     * {@code readWriteLocks}. The lock will be removed from the map only
-     * if there are no read or write locks, and no ongoing request for a read or
-     * write lock.
-     * <p>
-     * Note: there might be here a race, where another thread acquired the lock
-     * and actually locked it, i) just after this method tests the presence of
-     * read or write locks and ongoing requests for a read or write lock, and
-     * ii) just before removing it from the map. To solve this issue, methods
-     * acquiring a lock must check after locking it whether it is still in the
-     * readWriteLocks map, or whether the element present in the map for the key
-     * is equal to the acquired lock. If it is not, they must generate a new
-     * lock to be used.
-     * 
-     * @param fileName
-     *            a {@code String} corresponding to the fileName to
-     *            retrieve the lock from {@code readWriteLocks}, to remove
-     *            it.
-     * @see #readWriteLocks
-     */
-    void removeLockIfPossible(String fileName, int expectedReadLockCount) {
-        log.traceEntry(fileName, expectedReadLockCount);
-        // check if there is already a lock stored for this key
-        ReentrantReadWriteLock lock = readWriteLocks.get(fileName);
-
-        // there is a lock to remove
-        if (lock != null) {
-            // there is no thread with write lock, or read lock, or waiting to
-            // acquire a lock
-            if (lock.getReadLockCount() <= expectedReadLockCount && !lock.hasQueuedThreads()) {
-                log.trace("Removing Lock from Map");
-                // there might be here a race, where another thread acquired the
-                // lock and
-                // actually locked it, just after the precedent condition test,
-                // and just before the following remove statement.
-                // to solve this issue, methods acquiring a lock must check
-                // after locking it
-                // whether it is still in the readWriteLocks map.
-                // if it is not, they must generate a new lock to be used.
-                readWriteLocks.remove(fileName);
+     * @param fileName  A {@code String} corresponding to a file name.
+     * @return          {@code true} if a write lock is currently held on {@code fileName}.
+     */
+    public boolean isWriteLocked(String fileName) {
+        log.traceEntry("{}", fileName);
+        LockEntry entry = lockEntries.get(fileName);
+        return log.traceExit(entry != null && entry.lock.isWriteLocked());
+    }
+
+    /**
+     * Increments the reference count of the entry associated to {@code fileName},
+     * creating it if needed.
+     */
+    private static LockEntry retain(String fileName) {
+        log.traceEntry("{}", fileName);
+        return log.traceExit(lockEntries.compute(fileName, (k, v) -> {
+            LockEntry entry = v == null? new LockEntry(): v;
+            entry.refCount++;
+            return entry;
+        }));
+    }
+    /**
+     * Decrements the reference count of the entry associated to {@code fileName},
+     * removing it if no thread holds or waits for its lock anymore.
+     */
+    private static void releaseReference(String fileName) {
+        log.traceEntry("{}", fileName);
+        lockEntries.computeIfPresent(fileName, (k, v) -> {
+            v.refCount--;
+            return v.refCount <= 0? null: v;
+        });
+        log.traceExit();
+    }
+
+    /**
+     * Acquires the OS-level file lock associated to {@code fileName}, if this is the first
+     * holder of the lock on {@code entry} in this JVM. Must be called while holding
+     * the lock of {@code entry}, so that a shared file lock is never requested while
+     * an exclusive one is held, and conversely.
+     *
+     * @return  {@code false} if {@code timeoutNanos} is not negative and elapsed
+     *          before the file lock could be acquired.
+     */
+    private boolean acquireFileLock(String fileName, LockEntry entry, boolean shared,
+            long timeoutNanos) throws InterruptedException, IllegalStateException {
+        log.traceEntry("{}, {}, {}, {}", fileName, entry, shared, timeoutNanos);
+        synchronized (entry) {
+            if (entry.fileLockHolderCount > 0) {
+                entry.fileLockHolderCount++;
+                return log.traceExit(true);
+            }
+            Path path = Paths.get(fileName);
+            Path lockFile = path.resolveSibling(path.getFileName() + LOCK_FILE_EXTENSION);
+            FileChannel channel = null;
+            FileLock fileLock = null;
+            try {
+                if (lockFile.getParent() != null) {
+                    Files.createDirectories(lockFile.getParent());
+                }
+                channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                if (timeoutNanos < 0) {
+                    fileLock = channel.lock(0, Long.MAX_VALUE, shared);
+                } else {
+                    long deadline = System.nanoTime() + timeoutNanos;
+                    while ((fileLock = channel.tryLock(0, Long.MAX_VALUE, shared)) == null &&
+                            System.nanoTime() < deadline) {
+                        Thread.sleep(FILE_LOCK_POLLING_INTERVAL_MILLIS);
+                    }
+                }
+            } catch (IOException e) {
+                closeQuietly(channel);
+                throw log.throwing(new IllegalStateException(
+                        "Could not acquire file lock on " + lockFile, e));
+            } catch (InterruptedException e) {
+                closeQuietly(channel);
+                throw e;
+            }
+            if (fileLock == null) {
+                closeQuietly(channel);
+                return log.traceExit(false);
+            }
+            entry.fileChannel = channel;
+            entry.fileLock = fileLock;
+            entry.fileLockHolderCount = 1;
+        }
+        return log.traceExit(true);
+    }
+    /**
+     * Releases the OS-level file lock associated to {@code entry}, if this is the last
+     * holder of the lock on {@code entry} in this JVM.
+     */
+    private void releaseFileLock(String fileName, LockEntry entry) {
+        log.traceEntry("{}, {}", fileName, entry);
+        synchronized (entry) {
+            if (entry.fileLockHolderCount <= 0) {
+                log.traceExit();
+                return;
+            }
+            entry.fileLockHolderCount--;
+            if (entry.fileLockHolderCount == 0) {
+                try {
+                    entry.fileLock.release();
+                } catch (IOException e) {
+                    log.catching(e);
+                    log.warn("Could not release file lock for {}", fileName);
+                } finally {
+                    closeQuietly(entry.fileChannel);
+                    entry.fileLock = null;
+                    entry.fileChannel = null;
+                }
             }
         }
         log.traceExit();
     }
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.catching(e);
+        }
+    }
 
     /**
-     * Obtain a {@code ReentrantReadWriteLock}, for the param
-     * {@code fileName}.
-     * 
-     * This method tries to obtain {@code ReentrantReadWriteLock}
-     * corresponding to the fileName, from the {@code ConcurrentHashMap}
-     * {@code readWriteLocks}. If the lock is not already stored, create a
-     * new one, and put it in {@code readWriteLocks}, to be used by other
-     * threads.
-     * 
-     * @param fileName
-     *            a {@code String} corresponding to the fileName to
-     *            retrieve the lock from {@code readWriteLocks}.
-     * 
-     * @return a {@code ReentrantReadWriteLock} corresponding to the
-     *         fileName.
-     * 
-     * @see #readWriteLocks
-     */
-    public ReentrantReadWriteLock getReadWriteLock(String fileName) {
-        log.traceEntry(fileName);
-        
-        // check if there is already a lock stored for this key
-        ReentrantReadWriteLock readWritelock = readWriteLocks.get(fileName);
-
-        // no lock already stored
-        if (readWritelock == null) {
-            ReentrantReadWriteLock newReadWriteLock = new ReentrantReadWriteLock(
-                    true);
-            // try to put the new lock in the ConcurrentHashMap
-            readWritelock = readWriteLocks.putIfAbsent(fileName,
-                    newReadWriteLock);
-            // if readWritelock is null, the newLock has been successfully put
-            // in the map, and we use it.
-            // otherwise, it means that another thread has inserted a new lock
-            // for this key in the mean time.
-            // readWritelock then corresponds to this value, that we should use.
-            if (readWritelock == null) {
-                readWritelock = newReadWriteLock;
-            }
-        }
-        return log.traceExit(readWritelock);
+     * @return  A {@code boolean} defining whether locks acquired through this object
+     *          also acquire OS-level file locks.
+     */
+    public boolean isUseFileLocks() {
+        return useFileLocks;
     }
 }
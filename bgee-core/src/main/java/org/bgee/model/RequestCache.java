@@ -0,0 +1,223 @@
+package org.bgee.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A batching loader of entities retrieved by ID, deduplicating and memoizing the lookups
+ * requested by the {@code Service}s obtained from a same {@code ServiceFactory}.
+ * A {@code RequestCache} is meant to live as long as the {@code ServiceFactory} it is obtained from
+ * (see {@link ServiceFactory#getRequestCache(String, Function)}), that is, usually, as long as
+ * a request to the webapp. Data are thus not kept after an update of the database.
+ * <p>
+ * IDs that will be needed later can be registered with {@link #enqueue(Collection)}:
+ * they are kept pending, and retrieved at the next call to {@link #load(Collection)},
+ * together with the IDs requested, with a single call to the load function (so that
+ * overlapping lookups of different callers are merged into one query). At each call
+ * to {@link #load(Collection)}, only the IDs not already loaded are retrieved.
+ * IDs found not to exist are also memoized, so that they are not queried again.
+ * As {@code Service}s are synchronous, lookups are merged at the next load rather than
+ * after a delay: a {@code Service} enqueues the IDs it knows another lookup will need
+ * before performing its own lookup.
+ * <p>
+ * When the entities to load depend on a parameter of the query (for instance, a species),
+ * a different {@code RequestCache} should be used for each value of the parameter,
+ * or the parameter should be part of the IDs.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ *
+ * @param <K>   The type of IDs of the entities loaded.
+ * @param <V>   The type of entities loaded.
+ */
+public class RequestCache<K, V> {
+    private final static Logger log = LogManager.getLogger(RequestCache.class.getName());
+
+    /**
+     * @see #getName()
+     */
+    private final String name;
+    /**
+     * A {@code Function} accepting a {@code Set} of IDs and returning a {@code Map}
+     * where keys are the IDs found, the associated value being the corresponding entity.
+     * If the {@code Set} is {@code null}, all the entities must be returned.
+     */
+    private final Function<Set<K>, Map<K, V>> loadFunction;
+    /**
+     * A {@code Map} storing the entities already loaded, associated to their ID.
+     */
+    private final Map<K, V> loaded;
+    /**
+     * A {@code Set} storing the IDs already queried, but that were not found.
+     */
+    private final Set<K> notFound;
+    /**
+     * A {@code Set} storing the IDs registered with {@link #enqueue(Collection)},
+     * to be retrieved at the next call to {@link #load(Collection)}.
+     */
+    private final Set<K> pending;
+    /**
+     * A {@code boolean} that is {@code true} if all the entities were loaded
+     * (see {@link #loadAll()}).
+     */
+    private boolean allLoaded;
+    /**
+     * @see #getLoadCount()
+     */
+    private int loadCount;
+
+    /**
+     * @param name          A {@code String} that is the name of this cache, used for logging.
+     * @param loadFunction  A {@code Function} accepting a {@code Set} of IDs and returning
+     *                      a {@code Map} where keys are the IDs found, the associated value
+     *                      being the corresponding entity. The {@code Set} provided is never empty,
+     *                      except when all entities are requested (see {@link #loadAll()}),
+     *                      in which case it is {@code null}.
+     * @throws IllegalArgumentException If {@code loadFunction} is {@code null}.
+     */
+    public RequestCache(String name, Function<Set<K>, Map<K, V>> loadFunction)
+            throws IllegalArgumentException {
+        if (loadFunction == null) {
+            throw log.throwing(new IllegalArgumentException("A load function must be provided"));
+        }
+        this.name = name;
+        this.loadFunction = loadFunction;
+        this.loaded = new HashMap<>();
+        this.notFound = new HashSet<>();
+        this.pending = new LinkedHashSet<>();
+        this.allLoaded = false;
+        this.loadCount = 0;
+    }
+
+    /**
+     * Registers IDs of entities to be retrieved at the next call to {@link #load(Collection)},
+     * together with the IDs requested then. The IDs already loaded, or already found
+     * not to exist, are ignored.
+     *
+     * @param ids   A {@code Collection} of IDs of the entities to load later.
+     *              Can be {@code null} or empty.
+     */
+    public synchronized void enqueue(Collection<K> ids) {
+        log.traceEntry("{}", ids);
+        if (ids == null || this.allLoaded) {
+            log.traceExit();
+            return;
+        }
+        ids.stream()
+        .filter(id -> this.isToLoad(id))
+        .forEach(id -> this.pending.add(id));
+        log.traceExit();
+    }
+
+    /**
+     * Loads the entities with the requested IDs. The IDs not already loaded, nor already
+     * found not to exist, are retrieved with a single call to the load function,
+     * together with the IDs pending (see {@link #enqueue(Collection)}).
+     *
+     * @param ids   A {@code Collection} of IDs of the entities to load.
+     *              If {@code null} or empty, an empty {@code Map} is returned,
+     *              and the IDs pending are not retrieved.
+     * @return      A {@code Map} where keys are the requested IDs that were found,
+     *              the associated value being the corresponding entity.
+     */
+    public synchronized Map<K, V> load(Collection<K> ids) {
+        log.traceEntry("{}", ids);
+        if (ids == null || ids.isEmpty()) {
+            return log.traceExit(new HashMap<>());
+        }
+        if (!this.allLoaded) {
+            Set<K> toLoad = new LinkedHashSet<>();
+            ids.stream()
+            .filter(id -> this.isToLoad(id))
+            .forEach(id -> toLoad.add(id));
+            if (!toLoad.isEmpty()) {
+                //The pending IDs are loaded only along with the IDs requested,
+                //they might not be loaded at all otherwise
+                int requestedCount = toLoad.size();
+                this.pending.stream()
+                .filter(id -> this.isToLoad(id))
+                .forEach(id -> toLoad.add(id));
+                this.pending.clear();
+                this.loadCount++;
+                log.debug("Cache {} - load {} - loading {} IDs, including {} IDs pending",
+                        this.name, this.loadCount, toLoad.size(), toLoad.size() - requestedCount);
+                Map<K, V> results = this.loadFunction.apply(Collections.unmodifiableSet(toLoad));
+                this.loaded.putAll(results);
+                toLoad.stream().filter(id -> !results.containsKey(id))
+                .forEach(id -> this.notFound.add(id));
+            }
+        }
+
+        Map<K, V> requested = new HashMap<>();
+        for (K id: ids) {
+            V value = this.loaded.get(id);
+            if (value != null) {
+                requested.put(id, value);
+            }
+        }
+        return log.traceExit(requested);
+    }
+
+    /**
+     * Loads all the entities, with a call to the load function with a {@code null} argument,
+     * if not already done.
+     *
+     * @return  A {@code Map} where keys are the IDs of all the entities, the associated value
+     *          being the corresponding entity.
+     */
+    public synchronized Map<K, V> loadAll() {
+        log.traceEntry();
+        if (!this.allLoaded) {
+            this.loadCount++;
+            log.debug("Cache {} - load {} - loading all entities", this.name, this.loadCount);
+            Map<K, V> results = this.loadFunction.apply(null);
+            this.loaded.clear();
+            this.loaded.putAll(results);
+            this.notFound.clear();
+            this.pending.clear();
+            this.allLoaded = true;
+        }
+        return log.traceExit(new HashMap<>(this.loaded));
+    }
+
+    /**
+     * @param id    An ID of an entity.
+     * @return      {@code true} if the entity with this ID still needs to be retrieved.
+     */
+    private boolean isToLoad(K id) {
+        return id != null && !this.loaded.containsKey(id) && !this.notFound.contains(id);
+    }
+
+    /**
+     * @return  A {@code String} that is the name of this cache, used for logging.
+     */
+    public String getName() {
+        return this.name;
+    }
+    /**
+     * @return  An {@code int} that is the number of calls made to the load function
+     *          by this cache.
+     */
+    public synchronized int getLoadCount() {
+        return this.loadCount;
+    }
+    /**
+     * @return  An {@code int} that is the number of IDs registered with {@link #enqueue(Collection)}
+     *          and not retrieved yet.
+     */
+    public synchronized int getPendingCount() {
+        return this.pending.size();
+    }
+}
@@ -1,5 +1,9 @@
 package org.bgee.model;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.dao.api.DAOManager;
@@ -89,4 +93,23 @@ public abstract class Service {
     protected DAOManager getDaoManager() {
         return serviceFactory.getDAOManager();
     }
+    /**
+     * Obtains the {@code RequestCache} with the requested name shared by the {@code Service}s
+     * obtained from the same {@code ServiceFactory} (see {@link ServiceFactory#getRequestCache(
+     * String, Function)}). If the {@code ServiceFactory} does not provide one (for instance,
+     * a mocked {@code ServiceFactory}), a new {@code RequestCache} is returned, so that nothing
+     * is memoized between calls.
+     *
+     * @param <K>           The type of IDs of the entities loaded.
+     * @param <V>           The type of entities loaded.
+     * @param name          A {@code String} that is the name of the cache.
+     * @param loadFunction  A {@code Function} used to create the {@code RequestCache}
+     *                      if it does not exist yet.
+     * @return              The {@code RequestCache} to use.
+     */
+    protected <K, V> RequestCache<K, V> getRequestCache(String name,
+            Function<Set<K>, Map<K, V>> loadFunction) {
+        RequestCache<K, V> cache = serviceFactory.getRequestCache(name, loadFunction);
+        return cache != null? cache: new RequestCache<>(name, loadFunction);
+    }
 }
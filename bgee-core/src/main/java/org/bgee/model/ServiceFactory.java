@@ -1,6 +1,13 @@
 package org.bgee.model;
 
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -12,6 +19,7 @@ import org.bgee.model.anatdev.TaxonConstraintService;
 import org.bgee.model.anatdev.multispemapping.AnatEntitySimilarityService;
 import org.bgee.model.anatdev.multispemapping.DevStageSimilarityService;
 import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.expressiondata.call.CallService;
 import org.bgee.model.expressiondata.call.ConditionGraphService;
 import org.bgee.model.expressiondata.call.ConditionService;
@@ -73,11 +81,46 @@ public class ServiceFactory implements AutoCloseable {
      */
     private final static Logger log = LogManager.getLogger(ServiceFactory.class.getName());
 
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s that are names of objects
+     * associated with a data source and a release (see {@link #getDataSourceKey()}),
+     * the associated value being the object shared by all the {@code ServiceFactory}s
+     * using this data source and release.
+     * @see #getApplicationScopedObject(String, Class, Supplier)
+     */
+    private final static ConcurrentMap<String, Object> APPLICATION_SCOPED_OBJECTS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Discards all the objects shared by all the {@code ServiceFactory}s
+     * (see {@link #getApplicationScopedObject(String, Class, Supplier)}), for instance
+     * after an update of a data source without change of release number.
+     */
+    public static void clearApplicationScopedObjects() {
+        log.traceEntry();
+        APPLICATION_SCOPED_OBJECTS.clear();
+        log.traceExit();
+    }
+
     /**
      * @see #getDAOManager()
      */
     private final DAOManager daoManager;
     private final BgeeProperties bgeeProperties;
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s that are names of caches,
+     * the associated value being the {@code RequestCache} shared by the {@code Service}s
+     * obtained from this {@code ServiceFactory}.
+     * @see #getRequestCache(String, Function)
+     */
+    private final ConcurrentMap<String, RequestCache<?, ?>> requestCaches;
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s that are names of objects
+     * shared by the {@code Service}s obtained from this {@code ServiceFactory},
+     * the associated value being the shared object.
+     * @see #getRequestScopedObject(String, Class, Supplier)
+     */
+    private final ConcurrentMap<String, Object> requestScopedObjects;
     
     /**
      * 0-arg constructor that will cause this {@code ServiceFactory} to use 
@@ -133,6 +176,8 @@ public class ServiceFactory implements AutoCloseable {
         }
         this.bgeeProperties = bgeeProperties;
         this.daoManager = daoManager;
+        this.requestCaches = new ConcurrentHashMap<>();
+        this.requestScopedObjects = new ConcurrentHashMap<>();
         log.traceExit();
     }
     
@@ -333,6 +378,174 @@ public class ServiceFactory implements AutoCloseable {
     public BgeeProperties getBgeeProperties() {
         return this.bgeeProperties;
     }
+    /**
+     * Obtains the {@code RequestCache} with the requested name, shared by all the {@code Service}s
+     * obtained from this {@code ServiceFactory}, so that entities looked up by ID by different
+     * {@code Service}s are queried only once for the lifetime of this {@code ServiceFactory}
+     * (usually, a request to the webapp), and that the lookups enqueued by different
+     * {@code Service}s are merged into a single query. The {@code RequestCache} is created
+     * with {@code loadFunction} at the first call for a name.
+     *
+     * @param <K>           The type of IDs of the entities loaded.
+     * @param <V>           The type of entities loaded.
+     * @param name          A {@code String} that is the name of the cache. A same name
+     *                      must always be used with the same types of IDs and entities.
+     * @param loadFunction  A {@code Function} used to create the {@code RequestCache}
+     *                      if it does not exist yet, see {@link RequestCache#RequestCache(String,
+     *                      Function)}.
+     * @return              The {@code RequestCache} with the requested name.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> RequestCache<K, V> getRequestCache(String name,
+            Function<Set<K>, Map<K, V>> loadFunction) {
+        log.traceEntry("{}, {}", name, loadFunction);
+        return log.traceExit((RequestCache<K, V>) this.requestCaches.computeIfAbsent(name,
+                n -> new RequestCache<>(n, loadFunction)));
+    }
+    /**
+     * Obtains the object with the requested name shared by all the {@code Service}s
+     * obtained from this {@code ServiceFactory}, for instance a dictionary of entities
+     * already retrieved. As a {@code ServiceFactory} uses one {@code DAOManager},
+     * such objects are scoped to one data source, and live at most as long as
+     * this {@code ServiceFactory} (usually, a request to the webapp). The object
+     * is created with {@code supplier} at the first call for a name.
+     *
+     * @param <T>       The type of the object.
+     * @param name      A {@code String} that is the name of the object.
+     * @param type      A {@code Class} that is the type of the object.
+     * @param supplier  A {@code Supplier} used to create the object if it does not exist yet.
+     * @return          The object with the requested name.
+     * @throws IllegalStateException    If the object stored with {@code name}
+     *                                  is not of type {@code type}.
+     * @see #clearRequestScopedObjects()
+     */
+    public <T> T getRequestScopedObject(String name, Class<T> type, Supplier<? extends T> supplier)
+            throws IllegalStateException {
+        log.traceEntry("{}, {}, {}", name, type, supplier);
+        Object object = this.requestScopedObjects.computeIfAbsent(name, n -> supplier.get());
+        if (!type.isInstance(object)) {
+            throw log.throwing(new IllegalStateException("Object stored with name " + name
+                    + " is not of type " + type.getName()));
+        }
+        return log.traceExit(type.cast(object));
+    }
+    /**
+     * Obtains the object with the requested name shared by all the {@code ServiceFactory}s
+     * using the same data source and the same Bgee release as this {@code ServiceFactory},
+     * for instance a dictionary of immutable entities already retrieved. Contrary to
+     * {@link #getRequestScopedObject(String, Class, Supplier)}, such objects are kept
+     * after this {@code ServiceFactory} is closed, and shared between requests to the webapp.
+     * They must thus only hold data that do not depend on the request. The object is created
+     * with {@code supplier} at the first call for a name, data source and release.
+     *
+     * @param <T>       The type of the object.
+     * @param name      A {@code String} that is the name of the object.
+     * @param type      A {@code Class} that is the type of the object.
+     * @param supplier  A {@code Supplier} used to create the object if it does not exist yet.
+     * @return          The object with the requested name, for the data source and release
+     *                  of this {@code ServiceFactory}.
+     * @throws IllegalStateException    If the object stored with {@code name}
+     *                                  is not of type {@code type}.
+     * @see #clearApplicationScopedObjects()
+     */
+    public <T> T getApplicationScopedObject(String name, Class<T> type,
+            Supplier<? extends T> supplier) throws IllegalStateException {
+        log.traceEntry("{}, {}, {}", name, type, supplier);
+        Object object = APPLICATION_SCOPED_OBJECTS.computeIfAbsent(
+                name + "|" + this.getDataSourceKey(), n -> supplier.get());
+        if (!type.isInstance(object)) {
+            throw log.throwing(new IllegalStateException("Object stored with name " + name
+                    + " is not of type " + type.getName()));
+        }
+        return log.traceExit(type.cast(object));
+    }
+    /**
+     * @return  A {@code String} identifying the data source and the Bgee release used by
+     *          this {@code ServiceFactory}: the Bgee major and minor version numbers,
+     *          and the parameters of the {@code DAOManager}, except for passwords.
+     */
+    private String getDataSourceKey() {
+        log.traceEntry();
+        StringBuilder sb = new StringBuilder();
+        if (this.bgeeProperties != null) {
+            sb.append(this.bgeeProperties.getMajorVersion()).append(".")
+              .append(this.bgeeProperties.getMinorVersion());
+        }
+        Properties daoParams = this.daoManager.getParameters();
+        if (daoParams != null) {
+            Map<String, String> sortedParams = new TreeMap<>();
+            daoParams.stringPropertyNames().stream()
+            .filter(key -> !key.toLowerCase().contains("password"))
+            .forEach(key -> sortedParams.put(key, daoParams.getProperty(key)));
+            sb.append("|").append(sortedParams);
+        }
+        return log.traceExit(sb.toString());
+    }
+    /**
+     * Discards all the objects shared by the {@code Service}s obtained from this
+     * {@code ServiceFactory} (see {@link #getRequestScopedObject(String, Class, Supplier)}),
+     * for instance after an update of the data source. Also called by {@link #close()}.
+     */
+    public void clearRequestScopedObjects() {
+        log.traceEntry();
+        this.requestScopedObjects.clear();
+        log.traceExit();
+    }
+    /**
+     * Sets the deadline of the operations performed by the {@code Service}s 
+     * obtained from this {@code ServiceFactory}. The deadline is applied to the queries 
+     * performed through the {@code DAOManager} used (see {@link DAOManager#setDeadline(long)}), 
+     * and is checked by {@code Service}s performing long operations. Once exceeded, 
+     * a {@code DeadlineExceededException} is thrown.
+     * 
+     * @param deadline  A {@code long} that is the deadline in milliseconds since the epoch. 
+     *                  If 0 or negative, no deadline is set.
+     * @see #checkDeadline()
+     */
+    public void setDeadline(long deadline) {
+        log.traceEntry("{}", deadline);
+        this.daoManager.setDeadline(deadline);
+        log.traceExit();
+    }
+    /**
+     * Checks whether the deadline set with {@link #setDeadline(long)} is exceeded.
+     * 
+     * @throws DeadlineExceededException    If the deadline is exceeded.
+     */
+    public void checkDeadline() throws DeadlineExceededException {
+        this.daoManager.checkDeadline();
+    }
+    /**
+     * Sets the name of the budget of connections used by the {@code Service}s 
+     * obtained from this {@code ServiceFactory} (see {@link DAOManager#setConnectionBudget(String)}), 
+     * so that a class of requests cannot use all the connections to the data source. 
+     * When the budget is exhausted, a {@code ConnectionBudgetExceededException} is thrown.
+     * 
+     * @param connectionBudget  A {@code String} that is the name of the budget 
+     *                          of connections. If {@code null} or blank, no budget is used.
+     */
+    public void setConnectionBudget(String connectionBudget) {
+        log.traceEntry("{}", connectionBudget);
+        this.daoManager.setConnectionBudget(connectionBudget);
+        log.traceExit();
+    }
+    /**
+     * Makes the {@code Service}s obtained from this {@code ServiceFactory} use the permit 
+     * of the budget of connections of {@code owner} (see 
+     * {@link DAOManager#shareConnectionBudget(DAOManager)}), rather than a permit of their own, 
+     * for {@code ServiceFactory}s used concurrently on behalf of {@code owner} 
+     * (for instance, to run the analyses of a same job in parallel). Otherwise, 
+     * each of them would hold another permit of the budget, and jobs could exhaust it, 
+     * or deadlock waiting for each other's permits.
+     * 
+     * @param owner The {@code ServiceFactory} whose permit of the budget of connections 
+     *              should be used.
+     */
+    public void shareConnectionBudget(ServiceFactory owner) {
+        log.traceEntry("{}", owner);
+        this.daoManager.shareConnectionBudget(owner == null? null: owner.getDAOManager());
+        log.traceExit();
+    }
     
     /**
      * Release all resources hold by this {@code ServiceFactory} (notably releasing 
@@ -341,6 +554,8 @@ public class ServiceFactory implements AutoCloseable {
     @Override
     public void close() {
         log.traceEntry();
+        this.requestCaches.clear();
+        this.clearRequestScopedObjects();
         this.daoManager.close();
         log.traceExit();
     }
@@ -8,6 +8,7 @@ import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.model.RequestCache;
 import org.bgee.model.Service;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.dao.api.anatdev.AnatEntityDAO;
@@ -56,11 +57,21 @@ public class AnatEntityService extends Service {
      *                          to retrieve.
      * @param withDescription   A {@code boolean} defining whether the description of the {@code AnatEntity}s
      *                          should be retrieved (higher memory usage).
+     *                          If {@code null} or empty, all anatomical entities are retrieved.
      * @return                  A {@code Stream} of {@code AnatEntity}s retrieved for the requested IDs.
      */
     public Stream<AnatEntity> loadAnatEntities(Collection<String> anatEntityIds, boolean withDescription) {
         log.traceEntry("{}, {}", anatEntityIds, withDescription);
-        return log.traceExit(this.loadAnatEntities(null, true, anatEntityIds, withDescription));
+        if (anatEntityIds == null || anatEntityIds.isEmpty()) {
+            return log.traceExit(this.loadAnatEntities(null, true, anatEntityIds, withDescription));
+        }
+        //Lookups by IDs are memoized between the Services obtained
+        //from the same ServiceFactory
+        RequestCache<String, AnatEntity> cache = this.getRequestCache(
+                withDescription? "anatEntitiesWithDescription": "anatEntities",
+                ids -> this.loadAnatEntities(null, true, ids, withDescription)
+                .collect(Collectors.toMap(a -> a.getId(), a -> a)));
+        return log.traceExit(cache.load(anatEntityIds).values().stream());
     }
     /**
      * Retrieve {@code AnatEntity}s for the requested species IDs, with all descriptions loaded.
@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,11 +24,15 @@ import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.BgeeEnum;
+import org.bgee.model.BgeeProperties;
 import org.bgee.model.ElementGroupFromListSpliterator;
 import org.bgee.model.Service;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.anatdev.AnatEntity;
 import org.bgee.model.dao.api.DAO;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.DAOResultSet;
+import org.bgee.model.dao.api.PrefetchingDAOResultSet;
 import org.bgee.model.dao.api.expressiondata.call.CallDAOFilter;
 import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
@@ -37,6 +42,8 @@ import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter;
 import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO.ConditionRankInfoTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.EntityMinMaxRanksTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.EntityMinMaxRanksTOResultSet;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallDataTO;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO;
 import org.bgee.model.expressiondata.baseelements.DataPropagation;
@@ -69,7 +76,7 @@ import org.bgee.model.species.Species;
  * @author  Frederic Bastian
  * @author  Valentine Rech de Laval
  * @author  Julien Wollbrett
- * @version Bgee 15, Dec. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 13, Oct. 2015
  */
 //******************
@@ -262,9 +269,15 @@ public class CallService extends CallServiceParent {
         }
     }
 
+    /**
+     * Attributes used to order the {@code ExpressionCall}s retrieved. {@code GENE_ID}
+     * orders calls by public gene IDs, which can be compared case-insensitively
+     * by the data source, while {@code BGEE_GENE_ID} orders calls by internal gene IDs,
+     * guaranteeing that the calls of each gene are contiguous.
+     */
     public static enum OrderingAttribute implements Service.OrderingAttribute {
-        GENE_ID(false), ANAT_ENTITY_ID(true), DEV_STAGE_ID(true), CELL_TYPE_ID(true), 
-        SEX_ID(true), STRAIN_ID(true), MEAN_RANK(false);
+        GENE_ID(false), BGEE_GENE_ID(false), ANAT_ENTITY_ID(true), DEV_STAGE_ID(true),
+        CELL_TYPE_ID(true), SEX_ID(true), STRAIN_ID(true), MEAN_RANK(false);
         
         /**
          * @see #isConditionParameter()
@@ -490,6 +503,96 @@ public class CallService extends CallServiceParent {
 
         EnumSet<CallService.Attribute> clonedCondParams = condParams == null || condParams.isEmpty()?
                 CallService.Attribute.getAllConditionParameters(): EnumSet.copyOf(condParams);
+        LinkedHashMap<CallService.OrderingAttribute, Service.Direction> orderBy =
+                new LinkedHashMap<>();
+        orderBy.put(CallService.OrderingAttribute.MEAN_RANK,
+                ExpressionSummary.NOT_EXPRESSED.equals(callType)?
+                        Service.Direction.DESC: Service.Direction.ASC);
+
+        List<ExpressionCall> calls = this.loadSilverCondObservedCallStream(geneFilter,
+                clonedCondParams, callType, dataTypeFilter, orderBy)
+                .collect(Collectors.toList());
+        log.trace("calls: {}", calls);
+        return log.traceExit(this.filterSilverCondObservedCalls(calls, callType, conditionGraph));
+    }
+
+    /**
+     * Same as {@link #loadSilverCondObservedCalls(GeneFilter, Collection, ExpressionSummary,
+     * Collection, ConditionGraph)}, but retrieving the calls of all the genes
+     * in {@code geneFilter} with one query, rather than one query per gene.
+     * Calls are retrieved ordered by gene, so that the calls of only one gene
+     * at a time are held in memory.
+     *
+     * @param geneFilter        A {@code GeneFilter} targeting the genes of one species
+     *                          to retrieve calls for.
+     * @param condParams        A {@code Collection} of {@code CallService.Attribute}s that are
+     *                          the condition parameters to consider. If {@code null} or empty,
+     *                          all condition parameters are considered.
+     * @param callType          The {@code ExpressionSummary} of the calls to retrieve.
+     * @param dataTypeFilter    A {@code Collection} of {@code DataType}s to filter calls on.
+     *                          Can be {@code null}.
+     * @param conditionGraph    The {@code ConditionGraph} of the species, used to identify
+     *                          redundant calls. If {@code null}, a {@code ConditionGraph}
+     *                          is loaded for each gene.
+     * @return                  A {@code Stream} of {@code List}s of {@code ExpressionCall}s,
+     *                          each {@code List} containing the calls of one gene, as returned by
+     *                          {@link #loadSilverCondObservedCalls(GeneFilter, Collection,
+     *                          ExpressionSummary, Collection, ConditionGraph)}. Genes with no
+     *                          calls are not represented.
+     * @throws IllegalArgumentException If {@code geneFilter} is {@code null}.
+     */
+    public Stream<List<ExpressionCall>> loadSilverCondObservedCallsByGene(GeneFilter geneFilter,
+            Collection<CallService.Attribute> condParams, ExpressionSummary callType,
+            Collection<DataType> dataTypeFilter, ConditionGraph conditionGraph)
+                    throws IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}", geneFilter, condParams, callType, dataTypeFilter,
+                conditionGraph);
+        if (geneFilter == null) {
+            throw log.throwing(new IllegalArgumentException("A GeneFilter must be provided"));
+        }
+
+        EnumSet<CallService.Attribute> clonedCondParams = condParams == null || condParams.isEmpty()?
+                CallService.Attribute.getAllConditionParameters(): EnumSet.copyOf(condParams);
+        LinkedHashMap<CallService.OrderingAttribute, Service.Direction> orderBy =
+                new LinkedHashMap<>();
+        //IMPORTANT: results must be ordered by gene first, to group the calls of each gene.
+        //We order on the internal gene IDs: public gene IDs can be compared case-insensitively
+        //by the data source, the calls of genes with IDs differing only by their case
+        //could then be interleaved.
+        orderBy.put(CallService.OrderingAttribute.BGEE_GENE_ID, Service.Direction.ASC);
+        orderBy.put(CallService.OrderingAttribute.MEAN_RANK,
+                ExpressionSummary.NOT_EXPRESSED.equals(callType)?
+                        Service.Direction.DESC: Service.Direction.ASC);
+
+        Stream<ExpressionCall> callStream = this.loadSilverCondObservedCallStream(geneFilter,
+                clonedCondParams, callType, dataTypeFilter, orderBy);
+        //A same Gene instance is used for all the calls with a same internal gene ID,
+        //so grouping the calls on their Gene is consistent with the ordering.
+        //As the internal IDs are not available here, the order cannot be checked
+        //by the spliterator, we check instead that a gene is not seen twice.
+        Map<Gene, Boolean> seenGenes = new IdentityHashMap<>();
+        return log.traceExit(StreamSupport.stream(
+                new ElementGroupFromListSpliterator<ExpressionCall, Gene>(callStream,
+                        ExpressionCall::getGene, (g1, g2) -> 0),
+                false)
+                .peek(calls -> {
+                    if (seenGenes.put(calls.get(0).getGene(), true) != null) {
+                        throw log.throwing(new IllegalStateException(
+                                "The calls were not retrieved grouped by gene, gene seen twice: "
+                                + calls.get(0).getGene()));
+                    }
+                })
+                .map(calls -> this.filterSilverCondObservedCalls(calls, callType, conditionGraph))
+                .filter(calls -> !calls.isEmpty()));
+    }
+
+    private Stream<ExpressionCall> loadSilverCondObservedCallStream(GeneFilter geneFilter,
+            EnumSet<CallService.Attribute> condParams, ExpressionSummary callType,
+            Collection<DataType> dataTypeFilter,
+            LinkedHashMap<CallService.OrderingAttribute, Service.Direction> orderBy) {
+        log.traceEntry("{}, {}, {}, {}, {}", geneFilter, condParams, callType, dataTypeFilter,
+                orderBy);
+
         EnumSet<CallService.Attribute> attrs = EnumSet.of(CallService.Attribute.GENE,
                 CallService.Attribute.CALL_TYPE, CallService.Attribute.DATA_QUALITY,
                 CallService.Attribute.MEAN_RANK, CallService.Attribute.EXPRESSION_SCORE,
@@ -498,42 +601,41 @@ public class CallService extends CallServiceParent {
                 CallService.Attribute.P_VALUE_INFO_EACH_DATA_TYPE,
                 //We also want to know the global FDR-corrected p-value
                 CallService.Attribute.P_VALUE_INFO_ALL_DATA_TYPES);
-        attrs.addAll(clonedCondParams);
-        LinkedHashMap<CallService.OrderingAttribute, Service.Direction> orderBy =
-                new LinkedHashMap<>();
-        orderBy.put(CallService.OrderingAttribute.MEAN_RANK,
-                ExpressionSummary.NOT_EXPRESSED.equals(callType)?
-                        Service.Direction.DESC: Service.Direction.ASC);
+        attrs.addAll(condParams);
 
-        List<ExpressionCall> calls = this.loadExpressionCalls(
+        return log.traceExit(this.loadExpressionCalls(
                 new ExpressionCallFilter(ExpressionSummary.NOT_EXPRESSED.equals(callType)?
                         ExpressionCallFilter.SILVER_ABSENT_ARGUMENT:
                             ExpressionCallFilter.SILVER_PRESENT_ARGUMENT,
                         Collections.singleton(geneFilter),
                         Collections.singleton(new ConditionFilter(null, null, null,
-                                null, null, clonedCondParams)),
+                                null, null, condParams)),
                         dataTypeFilter, null),
                 attrs,
-                orderBy)
-                .collect(Collectors.toList());
-        log.trace("calls: {}", calls);
+                orderBy));
+    }
+
+    private List<ExpressionCall> filterSilverCondObservedCalls(List<ExpressionCall> calls,
+            ExpressionSummary callType, ConditionGraph conditionGraph) {
+        log.traceEntry("{}, {}, {}", calls, callType, conditionGraph);
         if (calls.isEmpty()) {
             return log.traceExit(calls);
         }
 
-        if (conditionGraph == null) {
-        	conditionGraph = this.getServiceFactory().getConditionGraphService()
-        			.loadConditionGraph(calls.stream()
-        					.map(c -> c.getCondition()).collect(Collectors.toSet()));
+        ConditionGraph graphToUse = conditionGraph;
+        if (graphToUse == null) {
+            graphToUse = this.getServiceFactory().getConditionGraphService()
+                    .loadConditionGraph(calls.stream()
+                            .map(c -> c.getCondition()).collect(Collectors.toSet()));
         }
         //order by rank and most precise conditions
-        calls = ExpressionCall.filterAndOrderCallsByRank(calls, conditionGraph,
-                ExpressionSummary.NOT_EXPRESSED.equals(callType)? true: false);
+        List<ExpressionCall> orderedCalls = ExpressionCall.filterAndOrderCallsByRank(calls,
+                graphToUse, ExpressionSummary.NOT_EXPRESSED.equals(callType)? true: false);
         //redundant calls
         final Set<ExpressionCall> redundantCalls = ExpressionCall.identifyRedundantCalls(
-                calls, conditionGraph);
+                orderedCalls, graphToUse);
 
-        return log.traceExit(calls.stream()
+        return log.traceExit(orderedCalls.stream()
                 .filter(c -> !redundantCalls.contains(c))
                 .collect(Collectors.toList()));
     }
@@ -625,6 +727,41 @@ public class CallService extends CallServiceParent {
         return log.traceExit(new SingleSpeciesExprAnalysis(genes, condToCounts));
     }
 
+    /**
+     * Computes and stores in the data source the min. and max ranks of the genes
+     * and of the anatomical entities of a species, for a combination of condition parameters,
+     * over all data types. This method is meant to be used by the pipeline after the insertion
+     * of the global expression calls. The precomputed ranks are then used to compute
+     * the qualitative expression levels ({@link Attribute#GENE_QUAL_EXPR_LEVEL} and
+     * {@link Attribute#ANAT_ENTITY_QUAL_EXPR_LEVEL}), rather than aggregating the calls
+     * for each query.
+     *
+     * @param speciesId             An {@code int} that is the ID of the species
+     *                              to compute the ranks for.
+     * @param condParamCombination  A {@code Collection} of {@code Attribute}s that are
+     *                              condition parameters, defining the combination to compute
+     *                              the ranks for. If {@code null} or empty, all condition
+     *                              parameters are considered.
+     * @return                      An {@code int} that is the number of ranks inserted.
+     * @throws IllegalArgumentException If {@code condParamCombination} contains {@code Attribute}s
+     *                                  that are not condition parameters.
+     */
+    public int insertPrecomputedMinMaxRanks(int speciesId, Collection<Attribute> condParamCombination)
+            throws IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesId, condParamCombination);
+
+        EnumSet<ConditionDAO.Attribute> daoCondParamCombination = convertCondParamAttrsToCondDAOAttrs(
+                Attribute.getCondParamCombination(condParamCombination));
+        //Same filter as in loadMinMaxRanksPerGene and loadMinMaxRanksPerAnatEntity,
+        //for all genes of the species and over all data types
+        ExpressionCallFilter rankFilter = new ExpressionCallFilter(CALL_TYPE_QUAL_FOR_RANKS_FILTER,
+                Collections.singleton(new GeneFilter(speciesId)), null, null, null);
+        CallDAOFilter daoFilter = convertCallFilterToCallDAOFilter(new HashMap<>(), rankFilter,
+                daoCondParamCombination);
+        return log.traceExit(this.globalExprCallDAO.insertPrecomputedMinMaxRanks(
+                daoCondParamCombination, daoFilter));
+    }
+
     //*************************************************************************
     // METHODS PERFORMING THE QUERIES TO THE DAOs
     //*************************************************************************
@@ -665,6 +802,38 @@ public class CallService extends CallServiceParent {
                 //not only for observed calls.
                 //we don't care about anat. entity/dev. stage/celltype/sex/strain observed data specifically
                 null);
+        //Use the min./max ranks precomputed by the pipeline if available. They are computed
+        //over all the cell types of the anat. entities, so we can't use them if cell types
+        //are requested
+        if (newFilter != null &&
+                newFilter.getConditionFilters().stream().allMatch(cf -> cf.getCellTypeIds().isEmpty()) &&
+                this.isCoveredByPrecomputedMinMaxRanks(newFilter, condParamCombination)) {
+            Set<String> anatEntityIds = newFilter.getConditionFilters().isEmpty() ||
+                    newFilter.getConditionFilters().stream().anyMatch(cf -> cf.getAnatEntityIds().isEmpty())?
+                    null: newFilter.getConditionFilters().stream()
+                    .flatMap(cf -> cf.getAnatEntityIds().stream())
+                    .collect(Collectors.toSet());
+            final Map<Entry<Integer, String>, EntityMinMaxRanksTO<String>> speAnatEntityToRanks =
+                    this.globalExprCallDAO.getPrecomputedMinMaxRanksPerAnatEntity(
+                            newFilter.getGeneFilters().stream().map(gf -> gf.getSpeciesId())
+                            .collect(Collectors.toSet()),
+                            anatEntityIds, condParamCombination)
+                    .stream()
+                    .collect(Collectors.toMap(
+                            to -> new AbstractMap.SimpleEntry<>(to.speciesId(), to.getId()),
+                            to -> to));
+            //The ranks are the same for all the conditions in a same anat. entity
+            return log.traceExit(condMap.values().stream()
+                    .map(c -> {
+                        EntityMinMaxRanksTO<String> to = speAnatEntityToRanks.get(
+                                new AbstractMap.SimpleEntry<>(c.getSpeciesId(), c.getAnatEntityId()));
+                        return to == null? null: new EntityMinMaxRanks<Condition>(
+                                to.getMinRank(), to.getMaxRank(), c);
+                    })
+                    .filter(emmr -> emmr != null)
+                    .collect(Collectors.toMap(emmr -> emmr.getEntityConsidered(), emmr -> emmr)));
+        }
+
         //convert ExpressionCallFilter into CallDAOFilter
         CallDAOFilter daoFilter = convertCallFilterToCallDAOFilter(geneMap, newFilter,
                 condParamCombination);
@@ -723,14 +892,24 @@ public class CallService extends CallServiceParent {
                 //not only for observed calls.
                 //and we don't care about anat. entity/dev. stage/celltype/sex/strain observed data specifically
                 null);
-        //convert ExpressionCallFilter into CallDAOFilter
-        CallDAOFilter daoFilter = convertCallFilterToCallDAOFilter(geneMap, newFilter,
-                condParamCombination);
+        EntityMinMaxRanksTOResultSet<Integer> rs = null;
+        //Use the min./max ranks precomputed by the pipeline if available
+        if (newFilter != null && this.isCoveredByPrecomputedMinMaxRanks(newFilter, condParamCombination)) {
+            Entry<Set<Integer>, Set<Integer>> geneIdsSpeciesIds =
+                    convertGeneFiltersToBgeeGeneIdsAndSpeciesIds(newFilter.getGeneFilters(), geneMap);
+            rs = this.globalExprCallDAO.getPrecomputedMinMaxRanksPerGene(geneIdsSpeciesIds.getKey(),
+                    geneIdsSpeciesIds.getValue(), condParamCombination);
+        } else {
+            //convert ExpressionCallFilter into CallDAOFilter
+            CallDAOFilter daoFilter = convertCallFilterToCallDAOFilter(geneMap, newFilter,
+                    condParamCombination);
+            rs = this.globalExprCallDAO.getMinMaxRanksPerGene(
+                    this.utils.convertDataTypeToDAODataType(newFilter == null? null: newFilter.getDataTypeFilters()),
+                    Arrays.asList(daoFilter));
+        }
 
-        //Perform query and map TOs to EntityMinMaxRanks
-        return log.traceExit(this.globalExprCallDAO.getMinMaxRanksPerGene(
-                this.utils.convertDataTypeToDAODataType(newFilter == null? null: newFilter.getDataTypeFilters()),
-                Arrays.asList(daoFilter))
+        //Map TOs to EntityMinMaxRanks
+        return log.traceExit(rs
                 .stream()
                 .map(minMaxRanksTO -> new EntityMinMaxRanks<Gene>(
                         minMaxRanksTO.getMinRank(), minMaxRanksTO.getMaxRank(),
@@ -740,6 +919,35 @@ public class CallService extends CallServiceParent {
                 .collect(Collectors.toMap(emmr -> emmr.getEntityConsidered(), emmr -> emmr)));
     }
 
+    /**
+     * Determines whether the min. and max ranks requested by {@code rankFilter} were precomputed
+     * by the pipeline (see {@link #insertPrecomputedMinMaxRanks(int, Collection)}).
+     *
+     * @param rankFilter            An {@code ExpressionCallFilter} used to retrieve
+     *                              the min. and max ranks.
+     * @param condParamCombination  An {@code EnumSet} of {@code ConditionDAO.Attribute}s
+     *                              that is the combination of condition parameters requested.
+     * @return                      {@code true} if the min. and max ranks were precomputed
+     *                              for all the species targeted.
+     */
+    private boolean isCoveredByPrecomputedMinMaxRanks(ExpressionCallFilter rankFilter,
+            EnumSet<ConditionDAO.Attribute> condParamCombination) {
+        log.traceEntry("{}, {}", rankFilter, condParamCombination);
+        //Ranks are precomputed only over all data types
+        if (!this.utils.convertDataTypeToDAODataType(rankFilter.getDataTypeFilters())
+                .containsAll(EnumSet.allOf(DAODataType.class))) {
+            return log.traceExit(false);
+        }
+        Set<Integer> speciesIds = rankFilter.getGeneFilters().stream()
+                .map(gf -> gf.getSpeciesId())
+                .collect(Collectors.toSet());
+        if (speciesIds.isEmpty()) {
+            return log.traceExit(false);
+        }
+        return log.traceExit(this.globalExprCallDAO.getSpeciesIdsWithPrecomputedMinMaxRanks(
+                speciesIds, condParamCombination).containsAll(speciesIds));
+    }
+
     /**
      * Perform query to retrieve expressed calls without the post-processing of
      * the results returned by {@code DAO}s.
@@ -769,16 +977,36 @@ public class CallService extends CallServiceParent {
                     throws IllegalArgumentException {
         log.traceEntry("{}, {}, {}, {}, {}", geneMap, callFilter, condParamCombination, attributes, orderingAttributes);
 
-        Stream<GlobalExpressionCallTO> calls = this.globalExprCallDAO
-            .getGlobalExpressionCalls(Arrays.asList(
-                //generate an ExpressionCallDAOFilter from callFilter
-                convertCallFilterToCallDAOFilter(geneMap, callFilter, condParamCombination)),
-                // Attributes
-                convertServiceAttrToGlobalExprDAOAttr(attributes, callFilter, condParamCombination),
-                convertServiceOrderingAttrToGlobalExprDAOOrderingAttr(orderingAttributes, callFilter))
-            //retrieve the Stream resulting from the query. Note that the query is not executed
-            //as long as the Stream is not consumed (lazy-loading).
-            .stream();
+        //generate an ExpressionCallDAOFilter from callFilter
+        final List<CallDAOFilter> daoFilters = Arrays.asList(
+                convertCallFilterToCallDAOFilter(geneMap, callFilter, condParamCombination));
+        final Set<GlobalExpressionCallDAO.AttributeInfo> daoAttributes =
+                convertServiceAttrToGlobalExprDAOAttr(attributes, callFilter, condParamCombination);
+        final LinkedHashMap<GlobalExpressionCallDAO.OrderingAttributeInfo, DAO.Direction> daoOrderingAttributes =
+                convertServiceOrderingAttrToGlobalExprDAOOrderingAttr(orderingAttributes, callFilter);
+        //If requested, results are fetched from the data source in a background thread,
+        //with its own DAOManager, while the caller maps the previous results to ExpressionCalls
+        DAOManager daoManager = this.getDaoManager();
+        BgeeProperties props = this.getServiceFactory().getBgeeProperties();
+        int prefetchBatchSize = props == null? 0: props.getDaoResultSetPrefetchBatchSize();
+        DAOResultSet<GlobalExpressionCallTO> rs;
+        if (prefetchBatchSize > 0 && daoManager != null) {
+            rs = new PrefetchingDAOResultSet<>(daoManager,
+                    manager -> manager.getGlobalExpressionCallDAO().getGlobalExpressionCalls(
+                            daoFilters, daoAttributes, daoOrderingAttributes),
+                    prefetchBatchSize);
+        } else {
+            rs = this.globalExprCallDAO.getGlobalExpressionCalls(daoFilters, daoAttributes,
+                    daoOrderingAttributes);
+        }
+        //retrieve the Stream resulting from the query. Note that the query is not executed
+        //as long as the Stream is not consumed (lazy-loading).
+        Stream<GlobalExpressionCallTO> calls = rs.stream();
+        //The calls can be processed long after the query was executed, so we check
+        //cooperatively the deadline of the request, if any
+        if (daoManager != null && daoManager.getDeadline() != 0) {
+            calls = calls.peek(to -> daoManager.checkDeadline());
+        }
 
         return log.traceExit(calls);
     }
@@ -926,7 +1154,8 @@ public class CallService extends CallServiceParent {
         //linked to different species, when we use the genome of a closely related species
         //(part of the checks done in isQueryAllowingToComputeAnyQualExprLevel)
         if ((orderingAttributes.isEmpty() ||
-                !orderingAttributes.keySet().iterator().next().equals(OrderingAttribute.GENE_ID)) &&
+                !EnumSet.of(OrderingAttribute.GENE_ID, OrderingAttribute.BGEE_GENE_ID).contains(
+                        orderingAttributes.keySet().iterator().next())) &&
                 (callFilter.getGeneFilters().size() != 1 ||
                 callFilter.getGeneFilters().iterator().next().getGeneIds().size() != 1)) {
             return log.traceExit(false);
@@ -1515,6 +1744,9 @@ public class CallService extends CallServiceParent {
                         case GENE_ID: 
                             return new GlobalExpressionCallDAO.OrderingAttributeInfo(
                                     GlobalExpressionCallDAO.OrderingAttribute.PUBLIC_GENE_ID);
+                        case BGEE_GENE_ID:
+                            return new GlobalExpressionCallDAO.OrderingAttributeInfo(
+                                    GlobalExpressionCallDAO.OrderingAttribute.BGEE_GENE_ID);
                         case ANAT_ENTITY_ID:
                             return new GlobalExpressionCallDAO.OrderingAttributeInfo(
                                     GlobalExpressionCallDAO.OrderingAttribute.ANAT_ENTITY_ID);
@@ -28,7 +28,7 @@ import org.bgee.model.species.Species;
  * A {@code Service} for {@code ConditionGraph}.
  *
  * @author  Frederic Bastian
- * @version Bgee 14, Oct. 2018
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 14, Oct. 2018
  */
 public class ConditionGraphService extends CommonService {
@@ -319,6 +319,14 @@ public class ConditionGraphService extends CommonService {
         //And it will have been also requested once before to load the first conditions passed
         //as argument... at the very least we could avoid requesting again the objects present
         //in the conditions (AnatEntity, etc).
+        //For now, the cell types are enqueued so that they are retrieved along with
+        //the anat. entities, with a single query, the entities shared by both ontologies
+        //being then loaded only once.
+        if (anatEntityOnt == null && cellTypeOnt == null &&
+                !entities.getAnatEntityIds().isEmpty() && !entities.getCellTypeIds().isEmpty()) {
+            this.getServiceFactory().getOntologyService().enqueueAnatEntities(
+                    Collections.singleton(speciesId), entities.getCellTypeIds());
+        }
         final Ontology<AnatEntity, String> anatEntityOntToUse = entities.getAnatEntityIds().isEmpty()? null:
             anatEntityOnt != null? anatEntityOnt: 
                 this.getServiceFactory().getOntologyService().getAnatEntityOntology(
@@ -0,0 +1,250 @@
+package org.bgee.model.expressiondata.call;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.expressiondata.baseelements.ConditionParameter;
+import org.bgee.model.gene.Gene;
+import org.bgee.model.gene.GeneBioType;
+import org.bgee.model.species.Species;
+
+/**
+ * A dictionary of {@code Gene}s and {@code Condition2}s shared between all the
+ * {@link ExpressionCallLoader}s using a same data source and Bgee release, to avoid
+ * querying and instantiating again the same objects for each page of results,
+ * each loader and each request. A dictionary is obtained through
+ * {@link org.bgee.model.ServiceFactory#getApplicationScopedObject(String, Class,
+ * java.util.function.Supplier) ServiceFactory#getApplicationScopedObject}, it is thus kept
+ * as long as the application runs, and not reused after a change of data source or release.
+ * <p>
+ * Entries are stored per species, in {@link IntObjectCache}s with a bounded size,
+ * keyed by Bgee gene IDs or global condition IDs. As the condition parameters populated
+ * in a {@code Condition2} depend on the condition parameter combination requested,
+ * {@code Condition2}s are also stored per combination. The first object stored
+ * for an ID is returned to all callers, so that the same instance is reused
+ * by all the {@code ExpressionCall2}s referencing it. Objects are validated by IDs only:
+ * they are returned to callers requesting the species (and gene biotypes) they belong to,
+ * whatever the {@code Species} (and {@code GeneBioType}) instances used by the callers,
+ * as these entities are the same for a given data source and release.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+class ExpressionCallDictionary {
+    private final static Logger log = LogManager.getLogger(ExpressionCallDictionary.class.getName());
+
+    /**
+     * An {@code int} that is the default maximum number of {@code Gene}s,
+     * and of {@code Condition2}s for each condition parameter combination,
+     * stored per species. Value: 200,000.
+     */
+    public final static int DEFAULT_MAX_ELEMENTS_PER_SPECIES = 200000;
+
+    /**
+     * An {@code int} that is the maximum number of elements stored in each {@code IntObjectCache}.
+     */
+    private final int maxElementsPerSpecies;
+    /**
+     * A {@code ConcurrentMap} where keys are {@code Integer}s that are species IDs,
+     * the associated value being an {@code IntObjectCache} storing {@code Gene}s
+     * associated with their Bgee gene ID.
+     */
+    private final ConcurrentMap<Integer, IntObjectCache<Gene>> genesPerSpecies;
+    /**
+     * A {@code ConcurrentMap} where keys are {@code Set}s of {@code ConditionParameter}s
+     * that are condition parameter combinations, the associated value being
+     * a {@code ConcurrentMap} where keys are species IDs and values are {@code IntObjectCache}s
+     * storing {@code Condition2}s associated with their global condition ID.
+     */
+    private final ConcurrentMap<Set<ConditionParameter<?, ?>>,
+    ConcurrentMap<Integer, IntObjectCache<Condition2>>> conditionsPerCombAndSpecies;
+
+    /**
+     * Constructor using {@link #DEFAULT_MAX_ELEMENTS_PER_SPECIES}.
+     */
+    ExpressionCallDictionary() {
+        this(DEFAULT_MAX_ELEMENTS_PER_SPECIES);
+    }
+    /**
+     * @param maxElementsPerSpecies An {@code int} that is the maximum number of {@code Gene}s,
+     *                              and of {@code Condition2}s for each condition parameter
+     *                              combination, stored per species.
+     */
+    ExpressionCallDictionary(int maxElementsPerSpecies) {
+        if (maxElementsPerSpecies < 2) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The maximum number of elements must be at least 2"));
+        }
+        this.maxElementsPerSpecies = maxElementsPerSpecies;
+        this.genesPerSpecies = new ConcurrentHashMap<>();
+        this.conditionsPerCombAndSpecies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Retrieves the {@code Gene}s already stored in this dictionary, belonging to
+     * the requested species and gene biotypes.
+     *
+     * @param speciesMap        A {@code Map} where keys are the IDs of the species
+     *                          the genes can belong to.
+     * @param geneBioTypeMap    A {@code Map} where values are the {@code GeneBioType}s
+     *                          the genes can belong to.
+     * @param bgeeGeneIds       A {@code Collection} of {@code Integer}s that are the Bgee gene IDs
+     *                          of the requested genes.
+     * @return                  A {@code Map} where keys are Bgee gene IDs, the associated value
+     *                          being the corresponding {@code Gene}. Genes not stored
+     *                          in this dictionary, or belonging to other species
+     *                          or gene biotypes, are not present in the {@code Map}.
+     */
+    Map<Integer, Gene> getGenes(Map<Integer, Species> speciesMap,
+            Map<Integer, GeneBioType> geneBioTypeMap, Collection<Integer> bgeeGeneIds) {
+        log.traceEntry("{}, {}, {}", speciesMap, geneBioTypeMap, bgeeGeneIds);
+        Set<GeneBioType> geneBioTypes = new HashSet<>(geneBioTypeMap.values());
+        return log.traceExit(get(this.genesPerSpecies, speciesMap.keySet(), bgeeGeneIds,
+                g -> speciesMap.containsKey(g.getSpecies().getId()) &&
+                     geneBioTypes.contains(g.getGeneBioType())));
+    }
+    /**
+     * Stores the provided {@code Gene}s in this dictionary. A {@code Gene} already stored
+     * for an ID is kept only if it belongs to the same species and gene biotype
+     * as the provided one, otherwise it is replaced.
+     *
+     * @param genes A {@code Map} where keys are Bgee gene IDs, the associated value being
+     *              the corresponding {@code Gene}.
+     * @return      A {@code Map} where keys are Bgee gene IDs, the associated value being
+     *              the {@code Gene} stored in this dictionary (either the one provided,
+     *              or an equal instance stored previously).
+     */
+    Map<Integer, Gene> putGenes(Map<Integer, Gene> genes) {
+        log.traceEntry("{}", genes);
+        return log.traceExit(put(this.genesPerSpecies, genes, g -> g.getSpecies().getId(),
+                (existing, provided) -> existing.getSpecies().getId().equals(
+                        provided.getSpecies().getId()) &&
+                    existing.getGeneBioType().equals(provided.getGeneBioType())));
+    }
+
+    /**
+     * Retrieves the {@code Condition2}s already stored in this dictionary, belonging to
+     * the requested species.
+     *
+     * @param condParamCombination  A {@code Set} of {@code ConditionParameter}s that is
+     *                              the combination of condition parameters considered
+     *                              in the {@code Condition2}s.
+     * @param speciesMap            A {@code Map} where keys are the IDs of the species
+     *                              the conditions can belong to.
+     * @param condIds               A {@code Collection} of {@code Integer}s that are the global
+     *                              condition IDs of the requested conditions.
+     * @return                      A {@code Map} where keys are global condition IDs,
+     *                              the associated value being the corresponding {@code Condition2}.
+     *                              Conditions not stored in this dictionary, or belonging to
+     *                              other species, are not present in the {@code Map}.
+     */
+    Map<Integer, Condition2> getConditions(Set<ConditionParameter<?, ?>> condParamCombination,
+            Map<Integer, Species> speciesMap, Collection<Integer> condIds) {
+        log.traceEntry("{}, {}, {}", condParamCombination, speciesMap, condIds);
+        ConcurrentMap<Integer, IntObjectCache<Condition2>> conditionsPerSpecies =
+                this.conditionsPerCombAndSpecies.get(condParamCombination);
+        if (conditionsPerSpecies == null) {
+            return log.traceExit(new HashMap<>());
+        }
+        return log.traceExit(get(conditionsPerSpecies, speciesMap.keySet(), condIds,
+                c -> speciesMap.containsKey(c.getSpeciesId())));
+    }
+    /**
+     * Stores the provided {@code Condition2}s in this dictionary. A {@code Condition2}
+     * already stored for an ID is kept only if it belongs to the same species
+     * as the provided one, otherwise it is replaced.
+     *
+     * @param condParamCombination  A {@code Set} of {@code ConditionParameter}s that is
+     *                              the combination of condition parameters considered
+     *                              in the {@code Condition2}s.
+     * @param conditions            A {@code Map} where keys are global condition IDs,
+     *                              the associated value being the corresponding {@code Condition2}.
+     * @return                      A {@code Map} where keys are global condition IDs,
+     *                              the associated value being the {@code Condition2} stored
+     *                              in this dictionary (either the one provided, or an equal
+     *                              instance stored previously).
+     */
+    Map<Integer, Condition2> putConditions(Set<ConditionParameter<?, ?>> condParamCombination,
+            Map<Integer, Condition2> conditions) {
+        log.traceEntry("{}, {}", condParamCombination, conditions);
+        ConcurrentMap<Integer, IntObjectCache<Condition2>> conditionsPerSpecies =
+                this.conditionsPerCombAndSpecies.computeIfAbsent(
+                        Collections.unmodifiableSet(new HashSet<>(condParamCombination)),
+                        k -> new ConcurrentHashMap<>());
+        return log.traceExit(put(conditionsPerSpecies, conditions, c -> c.getSpeciesId(),
+                (existing, provided) -> existing.getSpeciesId() == provided.getSpeciesId()));
+    }
+
+    /**
+     * Removes all entries from this dictionary, for instance after an update of the database
+     * without change of release number.
+     */
+    void clear() {
+        log.traceEntry();
+        this.genesPerSpecies.clear();
+        this.conditionsPerCombAndSpecies.clear();
+        log.traceExit();
+    }
+
+    private static <T> Map<Integer, T> get(Map<Integer, IntObjectCache<T>> cachesPerSpecies,
+            Collection<Integer> speciesIds, Collection<Integer> ids, Predicate<T> isValid) {
+        log.traceEntry("{}, {}, {}, {}", cachesPerSpecies, speciesIds, ids, isValid);
+        Map<Integer, T> found = new HashMap<>();
+        for (Integer speciesId: speciesIds) {
+            IntObjectCache<T> cache = cachesPerSpecies.get(speciesId);
+            if (cache == null) {
+                continue;
+            }
+            for (Integer id: ids) {
+                if (found.containsKey(id)) {
+                    continue;
+                }
+                T value = cache.get(id);
+                if (value != null && isValid.test(value)) {
+                    found.put(id, value);
+                }
+            }
+            if (found.size() == ids.size()) {
+                break;
+            }
+        }
+        return log.traceExit(found);
+    }
+    private <T> Map<Integer, T> put(ConcurrentMap<Integer, IntObjectCache<T>> cachesPerSpecies,
+            Map<Integer, T> toStore, Function<T, Integer> speciesIdExtractor,
+            BiPredicate<T, T> canReuse) {
+        log.traceEntry("{}, {}, {}, {}", cachesPerSpecies, toStore, speciesIdExtractor, canReuse);
+        Map<Integer, T> stored = new HashMap<>();
+        for (Entry<Integer, T> entry: toStore.entrySet()) {
+            IntObjectCache<T> cache = cachesPerSpecies.computeIfAbsent(
+                    speciesIdExtractor.apply(entry.getValue()),
+                    k -> new IntObjectCache<>(this.maxElementsPerSpecies));
+            //The check and the replacement are synchronized on the cache,
+            //so that concurrent callers agree on the instance stored
+            synchronized (cache) {
+                T existing = cache.get(entry.getKey());
+                if (existing != null && canReuse.test(existing, entry.getValue())) {
+                    stored.put(entry.getKey(), existing);
+                } else {
+                    cache.put(entry.getKey(), entry.getValue());
+                    stored.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return log.traceExit(stored);
+    }
+}
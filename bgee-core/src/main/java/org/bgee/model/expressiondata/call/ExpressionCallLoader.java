@@ -6,14 +6,19 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +36,8 @@ import org.bgee.model.dao.api.DAO;
 import org.bgee.model.dao.api.expressiondata.DAODataType;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO.ConditionTOResultSet;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter2;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTOResultSet;
@@ -52,18 +59,20 @@ public class ExpressionCallLoader extends CommonService {
      */
     public static int LIMIT_MAX = 10000;
     /**
-     * An {@code int} that is the maximum number of elements
-     * in {@link #conditionMap} and {@link #geneMap} before starting
-     * to flushing some existing entries. It is not a <strong>guarantee</strong>
-     * that those {@code Map}s will never exceed that size, just a trigger
-     * to flushing entries as much as possible.
-     *
-     * @see #updateConditionMap(Set)
-     * @see #updateGeneMap(Set)
+     * @param serviceFactory    The {@code ServiceFactory} the {@code ExpressionCallLoader}
+     *                          is obtained from.
+     * @return                  The {@code ExpressionCallDictionary} shared by all the
+     *                          {@code ExpressionCallLoader}s using the same data source
+     *                          and release as {@code serviceFactory}.
      */
-    private static final int MAX_ELEMENTS_IN_MAP = 10000;
-
-
+    private static ExpressionCallDictionary getDictionary(ServiceFactory serviceFactory) {
+        log.traceEntry("{}", serviceFactory);
+        ExpressionCallDictionary dictionary = serviceFactory == null? null:
+            serviceFactory.getApplicationScopedObject(ExpressionCallDictionary.class.getName(),
+                    ExpressionCallDictionary.class, ExpressionCallDictionary::new);
+        //A mocked ServiceFactory does not provide one
+        return log.traceExit(dictionary != null? dictionary: new ExpressionCallDictionary());
+    }
 
     private final GlobalExpressionCallDAO globalExprCallDAO;
     private final GeneDAO geneDAO;
@@ -74,44 +83,36 @@ public class ExpressionCallLoader extends CommonService {
     private final StrainService strainService;
     private final CallServiceUtils utils;
     private final CallMapping callMapping;
+    private final ExpressionCallDictionary dictionary;
     /**
      * @see #getProcessedFilter()
      */
     private final ExpressionCallProcessedFilter processedFilter;
-
-    //These attributes are mutable, it is acceptable for a Service.
-    //We keep the speciesMap and geneBiotypeMap inside the rawDataProcessedFilter,
-    //as there will be no update to them by this RawDataLoader.
     /**
-     * A {@code Map} where keys are {@code Integer}s that are internal IDs of raw data conditions,
-     * the value being the associated {@code Condition2}. this {@code Map} is used
-     * to store the retrieved {@code Condition2}s over several independent calls
-     * to this {@code ExpressionCallLoader}, in order to avoid querying multiple times for the same
-     * conditions.
-     *
-     * @see #MAX_ELEMENTS_IN_MAP
-     * @see #updateRawDataConditionMap(Set)
+     * A {@code DAOCallFilter} that is the filter to retrieve the precomputed counts,
+     * memoized so that the data source is queried only once per loader to know
+     * whether the filter is covered by precomputed counts.
+     * @see #getPrecomputedCountFilter()
      */
-    private final Map<Integer, Condition2> conditionMap;
+    private DAOCallFilter precomputedCountFilter;
     /**
-     * A {@code Map} where keys are {@code Integer}s that are internal IDs of genes,
-     * the value being the associated {@code Gene}. this {@code Map} is used
-     * to store the retrieved {@code Gene}s over several independent calls
-     * to this {@code ExpressionCallLoader}, in order to avoid querying multiple times for the same
-     * genes.
-     *
-     * @see #MAX_ELEMENTS_IN_MAP
-     * @see #updateGeneMap(Set)
+     * A {@code boolean} that is {@code true} if {@link #precomputedCountFilter}
+     * was already computed.
      */
-    private final Map<Integer, Gene> geneMap;
+    private boolean precomputedCountFilterComputed;
 
     ExpressionCallLoader(ExpressionCallProcessedFilter processedFilter, ServiceFactory serviceFactory) {
         this(processedFilter, serviceFactory, new CallServiceUtils(),
                 new CallMapping(processedFilter));
     }
-    //Constructor package protected so that only the RawDataService can instantiate this class
     ExpressionCallLoader(ExpressionCallProcessedFilter processedFilter,
             ServiceFactory serviceFactory, CallServiceUtils utils, CallMapping callMapping) {
+        this(processedFilter, serviceFactory, utils, callMapping, getDictionary(serviceFactory));
+    }
+    //Constructor package protected so that only the RawDataService can instantiate this class
+    ExpressionCallLoader(ExpressionCallProcessedFilter processedFilter,
+            ServiceFactory serviceFactory, CallServiceUtils utils, CallMapping callMapping,
+            ExpressionCallDictionary dictionary) {
         super(serviceFactory);
 
         if (processedFilter == null) {
@@ -127,8 +128,13 @@ public class ExpressionCallLoader extends CommonService {
             throw log.throwing(new IllegalArgumentException(
                     "A CallMapping must be provided"));
         }
+        if (dictionary == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "An ExpressionCallDictionary must be provided"));
+        }
         this.utils = utils;
         this.callMapping = callMapping;
+        this.dictionary = dictionary;
         this.globalExprCallDAO = this.getDaoManager().getGlobalExpressionCallDAO();
         this.geneDAO = this.getDaoManager().getGeneDAO();
         this.condDAO = this.getDaoManager().getConditionDAO();
@@ -137,14 +143,13 @@ public class ExpressionCallLoader extends CommonService {
         this.sexService = this.getServiceFactory().getSexService();
         this.strainService = this.getServiceFactory().getStrainService();
         this.processedFilter = processedFilter;
-        this.conditionMap = new HashMap<>();
-        this.geneMap = new HashMap<>();
-        //Seed the Maps with any condition or gene already identified
+        //Seed the dictionary with any condition or gene already identified
         //from the processed filter.
         //We keep the speciesMap and geneBiotypeMap inside the processedFilter,
         //as there will be no update to them by this Loader.
-        this.conditionMap.putAll(this.processedFilter.getRequestedConditionMap());
-        this.geneMap.putAll(this.processedFilter.getRequestedGeneMap());
+        this.dictionary.putConditions(this.processedFilter.getSourceFilter().getCondParamCombination(),
+                this.processedFilter.getRequestedConditionMap());
+        this.dictionary.putGenes(this.processedFilter.getRequestedGeneMap());
     }
 
     //If we want to let users decide which of the anat. entity, dev. stage, etc, to retrieve
@@ -185,6 +190,14 @@ public class ExpressionCallLoader extends CommonService {
         }
         long newOffset = offset == null? 0L: offset;
         int newLimit = limit == null? LIMIT_MAX: limit;
+        return log.traceExit(this.loadFirstPage(newOffset, newLimit).calls);
+    }
+
+    private CallPage loadFirstPage(long offset, int limit) {
+        log.traceEntry("{}, {}", offset, limit);
+        if (this.processedFilter.getDaoFilters() == null) {
+            return log.traceExit(new CallPage(new ArrayList<>(), null, null));
+        }
 
         //We obtain the results from the data source
         ExpressionCallFilter2 callFilter = this.processedFilter.getSourceFilter();
@@ -195,8 +208,61 @@ public class ExpressionCallLoader extends CommonService {
                         convertServiceAttrToGlobalExprDAOAttr(attrs, callFilter),
                         //for now we always order by bgeeGeneId, conditionId
                         convertServiceOrderingAttrToGlobalExprDAOOrderingAttr(callFilter),
-                        newOffset,
-                        newLimit);
+                        offset,
+                        limit);
+        return log.traceExit(this.loadCalls(rs, callFilter, attrs));
+    }
+
+    /**
+     * A page of {@code ExpressionCall2}s, along with the key (Bgee gene ID,
+     * global condition ID) of its last call, allowing to retrieve the next page
+     * (see {@link ExpressionCallLoader#loadDataAfterKey(int, int, int)}).
+     */
+    private static class CallPage {
+        private final List<ExpressionCall2> calls;
+        private final Integer lastBgeeGeneId;
+        private final Integer lastGlobalConditionId;
+
+        private CallPage(List<ExpressionCall2> calls, Integer lastBgeeGeneId,
+                Integer lastGlobalConditionId) {
+            this.calls = calls;
+            this.lastBgeeGeneId = lastBgeeGeneId;
+            this.lastGlobalConditionId = lastGlobalConditionId;
+        }
+    }
+
+    /**
+     * Loads the calls following the call with the provided key, in the order
+     * used by {@link #loadData(Long, Integer)} (Bgee gene IDs, then global condition IDs).
+     * Unlike with an offset, the data source does not need to skip the calls before the key.
+     *
+     * @param afterBgeeGeneId           An {@code int} that is the Bgee gene ID
+     *                                  of the last call already retrieved.
+     * @param afterGlobalConditionId    An {@code int} that is the global condition ID
+     *                                  of the last call already retrieved.
+     * @param limit                     An {@code int} that is the maximum number of calls
+     *                                  to retrieve.
+     * @return                          A {@code CallPage} containing the calls retrieved.
+     */
+    private CallPage loadDataAfterKey(int afterBgeeGeneId, int afterGlobalConditionId,
+            int limit) {
+        log.traceEntry("{}, {}, {}", afterBgeeGeneId, afterGlobalConditionId, limit);
+        if (this.processedFilter.getDaoFilters() == null) {
+            return log.traceExit(new CallPage(new ArrayList<>(), null, null));
+        }
+        ExpressionCallFilter2 callFilter = this.processedFilter.getSourceFilter();
+        EnumSet<CallService.Attribute> attrs = this.getAttributes(callFilter);
+        GlobalExpressionCallTOResultSet rs = this.globalExprCallDAO
+                .getGlobalExpressionCalls2AfterKey(
+                        this.processedFilter.getDaoFilters(),
+                        convertServiceAttrToGlobalExprDAOAttr(attrs, callFilter),
+                        afterBgeeGeneId, afterGlobalConditionId, limit);
+        return log.traceExit(this.loadCalls(rs, callFilter, attrs));
+    }
+
+    private CallPage loadCalls(GlobalExpressionCallTOResultSet rs,
+            ExpressionCallFilter2 callFilter, EnumSet<CallService.Attribute> attrs) {
+        log.traceEntry("{}, {}, {}", rs, callFilter, attrs);
 
         //We iterate a first time the calls to retrieve the bgeeGeneIds and the condIds,
         //and we store them along the way
@@ -213,17 +279,90 @@ public class ExpressionCallLoader extends CommonService {
             }
             callTOs.add(callTO);
         }
-        //Now we update the geneMap and condMap
-        this.updateConditionMap(condIds);
-        this.updateGeneMap(bgeeGeneIds);
+        //Now we retrieve the genes and conditions
+        Map<Integer, Condition2> conditionMap = this.loadConditionMap(condIds);
+        Map<Integer, Gene> geneMap = this.loadGeneMap(bgeeGeneIds);
 
         //Now we generate the final result
-        return log.traceExit(callTOs.stream()
+        GlobalExpressionCallTO lastCallTO = callTOs.isEmpty()? null:
+            callTOs.get(callTOs.size() - 1);
+        return log.traceExit(new CallPage(callTOs.stream()
                 .map(cTO -> this.callMapping.mapGlobalCallTOToExpressionCall(cTO,
-                        this.geneMap, this.conditionMap, callFilter,
+                        geneMap, conditionMap, callFilter,
                         this.processedFilter.getMaxRankPerSpecies(), attrs))
-                .collect(Collectors.toList()));
-        
+                .collect(Collectors.toList()),
+                lastCallTO == null? null: lastCallTO.getBgeeGeneId(),
+                lastCallTO == null? null: lastCallTO.getConditionId()));
+    }
+
+    /**
+     * Loads expression calls lazily, by pages of {@link #LIMIT_MAX} calls retrieved
+     * only when the previous page has been consumed. This allows to retrieve more than
+     * {@link #LIMIT_MAX} calls without holding them all in memory, for instance to stream them
+     * to a client. Only the first page is retrieved using {@code offset}
+     * (see {@link #loadData(Long, Integer)}), the following pages start after the key
+     * (Bgee gene ID, global condition ID) of the last call of the previous page,
+     * so that the data source does not have to skip again the calls already retrieved.
+     *
+     * @param offset    A {@code Long} that is the offset of the first call to retrieve.
+     *                  If {@code null}, 0 is used.
+     * @param limit     A {@code Long} that is the maximum number of calls to retrieve.
+     *                  If {@code null}, all calls are retrieved.
+     * @return          A sequential {@code Stream} of {@code ExpressionCall2}s.
+     *                  Queries are performed while it is consumed.
+     * @throws IllegalArgumentException If {@code offset} is less than 0,
+     *                                  or {@code limit} is less than or equal to 0.
+     */
+    public Stream<ExpressionCall2> loadDataStream(Long offset, Long limit)
+            throws IllegalArgumentException {
+        log.traceEntry("{}, {}", offset, limit);
+        if (offset != null && offset < 0) {
+            throw log.throwing(new IllegalArgumentException("offset cannot be less than 0"));
+        }
+        if (limit != null && limit <= 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "limit cannot be less than or equal to 0"));
+        }
+        final long firstOffset = offset == null? 0L: offset;
+        final long maxCount = limit == null? Long.MAX_VALUE: limit;
+
+        Spliterator<ExpressionCall2> spliterator = new Spliterators.AbstractSpliterator<ExpressionCall2>(
+                maxCount, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Integer lastBgeeGeneId = null;
+            private Integer lastGlobalConditionId = null;
+            private long remaining = maxCount;
+            private boolean lastPage = false;
+            private Iterator<ExpressionCall2> page = Collections.emptyIterator();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super ExpressionCall2> action) {
+                while (!this.page.hasNext()) {
+                    if (this.lastPage || this.remaining <= 0) {
+                        return false;
+                    }
+                    int pageSize = (int) Math.min(LIMIT_MAX, this.remaining);
+                    CallPage callPage = this.lastBgeeGeneId == null?
+                            loadFirstPage(firstOffset, pageSize):
+                            loadDataAfterKey(this.lastBgeeGeneId, this.lastGlobalConditionId,
+                                    pageSize);
+                    List<ExpressionCall2> calls = callPage.calls;
+                    this.remaining -= calls.size();
+                    this.lastPage = calls.size() < pageSize;
+                    if (!this.lastPage && (callPage.lastBgeeGeneId == null ||
+                            callPage.lastGlobalConditionId == null)) {
+                        throw log.throwing(new IllegalStateException(
+                                "Missing Bgee gene ID or global condition ID "
+                                + "to retrieve the next page"));
+                    }
+                    this.lastBgeeGeneId = callPage.lastBgeeGeneId;
+                    this.lastGlobalConditionId = callPage.lastGlobalConditionId;
+                    this.page = calls.iterator();
+                }
+                action.accept(this.page.next());
+                return true;
+            }
+        };
+        return log.traceExit(StreamSupport.stream(spliterator, false));
     }
 
     public long loadDataCount() {
@@ -234,8 +373,12 @@ public class ExpressionCallLoader extends CommonService {
         if (this.processedFilter.getDaoFilters() == null) {
             return log.traceExit(0L);
         }
-        //FIXME: this value, and maybe also per species, must be inserted in a new table of the database,
-        //and getGlobalExpressionCallsCount to detect when the filter is empty and use that table
+        DAOCallFilter precomputedCountFilter = this.getPrecomputedCountFilter();
+        if (precomputedCountFilter != null) {
+            return log.traceExit(this.globalExprCallDAO.getPrecomputedGlobalExpressionCallsCount(
+                    precomputedCountFilter));
+        }
+        //Value used when the counts were not precomputed for the empty filter
         if (this.processedFilter.getSourceFilter().isEmptyFilter()) {
             return log.traceExit(7111443197L);
         }
@@ -251,8 +394,13 @@ public class ExpressionCallLoader extends CommonService {
             return log.traceExit(new ExpressionCallPostFilter());
         }
 
-        Function<Collection<ConditionDAO.Attribute>, ConditionTOResultSet> condRequestFun = (attrs) ->
-        this.condDAO.getGlobalConditionsFromCallFilters(this.getProcessedFilter().getDaoFilters(), attrs);
+        DAOCallFilter precomputedCountFilter = this.getPrecomputedCountFilter();
+        Function<Collection<ConditionDAO.Attribute>, ConditionTOResultSet> condRequestFun =
+                precomputedCountFilter != null?
+                (attrs) -> this.condDAO.getGlobalConditionsFromPrecomputedCallCounts(
+                        precomputedCountFilter, attrs):
+                (attrs) -> this.condDAO.getGlobalConditionsFromCallFilters(
+                        this.getProcessedFilter().getDaoFilters(), attrs);
         Map<ConditionParameter<?, ?>, Set<? extends Object>> condParamEntities = new HashMap<>();
 
         // retrieve anatEntities and cell types
@@ -327,6 +475,52 @@ public class ExpressionCallLoader extends CommonService {
         return processedFilter;
     }
 
+    /**
+     * Generates the {@code DAOCallFilter} allowing to retrieve the count of calls,
+     * and the conditions with calls, from the counts of calls precomputed per condition
+     * in the data source, rather than by querying the calls. The result is memoized,
+     * as it is used both to count the calls and to load the post-filters.
+     *
+     * @return  A {@code DAOCallFilter} to use with
+     *          {@link GlobalExpressionCallDAO#getPrecomputedGlobalExpressionCallsCount(DAOCallFilter)}
+     *          and {@link ConditionDAO#getGlobalConditionsFromPrecomputedCallCounts(DAOCallFilter,
+     *          Collection)}. {@code null} if the source filter requests specific genes,
+     *          or if the counts were not precomputed for its filters on observed data
+     *          and p-values.
+     */
+    private synchronized DAOCallFilter getPrecomputedCountFilter() {
+        log.traceEntry();
+        if (!this.precomputedCountFilterComputed) {
+            this.precomputedCountFilter = this.computePrecomputedCountFilter();
+            this.precomputedCountFilterComputed = true;
+        }
+        return log.traceExit(this.precomputedCountFilter);
+    }
+    private DAOCallFilter computePrecomputedCountFilter() {
+        log.traceEntry();
+        ExpressionCallFilter2 sourceFilter = this.processedFilter.getSourceFilter();
+        Set<DAOCallFilter> daoFilters = this.processedFilter.getDaoFilters();
+        DAOCallFilter countFilter = null;
+        if (sourceFilter == null || sourceFilter.isEmptyFilter()) {
+            countFilter = new DAOCallFilter(null, null, null, null, null);
+        } else if (daoFilters.size() == 1 && sourceFilter.getGeneFilters().stream()
+                .allMatch(f -> f.getGeneIds().isEmpty())) {
+            //No specific genes requested, the gene IDs in the DAOCallFilter
+            //are all the genes of the species.
+            DAOCallFilter daoFilter = daoFilters.iterator().next();
+            //Species IDs and condition IDs are "OR" conditions in DAOCallFilters,
+            //so we use the species IDs only if no condition IDs were defined.
+            countFilter = new DAOCallFilter(
+                    daoFilter.getConditionIds().isEmpty()? sourceFilter.getSpeciesIdsConsidered(): null,
+                    null, daoFilter.getConditionIds(), daoFilter.getCallObservedDataFilters(),
+                    new ArrayList<Set<DAOFDRPValueFilter2>>(daoFilter.getPValueFilters()));
+        }
+        if (countFilter != null && this.globalExprCallDAO.isCoveredByPrecomputedCounts(countFilter)) {
+            return log.traceExit(countFilter);
+        }
+        return log.traceExit((DAOCallFilter) null);
+    }
+
     //TODO to continue here
 //    private ExpressionCallPostFilter loadConditionPostFilter(BiFunction<Collection<DAOCallFilter>,
 //            Collection<ConditionDAO.Attribute>, ConditionTOResultSet> condRequest) {
@@ -381,55 +575,54 @@ public class ExpressionCallLoader extends CommonService {
 //                sexes, strains, dataType));
 //    }
 
-    private void updateConditionMap(Set<Integer> condIds) {
+    private Map<Integer, Condition2> loadConditionMap(Set<Integer> condIds) {
         log.traceEntry("{}", condIds);
-
-        Set<Integer> missingCondIds = new HashSet<>(condIds);
-        missingCondIds.removeAll(this.conditionMap.keySet());
-        if (missingCondIds.isEmpty()) {
-            log.traceExit(); return;
+        if (condIds.isEmpty()) {
+            return log.traceExit(new HashMap<>());
         }
         Map<Integer, Species> speciesMap = this.processedFilter.getSpeciesMap();
-        Map<Integer, Condition2> missingCondMap = this.utils.loadConditionMapFromResultSet(
+        Set<ConditionParameter<?, ?>> condParamCombination =
+                this.processedFilter.getSourceFilter().getCondParamCombination();
+        //First, we look for conditions already retrieved by any ExpressionCallLoader
+        Map<Integer, Condition2> condMap = this.dictionary.getConditions(
+                condParamCombination, speciesMap, condIds);
+        Set<Integer> missingCondIds = new HashSet<>(condIds);
+        missingCondIds.removeAll(condMap.keySet());
+        //Then we query the remaining ones and store them for other loaders
+        if (!missingCondIds.isEmpty()) {
+            condMap.putAll(this.dictionary.putConditions(condParamCombination,
+                    this.utils.loadConditionMapFromResultSet(
                         (attrs) -> this.condDAO.getGlobalConditionsFromIds(missingCondIds, attrs),
-                        this.utils.convertCondParamsToDAOCondAttributes(
-                                this.processedFilter.getSourceFilter().getCondParamCombination()),
+                        this.utils.convertCondParamsToDAOCondAttributes(condParamCombination),
                         speciesMap.values(), this.anatEntityService, this.devStageService,
-                        this.sexService, this.strainService);
-        //If the Map is going to grow too big, we keep only the entries needed
-        //for this method call
-        if (this.conditionMap.size() + missingCondMap.size() > MAX_ELEMENTS_IN_MAP) {
-            this.conditionMap.keySet().retainAll(condIds);
+                        this.sexService, this.strainService)));
         }
-        this.conditionMap.putAll(missingCondMap);
-
-        log.traceExit(); return;
+        return log.traceExit(condMap);
     }
-    private void updateGeneMap(Set<Integer> bgeeGeneIds) {
+    private Map<Integer, Gene> loadGeneMap(Set<Integer> bgeeGeneIds) {
         log.traceEntry("{}", bgeeGeneIds);
-
-        Set<Integer> missingGeneIds = new HashSet<>(bgeeGeneIds);
-        missingGeneIds.removeAll(this.geneMap.keySet());
-        if (missingGeneIds.isEmpty()) {
-            log.traceExit(); return;
+        if (bgeeGeneIds.isEmpty()) {
+            return log.traceExit(new HashMap<>());
         }
         Map<Integer, Species> speciesMap = this.processedFilter.getSpeciesMap();
         Map<Integer, GeneBioType> geneBioTypeMap = this.processedFilter.getGeneBioTypeMap();
-        Map<Integer, Gene> missingGeneMap = this.geneDAO.getGenesByBgeeIds(missingGeneIds).stream()
-                .collect(Collectors.toMap(gTO -> gTO.getId(), gTO -> mapGeneTOToGene(gTO,
+        //First, we look for genes already retrieved by any ExpressionCallLoader
+        Map<Integer, Gene> geneMap = this.dictionary.getGenes(speciesMap, geneBioTypeMap,
+                bgeeGeneIds);
+        Set<Integer> missingGeneIds = new HashSet<>(bgeeGeneIds);
+        missingGeneIds.removeAll(geneMap.keySet());
+        //Then we query the remaining ones and store them for other loaders
+        if (!missingGeneIds.isEmpty()) {
+            geneMap.putAll(this.dictionary.putGenes(
+                    this.geneDAO.getGenesByBgeeIds(missingGeneIds).stream()
+                    .collect(Collectors.toMap(gTO -> gTO.getId(), gTO -> mapGeneTOToGene(gTO,
                         Optional.ofNullable(speciesMap.get(gTO.getSpeciesId()))
                         .orElseThrow(() -> new IllegalStateException("Missing species ID for gene")),
                         null, null,
                         Optional.ofNullable(geneBioTypeMap.get(gTO.getGeneBioTypeId()))
-                        .orElseThrow(() -> new IllegalStateException("Missing gene biotype ID for gene")))));
-        //If the Map is going to grow too big, we keep only the entries needed
-        //for this method call
-        if (this.geneMap.size() + missingGeneMap.size() > MAX_ELEMENTS_IN_MAP) {
-            this.geneMap.keySet().retainAll(bgeeGeneIds);
+                        .orElseThrow(() -> new IllegalStateException("Missing gene biotype ID for gene")))))));
         }
-        this.geneMap.putAll(missingGeneMap);
-
-        log.traceExit(); return;
+        return log.traceExit(geneMap);
     }
 
     private EnumSet<CallService.Attribute> getAttributes(ExpressionCallFilter2 callFilter) {
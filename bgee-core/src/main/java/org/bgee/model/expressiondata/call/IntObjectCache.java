@@ -0,0 +1,214 @@
+package org.bgee.model.expressiondata.call;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A thread-safe cache of objects associated with {@code int} keys, with a bounded size.
+ * Keys are stored as primitive {@code int}s in open-addressing tables, to avoid
+ * the boxing and the {@code Map.Entry} overhead of a {@code HashMap<Integer, V>}.
+ * <p>
+ * The eviction is generational: entries are first stored in a "recent" table; when it is full,
+ * it becomes the "old" table and the previous old table is dropped. Entries retrieved
+ * from the old table are promoted back to the recent table, so that frequently used entries
+ * are kept. The number of entries is thus never greater than the maximum size requested
+ * at instantiation.
+ * <p>
+ * {@code null} values are not accepted. The first value stored for a key is the one returned
+ * to all callers (see {@link #putIfAbsent(int, Object)}), so that this cache can be used
+ * to intern objects.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ *
+ * @param <V>   The type of values stored.
+ */
+class IntObjectCache<V> {
+    private final static Logger log = LogManager.getLogger(IntObjectCache.class.getName());
+
+    /**
+     * A simple open-addressing hash table with {@code int} keys and linear probing.
+     * No removal is supported, entries are dropped by discarding the whole table.
+     * Not thread-safe.
+     *
+     * @param <V>   The type of values stored.
+     */
+    static class IntObjectMap<V> {
+        private static final float LOAD_FACTOR = 0.6f;
+
+        private int[] keys;
+        private Object[] values;
+        private int mask;
+        private int size;
+        private int resizeThreshold;
+
+        IntObjectMap(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4,
+                    (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+            this.allocate(capacity);
+            this.size = 0;
+        }
+
+        private void allocate(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+        private static int hash(int key) {
+            //Murmur3 finalizer, IDs are often consecutive integers
+            int h = key * 0x85ebca6b;
+            return h ^ (h >>> 16);
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int key) {
+            int index = hash(key) & this.mask;
+            Object value;
+            while ((value = this.values[index]) != null) {
+                if (this.keys[index] == key) {
+                    return (V) value;
+                }
+                index = (index + 1) & this.mask;
+            }
+            return null;
+        }
+        void put(int key, V value) {
+            assert value != null;
+            int index = hash(key) & this.mask;
+            while (this.values[index] != null) {
+                if (this.keys[index] == key) {
+                    this.values[index] = value;
+                    return;
+                }
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = key;
+            this.values[index] = value;
+            this.size++;
+            if (this.size > this.resizeThreshold) {
+                this.resize();
+            }
+        }
+        @SuppressWarnings("unchecked")
+        private void resize() {
+            int[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+            this.allocate(oldKeys.length << 1);
+            this.size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    this.put(oldKeys[i], (V) oldValues[i]);
+                }
+            }
+        }
+        int size() {
+            return this.size;
+        }
+        void clear() {
+            Arrays.fill(this.values, null);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * An {@code int} that is the maximum number of entries in each generation.
+     */
+    private final int maxGenerationSize;
+    private IntObjectMap<V> recent;
+    private IntObjectMap<V> old;
+
+    /**
+     * @param maxSize   An {@code int} that is the maximum number of entries stored.
+     * @throws IllegalArgumentException If {@code maxSize} is less than 2.
+     */
+    IntObjectCache(int maxSize) throws IllegalArgumentException {
+        if (maxSize < 2) {
+            throw log.throwing(new IllegalArgumentException("Max size must be at least 2"));
+        }
+        this.maxGenerationSize = maxSize / 2;
+        //We don't allocate tables for the max size directly, most caches will stay small
+        this.recent = new IntObjectMap<>(Math.min(this.maxGenerationSize, 1024));
+        this.old = new IntObjectMap<>(4);
+    }
+
+    /**
+     * @param key   An {@code int} that is the key to retrieve the value for.
+     * @return      The value associated with {@code key}, {@code null} if none.
+     */
+    synchronized V get(int key) {
+        V value = this.recent.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = this.old.get(key);
+        if (value != null) {
+            this.putInRecent(key, value);
+        }
+        return value;
+    }
+    /**
+     * Stores {@code value} for {@code key} only if no value was already present.
+     *
+     * @param key   An {@code int} that is the key to store the value for.
+     * @param value The value to store.
+     * @return      The value associated with {@code key} after this call: either the value
+     *              already present, or {@code value}.
+     * @throws IllegalArgumentException If {@code value} is {@code null}.
+     */
+    synchronized V putIfAbsent(int key, V value) throws IllegalArgumentException {
+        if (value == null) {
+            throw log.throwing(new IllegalArgumentException("null values not accepted"));
+        }
+        V existing = this.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        this.putInRecent(key, value);
+        return value;
+    }
+    /**
+     * Stores {@code value} for {@code key}, replacing any value already present.
+     *
+     * @param key   An {@code int} that is the key to store the value for.
+     * @param value The value to store.
+     * @throws IllegalArgumentException If {@code value} is {@code null}.
+     */
+    synchronized void put(int key, V value) throws IllegalArgumentException {
+        if (value == null) {
+            throw log.throwing(new IllegalArgumentException("null values not accepted"));
+        }
+        if (this.recent.get(key) != null) {
+            this.recent.put(key, value);
+            return;
+        }
+        //The entry possibly present in the old generation is shadowed by the recent one
+        this.putInRecent(key, value);
+    }
+    /**
+     * @return  An {@code int} that is the approximate number of entries stored
+     *          (entries promoted from the old generation can be counted twice).
+     */
+    synchronized int size() {
+        return this.recent.size() + this.old.size();
+    }
+    /**
+     * Removes all entries from this cache.
+     */
+    synchronized void clear() {
+        this.recent.clear();
+        this.old.clear();
+    }
+
+    private void putInRecent(int key, V value) {
+        if (this.recent.size() >= this.maxGenerationSize) {
+            log.debug("Cache generation full ({} entries), dropping old generation",
+                    this.recent.size());
+            this.old = this.recent;
+            this.recent = new IntObjectMap<>(Math.min(this.maxGenerationSize, 1024));
+        }
+        this.recent.put(key, value);
+    }
+}
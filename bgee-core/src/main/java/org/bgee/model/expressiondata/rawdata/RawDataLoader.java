@@ -270,6 +270,30 @@ public class RawDataLoader extends CommonService {
      * @see #updateGeneMap(Set)
      */
     private final Map<Integer, Gene> geneMap;
+    /**
+     * An {@code Integer} that is the ID of the species targeted by the {@code DAORawDataFilter}s
+     * of the {@code RawDataProcessedFilter}, if they target one species with no other filtering,
+     * {@code null} otherwise. Only meaningful if {@link #precomputedSpeciesIdComputed}
+     * is {@code true}.
+     *
+     * @see #getPrecomputedSpeciesId()
+     */
+    private Integer precomputedSpeciesId;
+    /**
+     * A {@code boolean} that is {@code true} if {@link #precomputedSpeciesId}
+     * was already computed.
+     */
+    private boolean precomputedSpeciesIdComputed;
+    /**
+     * A {@code Map} where keys are {@code DAODataType}s, the associated value being
+     * an {@code Optional} containing the {@code RawDataCountContainerTO} precomputed for
+     * {@link #precomputedSpeciesId} and this data type, or empty if no count was precomputed.
+     * It is used to count raw data, and to know whether the conditions used in annotations
+     * were precomputed, without querying the data source several times.
+     *
+     * @see #getPrecomputedCount(DataType)
+     */
+    private final Map<DAODataType, Optional<RawDataCountContainerTO>> precomputedCounts;
 
     //Constructor package protected so that only the RawDataService can instantiate this class
     RawDataLoader(ServiceFactory serviceFactory,
@@ -304,6 +328,7 @@ public class RawDataLoader extends CommonService {
 
         this.rawDataConditionMap = new HashMap<>();
         this.geneMap = new HashMap<>();
+        this.precomputedCounts = new HashMap<>();
         //Seed the Maps with any condition or gene already identified
         //from the processed filter.
         //We keep the speciesMap and geneBiotypeMap inside the rawDataProcessedFilter,
@@ -531,7 +556,15 @@ public class RawDataLoader extends CommonService {
         //Now, condition info
         RawDataPostFilter condFilter = null;
         if (withConditionFilters) {
+            //If the conditions used in annotations were precomputed for the requested species,
+            //we use them rather than joining the raw data tables
+            Integer speciesId = this.getPrecomputedCount(requestedDataType) == null? null:
+                this.getPrecomputedSpeciesId();
             condFilter = this.loadConditionPostFilter(
+                    speciesId != null?
+                    (attrs) -> this.rawDataConditionDAO.getPrecomputedRawDataConditions(
+                            speciesId, convertDataTypeToPrecomputedDAODataType(requestedDataType),
+                            attrs):
                     (attrs) -> this.rawDataConditionDAO.getRawDataConditionsLinkedToDataType(
                             this.getRawDataProcessedFilter().getDaoFilters(),
                             requestedDAODataType, requestedDataType.getSingleCell(), attrs),
@@ -751,6 +784,14 @@ public class RawDataLoader extends CommonService {
                     withCall? 0: null));
         }
 
+        RawDataCountContainerTO precomputedTO = this.getPrecomputedCount(DataType.AFFYMETRIX);
+        if (precomputedTO != null) {
+            return log.traceExit(new AffymetrixCountContainer(
+                    withExperiment? precomputedTO.getExperimentCount(): null,
+                    withAssay? precomputedTO.getAssayCount(): null,
+                    withCall? precomputedTO.getCallCount(): null));
+        }
+
         RawDataCountContainerTO countTO = this.rawDataCountDAO.getAffymetrixCount(
                 this.getRawDataProcessedFilter().getDaoFilters(),
                 withExperiment, withAssay, withCall);
@@ -1042,6 +1083,16 @@ public class RawDataLoader extends CommonService {
                     withCall? 0: null));
         }
 
+        RawDataCountContainerTO precomputedTO = this.getPrecomputedCount(
+                isSingleCell? DataType.SC_RNA_SEQ: DataType.RNA_SEQ);
+        if (precomputedTO != null) {
+            return log.traceExit(new RnaSeqCountContainer(
+                    withExperiment? precomputedTO.getExperimentCount(): null,
+                    withAssay? precomputedTO.getRnaSeqLibraryCount(): null,
+                    withAssay? precomputedTO.getAssayCount(): null,
+                    withCall? precomputedTO.getCallCount(): null));
+        }
+
         RawDataCountContainerTO countTO = rawDataCountDAO.getRnaSeqCount(
                 this.getRawDataProcessedFilter().getDaoFilters(),
                 isSingleCell, withExperiment, withAssay, withAssay, withCall);
@@ -1200,6 +1251,13 @@ public class RawDataLoader extends CommonService {
                     withCall? 0: null));
         }
 
+        RawDataCountContainerTO precomputedTO = this.getPrecomputedCount(DataType.EST);
+        if (precomputedTO != null) {
+            return log.traceExit(new ESTCountContainer(
+                    withExperiment || withAssay? precomputedTO.getAssayCount(): null,
+                    withCall? precomputedTO.getCallCount(): null));
+        }
+
         RawDataCountContainerTO countTO = rawDataCountDAO.getESTCount(
                 this.getRawDataProcessedFilter().getDaoFilters(),
                 withExperiment || withAssay, withCall);
@@ -1434,6 +1492,14 @@ public class RawDataLoader extends CommonService {
                     withCall? 0: null));
         }
 
+        RawDataCountContainerTO precomputedTO = this.getPrecomputedCount(DataType.IN_SITU);
+        if (precomputedTO != null) {
+            return log.traceExit(new InSituCountContainer(
+                    withExperiment? precomputedTO.getExperimentCount(): null,
+                    withAssay? precomputedTO.getInsituAssayConditionCount(): null,
+                    withCall? precomputedTO.getCallCount(): null));
+        }
+
         RawDataCountContainerTO countTO = rawDataCountDAO.getInSituCount(
                 this.getRawDataProcessedFilter().getDaoFilters(),
                 withExperiment, false, withAssay, withCall);
@@ -1599,6 +1665,71 @@ public class RawDataLoader extends CommonService {
         return this.rawDataProcessedFilter;
     }
 
+    /**
+     * Retrieves the counts precomputed for the requested data type, if the
+     * {@code DAORawDataFilter}s of the {@code RawDataProcessedFilter} target one species
+     * with no other filtering (see {@link RawDataCountDAO#getPrecomputedRawDataCount(int,
+     * DAODataType)}). Distinct counts cannot be summed over species, so that queries
+     * targeting several species are not covered. The result is memoized, as it is used
+     * both to count raw data and to load the post-filters.
+     *
+     * @param dataType  The {@code DataType} to retrieve precomputed counts for.
+     * @return          The precomputed {@code RawDataCountContainerTO}, or {@code null}
+     *                  if the filters are not covered or no count was precomputed.
+     */
+    private synchronized RawDataCountContainerTO getPrecomputedCount(DataType dataType) {
+        log.traceEntry("{}", dataType);
+        Integer speciesId = this.getPrecomputedSpeciesId();
+        if (speciesId == null) {
+            return log.traceExit((RawDataCountContainerTO) null);
+        }
+        return log.traceExit(this.precomputedCounts.computeIfAbsent(
+                convertDataTypeToPrecomputedDAODataType(dataType),
+                dt -> Optional.ofNullable(this.rawDataCountDAO.getPrecomputedRawDataCount(
+                        speciesId, dt)))
+                .orElse(null));
+    }
+    /**
+     * @return  An {@code Integer} that is the ID of the species targeted by the
+     *          {@code DAORawDataFilter}s of the {@code RawDataProcessedFilter},
+     *          if they target one species with no other filtering, {@code null} otherwise.
+     */
+    private synchronized Integer getPrecomputedSpeciesId() {
+        log.traceEntry();
+        if (!this.precomputedSpeciesIdComputed) {
+            Collection<DAORawDataFilter> daoFilters = this.getRawDataProcessedFilter().getDaoFilters();
+            if (daoFilters != null && daoFilters.size() == 1) {
+                DAORawDataFilter daoFilter = daoFilters.iterator().next();
+                if (daoFilter.getSpeciesIds().size() == 1 && daoFilter.getGeneIds().isEmpty() &&
+                        daoFilter.getConditionIds().isEmpty() &&
+                        daoFilter.getExperimentIds().isEmpty() && daoFilter.getAssayIds().isEmpty() &&
+                        daoFilter.getExprOrAssayIds().isEmpty() &&
+                        daoFilter.getUsedInPropagatedCalls() == null) {
+                    this.precomputedSpeciesId = daoFilter.getSpeciesIds().iterator().next();
+                }
+            }
+            this.precomputedSpeciesIdComputed = true;
+        }
+        return log.traceExit(this.precomputedSpeciesId);
+    }
+    private static DAODataType convertDataTypeToPrecomputedDAODataType(DataType dataType) {
+        log.traceEntry("{}", dataType);
+        switch (dataType) {
+        case AFFYMETRIX:
+            return log.traceExit(DAODataType.AFFYMETRIX);
+        case RNA_SEQ:
+            return log.traceExit(DAODataType.RNA_SEQ);
+        case SC_RNA_SEQ:
+            return log.traceExit(DAODataType.SC_RNA_SEQ);
+        case EST:
+            return log.traceExit(DAODataType.EST);
+        case IN_SITU:
+            return log.traceExit(DAODataType.IN_SITU);
+        default:
+            throw log.throwing(new IllegalStateException("Unsupported data type: " + dataType));
+        }
+    }
+
     private DAODataType convertRawDataDataTypeToDAODataType(RawDataDataType<?, ?> dt) {
         log.traceEntry("{}", dt);
         if (dt == null) {
@@ -1,5 +1,8 @@
 package org.bgee.model.gene;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -10,11 +13,17 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.model.BgeeProperties;
 import org.bgee.model.CommonService;
+import org.bgee.model.RequestCache;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.dao.api.gene.GeneDAO;
 import org.bgee.model.dao.api.gene.GeneDAO.GeneTO;
@@ -30,7 +39,7 @@ import org.bgee.model.species.Taxon;
  * 
  * @author  Julien Wollbrett
  * @author  Frederic Bastian
- * @version Bgee 15, Oct. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 14.2, Feb. 2021
 */
 
@@ -41,6 +50,55 @@ public class GeneHomologsService extends CommonService{
 
     private final static int OMA_SOURCE_ID = 28;
     private final static String OMA_SOURCE_NAME = "OMA";
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s identifying a homology index file
+     * and the release it must have been generated from (see {@link #getHomologyIndex(
+     * BgeeProperties)}), the associated value being an {@code Optional} containing
+     * the {@code GeneHomologyIndex} loaded from the file, shared by all
+     * the {@code GeneHomologsService}s using it, or empty if the file could not be used.
+     *
+     * @see #clearHomologyIndexes()
+     */
+    private final static ConcurrentMap<String, Optional<GeneHomologyIndex>> HOMOLOGY_INDEXES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Discards the homology indexes loaded, so that the index files are loaded again
+     * at the next request, for instance after they were generated again.
+     */
+    public static void clearHomologyIndexes() {
+        log.traceEntry();
+        HOMOLOGY_INDEXES.clear();
+        log.traceExit();
+    }
+    /**
+     * Loads the {@code GeneHomologyIndex} from the file provided by
+     * {@link BgeeProperties#getHomologyIndexFile()}, if not already loaded.
+     * The index is not used if it was generated from another release than
+     * the one of {@code props} (see {@link GeneHomologyIndex#getRelease(BgeeProperties)}).
+     *
+     * @param props The {@code BgeeProperties} providing the path to the index file,
+     *              and the Bgee release.
+     * @return      The {@code GeneHomologyIndex} loaded, {@code null} if no index file
+     *              is configured, or if it could not be used.
+     */
+    private static GeneHomologyIndex getHomologyIndex(BgeeProperties props) {
+        log.traceEntry("{}", props);
+        if (props == null || StringUtils.isBlank(props.getHomologyIndexFile())) {
+            return log.traceExit((GeneHomologyIndex) null);
+        }
+        Path file = Paths.get(props.getHomologyIndexFile()).toAbsolutePath();
+        String release = GeneHomologyIndex.getRelease(props);
+        return log.traceExit(HOMOLOGY_INDEXES.computeIfAbsent(file + " - " + release, k -> {
+            try {
+                return Optional.of(GeneHomologyIndex.load(file, release));
+            } catch (IOException e) {
+                log.catching(Level.WARN, e);
+                log.warn("Homology index {} cannot be used, homologs will be queried", file);
+                return Optional.empty();
+            }
+        }).orElse(null));
+    }
 
     protected static LinkedHashMap<Taxon, Set<Gene>> sortMapByTaxon(LinkedHashMap<Taxon, Set<Gene>> toSort) {
         log.traceEntry("{}", toSort);
@@ -57,11 +115,17 @@ public class GeneHomologsService extends CommonService{
 
     private final GeneHomologsDAO geneHomologsDAO;
     private final GeneDAO geneDAO;
+    /**
+     * The {@code GeneHomologyIndex} used by this {@code GeneHomologsService}, {@code null}
+     * if homologs are queried to the database.
+     */
+    private final GeneHomologyIndex homologyIndex;
     
     public GeneHomologsService(ServiceFactory serviceFactory) {
         super(serviceFactory);
         this.geneHomologsDAO = this.getDaoManager().getGeneHomologsDAO();
         this.geneDAO = this.getDaoManager().getGeneDAO();
+        this.homologyIndex = getHomologyIndex(serviceFactory.getBgeeProperties());
     }
     
     /**
@@ -270,7 +334,7 @@ public class GeneHomologsService extends CommonService{
                 .loadSpeciesMap(null, false);
         // load GeneBioTypes by geneBioTypeId, because we will also need them for homologs later
         Map<Integer,GeneBioType> geneBioTypeMap = Collections
-                .unmodifiableMap(loadGeneBioTypeMap(this.geneDAO));
+                .unmodifiableMap(this.loadSharedGeneBioTypeMap(this.geneDAO));
         // load Genes by bgeeGeneId
         Map<Integer, Gene> genesByBgeeGeneId = loadGeneMapFromGeneFilters(clonedGeneFilter,
                 speciesMap, geneBioTypeMap, geneDAO);
@@ -300,22 +364,32 @@ public class GeneHomologsService extends CommonService{
         Set<GeneHomologsTO> orthologsTOs = new HashSet<GeneHomologsDAO.GeneHomologsTO>();
         Set<GeneHomologsTO> paralogsTOs = new HashSet<GeneHomologsDAO.GeneHomologsTO>();
         if (withOrthologs) {
-            orthologsTOs = new HashSet<>(geneHomologsDAO.getOrthologousGenesAtTaxonLevel(
+            orthologsTOs = this.loadHomologsTOs(GeneHomologs.HomologyType.ORTHOLOGY,
                     genesByBgeeGeneId.keySet(), orthologsTaxonId, orthologsWithDescendantTaxon,
-                    orthologsSpeciesIds).getAllTOs());
+                    orthologsSpeciesIds);
         }
         if (withParalogs) {
-            paralogsTOs = new HashSet<>(geneHomologsDAO.getParalogousGenesAtTaxonLevel(
+            paralogsTOs = this.loadHomologsTOs(GeneHomologs.HomologyType.PARALOGY,
                     genesByBgeeGeneId.keySet(), paralogsTaxonId, parallogsWithDescendantTaxon,
-                    paralogsSpeciesIds).getAllTOs());
+                    paralogsSpeciesIds);
         }
         
+        // The homologous genes and the taxa of both homology types are retrieved once
+        Set<GeneHomologsTO> allHomologsTOs = new HashSet<>(orthologsTOs);
+        allHomologsTOs.addAll(paralogsTOs);
+        Map<Integer, Gene> homologousGenesByBgeeGeneId = this.loadHomologousGenes(
+                allHomologsTOs, geneBioTypeMap, speciesMap);
+        Map<Integer, Taxon> taxonByTaxonId = allHomologsTOs.isEmpty()? new HashMap<>():
+                this.getServiceFactory().getTaxonService()
+                .loadTaxa(allHomologsTOs.stream().map(GeneHomologsTO::getTaxonId)
+                        .collect(Collectors.toSet()), false)
+                .collect(Collectors.toMap(Taxon::getId, t -> t));
         // create Map with Taxon as key and Set of Gene as value and add them as value of a Map
         // where keys are bgeeGeneIds
         Map<Integer, LinkedHashMap<Taxon, Set<Gene>>> orthologsMap = 
-                groupHomologsByBgeeGeneId(orthologsTOs, geneBioTypeMap, speciesMap);
+                groupHomologsByBgeeGeneId(orthologsTOs, homologousGenesByBgeeGeneId, taxonByTaxonId);
         Map<Integer, LinkedHashMap<Taxon, Set<Gene>>> paralogsMap = 
-                groupHomologsByBgeeGeneId(paralogsTOs, geneBioTypeMap, speciesMap);
+                groupHomologsByBgeeGeneId(paralogsTOs, homologousGenesByBgeeGeneId, taxonByTaxonId);
         
         // Create the Set of GeneHomologs
         Set<GeneHomologs> homologsGeneSet = genesByBgeeGeneId.keySet().stream()
@@ -329,6 +403,98 @@ public class GeneHomologsService extends CommonService{
         return log.traceExit(homologsGeneSet);
     }
 
+    /**
+     * Retrieves the homology relations of the requested genes from {@link #homologyIndex},
+     * filtering them in memory, or from the database if no index is used.
+     *
+     * @param type                  The {@code GeneHomologs.HomologyType} to retrieve.
+     * @param bgeeGeneIds           A {@code Set} of {@code Integer}s that are the Bgee gene IDs
+     *                              to retrieve homologs for.
+     * @param taxonId               An {code Integer} used to filter the taxon for which homologs
+     *                              have to be retrieved. If null, homologs from all taxon will
+     *                              be retrieved.
+     * @param withDescendantTaxon   A {@code boolean} used only when taxonId is not null. Allows
+     *                              to retrieve homologs from the specified taxonId and all its
+     *                              descendants.
+     * @param speciesIds            A {@code Collection} of {@code Integer}s corresponding to
+     *                              the species IDs for which homologous genes have to be retrieved.
+     *                              If null will retrieve homologs of all species.
+     * @return                      A {@code Set} of {@code GeneHomologsTO}s that are
+     *                              the homology relations retrieved.
+     */
+    private Set<GeneHomologsTO> loadHomologsTOs(GeneHomologs.HomologyType type,
+            Set<Integer> bgeeGeneIds, Integer taxonId, boolean withDescendantTaxon,
+            Collection<Integer> speciesIds) {
+        log.traceEntry("{}, {}, {}, {}, {}", type, bgeeGeneIds, taxonId, withDescendantTaxon,
+                speciesIds);
+        if (bgeeGeneIds.isEmpty()) {
+            return log.traceExit(new HashSet<>());
+        }
+        if (this.homologyIndex == null) {
+            return log.traceExit(new HashSet<>((GeneHomologs.HomologyType.ORTHOLOGY.equals(type)?
+                    geneHomologsDAO.getOrthologousGenesAtTaxonLevel(bgeeGeneIds, taxonId,
+                            withDescendantTaxon, speciesIds):
+                    geneHomologsDAO.getParalogousGenesAtTaxonLevel(bgeeGeneIds, taxonId,
+                            withDescendantTaxon, speciesIds)).getAllTOs()));
+        }
+
+        Set<Integer> taxonIds = null;
+        if (taxonId != null) {
+            taxonIds = new HashSet<>();
+            taxonIds.add(taxonId);
+            if (withDescendantTaxon) {
+                taxonIds.addAll(this.getServiceFactory().getOntologyService()
+                        .getTaxonOntologyFromTaxonIds(Collections.singleton(taxonId),
+                                false, false, true)
+                        .getDescendantIds(taxonId, false));
+            }
+        }
+        return log.traceExit(this.homologyIndex.getHomologs(type, bgeeGeneIds, taxonIds,
+                speciesIds == null? null: new HashSet<>(speciesIds)));
+    }
+
+    /**
+     * Loads the homologous genes of homology relations.
+     *
+     * @param homologsTOs       A {@code Set} of {@code GeneHomologsTO}s that are the homology
+     *                          relations to load the target genes of.
+     * @param geneBioTypeMap    A {@code Map} with geneBioTypeIds as key and {@code GeneBioType}
+     *                          as value
+     * @param speciesMap        A {@code Map} with speciesIds as key and {@code Species}
+     *                          as value
+     * @return                  A {@code Map} where keys are Bgee gene IDs of the target genes,
+     *                          the associated value being the corresponding {@code Gene}.
+     */
+    private Map<Integer, Gene> loadHomologousGenes(Set<GeneHomologsTO> homologsTOs,
+            Map<Integer, GeneBioType> geneBioTypeMap, Map<Integer, Species> speciesMap) {
+        log.traceEntry("{}, {}, {}", homologsTOs, geneBioTypeMap, speciesMap);
+        if (homologsTOs.isEmpty()) {
+            return log.traceExit(new HashMap<>());
+        }
+        return log.traceExit(this.getGeneTOCache().load(homologsTOs.stream()
+                .map(GeneHomologsTO::getTargetGeneId).collect(Collectors.toSet()))
+                .values().stream()
+                .collect(Collectors.toMap(GeneTO::getId, gTO -> mapGeneTOToGene(gTO, Optional
+                        .ofNullable(speciesMap.get(gTO.getSpeciesId()))
+                        .orElseThrow(() -> new IllegalStateException(
+                                "Missing species ID " + gTO.getSpeciesId() + "for gene " + gTO.getId())),
+                        null, null,
+                        Optional.ofNullable(geneBioTypeMap.get(gTO.getGeneBioTypeId())).orElseThrow(
+                                () -> new IllegalStateException("Missing gene biotype ID " + "for gene"))))));
+    }
+
+    /**
+     * @return  The {@code RequestCache} of {@code GeneTO}s by Bgee gene IDs, shared by
+     *          the {@code Service}s obtained from the same {@code ServiceFactory}, so that
+     *          the homologous genes requested several times are retrieved only once.
+     */
+    private RequestCache<Integer, GeneTO> getGeneTOCache() {
+        log.traceEntry();
+        return log.traceExit(this.getRequestCache("geneTOsByBgeeGeneIds",
+                ids -> this.geneDAO.getGenesByBgeeIds(ids).stream()
+                .collect(Collectors.toMap(GeneTO::getId, to -> to))));
+    }
+
     /**
      * We recreate separate OMA {@code Source}s for orthology and paralogy (in order to appropriately
      * replaced the {@link Source#HOMOLOGY_TYPE_TAG}) tag in {@link Source#getXRefUrl()}).
@@ -364,20 +530,21 @@ public class GeneHomologsService extends CommonService{
      * create a {@code Map} where keys are bgeeGeneIds and value is a second {@code Map} with
      * {@code Taxon} as keys and {@code Set} of {@code Gene}s as value. 
      * 
-     * @param homologsTOs       A {@code Set} of {@code GeneHomologsTO}s containing all homologs
-     *                          information as stored in the datbase
-     * @param geneBioTypeMap    A {@code Map} with geneBioTypeIds as key and {@code GeneBioType}
-     *                          as value
-     * @param speciesMap        A {@code Map} with speciesIds as key and {@code Species}
-     *                          as value
-     * @return                  A {@code Map} where keys are bgeeGeneIds and value is a second 
-     *                          {@code Map} wit {@code Taxon} as keys and {@code Set} of 
-     *                          {@code Gene}s as value. 
+     * @param homologsTOs                   A {@code Set} of {@code GeneHomologsTO}s containing
+     *                                      all homologs information as stored in the datbase
+     * @param homologousGenesByBgeeGeneId   A {@code Map} with Bgee gene IDs of the target genes
+     *                                      of {@code homologsTOs} as key and {@code Gene}
+     *                                      as value
+     * @param taxonByTaxonId                A {@code Map} with taxon IDs of {@code homologsTOs}
+     *                                      as key and {@code Taxon} as value
+     * @return                              A {@code Map} where keys are bgeeGeneIds and value
+     *                                      is a second {@code Map} wit {@code Taxon} as keys
+     *                                      and {@code Set} of {@code Gene}s as value. 
      */
     private Map<Integer, LinkedHashMap<Taxon, Set<Gene>>> groupHomologsByBgeeGeneId(
-            Set<GeneHomologsTO> homologsTOs, Map<Integer, GeneBioType> geneBioTypeMap,
-            Map<Integer, Species> speciesMap) {
-        log.traceEntry("{}, {}, {}", homologsTOs, geneBioTypeMap, speciesMap);
+            Set<GeneHomologsTO> homologsTOs, Map<Integer, Gene> homologousGenesByBgeeGeneId,
+            Map<Integer, Taxon> taxonByTaxonId) {
+        log.traceEntry("{}, {}, {}", homologsTOs, homologousGenesByBgeeGeneId, taxonByTaxonId);
         
         // Map with geneId as Key and Map as value having taxonId as key and Set of bgeeGeneId 
         // as value.
@@ -387,26 +554,6 @@ public class GeneHomologsService extends CommonService{
                         e -> new HashSet<>(Collections.singleton(e.getTargetGeneId())),
                         (a, b) -> {a.addAll(b); return a;})));
         
-        // Create Map with bgeeGeneId as key and the corresponding Gene as value. 
-        Map<Integer, Gene> homologousGenesByBgeeGeneId = (homologsTOs != null && !homologsTOs.isEmpty())
-                ? geneDAO.getGenesByBgeeIds(
-                                homologsTOs.stream().map(GeneHomologsTO::getTargetGeneId).collect(Collectors.toSet()))
-                        .stream()
-                        .collect(Collectors.toMap(GeneTO::getId, gTO -> mapGeneTOToGene(gTO, Optional
-                                .ofNullable(speciesMap.get(gTO.getSpeciesId()))
-                                .orElseThrow(() -> new IllegalStateException(
-                                        "Missing species ID " + gTO.getSpeciesId() + "for gene " + gTO.getId())),
-                                null, null,
-                                Optional.ofNullable(geneBioTypeMap.get(gTO.getGeneBioTypeId())).orElseThrow(
-                                        () -> new IllegalStateException("Missing gene biotype ID " + "for gene")))))
-                : new HashMap<Integer, Gene>();
-        
-        // load Taxon by taxonId
-        Map<Integer, Taxon> taxonByTaxonId = this.getServiceFactory().getTaxonService()
-                .loadTaxa(homologsTOs.stream().map(GeneHomologsTO::getTaxonId)
-                        .collect(Collectors.toSet()), false)
-                .collect(Collectors.toMap(Taxon::getId, t -> t));
-        
         // generate the complex Map with bgeeGeneId as Key and as value a LinkedHashMap with Taxon 
         // as key and Set of Genes as value. The linkedHashMap is directly ordered by Taxon level.
         Map<Integer, LinkedHashMap<Taxon, Set<Gene>>> homologsGeneByTaxonBygeneId = 
@@ -0,0 +1,339 @@
+package org.bgee.model.gene;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.BgeeProperties;
+import org.bgee.model.dao.api.gene.GeneHomologsDAO.GeneHomologsTO;
+
+/**
+ * A precomputed index of the homology relations between genes, allowing
+ * the {@link GeneHomologsService} to retrieve the homologs of genes without querying
+ * the database. The index is generated by {@code GenerateGeneHomologyIndex} in the pipeline,
+ * and its path provided to the webapp through {@link BgeeProperties#getHomologyIndexFile()}.
+ * <p>
+ * The index is written by the pipeline, using {@link #write(Path, String, Map, Map)},
+ * and loaded using {@link #load(Path, String)}, which maps the file in memory:
+ * the homology relations stay in the mapped file, and are not read in the heap.
+ * The Bgee release the index was generated from is stored in the header of the file,
+ * so that an index generated from another release is not used.
+ * For each homology type, the index stores the sorted Bgee gene IDs, and for each gene,
+ * its homologs as adjacency lists in arrays of {@code int}s (target Bgee gene IDs,
+ * taxon IDs of the homology relations, species IDs of the target genes), so that
+ * retrieving the homologs at a taxon level or in some species is a binary search
+ * followed by an array scan. Genes absent from the index have no homologs.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @author  Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class GeneHomologyIndex {
+    private final static Logger log = LogManager.getLogger(GeneHomologyIndex.class.getName());
+
+    private final static int MAGIC_NUMBER = 0x484F4D49;
+    private final static int FORMAT_VERSION = 1;
+    private final static String TMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * @param props A {@code BgeeProperties} providing the version of Bgee.
+     * @return      A {@code String} that is the Bgee release, stored in the header
+     *              of the index files, made of the major and minor version numbers
+     *              (for instance, {@code 15.2}).
+     */
+    public static String getRelease(BgeeProperties props) {
+        log.traceEntry("{}", props);
+        return log.traceExit(props.getMajorVersion() + "." + props.getMinorVersion());
+    }
+
+    /**
+     * Writes a homology index to a file. The file is first written to a temporary file,
+     * then moved to {@code file}, so that a partially written index is never loaded.
+     *
+     * @param file                  A {@code Path} that is the file to write the index to.
+     * @param release               A {@code String} that is the Bgee release the index
+     *                              is generated from (see {@link #getRelease(BgeeProperties)}).
+     * @param homologsTOsPerType    A {@code Map} where keys are {@code GeneHomologs.HomologyType}s,
+     *                              the associated value being a {@code Collection} of
+     *                              {@code GeneHomologsTO}s that are all the homology relations
+     *                              of this type, in both directions (a relation is stored
+     *                              for the gene returned by {@code GeneHomologsTO#getBgeeGeneId()}).
+     *                              Homology types absent are stored without relations.
+     * @param speciesIdsByGeneId    A {@code Map} where keys are Bgee gene IDs, the associated
+     *                              value being their species ID. It must contain
+     *                              all the target genes of {@code homologsTOsPerType}.
+     * @throws IOException              If an error occurred while writing the file.
+     * @throws IllegalArgumentException If {@code release} is {@code null}, or the species ID
+     *                                  of a target gene is missing.
+     */
+    public static void write(Path file, String release,
+            Map<GeneHomologs.HomologyType, ? extends Collection<GeneHomologsTO>> homologsTOsPerType,
+            Map<Integer, Integer> speciesIdsByGeneId) throws IOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}", file, release, homologsTOsPerType, speciesIdsByGeneId);
+        if (release == null) {
+            throw log.throwing(new IllegalArgumentException("The release must be provided"));
+        }
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + TMP_FILE_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            byte[] releaseBytes = release.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(releaseBytes.length);
+            out.write(releaseBytes);
+            for (GeneHomologs.HomologyType type: GeneHomologs.HomologyType.values()) {
+                Collection<GeneHomologsTO> tos = homologsTOsPerType.get(type);
+                //Sorted gene IDs, for the binary search, and for reproducible files
+                TreeMap<Integer, List<GeneHomologsTO>> tosByGeneId = tos == null? new TreeMap<>():
+                    tos.stream().distinct().collect(Collectors.groupingBy(
+                            GeneHomologsTO::getBgeeGeneId, TreeMap::new, Collectors.toList()));
+                int relationCount = tosByGeneId.values().stream().mapToInt(List::size).sum();
+                out.writeInt(tosByGeneId.size());
+                out.writeInt(relationCount);
+                for (Integer geneId: tosByGeneId.keySet()) {
+                    out.writeInt(geneId);
+                }
+                //Offsets of the adjacency list of each gene, in number of relations
+                int offset = 0;
+                for (List<GeneHomologsTO> geneTOs: tosByGeneId.values()) {
+                    out.writeInt(offset);
+                    offset += geneTOs.size();
+                }
+                out.writeInt(offset);
+                for (List<GeneHomologsTO> geneTOs: tosByGeneId.values()) {
+                    for (GeneHomologsTO to: geneTOs) {
+                        out.writeInt(to.getTargetGeneId());
+                    }
+                }
+                for (List<GeneHomologsTO> geneTOs: tosByGeneId.values()) {
+                    for (GeneHomologsTO to: geneTOs) {
+                        out.writeInt(to.getTaxonId());
+                    }
+                }
+                for (List<GeneHomologsTO> geneTOs: tosByGeneId.values()) {
+                    for (GeneHomologsTO to: geneTOs) {
+                        Integer speciesId = speciesIdsByGeneId.get(to.getTargetGeneId());
+                        if (speciesId == null) {
+                            throw log.throwing(new IllegalArgumentException(
+                                    "Missing species ID for gene " + to.getTargetGeneId()));
+                        }
+                        out.writeInt(speciesId);
+                    }
+                }
+                log.debug("{} homology relations of type {} for {} genes", relationCount, type,
+                        tosByGeneId.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpFile);
+            throw e;
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        log.info("Homology index for release {} written to {}", release, file);
+        log.traceExit();
+    }
+
+    /**
+     * Loads a homology index written by {@link #write(Path, String, Map, Map)}, by mapping
+     * the file in memory.
+     *
+     * @param file              A {@code Path} that is the file to load the index from.
+     * @param expectedRelease   A {@code String} that is the Bgee release the index must have been
+     *                          generated from (see {@link #getRelease(BgeeProperties)}).
+     *                          If {@code null}, the release is not checked.
+     * @return                  The loaded {@code GeneHomologyIndex}.
+     * @throws IOException      If an error occurred while reading the file, if the file
+     *                          is not a valid index file, or if it was generated from
+     *                          another release than {@code expectedRelease}.
+     */
+    public static GeneHomologyIndex load(Path file, String expectedRelease) throws IOException {
+        log.traceEntry("{}, {}", file, expectedRelease);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw log.throwing(new IOException("Index file too large to be mapped: " + file));
+            }
+            //The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC_NUMBER) {
+                throw log.throwing(new IOException("Not a homology index file: " + file));
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw log.throwing(new IOException("Unsupported index format version " + version
+                        + " in file: " + file));
+            }
+            byte[] releaseBytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(releaseBytes);
+            String release = new String(releaseBytes, StandardCharsets.UTF_8);
+            if (expectedRelease != null && !expectedRelease.equals(release)) {
+                throw log.throwing(new IOException("Index generated from release " + release
+                        + ", expected release " + expectedRelease + ", in file: " + file));
+            }
+            EnumMap<GeneHomologs.HomologyType, Section> sections =
+                    new EnumMap<>(GeneHomologs.HomologyType.class);
+            for (GeneHomologs.HomologyType type: GeneHomologs.HomologyType.values()) {
+                if (buffer.remaining() < 2 * Integer.BYTES) {
+                    throw log.throwing(new IOException("Truncated homology index file: " + file));
+                }
+                Section section = new Section(buffer.getInt(), buffer.getInt(), buffer.position());
+                long sectionEnd = section.speciesIdsStart +
+                        (long) section.relationCount * Integer.BYTES;
+                if (section.geneCount < 0 || section.relationCount < 0 ||
+                        sectionEnd > channel.size()) {
+                    throw log.throwing(new IOException("Truncated homology index file: " + file));
+                }
+                sections.put(type, section);
+                buffer.position((int) sectionEnd);
+            }
+            if (buffer.hasRemaining()) {
+                throw log.throwing(new IOException("Corrupted homology index file: " + file));
+            }
+            return log.traceExit(new GeneHomologyIndex(buffer, release, sections));
+        }
+    }
+
+    /**
+     * The positions in the mapped file of the arrays storing the homology relations
+     * of one homology type.
+     */
+    private static class Section {
+        private final int geneCount;
+        private final int relationCount;
+        private final int geneIdsStart;
+        private final int offsetsStart;
+        private final int targetGeneIdsStart;
+        private final int taxonIdsStart;
+        private final int speciesIdsStart;
+
+        private Section(int geneCount, int relationCount, int geneIdsStart) {
+            this.geneCount = geneCount;
+            this.relationCount = relationCount;
+            this.geneIdsStart = geneIdsStart;
+            this.offsetsStart = geneIdsStart + geneCount * Integer.BYTES;
+            this.targetGeneIdsStart = this.offsetsStart + (geneCount + 1) * Integer.BYTES;
+            this.taxonIdsStart = this.targetGeneIdsStart + relationCount * Integer.BYTES;
+            this.speciesIdsStart = this.taxonIdsStart + relationCount * Integer.BYTES;
+        }
+    }
+
+    /**
+     * The {@code ByteBuffer} mapping the index file. Only absolute get methods are used
+     * after loading, so that it can be read concurrently.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * @see #getRelease()
+     */
+    private final String release;
+    private final EnumMap<GeneHomologs.HomologyType, Section> sections;
+
+    private GeneHomologyIndex(ByteBuffer buffer, String release,
+            EnumMap<GeneHomologs.HomologyType, Section> sections) {
+        this.buffer = buffer;
+        this.release = release;
+        this.sections = sections;
+    }
+
+    /**
+     * Retrieves the homology relations of the requested genes, at the requested
+     * taxon levels and in the requested species.
+     *
+     * @param type          The {@code GeneHomologs.HomologyType} to retrieve.
+     * @param geneIds       A {@code Collection} of {@code Integer}s that are the Bgee gene IDs
+     *                      to retrieve homologs for.
+     * @param taxonIds      A {@code Set} of {@code Integer}s that are the IDs of the taxa
+     *                      the homology relations must belong to. If {@code null},
+     *                      homologs at all taxon levels are retrieved.
+     * @param speciesIds    A {@code Set} of {@code Integer}s that are the IDs of the species
+     *                      the homologous genes must belong to. If {@code null},
+     *                      homologs in all species are retrieved.
+     * @return              A {@code Set} of {@code GeneHomologsTO}s that are the homology
+     *                      relations retrieved.
+     */
+    public Set<GeneHomologsTO> getHomologs(GeneHomologs.HomologyType type,
+            Collection<Integer> geneIds, Set<Integer> taxonIds, Set<Integer> speciesIds) {
+        log.traceEntry("{}, {}, {}, {}", type, geneIds, taxonIds, speciesIds);
+        Section section = this.sections.get(type);
+        Set<GeneHomologsTO> homologs = new HashSet<>();
+        for (Integer geneId: new HashSet<>(geneIds)) {
+            int geneIndex = this.getGeneIndex(section, geneId);
+            if (geneIndex < 0) {
+                continue;
+            }
+            int start = this.buffer.getInt(section.offsetsStart + geneIndex * Integer.BYTES);
+            int end = this.buffer.getInt(section.offsetsStart + (geneIndex + 1) * Integer.BYTES);
+            for (int i = start; i < end; i++) {
+                int taxonId = this.buffer.getInt(section.taxonIdsStart + i * Integer.BYTES);
+                if ((taxonIds == null || taxonIds.contains(taxonId)) &&
+                        (speciesIds == null || speciesIds.contains(this.buffer.getInt(
+                                section.speciesIdsStart + i * Integer.BYTES)))) {
+                    homologs.add(new GeneHomologsTO(geneId, this.buffer.getInt(
+                            section.targetGeneIdsStart + i * Integer.BYTES), taxonId));
+                }
+            }
+        }
+        return log.traceExit(homologs);
+    }
+    /**
+     * @param section   The {@code Section} of a homology type.
+     * @param geneId    An {@code Integer} that is a Bgee gene ID.
+     * @return          An {@code int} that is the index of the gene in the sorted gene IDs
+     *                  of {@code section}, negative if it is absent.
+     */
+    private int getGeneIndex(Section section, Integer geneId) {
+        if (geneId == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = section.geneCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = this.buffer.getInt(section.geneIdsStart + mid * Integer.BYTES);
+            if (value < geneId) {
+                low = mid + 1;
+            } else if (value > geneId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return  A {@code String} that is the Bgee release this index was generated from
+     *          (see {@link #getRelease(BgeeProperties)}).
+     */
+    public String getRelease() {
+        return this.release;
+    }
+    /**
+     * @param type  The {@code GeneHomologs.HomologyType} to consider.
+     * @return      An {@code int} that is the number of genes with homologs of type
+     *              {@code type} in this index.
+     */
+    public int getGeneCount(GeneHomologs.HomologyType type) {
+        return this.sections.get(type).geneCount;
+    }
+}
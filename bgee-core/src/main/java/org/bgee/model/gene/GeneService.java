@@ -1,5 +1,6 @@
 package org.bgee.model.gene;
 
+import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -16,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.CommonService;
+import org.bgee.model.RequestCache;
 import org.bgee.model.SearchResult;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.dao.api.EntityTO;
@@ -35,7 +37,7 @@ import org.bgee.model.species.SpeciesService;
  * @author  Philippe Moret
  * @author  Frederic Bastian
  * @author  Valentine Rech de Laval
- * @version Bgee 14, Apr. 2019
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 13, Sept. 2015
  */
 public class GeneService extends CommonService {
@@ -91,10 +93,67 @@ public class GeneService extends CommonService {
                 .collect(Collectors.toMap(f -> f.getSpeciesId(), f -> new HashSet<>(f.getGeneIds()),
                         (s1, s2) -> {s1.addAll(s2); return s1;}));
 
-        return log.traceExit(this.loadGenes(this.geneDAO.getGenesBySpeciesAndGeneIds(filtersToMap, withExpressionSummary).stream(),
+        //When specific genes are requested in all species, the GeneTOs are loaded through
+        //the RequestCache shared by the Services obtained from the same ServiceFactory,
+        //so that the genes requested several times are queried only once, and the genes
+        //of all species are queried together. Otherwise, the genes are streamed from the database.
+        Stream<GeneTO> geneTOStream;
+        if (!filtersToMap.isEmpty() && filtersToMap.values().stream().noneMatch(s -> s.isEmpty())) {
+            Set<Entry<Integer, String>> speciesIdGeneIds = filtersToMap.entrySet().stream()
+                    .flatMap(e -> e.getValue().stream()
+                            .<Entry<Integer, String>>map(geneId ->
+                                new AbstractMap.SimpleImmutableEntry<>(e.getKey(), geneId)))
+                    .collect(Collectors.toSet());
+            geneTOStream = this.loadGeneTOsBySpeciesAndGeneIds(speciesIdGeneIds, withExpressionSummary);
+        } else {
+            geneTOStream = this.geneDAO.getGenesBySpeciesAndGeneIds(filtersToMap, withExpressionSummary)
+                    .stream();
+        }
+
+        return log.traceExit(this.loadGenes(geneTOStream,
                 null, filtersToMap.values().stream().flatMap(s -> s.stream()).collect(Collectors.toSet()),
                 filtersToMap.keySet(), withSpeciesSourceInfo, withSynonymInfo, withXRefInfo));
     }
+    /**
+     * Loads {@code GeneTO}s through the {@code RequestCache} shared by the {@code Service}s
+     * obtained from the same {@code ServiceFactory}.
+     *
+     * @param speciesIdGeneIds      A {@code Set} of {@code Entry}s where keys are species IDs
+     *                              and values are IDs of genes in this species.
+     * @param withExpressionSummary A {@code boolean} defining whether the expression summary
+     *                              of the genes is retrieved.
+     * @return                      A {@code Stream} of the {@code GeneTO}s found.
+     */
+    private Stream<GeneTO> loadGeneTOsBySpeciesAndGeneIds(Set<Entry<Integer, String>> speciesIdGeneIds,
+            boolean withExpressionSummary) {
+        log.traceEntry("{}, {}", speciesIdGeneIds, withExpressionSummary);
+        return log.traceExit(this.getGeneTOCache(withExpressionSummary).load(speciesIdGeneIds)
+                .values().stream());
+    }
+    /**
+     * @param withExpressionSummary A {@code boolean} defining whether the expression summary
+     *                              of the genes is retrieved.
+     * @return                      The {@code RequestCache} of {@code GeneTO}s, where IDs
+     *                              are {@code Entry}s with the species ID as key
+     *                              and the gene ID as value. Genes of several species
+     *                              are retrieved with a single query.
+     */
+    private RequestCache<Entry<Integer, String>, GeneTO> getGeneTOCache(boolean withExpressionSummary) {
+        log.traceEntry("{}", withExpressionSummary);
+        return log.traceExit(this.getRequestCache(
+                withExpressionSummary? "geneTOsWithExpressionSummary": "geneTOs",
+                ids -> {
+                    Map<Integer, Set<String>> speToGeneIds = ids.stream()
+                            .collect(Collectors.groupingBy(Entry::getKey,
+                                    Collectors.mapping(Entry::getValue, Collectors.toSet())));
+                    return this.geneDAO.getGenesBySpeciesAndGeneIds(speToGeneIds, withExpressionSummary)
+                            .stream()
+                            .collect(Collectors.<GeneTO, Entry<Integer, String>, GeneTO>toMap(
+                                    to -> new AbstractMap.SimpleImmutableEntry<>(to.getSpeciesId(),
+                                            to.getGeneId()),
+                                    to -> to));
+                }));
+    }
 
     /**
      * Loads {@code Gene}s from a gene ID. Please note that in Bgee a same gene ID
@@ -266,7 +325,8 @@ public class GeneService extends CommonService {
         //and we want to return a Stream without iterating the GeneTOs first,
         //so we load all species in database
         final Map<Integer, Species> speciesMap = this.speciesService.loadSpeciesMap(null, withSpeciesSourceInfo);
-        final Map<Integer, GeneBioType> geneBioTypeMap = Collections.unmodifiableMap(loadGeneBioTypeMap(this.geneDAO));
+        final Map<Integer, GeneBioType> geneBioTypeMap = Collections.unmodifiableMap(
+                this.loadSharedGeneBioTypeMap(this.geneDAO));
 
 
         //Retrieve genes by IDs
@@ -345,7 +405,7 @@ public class GeneService extends CommonService {
                     "Unrecognized species IDs: " + unrecognizedSpeciesIds));
         }
         //We always retrieve all gene biotypes
-        Map<Integer, GeneBioType> geneBioTypeMap = loadGeneBioTypeMap(this.geneDAO);
+        Map<Integer, GeneBioType> geneBioTypeMap = this.loadSharedGeneBioTypeMap(this.geneDAO);
 
         Map<Integer, Set<String>> synonymMap = null;
         Map<Integer, Set<GeneXRefTO>> xRefsMap = null;
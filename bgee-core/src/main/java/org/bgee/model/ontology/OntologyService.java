@@ -15,6 +15,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.CommonService;
 import org.bgee.model.NamedEntity;
+import org.bgee.model.RequestCache;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.anatdev.AnatEntity;
 import org.bgee.model.anatdev.DevStage;
@@ -39,7 +40,7 @@ import org.bgee.model.species.Taxon;
  * @author  Valentine Rech de Laval
  * @author  Frederic Bastian
  * @author  Julien Wollbrett
- * @version Bgee 15.0, Oct. 2022
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 13, Dec. 2015
  */
 //TODO: unit tests for all getTaxonOntology... methods
@@ -282,6 +283,45 @@ public class OntologyService extends CommonService {
                 relationTypes, getAncestors, getDescendants, null));
     }
 
+    /**
+     * Registers anat. entities or cell types to be retrieved with the next anat. entities
+     * loaded for the same species by a call to a {@code getAnatEntityOntology} or
+     * {@code getCellTypeOntology} method, requesting specific anat. entities or cell types.
+     * This allows to retrieve with a single query the anat. entities and the cell types
+     * needed by different ontologies (see {@link org.bgee.model.RequestCache#enqueue(Collection)}).
+     *
+     * @param speciesIds        A {@code Collection} of {@code Integer}s that are the IDs of
+     *                          the species of the ontologies that will be requested.
+     *                          Can be {@code null} or empty.
+     * @param anatEntityIds     A {@code Collection} of {@code String}s that are the IDs of
+     *                          the anat. entities or cell types to retrieve later.
+     */
+    public void enqueueAnatEntities(Collection<Integer> speciesIds, Collection<String> anatEntityIds) {
+        log.traceEntry("{}, {}", speciesIds, anatEntityIds);
+        this.getAnatEntityCache(speciesIds).enqueue(anatEntityIds);
+        log.traceExit();
+    }
+    /**
+     * @param speciesIds    A {@code Collection} of {@code Integer}s that are the IDs of species
+     *                      which to retrieve anat. entities for. Can be {@code null} or empty.
+     * @return              The {@code RequestCache} of {@code AnatEntity}s, with their description,
+     *                      existing in any of the requested species, shared by the {@code Service}s
+     *                      obtained from the same {@code ServiceFactory}.
+     */
+    private RequestCache<String, AnatEntity> getAnatEntityCache(Collection<Integer> speciesIds) {
+        log.traceEntry("{}", speciesIds);
+        //A different cache is used for each combination of species, the anat. entities
+        //retrieved depending on the species
+        Set<Integer> clonedSpeciesIds = speciesIds == null || speciesIds.isEmpty()? null:
+            new HashSet<>(speciesIds);
+        String name = "ontologyAnatEntities" + (clonedSpeciesIds == null? "": clonedSpeciesIds.stream()
+                .sorted().map(id -> id.toString()).collect(Collectors.joining(",", "-", "")));
+        return log.traceExit(this.getRequestCache(name,
+                ids -> this.getServiceFactory().getAnatEntityService()
+                .loadAnatEntities(clonedSpeciesIds, true, ids, true)
+                .collect(Collectors.toMap(ae -> ae.getId(), ae -> ae))));
+    }
+
     private MultiSpeciesOntology<AnatEntity, String> getAnatEntityOntologyFromSubGraph(
             Collection<Integer> speciesIds, Collection<String> anatEntityIds,
             Collection<RelationType> relationTypes, boolean getAncestors, boolean getDescendants,
@@ -305,11 +345,15 @@ public class OntologyService extends CommonService {
         Set<RelationTO<String>> rels = this.getAnatEntityRelationTOs(speciesIds, anatEntityIds,
                 relationTypes, getAncestors, getDescendants);
 
-        //We use a Map notably in order to filter the taxon constraints for only the retrieved anat, entities
-        Map<String, AnatEntity> tempRequestedAnatEntities = this.getServiceFactory().getAnatEntityService()
-                .loadAnatEntities(speciesIds, true,
-                        this.getRequestedEntityIds(anatEntityIds, rels), true)
-                .collect(Collectors.toMap(ae -> ae.getId(), ae -> ae));
+        //We use a Map notably in order to filter the taxon constraints for only the retrieved anat, entities.
+        //When specific entities are requested, they are loaded through the RequestCache
+        //of the requested species, along with the entities enqueued (see enqueueAnatEntities)
+        Set<String> requestedEntityIds = this.getRequestedEntityIds(anatEntityIds, rels);
+        Map<String, AnatEntity> tempRequestedAnatEntities = requestedEntityIds.isEmpty()?
+                this.getServiceFactory().getAnatEntityService()
+                .loadAnatEntities(speciesIds, true, requestedEntityIds, true)
+                .collect(Collectors.toMap(ae -> ae.getId(), ae -> ae)):
+                this.getAnatEntityCache(speciesIds).load(requestedEntityIds);
 
         //If we requested relations for all requested subgraph roots, no need to retrieve
         //further relations. Same if we requested to retrieve ancestors, we will get
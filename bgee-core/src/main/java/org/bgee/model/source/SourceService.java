@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.model.RequestCache;
 import org.bgee.model.CommonService;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.dao.api.source.SourceDAO.SourceTO;
@@ -60,16 +61,23 @@ public class SourceService extends CommonService {
     /**
      * Retrieve {@code Source}s for a given set of source IDs.
      *
+     * The {@code Source}s are loaded through the {@code RequestCache} shared by the {@code Service}s
+     * obtained from the same {@code ServiceFactory}, so that a source is queried only once.
+     *
      * @param sourceIds     A {@code Collection} of {@code Integer}s that are IDs of sources 
-     *                      for which to return the {@code Source}s.
+     *                      for which to return the {@code Source}s. If {@code null} or empty,
+     *                      all {@code Source}s are returned.
      * @return              A {@code Map} storing the mappings from source IDs to {@code Source}s.
      */
     public Map<Integer, Source> loadSourcesByIds(Collection<Integer> sourceIds) {
         log.traceEntry("{}", sourceIds);
-        return log.traceExit(this.getDaoManager().getSourceDAO()
-                .getDataSourceByIds(sourceIds, null).stream()
+        RequestCache<Integer, Source> cache = this.getRequestCache("sources",
+                ids -> this.getDaoManager().getSourceDAO()
+                .getDataSourceByIds(ids, null).stream()
                 .map(SourceService::mapFromTO)
                 .collect(Collectors.toMap(Source::getId, s -> s)));
+        return log.traceExit(sourceIds == null || sourceIds.isEmpty()? cache.loadAll():
+            cache.load(sourceIds));
     }
     
     /**
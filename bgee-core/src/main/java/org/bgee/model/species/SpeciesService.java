@@ -52,7 +52,7 @@ public class SpeciesService extends CommonService {
             throws DAOException, QueryInterruptedException {
         log.traceEntry("{}", withSpeciesSourceInfo);
         return log.traceExit(this.loadSpecies(ids -> this.getDaoManager().getSpeciesDAO()
-                .getSpeciesFromDataGroups(null), null, withSpeciesSourceInfo, null));
+                .getSpeciesFromDataGroups(null).stream(), null, withSpeciesSourceInfo, null));
     }
 
     /**
@@ -71,8 +71,8 @@ public class SpeciesService extends CommonService {
     public Set<Species> loadSpeciesByIds(Collection<Integer> speciesIds, boolean withSpeciesSourceInfo)
             throws DAOException, QueryInterruptedException {
         log.traceEntry("{}, {}", speciesIds, withSpeciesSourceInfo);
-        return log.traceExit(this.loadSpecies(ids -> this.getDaoManager().getSpeciesDAO()
-                .getSpeciesByIds(ids, null), speciesIds, withSpeciesSourceInfo, null));
+        return log.traceExit(this.loadSpecies(ids -> this.loadSpeciesTOsByIds(ids),
+                speciesIds, withSpeciesSourceInfo, null));
     }
     /**
      * Loads species existing in the requested taxa.
@@ -90,7 +90,7 @@ public class SpeciesService extends CommonService {
     public Set<Species> loadSpeciesByTaxonIds(Collection<Integer> taxonIds, boolean withSpeciesSourceInfo) {
         log.traceEntry("{}, {}", taxonIds, withSpeciesSourceInfo);
         return log.traceExit(this.loadSpecies(ids -> this.getDaoManager().getSpeciesDAO()
-                .getSpeciesByTaxonIds(ids, null), taxonIds, withSpeciesSourceInfo, null));
+                .getSpeciesByTaxonIds(ids, null).stream(), taxonIds, withSpeciesSourceInfo, null));
     }
 
     public Map<Integer, Species> loadSpeciesMap(Set<Integer> speciesIds, boolean withSpeciesSourceInfo) {
@@ -0,0 +1,456 @@
+package org.bgee.model.topanat;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.BgeeProperties;
+import org.bgee.model.expressiondata.baseelements.DataType;
+import org.bgee.model.expressiondata.baseelements.DecorrelationType;
+import org.bgee.model.expressiondata.baseelements.SummaryCallType;
+import org.bgee.model.expressiondata.baseelements.SummaryQuality;
+
+/**
+ * A precomputed incidence matrix between genes and the conditions used by TopAnat
+ * (anatomical entities, possibly combined with cell types, see
+ * {@link TopAnatUtils#COND_ID_GENERATOR}), for a species and a set of call parameters.
+ * It allows to produce the gene-to-anat. entity association file of a TopAnat analysis,
+ * possibly filtered on the genes of a custom background, and to count the genes associated
+ * with each condition, without querying the database. Matrices are generated
+ * by {@code GenerateTopAnatIncidenceMatrices} in the pipeline, without filtering
+ * on a developmental stage, and for the dev. stages requested to the pipeline
+ * (the dev. stage being part of the file name, see {@link #getFileName(Integer,
+ * SummaryCallType, String, Collection, SummaryQuality, DecorrelationType)}).
+ * <p>
+ * Matrices are written by the pipeline, using {@link #write(Path, String, Map)}, and loaded
+ * by TopAnat using {@link #load(Path, String)}, which maps the file in memory: only the gene
+ * and condition IDs are read in the heap, the associations stay in the mapped file.
+ * The Bgee release the matrix was generated from is stored in the header of the file,
+ * so that a matrix generated from another release is not used.
+ * The associations of each gene are stored
+ * as a compressed bitset over the condition indexes: a sorted array of indexes
+ * when the gene is associated with few conditions, a bitmap otherwise.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class GeneAnatEntityIncidenceMatrix {
+    private final static Logger log = LogManager.getLogger(GeneAnatEntityIncidenceMatrix.class.getName());
+
+    /**
+     * A {@code String} that is the extension of the files storing incidence matrices.
+     */
+    public final static String FILE_EXTENSION = ".bin";
+
+    /**
+     * An {@code int} that is the maximum length in bytes, in UTF-8, of the gene
+     * and condition IDs that can be stored in a matrix.
+     */
+    public final static int MAX_ID_LENGTH = 0xFFFF;
+
+    private final static int MAGIC_NUMBER = 0x54414D58;
+    private final static int FORMAT_VERSION = 2;
+    private final static byte ARRAY_CONTAINER = 0;
+    private final static byte BITMAP_CONTAINER = 1;
+
+    /**
+     * Generates the name of the file storing the incidence matrix of the whole background
+     * of a species, for the provided parameters. See
+     * {@link TopAnatUtils#encodeBackgroundParameters(Integer, SummaryCallType, String,
+     * Collection, SummaryQuality, DecorrelationType)} for a description of the parameters.
+     *
+     * @return  A {@code String} that is the name of the file.
+     */
+    public static String getFileName(Integer speciesId, SummaryCallType callType,
+            String devStageId, Collection<DataType> dataTypes, SummaryQuality summaryQuality,
+            DecorrelationType decorrelationType) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", speciesId, callType, devStageId, dataTypes,
+                summaryQuality, decorrelationType);
+        return log.traceExit(TopAnatUtils.GENE_TO_ANAT_ENTITIES_FILE_PREFIX
+                + TopAnatUtils.encodeBackgroundParameters(speciesId, callType, devStageId,
+                        dataTypes, summaryQuality, decorrelationType)
+                + FILE_EXTENSION);
+    }
+
+    /**
+     * @param props A {@code BgeeProperties} providing the version of Bgee.
+     * @return      A {@code String} that is the Bgee release, stored in the header
+     *              of the matrix files, made of the major and minor version numbers
+     *              (for instance, {@code 15.2}).
+     */
+    public static String getRelease(BgeeProperties props) {
+        log.traceEntry("{}", props);
+        return log.traceExit(props.getMajorVersion() + "." + props.getMinorVersion());
+    }
+
+    /**
+     * Writes an incidence matrix to a file. The file is first written to a temporary file,
+     * then moved to {@code file}, so that a partially written matrix is never loaded.
+     *
+     * @param file              A {@code Path} that is the file to write the matrix to.
+     * @param release           A {@code String} that is the Bgee release the matrix is generated
+     *                          from (see {@link #getRelease(BgeeProperties)}).
+     * @param condIdsPerGeneId  A {@code Map} where keys are {@code String}s that are gene IDs,
+     *                          the associated value being a {@code Set} of {@code String}s
+     *                          that are the IDs of the conditions the gene is associated with.
+     * @throws IOException      If an error occurred while writing the file.
+     * @throws IllegalArgumentException If {@code release} is {@code null}, or a gene
+     *                                  or condition ID is longer than {@link #MAX_ID_LENGTH}
+     *                                  bytes in UTF-8.
+     */
+    public static void write(Path file, String release, Map<String, Set<String>> condIdsPerGeneId)
+            throws IOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", file, release, condIdsPerGeneId);
+        if (release == null) {
+            throw log.throwing(new IllegalArgumentException("The release must be provided"));
+        }
+
+        //Sorted IDs, for reproducible files
+        List<String> geneIds = new ArrayList<>(new TreeSet<>(condIdsPerGeneId.keySet()));
+        List<String> condIds = new ArrayList<>(new TreeSet<>(
+                condIdsPerGeneId.values().stream().flatMap(Set::stream)
+                .collect(Collectors.toSet())));
+        Map<String, Integer> condIndexes = new HashMap<>();
+        for (int i = 0; i < condIds.size(); i++) {
+            condIndexes.put(condIds.get(i), i);
+        }
+        int bitmapLongCount = (condIds.size() + 63) / 64;
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + TopAnatUtils.TMP_FILE_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, release);
+            out.writeInt(geneIds.size());
+            out.writeInt(condIds.size());
+            for (String geneId: geneIds) {
+                writeString(out, geneId);
+            }
+            for (String condId: condIds) {
+                writeString(out, condId);
+            }
+            //Offsets of the container of each gene, relative to the start of the container section
+            long offset = 0;
+            List<int[]> indexesPerGene = new ArrayList<>();
+            for (String geneId: geneIds) {
+                int[] indexes = condIdsPerGeneId.get(geneId).stream()
+                        .mapToInt(condIndexes::get).sorted().toArray();
+                indexesPerGene.add(indexes);
+                out.writeLong(offset);
+                offset += containerSize(indexes.length, bitmapLongCount);
+            }
+            out.writeLong(offset);
+            for (int[] indexes: indexesPerGene) {
+                if (useBitmap(indexes.length, bitmapLongCount)) {
+                    out.writeByte(BITMAP_CONTAINER);
+                    out.writeInt(indexes.length);
+                    long[] bitmap = new long[bitmapLongCount];
+                    for (int index: indexes) {
+                        bitmap[index >>> 6] |= 1L << (index & 63);
+                    }
+                    for (long l: bitmap) {
+                        out.writeLong(l);
+                    }
+                } else {
+                    out.writeByte(ARRAY_CONTAINER);
+                    out.writeInt(indexes.length);
+                    for (int index: indexes) {
+                        out.writeInt(index);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpFile);
+            throw e;
+        }
+        TopAnatUtils.move(tmpFile, file, true);
+        log.info("Incidence matrix for release {} written to {}: {} genes, {} conditions",
+                release, file, geneIds.size(), condIds.size());
+        log.traceExit();
+    }
+    private static void writeString(DataOutputStream out, String s) throws IOException,
+    IllegalArgumentException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        //the length is read back as an unsigned short
+        if (bytes.length > MAX_ID_LENGTH) {
+            throw log.throwing(new IllegalArgumentException("ID too long to be stored ("
+                    + bytes.length + " bytes): " + s.substring(0, 100) + "..."));
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+    private static boolean useBitmap(int count, int bitmapLongCount) {
+        //a bitmap is used when it is smaller than the array of int indexes
+        return (long) bitmapLongCount * Long.BYTES < (long) count * Integer.BYTES;
+    }
+    private static long containerSize(int count, int bitmapLongCount) {
+        return 1 + Integer.BYTES + (useBitmap(count, bitmapLongCount)?
+                (long) bitmapLongCount * Long.BYTES: (long) count * Integer.BYTES);
+    }
+
+    /**
+     * Loads an incidence matrix written by {@link #write(Path, String, Map)}, by mapping the file
+     * in memory.
+     *
+     * @param file              A {@code Path} that is the file to load the matrix from.
+     * @param expectedRelease   A {@code String} that is the Bgee release the matrix must have been
+     *                          generated from (see {@link #getRelease(BgeeProperties)}).
+     *                          If {@code null}, the release is not checked.
+     * @return                  The loaded {@code GeneAnatEntityIncidenceMatrix}.
+     * @throws IOException      If an error occurred while reading the file, if the file
+     *                          is not a valid matrix file, or if it was generated from
+     *                          another release than {@code expectedRelease}.
+     */
+    public static GeneAnatEntityIncidenceMatrix load(Path file, String expectedRelease)
+            throws IOException {
+        log.traceEntry("{}, {}", file, expectedRelease);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw log.throwing(new IOException("Matrix file too large to be mapped: " + file));
+            }
+            //The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC_NUMBER) {
+                throw log.throwing(new IOException("Not an incidence matrix file: " + file));
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw log.throwing(new IOException("Unsupported matrix format version " + version
+                        + " in file: " + file));
+            }
+            String release = readString(buffer);
+            if (expectedRelease != null && !expectedRelease.equals(release)) {
+                throw log.throwing(new IOException("Matrix generated from release " + release
+                        + ", expected release " + expectedRelease + ", in file: " + file));
+            }
+            int geneCount = buffer.getInt();
+            int condCount = buffer.getInt();
+            String[] geneIds = new String[geneCount];
+            for (int i = 0; i < geneCount; i++) {
+                geneIds[i] = readString(buffer);
+            }
+            String[] condIds = new String[condCount];
+            for (int i = 0; i < condCount; i++) {
+                condIds[i] = readString(buffer);
+            }
+            int offsetsStart = buffer.position();
+            int containersStart = offsetsStart + (geneCount + 1) * Long.BYTES;
+            if (containersStart + buffer.getLong(offsetsStart + geneCount * Long.BYTES)
+                    != channel.size()) {
+                throw log.throwing(new IOException("Truncated incidence matrix file: " + file));
+            }
+            return log.traceExit(new GeneAnatEntityIncidenceMatrix(buffer, release, geneIds,
+                    condIds, offsetsStart, containersStart));
+        }
+    }
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The {@code ByteBuffer} mapping the matrix file. Only absolute get methods are used
+     * after loading, so that it can be read concurrently.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * @see #getRelease()
+     */
+    private final String release;
+    private final String[] geneIds;
+    private final String[] condIds;
+    private final Map<String, Integer> geneIndexes;
+    private final Map<String, Integer> condIndexes;
+    private final int offsetsStart;
+    private final int containersStart;
+
+    private GeneAnatEntityIncidenceMatrix(ByteBuffer buffer, String release, String[] geneIds,
+            String[] condIds, int offsetsStart, int containersStart) {
+        this.buffer = buffer;
+        this.release = release;
+        this.geneIds = geneIds;
+        this.condIds = condIds;
+        this.geneIndexes = new HashMap<>();
+        for (int i = 0; i < geneIds.length; i++) {
+            this.geneIndexes.put(geneIds[i], i);
+        }
+        this.condIndexes = new HashMap<>();
+        for (int i = 0; i < condIds.length; i++) {
+            this.condIndexes.put(condIds[i], i);
+        }
+        this.offsetsStart = offsetsStart;
+        this.containersStart = containersStart;
+    }
+
+    /**
+     * @return  A {@code String} that is the Bgee release this matrix was generated from
+     *          (see {@link #getRelease(BgeeProperties)}).
+     */
+    public String getRelease() {
+        return this.release;
+    }
+    /**
+     * @return  An unmodifiable {@code List} of {@code String}s that are the IDs of the genes
+     *          in this matrix, in the order of their indexes.
+     */
+    public List<String> getGeneIds() {
+        return Collections.unmodifiableList(Arrays.asList(this.geneIds));
+    }
+    /**
+     * @return  An unmodifiable {@code List} of {@code String}s that are the IDs of the conditions
+     *          in this matrix, in the order of their indexes.
+     */
+    public List<String> getCondIds() {
+        return Collections.unmodifiableList(Arrays.asList(this.condIds));
+    }
+
+    /**
+     * @param geneId    A {@code String} that is the ID of a gene.
+     * @param condId    A {@code String} that is the ID of a condition.
+     * @return          {@code true} if the gene is associated with the condition.
+     */
+    public boolean isAssociated(String geneId, String condId) {
+        log.traceEntry("{}, {}", geneId, condId);
+        Integer geneIndex = this.geneIndexes.get(geneId);
+        Integer condIndex = this.condIndexes.get(condId);
+        if (geneIndex == null || condIndex == null) {
+            return log.traceExit(false);
+        }
+        int pos = this.getContainerPosition(geneIndex);
+        byte type = this.buffer.get(pos);
+        int count = this.buffer.getInt(pos + 1);
+        pos += 1 + Integer.BYTES;
+        if (type == BITMAP_CONTAINER) {
+            long word = this.buffer.getLong(pos + (condIndex >>> 6) * Long.BYTES);
+            return log.traceExit((word & (1L << (condIndex & 63))) != 0);
+        }
+        //Binary search in the sorted array of condition indexes
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = this.buffer.getInt(pos + mid * Integer.BYTES);
+            if (value < condIndex) {
+                low = mid + 1;
+            } else if (value > condIndex) {
+                high = mid - 1;
+            } else {
+                return log.traceExit(true);
+            }
+        }
+        return log.traceExit(false);
+    }
+
+    /**
+     * Counts the genes associated with each condition, for instance to count
+     * the genes of a foreground or of a background.
+     *
+     * @param geneIds   A {@code Collection} of {@code String}s that are the IDs of the genes
+     *                  to consider. If {@code null}, all genes of this matrix are considered.
+     *                  Genes not present in this matrix are ignored.
+     * @return          A {@code Map} where keys are {@code String}s that are condition IDs,
+     *                  the associated value being the number of genes associated with it.
+     *                  Only conditions with at least one associated gene are present.
+     */
+    public Map<String, Integer> countGenesPerCondition(Collection<String> geneIds) {
+        log.traceEntry("{}", geneIds);
+        int[] counts = new int[this.condIds.length];
+        for (int geneIndex: this.getGeneIndexes(geneIds)) {
+            this.forEachCondIndex(geneIndex, i -> counts[i]++);
+        }
+        Map<String, Integer> countPerCondId = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                countPerCondId.put(this.condIds[i], counts[i]);
+            }
+        }
+        return log.traceExit(countPerCondId);
+    }
+
+    /**
+     * Provides all associations between genes and conditions to {@code consumer}.
+     *
+     * @param geneIds   A {@code Collection} of {@code String}s that are the IDs of the genes
+     *                  to consider. If {@code null}, all genes of this matrix are considered.
+     *                  Genes not present in this matrix are ignored.
+     * @param consumer  A {@code BiConsumer} accepting a gene ID and a condition ID.
+     */
+    public void forEachAssociation(Collection<String> geneIds, BiConsumer<String, String> consumer) {
+        log.traceEntry("{}, {}", geneIds, consumer);
+        for (int geneIndex: this.getGeneIndexes(geneIds)) {
+            String geneId = this.geneIds[geneIndex];
+            this.forEachCondIndex(geneIndex, i -> consumer.accept(geneId, this.condIds[i]));
+        }
+        log.traceExit();
+    }
+
+    private int[] getGeneIndexes(Collection<String> geneIds) {
+        if (geneIds == null) {
+            int[] all = new int[this.geneIds.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        return geneIds.stream().distinct()
+                .map(this.geneIndexes::get)
+                .filter(i -> i != null)
+                .mapToInt(i -> i)
+                .sorted()
+                .toArray();
+    }
+    private int getContainerPosition(int geneIndex) {
+        return this.containersStart + (int) this.buffer.getLong(
+                this.offsetsStart + geneIndex * Long.BYTES);
+    }
+    private void forEachCondIndex(int geneIndex, IntConsumer consumer) {
+        int pos = this.getContainerPosition(geneIndex);
+        byte type = this.buffer.get(pos);
+        int count = this.buffer.getInt(pos + 1);
+        pos += 1 + Integer.BYTES;
+        if (type == ARRAY_CONTAINER) {
+            for (int i = 0; i < count; i++) {
+                consumer.accept(this.buffer.getInt(pos + i * Integer.BYTES));
+            }
+        } else if (type == BITMAP_CONTAINER) {
+            int longCount = (this.condIds.length + 63) / 64;
+            for (int l = 0; l < longCount; l++) {
+                long word = this.buffer.getLong(pos + l * Long.BYTES);
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    consumer.accept((l << 6) + bit);
+                    word &= word - 1;
+                }
+            }
+        } else {
+            throw log.throwing(new IllegalStateException("Corrupted matrix, unknown container type: "
+                    + type));
+        }
+    }
+}
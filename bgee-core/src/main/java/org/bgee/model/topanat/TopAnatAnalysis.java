@@ -11,10 +11,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
@@ -27,12 +28,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.BgeeProperties;
 import org.bgee.model.CommonService;
+import org.bgee.model.ManageReadWriteLocks.FileLocks;
 import org.bgee.model.ServiceFactory;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
 import org.bgee.model.dao.api.expressiondata.call.DAOConditionFilter;
-import org.bgee.model.expressiondata.baseelements.DataType;
 import org.bgee.model.expressiondata.baseelements.DecorrelationType;
-import org.bgee.model.expressiondata.baseelements.SummaryQuality;
 import org.bgee.model.expressiondata.call.CallFilter;
 import org.bgee.model.expressiondata.call.CallFilter.ExpressionCallFilter;
 import org.bgee.model.expressiondata.call.CallService;
@@ -53,7 +53,7 @@ import org.bgee.model.topanat.exception.RAnalysisException;
  * @author Mathieu Seppey
  * @author Frederic Bastian
  * @author Valentine Rech de Laval
- * @version Bgee 15.0, May 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 13, Sept. 2015
  */
 public class TopAnatAnalysis extends CommonService {
@@ -164,13 +164,10 @@ public class TopAnatAnalysis extends CommonService {
                     source.getFileName());
             Path target = Paths.get(targetFunctionFile.getPath());
             if (!targetFunctionFile.exists()) {
-                try{
-                    controller.getReadWriteLocks().acquireReadLock(sourceFunctionFileName);
-                    controller.getReadWriteLocks().acquireWriteLock(targetFunctionFile.getPath());
+                try (FileLocks locks = controller.getReadWriteLocks().acquireLocks(
+                        Collections.singleton(sourceFunctionFileName), 
+                        Collections.singleton(targetFunctionFile.getPath()))) {
                     Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-                } finally{
-                    controller.getReadWriteLocks().releaseReadLock(sourceFunctionFileName);
-                    controller.getReadWriteLocks().releaseWriteLock(targetFunctionFile.getPath());
                 }
             }
             
@@ -267,18 +264,12 @@ public class TopAnatAnalysis extends CommonService {
         String relsFileName = this.getAnatEntitiesRelationshipsFilePath(false);
         String geneToAnatEntitiesFile = this.getGeneToAnatEntitiesFilePath(false);
 
+        //all locks acquired at once, in a consistent order, to avoid deadlocks
+        FileLocks locks = controller.getReadWriteLocks().acquireLocks(
+                Arrays.asList(namesFileName, relsFileName, geneToAnatEntitiesFile), 
+                Arrays.asList(tmpFileName, fileName, tmpPdfFileName, pdfFileName));
         try {
 
-            controller.getReadWriteLocks().acquireReadLock(namesFileName);
-            controller.getReadWriteLocks().acquireReadLock(relsFileName);
-            controller.getReadWriteLocks().acquireReadLock(geneToAnatEntitiesFile);
-
-            controller.getReadWriteLocks().acquireWriteLock(tmpFileName);
-            controller.getReadWriteLocks().acquireWriteLock(fileName);
-
-            controller.getReadWriteLocks().acquireWriteLock(tmpPdfFileName);
-            controller.getReadWriteLocks().acquireWriteLock(pdfFileName);
-
             //check, AFTER having acquired the locks, that the final files do not 
             //already exist (maybe another thread generated the files before this one 
             //acquires the lock)
@@ -331,13 +322,7 @@ public class TopAnatAnalysis extends CommonService {
         } finally {
             Files.deleteIfExists(tmpFile);
             Files.deleteIfExists(tmpPdfFile);
-            controller.getReadWriteLocks().releaseWriteLock(tmpFileName);
-            controller.getReadWriteLocks().releaseWriteLock(fileName);
-            controller.getReadWriteLocks().releaseWriteLock(tmpPdfFileName);
-            controller.getReadWriteLocks().releaseWriteLock(pdfFileName);
-            controller.getReadWriteLocks().releaseReadLock(namesFileName);
-            controller.getReadWriteLocks().releaseReadLock(relsFileName);
-            controller.getReadWriteLocks().releaseReadLock(geneToAnatEntitiesFile);   
+            locks.close();
         }
 
         log.info("Result file path: {}", this.getResultFilePath(false));
@@ -362,10 +347,9 @@ public class TopAnatAnalysis extends CommonService {
         Path tmpFile = Paths.get(tmpFileName);
         Path finalFile = Paths.get(fileName);
 
+        FileLocks locks = controller.getReadWriteLocks().acquireLocks(null, 
+                Arrays.asList(tmpFileName, fileName));
         try {
-            controller.getReadWriteLocks().acquireWriteLock(tmpFileName);
-            controller.getReadWriteLocks().acquireWriteLock(fileName);
-
             //if the file already exists, we remove it, because we need anyway to call writeRcodeFile, 
             //to set the R code (bad design)
             if (Files.exists(finalFile)) {
@@ -379,8 +363,7 @@ public class TopAnatAnalysis extends CommonService {
 
         } finally {
             Files.deleteIfExists(tmpFile);
-            controller.getReadWriteLocks().releaseWriteLock(tmpFileName);
-            controller.getReadWriteLocks().releaseWriteLock(fileName);
+            locks.close();
         }
 
         log.info("Rcode file path: {}", 
@@ -453,12 +436,10 @@ public class TopAnatAnalysis extends CommonService {
         Path finalRelsFile = Paths.get(this.props.getTopAnatResultsWritingDirectory(), 
                 relsFileName);
 
+        FileLocks locks = controller.getReadWriteLocks().acquireLocks(null, 
+                Arrays.asList(namesTmpFile.toString(), finalNamesFile.toString(), 
+                        relsTmpFile.toString(), finalRelsFile.toString()));
         try {
-            controller.getReadWriteLocks().acquireWriteLock(namesTmpFile.toString());
-            controller.getReadWriteLocks().acquireWriteLock(finalNamesFile.toString());
-            controller.getReadWriteLocks().acquireWriteLock(relsTmpFile.toString());
-            controller.getReadWriteLocks().acquireWriteLock(finalRelsFile.toString());
-
             //check, AFTER having acquired the locks, that the final files do not 
             //already exist (maybe another thread generated the files before this one 
             //acquires the lock)
@@ -484,10 +465,7 @@ public class TopAnatAnalysis extends CommonService {
         } finally {
             Files.deleteIfExists(namesTmpFile);
             Files.deleteIfExists(relsTmpFile);
-            this.controller.getReadWriteLocks().releaseWriteLock(namesTmpFile.toString());
-            this.controller.getReadWriteLocks().releaseWriteLock(finalNamesFile.toString());
-            this.controller.getReadWriteLocks().releaseWriteLock(relsTmpFile.toString());
-            this.controller.getReadWriteLocks().releaseWriteLock(finalRelsFile.toString());
+            locks.close();
         }
 
         log.info("anatEntitiesNamesFilePath: {} - relationshipsFilePath: {}", 
@@ -594,6 +572,46 @@ public class TopAnatAnalysis extends CommonService {
             throws IOException {
         log.traceEntry("{}", geneToAnatEntitiesFile);
 
+        //If the associations were precomputed by the pipeline for this release,
+        //we use them rather than querying the calls of the whole species
+        Path matrixFile = this.getGeneToAnatEntitiesMatrixPath();
+        GeneAnatEntityIncidenceMatrix matrix = null;
+        if (Files.exists(matrixFile)) {
+            try {
+                matrix = GeneAnatEntityIncidenceMatrix.load(matrixFile,
+                        GeneAnatEntityIncidenceMatrix.getRelease(this.props));
+            } catch (IOException e) {
+                log.catching(Level.WARN, e);
+                log.warn("Precomputed incidence matrix {} cannot be used, querying the calls",
+                        matrixFile);
+            }
+        }
+        if (matrix != null) {
+            log.debug("Using precomputed incidence matrix {}", matrixFile);
+            Set<String> backgroundIds = this.params.getSubmittedBackgroundIds() == null ||
+                    this.params.getSubmittedBackgroundIds().isEmpty()? null:
+                        this.params.getSubmittedBackgroundIds();
+            //The counts are computed in the matrix, without retrieving the associations:
+            //conditions with less background genes than the node size are not tested.
+            Map<String, Integer> geneCountPerCondId = matrix.countGenesPerCondition(backgroundIds);
+            int nodeSize = this.params.getNodeSize() == null? 0: this.params.getNodeSize();
+            long testedCondCount = geneCountPerCondId.values().stream()
+                    .filter(count -> count >= nodeSize).count();
+            log.debug("{} conditions with background genes, {} with at least {} genes",
+                    geneCountPerCondId.size(), testedCondCount, nodeSize);
+            if (testedCondCount == 0) {
+                log.warn("No condition has at least {} background genes, no result can be obtained",
+                        nodeSize);
+            }
+            try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(
+                    geneToAnatEntitiesFile)))) {
+                matrix.forEachAssociation(backgroundIds,
+                        (geneId, condId) -> out.println(geneId + '\t' + condId));
+            }
+            log.traceExit();
+            return;
+        }
+
         try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(
                 geneToAnatEntitiesFile)))) {
             this.callService.loadExpressionCalls(
@@ -634,10 +652,9 @@ public class TopAnatAnalysis extends CommonService {
             inResultDir = true;
         }
 
+        FileLocks locks = this.controller.getReadWriteLocks().acquireLocks(null, 
+                Arrays.asList(finalGeneToAnatEntitiesFile.toString(), tmpFile.toString()));
         try {
-            this.controller.getReadWriteLocks().acquireWriteLock(finalGeneToAnatEntitiesFile.toString());
-            this.controller.getReadWriteLocks().acquireWriteLock(tmpFile.toString());
-
             //check, AFTER having acquired the locks, that the final file does not 
             //already exist (maybe another thread generated the files before this one 
             //acquired the lock)
@@ -660,8 +677,7 @@ public class TopAnatAnalysis extends CommonService {
 
         } finally {
             Files.deleteIfExists(tmpFile);
-            this.controller.getReadWriteLocks().releaseWriteLock(finalGeneToAnatEntitiesFile.toString());
-            this.controller.getReadWriteLocks().releaseWriteLock(tmpFile.toString());
+            locks.close();
         }
 
 
@@ -717,10 +733,9 @@ public class TopAnatAnalysis extends CommonService {
         Path tmpFile = Paths.get(tmpFileName);
         Path finalTopAnatParamsFile = Paths.get(topAnatParamsFilePath);
 
+        FileLocks locks = this.controller.getReadWriteLocks().acquireLocks(null, 
+                Arrays.asList(topAnatParamsFilePath, tmpFileName));
         try {
-            this.controller.getReadWriteLocks().acquireWriteLock(topAnatParamsFilePath);
-            this.controller.getReadWriteLocks().acquireWriteLock(tmpFileName);
-
             //check, AFTER having acquired the locks, that the final file does not 
             //already exist (maybe another thread generated the files before this one 
             //acquired the lock)
@@ -735,8 +750,7 @@ public class TopAnatAnalysis extends CommonService {
 
         } finally {
             Files.deleteIfExists(tmpFile);
-            this.controller.getReadWriteLocks().releaseWriteLock(topAnatParamsFilePath);
-            this.controller.getReadWriteLocks().releaseWriteLock(tmpFileName);
+            locks.close();
         }
 
         log.info("TopAnatParamsFilePath: {}", this.getParamsOutputFilePath(false));
@@ -755,10 +769,9 @@ public class TopAnatAnalysis extends CommonService {
         Path tmpFile = Paths.get(tmpFileName);
         Path finalZipFile = Paths.get(zipFilePath);
 
+        FileLocks locks = this.controller.getReadWriteLocks().acquireLocks(null, 
+                Arrays.asList(zipFilePath, tmpFileName));
         try {
-            this.controller.getReadWriteLocks().acquireWriteLock(zipFilePath);
-            this.controller.getReadWriteLocks().acquireWriteLock(tmpFileName);
-
             //check, AFTER having acquired the locks, that the final file does not 
             //already exist (maybe another thread generated the files before this one 
             //acquired the lock)
@@ -773,8 +786,7 @@ public class TopAnatAnalysis extends CommonService {
 
         } finally {
             Files.deleteIfExists(tmpFile);
-            this.controller.getReadWriteLocks().releaseWriteLock(zipFilePath);
-            this.controller.getReadWriteLocks().releaseWriteLock(tmpFileName);
+            locks.close();
         }
 
         log.info("ZIP file path: {}", getZipFilePath(false));
@@ -914,37 +926,36 @@ public class TopAnatAnalysis extends CommonService {
         //we take into account only some info
         if (this.params.getSubmittedBackgroundIds() == null || 
                 this.params.getSubmittedBackgroundIds().isEmpty()) {
-            
-            //TODO: use some kind of encoding of the Strings for file name (see replacement for stage ID)
-            final StringBuilder sb = new StringBuilder();
-            sb.append(this.params.getSpeciesId());
-            sb.append("_").append(this.params.getCallType().toString());
-            Optional.ofNullable(this.params.getDevStageId())
-                //replace column in IDs
-                .ifPresent(e -> sb.append("_").append(e.replace(":", "_")));
-            //use EnumSet for consistent ordering
-            Optional.ofNullable(this.params.getDataTypes()).map(e -> EnumSet.copyOf(e))
-            .orElse(EnumSet.allOf(DataType.class))
-            .stream()
-            .forEach(e -> sb.append("_").append(e.toString()));
-            sb.append("_").append(Optional.ofNullable(this.params.getSummaryQuality()).orElse(SummaryQuality.SILVER)
-                    .toString());
-            if(params.getDecorrelationType() == DecorrelationType.NONE) {
-                sb.append("_" + DecorrelationType.NONE);
-            }
-            
-            paramsEncoded = sb.toString();
+            paramsEncoded = TopAnatUtils.encodeBackgroundParameters(this.params.getSpeciesId(),
+                    this.params.getCallType(), this.params.getDevStageId(),
+                    this.params.getDataTypes(), this.params.getSummaryQuality(),
+                    this.params.getDecorrelationType());
         } else {
             //custom background provided, use the hash
             paramsEncoded = this.params.getKey();
         }
-        String fileName = TopAnatUtils.FILE_PREFIX + "GeneToAnatEntities_" 
+        String fileName = TopAnatUtils.GENE_TO_ANAT_ENTITIES_FILE_PREFIX
             + paramsEncoded + ".tsv";
         if (tmpFile) {
             fileName += TopAnatUtils.TMP_FILE_SUFFIX;
         }
         return log.traceExit(fileName);
     }
+    /**
+     * @return  A {@code Path} that is the file storing the precomputed
+     *          {@link GeneAnatEntityIncidenceMatrix} of the whole species background,
+     *          for the parameters of this analysis. The file might not exist.
+     */
+    protected Path getGeneToAnatEntitiesMatrixPath() {
+        log.traceEntry();
+        //the matrix is always about the whole species, also when a custom background
+        //is requested, it is then filtered on the background genes
+        return log.traceExit(Paths.get(this.props.getTopAnatResultsWritingDirectory(),
+                GeneAnatEntityIncidenceMatrix.getFileName(this.params.getSpeciesId(),
+                        this.params.getCallType(), this.params.getDevStageId(),
+                        this.params.getDataTypes(), this.params.getSummaryQuality(),
+                        this.params.getDecorrelationType())));
+    }
     protected String getGeneToAnatEntitiesFilePath(boolean tmpFile){
         log.traceEntry("{}", tmpFile);
         return log.traceExit(this.getResultDirectoryPath() + this.getGeneToAnatEntitiesFileName(tmpFile));
@@ -1073,8 +1084,8 @@ public class TopAnatAnalysis extends CommonService {
         
         //At this point, if the analysis is being run by another thread, we don't want 
         //to wait for the lock on the file: results are not generated, period.
-        if (this.controller.getReadWriteLocks().getReadWriteLock(finalFilePath).isWriteLocked() || 
-                this.controller.getReadWriteLocks().getReadWriteLock(tmpFilePath).isWriteLocked()) {
+        if (this.controller.getReadWriteLocks().isWriteLocked(finalFilePath) || 
+                this.controller.getReadWriteLocks().isWriteLocked(tmpFilePath)) {
             return log.traceExit(false);
         }
         File file = new File(finalFilePath);
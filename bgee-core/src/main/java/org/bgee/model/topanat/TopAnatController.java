@@ -3,8 +3,21 @@ package org.bgee.model.topanat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.Level;
@@ -13,6 +26,7 @@ import org.apache.logging.log4j.Logger;
 import org.bgee.model.BgeeProperties;
 import org.bgee.model.ManageReadWriteLocks;
 import org.bgee.model.ServiceFactory;
+import org.bgee.model.StartUpShutdown;
 import org.bgee.model.function.PentaFunction;
 import org.bgee.model.job.Job;
 
@@ -22,7 +36,7 @@ import org.bgee.model.job.Job;
  * 
  * @author Mathieu Seppey
  * @author Frederic Bastian
- * @version Bgee 13 Oct. 2016
+ * @version Bgee 15.2 Oct. 2026
  * @since Bgee 13
  */
 //XXX: rename to TopAnatService, to be obtain through the ServiceFactory?
@@ -32,6 +46,11 @@ public class TopAnatController {
 
     private final static Logger log = LogManager.getLogger(TopAnatController.class.getName()); 
 
+    /**
+     * An {@code AtomicInteger} used to name the threads running analyses concurrently.
+     */
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
     /**
      * A {@code List} containing one {@code TopAnatParams} for each analysis to be conducted
      */
@@ -65,6 +84,13 @@ public class TopAnatController {
      */
     private final Optional<Job> job;
 
+    /**
+     * A {@code Supplier} of {@code ServiceFactory}s, to provide one to each thread
+     * running analyses concurrently. If {@code null}, analyses are run sequentially
+     * in the calling thread, using {@link #serviceFactory}.
+     */
+    private final Supplier<ServiceFactory> serviceFactorySupplier;
+
     /**
      * Constructor building a {@code TopAnatController} given a list of {@code TopAnatParams}
      * 
@@ -103,6 +129,25 @@ public class TopAnatController {
             ServiceFactory serviceFactory, Job job) {
         this(topAnatParams, props, serviceFactory, TopAnatAnalysis::new, job);
     }
+    /**
+     * Constructor building a {@code TopAnatController} given a list of {@code TopAnatParams},
+     * a {@code BgeeProperties} instance, a {@code ServiceFactory} instance, a {@code Job},
+     * and a {@code Supplier} of {@code ServiceFactory}s allowing to run the analyses
+     * concurrently (see {@link BgeeProperties#getTopAnatMaxConcurrentAnalyses()}).
+     * 
+     * @param topAnatParams     A {@code List} of {@code TopAnatParams} that will produce one
+     *                          {@code TopAnatAnalysis} each.
+     * @param props             A {@code BgeeProperties} instance to provide all properties values
+     * @param serviceFactory    A {@code ServiceFactory} to be injected in {@code TopAnatAnalysis} 
+     *                          to provide various service instances
+     * @param job               A {@code Job} allowing to track advancement of the analyses.
+     * @param serviceFactorySupplier    A {@code Supplier} of {@code ServiceFactory}s to provide
+     *                                  one to each thread running analyses concurrently.
+     */
+    public TopAnatController(List<TopAnatParams> topAnatParams, BgeeProperties props, 
+            ServiceFactory serviceFactory, Job job, Supplier<ServiceFactory> serviceFactorySupplier) {
+        this(topAnatParams, props, serviceFactory, TopAnatAnalysis::new, job, serviceFactorySupplier);
+    }
 
     /**
      * Constructor building a {@code TopAnatController} given a list of {@code TopAnatParams},
@@ -142,8 +187,36 @@ public class TopAnatController {
             ServiceFactory serviceFactory, 
             PentaFunction<TopAnatParams, BgeeProperties, ServiceFactory, TopAnatRManager, TopAnatController,
             TopAnatAnalysis> topAnatAnalysisSupplier, Job job) {
-        log.traceEntry("{}, {}, {}, {}, {}", topAnatParams, props, serviceFactory,
-                topAnatAnalysisSupplier, job);
+        this(topAnatParams, props, serviceFactory, topAnatAnalysisSupplier, job, null);
+    }
+
+    /**
+     * Constructor building a {@code TopAnatController} given a list of {@code TopAnatParams},
+     * a {@code BgeeProperties} instance, a {@code ServiceFactory} instance, a {@code Job},
+     * a custom supplier for obtaining {@code TopAnatAnalysis}, and a {@code Supplier}
+     * of {@code ServiceFactory}s allowing to run the analyses concurrently.
+     * 
+     * @param topAnatParams     A {@code List} of {@code TopAnatParams} that will produce one
+     *                          {@code TopAnatAnalysis} each.
+     * @param props             A {@code BgeeProperties} instance to provide all properties values
+     * @param serviceFactory    A {@code ServiceFactory} to be injected in {@code TopAnatAnalysis} 
+     *                          to provide various service instances
+     * @param topAnatAnalysisSupplier   A {@code PentaFunction} allowing to obtain new 
+     *                                  {@code TopAnatAnalysis} instances.
+     * @param job               A {@code Job} allowing to track advancement of the analyses.
+     *                          Can be {@code null}.
+     * @param serviceFactorySupplier    A {@code Supplier} of {@code ServiceFactory}s to provide
+     *                                  one to each thread running analyses concurrently.
+     *                                  If {@code null}, analyses are run sequentially
+     *                                  using {@code serviceFactory}.
+     */  
+    public TopAnatController(List<TopAnatParams> topAnatParams, BgeeProperties props, 
+            ServiceFactory serviceFactory, 
+            PentaFunction<TopAnatParams, BgeeProperties, ServiceFactory, TopAnatRManager, TopAnatController,
+            TopAnatAnalysis> topAnatAnalysisSupplier, Job job,
+            Supplier<ServiceFactory> serviceFactorySupplier) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", topAnatParams, props, serviceFactory,
+                topAnatAnalysisSupplier, job, serviceFactorySupplier);
 
         if (topAnatParams == null || topAnatParams.isEmpty() || 
                 topAnatParams.stream().anyMatch(Objects::isNull)) {
@@ -164,20 +237,36 @@ public class TopAnatController {
         this.topAnatAnalysisSupplier = topAnatAnalysisSupplier;
         this.props = props;
         this.serviceFactory = serviceFactory;
-        this.readWriteLocks = new ManageReadWriteLocks();
+        this.readWriteLocks = new ManageReadWriteLocks(props.isTopAnatUseFileLocks());
         this.job = Optional.ofNullable(job);
+        this.serviceFactorySupplier = serviceFactorySupplier;
 
         log.traceExit();
     }
 
     /**
-     * Proceed to the analysis and return results
+     * Proceed to the analysis and return results. If a {@code Supplier} of {@code ServiceFactory}s
+     * was provided at instantiation, analyses are run concurrently, with at most
+     * {@link BgeeProperties#getTopAnatMaxConcurrentAnalyses()} analyses at a time,
+     * otherwise they are run sequentially. In both cases, results are returned
+     * in the order of the {@code TopAnatParams} provided at instantiation.
      * 
      * @return a {@code Stream} of {@code TopAnatResults}
      */
     public Stream<TopAnatResults> proceedToTopAnatAnalyses() {
         log.traceEntry();
 
+        int threadCount = Math.min(this.topAnatParams.size(),
+                this.props.getTopAnatMaxConcurrentAnalyses());
+        if (this.serviceFactorySupplier == null || threadCount <= 1) {
+            return log.traceExit(this.proceedToTopAnatAnalysesSequentially());
+        }
+        return log.traceExit(this.proceedToTopAnatAnalysesConcurrently(threadCount));
+    }
+
+    private Stream<TopAnatResults> proceedToTopAnatAnalysesSequentially() {
+        log.traceEntry();
+
         // Create TopAnatAnalysis for each TopAnatParams
         //TODO: TopAnatAnalysis should be provided with the Job instance to be able to use 
         //'checkInterrupted'
@@ -187,29 +276,9 @@ public class TopAnatController {
                         this.serviceFactory, new TopAnatRManager(this.props, params),this))
                 .map(analysis -> {
                     try {
-                        //if task in job not yet started (first analysis), start it.
-                        if (this.job.map(t -> !t.isStarted()).orElse(false)) {
-                            this.job.ifPresent(t -> t.startJob());
-                        } else {
-                            //otherwise, check if job was interrupted and move to next subtask
-                            this.job.ifPresent(t -> {
-                                try {
-                                    t.checkInterrupted();
-                                    t.nextTask();
-                                } catch (InterruptedException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            });
-                        }
-
+                        this.startNextJobTask();
                         TopAnatResults results = analysis.proceedToAnalysis();
-                        
-                        //end job if last analysis
-                        if (this.job.map(t -> t.getCurrentTaskIndex()).orElse(-1) == 
-                                (this.topAnatParams.size() - 1)) {
-                            this.job.ifPresent(t -> t.completeWithSuccess());
-                        }
-
+                        this.completeJobIfLastTask();
                         return results;
                     } catch (Throwable e) {
                         //catch and throw this error in DEBUG level because we don't want 
@@ -221,6 +290,218 @@ public class TopAnatController {
                 }));
     }
 
+    /**
+     * Run the analyses on a pool of {@code threadCount} threads. Analyses are submitted
+     * when the returned {@code Stream} starts to be consumed, and the {@code Stream} waits
+     * for the results in order, in the calling thread, so that the {@code Job} can still be
+     * managed from it. If the job is interrupted, or as soon as an analysis fails, all running
+     * analyses are interrupted, their running queries killed, and the pending ones cancelled.
+     * The same is done when the returned {@code Stream} is closed before all results
+     * were consumed, it should thus be closed by callers not consuming all results.
+     *
+     * @param threadCount   An {@code int} that is the number of threads to use.
+     * @return              A {@code Stream} of {@code TopAnatResults}, in the order
+     *                      of {@link #getTopAnatParams()}.
+     */
+    private Stream<TopAnatResults> proceedToTopAnatAnalysesConcurrently(int threadCount) {
+        log.traceEntry("{}", threadCount);
+
+        ConcurrentAnalyses analyses = new ConcurrentAnalyses(threadCount);
+        return log.traceExit(IntStream.range(0, this.topAnatParams.size())
+                .mapToObj(i -> {
+                    try {
+                        if (i == 0) {
+                            analyses.submit();
+                        }
+                        this.startNextJobTask();
+                        TopAnatResults results = analyses.getResults(i);
+                        this.completeJobIfLastTask();
+                        return results;
+                    } catch (Throwable e) {
+                        //catch and throw this error in DEBUG level because we don't want 
+                        //to log those as errors when we requested a Thread interruption
+                        log.catching(Level.DEBUG, e);
+                        //Interrupt all the other analyses
+                        analyses.cancel(-1);
+                        this.job.ifPresent(t -> t.complete());
+                        Throwable cause = e instanceof ExecutionException? e.getCause(): e;
+                        throw log.throwing(Level.DEBUG, new RuntimeException(cause));
+                    }
+                })
+                //If the consumer stops before the end, the remaining analyses are cancelled.
+                //Once all results are retrieved, this has no effect.
+                .onClose(() -> analyses.cancel(-1)));
+    }
+
+    /**
+     * Analyses run concurrently for {@link #proceedToTopAnatAnalysesConcurrently(int)}.
+     * The first failure of an analysis is recorded, and cancels all the other analyses
+     * immediately, without waiting for the consumer of the results to reach it.
+     */
+    private class ConcurrentAnalyses {
+        private final ExecutorService executorService;
+        /**
+         * The {@code Future}s of the analyses, in the order of {@link #topAnatParams}.
+         * Might contain less elements than the number of analyses if they were cancelled
+         * before all of them were submitted.
+         */
+        private final List<Future<TopAnatResults>> futures;
+        /**
+         * Threads currently running an analysis, associated with the index of the analysis,
+         * to be able to kill their queries.
+         */
+        private final Map<Integer, Thread> runningThreads;
+        /**
+         * The first exception thrown by an analysis, {@code null} if none failed.
+         */
+        private final AtomicReference<Throwable> failure;
+        private volatile boolean cancelled;
+
+        private ConcurrentAnalyses(int threadCount) {
+            this.executorService = Executors.newFixedThreadPool(threadCount, r -> {
+                Thread t = new Thread(r, "topanat-analysis-" + THREAD_COUNTER.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            this.futures = new CopyOnWriteArrayList<>();
+            this.runningThreads = new ConcurrentHashMap<>();
+            this.failure = new AtomicReference<>();
+            this.cancelled = false;
+        }
+
+        private void submit() {
+            log.traceEntry();
+            try {
+                for (int i = 0; i < topAnatParams.size() && !this.cancelled; i++) {
+                    final int index = i;
+                    final TopAnatParams params = topAnatParams.get(i);
+                    this.futures.add(this.executorService.submit(() -> this.runAnalysis(index, params)));
+                }
+            } catch (RejectedExecutionException e) {
+                //The executor was shut down by a cancellation in the meantime
+                log.catching(Level.DEBUG, e);
+            } finally {
+                //Already submitted analyses are still run, threads are then terminated
+                this.executorService.shutdown();
+            }
+            log.traceExit();
+        }
+
+        private TopAnatResults runAnalysis(int index, TopAnatParams params) throws Exception {
+            log.traceEntry("{}, {}", index, params);
+            //No need to start the analysis if the job was interrupted in the meantime
+            if (this.cancelled || job.map(t -> t.isInterruptRequested()).orElse(false) ||
+                    Thread.currentThread().isInterrupted()) {
+                throw log.throwing(Level.DEBUG, new CancellationException());
+            }
+            this.runningThreads.put(index, Thread.currentThread());
+            //one ServiceFactory per thread, DAOManagers are bound to their thread
+            try (ServiceFactory threadServiceFactory = serviceFactorySupplier.get()) {
+                //The analyses share the permit of the budget of connections of the job,
+                //otherwise concurrent jobs could exhaust the budget waiting for each other
+                threadServiceFactory.shareConnectionBudget(serviceFactory);
+                return log.traceExit(topAnatAnalysisSupplier.apply(params, props,
+                        threadServiceFactory, new TopAnatRManager(props, params),
+                        TopAnatController.this).proceedToAnalysis());
+            } catch (Exception e) {
+                //Exceptions resulting from a cancellation are not failures
+                if (!this.cancelled && this.failure.compareAndSet(null, e)) {
+                    log.catching(Level.DEBUG, e);
+                    this.cancel(index);
+                }
+                throw e;
+            } finally {
+                this.runningThreads.remove(index);
+            }
+        }
+
+        /**
+         * @param index An {@code int} that is the index of an analysis.
+         * @return      The {@code TopAnatResults} of the analysis, waiting for it if needed.
+         * @throws ExecutionException   If this analysis or another one failed, the cause
+         *                              being the first failure.
+         * @throws InterruptedException If the calling thread was interrupted while waiting.
+         */
+        private TopAnatResults getResults(int index) throws ExecutionException,
+        InterruptedException {
+            log.traceEntry("{}", index);
+            if (index >= this.futures.size()) {
+                throw log.throwing(Level.DEBUG, this.getFailure());
+            }
+            try {
+                return log.traceExit(this.futures.get(index).get());
+            } catch (CancellationException e) {
+                //Cancelled because of the failure of another analysis
+                if (this.failure.get() != null) {
+                    throw log.throwing(Level.DEBUG, new ExecutionException(this.failure.get()));
+                }
+                throw log.throwing(Level.DEBUG, e);
+            }
+        }
+        private ExecutionException getFailure() {
+            Throwable cause = this.failure.get();
+            return new ExecutionException(cause != null? cause: new CancellationException());
+        }
+
+        /**
+         * Cancels the pending analyses and interrupts the running ones, killing their queries.
+         *
+         * @param failingIndex  An {@code int} that is the index of the analysis that failed,
+         *                      not to interrupt while it terminates, {@code -1} if
+         *                      the cancellation is not due to a failure of an analysis.
+         */
+        private void cancel(int failingIndex) {
+            log.traceEntry("{}", failingIndex);
+            if (this.cancelled) {
+                log.traceExit(); return;
+            }
+            this.cancelled = true;
+            this.runningThreads.entrySet().stream().filter(e -> e.getKey() != failingIndex)
+            .forEach(e -> StartUpShutdown.interruptThread(e.getValue()));
+            for (int i = 0; i < this.futures.size(); i++) {
+                if (i != failingIndex) {
+                    this.futures.get(i).cancel(true);
+                }
+            }
+            //Running threads were interrupted by the cancellation of their Future
+            this.executorService.shutdown();
+            log.traceExit();
+        }
+    }
+
+    /**
+     * Start the job if not yet started (first analysis), otherwise check whether
+     * the job was interrupted and move to next subtask. Must be called from the thread
+     * running the job.
+     */
+    private void startNextJobTask() {
+        log.traceEntry();
+        if (this.job.map(t -> !t.isStarted()).orElse(false)) {
+            this.job.ifPresent(t -> t.startJob());
+        } else {
+            this.job.ifPresent(t -> {
+                try {
+                    t.checkInterrupted();
+                    t.nextTask();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        log.traceExit();
+    }
+    /**
+     * End the job if the current task is the last analysis.
+     */
+    private void completeJobIfLastTask() {
+        log.traceEntry();
+        if (this.job.map(t -> t.getCurrentTaskIndex()).orElse(-1) == 
+                (this.topAnatParams.size() - 1)) {
+            this.job.ifPresent(t -> t.completeWithSuccess());
+        }
+        log.traceExit();
+    }
+
     /**
      * @return A {@code BgeeProperties} instance to provide all properties values
      */
@@ -35,7 +35,7 @@ import org.bgee.model.topanat.exception.MissingParameterException;
  * @author Mathieu Seppey
  * @author Frederic Bastian
  * 
- * @version Bgee 15.0, May 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 public class TopAnatParams {
@@ -604,22 +604,49 @@ public class TopAnatParams {
      */
     public CallFilter<?, ?, ConditionFilter> convertRawParametersToCallFilter() {
         log.traceEntry();
+        return log.traceExit(convertRawParametersToCallFilter(this.speciesId,
+                this.submittedBackgroundIds, this.devStageId, this.callType,
+                this.summaryQuality, this.dataTypes, this.decorrelationType));
+    }
+    /**
+     * Create an return a {@code CallFilter} based on the provided parameter values,
+     * for instance to precompute the data of the background of a species
+     * (see {@link GeneAnatEntityIncidenceMatrix}).
+     *
+     * @param speciesId                 An {@code Integer} that is the ID of the species.
+     * @param submittedBackgroundIds    A {@code Set} of {@code String}s that are the IDs
+     *                                  of the genes of a custom background. Can be {@code null}.
+     * @param devStageId                A {@code String} that is the ID of the dev. stage
+     *                                  to filter calls on. Can be {@code null}.
+     * @param callType                  The {@code SummaryCallType} of the calls.
+     * @param summaryQuality            The {@code SummaryQuality} of the calls.
+     * @param dataTypes                 A {@code Set} of {@code DataType}s to filter calls on.
+     *                                  Can be {@code null}.
+     * @param decorrelationType         The {@code DecorrelationType} of the analysis.
+     * @return                          A {@code CallFilter} to be used for the analysis
+     */
+    public static CallFilter<?, ?, ConditionFilter> convertRawParametersToCallFilter(
+            Integer speciesId, Set<String> submittedBackgroundIds, String devStageId,
+            SummaryCallType callType, SummaryQuality summaryQuality, Set<DataType> dataTypes,
+            DecorrelationType decorrelationType) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", speciesId, submittedBackgroundIds, devStageId,
+                callType, summaryQuality, dataTypes, decorrelationType);
         
-        GeneFilter geneFilter = new GeneFilter(this.speciesId, this.submittedBackgroundIds);
+        GeneFilter geneFilter = new GeneFilter(speciesId, submittedBackgroundIds);
         
         //XXX: filter only on dev. stage. Could potentially add filtering on sex/strain
-        Collection<ConditionFilter> condFilters = StringUtils.isBlank(this.devStageId)? null: 
-            Collections.singleton(new ConditionFilter(null, Collections.singleton(this.devStageId), 
+        Collection<ConditionFilter> condFilters = StringUtils.isBlank(devStageId)? null: 
+            Collections.singleton(new ConditionFilter(null, Collections.singleton(devStageId), 
                     null, null, null, null));
         
-        if (this.callType == ExpressionSummary.EXPRESSED) {
+        if (callType == ExpressionSummary.EXPRESSED) {
             Map<ExpressionSummary, SummaryQuality> callQualFilter = new HashMap<>();
-            callQualFilter.put(ExpressionSummary.EXPRESSED, this.summaryQuality);
+            callQualFilter.put(ExpressionSummary.EXPRESSED, summaryQuality);
 
             Map<EnumSet<CallService.Attribute>, Boolean> observedDataFilter = null;
             //retrieve also propagated anat. entities when no decorrelation is requested in order to run
             //a Fisher test without running topGo (faster)
-            if (this.decorrelationType != DecorrelationType.NONE) {
+            if (decorrelationType != DecorrelationType.NONE) {
                 observedDataFilter = ExpressionCallFilter.ANAT_ENTITY_OBSERVED_DATA_ARGUMENT;
             }
             return log.traceExit(new ExpressionCallFilter(
@@ -630,12 +657,12 @@ public class TopAnatParams {
                     //condition filter
                     condFilters,
                     //data type filter
-                    this.dataTypes,
+                    dataTypes,
                     //cond. params observed states
                     observedDataFilter
             ));
         }
-        if (this.callType == DiffExpressionSummary.OVER_EXPRESSED) {
+        if (callType == DiffExpressionSummary.OVER_EXPRESSED) {
             //TODO: to implement, and use method getDiffExpressionCallData
             throw log.throwing(new UnsupportedOperationException(
                     "CallService for diff. expression not yet implemented"));
@@ -649,7 +676,7 @@ public class TopAnatParams {
 //                DiffExpressionSummary.OVER_EXPRESSED)
 //            );
         }
-        throw log.throwing(new IllegalStateException("Unsupported CallType: " + this.callType));
+        throw log.throwing(new IllegalStateException("Unsupported CallType: " + callType));
     }
  
 //TODO: following methods to be used?
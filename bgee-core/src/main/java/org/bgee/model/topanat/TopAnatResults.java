@@ -28,7 +28,7 @@ import org.supercsv.util.CsvContext;
  * @author Mathieu Seppey
  * @author Frederic Bastian
  * 
- * @version Bgee 13, March 2016
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 public class TopAnatResults {
@@ -276,11 +276,10 @@ public class TopAnatResults {
                     this.getResultDirectory(), 
                     this.getResultFileName()).toFile();
 
-            this.controller.getReadWriteLocks().acquireReadLock(resultFile.getPath());
-
             List<TopAnatResults.TopAnatResultRow> listToReturn 
             = new ArrayList<TopAnatResults.TopAnatResultRow>();
             
+            this.controller.getReadWriteLocks().acquireReadLock(resultFile.getPath());
             try (ICsvMapReader mapReader = 
                     new CsvMapReader(new FileReader(resultFile), 
                             CsvPreference.TAB_PREFERENCE)) {
@@ -302,10 +301,10 @@ public class TopAnatResults {
                         listToReturn.add(new TopAnatResults.TopAnatResultRow(row));
                     }
                 }
+            } finally {
+                this.controller.getReadWriteLocks().releaseReadLock(resultFile.getPath());
             }
 
-            this.controller.getReadWriteLocks().releaseReadLock(resultFile.getPath());
-
             return log.traceExit(listToReturn);
    
     }
@@ -4,13 +4,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.anatdev.AnatEntity;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.expressiondata.baseelements.DataType;
+import org.bgee.model.expressiondata.baseelements.DecorrelationType;
+import org.bgee.model.expressiondata.baseelements.SummaryCallType;
+import org.bgee.model.expressiondata.baseelements.SummaryQuality;
 import org.bgee.model.expressiondata.call.CallService;
 import org.bgee.model.expressiondata.call.Condition;
 
@@ -25,6 +31,12 @@ public class TopAnatUtils {
     
     public final static String TMP_FILE_SUFFIX = ".tmp";
 
+    /**
+     * A {@code String} that is the prefix of the names of the files storing
+     * the associations between genes and anat. entities.
+     */
+    public final static String GENE_TO_ANAT_ENTITIES_FILE_PREFIX = FILE_PREFIX + "GeneToAnatEntities_";
+
     /**
      * 
      * @param src
@@ -67,4 +79,44 @@ public class TopAnatUtils {
             EnumSet.of(CallService.Attribute.GENE, CallService.Attribute.ANAT_ENTITY_ID,
                     CallService.Attribute.CELL_TYPE_ID);
 
+    /**
+     * Encodes the parameters defining the associations between genes and anat. entities
+     * of the whole species background, to be used in file names. These associations
+     * can then be reused by all analyses using the same parameters.
+     *
+     * @param speciesId         An {@code Integer} that is the ID of the species.
+     * @param callType          The {@code SummaryCallType} of the calls.
+     * @param devStageId        A {@code String} that is the ID of the dev. stage
+     *                          the calls are filtered on. Can be {@code null}.
+     * @param dataTypes         A {@code Collection} of {@code DataType}s the calls are filtered on.
+     *                          If {@code null}, all data types are considered.
+     * @param summaryQuality    The {@code SummaryQuality} of the calls. If {@code null},
+     *                          {@code SummaryQuality.SILVER} is considered.
+     * @param decorrelationType The {@code DecorrelationType} of the analyses.
+     * @return                  A {@code String} encoding the parameters.
+     */
+    public static String encodeBackgroundParameters(Integer speciesId, SummaryCallType callType,
+            String devStageId, Collection<DataType> dataTypes, SummaryQuality summaryQuality,
+            DecorrelationType decorrelationType) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", speciesId, callType, devStageId, dataTypes,
+                summaryQuality, decorrelationType);
+        //TODO: use some kind of encoding of the Strings for file name (see replacement for stage ID)
+        final StringBuilder sb = new StringBuilder();
+        sb.append(speciesId);
+        sb.append("_").append(callType.toString());
+        Optional.ofNullable(devStageId)
+            //replace column in IDs
+            .ifPresent(e -> sb.append("_").append(e.replace(":", "_")));
+        //use EnumSet for consistent ordering
+        Optional.ofNullable(dataTypes).map(e -> EnumSet.copyOf(e))
+        .orElse(EnumSet.allOf(DataType.class))
+        .stream()
+        .forEach(e -> sb.append("_").append(e.toString()));
+        sb.append("_").append(Optional.ofNullable(summaryQuality).orElse(SummaryQuality.SILVER)
+                .toString());
+        if (decorrelationType == DecorrelationType.NONE) {
+            sb.append("_" + DecorrelationType.NONE);
+        }
+        return log.traceExit(sb.toString());
+    }
 }
@@ -0,0 +1,89 @@
+package org.bgee.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ManageReadWriteLocks}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ManageReadWriteLocksTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ManageReadWriteLocksTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    /**
+     * Test {@link ManageReadWriteLocks#acquireLocks(java.util.Collection, java.util.Collection)}
+     * and {@link ManageReadWriteLocks#tryAcquireLocks(java.util.Collection,
+     * java.util.Collection, long, TimeUnit)}.
+     */
+    @Test
+    public void shouldAcquireLocks() throws Exception {
+        String file1 = new File(testFolder.getRoot(), "file1").getPath();
+        String file2 = new File(testFolder.getRoot(), "file2").getPath();
+        ManageReadWriteLocks locks = new ManageReadWriteLocks(true);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            try (ManageReadWriteLocks.FileLocks fileLocks = locks.acquireLocks(
+                    Arrays.asList(file1, file2), Collections.singleton(file2))) {
+                //a file both read and written is only write locked
+                assertEquals(Arrays.asList(true, false),
+                        Arrays.asList(fileLocks.getFileNamesToReadLock().get(file1),
+                                fileLocks.getFileNamesToReadLock().get(file2)));
+                assertTrue(locks.isWriteLocked(file2));
+                assertFalse(locks.isWriteLocked(file1));
+                assertTrue("Missing OS-level lock file",
+                        new File(file2 + ManageReadWriteLocks.LOCK_FILE_EXTENSION).exists());
+
+                //another thread can read file1, but not file2
+                Future<Boolean> read1 = executor.submit(() -> {
+                    Optional<ManageReadWriteLocks.FileLocks> acquired = locks.tryAcquireLocks(
+                            Collections.singleton(file1), null, 100, TimeUnit.MILLISECONDS);
+                    acquired.ifPresent(l -> l.close());
+                    return acquired.isPresent();
+                });
+                assertTrue(read1.get());
+                Future<Boolean> read2 = executor.submit(() ->
+                    locks.tryAcquireLocks(Collections.singleton(file2), null,
+                            100, TimeUnit.MILLISECONDS).isPresent());
+                assertFalse(read2.get());
+            }
+            assertFalse(locks.isWriteLocked(file2));
+            Future<Boolean> write2 = executor.submit(() -> {
+                boolean acquired = locks.tryAcquireLock(file2, false, 100, TimeUnit.MILLISECONDS);
+                if (acquired) {
+                    locks.releaseWriteLock(file2);
+                }
+                return acquired;
+            });
+            assertTrue(write2.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.bgee.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RequestCache}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class RequestCacheTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(RequestCacheTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link RequestCache#load(java.util.Collection)}.
+     */
+    @Test
+    public void shouldMemoizeLookups() {
+        List<Set<Integer>> requested = new ArrayList<>();
+        RequestCache<Integer, String> cache = new RequestCache<>("test", ids -> {
+            requested.add(ids);
+            return ids.stream().filter(id -> id < 10)
+                    .collect(Collectors.toMap(id -> id, id -> "value" + id));
+        });
+
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, "value1");
+        expected.put(2, "value2");
+        assertEquals(expected, cache.load(Arrays.asList(1, 2, 20)));
+        assertEquals(1, cache.getLoadCount());
+
+        //IDs already loaded, or found not to exist, are not queried again
+        assertEquals(expected, cache.load(Arrays.asList(2, 1, 20)));
+        assertEquals(1, cache.getLoadCount());
+
+        //Only the IDs not already queried are requested
+        expected.put(4, "value4");
+        assertEquals(expected, cache.load(Arrays.asList(4, 1, 2, 30)));
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(Set.of(4, 30), requested.get(1));
+
+        assertEquals(new HashMap<>(), cache.load(null));
+        assertEquals(2, cache.getLoadCount());
+    }
+
+    /**
+     * Test {@link RequestCache#enqueue(java.util.Collection)}.
+     */
+    @Test
+    public void shouldMergePendingLookups() {
+        List<Set<Integer>> requested = new ArrayList<>();
+        RequestCache<Integer, String> cache = new RequestCache<>("test", ids -> {
+            requested.add(ids);
+            return ids.stream().filter(id -> id < 10)
+                    .collect(Collectors.toMap(id -> id, id -> "value" + id));
+        });
+
+        //Nothing is queried when IDs are enqueued
+        cache.enqueue(Arrays.asList(1, 2, 20));
+        cache.enqueue(Arrays.asList(2, 3));
+        cache.enqueue(null);
+        assertEquals(0, cache.getLoadCount());
+        assertEquals(4, cache.getPendingCount());
+
+        //The pending IDs are retrieved with the IDs requested, in a single query,
+        //but only the IDs requested are returned
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, "value1");
+        expected.put(4, "value4");
+        assertEquals(expected, cache.load(Arrays.asList(1, 4)));
+        assertEquals(1, cache.getLoadCount());
+        assertEquals(0, cache.getPendingCount());
+        assertEquals(Set.of(1, 2, 3, 4, 20), requested.get(0));
+
+        //The pending IDs were memoized
+        expected = new HashMap<>();
+        expected.put(2, "value2");
+        expected.put(3, "value3");
+        assertEquals(expected, cache.load(Arrays.asList(2, 3, 20)));
+        assertEquals(1, cache.getLoadCount());
+
+        //IDs already queried are not enqueued again
+        cache.enqueue(Arrays.asList(1, 20, 5));
+        assertEquals(1, cache.getPendingCount());
+        //And pending IDs are not retrieved if no query is needed for the IDs requested
+        assertEquals(expected, cache.load(Arrays.asList(2, 3)));
+        assertEquals(1, cache.getLoadCount());
+        assertEquals(1, cache.getPendingCount());
+        cache.load(Arrays.asList(6));
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(Set.of(6, 5), requested.get(1));
+    }
+
+    /**
+     * Test {@link RequestCache#loadAll()}.
+     */
+    @Test
+    public void shouldLoadAll() {
+        RequestCache<Integer, String> cache = new RequestCache<>("test", ids -> {
+            assertNull(ids);
+            Map<Integer, String> all = new HashMap<>();
+            all.put(1, "value1");
+            all.put(2, "value2");
+            return all;
+        });
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, "value1");
+        expected.put(2, "value2");
+        assertEquals(expected, cache.loadAll());
+        assertEquals(expected, cache.loadAll());
+        //no query once all entities are loaded
+        expected.remove(2);
+        assertEquals(expected, cache.load(Arrays.asList(1, 3)));
+        assertEquals(1, cache.getLoadCount());
+
+        try {
+            new RequestCache<Integer, String>("test", null);
+            fail("An exception should be thrown when no load function is provided");
+        } catch (IllegalArgumentException e) {
+            //test passed
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.bgee.model.expressiondata.call;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.TestAncestor;
+import org.bgee.model.expressiondata.baseelements.ConditionParameter;
+import org.bgee.model.gene.Gene;
+import org.bgee.model.gene.GeneBioType;
+import org.bgee.model.species.Species;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExpressionCallDictionary} and {@link IntObjectCache}.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class ExpressionCallDictionaryTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ExpressionCallDictionaryTest.class.getName());
+
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link IntObjectCache#putIfAbsent(int, Object)} and {@link IntObjectCache#get(int)},
+     * including the eviction of entries.
+     */
+    @Test
+    public void testIntObjectCache() {
+        IntObjectCache<String> cache = new IntObjectCache<>(100);
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Incorrect value stored", "v" + i, cache.putIfAbsent(i, "v" + i));
+        }
+        String existing = cache.get(10);
+        assertSame("First value stored should be returned", existing,
+                cache.putIfAbsent(10, new String("v10")));
+        assertNull("Unexpected value", cache.get(-1));
+
+        for (int i = 50; i < 10000; i++) {
+            cache.putIfAbsent(i, "v" + i);
+            //keep requesting key 0 to make sure it is never evicted
+            assertEquals("Frequently used entry should be kept", "v0", cache.get(0));
+        }
+        assertTrue("Cache should be bounded", cache.size() <= 100);
+        assertNull("Old entry should have been evicted", cache.get(10));
+        assertEquals("Incorrect value", "v9999", cache.get(9999));
+    }
+
+    /**
+     * Test {@link ExpressionCallDictionary#putGenes(Map)} and
+     * {@link ExpressionCallDictionary#getGenes(Map, Map, java.util.Collection)}.
+     */
+    @Test
+    public void shouldInternGenes() {
+        ExpressionCallDictionary dictionary = new ExpressionCallDictionary(1000);
+        GeneBioType biotype = new GeneBioType("b1");
+        Map<Integer, GeneBioType> biotypeMap = Collections.singletonMap(1, biotype);
+        Species species1 = new Species(1);
+        Species species2 = new Species(2);
+        Map<Integer, Species> speciesMap = new HashMap<>();
+        speciesMap.put(1, species1);
+        speciesMap.put(2, species2);
+        Gene g1 = new Gene("ID1", species1, biotype);
+        Gene g2 = new Gene("ID2", species2, biotype);
+        Map<Integer, Gene> genes = new HashMap<>();
+        genes.put(1, g1);
+        genes.put(2, g2);
+        dictionary.putGenes(genes);
+
+        Map<Integer, Gene> otherGenes = new HashMap<>();
+        otherGenes.put(1, new Gene("ID1", species1, biotype));
+        assertSame("Stored instance should be returned", g1,
+                dictionary.putGenes(otherGenes).get(1));
+
+        Map<Integer, Gene> retrieved = dictionary.getGenes(speciesMap, biotypeMap,
+                Arrays.asList(1, 2, 3));
+        assertEquals("Incorrect number of genes retrieved", 2, retrieved.size());
+        assertSame("Incorrect gene retrieved", g2, retrieved.get(2));
+        assertEquals("Genes of other species should not be retrieved",
+                Collections.singleton(1),
+                dictionary.getGenes(Collections.singletonMap(1, species1), biotypeMap,
+                        Arrays.asList(1, 2)).keySet());
+    }
+
+    /**
+     * Test that {@code Gene}s are validated by species ID and gene biotype,
+     * whatever the {@code Species} or {@code GeneBioType} instances used by callers,
+     * and are replaced when stored for another species.
+     */
+    @Test
+    public void shouldReuseGenesById() {
+        ExpressionCallDictionary dictionary = new ExpressionCallDictionary(1000);
+        GeneBioType biotype = new GeneBioType("b1");
+        Species species = new Species(1);
+        Gene g1 = new Gene("ID1", species, biotype);
+        dictionary.putGenes(Collections.singletonMap(1, g1));
+
+        Species otherSpecies = new Species(1);
+        GeneBioType otherBiotype = new GeneBioType("b1");
+        assertSame("Gene should be retrieved with another Species instance", g1,
+                dictionary.getGenes(Collections.singletonMap(1, otherSpecies),
+                        Collections.singletonMap(1, otherBiotype), Collections.singleton(1)).get(1));
+        assertSame("Stored gene should be reused for another Species instance", g1,
+                dictionary.putGenes(Collections.singletonMap(1,
+                        new Gene("ID1", otherSpecies, otherBiotype))).get(1));
+        assertTrue("Gene of another biotype should not be retrieved",
+                dictionary.getGenes(Collections.singletonMap(1, species),
+                        Collections.singletonMap(1, new GeneBioType("b2")),
+                        Collections.singleton(1)).isEmpty());
+
+        Gene g1Other = new Gene("ID1", new Species(2), biotype);
+        assertSame("Gene of another species should replace the stored one", g1Other,
+                dictionary.putGenes(Collections.singletonMap(1, g1Other)).get(1));
+    }
+
+    /**
+     * Test that {@code Condition2}s are stored per condition parameter combination.
+     */
+    @Test
+    public void shouldStoreConditionsPerCombination() {
+        ExpressionCallDictionary dictionary = new ExpressionCallDictionary(1000);
+        Set<ConditionParameter<?, ?>> comb1 = ConditionParameter.allOf();
+        Set<ConditionParameter<?, ?>> comb2 = Collections.singleton(ConditionParameter.ANAT_ENTITY_CELL_TYPE);
+        Species species = new Species(1);
+        Map<Integer, Species> speciesMap = Collections.singletonMap(1, species);
+        Condition2 cond = new Condition2(new HashMap<>(), species);
+        dictionary.putConditions(comb1, Collections.singletonMap(5, cond));
+
+        assertSame("Incorrect condition retrieved", cond, dictionary.getConditions(comb1,
+                speciesMap, Collections.singleton(5)).get(5));
+        assertTrue("No condition should be retrieved for another combination",
+                dictionary.getConditions(comb2, speciesMap,
+                        Collections.singleton(5)).isEmpty());
+        assertSame("Condition should be retrieved with another Species instance", cond,
+                dictionary.getConditions(comb1, Collections.singletonMap(1, new Species(1)),
+                        Collections.singleton(5)).get(5));
+        assertTrue("No condition should be retrieved for another species",
+                dictionary.getConditions(comb1, Collections.singletonMap(2, new Species(2)),
+                        Collections.singleton(5)).isEmpty());
+        dictionary.clear();
+        assertTrue("Dictionary should be empty", dictionary.getConditions(comb1,
+                speciesMap, Collections.singleton(5)).isEmpty());
+    }
+}
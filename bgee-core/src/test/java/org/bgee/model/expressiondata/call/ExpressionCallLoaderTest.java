@@ -0,0 +1,171 @@
+package org.bgee.model.expressiondata.call;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.TestAncestor;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTOResultSet;
+import org.bgee.model.expressiondata.call.Call.ExpressionCall2;
+import org.bgee.model.expressiondata.call.CallFilter.ExpressionCallFilter2;
+import org.bgee.model.gene.GeneFilter;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExpressionCallLoader}.
+ *
+ * @author  Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class ExpressionCallLoaderTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ExpressionCallLoaderTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link ExpressionCallLoader#loadDataStream(Long, Long)}: only the first page
+     * should be retrieved using an offset, the following pages should start after
+     * the key of the last call of the previous page.
+     */
+    @Test
+    public void shouldLoadDataStreamByKey() {
+        int previousLimitMax = ExpressionCallLoader.LIMIT_MAX;
+        ExpressionCallLoader.LIMIT_MAX = 2;
+        try {
+            ExpressionCallProcessedFilter processedFilter = mock(ExpressionCallProcessedFilter.class);
+            Set<DAOCallFilter> daoFilters = Set.of(new DAOCallFilter(Set.of(1), null, null, null, null));
+            when(processedFilter.getDaoFilters()).thenReturn(daoFilters);
+            when(processedFilter.getSourceFilter()).thenReturn(new ExpressionCallFilter2());
+            when(processedFilter.getSpeciesMap()).thenReturn(SPECIES);
+            when(processedFilter.getGeneBioTypeMap()).thenReturn(GENE_BIO_TYPES);
+            //the genes are seeded in the dictionary, they are not queried
+            when(processedFilter.getRequestedGeneMap()).thenReturn(GENES);
+            when(processedFilter.getRequestedConditionMap()).thenReturn(new HashMap<>());
+
+            CallServiceUtils utils = spy(new CallServiceUtils());
+            doReturn(new HashMap<>()).when(utils).loadConditionMapFromResultSet(
+                    any(), any(), any(), any(), any(), any(), any());
+            List<GlobalExpressionCallTO> mappedTOs = new ArrayList<>();
+            CallMapping callMapping = mock(CallMapping.class);
+            when(callMapping.mapGlobalCallTOToExpressionCall(any(), any(), any(), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                mappedTOs.add(invocation.getArgument(0));
+                return mock(ExpressionCall2.class);
+            });
+
+            List<GlobalExpressionCallTO> callTOs = Arrays.asList(
+                    new GlobalExpressionCallTO(null, 1, 1, null, null, null, null),
+                    new GlobalExpressionCallTO(null, 1, 2, null, null, null, null),
+                    new GlobalExpressionCallTO(null, 2, 1, null, null, null, null),
+                    new GlobalExpressionCallTO(null, 2, 2, null, null, null, null),
+                    new GlobalExpressionCallTO(null, 2, 3, null, null, null, null));
+            GlobalExpressionCallTOResultSet rs1 = getMockResultSet(
+                    GlobalExpressionCallTOResultSet.class, callTOs.subList(0, 2));
+            when(this.globalExprCallDAO.getGlobalExpressionCalls2(eq(daoFilters), any(), any(),
+                    eq(0L), eq(2))).thenReturn(rs1);
+            GlobalExpressionCallTOResultSet rs2 = getMockResultSet(
+                    GlobalExpressionCallTOResultSet.class, callTOs.subList(2, 4));
+            when(this.globalExprCallDAO.getGlobalExpressionCalls2AfterKey(eq(daoFilters), any(),
+                    eq(1), eq(2), eq(2))).thenReturn(rs2);
+            GlobalExpressionCallTOResultSet rs3 = getMockResultSet(
+                    GlobalExpressionCallTOResultSet.class, callTOs.subList(4, 5));
+            when(this.globalExprCallDAO.getGlobalExpressionCalls2AfterKey(eq(daoFilters), any(),
+                    eq(2), eq(2), eq(2))).thenReturn(rs3);
+
+            ExpressionCallLoader loader = new ExpressionCallLoader(processedFilter,
+                    this.serviceFactory, utils, callMapping, new ExpressionCallDictionary());
+            assertEquals(5, loader.loadDataStream(null, null).collect(Collectors.toList()).size());
+            assertEquals(callTOs, mappedTOs);
+            verify(this.globalExprCallDAO, times(1)).getGlobalExpressionCalls2(
+                    any(), any(), any(), anyLong(), anyInt());
+            verify(this.globalExprCallDAO, times(2)).getGlobalExpressionCalls2AfterKey(
+                    any(), any(), any(), any(), anyInt());
+        } finally {
+            ExpressionCallLoader.LIMIT_MAX = previousLimitMax;
+        }
+    }
+
+    /**
+     * Test that {@link ExpressionCallLoader#loadDataCount()} returns the same counts
+     * when using the counts precomputed per condition, and when falling back to counting
+     * the calls: the filter used for the precomputed counts must target the same species
+     * and conditions as the filters used to query the calls.
+     */
+    @Test
+    public void shouldLoadSameCountFromPrecomputedCounts() {
+        //Global condition IDs associated with their species ID, and number of calls
+        //in each condition, as stored in the data source
+        Map<Integer, Integer> speciesIdByCondId = Map.of(1, 1, 2, 1, 3, 2);
+        Map<Integer, Long> callCountByCondId = Map.of(1, 3L, 2, 2L, 3, 4L);
+        //Species IDs and condition IDs are "OR" conditions in DAOCallFilters
+        Function<DAOCallFilter, Long> countCalls = f -> callCountByCondId.entrySet().stream()
+                .filter(e -> f.getSpeciesIds().isEmpty() && f.getConditionIds().isEmpty() ||
+                        f.getSpeciesIds().contains(speciesIdByCondId.get(e.getKey())) ||
+                        f.getConditionIds().contains(e.getKey()))
+                .mapToLong(e -> e.getValue())
+                .sum();
+        when(this.globalExprCallDAO.getGlobalExpressionCallsCount(any())).thenAnswer(
+                invocation -> {
+                    Collection<DAOCallFilter> filters = invocation.getArgument(0);
+                    assertEquals(1, filters.size());
+                    return countCalls.apply(filters.iterator().next());
+                });
+        when(this.globalExprCallDAO.getPrecomputedGlobalExpressionCallsCount(any())).thenAnswer(
+                invocation -> countCalls.apply(invocation.getArgument(0)));
+
+        ExpressionCallFilter2 sourceFilter = new ExpressionCallFilter2(
+                ExpressionCallFilter2.SILVER_PRESENT_ARGUMENT, new GeneFilter(1),
+                null, null, null, null, null);
+        for (DAOCallFilter daoFilter: Arrays.asList(
+                new DAOCallFilter(Set.of(1), null, null, null, null),
+                new DAOCallFilter(null, null, Set.of(1, 3), null, null))) {
+            ExpressionCallProcessedFilter processedFilter = mock(ExpressionCallProcessedFilter.class);
+            when(processedFilter.getDaoFilters()).thenReturn(Set.of(daoFilter));
+            when(processedFilter.getSourceFilter()).thenReturn(sourceFilter);
+            //Whether the filter is covered by precomputed counts is memoized per loader
+            when(this.globalExprCallDAO.isCoveredByPrecomputedCounts(any())).thenReturn(false);
+            long fallbackCount = new ExpressionCallLoader(processedFilter,
+                    this.serviceFactory, new CallServiceUtils(), mock(CallMapping.class),
+                    new ExpressionCallDictionary()).loadDataCount();
+            when(this.globalExprCallDAO.isCoveredByPrecomputedCounts(any())).thenReturn(true);
+            ExpressionCallLoader loader = new ExpressionCallLoader(processedFilter,
+                    this.serviceFactory, new CallServiceUtils(), mock(CallMapping.class),
+                    new ExpressionCallDictionary());
+            long precomputedCount = loader.loadDataCount();
+            assertEquals(precomputedCount, loader.loadDataCount());
+
+            assertEquals("Incorrect count for " + daoFilter,
+                    countCalls.apply(daoFilter).longValue(), fallbackCount);
+            assertEquals("Different counts from precomputed counts for " + daoFilter,
+                    fallbackCount, precomputedCount);
+        }
+        verify(this.globalExprCallDAO, times(2)).getGlobalExpressionCallsCount(any());
+        verify(this.globalExprCallDAO, times(4)).getPrecomputedGlobalExpressionCallsCount(any());
+        verify(this.globalExprCallDAO, times(4)).isCoveredByPrecomputedCounts(any());
+    }
+}
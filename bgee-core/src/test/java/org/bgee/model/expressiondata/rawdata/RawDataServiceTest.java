@@ -3,8 +3,13 @@ package org.bgee.model.expressiondata.rawdata;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -14,15 +19,22 @@ import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.TestAncestor;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.DAORawDataConditionFilter;
 import org.bgee.model.dao.api.expressiondata.rawdata.DAORawDataFilter;
 import org.bgee.model.dao.api.expressiondata.rawdata.RawDataConditionDAO.RawDataConditionTOResultSet;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataCountDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataCountDAO.RawDataCountContainerTO;
 import org.bgee.model.dao.api.gene.GeneDAO.GeneTOResultSet;
 import org.bgee.model.expressiondata.call.ConditionTest;
+import org.bgee.model.expressiondata.rawdata.RawDataLoader.InformationType;
 import org.bgee.model.expressiondata.rawdata.RawDataProcessedFilter.RawDataProcessedFilterConditionPart;
 import org.bgee.model.expressiondata.rawdata.RawDataProcessedFilter.RawDataProcessedFilterGeneSpeciesPart;
 import org.bgee.model.expressiondata.rawdata.RawDataProcessedFilter.RawDataProcessedFilterInvariablePart;
+import org.bgee.model.expressiondata.rawdata.baseelements.RawDataDataType;
+import org.bgee.model.expressiondata.rawdata.est.ESTCountContainer;
+import org.bgee.model.expressiondata.rawdata.microarray.AffymetrixCountContainer;
 import org.bgee.model.gene.GeneFilter;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -31,7 +43,7 @@ import org.junit.Test;
  * Test {@link RawDataService}.
  *
  * @author Frederic Bastian
- * @version Bgee 15.1 May 2024
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 15.0 Sep 2022
  */
 public class RawDataServiceTest extends TestAncestor {
@@ -126,4 +138,47 @@ public class RawDataServiceTest extends TestAncestor {
                 new RawDataProcessedFilterInvariablePart(GENE_BIO_TYPES, SOURCES));
         assertEquals(expectedPrepProcessedInfo, actualLoader.getRawDataProcessedFilter());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that {@link RawDataLoader#loadDataCount(java.util.Collection, RawDataDataType)}
+     * uses the counts precomputed for a species with no other filtering, retrieved only once,
+     * and counts the raw data when no count was precomputed.
+     */
+    @Test
+    public void shouldLoadPrecomputedRawDataCount() {
+        RawDataCountDAO countDAO = mock(RawDataCountDAO.class);
+        when(this.manager.getRawDataCountDAO()).thenReturn(countDAO);
+        when(countDAO.getPrecomputedRawDataCount(1, DAODataType.AFFYMETRIX))
+        .thenReturn(new RawDataCountContainerTO(2, 3, 4));
+        when(countDAO.getPrecomputedRawDataCount(1, DAODataType.EST)).thenReturn(null);
+        when(countDAO.getESTCount(anyCollection(), anyBoolean(), anyBoolean()))
+        .thenReturn(new RawDataCountContainerTO(null, 5, 6));
+
+        RawDataFilter filter = new RawDataFilter(Set.of(new GeneFilter(1)), null);
+        RawDataProcessedFilter processedFilter = new RawDataProcessedFilter(filter,
+                Set.of(new DAORawDataFilter(Set.of(1), null, null, null, null)),
+                new RawDataProcessedFilterGeneSpeciesPart(filter.getGeneFilters(), Map.of(), SPECIES),
+                new RawDataProcessedFilterConditionPart(filter.getConditionFilters(), Map.of()),
+                new RawDataProcessedFilterInvariablePart(GENE_BIO_TYPES, SOURCES));
+        RawDataLoader loader = new RawDataService(this.serviceFactory)
+                .getRawDataLoader(processedFilter);
+
+        AffymetrixCountContainer affyCount = loader.loadDataCount(null, RawDataDataType.AFFYMETRIX);
+        assertEquals(Integer.valueOf(2), affyCount.getExperimentCount());
+        assertEquals(Integer.valueOf(3), affyCount.getAssayCount());
+        assertEquals(Integer.valueOf(4), affyCount.getCallCount());
+        affyCount = loader.loadDataCount(EnumSet.of(InformationType.CALL),
+                RawDataDataType.AFFYMETRIX);
+        assertEquals(null, affyCount.getExperimentCount());
+        assertEquals(Integer.valueOf(4), affyCount.getCallCount());
+
+        ESTCountContainer estCount = loader.loadDataCount(null, RawDataDataType.EST);
+        assertEquals(Integer.valueOf(5), estCount.getAssayCount());
+        assertEquals(Integer.valueOf(6), estCount.getCallCount());
+
+        verify(countDAO, times(1)).getPrecomputedRawDataCount(1, DAODataType.AFFYMETRIX);
+        verify(countDAO, never()).getAffymetrixCount(anyCollection(), anyBoolean(),
+                anyBoolean(), anyBoolean());
+        verify(countDAO, times(1)).getESTCount(anyCollection(), anyBoolean(), anyBoolean());
+    }
+}
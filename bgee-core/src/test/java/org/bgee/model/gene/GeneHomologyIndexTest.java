@@ -0,0 +1,147 @@
+package org.bgee.model.gene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.TestAncestor;
+import org.bgee.model.dao.api.gene.GeneHomologsDAO.GeneHomologsTO;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link GeneHomologyIndex}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class GeneHomologyIndexTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(GeneHomologyIndexTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link GeneHomologyIndex#write(Path, String, Map, Map)}, {@link
+     * GeneHomologyIndex#load(Path, String)} and {@link GeneHomologyIndex#getHomologs(
+     * GeneHomologs.HomologyType, Collection, Set, Set)}.
+     */
+    @Test
+    public void shouldWriteLoadAndFilterHomologs() throws IOException {
+        Map<Integer, Integer> speciesIds = new HashMap<>();
+        speciesIds.put(1, 1);
+        speciesIds.put(10, 1);
+        speciesIds.put(11, 2);
+        speciesIds.put(12, 3);
+        Map<GeneHomologs.HomologyType, Collection<GeneHomologsTO>> homologsTOsPerType =
+                new EnumMap<>(GeneHomologs.HomologyType.class);
+        homologsTOsPerType.put(GeneHomologs.HomologyType.ORTHOLOGY, Arrays.asList(
+                new GeneHomologsTO(1, 11, 200), new GeneHomologsTO(1, 12, 300),
+                new GeneHomologsTO(11, 1, 200), new GeneHomologsTO(12, 1, 300)));
+        homologsTOsPerType.put(GeneHomologs.HomologyType.PARALOGY, Arrays.asList(
+                new GeneHomologsTO(1, 10, 100), new GeneHomologsTO(10, 1, 100)));
+
+        Path dir = Files.createTempDirectory("homology");
+        Path file = dir.resolve("homology_index.bin");
+        try {
+            GeneHomologyIndex.write(file, "15.2", homologsTOsPerType, speciesIds);
+            GeneHomologyIndex index = GeneHomologyIndex.load(file, "15.2");
+
+            assertEquals("Incorrect release", "15.2", index.getRelease());
+            assertEquals(3, index.getGeneCount(GeneHomologs.HomologyType.ORTHOLOGY));
+            assertEquals(2, index.getGeneCount(GeneHomologs.HomologyType.PARALOGY));
+            //gene 2 has no homologs
+            assertEquals(new HashSet<>(Arrays.asList("1-11-200", "1-12-300")),
+                    toStrings(index.getHomologs(GeneHomologs.HomologyType.ORTHOLOGY,
+                            Arrays.asList(1, 2), null, null)));
+            assertEquals(new HashSet<>(Arrays.asList("1-12-300", "11-1-200")),
+                    toStrings(index.getHomologs(GeneHomologs.HomologyType.ORTHOLOGY,
+                            Arrays.asList(1, 11), null, new HashSet<>(Arrays.asList(1, 3)))));
+            assertEquals(new HashSet<>(Arrays.asList("1-12-300")),
+                    toStrings(index.getHomologs(GeneHomologs.HomologyType.ORTHOLOGY,
+                            Arrays.asList(1), new HashSet<>(Arrays.asList(100, 300)), null)));
+            assertEquals(new HashSet<>(Arrays.asList("10-1-100")),
+                    toStrings(index.getHomologs(GeneHomologs.HomologyType.PARALOGY,
+                            Arrays.asList(10, 11), null, null)));
+            assertEquals(new HashSet<>(), index.getHomologs(GeneHomologs.HomologyType.PARALOGY,
+                    Arrays.asList(1), new HashSet<>(Arrays.asList(200)), null));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Test that {@link GeneHomologyIndex#load(Path, String)} rejects an index
+     * generated from another release.
+     */
+    @Test
+    public void shouldRejectOtherRelease() throws IOException {
+        Path dir = Files.createTempDirectory("homology");
+        Path file = dir.resolve("homology_index.bin");
+        try {
+            GeneHomologyIndex.write(file, "15.1",
+                    new EnumMap<>(GeneHomologs.HomologyType.class), new HashMap<>());
+            GeneHomologyIndex index = GeneHomologyIndex.load(file, null);
+            assertEquals("Incorrect release", "15.1", index.getRelease());
+            assertEquals(0, index.getGeneCount(GeneHomologs.HomologyType.ORTHOLOGY));
+            try {
+                GeneHomologyIndex.load(file, "15.2");
+                fail("An exception should be thrown for an index from another release");
+            } catch (IOException e) {
+                //test passed
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Test that {@link GeneHomologyIndex#write(Path, String, Map, Map)} rejects
+     * homology relations whose target gene has no species.
+     */
+    @Test
+    public void shouldRejectMissingSpecies() throws IOException {
+        Map<GeneHomologs.HomologyType, Collection<GeneHomologsTO>> homologsTOsPerType =
+                new EnumMap<>(GeneHomologs.HomologyType.class);
+        homologsTOsPerType.put(GeneHomologs.HomologyType.PARALOGY, Arrays.asList(
+                new GeneHomologsTO(1, 13, 100)));
+
+        Path dir = Files.createTempDirectory("homology");
+        Path file = dir.resolve("homology_index.bin");
+        try {
+            GeneHomologyIndex.write(file, "15.2", homologsTOsPerType, new HashMap<>());
+            fail("An exception should be thrown when the species of a target gene is missing");
+        } catch (IllegalArgumentException e) {
+            //test passed, check that no file was written
+            assertFalse("The file should not be written", Files.exists(file));
+            assertFalse("The temporary file should be deleted", Files.exists(
+                    file.resolveSibling(file.getFileName() + ".tmp")));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static Set<String> toStrings(Set<GeneHomologsTO> tos) {
+        return tos.stream()
+                .map(to -> to.getBgeeGeneId() + "-" + to.getTargetGeneId() + "-" + to.getTaxonId())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,144 @@
+package org.bgee.model.topanat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.TestAncestor;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link GeneAnatEntityIncidenceMatrix}.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class GeneAnatEntityIncidenceMatrixTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(GeneAnatEntityIncidenceMatrixTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link GeneAnatEntityIncidenceMatrix#write(Path, String, Map)} and
+     * {@link GeneAnatEntityIncidenceMatrix#load(Path, String)}.
+     */
+    @Test
+    public void shouldWriteAndLoadMatrix() throws IOException {
+        Map<String, Set<String>> condIdsPerGeneId = new HashMap<>();
+        //gene1 associated to all conditions, stored as a bitmap
+        condIdsPerGeneId.put("gene1", new HashSet<>(Arrays.asList("cond1", "cond2", "cond3")));
+        //gene2 associated to one condition, stored as an array
+        condIdsPerGeneId.put("gene2", new HashSet<>(Arrays.asList("cond2")));
+        condIdsPerGeneId.put("gene3", new HashSet<>());
+
+        Path dir = Files.createTempDirectory("topanat");
+        Path file = dir.resolve("matrix" + GeneAnatEntityIncidenceMatrix.FILE_EXTENSION);
+        try {
+            GeneAnatEntityIncidenceMatrix.write(file, "15.2", condIdsPerGeneId);
+            GeneAnatEntityIncidenceMatrix matrix = GeneAnatEntityIncidenceMatrix.load(file, "15.2");
+
+            assertEquals("Incorrect release", "15.2", matrix.getRelease());
+            assertEquals("Incorrect gene IDs", new HashSet<>(Arrays.asList("gene1", "gene2", "gene3")),
+                    new HashSet<>(matrix.getGeneIds()));
+            assertEquals("Incorrect condition IDs", new HashSet<>(Arrays.asList("cond1", "cond2", "cond3")),
+                    new HashSet<>(matrix.getCondIds()));
+            Map<String, Set<String>> all = new HashMap<>();
+            matrix.forEachAssociation(null, (geneId, condId) ->
+                    all.computeIfAbsent(geneId, k -> new HashSet<>()).add(condId));
+            Map<String, Set<String>> expectedAll = new HashMap<>(condIdsPerGeneId);
+            expectedAll.remove("gene3");
+            assertEquals("Incorrect associations", expectedAll, all);
+            assertTrue("Incorrect association", matrix.isAssociated("gene1", "cond3"));
+            assertTrue("Incorrect association", matrix.isAssociated("gene2", "cond2"));
+            assertFalse("Incorrect association", matrix.isAssociated("gene2", "cond1"));
+            assertFalse("Incorrect association", matrix.isAssociated("gene3", "cond1"));
+            assertFalse("Incorrect association", matrix.isAssociated("gene4", "cond1"));
+
+            Map<String, Integer> expectedCounts = new HashMap<>();
+            expectedCounts.put("cond1", 1);
+            expectedCounts.put("cond2", 2);
+            expectedCounts.put("cond3", 1);
+            assertEquals("Incorrect counts", expectedCounts, matrix.countGenesPerCondition(null));
+            assertEquals("Incorrect counts", Collections.singletonMap("cond2", 1),
+                    matrix.countGenesPerCondition(Arrays.asList("gene2", "gene3", "gene4")));
+
+            Map<String, Set<String>> retrieved = new HashMap<>();
+            matrix.forEachAssociation(Arrays.asList("gene2", "gene3"), (geneId, condId) ->
+                    retrieved.computeIfAbsent(geneId, k -> new HashSet<>()).add(condId));
+            Map<String, Set<String>> expected = new HashMap<>();
+            expected.put("gene2", new HashSet<>(Arrays.asList("cond2")));
+            assertEquals("Incorrect associations", expected, retrieved);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Test that {@link GeneAnatEntityIncidenceMatrix#load(Path, String)} rejects a matrix
+     * generated from another release.
+     */
+    @Test
+    public void shouldRejectOtherRelease() throws IOException {
+        Map<String, Set<String>> condIdsPerGeneId = new HashMap<>();
+        condIdsPerGeneId.put("gene1", new HashSet<>(Arrays.asList("cond1")));
+
+        Path dir = Files.createTempDirectory("topanat");
+        Path file = dir.resolve("matrix" + GeneAnatEntityIncidenceMatrix.FILE_EXTENSION);
+        try {
+            GeneAnatEntityIncidenceMatrix.write(file, "15.1", condIdsPerGeneId);
+            assertEquals("Incorrect release", "15.1",
+                    GeneAnatEntityIncidenceMatrix.load(file, null).getRelease());
+            try {
+                GeneAnatEntityIncidenceMatrix.load(file, "15.2");
+                fail("An exception should be thrown for a matrix from another release");
+            } catch (IOException e) {
+                //test passed
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Test that {@link GeneAnatEntityIncidenceMatrix#write(Path, String, Map)} rejects IDs
+     * too long to be stored.
+     */
+    @Test
+    public void shouldRejectTooLongIds() throws IOException {
+        char[] longId = new char[GeneAnatEntityIncidenceMatrix.MAX_ID_LENGTH + 1];
+        Arrays.fill(longId, 'a');
+        Map<String, Set<String>> condIdsPerGeneId = new HashMap<>();
+        condIdsPerGeneId.put("gene1", new HashSet<>(Arrays.asList(new String(longId))));
+
+        Path dir = Files.createTempDirectory("topanat");
+        Path file = dir.resolve("matrix" + GeneAnatEntityIncidenceMatrix.FILE_EXTENSION);
+        try {
+            GeneAnatEntityIncidenceMatrix.write(file, "15.2", condIdsPerGeneId);
+            fail("An exception should be thrown when an ID is too long");
+        } catch (IllegalArgumentException e) {
+            //test passed, check that the temporary file was deleted
+            assertFalse("The temporary file should be deleted", Files.exists(
+                    file.resolveSibling(file.getFileName() + TopAnatUtils.TMP_FILE_SUFFIX)));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.bgee.model.topanat;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -13,10 +16,18 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -48,9 +59,10 @@ import org.junit.Test;
  * - one analysis is run for every TopAnatParams provided
  * - the exception thrown by RCaller in case of empty result is correctly handled
  * - the method for testing whether the analyses are completed works fine
+ * - analyses run concurrently are returned in order, and are interrupted on failure
  * 
  * @author Mathieu Seppey
- * @version Bgee 13, March 2016
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 //FIXME: Reenable tests
@@ -260,6 +272,183 @@ public class TopAnatControllerTest extends TestAncestor {
         assertTrue(emptyFile.exists() & emptyFile.length() == 0);
     }
 
+    /**
+     * Test that analyses run concurrently are returned in the order of the {@code TopAnatParams},
+     * even when they complete in another order.
+     */
+    @Test
+    public void shouldReturnConcurrentResultsInOrder() throws Exception {
+        List<TopAnatParams> params = this.getMockParams(3);
+        List<TopAnatResults> results = Arrays.asList(mock(TopAnatResults.class),
+                mock(TopAnatResults.class), mock(TopAnatResults.class));
+        CountDownLatch lastDone = new CountDownLatch(1);
+        TopAnatController controller = this.getConcurrentController(params, p -> {
+            int index = params.indexOf(p);
+            if (index == 0) {
+                //the first analysis completes last
+                assertTrue(lastDone.await(10, TimeUnit.SECONDS));
+            } else if (index == 2) {
+                lastDone.countDown();
+            }
+            return results.get(index);
+        });
+
+        try (Stream<TopAnatResults> stream = controller.proceedToTopAnatAnalyses()) {
+            assertEquals(results, stream.collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Test that the failure of an analysis is propagated to the consumer, without waiting
+     * for the previous analyses, and that the other running analyses are interrupted.
+     */
+    @Test
+    public void shouldPropagateConcurrentFailure() throws Exception {
+        List<TopAnatParams> params = this.getMockParams(2);
+        IllegalStateException failure = new IllegalStateException("test failure");
+        CountDownLatch firstInterrupted = new CountDownLatch(1);
+        TopAnatController controller = this.getConcurrentController(params, p -> {
+            if (params.indexOf(p) == 1) {
+                throw failure;
+            }
+            try {
+                //blocks until interrupted
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                firstInterrupted.countDown();
+                throw e;
+            }
+            return mock(TopAnatResults.class);
+        });
+
+        try (Stream<TopAnatResults> stream = controller.proceedToTopAnatAnalyses()) {
+            stream.collect(Collectors.toList());
+            fail("The failure of an analysis should be propagated");
+        } catch (RuntimeException e) {
+            assertSame(failure, e.getCause());
+        }
+        assertTrue("The running analysis should have been interrupted",
+                firstInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that the running analyses are interrupted when the consumer of the results
+     * is interrupted, or when it closes the {@code Stream} without consuming all results.
+     */
+    @Test
+    public void shouldInterruptConcurrentAnalyses() throws Exception {
+        //Interruption of the consumer
+        List<TopAnatParams> params = this.getMockParams(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        TopAnatController controller = this.getConcurrentController(params,
+                this.getBlockingAnalysis(started, interrupted));
+        AtomicReference<Throwable> consumerException = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try (Stream<TopAnatResults> stream = controller.proceedToTopAnatAnalyses()) {
+                stream.collect(Collectors.toList());
+            } catch (Throwable e) {
+                consumerException.set(e);
+            }
+        });
+        consumer.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        consumer.interrupt();
+        consumer.join(5000);
+        assertTrue(consumerException.get() instanceof RuntimeException);
+        assertTrue(consumerException.get().getCause() instanceof InterruptedException);
+        assertTrue("Running analyses should have been interrupted",
+                interrupted.await(5, TimeUnit.SECONDS));
+
+        //Stream closed before consuming all results
+        TopAnatResults firstResult = mock(TopAnatResults.class);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch secondInterrupted = new CountDownLatch(1);
+        MockAnalysis blocking = this.getBlockingAnalysis(secondStarted, secondInterrupted);
+        TopAnatController controller2 = this.getConcurrentController(params,
+                p -> params.indexOf(p) == 0? firstResult: blocking.proceed(p));
+        try (Stream<TopAnatResults> stream = controller2.proceedToTopAnatAnalyses()) {
+            Iterator<TopAnatResults> it = stream.iterator();
+            assertSame(firstResult, it.next());
+            assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue("Running analysis should have been interrupted when closing the Stream",
+                secondInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * An analysis of the concurrent tests, returning the {@code TopAnatResults}
+     * for the provided {@code TopAnatParams}.
+     */
+    private static interface MockAnalysis {
+        public TopAnatResults proceed(TopAnatParams params) throws Exception;
+    }
+    /**
+     * @param count An {@code int} that is the number of mock {@code TopAnatParams} to create.
+     * @return      A {@code List} of distinct mock {@code TopAnatParams}.
+     */
+    private List<TopAnatParams> getMockParams(int count) {
+        List<TopAnatParams> params = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TopAnatParams p = mock(TopAnatParams.class);
+            when(p.toString()).thenReturn("mockTopAnatParams" + i);
+            when(p.getKey()).thenReturn("test" + i);
+            params.add(p);
+        }
+        return params;
+    }
+    /**
+     * @param started       A {@code CountDownLatch} counted down when an analysis starts.
+     * @param interrupted   A {@code CountDownLatch} counted down when an analysis
+     *                      is interrupted.
+     * @return              A {@code MockAnalysis} blocking until interrupted.
+     */
+    private MockAnalysis getBlockingAnalysis(CountDownLatch started,
+            CountDownLatch interrupted) {
+        return p -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return mock(TopAnatResults.class);
+        };
+    }
+    private PentaFunction<TopAnatParams, BgeeProperties, ServiceFactory, TopAnatRManager,
+    TopAnatController, TopAnatAnalysis> getAnalysisSupplier(MockAnalysis mockAnalysis) {
+        return (p1, p2, p3, p4, p5) -> {
+            TopAnatAnalysis analysis = mock(TopAnatAnalysis.class);
+            try {
+                when(analysis.proceedToAnalysis()).thenAnswer(i -> mockAnalysis.proceed(p1));
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            return analysis;
+        };
+    }
+    /**
+     * @param params        A {@code List} of {@code TopAnatParams} to run analyses for.
+     * @param mockAnalysis  The {@code MockAnalysis} performing the analyses.
+     * @return              A {@code TopAnatController} running the analyses concurrently,
+     *                      on one thread per analysis.
+     */
+    private TopAnatController getConcurrentController(List<TopAnatParams> params,
+            MockAnalysis mockAnalysis) {
+        return this.getConcurrentController(params, this.getAnalysisSupplier(mockAnalysis));
+    }
+    private TopAnatController getConcurrentController(List<TopAnatParams> params,
+            PentaFunction<TopAnatParams, BgeeProperties, ServiceFactory, TopAnatRManager,
+            TopAnatController, TopAnatAnalysis> analysisSupplier) {
+        Properties prop = new Properties();
+        prop.setProperty(BgeeProperties.TOP_ANAT_MAX_CONCURRENT_ANALYSES_KEY,
+                String.valueOf(params.size()));
+        BgeeProperties concurrentProps = BgeeProperties.getBgeeProperties(prop);
+        return new TopAnatController(params, concurrentProps, this.mockServiceFactory,
+                analysisSupplier, null, () -> mock(ServiceFactory.class));
+    }
+
     /**
      * Move in the result folder a tmp result file, as it would be produced by R
      * @throws IOException
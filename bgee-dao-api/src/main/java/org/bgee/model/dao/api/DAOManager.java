@@ -27,6 +27,7 @@ import org.bgee.model.dao.api.anatdev.mapping.RawSimilarityAnnotationDAO;
 import org.bgee.model.dao.api.anatdev.mapping.StageGroupingDAO;
 import org.bgee.model.dao.api.anatdev.mapping.SummarySimilarityAnnotationDAO;
 import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.dao.api.expressiondata.rawdata.RawExpressionCallDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.SamplePValueDAO;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
@@ -692,6 +693,31 @@ public abstract class DAOManager implements AutoCloseable
      * The {@code Properties} that were used to obtain this {@code DAOManager}.
      */
     private volatile Properties parameters;
+    /**
+     * A {@code long} that is the deadline of the queries performed by DAOs 
+     * of this {@code DAOManager}, in milliseconds since the epoch. 0 if no deadline is set.
+     * <p>
+     * This attribute is {@code volatile} as it can be read from different threads 
+     * (for instance, by a {@link PrefetchingDAOResultSet}).
+     * 
+     * @see #setDeadline(long)
+     */
+    private volatile long deadline;
+    /**
+     * A {@code String} that is the name of the budget of connections used by this 
+     * {@code DAOManager}. {@code null} if no budget is used.
+     * 
+     * @see #setConnectionBudget(String)
+     */
+    private volatile String connectionBudget;
+    /**
+     * The {@code DAOManager} whose permit of the budget of connections is used 
+     * by this {@code DAOManager}. {@code null} if this {@code DAOManager} uses a permit 
+     * of its own.
+     * 
+     * @see #shareConnectionBudget(DAOManager)
+     */
+    private volatile DAOManager connectionBudgetOwner;
     /**
      * Every concrete implementation must provide a default constructor 
      * with no parameters. 
@@ -701,6 +727,9 @@ public abstract class DAOManager implements AutoCloseable
         this.closed = new AtomicBoolean(false);
         this.setKilled(false);
         this.parameters = null;
+        this.deadline = 0;
+        this.connectionBudget = null;
+        this.connectionBudgetOwner = null;
         log.traceExit();
     }
     
@@ -824,6 +853,156 @@ public abstract class DAOManager implements AutoCloseable
         this.killed = killed;
     }
     
+    /**
+     * Sets the deadline of the queries performed by DAOs of this {@code DAOManager}. 
+     * Service providers should use the remaining time as a timeout for their queries 
+     * (see {@link #getRemainingTimeMillis()}), and should regularly check the deadline 
+     * while results are retrieved (see {@link #checkDeadline()}). Once the deadline 
+     * is exceeded, they should throw a {@code DeadlineExceededException} from the thread 
+     * performing the queries.
+     * 
+     * @param deadline  A {@code long} that is the deadline in milliseconds since the epoch 
+     *                  (see {@link System#currentTimeMillis()}). If 0 or negative, 
+     *                  no deadline is set.
+     */
+    public void setDeadline(long deadline) {
+        log.traceEntry("{}", deadline);
+        this.deadline = Math.max(0, deadline);
+        log.traceExit();
+    }
+    /**
+     * @return  A {@code long} that is the deadline of the queries performed by DAOs 
+     *          of this {@code DAOManager}, in milliseconds since the epoch. 0 if no deadline 
+     *          is set.
+     * @see #setDeadline(long)
+     */
+    public long getDeadline() {
+        return this.deadline;
+    }
+    /**
+     * @return  A {@code long} that is the time in milliseconds remaining before the deadline 
+     *          (see {@link #setDeadline(long)}), 0 if it is exceeded, {@code Long.MAX_VALUE} 
+     *          if no deadline is set.
+     */
+    public long getRemainingTimeMillis() {
+        long currentDeadline = this.deadline;
+        if (currentDeadline == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, currentDeadline - System.currentTimeMillis());
+    }
+    /**
+     * Checks whether the deadline of the queries performed by DAOs of this {@code DAOManager} 
+     * is exceeded (see {@link #setDeadline(long)}). This method can be called by clients 
+     * performing long processing of results, to stop cooperatively.
+     * 
+     * @throws DeadlineExceededException    If the deadline is exceeded.
+     */
+    public void checkDeadline() throws DeadlineExceededException {
+        long currentDeadline = this.deadline;
+        if (currentDeadline != 0 && System.currentTimeMillis() >= currentDeadline) {
+            throw log.throwing(Level.DEBUG, new DeadlineExceededException(currentDeadline));
+        }
+    }
+    /**
+     * Sets the name of the budget of connections this {@code DAOManager} belongs to. 
+     * Service providers can limit the number of connections concurrently used 
+     * by all the {@code DAOManager}s of a same budget, so that a class of requests 
+     * (for instance, bulk data downloads) cannot use all connections to the data source, 
+     * at the expense of other classes of requests. When a budget is exhausted, 
+     * service providers should wait for a connection to be released for a limited time, 
+     * then throw a {@code ConnectionBudgetExceededException}. This setting only applies 
+     * to the connections obtained after the call to this method.
+     * 
+     * @param connectionBudget  A {@code String} that is the name of the budget 
+     *                          of connections. If {@code null} or blank, no budget is used.
+     * @see org.bgee.model.dao.api.exception.ConnectionBudgetExceededException
+     */
+    public void setConnectionBudget(String connectionBudget) {
+        log.traceEntry("{}", connectionBudget);
+        this.connectionBudget = connectionBudget == null || connectionBudget.trim().isEmpty()?
+                null: connectionBudget.trim();
+        log.traceExit();
+    }
+    /**
+     * @return  A {@code String} that is the name of the budget of connections 
+     *          this {@code DAOManager} belongs to, {@code null} if no budget is used.
+     * @see #setConnectionBudget(String)
+     */
+    public String getConnectionBudget() {
+        return this.connectionBudget;
+    }
+    /**
+     * Makes this {@code DAOManager} use the permit of the budget of connections 
+     * of {@code owner}, rather than a permit of its own (see {@link #setConnectionBudget(String)}), 
+     * for {@code DAOManager}s performing queries on behalf of another one (for instance, 
+     * analyses of a same job run in parallel). Otherwise, a {@code DAOManager} holding 
+     * a permit while waiting for its helpers to acquire other permits could exhaust 
+     * the budget, or deadlock with other {@code DAOManager}s doing the same. 
+     * Service providers should make {@code owner} keep its permit as long as 
+     * a {@code DAOManager} sharing it holds connections. This {@code DAOManager} 
+     * also uses the name of the budget of {@code owner}. This setting only applies 
+     * to the connections obtained after the call to this method.
+     * 
+     * @param owner A {@code DAOManager} whose permit of the budget of connections 
+     *              should be used. If {@code null}, this {@code DAOManager} 
+     *              uses a permit of its own again.
+     * @see #getConnectionBudgetOwner()
+     */
+    public void shareConnectionBudget(DAOManager owner) {
+        log.traceEntry("{}", owner);
+        if (owner == this) {
+            log.traceExit();
+            return;
+        }
+        //Share the permit of the root owner, so that chains of DAOManagers hold one permit
+        DAOManager rootOwner = owner == null || owner.getConnectionBudgetOwner() == null?
+                owner: owner.getConnectionBudgetOwner();
+        this.connectionBudgetOwner = rootOwner;
+        if (rootOwner != null) {
+            this.setConnectionBudget(rootOwner.getConnectionBudget());
+        }
+        log.traceExit();
+    }
+    /**
+     * @return  The {@code DAOManager} whose permit of the budget of connections 
+     *          is used by this {@code DAOManager}, {@code null} if this {@code DAOManager} 
+     *          uses a permit of its own.
+     * @see #shareConnectionBudget(DAOManager)
+     */
+    public DAOManager getConnectionBudgetOwner() {
+        return this.connectionBudgetOwner;
+    }
+    /**
+     * Obtains a {@code DAOManager} for the current thread, with the same parameters 
+     * and deadline as this {@code DAOManager}, and sharing its permit of the budget 
+     * of connections (see {@link #shareConnectionBudget(DAOManager)}). This allows 
+     * another thread to perform queries on behalf of the thread holding this 
+     * {@code DAOManager}, without sharing its resources, that are bound to it 
+     * (see for instance {@link PrefetchingDAOResultSet}). This method must thus be called 
+     * from the thread that will use the returned {@code DAOManager}, and not from 
+     * the thread holding this {@code DAOManager}: as for {@link #getDAOManager(Properties)}, 
+     * a same {@code DAOManager} is returned for a same thread. The caller is responsible 
+     * for closing the returned {@code DAOManager}.
+     * <p>
+     * {@code DAOManager}s decorating another {@code DAOManager} should override 
+     * this method to decorate the {@code DAOManager} obtained.
+     * 
+     * @return  A {@code DAOManager} for the current thread, configured as this one.
+     * @throws IllegalStateException    If it is not possible to acquire a {@code DAOManager}.
+     * @see #getDAOManager(Properties)
+     */
+    public DAOManager getDAOManagerForCurrentThread() throws IllegalStateException {
+        log.traceEntry();
+        DAOManager manager = getDAOManager(this.getParameters());
+        if (manager == null) {
+            throw log.throwing(new IllegalStateException("No DAOManager could be obtained"));
+        }
+        manager.setDeadline(this.getDeadline());
+        manager.shareConnectionBudget(this);
+        return log.traceExit(manager);
+    }
+
     /**
      * Atomic operation to set {@link #closed} to {@code true}, 
      * {@link #killed} to {@code true} if the parameter is {@code true},
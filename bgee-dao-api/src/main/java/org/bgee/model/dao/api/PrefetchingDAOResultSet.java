@@ -0,0 +1,454 @@
+package org.bgee.model.dao.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.exception.QueryInterruptedException;
+
+/**
+ * A {@code DAOResultSet} whose results are retrieved in a background thread, so that
+ * fetching the results from the data source overlaps with the processing of the results
+ * by the caller. The {@code TransferObject}s are retrieved by batches of {@link #getBatchSize()}
+ * elements, and at most {@link #getBufferedBatchCount()} batches are buffered, to limit
+ * memory usage when the caller is slower than the data source.
+ * <p>
+ * As the resources of a {@code DAOManager} are bound to the thread holding it, the query
+ * is not performed with the {@code DAOManager} of the caller: the background thread obtains
+ * its own {@code DAOManager} through {@link DAOManager#getDAOManagerForCurrentThread()},
+ * with the same parameters and deadline, sharing the permit of the budget of connections
+ * of the caller, and performs the query provided as a {@code Function} with it. The background thread is the only thread
+ * accessing this {@code DAOManager} and the {@code DAOResultSet} it returns, and closes them
+ * when all results were retrieved, or when an error occurred, or when this
+ * {@code PrefetchingDAOResultSet} is closed.
+ * <p>
+ * The background thread is started at the first call to {@link #next()} (or at the first
+ * element consumed from the {@code Stream} returned by {@link #stream()}), from the thread
+ * of the caller, it thus inherits its {@code InheritableThreadLocal}s (for instance,
+ * the ID of the request used to monitor queries). If the {@code DAOManager} of the caller
+ * is killed, the {@code DAOManager} of the background thread is killed when the caller
+ * requests the next batch. Exceptions thrown when retrieving the results (notably
+ * {@code QueryInterruptedException}s) are rethrown to the caller by {@link #next()},
+ * once the results retrieved before the exception have been consumed.
+ * <p>
+ * As for any {@code DAOResultSet}, this class is not thread-safe: only the background
+ * thread it manages and the caller thread should access it.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ *
+ * @param <T>   The type of {@code TransferObject} that can be obtained
+ *              from this {@code DAOResultSet}.
+ */
+public class PrefetchingDAOResultSet<T extends TransferObject> implements DAOResultSet<T> {
+    private final static Logger log = LogManager.getLogger(PrefetchingDAOResultSet.class.getName());
+
+    /**
+     * An {@code int} that is the default number of batches buffered.
+     * @see #getBufferedBatchCount()
+     */
+    public final static int DEFAULT_BUFFERED_BATCH_COUNT = 4;
+    /**
+     * A {@code long} that is the time in milliseconds waited by the background thread
+     * when the buffer is full, before checking again whether this
+     * {@code PrefetchingDAOResultSet} was closed, and by the caller when the buffer
+     * is empty, before checking again whether its {@code DAOManager} was killed.
+     */
+    private final static long WAIT_TIMEOUT_MS = 100;
+    /**
+     * An {@code AtomicInteger} used to name the background threads.
+     */
+    private final static AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+    /**
+     * A batch of {@code TransferObject}s retrieved by the background thread. The last batch
+     * put in the buffer has {@code last} set to {@code true}, and stores the exception
+     * thrown when retrieving the results, if any.
+     */
+    private static class Batch<T> {
+        private final List<T> tos;
+        private final boolean last;
+        private final Throwable exception;
+
+        private Batch(List<T> tos, boolean last, Throwable exception) {
+            this.tos = tos;
+            this.last = last;
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * A {@code Spliterator} allowing to stream over the {@code TransferObject}s
+     * of this {@code PrefetchingDAOResultSet}, calling {@link PrefetchingDAOResultSet#next()}
+     * and {@link PrefetchingDAOResultSet#getTO()}.
+     */
+    private class PrefetchingSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private PrefetchingSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (PrefetchingDAOResultSet.this.next()) {
+                action.accept(PrefetchingDAOResultSet.this.getTO());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @see #getBatchSize()
+     */
+    private final int batchSize;
+    /**
+     * @see #getBufferedBatchCount()
+     */
+    private final int bufferedBatchCount;
+    /**
+     * The {@code DAOManager} of the caller, providing the parameters of the {@code DAOManager}
+     * of {@link #prefetchThread}, and whose killing is propagated to it.
+     */
+    private final DAOManager manager;
+    /**
+     * The {@code Function} performing the query with the {@code DAOManager}
+     * of {@link #prefetchThread}.
+     */
+    private final Function<DAOManager, DAOResultSet<T>> query;
+    /**
+     * The {@code BlockingQueue} where {@link #prefetchThread} puts the batches retrieved.
+     */
+    private final BlockingQueue<Batch<T>> buffer;
+    /**
+     * A {@code volatile} {@code boolean} defining whether this {@code PrefetchingDAOResultSet}
+     * was closed, read by {@link #prefetchThread} to stop retrieving results.
+     */
+    private volatile boolean closed;
+    /**
+     * The {@code DAOManager} used by {@link #prefetchThread}, stored to be killed
+     * by the caller thread, {@code null} as long as it is not obtained.
+     */
+    private volatile DAOManager prefetchManager;
+    private Thread prefetchThread;
+    private Iterator<T> currentBatch;
+    private boolean lastBatchReached;
+    private T currentTO;
+    private boolean usedInStream;
+
+    /**
+     * Same as {@link #PrefetchingDAOResultSet(DAOManager, Function, int, int)} with
+     * {@link #DEFAULT_BUFFERED_BATCH_COUNT} batches buffered.
+     *
+     * @param manager   See {@link #PrefetchingDAOResultSet(DAOManager, Function, int, int)}.
+     * @param query     See {@link #PrefetchingDAOResultSet(DAOManager, Function, int, int)}.
+     * @param batchSize See {@link #PrefetchingDAOResultSet(DAOManager, Function, int, int)}.
+     * @throws IllegalArgumentException See {@link #PrefetchingDAOResultSet(DAOManager,
+     *                                  Function, int, int)}.
+     */
+    public PrefetchingDAOResultSet(DAOManager manager, Function<DAOManager, DAOResultSet<T>> query,
+            int batchSize) throws IllegalArgumentException {
+        this(manager, query, batchSize, DEFAULT_BUFFERED_BATCH_COUNT);
+    }
+    /**
+     * @param manager               The {@code DAOManager} of the caller, providing
+     *                              the parameters of the {@code DAOManager} used
+     *                              by the background thread. It is not used to perform
+     *                              the query.
+     * @param query                 A {@code Function} performing the query with
+     *                              the {@code DAOManager} provided, and returning
+     *                              the {@code DAOResultSet} to retrieve results from.
+     *                              It is applied in the background thread, and must only use
+     *                              the {@code DAOManager} provided.
+     * @param batchSize             An {@code int} that is the number of {@code TransferObject}s
+     *                              retrieved in each batch.
+     * @param bufferedBatchCount    An {@code int} that is the maximum number of batches buffered.
+     * @throws IllegalArgumentException If {@code manager} or {@code query} is {@code null},
+     *                                  or {@code batchSize} or {@code bufferedBatchCount}
+     *                                  is less than 1.
+     */
+    public PrefetchingDAOResultSet(DAOManager manager, Function<DAOManager, DAOResultSet<T>> query,
+            int batchSize, int bufferedBatchCount) throws IllegalArgumentException {
+        if (manager == null || query == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "A DAOManager and a query must be provided"));
+        }
+        if (batchSize < 1 || bufferedBatchCount < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Batch size and buffered batch count must be greater than 0"));
+        }
+        this.manager = manager;
+        this.query = query;
+        this.batchSize = batchSize;
+        this.bufferedBatchCount = bufferedBatchCount;
+        this.buffer = new ArrayBlockingQueue<>(bufferedBatchCount);
+        this.closed = false;
+        this.prefetchManager = null;
+        this.prefetchThread = null;
+        this.currentBatch = Collections.emptyIterator();
+        this.lastBatchReached = false;
+        this.currentTO = null;
+        this.usedInStream = false;
+    }
+
+    /**
+     * Obtains a {@code DAOManager} for the current thread, performs the query with it,
+     * and puts the results in {@link #buffer}, until all results are retrieved,
+     * an exception is thrown, or this {@code PrefetchingDAOResultSet} is closed.
+     * Run by {@link #prefetchThread}.
+     */
+    private void prefetch() {
+        log.traceEntry();
+        Throwable exception = null;
+        DAOManager prefetchManager = null;
+        DAOResultSet<T> resultSet = null;
+        try {
+            prefetchManager = this.manager.getDAOManagerForCurrentThread();
+            this.prefetchManager = prefetchManager;
+            //this PrefetchingDAOResultSet might have been closed before
+            //the DAOManager was stored, in which case it was not killed
+            if (!this.closed) {
+                resultSet = this.query.apply(prefetchManager);
+                List<T> tos = new ArrayList<>(this.batchSize);
+                while (!this.closed && resultSet.next()) {
+                    tos.add(resultSet.getTO());
+                    if (tos.size() == this.batchSize) {
+                        if (!this.offer(new Batch<>(tos, false, null))) {
+                            break;
+                        }
+                        tos = new ArrayList<>(this.batchSize);
+                    }
+                }
+                if (!this.closed) {
+                    this.offer(new Batch<>(tos, true, null));
+                }
+            }
+        } catch (Throwable e) {
+            exception = e;
+        } finally {
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+            } catch (DAOException e) {
+                log.catching(Level.DEBUG, e);
+                if (exception == null) {
+                    exception = e;
+                }
+            } finally {
+                if (prefetchManager != null) {
+                    try {
+                        prefetchManager.close();
+                    } catch (DAOException e) {
+                        log.catching(Level.DEBUG, e);
+                        if (exception == null) {
+                            exception = e;
+                        }
+                    }
+                }
+            }
+        }
+        if (exception != null) {
+            if (exception instanceof QueryInterruptedException) {
+                log.catching(Level.DEBUG, exception);
+            }
+            this.offer(new Batch<>(Collections.emptyList(), true, exception));
+        }
+        log.traceExit();
+    }
+    /**
+     * Puts {@code batch} in {@link #buffer}, waiting for space to become available
+     * as long as this {@code PrefetchingDAOResultSet} is not closed.
+     *
+     * @param batch A {@code Batch} to put in the buffer.
+     * @return      {@code true} if {@code batch} was put in the buffer, {@code false}
+     *              if this {@code PrefetchingDAOResultSet} was closed before.
+     */
+    private boolean offer(Batch<T> batch) {
+        try {
+            while (!this.closed) {
+                if (this.buffer.offer(batch, WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+    /**
+     * Takes the next batch from {@link #buffer}, checking while waiting whether
+     * the {@code DAOManager} of the caller was killed.
+     *
+     * @return  The next {@code Batch} retrieved by the background thread.
+     * @throws QueryInterruptedException    If the current thread was interrupted,
+     *                                      or the {@code DAOManager} of the caller was killed.
+     */
+    private Batch<T> take() throws QueryInterruptedException {
+        try {
+            while (true) {
+                if (this.manager.isKilled()) {
+                    this.close();
+                    throw log.throwing(Level.DEBUG, new QueryInterruptedException());
+                }
+                Batch<T> batch = this.buffer.poll(WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+            throw log.throwing(Level.DEBUG, new QueryInterruptedException());
+        }
+    }
+
+    @Override
+    public Stream<T> stream() throws IllegalStateException {
+        log.traceEntry();
+        if (this.prefetchThread != null) {
+            throw log.throwing(new IllegalStateException("This DAOResultSet has already started "
+                    + "to be iterated, it is thus not possible to stream it anymore."));
+        }
+        if (this.usedInStream) {
+            throw log.throwing(new IllegalStateException("This DAOResultSet is already used "
+                    + "in a Stream, and cannot be used in several independent Streams."));
+        }
+        this.usedInStream = true;
+        return log.traceExit(StreamSupport.stream(new PrefetchingSpliterator(), false)
+                .onClose(() -> this.close()));
+    }
+
+    @Override
+    public boolean next() throws DAOException, QueryInterruptedException {
+        log.traceEntry();
+        this.currentTO = null;
+        if (this.closed) {
+            return log.traceExit(false);
+        }
+        if (this.prefetchThread == null) {
+            this.prefetchThread = new Thread(this::prefetch,
+                    "bgee-dao-prefetch-" + THREAD_COUNT.incrementAndGet());
+            this.prefetchThread.setDaemon(true);
+            this.prefetchThread.start();
+        }
+        while (!this.currentBatch.hasNext()) {
+            if (this.lastBatchReached) {
+                this.close();
+                return log.traceExit(false);
+            }
+            Batch<T> batch = this.take();
+            if (batch.exception != null) {
+                this.close();
+                if (batch.exception instanceof RuntimeException) {
+                    throw log.throwing(Level.DEBUG, (RuntimeException) batch.exception);
+                }
+                if (batch.exception instanceof Error) {
+                    throw log.throwing((Error) batch.exception);
+                }
+                throw log.throwing(new DAOException(batch.exception));
+            }
+            this.lastBatchReached = batch.last;
+            this.currentBatch = batch.tos.iterator();
+        }
+        this.currentTO = this.currentBatch.next();
+        return log.traceExit(true);
+    }
+
+    @Override
+    public T getTO() throws DAOException {
+        log.traceEntry();
+        if (this.currentTO == null) {
+            throw log.throwing(new DAOException("No current TransferObject, "
+                    + "next() must be called and return true before"));
+        }
+        return log.traceExit(this.currentTO);
+    }
+
+    @Override
+    public List<T> getAllTOs() throws DAOException {
+        log.traceEntry();
+        List<T> allTOs = new ArrayList<>();
+        try {
+            while (this.next()) {
+                allTOs.add(this.getTO());
+            }
+            return log.traceExit(allTOs);
+        } finally {
+            this.close();
+        }
+    }
+
+    /**
+     * Closes this {@code PrefetchingDAOResultSet}: if not all results were retrieved,
+     * the {@code DAOManager} of the background thread is killed, to interrupt the query
+     * in progress. This method waits for the background thread to close its
+     * {@code DAOResultSet} and {@code DAOManager} and to terminate.
+     *
+     * @throws DAOException If the current thread was interrupted while waiting
+     *                      for the background thread to terminate.
+     */
+    @Override
+    public void close() throws DAOException {
+        log.traceEntry();
+        if (this.closed) {
+            log.traceExit(); return;
+        }
+        this.closed = true;
+        this.currentBatch = Collections.emptyIterator();
+        this.currentTO = null;
+        if (this.prefetchThread == null) {
+            //the background thread was never started, the query was not performed
+            log.traceExit(); return;
+        }
+        //Free the buffer in case the background thread is waiting for space
+        this.buffer.clear();
+        if (Thread.currentThread() != this.prefetchThread) {
+            DAOManager currentPrefetchManager = this.prefetchManager;
+            if (!this.lastBatchReached && currentPrefetchManager != null) {
+                try {
+                    currentPrefetchManager.kill();
+                } catch (DAOException e) {
+                    log.catching(Level.DEBUG, e);
+                }
+            }
+            try {
+                this.prefetchThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw log.throwing(new DAOException(e));
+            }
+        }
+        this.buffer.clear();
+        log.traceExit();
+    }
+
+    /**
+     * @return  An {@code int} that is the number of {@code TransferObject}s retrieved
+     *          in each batch by the background thread.
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+    /**
+     * @return  An {@code int} that is the maximum number of batches buffered
+     *          by the background thread.
+     */
+    public int getBufferedBatchCount() {
+        return this.bufferedBatchCount;
+    }
+}
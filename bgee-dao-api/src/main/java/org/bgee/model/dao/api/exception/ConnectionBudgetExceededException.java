@@ -0,0 +1,43 @@
+package org.bgee.model.dao.api.exception;
+
+/**
+ * A {@code QueryInterruptedException} thrown when a connection to the data source 
+ * could not be obtained, because all the connections allowed for the budget 
+ * of the {@link org.bgee.model.dao.api.DAOManager} used were already in use, 
+ * and none was released in time (see 
+ * {@link org.bgee.model.dao.api.DAOManager#setConnectionBudget(String)}). 
+ * The application should not recover from it, but report to the caller 
+ * that the service is temporarily overloaded.
+ * 
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ConnectionBudgetExceededException extends QueryInterruptedException {
+
+	private static final long serialVersionUID = -3820712651439065917L;
+
+	/**
+	 * @see #getConnectionBudget()
+	 */
+	private final String connectionBudget;
+
+	/**
+	 * @param connectionBudget	A {@code String} that is the name of the budget 
+	 * 							of connections exhausted.
+	 * @param waitTimeMs		A {@code long} that is the time in milliseconds spent waiting 
+	 * 							for a connection to be released.
+	 */
+	public ConnectionBudgetExceededException(String connectionBudget, long waitTimeMs) {
+		super("No connection available for the budget " + connectionBudget 
+				+ " after waiting " + waitTimeMs + " ms");
+		this.connectionBudget = connectionBudget;
+	}
+
+	/**
+	 * @return	A {@code String} that is the name of the budget of connections exhausted.
+	 */
+	public String getConnectionBudget() {
+		return this.connectionBudget;
+	}
+}
@@ -0,0 +1,26 @@
+package org.bgee.model.dao.api.exception;
+
+/**
+ * A {@code QueryInterruptedException} thrown when a query or the processing of its results 
+ * was stopped because the deadline set on the {@link org.bgee.model.dao.api.DAOManager} 
+ * used was exceeded (see {@link org.bgee.model.dao.api.DAOManager#setDeadline(long)}). 
+ * As for other {@code QueryInterruptedException}s, the application should not recover 
+ * from it, but report to the caller that the request could not be completed in time.
+ * 
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class DeadlineExceededException extends QueryInterruptedException {
+
+	private static final long serialVersionUID = 2916052958366436478L;
+
+	/**
+	 * @param deadline	A {@code long} that is the deadline exceeded, in milliseconds 
+	 * 					since the epoch.
+	 */
+	public DeadlineExceededException(long deadline) {
+		super("The deadline of the request was exceeded by " 
+				+ Math.max(0, System.currentTimeMillis() - deadline) + " ms");
+	}
+}
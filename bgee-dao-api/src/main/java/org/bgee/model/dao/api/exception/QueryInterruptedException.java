@@ -26,5 +26,13 @@ public class QueryInterruptedException extends RuntimeException {
 	public QueryInterruptedException() {
 		super();
 	}
+	/**
+	 * Constructs a new exception with the specified detail message.
+	 * 
+	 * @param message	A {@code String} that is the detail message.
+	 */
+	public QueryInterruptedException(String message) {
+		super(message);
+	}
 
 }
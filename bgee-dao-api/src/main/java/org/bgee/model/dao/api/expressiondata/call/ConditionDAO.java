@@ -238,6 +238,30 @@ public interface ConditionDAO extends DAO<ConditionDAO.Attribute> {
      */
     public ConditionTOResultSet getGlobalConditionsFromCallFilters(Collection<DAOCallFilter> callFilters, 
             Collection<Attribute> attributes) throws DAOException;
+    /**
+     * Retrieves global conditions with at least one global call matching {@code callFilter},
+     * using the counts of global calls precomputed per global condition (see
+     * {@link GlobalExpressionCallDAO#getPrecomputedGlobalExpressionCallsCount(DAOCallFilter)}).
+     * This method should be called only if
+     * {@link GlobalExpressionCallDAO#isCoveredByPrecomputedCounts(DAOCallFilter)}
+     * returns {@code true} for {@code callFilter}.
+     * <p>
+     * The conditions are retrieved and returned as a {@code ConditionTOResultSet}. It is the
+     * responsibility of the caller to close this {@code DAOResultSet} once results are retrieved.
+     *
+     * @param callFilter       A {@code DAOCallFilter} to configure the filtering of conditions.
+     *                         Cannot target specific genes.
+     * @param attributes       A {@code Collection} of {@code ConditionDAO.Attribute}s defining the
+     *                         attributes to populate in the returned {@code ConditionTO}s.
+     *                         If {@code null} or empty, all attributes are populated.
+     * @return                 A {@code ConditionTOResultSet} containing the requested conditions
+     *                         retrieved from the data source.
+     * @throws DAOException             If an error occurred while accessing the data source.
+     * @throws IllegalArgumentException If {@code callFilter} is {@code null}
+     *                                  or targets specific genes.
+     */
+    public ConditionTOResultSet getGlobalConditionsFromPrecomputedCallCounts(DAOCallFilter callFilter,
+            Collection<Attribute> attributes) throws DAOException, IllegalArgumentException;
 
     public ConditionTOResultSet getGlobalConditionsFromIds(Collection<Integer> condIds,
             Collection<Attribute> attributes) throws DAOException, IllegalArgumentException;
@@ -476,6 +476,42 @@ public interface GlobalExpressionCallDAO extends DAO<GlobalExpressionCallDAO.Att
             LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttributes, Long offset,
             Integer limit)
                     throws DAOException, IllegalArgumentException;
+    /**
+     * Retrieves global calls from data source, ordered by Bgee gene IDs and global condition IDs
+     * in ascending order, starting after the call with the provided key. This allows to iterate
+     * large numbers of calls by pages, each page starting after the last call of the previous one,
+     * without the data source having to skip again the calls of the previous pages,
+     * as when using an offset (see {@link #getGlobalExpressionCalls2(Collection, Collection,
+     * LinkedHashMap, Long, Integer)}).
+     * <p>
+     * It is the responsibility of the caller to close this {@code DAOResultSet} once results
+     * are retrieved.
+     *
+     * @param callFilters               A {@code Collection} of {@code DAOCallFilter}s,
+     *                                  allowing to configure this query. If several
+     *                                  {@code CallDAOFilter}s are provided, they are seen
+     *                                  as "OR" conditions. Can be {@code null} or empty.
+     * @param attributes                A {@code Collection} of {@code GlobalExpressionCallDAO.AttributeInfo}s
+     *                                  defining the attributes to populate in the returned
+     *                                  {@code GlobalExpressionCallTO}s, see {@link
+     *                                  #getGlobalExpressionCalls2(Collection, Collection,
+     *                                  LinkedHashMap, Long, Integer)}.
+     * @param afterBgeeGeneId           An {@code Integer} that is the Bgee gene ID
+     *                                  of the last call already retrieved.
+     * @param afterGlobalConditionId    An {@code Integer} that is the global condition ID
+     *                                  of the last call already retrieved.
+     * @param limit                     An {@code int} that is the maximum number of calls
+     *                                  to retrieve.
+     * @return                          A {@code GlobalExpressionCallTOResultSet} containing
+     *                                  the calls following the provided key.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code afterBgeeGeneId} or {@code afterGlobalConditionId}
+     *                                  is {@code null}, or {@code limit} is less than 1.
+     */
+    public GlobalExpressionCallTOResultSet getGlobalExpressionCalls2AfterKey(
+            Collection<DAOCallFilter> callFilters, Collection<AttributeInfo> attributes,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, int limit)
+                    throws DAOException, IllegalArgumentException;
 
     /**
      * Retrieves global calls count from data source.
@@ -496,6 +532,62 @@ public interface GlobalExpressionCallDAO extends DAO<GlobalExpressionCallDAO.Att
             Collection<DAOCallFilter> callFilters)
                     throws DAOException, IllegalArgumentException;
 
+    /**
+     * Determines whether the counts of global calls matching {@code callFilter} can be obtained
+     * from the counts precomputed per global condition (see
+     * {@link #getPrecomputedGlobalExpressionCallsCount(DAOCallFilter)}), rather than
+     * by counting the calls in the data source. This is the case when {@code callFilter}
+     * does not target specific genes, and when the counts were precomputed for its
+     * observed data filters and p-value filters (see
+     * {@link #insertPrecomputedGlobalExpressionCallsCounts(DAOCallFilter)}).
+     *
+     * @param callFilter            A {@code DAOCallFilter} allowing to configure the query.
+     * @return                      {@code true} if the counts for {@code callFilter}
+     *                              were precomputed.
+     * @throws DAOException         If an error occurred when accessing the data source.
+     */
+    public boolean isCoveredByPrecomputedCounts(DAOCallFilter callFilter) throws DAOException;
+
+    /**
+     * Retrieves the count of global calls matching {@code callFilter} from the counts
+     * precomputed per global condition. This method should be called only if
+     * {@link #isCoveredByPrecomputedCounts(DAOCallFilter)} returns {@code true}
+     * for {@code callFilter}. As for the other methods, the species IDs and condition IDs
+     * of {@code callFilter} are seen as "OR" conditions.
+     *
+     * @param callFilter            A {@code DAOCallFilter} allowing to configure the query.
+     *                              Cannot target specific genes.
+     * @return                      A {@code long} that is the count of global calls
+     *                              matching {@code callFilter}.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code callFilter} is {@code null}
+     *                                  or targets specific genes.
+     */
+    public long getPrecomputedGlobalExpressionCallsCount(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException;
+
+    /**
+     * Computes and inserts into the data source the counts of global calls per global condition
+     * matching the observed data filters and p-value filters of {@code callFilter},
+     * replacing any counts previously computed for these filters. The previous counts
+     * are replaced atomically: if the data source supports transactions, and no transaction
+     * was started by the caller, the replacement is performed in a transaction.
+     * These counts are then used by
+     * {@link #getPrecomputedGlobalExpressionCallsCount(DAOCallFilter)}.
+     *
+     * @param callFilter            A {@code DAOCallFilter} defining the observed data filters
+     *                              and p-value filters to precompute counts for. Cannot target
+     *                              specific species, conditions or genes. If it defines
+     *                              no observed data filters nor p-value filters,
+     *                              all global calls are counted.
+     * @return                      An {@code int} that is the number of counts inserted.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code callFilter} is {@code null}, or targets specific
+     *                                  species, conditions or genes.
+     */
+    public int insertPrecomputedGlobalExpressionCallsCounts(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException;
+
     /**
      * Obtains the min. and max ranks of genes. For now, to retrieve ranks it should be queried only
      * EXPRESSED calls with min quality BRONZE, in all dev. stages and all anat. entities,
@@ -558,6 +650,101 @@ public interface GlobalExpressionCallDAO extends DAO<GlobalExpressionCallDAO.Att
     public EntityMinMaxRanksTOResultSet<String> getMinMaxRanksPerAnatEntity(
             Collection<DAODataType> dataTypes, Collection<CallDAOFilter> callFilters)
                     throws DAOException, IllegalArgumentException;
+
+    /**
+     * Retrieves the IDs of the species for which the min. and max ranks of genes
+     * and anatomical entities were precomputed for the requested combination
+     * of condition parameters (see {@link #insertPrecomputedMinMaxRanks(Collection, CallDAOFilter)}).
+     * Min. and max ranks are precomputed only considering all data types.
+     *
+     * @param speciesIds            A {@code Collection} of {@code Integer}s that are the IDs
+     *                              of the species to check. If {@code null} or empty,
+     *                              all species are considered.
+     * @param conditionParameters   A {@code Collection} of {@code ConditionDAO.Attribute}s
+     *                              that is the combination of condition parameters requested.
+     * @return                      A {@code Set} of {@code Integer}s that are the IDs
+     *                              of the species with precomputed min. and max ranks.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code conditionParameters} is {@code null} or empty,
+     *                                  or contains {@code Attribute}s that are not condition
+     *                                  parameters (see {@link ConditionDAO.Attribute#isConditionParameter()}).
+     */
+    public Set<Integer> getSpeciesIdsWithPrecomputedMinMaxRanks(Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException;
+    /**
+     * Obtains the min. and max ranks of genes precomputed for the requested combination
+     * of condition parameters, considering all data types (see
+     * {@link #insertPrecomputedMinMaxRanks(Collection, CallDAOFilter)}). Bgee gene IDs
+     * and species IDs are seen as "OR" conditions. The {@code EntityMinMaxRanksTO}s obtained
+     * are populated the same way as for {@link #getMinMaxRanksPerGene(Collection, Collection)}.
+     *
+     * @param bgeeGeneIds           A {@code Collection} of {@code Integer}s that are the Bgee IDs
+     *                              of the genes to retrieve ranks for. Can be {@code null} or empty.
+     * @param speciesIds            A {@code Collection} of {@code Integer}s that are the IDs
+     *                              of the species to retrieve ranks of all genes for.
+     *                              Can be {@code null} or empty.
+     * @param conditionParameters   A {@code Collection} of {@code ConditionDAO.Attribute}s
+     *                              that is the combination of condition parameters requested.
+     * @return                      A {@code EntityMinMaxRanksTOResultSet} allowing to retrieve
+     *                              the requested {@code EntityMinMaxRanksTO}s.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If both {@code bgeeGeneIds} and {@code speciesIds}
+     *                                  are {@code null} or empty, or if {@code conditionParameters}
+     *                                  is invalid.
+     */
+    public EntityMinMaxRanksTOResultSet<Integer> getPrecomputedMinMaxRanksPerGene(
+            Collection<Integer> bgeeGeneIds, Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException;
+    /**
+     * Obtains the min. and max ranks of anatomical entities precomputed for the requested
+     * combination of condition parameters, considering all data types (see
+     * {@link #insertPrecomputedMinMaxRanks(Collection, CallDAOFilter)}). The
+     * {@code EntityMinMaxRanksTO}s obtained are populated the same way as for
+     * {@link #getMinMaxRanksPerAnatEntity(Collection, Collection)}.
+     *
+     * @param speciesIds            A {@code Collection} of {@code Integer}s that are the IDs
+     *                              of the species to retrieve ranks for.
+     * @param anatEntityIds         A {@code Collection} of {@code String}s that are the IDs
+     *                              of the anatomical entities to retrieve ranks for.
+     *                              If {@code null} or empty, ranks of all anatomical entities
+     *                              of the requested species are retrieved.
+     * @param conditionParameters   A {@code Collection} of {@code ConditionDAO.Attribute}s
+     *                              that is the combination of condition parameters requested.
+     * @return                      A {@code EntityMinMaxRanksTOResultSet} allowing to retrieve
+     *                              the requested {@code EntityMinMaxRanksTO}s.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code speciesIds} is {@code null} or empty,
+     *                                  or if {@code conditionParameters} is invalid.
+     */
+    public EntityMinMaxRanksTOResultSet<String> getPrecomputedMinMaxRanksPerAnatEntity(
+            Collection<Integer> speciesIds, Collection<String> anatEntityIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException;
+    /**
+     * Computes and inserts into the data source the min. and max ranks of genes
+     * and of anatomical entities for one species and one combination of condition parameters,
+     * considering all data types, replacing any ranks previously computed for them.
+     * The ranks are computed as for {@link #getMinMaxRanksPerGene(Collection, Collection)}
+     * and {@link #getMinMaxRanksPerAnatEntity(Collection, Collection)}, and are then used by
+     * {@link #getPrecomputedMinMaxRanksPerGene(Collection, Collection, Collection)} and
+     * {@link #getPrecomputedMinMaxRanksPerAnatEntity(Collection, Collection, Collection)}.
+     *
+     * @param conditionParameters   A {@code Collection} of {@code ConditionDAO.Attribute}s
+     *                              that is the combination of condition parameters to compute
+     *                              the ranks for.
+     * @param callFilter            A {@code CallDAOFilter} used to compute the ranks.
+     *                              It must target exactly one species, and no specific genes.
+     * @return                      An {@code int} that is the number of ranks inserted,
+     *                              for genes and anatomical entities.
+     * @throws DAOException             If an error occurred when accessing the data source.
+     * @throws IllegalArgumentException If {@code callFilter} is {@code null}, does not target
+     *                                  exactly one species, or targets specific genes,
+     *                                  or if {@code conditionParameters} is invalid.
+     */
+    public int insertPrecomputedMinMaxRanks(Collection<ConditionDAO.Attribute> conditionParameters,
+            CallDAOFilter callFilter) throws DAOException, IllegalArgumentException;
     /**
      * Retrieve the maximum of global expression IDs.
      *
@@ -130,6 +130,47 @@ public interface RawDataConditionDAO extends DAO<RawDataConditionDAO.Attribute>
             Collection<DAORawDataFilter> rawDataFilters, DAODataType dataType,
             Boolean isSingleCell, Collection<Attribute> attributes);
 
+    /**
+     * Retrieves the raw conditions used in the annotations of one data type in one species,
+     * precomputed by {@link #insertPrecomputedRawDataConditions(int, DAODataType)},
+     * to avoid joining the raw data tables when no other filtering than on the species
+     * is requested. It is the responsibility of the caller to close the returned
+     * {@code DAOResultSet} once results are retrieved.
+     *
+     * @param speciesId         An {@code int} that is the ID of the species to retrieve
+     *                          the conditions for.
+     * @param dataType          A {@code DAODataType} that is the data type to retrieve
+     *                          the conditions for. {@code RNA_SEQ} targets bulk RNA-Seq data,
+     *                          {@code SC_RNA_SEQ} targets single-cell RNA-Seq data.
+     * @param attributes        A {@code Collection} of {@code RawDataConditionDAO.Attribute}s defining
+     *                          the attributes to populate in the returned {@code RawDataConditionTO}s.
+     *                          If {@code null} or empty, all attributes are populated.
+     * @return                  A {@code RawDataConditionTOResultSet} containing the requested
+     *                          raw data conditions retrieved from the data source.
+     * @throws DAOException     If an error occurred while accessing the data source.
+     */
+    public RawDataConditionTOResultSet getPrecomputedRawDataConditions(int speciesId,
+            DAODataType dataType, Collection<Attribute> attributes) throws DAOException;
+
+    /**
+     * Computes and stores the raw conditions used in the annotations of one data type
+     * in one species, to be retrieved by
+     * {@link #getPrecomputedRawDataConditions(int, DAODataType, Collection)}.
+     * Conditions previously stored for this species and data type are replaced.
+     * If no transaction was started, the replacement is performed in its own transaction.
+     *
+     * @param speciesId         An {@code int} that is the ID of the species to compute
+     *                          the conditions for.
+     * @param dataType          A {@code DAODataType} that is the data type to compute
+     *                          the conditions for. {@code RNA_SEQ} targets bulk RNA-Seq data,
+     *                          {@code SC_RNA_SEQ} targets single-cell RNA-Seq data.
+     * @return                  An {@code int} that is the number of conditions inserted.
+     * @throws DAOException     If an error occurred while accessing the data source.
+     * @throws IllegalArgumentException If {@code dataType} is {@code null}.
+     */
+    public int insertPrecomputedRawDataConditions(int speciesId, DAODataType dataType)
+            throws DAOException, IllegalArgumentException;
+
     /**
      * {@code DAOResultSet} specifics to {@code RawDataConditionTO}s
      *
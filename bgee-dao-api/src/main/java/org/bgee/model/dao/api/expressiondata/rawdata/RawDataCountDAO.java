@@ -5,6 +5,8 @@ import java.util.Collection;
 import org.bgee.model.dao.api.DAO;
 import org.bgee.model.dao.api.DAOResultSet;
 import org.bgee.model.dao.api.TransferObject;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
 
 public interface RawDataCountDAO extends DAO<RawDataCountDAO.Attribute> {
 
@@ -109,6 +111,43 @@ public interface RawDataCountDAO extends DAO<RawDataCountDAO.Attribute> {
             Boolean isSingleCell, boolean experimentCount, boolean libraryCount,
             boolean assayCount, boolean callCount);
 
+    /**
+     * Retrieves the counts precomputed for all the raw data of one species and one data type
+     * (see {@link #insertPrecomputedRawDataCounts(int, DAODataType)}), to avoid counting
+     * the raw data of a species when no other filtering is requested. Distinct counts
+     * cannot be summed over several species, so that counts are precomputed per species.
+     *
+     * @param speciesId         An {@code int} that is the ID of the species to retrieve
+     *                          the counts for.
+     * @param dataType          A {@code DAODataType} that is the data type to retrieve
+     *                          the counts for. {@code RNA_SEQ} targets bulk RNA-Seq data,
+     *                          {@code SC_RNA_SEQ} targets single-cell RNA-Seq data.
+     * @return                  A {@code RawDataCountContainerTO} with all the counts relevant
+     *                          for {@code dataType} populated, or {@code null} if the counts
+     *                          were not precomputed for this species and data type.
+     * @throws DAOException     If an error occurred while accessing the data source.
+     */
+    public RawDataCountContainerTO getPrecomputedRawDataCount(int speciesId, DAODataType dataType)
+            throws DAOException;
+
+    /**
+     * Computes and stores the counts of all the raw data of one species and one data type,
+     * to be retrieved by {@link #getPrecomputedRawDataCount(int, DAODataType)}. Counts
+     * previously stored for this species and data type are replaced. If no transaction
+     * was started, the replacement is performed in its own transaction.
+     *
+     * @param speciesId         An {@code int} that is the ID of the species to compute
+     *                          the counts for.
+     * @param dataType          A {@code DAODataType} that is the data type to compute
+     *                          the counts for. {@code RNA_SEQ} targets bulk RNA-Seq data,
+     *                          {@code SC_RNA_SEQ} targets single-cell RNA-Seq data.
+     * @return                  An {@code int} that is the number of counts inserted.
+     * @throws DAOException     If an error occurred while accessing the data source.
+     * @throws IllegalArgumentException If {@code dataType} is {@code null}.
+     */
+    public int insertPrecomputedRawDataCounts(int speciesId, DAODataType dataType)
+            throws DAOException, IllegalArgumentException;
+
     /**
      * {@code DAOResultSet} specifics to {@code RawDataCountContainerTO}s
      * 
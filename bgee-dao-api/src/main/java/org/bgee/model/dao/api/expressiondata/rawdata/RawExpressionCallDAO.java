@@ -1,6 +1,7 @@
 package org.bgee.model.dao.api.expressiondata.rawdata;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.bgee.model.dao.api.DAO;
 import org.bgee.model.dao.api.DAOResultSet;
@@ -58,6 +59,20 @@ public interface RawExpressionCallDAO extends DAO<RawExpressionCallDAO.Attribute
      */
     public RawExpressionCallTOResultSet getExpressionCallsOrderedByGeneIdAndExprId(
             Collection<Integer> geneIds) throws DAOException, IllegalArgumentException;
+    /**
+     * Retrieve the number of raw expression calls for each gene of a species. This is used
+     * to estimate the cost of computations over the raw calls of each gene.
+     *
+     * @param speciesId             An {@code int} that is the ID of the species to retrieve
+     *                              the counts for.
+     * @return                      A {@code Map} where keys are {@code Integer}s that are
+     *                              Bgee gene IDs, the associated value being an {@code Integer}
+     *                              that is the number of raw expression calls for this gene.
+     *                              Genes with no raw expression calls are not present.
+     * @throws DAOException             If an error occurred while accessing the data source.
+     */
+    public Map<Integer, Integer> getExpressionCallCountsBySpeciesId(int speciesId)
+            throws DAOException;
     
     /**
      * {@code DAOResultSet} specifics to {@code RawExpressionCallTO}s
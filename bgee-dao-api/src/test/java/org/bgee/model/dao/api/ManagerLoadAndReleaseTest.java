@@ -13,6 +13,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.dao.api.DAOManager;
 import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -496,4 +497,42 @@ public class ManagerLoadAndReleaseTest extends TestAncestor {
 		//that would make other test to fail
 		manager.close();
 	}
+
+	/**
+	 * Test {@link DAOManager#setDeadline(long)}, {@link DAOManager#getRemainingTimeMillis()} 
+	 * and {@link DAOManager#checkDeadline()}.
+	 */
+	@Test
+	public void shouldCheckDeadline() {
+		DAOManager manager = DAOManager.getDAOManager();
+		try {
+			//no deadline by default
+			assertEquals(0, manager.getDeadline());
+			assertEquals(Long.MAX_VALUE, manager.getRemainingTimeMillis());
+			manager.checkDeadline();
+
+			manager.setDeadline(System.currentTimeMillis() + 60000);
+			long remaining = manager.getRemainingTimeMillis();
+			assertTrue("Incorrect remaining time: " + remaining, 
+					remaining > 0 && remaining <= 60000);
+			manager.checkDeadline();
+
+			manager.setDeadline(System.currentTimeMillis() - 1000);
+			assertEquals(0, manager.getRemainingTimeMillis());
+			try {
+				manager.checkDeadline();
+				//if we reach this point, test failed
+				throw new AssertionError("A DeadlineExceededException should have been thrown");
+			} catch (DeadlineExceededException e) {
+				//test passed
+				log.catching(Level.DEBUG, e);
+			}
+
+			//removing the deadline
+			manager.setDeadline(0);
+			manager.checkDeadline();
+		} finally {
+			manager.close();
+		}
+	}
 }
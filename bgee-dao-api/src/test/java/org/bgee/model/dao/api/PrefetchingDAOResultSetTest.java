@@ -0,0 +1,257 @@
+package org.bgee.model.dao.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.exception.QueryInterruptedException;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PrefetchingDAOResultSet}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class PrefetchingDAOResultSetTest extends TestAncestor {
+    private final static Logger log =
+            LogManager.getLogger(PrefetchingDAOResultSetTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    private static class TestTO extends EntityTO<Integer> {
+        private static final long serialVersionUID = 1L;
+        private TestTO(Integer id) {
+            super(id);
+        }
+    }
+
+    /**
+     * A {@code DAOResultSet} returning {@code TestTO}s with IDs from 0 to {@code count - 1},
+     * throwing {@code exception} after them if not {@code null}.
+     */
+    private static class ListDAOResultSet implements DAOResultSet<TestTO> {
+        private final int count;
+        private final RuntimeException exception;
+        private int current = -1;
+        private volatile boolean closed = false;
+        private volatile Thread iteratingThread;
+
+        private ListDAOResultSet(int count, RuntimeException exception) {
+            this.count = count;
+            this.exception = exception;
+        }
+        @Override
+        public Stream<TestTO> stream() {
+            throw new UnsupportedOperationException();
+        }
+        @Override
+        public boolean next() {
+            this.iteratingThread = Thread.currentThread();
+            if (this.closed) {
+                return false;
+            }
+            this.current++;
+            if (this.current < this.count) {
+                return true;
+            }
+            if (this.exception != null) {
+                throw this.exception;
+            }
+            this.close();
+            return false;
+        }
+        @Override
+        public TestTO getTO() {
+            return new TestTO(this.current);
+        }
+        @Override
+        public List<TestTO> getAllTOs() {
+            List<TestTO> tos = new ArrayList<>();
+            while (this.next()) {
+                tos.add(this.getTO());
+            }
+            return tos;
+        }
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+
+    /**
+     * A query returning a {@code ListDAOResultSet}, storing the {@code DAOManager}
+     * it was provided and the thread it was performed in.
+     */
+    private static class ListQuery implements Function<DAOManager, DAOResultSet<TestTO>> {
+        private final ListDAOResultSet rs;
+        private volatile DAOManager manager;
+        private volatile Thread thread;
+
+        private ListQuery(ListDAOResultSet rs) {
+            this.rs = rs;
+        }
+        @Override
+        public DAOResultSet<TestTO> apply(DAOManager manager) {
+            this.manager = manager;
+            this.thread = Thread.currentThread();
+            return this.rs;
+        }
+    }
+
+    /**
+     * Test that {@link PrefetchingDAOResultSet} returns all results in order,
+     * from a background thread using its own {@code DAOManager},
+     * using {@code next()} or {@code stream()}.
+     */
+    @Test
+    public void shouldPrefetchResults() {
+        List<Integer> expected = IntStream.range(0, 1003).boxed().collect(Collectors.toList());
+
+        try (DAOManager manager = DAOManager.getDAOManager()) {
+            manager.setDeadline(System.currentTimeMillis() + 100000);
+            ListDAOResultSet rs = new ListDAOResultSet(1003, null);
+            ListQuery query = new ListQuery(rs);
+            PrefetchingDAOResultSet<TestTO> prefetchingRs =
+                    new PrefetchingDAOResultSet<>(manager, query, 10, 2);
+            List<Integer> ids = new ArrayList<>();
+            while (prefetchingRs.next()) {
+                ids.add(prefetchingRs.getTO().getId());
+            }
+            assertEquals(expected, ids);
+            assertTrue("The DAOResultSet should be closed", rs.closed);
+            assertFalse("The query should be performed from another thread",
+                    query.thread == Thread.currentThread());
+            assertSame(query.thread, rs.iteratingThread);
+            assertNotSame("The query should be performed with another DAOManager",
+                    manager, query.manager);
+            assertEquals(manager.getDeadline(), query.manager.getDeadline());
+            assertTrue("The DAOManager of the background thread should be closed",
+                    query.manager.isClosed());
+            assertFalse(manager.isClosed());
+
+            rs = new ListDAOResultSet(1003, null);
+            prefetchingRs = new PrefetchingDAOResultSet<>(manager, new ListQuery(rs), 7);
+            try (Stream<TestTO> stream = prefetchingRs.stream()) {
+                assertEquals(expected, stream.map(to -> to.getId()).collect(Collectors.toList()));
+            }
+            assertTrue("The DAOResultSet should be closed", rs.closed);
+            try {
+                prefetchingRs.stream();
+                fail("An exception should be thrown when streaming a DAOResultSet twice");
+            } catch (IllegalStateException e) {
+                //test passed
+            }
+
+            rs = new ListDAOResultSet(0, null);
+            assertEquals(0, new PrefetchingDAOResultSet<>(manager, new ListQuery(rs), 5)
+                    .getAllTOs().size());
+            assertTrue("The DAOResultSet should be closed", rs.closed);
+        }
+    }
+
+    /**
+     * Test that exceptions thrown when retrieving the results are rethrown
+     * after the results retrieved before.
+     */
+    @Test
+    public void shouldRethrowException() {
+        try (DAOManager manager = DAOManager.getDAOManager()) {
+            QueryInterruptedException exception = new QueryInterruptedException();
+            ListDAOResultSet rs = new ListDAOResultSet(25, exception);
+            PrefetchingDAOResultSet<TestTO> prefetchingRs =
+                    new PrefetchingDAOResultSet<>(manager, new ListQuery(rs), 10);
+            int count = 0;
+            try {
+                while (prefetchingRs.next()) {
+                    count++;
+                }
+                fail("The exception thrown when retrieving results should be rethrown");
+            } catch (QueryInterruptedException e) {
+                assertSame(exception, e);
+            }
+            assertEquals(20, count);
+            assertTrue("The DAOResultSet should be closed", rs.closed);
+            assertFalse(prefetchingRs.next());
+        }
+    }
+
+    /**
+     * Test that closing a {@link PrefetchingDAOResultSet} before all results are consumed
+     * stops the background thread, closes its {@code DAOResultSet}
+     * and kills its {@code DAOManager}.
+     */
+    @Test
+    public void shouldCloseBeforeEnd() {
+        try (DAOManager manager = DAOManager.getDAOManager()) {
+            ListDAOResultSet rs = new ListDAOResultSet(Integer.MAX_VALUE, null);
+            ListQuery query = new ListQuery(rs);
+            PrefetchingDAOResultSet<TestTO> prefetchingRs =
+                    new PrefetchingDAOResultSet<>(manager, query, 10, 1);
+            assertTrue(prefetchingRs.next());
+            assertEquals(Integer.valueOf(0), prefetchingRs.getTO().getId());
+            prefetchingRs.close();
+            assertTrue("The DAOResultSet should be closed", rs.closed);
+            assertTrue("The DAOManager of the background thread should be killed",
+                    query.manager.isKilled());
+            assertFalse(manager.isClosed());
+            assertFalse(prefetchingRs.next());
+            try {
+                prefetchingRs.getTO();
+                fail("An exception should be thrown when no current TransferObject");
+            } catch (DAOException e) {
+                //test passed
+            }
+
+            //closing before iteration: the query is never performed
+            query = new ListQuery(new ListDAOResultSet(10, null));
+            prefetchingRs = new PrefetchingDAOResultSet<>(manager, query, 10);
+            prefetchingRs.close();
+            assertNull(query.thread);
+            assertFalse(prefetchingRs.next());
+        }
+    }
+
+    /**
+     * Test that killing the {@code DAOManager} of the caller kills the {@code DAOManager}
+     * of the background thread.
+     */
+    @Test
+    public void shouldPropagateKill() {
+        DAOManager manager = DAOManager.getDAOManager();
+        ListDAOResultSet rs = new ListDAOResultSet(Integer.MAX_VALUE, null);
+        ListQuery query = new ListQuery(rs);
+        PrefetchingDAOResultSet<TestTO> prefetchingRs =
+                new PrefetchingDAOResultSet<>(manager, query, 10, 1);
+        assertTrue(prefetchingRs.next());
+        manager.kill();
+        try {
+            while (prefetchingRs.next()) {
+                //consume the current batch
+            }
+            fail("An exception should be thrown when the DAOManager is killed");
+        } catch (QueryInterruptedException e) {
+            //test passed
+        }
+        assertTrue("The DAOManager of the background thread should be killed",
+                query.manager.isKilled());
+        assertTrue("The DAOResultSet should be closed", rs.closed);
+    }
+}
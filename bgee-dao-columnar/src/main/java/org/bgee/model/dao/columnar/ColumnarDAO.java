@@ -0,0 +1,134 @@
+package org.bgee.model.dao.columnar;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAO;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+
+/**
+ * Parent class of all columnar DAOs of this module.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ *
+ * @param <T>   The type of {@code DAO.Attribute} that can be used with this {@code DAO},
+ *              to define what attributes should be populated in the {@code TransferObject}s
+ *              obtained from this {@code DAO}.
+ */
+public abstract class ColumnarDAO<T extends Enum<T> & DAO.Attribute> implements DAO<T> {
+    private final static Logger log = LogManager.getLogger(ColumnarDAO.class.getName());
+
+    /**
+     * A {@code Set} of {@code DAO.Attribute}s specifying the attributes to retrieve
+     * from the data source in order to build {@code TransferObject}s associated to
+     * this {@code DAO}.
+     */
+    private final Set<T> attributes;
+
+    /**
+     * The {@code ColumnarDAOManager} used by this {@code ColumnarDAO} to obtain
+     * {@code ColumnarFile}s.
+     */
+    private final ColumnarDAOManager manager;
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     *
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarDAO(ColumnarDAOManager manager) throws IllegalArgumentException {
+        this.attributes = new HashSet<T>();
+        if (manager == null) {
+            throw log.throwing(new IllegalArgumentException("The ColumnarDAOManager " +
+                    "cannot be null"));
+        }
+        this.manager = manager;
+    }
+
+    /**
+     * @return  The {@code ColumnarDAOManager} used by this {@code ColumnarDAO} to obtain
+     *          {@code ColumnarFile}s.
+     */
+    protected ColumnarDAOManager getManager() {
+        return this.manager;
+    }
+
+    /**
+     * @return  The {@code DAOManager} decorated by the {@code ColumnarDAOManager}
+     *          of this {@code ColumnarDAO}, to which the queries that cannot be answered
+     *          from the columnar files are delegated.
+     * @see ColumnarDAOManager#getDelegate()
+     */
+    protected DAOManager getDelegate() {
+        return this.manager.getDelegate();
+    }
+
+    /**
+     * Delegates to {@link ColumnarDAOManager#getColumnarFile(Integer, String)}.
+     *
+     * @param speciesId     An {@code Integer} that is the ID of the species the file
+     *                      is specific to, {@code null} for files not specific to a species.
+     * @param tableName     A {@code String} that is the name of the table stored in the file.
+     * @return              The requested {@code ColumnarFile}, or {@code null}
+     *                      if the file does not exist.
+     * @throws DAOException If the file could not be opened.
+     */
+    protected ColumnarFile getFile(Integer speciesId, String tableName) throws DAOException {
+        return this.manager.getColumnarFile(speciesId, tableName);
+    }
+
+    /**
+     * @param methodName    A {@code String} that is the name of the method not supported.
+     * @return              An {@code UnsupportedOperationException} to be thrown
+     *                      by the insertion and update methods of this read-only {@code DAO}.
+     */
+    protected UnsupportedOperationException unsupportedOperation(String methodName) {
+        return log.throwing(new UnsupportedOperationException(methodName
+                + " is not supported by the columnar DAOs"));
+    }
+
+    @Override
+    @Deprecated
+    public void setAttributes(Collection<T> attributes) {
+        log.traceEntry("{}", attributes);
+        this.clearAttributes();
+        if (attributes != null) {
+            this.attributes.addAll(attributes);
+        }
+        log.traceExit();
+    }
+    @SafeVarargs
+    @Override
+    @Deprecated
+    public final void setAttributes(T... attributes) {
+        log.traceEntry("{}", (Object[]) attributes);
+        Set<T> newAttributes = new HashSet<T>();
+        for (int i = 0; i < attributes.length; i++) {
+            newAttributes.add(attributes[i]);
+        }
+        this.setAttributes(newAttributes);
+        log.traceExit();
+    }
+    @Override
+    @Deprecated
+    public void clearAttributes() {
+        log.traceEntry();
+        this.attributes.clear();
+        log.traceExit();
+    }
+    @Override
+    @Deprecated
+    public Set<T> getAttributes() {
+        log.traceEntry();
+        return log.traceExit(new HashSet<T>(attributes));
+    }
+}
@@ -0,0 +1,701 @@
+package org.bgee.model.dao.columnar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.anatdev.AnatEntityDAO;
+import org.bgee.model.dao.api.anatdev.SexDAO;
+import org.bgee.model.dao.api.anatdev.StageDAO;
+import org.bgee.model.dao.api.anatdev.TaxonConstraintDAO;
+import org.bgee.model.dao.api.anatdev.mapping.RawSimilarityAnnotationDAO;
+import org.bgee.model.dao.api.anatdev.mapping.StageGroupingDAO;
+import org.bgee.model.dao.api.anatdev.mapping.SummarySimilarityAnnotationDAO;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.expressiondata.call.DiffExpressionCallDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataConditionDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataCountDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawExpressionCallDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.SamplePValueDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.est.ESTDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.est.ESTLibraryDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.insitu.InSituEvidenceDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.insitu.InSituExperimentDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.insitu.InSituSpotDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.microarray.AffymetrixChipDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.microarray.AffymetrixChipTypeDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.microarray.AffymetrixProbesetDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.microarray.MicroarrayExperimentDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqExperimentDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqLibraryAnnotatedSampleDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqLibraryDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqResultAnnotatedSampleDAO;
+import org.bgee.model.dao.api.file.DownloadFileDAO;
+import org.bgee.model.dao.api.file.SpeciesDataGroupDAO;
+import org.bgee.model.dao.api.gene.GeneHomologsDAO;
+import org.bgee.model.dao.api.gene.GeneNameSynonymDAO;
+import org.bgee.model.dao.api.gene.GeneOntologyDAO;
+import org.bgee.model.dao.api.gene.GeneXRefDAO;
+import org.bgee.model.dao.api.gene.HierarchicalGroupDAO;
+import org.bgee.model.dao.api.keyword.KeywordDAO;
+import org.bgee.model.dao.api.ontologycommon.CIOStatementDAO;
+import org.bgee.model.dao.api.ontologycommon.EvidenceOntologyDAO;
+import org.bgee.model.dao.api.source.SourceDAO;
+import org.bgee.model.dao.api.source.SourceDAO.SourceTO;
+import org.bgee.model.dao.api.source.SourceToSpeciesDAO;
+import org.bgee.model.dao.api.species.TaxonDAO;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarConditionDAO;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarGlobalExpressionCallDAO;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+import org.bgee.model.dao.columnar.gene.ColumnarGeneDAO;
+import org.bgee.model.dao.columnar.ontologycommon.ColumnarRelationDAO;
+import org.bgee.model.dao.columnar.species.ColumnarSpeciesDAO;
+
+/**
+ * Read-only {@code DAOManager} reading the data of a Bgee release from {@link ColumnarFile}s,
+ * exported from the database by the pipeline. It allows to serve the most frequent queries
+ * of the webapp (global expression calls, global conditions, genes, species, relations)
+ * without querying the database: the files are memory-mapped, so that the OS page cache
+ * is shared between all the {@code ColumnarDAOManager}s of a JVM, and between JVMs.
+ * <p>
+ * This {@code DAOManager} is not a service provider: it is never returned by
+ * {@link DAOManager#getDAOManager(Properties)}. It decorates a {@code DAOManager} obtained
+ * from a service provider (the "delegate"), and must be obtained explicitly, see
+ * {@link #decorateIfConfigured(DAOManager)}. The {@code DAO}s {@code SpeciesDAO},
+ * {@code GeneDAO}, {@code RelationDAO}, {@code ConditionDAO} and {@code GlobalExpressionCallDAO}
+ * read the files, all other {@code DAO}s are obtained from the delegate. The read methods
+ * of the columnar {@code DAO}s that cannot be answered from the files are also delegated,
+ * only their insertion and update methods throw an {@code UnsupportedOperationException}.
+ * Closing or killing this {@code DAOManager} closes or kills the delegate,
+ * and the delegate being closed or killed is seen by this {@code DAOManager}.
+ * <p>
+ * The directory where the files are stored is provided in the parameters of the delegate
+ * with the key {@link #DIRECTORY_KEY}. Files that are not specific to a species
+ * are stored directly in this directory, other files are stored in one sub-directory
+ * per species, named after the species ID (see {@link #getFilePath(Path, Integer, String)}).
+ * The directory also stores the release of the database the files were exported from
+ * (see {@link #RELEASE_FILE_NAME}): the delegate is decorated only if it uses the same release.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarDAOManager extends DAOManager {
+    private final static Logger log = LogManager.getLogger(ColumnarDAOManager.class.getName());
+
+    /**
+     * A {@code String} that is the key to retrieve from the parameters of a {@code DAOManager}
+     * (see {@link DAOManager#getParameters()}) the path to the directory containing
+     * the columnar files, see {@link #decorateIfConfigured(DAOManager)}.
+     */
+    public final static String DIRECTORY_KEY = "bgee.dao.columnar.directory";
+    /**
+     * A {@code String} that is the name of the file, stored in the directory containing
+     * the columnar files, storing the release of the database the files were exported from
+     * (see {@link #getRelease(DAOManager)}). It is written after all the columnar files,
+     * so that an incomplete export is never used.
+     */
+    public final static String RELEASE_FILE_NAME = "release.txt";
+
+    /**
+     * A {@code ConcurrentMap} where keys are the {@code Path}s of the opened
+     * {@code ColumnarFile}s, the associated values being the opened files, shared
+     * by all {@code ColumnarDAOManager}s, since the files are immutable.
+     */
+    private final static ConcurrentMap<Path, ColumnarFile> openedFiles = new ConcurrentHashMap<>();
+    /**
+     * A {@code ConcurrentMap} where keys are the {@code Path}s of the directories containing
+     * columnar files, the associated value being a {@code Boolean} defining whether
+     * the release of the files matches the release of the database, so that the check
+     * is performed only once per directory (see {@link #decorateIfConfigured(DAOManager)}).
+     */
+    private final static ConcurrentMap<Path, Boolean> releaseChecks = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the path of the file storing the table {@code tableName}.
+     *
+     * @param directory     The {@code Path} of the directory containing the columnar files.
+     * @param speciesId     An {@code Integer} that is the ID of the species the file
+     *                      is specific to, {@code null} for files not specific to a species.
+     * @param tableName     A {@code String} that is the name of the table stored in the file.
+     * @return              The {@code Path} of the requested file.
+     */
+    public static Path getFilePath(Path directory, Integer speciesId, String tableName) {
+        log.traceEntry("{}, {}, {}", directory, speciesId, tableName);
+        Path dir = speciesId == null? directory: directory.resolve(String.valueOf(speciesId));
+        return log.traceExit(dir.resolve(tableName + ColumnarFile.FILE_EXTENSION));
+    }
+
+    /**
+     * Retrieves the release of the database used by {@code manager}. There is no release
+     * identifier stored in the database, the release is thus identified by the releases
+     * of the data sources integrated, that change at each Bgee release.
+     *
+     * @param manager       The {@code DAOManager} to retrieve the release of the database for.
+     * @return              A {@code String} identifying the release of the database,
+     *                      one line per data source.
+     * @throws DAOException If an error occurred while retrieving the data sources.
+     */
+    public static String getRelease(DAOManager manager) throws DAOException {
+        log.traceEntry("{}", manager);
+        return log.traceExit(manager.getSourceDAO().getAllDataSources(EnumSet.of(
+                SourceDAO.Attribute.ID, SourceDAO.Attribute.RELEASE_VERSION,
+                SourceDAO.Attribute.RELEASE_DATE)).getAllTOs().stream()
+                .sorted(Comparator.comparing(SourceTO::getId))
+                .map(to -> to.getId() + "\t" + to.getReleaseVersion() + "\t"
+                        + (to.getReleaseDate() == null? null: to.getReleaseDate().getTime()))
+                .collect(Collectors.joining("\n")));
+    }
+    /**
+     * Writes the release of the database used by {@code manager} (see {@link #getRelease(
+     * DAOManager)}) in the file {@link #RELEASE_FILE_NAME} of {@code directory}. To be called
+     * once all the columnar files are written.
+     *
+     * @param manager       The {@code DAOManager} the columnar files were exported from.
+     * @param directory     The {@code Path} of the directory containing the columnar files.
+     * @throws IOException  If the file could not be written.
+     */
+    public static void writeRelease(DAOManager manager, Path directory) throws IOException {
+        log.traceEntry("{}, {}", manager, directory);
+        Files.write(directory.resolve(RELEASE_FILE_NAME),
+                getRelease(manager).getBytes(StandardCharsets.UTF_8));
+        log.traceExit();
+    }
+    /**
+     * Checks whether the columnar files stored in {@code directory} were exported
+     * from the same release of the database as the one used by {@code delegate}.
+     *
+     * @param delegate      The {@code DAOManager} obtained from a service provider.
+     * @param directory     The {@code Path} of the directory containing the columnar files.
+     * @return              {@code true} if the release stored in the file
+     *                      {@link #RELEASE_FILE_NAME} of {@code directory} is the release
+     *                      of the database used by {@code delegate}, {@code false} otherwise,
+     *                      or if this file does not exist.
+     * @throws DAOException If the release of the files could not be read.
+     */
+    static boolean isSameRelease(DAOManager delegate, Path directory) throws DAOException {
+        log.traceEntry("{}, {}", delegate, directory);
+        Path releaseFile = directory.resolve(RELEASE_FILE_NAME);
+        if (!Files.exists(releaseFile)) {
+            log.warn("Missing file {}, the columnar files might be incomplete", releaseFile);
+            return log.traceExit(false);
+        }
+        String filesRelease = null;
+        try {
+            filesRelease = new String(Files.readAllBytes(releaseFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        if (!filesRelease.equals(getRelease(delegate))) {
+            log.warn("The columnar files in {} were not exported from the release of the database used",
+                    directory);
+            return log.traceExit(false);
+        }
+        return log.traceExit(true);
+    }
+
+    /**
+     * Decorates {@code delegate} with a {@code ColumnarDAOManager}, if the directory
+     * containing the columnar files is provided in its parameters with the key
+     * {@link #DIRECTORY_KEY}, and if the files were exported from the release
+     * of the database used by {@code delegate} (see {@link #RELEASE_FILE_NAME}).
+     * The release is checked only once per directory; if the releases differ,
+     * {@code delegate} is used for all queries.
+     *
+     * @param delegate  The {@code DAOManager} obtained from a service provider.
+     * @return          A new {@code ColumnarDAOManager} decorating {@code delegate}
+     *                  if {@link #DIRECTORY_KEY} is provided in its parameters
+     *                  and the releases match, {@code delegate} otherwise.
+     * @throws IllegalArgumentException If the directory provided does not exist.
+     * @throws DAOException             If the releases could not be compared.
+     */
+    public static DAOManager decorateIfConfigured(DAOManager delegate)
+            throws IllegalArgumentException, DAOException {
+        log.traceEntry("{}", delegate);
+        Properties props = delegate.getParameters();
+        String directory = props == null? null: props.getProperty(DIRECTORY_KEY);
+        if (StringUtils.isBlank(directory)) {
+            return log.traceExit(delegate);
+        }
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path)) {
+            throw log.throwing(new IllegalArgumentException("The directory " + directory
+                    + " does not exist."));
+        }
+        if (!releaseChecks.computeIfAbsent(path.toAbsolutePath().normalize(),
+                p -> isSameRelease(delegate, p))) {
+            return log.traceExit(delegate);
+        }
+        return log.traceExit(new ColumnarDAOManager(delegate, path));
+    }
+    /**
+     * Closes the {@code ColumnarFile}s opened by all the {@code ColumnarDAOManager}s
+     * of the JVM. To be called at application shutdown.
+     */
+    public static void closeFiles() {
+        log.traceEntry();
+        openedFiles.values().forEach(ColumnarFile::close);
+        openedFiles.clear();
+        log.traceExit();
+    }
+
+    /**
+     * @see #getDelegate()
+     */
+    private final DAOManager delegate;
+    /**
+     * @see #getDirectory()
+     */
+    private final Path directory;
+
+    /**
+     * @param delegate  The {@code DAOManager} obtained from a service provider,
+     *                  to obtain the {@code DAO}s not provided from the columnar files.
+     * @param directory The {@code Path} of the directory containing the columnar files.
+     * @throws IllegalArgumentException If {@code delegate} is {@code null} or closed,
+     *                                  or {@code directory} does not exist.
+     */
+    public ColumnarDAOManager(DAOManager delegate, Path directory) throws IllegalArgumentException {
+        super();
+        log.traceEntry("{}, {}", delegate, directory);
+        if (delegate == null || delegate.isClosed()) {
+            throw log.throwing(new IllegalArgumentException("Invalid delegate DAOManager"));
+        }
+        if (directory == null || !Files.isDirectory(directory)) {
+            throw log.throwing(new IllegalArgumentException("The directory " + directory
+                    + " does not exist."));
+        }
+        this.delegate = delegate;
+        this.directory = directory;
+        super.setParameters(delegate.getParameters());
+        this.setDeadline(delegate.getDeadline());
+        this.setConnectionBudget(delegate.getConnectionBudget());
+        log.traceExit();
+    }
+
+    /**
+     * @return  The {@code DAOManager} decorated by this {@code ColumnarDAOManager},
+     *          providing the {@code DAO}s and the queries not served from the columnar files.
+     */
+    public DAOManager getDelegate() {
+        return this.delegate;
+    }
+    /**
+     * @return  The {@code Path} of the directory containing the columnar files.
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Retrieves the IDs of the species having columnar files, from the names
+     * of the sub-directories of {@link #getDirectory()}.
+     *
+     * @return              An unmodifiable {@code Set} of {@code Integer}s that are the IDs
+     *                      of the species with data, in ascending order.
+     * @throws DAOException If the directory could not be read.
+     */
+    public Set<Integer> getSpeciesIds() throws DAOException {
+        log.traceEntry();
+        Set<Integer> speciesIds = new TreeSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.getDirectory(),
+                Files::isDirectory)) {
+            for (Path dir: stream) {
+                String name = dir.getFileName().toString();
+                if (StringUtils.isNumeric(name)) {
+                    speciesIds.add(Integer.valueOf(name));
+                }
+            }
+        } catch (IOException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        return log.traceExit(Collections.unmodifiableSet(speciesIds));
+    }
+    /**
+     * Same as {@link #getSpeciesIds()} but retaining only the IDs in {@code requestedSpeciesIds}.
+     *
+     * @param requestedSpeciesIds   A {@code Collection} of {@code Integer}s that are the IDs
+     *                              of the requested species. If {@code null} or empty,
+     *                              all species with columnar files are returned.
+     * @return                      A {@code Set} of {@code Integer}s that are the IDs
+     *                              of the requested species with data, in ascending order.
+     * @throws DAOException If the directory could not be read.
+     */
+    public Set<Integer> getSpeciesIds(Collection<Integer> requestedSpeciesIds) throws DAOException {
+        log.traceEntry("{}", requestedSpeciesIds);
+        Set<Integer> speciesIds = new TreeSet<>(this.getSpeciesIds());
+        if (requestedSpeciesIds != null && !requestedSpeciesIds.isEmpty()) {
+            speciesIds.retainAll(requestedSpeciesIds);
+        }
+        return log.traceExit(speciesIds);
+    }
+
+    /**
+     * Retrieves the {@code ColumnarFile} storing the table {@code tableName}, opening it
+     * if it was not already opened by a {@code ColumnarDAOManager}.
+     *
+     * @param speciesId     An {@code Integer} that is the ID of the species the file
+     *                      is specific to, {@code null} for files not specific to a species.
+     * @param tableName     A {@code String} that is the name of the table stored in the file.
+     * @return              The requested {@code ColumnarFile}, or {@code null}
+     *                      if the file does not exist (no data for the species).
+     * @throws DAOException If the file could not be opened.
+     * @throws IllegalStateException    If this {@code DAOManager} is closed.
+     */
+    public ColumnarFile getColumnarFile(Integer speciesId, String tableName)
+            throws DAOException, IllegalStateException {
+        log.traceEntry("{}, {}", speciesId, tableName);
+        if (this.isClosed()) {
+            throw log.throwing(new IllegalStateException(
+                    "It is not possible to use a closed DAOManager"));
+        }
+        Path file = getFilePath(this.getDirectory(), speciesId, tableName).toAbsolutePath();
+        if (!Files.exists(file)) {
+            log.debug("No columnar file {}", file);
+            return log.traceExit((ColumnarFile) null);
+        }
+        try {
+            return log.traceExit(openedFiles.computeIfAbsent(file, f -> {
+                try {
+                    log.debug("Opening columnar file {}", f);
+                    return ColumnarFile.open(f);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw log.throwing(new DAOException(e.getCause()));
+        }
+    }
+
+    /**
+     * @return  The ID of the delegate, so that killing it with {@link DAOManager#kill(long)}
+     *          interrupts the queries of this {@code ColumnarDAOManager}.
+     */
+    @Override
+    public long getId() {
+        return this.delegate.getId();
+    }
+    @Override
+    public boolean isClosed() {
+        return super.isClosed() || this.delegate.isClosed();
+    }
+    @Override
+    public boolean isKilled() {
+        return super.isKilled() || this.delegate.isKilled();
+    }
+    @Override
+    public void setDeadline(long deadline) {
+        log.traceEntry("{}", deadline);
+        super.setDeadline(deadline);
+        this.delegate.setDeadline(deadline);
+        log.traceExit();
+    }
+    @Override
+    public void setConnectionBudget(String connectionBudget) {
+        log.traceEntry("{}", connectionBudget);
+        super.setConnectionBudget(connectionBudget);
+        this.delegate.setConnectionBudget(connectionBudget);
+        log.traceExit();
+    }
+    /**
+     * Makes the delegate share the permit of the delegate of {@code owner}, 
+     * if it is a {@code ColumnarDAOManager}, otherwise of {@code owner}.
+     */
+    @Override
+    public void shareConnectionBudget(DAOManager owner) {
+        log.traceEntry("{}", owner);
+        super.shareConnectionBudget(owner);
+        this.delegate.shareConnectionBudget(owner instanceof ColumnarDAOManager?
+                ((ColumnarDAOManager) owner).getDelegate(): owner);
+        log.traceExit();
+    }
+
+    /**
+     * Decorates the {@code DAOManager} obtained from the delegate for the current thread,
+     * so that the other thread also reads the columnar files.
+     */
+    @Override
+    public DAOManager getDAOManagerForCurrentThread() throws IllegalStateException {
+        log.traceEntry();
+        return log.traceExit(new ColumnarDAOManager(this.delegate.getDAOManagerForCurrentThread(),
+                this.directory));
+    }
+
+    /**
+     * Releases the resources of the delegate. The opened files are shared
+     * between all {@code ColumnarDAOManager}s, they are not closed.
+     */
+    @Override
+    public void releaseResources() throws DAOException {
+        log.traceEntry();
+        this.delegate.releaseResources();
+        log.traceExit();
+    }
+    @Override
+    protected void closeDAOManager() throws DAOException {
+        log.traceEntry();
+        this.delegate.close();
+        log.traceExit();
+    }
+    /**
+     * Queries in progress on the columnar files are interrupted when they check
+     * {@link #isKilled()}, after each row read, see {@link ColumnarDAOResultSet}.
+     */
+    @Override
+    protected void killDAOManager() throws DAOException {
+        log.traceEntry();
+        this.delegate.kill();
+        log.traceExit();
+    }
+    /**
+     * Never called, since this {@code DAOManager} is not a service provider,
+     * see {@link #closeFiles()}.
+     */
+    @Override
+    protected void shutdown() throws DAOException {
+        log.traceEntry();
+        closeFiles();
+        log.traceExit();
+    }
+
+    @Override
+    protected ColumnarSpeciesDAO getNewSpeciesDAO() {
+        log.traceEntry();
+        return log.traceExit(new ColumnarSpeciesDAO(this));
+    }
+    @Override
+    protected ColumnarGeneDAO getNewGeneDAO() {
+        log.traceEntry();
+        return log.traceExit(new ColumnarGeneDAO(this));
+    }
+    @Override
+    protected ColumnarRelationDAO getNewRelationDAO() {
+        log.traceEntry();
+        return log.traceExit(new ColumnarRelationDAO(this));
+    }
+    @Override
+    protected ColumnarConditionDAO getNewConditionDAO() {
+        log.traceEntry();
+        return log.traceExit(new ColumnarConditionDAO(this));
+    }
+    @Override
+    protected ColumnarGlobalExpressionCallDAO getNewGlobalExpressionCallDAO() {
+        log.traceEntry();
+        return log.traceExit(new ColumnarGlobalExpressionCallDAO(this));
+    }
+
+    @Override
+    protected SourceDAO getNewSourceDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSourceDAO());
+    }
+    @Override
+    protected SourceToSpeciesDAO getNewSourceToSpeciesDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSourceToSpeciesDAO());
+    }
+    @Override
+    protected GeneHomologsDAO getNewGeneHomologsDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getGeneHomologsDAO());
+    }
+    @Override
+    protected TaxonDAO getNewTaxonDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getTaxonDAO());
+    }
+    @Override
+    protected TaxonConstraintDAO getNewTaxonConstraintDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getTaxonConstraintDAO());
+    }
+    @Override
+    protected GeneOntologyDAO getNewGeneOntologyDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getGeneOntologyDAO());
+    }
+    @Override
+    protected GeneXRefDAO getNewGeneXRefDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getGeneXRefDAO());
+    }
+    @Override
+    protected HierarchicalGroupDAO getNewHierarchicalGroupDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getHierarchicalGroupDAO());
+    }
+    @Override
+    protected StageDAO getNewStageDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getStageDAO());
+    }
+    @Override
+    protected RawDataConditionDAO getNewRawDataConditionDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRawDataConditionDAO());
+    }
+    @Override
+    protected SexDAO getNewSexDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSexDAO());
+    }
+    @Override
+    protected RawExpressionCallDAO getNewRawExpressionCallDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRawExpressionCallDAO());
+    }
+    @Override
+    protected SamplePValueDAO getNewSamplePValueDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSamplePValueDAO());
+    }
+    @Override
+    protected DiffExpressionCallDAO getNewDiffExpressionCallDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getDiffExpressionCallDAO());
+    }
+    @Override
+    protected AnatEntityDAO getNewAnatEntityDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getAnatEntityDAO());
+    }
+    @Override
+    protected AffymetrixProbesetDAO getNewAffymetrixProbesetDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getAffymetrixProbesetDAO());
+    }
+    @Override
+    protected AffymetrixChipDAO getNewAffymetrixChipDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getAffymetrixChipDAO());
+    }
+    @Override
+    protected AffymetrixChipTypeDAO getNewAffymetrixChipTypeDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getAffymetrixChipTypeDAO());
+    }
+    @Override
+    protected MicroarrayExperimentDAO getNewMicroarrayExperimentDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getMicroarrayExperimentDAO());
+    }
+    @Override
+    protected RNASeqExperimentDAO getNewRnaSeqExperimentDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRnaSeqExperimentDAO());
+    }
+    @Override
+    protected RNASeqLibraryAnnotatedSampleDAO getNewRnaSeqLibraryAnnotatedSampleDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRnaSeqLibraryAnnotatedSampleDAO());
+    }
+    @Override
+    protected RNASeqLibraryDAO getNewRnaSeqLibraryDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRnaSeqLibraryDAO());
+    }
+    @Override
+    protected RNASeqResultAnnotatedSampleDAO getNewRNASeqResultAnnotatedSampleDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRnaSeqResultAnnotatedSampleDAO());
+    }
+    @Override
+    protected ESTLibraryDAO getNewESTLibraryDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getESTLibraryDAO());
+    }
+    @Override
+    protected ESTDAO getNewESTDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getESTDAO());
+    }
+    @Override
+    protected InSituExperimentDAO getNewInSituExperimentDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getInSituExperimentDAO());
+    }
+    @Override
+    protected InSituEvidenceDAO getNewInSituEvidenceDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getInSituEvidenceDAO());
+    }
+    @Override
+    protected InSituSpotDAO getNewInSituSpotDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getInSituSpotDAO());
+    }
+    @Override
+    protected RawDataCountDAO getNewRawDataCountDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRawDataCountDAO());
+    }
+    @Override
+    protected CIOStatementDAO getNewCIOStatementDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getCIOStatementDAO());
+    }
+    @Override
+    protected EvidenceOntologyDAO getNewEvidenceOntologyDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getEvidenceOntologyDAO());
+    }
+    @Override
+    protected SummarySimilarityAnnotationDAO getNewSummarySimilarityAnnotationDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSummarySimilarityAnnotationDAO());
+    }
+    @Override
+    protected RawSimilarityAnnotationDAO getNewRawSimilarityAnnotationDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getRawSimilarityAnnotationDAO());
+    }
+    @Override
+    protected StageGroupingDAO getNewStageGroupingDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getStageGroupingDAO());
+    }
+    @Override
+    protected DownloadFileDAO getNewDownloadFileDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getDownloadFileDAO());
+    }
+    @Override
+    protected SpeciesDataGroupDAO getNewSpeciesDataGroupDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getSpeciesDataGroupDAO());
+    }
+    @Override
+    protected KeywordDAO getNewKeywordDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getKeywordDAO());
+    }
+    @Override
+    protected GeneNameSynonymDAO getNewGeneNameSynonymDAO() {
+        log.traceEntry();
+        return log.traceExit(this.delegate.getGeneNameSynonymDAO());
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarDAOManager [directory=" + directory + ", delegate=" + delegate + "]";
+    }
+}
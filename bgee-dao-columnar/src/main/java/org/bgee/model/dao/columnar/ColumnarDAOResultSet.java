@@ -0,0 +1,129 @@
+package org.bgee.model.dao.columnar;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAOResultSet;
+import org.bgee.model.dao.api.TransferObject;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.exception.QueryInterruptedException;
+
+/**
+ * A {@code DAOResultSet} iterating {@code TransferObject}s lazily built
+ * from the rows of {@code ColumnarFile}s. Before building each {@code TransferObject},
+ * it checks whether the {@code ColumnarDAOManager} used was killed, in which case
+ * a {@code QueryInterruptedException} is thrown.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ *
+ * @param <T>   The type of {@code TransferObject} returned.
+ */
+public class ColumnarDAOResultSet<T extends TransferObject> implements DAOResultSet<T> {
+    private final static Logger log = LogManager.getLogger(ColumnarDAOResultSet.class.getName());
+
+    /**
+     * A {@code Spliterator} allowing to stream over the {@code TransferObject}s
+     * of this {@code ColumnarDAOResultSet}, calling {@link ColumnarDAOResultSet#next()}
+     * so that killing the {@code DAOManager} is checked.
+     */
+    private class ColumnarDAOResultSetSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private ColumnarDAOResultSetSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (ColumnarDAOResultSet.this.next()) {
+                action.accept(ColumnarDAOResultSet.this.getTO());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final ColumnarDAOManager manager;
+    private final Iterator<T> iterator;
+    private T currentTO;
+    private boolean closed;
+    private boolean streamed;
+
+    /**
+     * @param manager   The {@code ColumnarDAOManager} used to obtain the {@code TransferObject}s.
+     * @param iterator  An {@code Iterator} lazily building the {@code TransferObject}s.
+     */
+    public ColumnarDAOResultSet(ColumnarDAOManager manager, Iterator<T> iterator) {
+        this.manager = manager;
+        this.iterator = iterator;
+        this.currentTO = null;
+        this.closed = false;
+        this.streamed = false;
+    }
+
+    @Override
+    public Stream<T> stream() throws IllegalStateException {
+        log.traceEntry();
+        if (this.streamed || this.currentTO != null) {
+            throw log.throwing(new IllegalStateException(
+                    "This DAOResultSet was already iterated or streamed"));
+        }
+        this.streamed = true;
+        return log.traceExit(StreamSupport.stream(new ColumnarDAOResultSetSpliterator(), false)
+                .onClose(() -> this.close()));
+    }
+
+    @Override
+    public boolean next() throws DAOException, QueryInterruptedException {
+        log.traceEntry();
+        if (this.closed) {
+            return log.traceExit(false);
+        }
+        if (this.manager.isKilled()) {
+            this.close();
+            throw log.throwing(new QueryInterruptedException());
+        }
+        if (!this.iterator.hasNext()) {
+            this.currentTO = null;
+            this.close();
+            return log.traceExit(false);
+        }
+        this.currentTO = this.iterator.next();
+        return log.traceExit(true);
+    }
+
+    @Override
+    public T getTO() throws DAOException {
+        log.traceEntry();
+        if (this.currentTO == null) {
+            throw log.throwing(new DAOException("No current TransferObject, "
+                    + "next() must be called and return true before"));
+        }
+        return log.traceExit(this.currentTO);
+    }
+
+    @Override
+    public List<T> getAllTOs() throws DAOException {
+        log.traceEntry();
+        List<T> allTOs = new ArrayList<>();
+        while (this.next()) {
+            allTOs.add(this.getTO());
+        }
+        this.close();
+        return log.traceExit(allTOs);
+    }
+
+    @Override
+    public void close() throws DAOException {
+        log.traceEntry();
+        this.closed = true;
+        log.traceExit();
+    }
+}
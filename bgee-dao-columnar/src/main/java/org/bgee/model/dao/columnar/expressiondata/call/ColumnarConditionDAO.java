@@ -0,0 +1,503 @@
+package org.bgee.model.dao.columnar.expressiondata.call;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOConditionFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOConditionFilter2;
+import org.bgee.model.dao.columnar.ColumnarDAO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOResultSet;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+
+/**
+ * A {@code ConditionDAO} reading, for each species, the file {@link #TABLE_NAME},
+ * storing one row per global condition, sorted by global condition ID, and the file
+ * {@link #MAX_RANK_TABLE_NAME}, storing the max ranks of the species for each data type.
+ * Whether a condition was observed for a condition parameter is stored in the columns
+ * returned by {@link #getObservedColumnName(ConditionDAO.ConditionParameter)}, as
+ * in the {@code globalCond} table of the MySQL database.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @see org.bgee.model.dao.api.expressiondata.call.ConditionDAO.ConditionTO
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarConditionDAO extends ColumnarDAO<ConditionDAO.Attribute>
+implements ConditionDAO {
+    private final static Logger log = LogManager.getLogger(ColumnarConditionDAO.class.getName());
+
+    public final static String TABLE_NAME = "globalCond";
+    public final static String OBSERVED_PREFIX = "condObserved";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the file {@link #TABLE_NAME} are sorted by.
+     */
+    public final static List<String> SORT_COLUMNS = Collections.singletonList(
+            ConditionDAO.Attribute.ID.getTOFieldName());
+
+    public final static String MAX_RANK_TABLE_NAME = "conditionMaxRank";
+    public final static String DATA_TYPE = "dataType";
+    public final static String MAX_RANK = "maxRank";
+    public final static String GLOBAL_MAX_RANK = "globalMaxRank";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the file {@link #MAX_RANK_TABLE_NAME} are sorted by.
+     */
+    public final static List<String> MAX_RANK_SORT_COLUMNS = Collections.emptyList();
+
+    /**
+     * @param condParam A {@code ConditionDAO.ConditionParameter} to convert.
+     * @return          The {@code ConditionDAO.Attribute} corresponding to {@code condParam}.
+     */
+    public static ConditionDAO.Attribute convertToAttribute(
+            ConditionDAO.ConditionParameter condParam) {
+        return ConditionDAO.Attribute.valueOf(condParam.name() + "_ID");
+    }
+    /**
+     * @param condParams    An {@code EnumSet} of {@code ConditionDAO.ConditionParameter}s
+     *                      to convert.
+     * @return              An {@code EnumSet} of the corresponding {@code ConditionDAO.Attribute}s.
+     */
+    public static EnumSet<ConditionDAO.Attribute> convertToAttributes(
+            EnumSet<ConditionDAO.ConditionParameter> condParams) {
+        return condParams.stream().map(cp -> convertToAttribute(cp))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ConditionDAO.Attribute.class)));
+    }
+    /**
+     * @param condParam A {@code ConditionDAO.ConditionParameter}.
+     * @return          A {@code String} that is the name of the column of the file
+     *                  {@link #TABLE_NAME} storing whether a condition was observed
+     *                  for {@code condParam}.
+     */
+    public static String getObservedColumnName(ConditionDAO.ConditionParameter condParam) {
+        return OBSERVED_PREFIX + convertToAttribute(condParam).getFieldNamePart();
+    }
+
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the file
+     *          {@link #TABLE_NAME}, in the order of the values of {@link #toRow(ConditionTO, Set)},
+     *          the associated value being their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        for (ConditionDAO.Attribute attr: EnumSet.allOf(ConditionDAO.Attribute.class)) {
+            columnTypes.put(attr.getTOFieldName(), attr.isConditionParameter()?
+                    ColumnType.STRING: ColumnType.INT);
+        }
+        for (ConditionDAO.ConditionParameter condParam:
+            EnumSet.allOf(ConditionDAO.ConditionParameter.class)) {
+            columnTypes.put(getObservedColumnName(condParam), ColumnType.INT);
+        }
+        return columnTypes;
+    }
+    /**
+     * @param conditionTO           A {@code ConditionTO} to be written in the file
+     *                              {@link #TABLE_NAME}.
+     * @param observedCondParams    A {@code Set} of {@code ConditionDAO.ConditionParameter}s
+     *                              for which the condition was observed.
+     * @return                      An {@code Object} array that is the row to write
+     *                              for {@code conditionTO}.
+     */
+    public static Object[] toRow(ConditionTO conditionTO,
+            Set<ConditionDAO.ConditionParameter> observedCondParams) {
+        List<Object> values = new ArrayList<>(Arrays.asList(conditionTO.getId(),
+                conditionTO.getSpeciesId(), conditionTO.getAnatEntityId(),
+                conditionTO.getCellTypeId(), conditionTO.getStageId(),
+                conditionTO.getSex() == null? null: conditionTO.getSex().getStringRepresentation(),
+                conditionTO.getStrainId()));
+        for (ConditionDAO.ConditionParameter condParam:
+            EnumSet.allOf(ConditionDAO.ConditionParameter.class)) {
+            values.add(observedCondParams.contains(condParam));
+        }
+        return values.toArray();
+    }
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the file
+     *          {@link #MAX_RANK_TABLE_NAME}, in the order of the values of
+     *          {@link #toRow(DAODataType, ConditionRankInfoTO)}, the associated value
+     *          being their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getMaxRankColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(DATA_TYPE, ColumnType.STRING);
+        columnTypes.put(MAX_RANK, ColumnType.DOUBLE);
+        columnTypes.put(GLOBAL_MAX_RANK, ColumnType.DOUBLE);
+        return columnTypes;
+    }
+    /**
+     * @param dataType      The {@code DAODataType} the max ranks were computed for.
+     * @param rankInfoTO    A {@code ConditionRankInfoTO} storing the max ranks of a species
+     *                      for {@code dataType}, to be written in the file {@link #MAX_RANK_TABLE_NAME}.
+     * @return              An {@code Object} array that is the row to write for {@code rankInfoTO}.
+     */
+    public static Object[] toRow(DAODataType dataType, ConditionRankInfoTO rankInfoTO) {
+        return new Object[]{dataType, rankInfoTO.getMaxRank(), rankInfoTO.getGlobalMaxRank()};
+    }
+
+    /**
+     * Retrieves, by binary search, the row storing a global condition.
+     *
+     * @param file          The {@code ColumnarFile} storing the table {@link #TABLE_NAME}.
+     * @param conditionId   An {@code int} that is the ID of the requested global condition.
+     * @return              An {@code int} that is the index of the row storing the condition,
+     *                      -1 if not found.
+     */
+    static int getRowByConditionId(ColumnarFile file, int conditionId) {
+        ColumnarFile.Column idCol = file.getColumn(ConditionDAO.Attribute.ID.getTOFieldName());
+        int row = idCol.lowerBound(0, file.getRowCount(), conditionId);
+        return row < file.getRowCount() && idCol.getRawLong(row) == conditionId? row: -1;
+    }
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarConditionDAO(ColumnarDAOManager manager) throws IllegalArgumentException {
+        super(manager);
+    }
+
+    @Override
+    public ConditionTOResultSet getGlobalConditions(Collection<Integer> speciesIds,
+            Collection<DAOConditionFilter> conditionFilters, Collection<ConditionDAO.Attribute> attributes)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", speciesIds, conditionFilters, attributes);
+        return log.traceExit(this.getDelegate().getConditionDAO().getGlobalConditions(
+                speciesIds, conditionFilters, attributes));
+    }
+
+    @Override
+    public ConditionTOResultSet getGlobalConditions(Collection<DAOConditionFilter2> conditionFilters,
+            Collection<ConditionDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}", conditionFilters, attributes);
+
+        final Set<DAOConditionFilter2> clonedCondFilters = Collections.unmodifiableSet(
+                conditionFilters == null? new LinkedHashSet<>(): new LinkedHashSet<>(conditionFilters));
+        final Set<ConditionDAO.Attribute> clonedAttrs = getAttributes(attributes);
+
+        //The species can be restricted only if they are requested in all filters
+        Set<Integer> requestedSpeciesIds = clonedCondFilters.isEmpty() ||
+                clonedCondFilters.stream().anyMatch(f -> f.getSpeciesIds().isEmpty())? null:
+                    clonedCondFilters.stream().flatMap(f -> f.getSpeciesIds().stream())
+                    .collect(Collectors.toSet());
+        List<ConditionTO> conditionTOs = new ArrayList<>();
+        for (Integer speciesId: this.getManager().getSpeciesIds(requestedSpeciesIds)) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file == null) {
+                continue;
+            }
+            IntPredicate predicate = clonedCondFilters.isEmpty()? row -> true: row -> false;
+            for (DAOConditionFilter2 condFilter: clonedCondFilters) {
+                predicate = predicate.or(getConditionFilterPredicate(file, condFilter));
+            }
+            IntStream.range(0, file.getRowCount()).filter(predicate)
+            .forEach(row -> conditionTOs.add(loadConditionTO(file, row, clonedAttrs)));
+        }
+        return log.traceExit(new ColumnarConditionTOResultSet(this.getManager(),
+                conditionTOs.iterator()));
+    }
+
+    @Override
+    public ConditionTOResultSet getGlobalConditionsFromCallFilters(
+            Collection<DAOCallFilter> callFilters, Collection<ConditionDAO.Attribute> attributes)
+                    throws DAOException {
+        log.traceEntry("{}, {}", callFilters, attributes);
+
+        final LinkedHashSet<DAOCallFilter> clonedCallFilters = callFilters == null?
+                new LinkedHashSet<>(): new LinkedHashSet<>(callFilters);
+        if (clonedCallFilters.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("At least one DAOCallFilter must"
+                    + " be provided"));
+        }
+        final Set<ConditionDAO.Attribute> clonedAttrs = getAttributes(attributes);
+        //no need to read the calls if no filter on observed data, p-values or genes
+        boolean callFiltering = clonedCallFilters.stream()
+                .anyMatch(f -> !f.getCallObservedDataFilters().isEmpty() ||
+                        !f.getPValueFilters().isEmpty() || !f.getGeneIds().isEmpty());
+
+        List<ConditionTO> conditionTOs = new ArrayList<>();
+        for (Integer speciesId: this.getManager().getSpeciesIds(
+                ColumnarGlobalExpressionCallDAO.getFilteredSpeciesIds(clonedCallFilters))) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file == null) {
+                continue;
+            }
+            if (callFiltering) {
+                ColumnarFile callFile = this.getFile(speciesId,
+                        ColumnarGlobalExpressionCallDAO.TABLE_NAME);
+                if (callFile == null) {
+                    continue;
+                }
+                ColumnarFile.Column condIdCol = callFile.getColumn(
+                        ColumnarGlobalExpressionCallDAO.GLOBAL_CONDITION_ID);
+                TreeSet<Integer> condIds = ColumnarGlobalExpressionCallDAO.getMatchingRows(
+                        callFile, speciesId, clonedCallFilters)
+                        .mapToObj(row -> condIdCol.getInteger(row))
+                        .collect(Collectors.toCollection(TreeSet::new));
+                for (Integer condId: condIds) {
+                    int row = getRowByConditionId(file, condId);
+                    if (row >= 0) {
+                        conditionTOs.add(loadConditionTO(file, row, clonedAttrs));
+                    }
+                }
+            } else {
+                ColumnarFile.Column condIdCol = file.getColumn(
+                        ConditionDAO.Attribute.ID.getTOFieldName());
+                IntPredicate predicate = row -> false;
+                for (DAOCallFilter callFilter: clonedCallFilters) {
+                    predicate = predicate.or(ColumnarGlobalExpressionCallDAO
+                            .getSpeciesGeneConditionPredicate(speciesId, callFilter, null,
+                                    row -> condIdCol.getInteger(row)));
+                }
+                IntStream.range(0, file.getRowCount()).filter(predicate)
+                .forEach(row -> conditionTOs.add(loadConditionTO(file, row, clonedAttrs)));
+            }
+        }
+        return log.traceExit(new ColumnarConditionTOResultSet(this.getManager(),
+                conditionTOs.iterator()));
+    }
+
+    @Override
+    public ConditionTOResultSet getGlobalConditionsFromPrecomputedCallCounts(
+            DAOCallFilter callFilter, Collection<ConditionDAO.Attribute> attributes)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", callFilter, attributes);
+        //the precomputed call counts are not exported
+        return log.traceExit(this.getDelegate().getConditionDAO()
+                .getGlobalConditionsFromPrecomputedCallCounts(callFilter, attributes));
+    }
+
+    @Override
+    public ConditionTOResultSet getGlobalConditionsFromIds(Collection<Integer> conditionIds,
+            Collection<ConditionDAO.Attribute> attributes) throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", conditionIds, attributes);
+        if (conditionIds == null || conditionIds.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("Should provide at least one condition ID"));
+        }
+        final TreeSet<Integer> clonedConditionIds = new TreeSet<>(conditionIds);
+        final Set<ConditionDAO.Attribute> clonedAttrs = getAttributes(attributes);
+
+        List<ConditionTO> conditionTOs = new ArrayList<>();
+        for (Integer speciesId: this.getManager().getSpeciesIds()) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file == null || file.getRowCount() == 0) {
+                continue;
+            }
+            ColumnarFile.Column idCol = file.getColumn(ConditionDAO.Attribute.ID.getTOFieldName());
+            for (Integer condId: clonedConditionIds.subSet((int) idCol.getMin(), true,
+                    (int) idCol.getMax(), true)) {
+                int row = getRowByConditionId(file, condId);
+                if (row >= 0) {
+                    conditionTOs.add(loadConditionTO(file, row, clonedAttrs));
+                }
+            }
+        }
+        return log.traceExit(new ColumnarConditionTOResultSet(this.getManager(),
+                conditionTOs.iterator()));
+    }
+
+    @Override
+    public GlobalConditionToRawConditionTOResultSet getGlobalCondToRawCondBySpeciesIds(
+            Collection<Integer> speciesIds, Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesIds, conditionParameters);
+        //the mappings to raw conditions are not exported
+        return log.traceExit(this.getDelegate().getConditionDAO()
+                .getGlobalCondToRawCondBySpeciesIds(speciesIds, conditionParameters));
+    }
+
+    @Override
+    public int getMaxGlobalConditionId() throws DAOException {
+        log.traceEntry();
+        int maxId = 0;
+        for (Integer speciesId: this.getManager().getSpeciesIds()) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file != null && file.getRowCount() > 0) {
+                maxId = Math.max(maxId, (int) file.getColumn(
+                        ConditionDAO.Attribute.ID.getTOFieldName()).getMax());
+            }
+        }
+        return log.traceExit(maxId);
+    }
+
+    @Override
+    public Map<Integer, ConditionRankInfoTO> getMaxRanks(Collection<Integer> speciesIds,
+            Collection<DAODataType> dataTypes) throws DAOException {
+        log.traceEntry("{}, {}", speciesIds, dataTypes);
+        final Set<DAODataType> clonedDataTypes = Collections.unmodifiableSet(
+                dataTypes == null || dataTypes.isEmpty()? EnumSet.allOf(DAODataType.class):
+                    EnumSet.copyOf(dataTypes));
+
+        Map<Integer, ConditionRankInfoTO> results = new HashMap<>();
+        for (Integer speciesId: this.getManager().getSpeciesIds(speciesIds)) {
+            ColumnarFile file = this.getFile(speciesId, MAX_RANK_TABLE_NAME);
+            if (file == null || file.getRowCount() == 0) {
+                continue;
+            }
+            ColumnarFile.Column dataTypeCol = file.getColumn(DATA_TYPE);
+            ColumnarFile.Column maxRankCol = file.getColumn(MAX_RANK);
+            ColumnarFile.Column globalMaxRankCol = file.getColumn(GLOBAL_MAX_RANK);
+            //As in the MySQL implementation, null ranks are considered equal to 0
+            BigDecimal maxRank = BigDecimal.ZERO;
+            BigDecimal globalMaxRank = BigDecimal.ZERO;
+            for (int row = 0; row < file.getRowCount(); row++) {
+                if (!clonedDataTypes.contains(DAODataType.valueOf(dataTypeCol.getString(row)))) {
+                    continue;
+                }
+                BigDecimal rowMaxRank = maxRankCol.getBigDecimal(row);
+                if (rowMaxRank != null && rowMaxRank.compareTo(maxRank) > 0) {
+                    maxRank = rowMaxRank;
+                }
+                BigDecimal rowGlobalMaxRank = globalMaxRankCol.getBigDecimal(row);
+                if (rowGlobalMaxRank != null && rowGlobalMaxRank.compareTo(globalMaxRank) > 0) {
+                    globalMaxRank = rowGlobalMaxRank;
+                }
+            }
+            results.put(speciesId, new ConditionRankInfoTO(maxRank, globalMaxRank));
+        }
+        return log.traceExit(results);
+    }
+
+    @Override
+    public int insertGlobalConditions(Collection<ConditionTO> conditionTOs) throws DAOException {
+        throw this.unsupportedOperation("insertGlobalConditions");
+    }
+
+    @Override
+    public int insertGlobalConditionToRawCondition(
+            Collection<GlobalConditionToRawConditionTO> globalCondToRawCondTOs)
+                    throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertGlobalConditionToRawCondition");
+    }
+
+    private static Set<ConditionDAO.Attribute> getAttributes(Collection<ConditionDAO.Attribute> attributes) {
+        return Collections.unmodifiableSet(attributes == null || attributes.isEmpty()?
+                EnumSet.allOf(ConditionDAO.Attribute.class): EnumSet.copyOf(attributes));
+    }
+
+    /**
+     * Builds the {@code IntPredicate} testing the rows of the file {@link #TABLE_NAME}
+     * with the same logic as the MySQL implementation: anat. entity and cell type IDs
+     * are checked in both columns, since cell types can be used to annotate
+     * anat. entities; the parameters of a same filter are seen as "AND" conditions.
+     */
+    private static IntPredicate getConditionFilterPredicate(ColumnarFile file,
+            DAOConditionFilter2 condFilter) {
+        log.traceEntry("{}, {}", file, condFilter);
+        ColumnarFile.Column anatEntityCol = file.getColumn(
+                ConditionDAO.Attribute.ANAT_ENTITY_ID.getTOFieldName());
+        ColumnarFile.Column cellTypeCol = file.getColumn(
+                ConditionDAO.Attribute.CELL_TYPE_ID.getTOFieldName());
+        IntPredicate predicate = row -> true;
+
+        Set<String> anatEntityIds = condFilter.getAnatEntityIds();
+        Set<String> cellTypeIds = condFilter.getCellTypeIds();
+        if (!anatEntityIds.isEmpty() && !cellTypeIds.isEmpty()) {
+            predicate = predicate.and(row -> {
+                String anatEntityId = anatEntityCol.getString(row);
+                String cellTypeId = cellTypeCol.getString(row);
+                return anatEntityIds.contains(anatEntityId) && cellTypeIds.contains(cellTypeId) ||
+                        anatEntityIds.contains(cellTypeId) && cellTypeIds.contains(anatEntityId);
+            });
+        } else if (!anatEntityIds.isEmpty() || !cellTypeIds.isEmpty()) {
+            Set<String> ids = !anatEntityIds.isEmpty()? anatEntityIds: cellTypeIds;
+            predicate = predicate.and(row -> ids.contains(anatEntityCol.getString(row)) ||
+                    ids.contains(cellTypeCol.getString(row)));
+        }
+        Set<String> excludedIds = condFilter.getExcludedAnatEntityCellTypeIds();
+        if (excludedIds != null && !excludedIds.isEmpty()) {
+            predicate = predicate.and(row -> {
+                String anatEntityId = anatEntityCol.getString(row);
+                String cellTypeId = cellTypeCol.getString(row);
+                //As with NOT IN in SQL, null values never match
+                return anatEntityId != null && !excludedIds.contains(anatEntityId) &&
+                        cellTypeId != null && !excludedIds.contains(cellTypeId);
+            });
+        }
+        if (!condFilter.getSpeciesIds().isEmpty()) {
+            ColumnarFile.Column col = file.getColumn(ConditionDAO.Attribute.SPECIES_ID.getTOFieldName());
+            predicate = predicate.and(row -> condFilter.getSpeciesIds().contains(col.getInteger(row)));
+        }
+        predicate = predicate.and(getStringPredicate(file, ConditionDAO.Attribute.STAGE_ID,
+                condFilter.getDevStageIds()));
+        predicate = predicate.and(getStringPredicate(file, ConditionDAO.Attribute.SEX_ID,
+                condFilter.getSexIds()));
+        predicate = predicate.and(getStringPredicate(file, ConditionDAO.Attribute.STRAIN_ID,
+                condFilter.getStrainIds()));
+        for (ConditionDAO.ConditionParameter condParam: condFilter.getObservedCondForParams()) {
+            ColumnarFile.Column col = file.getColumn(getObservedColumnName(condParam));
+            predicate = predicate.and(row -> Boolean.TRUE.equals(col.getBoolean(row)));
+        }
+        return log.traceExit(predicate);
+    }
+    private static IntPredicate getStringPredicate(ColumnarFile file, ConditionDAO.Attribute attr,
+            Set<String> requestedValues) {
+        log.traceEntry("{}, {}, {}", file, attr, requestedValues);
+        if (requestedValues.isEmpty()) {
+            return log.traceExit(row -> true);
+        }
+        ColumnarFile.Column col = file.getColumn(attr.getTOFieldName());
+        //Compare dictionary codes rather than Strings
+        Set<Long> codes = requestedValues.stream().map(v -> (long) col.getDictionaryCode(v))
+                .filter(code -> code >= 0)
+                .collect(Collectors.toSet());
+        return log.traceExit(row -> codes.contains(col.getRawLong(row)));
+    }
+
+    private static ConditionTO loadConditionTO(ColumnarFile file, int row,
+            Set<ConditionDAO.Attribute> attrs) {
+        log.traceEntry("{}, {}, {}", file, row, attrs);
+        String sex = attrs.contains(ConditionDAO.Attribute.SEX_ID)?
+                file.getColumn(ConditionDAO.Attribute.SEX_ID.getTOFieldName()).getString(row): null;
+        return log.traceExit(new ConditionTO(
+                attrs.contains(ConditionDAO.Attribute.ID)? file.getColumn(
+                        ConditionDAO.Attribute.ID.getTOFieldName()).getInteger(row): null,
+                getString(file, row, attrs, ConditionDAO.Attribute.ANAT_ENTITY_ID),
+                getString(file, row, attrs, ConditionDAO.Attribute.STAGE_ID),
+                getString(file, row, attrs, ConditionDAO.Attribute.CELL_TYPE_ID),
+                sex == null? null: ConditionTO.DAOSex.convertToDAOSex(sex),
+                getString(file, row, attrs, ConditionDAO.Attribute.STRAIN_ID),
+                attrs.contains(ConditionDAO.Attribute.SPECIES_ID)? file.getColumn(
+                        ConditionDAO.Attribute.SPECIES_ID.getTOFieldName()).getInteger(row): null,
+                null));
+    }
+    private static String getString(ColumnarFile file, int row, Set<ConditionDAO.Attribute> attrs,
+            ConditionDAO.Attribute attr) {
+        return attrs.contains(attr)? file.getColumn(attr.getTOFieldName()).getString(row): null;
+    }
+
+    /**
+     * Implementation of the {@code ConditionTOResultSet} for the columnar files.
+     */
+    private static class ColumnarConditionTOResultSet extends ColumnarDAOResultSet<ConditionTO>
+            implements ConditionTOResultSet {
+        private ColumnarConditionTOResultSet(ColumnarDAOManager manager,
+                Iterator<ConditionTO> iterator) {
+            super(manager, iterator);
+        }
+    }
+}
@@ -0,0 +1,1211 @@
+package org.bgee.model.dao.columnar.expressiondata.call;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAO;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.CallDAOFilter;
+import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter2;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValue;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter2;
+import org.bgee.model.dao.api.expressiondata.call.DAOMeanRank;
+import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
+import org.bgee.model.dao.columnar.ColumnarDAO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOResultSet;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+import org.bgee.model.dao.columnar.gene.ColumnarGeneDAO;
+
+/**
+ * A {@code GlobalExpressionCallDAO} reading, for each species, the file {@link #TABLE_NAME},
+ * storing one row per global expression call, sorted by Bgee gene ID and global condition ID.
+ * The columns are named as the fields of the {@code globalExpression} table
+ * of the MySQL database, except for the weights used to compute mean ranks,
+ * that are stored for each call, including for the data types for which the weight
+ * is related to the condition (see {@link DAODataType#isRankWeightRelatedToCondition()}).
+ * <p>
+ * Filtering on Bgee gene IDs uses a binary search over the rows, filtering on condition IDs
+ * and on FDR p-values uses the zone maps of the related columns to skip blocks of rows.
+ * When no ordering is requested, or when ordering by Bgee gene ID and global condition ID,
+ * the calls are lazily read; otherwise, the matching rows are sorted in memory, only the top
+ * {@code offset + limit} rows being kept when a limit is requested.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @see org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarGlobalExpressionCallDAO extends ColumnarDAO<GlobalExpressionCallDAO.Attribute>
+implements GlobalExpressionCallDAO {
+    private final static Logger log = LogManager.getLogger(
+            ColumnarGlobalExpressionCallDAO.class.getName());
+
+    public final static String TABLE_NAME = "globalExpression";
+    public final static String BGEE_GENE_ID = "bgeeGeneId";
+    public final static String GLOBAL_CONDITION_ID = "globalConditionId";
+    public final static String P_VALUE_PREFIX = "pVal";
+    public final static String BEST_DESCENDANT_P_VALUE_PREFIX = "pValBestDescendant";
+    public final static String SELF_OBS_COUNT_PREFIX = "selfObsCount";
+    public final static String DESCENDANT_OBS_COUNT_PREFIX = "descObsCount";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the file {@link #TABLE_NAME} are sorted by.
+     */
+    public final static List<String> SORT_COLUMNS = Collections.unmodifiableList(
+            Arrays.asList(BGEE_GENE_ID, GLOBAL_CONDITION_ID));
+
+    private final static EnumSet<ConditionDAO.Attribute> ALL_COND_PARAMS =
+            ConditionDAO.Attribute.getCondParams();
+    /**
+     * An {@code int} that is the maximum initial capacity of the heap used to keep
+     * the top rows when sorting the calls in memory.
+     */
+    private final static int DEFAULT_HEAP_CAPACITY = 10000;
+
+    /**
+     * @param dataTypes         An {@code EnumSet} of {@code DAODataType}s that are the data types
+     *                          the FDR p-value was computed from.
+     * @param bestDescendant    A {@code boolean} defining whether the column stores
+     *                          the best FDR p-value among the descendant conditions.
+     * @return                  A {@code String} that is the name of the column storing
+     *                          the requested FDR p-value.
+     */
+    public static String getPValueColumnName(EnumSet<DAODataType> dataTypes,
+            boolean bestDescendant) {
+        log.traceEntry("{}, {}", dataTypes, bestDescendant);
+        return log.traceExit((bestDescendant? BEST_DESCENDANT_P_VALUE_PREFIX: P_VALUE_PREFIX)
+                + getFieldNamePartFromDataTypes(dataTypes));
+    }
+    /**
+     * @param dataType      The {@code DAODataType} of the observation count.
+     * @param condParams    An {@code EnumSet} of {@code ConditionDAO.Attribute}s that are
+     *                      the condition parameters considered for the count.
+     * @param selfObsCount  A {@code boolean} defining whether the column stores the count
+     *                      of observations in the condition itself ({@code true}),
+     *                      or in its descendant conditions ({@code false}).
+     * @return              A {@code String} that is the name of the column storing
+     *                      the requested count.
+     */
+    public static String getObsCountColumnName(DAODataType dataType,
+            EnumSet<ConditionDAO.Attribute> condParams, boolean selfObsCount) {
+        log.traceEntry("{}, {}, {}", dataType, condParams, selfObsCount);
+        //We iterate an EnumSet to have a predictable order of iteration to generate fieldNamePart
+        return log.traceExit((selfObsCount? SELF_OBS_COUNT_PREFIX: DESCENDANT_OBS_COUNT_PREFIX)
+                + dataType.getFieldNamePart()
+                + condParams.stream().map(a -> a.getFieldNamePart()).collect(Collectors.joining()));
+    }
+    private static String getFieldNamePartFromDataTypes(EnumSet<DAODataType> dataTypes) {
+        log.traceEntry("{}", dataTypes);
+        //We iterate an EnumSet to have a predictable order of iteration to generate fieldNamePart
+        return log.traceExit(dataTypes.stream()
+                .map(dt -> dt.getFieldNamePart())
+                .collect(Collectors.joining()));
+    }
+
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the file
+     *          {@link #TABLE_NAME}, in the order of the values of
+     *          {@link #toRow(GlobalExpressionCallTO)}, the associated value being
+     *          their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(BGEE_GENE_ID, ColumnType.INT);
+        columnTypes.put(GLOBAL_CONDITION_ID, ColumnType.INT);
+        for (DAODataType dataType: EnumSet.allOf(DAODataType.class)) {
+            columnTypes.put(dataType.getRankFieldName(true), ColumnType.DOUBLE);
+            columnTypes.put(dataType.getRankNormFieldName(true), ColumnType.DOUBLE);
+            columnTypes.put(dataType.getRankWeightFieldName(true), ColumnType.DOUBLE);
+        }
+        for (EnumSet<DAODataType> dataTypes: DAODataType.ALL_COMBINATIONS) {
+            columnTypes.put(getPValueColumnName(dataTypes, false), ColumnType.DOUBLE);
+            columnTypes.put(getPValueColumnName(dataTypes, true), ColumnType.DOUBLE);
+        }
+        for (DAODataType dataType: EnumSet.allOf(DAODataType.class)) {
+            for (EnumSet<ConditionDAO.Attribute> condParams:
+                    ConditionDAO.Attribute.ALL_COND_PARAM_COMBINATIONS) {
+                columnTypes.put(getObsCountColumnName(dataType, condParams, true), ColumnType.INT);
+            }
+            //Only for all condition parameters there is a descendant observation count
+            columnTypes.put(getObsCountColumnName(dataType, ALL_COND_PARAMS, false), ColumnType.INT);
+        }
+        return columnTypes;
+    }
+    /**
+     * @param callTO    A {@code GlobalExpressionCallTO} to be written in the file
+     *                  {@link #TABLE_NAME}, retrieved with all {@code GlobalExpressionCallDAO.Attribute}s
+     *                  for all data types and condition parameter combinations.
+     * @return          An {@code Object} array that is the row to write for {@code callTO}.
+     */
+    public static Object[] toRow(GlobalExpressionCallTO callTO) {
+        log.traceEntry("{}", callTO);
+        Map<String, Object> values = new HashMap<>();
+        values.put(BGEE_GENE_ID, callTO.getBgeeGeneId());
+        values.put(GLOBAL_CONDITION_ID, callTO.getConditionId());
+        if (callTO.getPValues() != null) {
+            for (DAOFDRPValue pValue: callTO.getPValues()) {
+                values.put(getPValueColumnName(pValue.getDataTypes(), false),
+                        pValue.getFdrPValue());
+            }
+        }
+        if (callTO.getBestDescendantPValues() != null) {
+            for (DAOFDRPValue pValue: callTO.getBestDescendantPValues()) {
+                values.put(getPValueColumnName(pValue.getDataTypes(), true),
+                        pValue.getFdrPValue());
+            }
+        }
+        if (callTO.getCallDataTOs() != null) {
+            for (GlobalExpressionCallDataTO callDataTO: callTO.getCallDataTOs()) {
+                DAODataType dataType = callDataTO.getDataType();
+                values.put(dataType.getRankFieldName(true), callDataTO.getRank());
+                values.put(dataType.getRankNormFieldName(true), callDataTO.getRankNorm());
+                values.put(dataType.getRankWeightFieldName(true),
+                        callDataTO.getWeightForMeanRank());
+                for (Map.Entry<EnumSet<ConditionDAO.Attribute>, Integer> count:
+                    callDataTO.getSelfObservationCount().entrySet()) {
+                    values.put(getObsCountColumnName(dataType, count.getKey(), true),
+                            count.getValue());
+                }
+                values.put(getObsCountColumnName(dataType, ALL_COND_PARAMS, false),
+                        callDataTO.getDescendantObservationCount().get(ALL_COND_PARAMS));
+            }
+        }
+        return log.traceExit(getColumnTypes().entrySet().stream()
+                .map(e -> {
+                    Object value = values.get(e.getKey());
+                    //counts are never null in the data source
+                    if (value == null && e.getValue() == ColumnType.INT) {
+                        return 0;
+                    }
+                    return value;
+                })
+                .toArray());
+    }
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarGlobalExpressionCallDAO(ColumnarDAOManager manager)
+            throws IllegalArgumentException {
+        super(manager);
+    }
+
+    @Override
+    public GlobalExpressionCallTOResultSet getGlobalExpressionCalls(
+            Collection<CallDAOFilter> callFilters, Collection<AttributeInfo> attributes,
+            LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttributes)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", callFilters, attributes, orderingAttributes);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getGlobalExpressionCalls(callFilters, attributes, orderingAttributes));
+    }
+
+    @Override
+    public GlobalExpressionCallTOResultSet getGlobalExpressionCalls2(
+            Collection<DAOCallFilter> callFilters, Collection<AttributeInfo> attributes,
+            LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttributes,
+            Long offset, Integer limit) throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}", callFilters, attributes, orderingAttributes,
+                offset, limit);
+
+        if (offset != null && offset < 0 || limit != null && limit < 1) {
+            throw log.throwing(new IllegalStateException(
+                    "offset can not be < 0 and limit can not be < 1"));
+        }
+        if (orderingAttributes != null && orderingAttributes.keySet().stream().anyMatch(a ->
+                a.getAttribute().equals(GlobalExpressionCallDAO.OrderingAttribute.OMA_GROUP_ID))) {
+            //the OMA groups of the genes are not exported
+            return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                    .getGlobalExpressionCalls2(callFilters, attributes, orderingAttributes,
+                            offset, limit));
+        }
+        return log.traceExit(new ColumnarGlobalExpressionCallTOResultSet(this.getManager(),
+                this.getCallTOs(callFilters, attributes, orderingAttributes, null, null,
+                        offset, limit).iterator()));
+    }
+
+    @Override
+    public GlobalExpressionCallTOResultSet getGlobalExpressionCalls2AfterKey(
+            Collection<DAOCallFilter> callFilters, Collection<AttributeInfo> attributes,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, int limit)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}", callFilters, attributes, afterBgeeGeneId,
+                afterGlobalConditionId, limit);
+        if (afterBgeeGeneId == null || afterGlobalConditionId == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The Bgee gene ID and the global condition ID of the key must be provided"));
+        }
+        if (limit < 1) {
+            throw log.throwing(new IllegalArgumentException("limit can not be < 1"));
+        }
+        LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs = new LinkedHashMap<>();
+        orderingAttrs.put(new OrderingAttributeInfo(GlobalExpressionCallDAO.OrderingAttribute.BGEE_GENE_ID),
+                DAO.Direction.ASC);
+        orderingAttrs.put(new OrderingAttributeInfo(
+                GlobalExpressionCallDAO.OrderingAttribute.GLOBAL_CONDITION_ID), DAO.Direction.ASC);
+        return log.traceExit(new ColumnarGlobalExpressionCallTOResultSet(this.getManager(),
+                this.getCallTOs(callFilters, attributes, orderingAttrs,
+                        afterBgeeGeneId, afterGlobalConditionId, null, limit).iterator()));
+    }
+
+    /**
+     * Retrieves the calls matching {@code callFilters}, ordered as requested.
+     * If {@code afterBgeeGeneId} and {@code afterGlobalConditionId} are not {@code null},
+     * only the calls with a (Bgee gene ID, global condition ID) key greater than them
+     * are retrieved, the first row after the key is then found by binary search
+     * (see {@link #getFirstRowAfterKey(ColumnarFile, Integer, Integer)}).
+     * <p>
+     * Only the calls returned are loaded: when the calls are read in the natural order
+     * of the files, the rows before {@code offset} are skipped without being loaded;
+     * when the calls need to be sorted in memory and a {@code limit} is provided,
+     * only the top {@code offset + limit} rows are kept, in a bounded heap,
+     * rather than sorting all the matching rows.
+     *
+     * @see #getGlobalExpressionCalls2(Collection, Collection, LinkedHashMap, Long, Integer)
+     * @see #getGlobalExpressionCalls2AfterKey(Collection, Collection, Integer, Integer, int)
+     */
+    private Stream<GlobalExpressionCallTO> getCallTOs(Collection<DAOCallFilter> callFilters,
+            Collection<AttributeInfo> attributes,
+            LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttributes,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, Long offset, Integer limit)
+                    throws IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", callFilters, attributes, orderingAttributes,
+                afterBgeeGeneId, afterGlobalConditionId, offset, limit);
+
+        final LinkedHashSet<DAOCallFilter> clonedCallFilters = callFilters == null?
+                new LinkedHashSet<>(): new LinkedHashSet<>(callFilters);
+        if (clonedCallFilters.isEmpty() && limit == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "At least a DAOCallFilters or a limit must be provided"));
+        }
+        final LinkedHashMap<OrderingAttributeInfo, DAO.Direction> clonedOrderingAttrs =
+                orderingAttributes == null? new LinkedHashMap<>():
+                    new LinkedHashMap<>(orderingAttributes);
+        if (clonedOrderingAttrs.keySet().stream().anyMatch(a ->
+                a.getAttribute().equals(GlobalExpressionCallDAO.OrderingAttribute.OMA_GROUP_ID))) {
+            throw this.unsupportedOperation("ordering by " + GlobalExpressionCallDAO.OrderingAttribute.OMA_GROUP_ID);
+        }
+        final Set<AttributeInfo> clonedAttrs = getAttributeInfos(attributes,
+                clonedOrderingAttrs.keySet());
+
+        //Retrieve the files to read, in the order they should be read
+        //if no in-memory sorting is needed.
+        Map<Integer, ColumnarFile> speciesIdToFile = new LinkedHashMap<>();
+        for (Integer speciesId: this.getManager().getSpeciesIds(
+                getFilteredSpeciesIds(clonedCallFilters))) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file != null && file.getRowCount() > 0) {
+                speciesIdToFile.put(speciesId, file);
+            }
+        }
+        List<Integer> orderedSpeciesIds = speciesIdToFile.keySet().stream()
+                .sorted(Comparator.comparingLong(id -> speciesIdToFile.get(id)
+                        .getColumn(BGEE_GENE_ID).getMin()))
+                .collect(Collectors.toList());
+        boolean naturalOrder = isNaturalOrder(clonedOrderingAttrs);
+        if (naturalOrder && !clonedOrderingAttrs.isEmpty()) {
+            //The files can be read one after the other only if the ranges of Bgee gene IDs
+            //of the species do not overlap
+            for (int i = 1; i < orderedSpeciesIds.size(); i++) {
+                if (speciesIdToFile.get(orderedSpeciesIds.get(i - 1)).getColumn(BGEE_GENE_ID).getMax() >=
+                        speciesIdToFile.get(orderedSpeciesIds.get(i)).getColumn(BGEE_GENE_ID).getMin()) {
+                    naturalOrder = false;
+                    break;
+                }
+            }
+        }
+
+        long skip = offset == null? 0: offset;
+        Stream<SortableRow> rows = null;
+        if (naturalOrder) {
+            rows = orderedSpeciesIds.stream().flatMap(speciesId -> {
+                ColumnarFile file = speciesIdToFile.get(speciesId);
+                return getMatchingRows(file, speciesId, clonedCallFilters,
+                        getFirstRowAfterKey(file, afterBgeeGeneId, afterGlobalConditionId))
+                        .mapToObj(row -> new SortableRow(file, row, null, 0));
+            }).skip(skip);
+            if (limit != null) {
+                rows = rows.limit(limit);
+            }
+        } else {
+            List<DAO.Direction> directions = new ArrayList<>();
+            //Rows with equal sort keys are kept in the order they are read,
+            //as with a stable sort
+            Comparator<SortableRow> comparator = (r1, r2) -> {
+                int comp = compareSortKeys(r1.sortKeys, r2.sortKeys, directions);
+                return comp != 0? comp: Long.compare(r1.readIndex, r2.readIndex);
+            };
+            //If a limit is provided, we keep only the top (offset + limit) rows
+            //in a heap whose head is the greatest row kept.
+            long maxRowCount = limit == null? Long.MAX_VALUE: skip + limit;
+            PriorityQueue<SortableRow> topRows = new PriorityQueue<>(
+                    (int) Math.min(maxRowCount, DEFAULT_HEAP_CAPACITY), comparator.reversed());
+            long readIndex = 0;
+            for (Map.Entry<Integer, ColumnarFile> speciesIdFile: speciesIdToFile.entrySet()) {
+                int speciesId = speciesIdFile.getKey();
+                ColumnarFile file = speciesIdFile.getValue();
+                directions.clear();
+                List<IntFunction<Comparable<?>>> keyExtractors = this.getSortKeyExtractors(
+                        speciesId, file, clonedOrderingAttrs, directions);
+                PrimitiveIterator.OfInt rowIt = getMatchingRows(file, speciesId, clonedCallFilters,
+                        getFirstRowAfterKey(file, afterBgeeGeneId, afterGlobalConditionId))
+                        .iterator();
+                while (rowIt.hasNext()) {
+                    int row = rowIt.nextInt();
+                    SortableRow sortableRow = new SortableRow(file, row, keyExtractors.stream()
+                            .map(extractor -> extractor.apply(row))
+                            .toArray(Comparable<?>[]::new), readIndex++);
+                    if (topRows.size() < maxRowCount) {
+                        topRows.add(sortableRow);
+                    } else if (comparator.compare(sortableRow, topRows.peek()) < 0) {
+                        topRows.poll();
+                        topRows.add(sortableRow);
+                    }
+                }
+            }
+            List<SortableRow> sortedRows = new ArrayList<>(topRows);
+            sortedRows.sort(comparator);
+            rows = sortedRows.stream().skip(skip);
+        }
+        return log.traceExit(rows.map(r -> loadCallTO(r.file, r.row, clonedAttrs)));
+    }
+    /**
+     * Retrieves, by binary search, the first row of {@code file} with a
+     * (Bgee gene ID, global condition ID) key greater than the provided key,
+     * the rows being sorted by Bgee gene ID, then global condition ID
+     * (see {@link #SORT_COLUMNS}).
+     *
+     * @param file                      The {@code ColumnarFile} storing the calls of a species.
+     * @param afterBgeeGeneId           An {@code Integer} that is the Bgee gene ID of the key
+     *                                  the rows must be after. If {@code null},
+     *                                  all rows are accepted.
+     * @param afterGlobalConditionId    An {@code Integer} that is the global condition ID
+     *                                  of the key the rows must be after.
+     * @return                          An {@code int} that is the index of the first row
+     *                                  after the provided key, 0 if {@code afterBgeeGeneId}
+     *                                  is {@code null}.
+     */
+    static int getFirstRowAfterKey(ColumnarFile file, Integer afterBgeeGeneId,
+            Integer afterGlobalConditionId) {
+        log.traceEntry("{}, {}, {}", file, afterBgeeGeneId, afterGlobalConditionId);
+        if (afterBgeeGeneId == null) {
+            return log.traceExit(0);
+        }
+        ColumnarFile.Column geneCol = file.getColumn(BGEE_GENE_ID);
+        ColumnarFile.Column condCol = file.getColumn(GLOBAL_CONDITION_ID);
+        int geneFromRow = geneCol.lowerBound(0, file.getRowCount(), afterBgeeGeneId);
+        int geneToRow = geneCol.lowerBound(geneFromRow, file.getRowCount(),
+                (long) afterBgeeGeneId + 1);
+        return log.traceExit(condCol.lowerBound(geneFromRow, geneToRow,
+                (long) afterGlobalConditionId + 1));
+    }
+
+    @Override
+    public long getGlobalExpressionCallsCount(Collection<DAOCallFilter> callFilters)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}", callFilters);
+        final LinkedHashSet<DAOCallFilter> clonedCallFilters = callFilters == null?
+                new LinkedHashSet<>(): new LinkedHashSet<>(callFilters);
+        long count = 0;
+        for (Integer speciesId: this.getManager().getSpeciesIds(
+                getFilteredSpeciesIds(clonedCallFilters))) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file != null) {
+                count += getMatchingRows(file, speciesId, clonedCallFilters).count();
+            }
+        }
+        return log.traceExit(count);
+    }
+
+    @Override
+    public boolean isCoveredByPrecomputedCounts(DAOCallFilter callFilter) throws DAOException {
+        log.traceEntry("{}", callFilter);
+        //counts are computed by scanning the column files, there are no precomputed counts
+        return log.traceExit(false);
+    }
+
+    @Override
+    public long getPrecomputedGlobalExpressionCallsCount(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}", callFilter);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getPrecomputedGlobalExpressionCallsCount(callFilter));
+    }
+
+    @Override
+    public int insertPrecomputedGlobalExpressionCallsCounts(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertPrecomputedGlobalExpressionCallsCounts");
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<Integer> getMinMaxRanksPerGene(
+            Collection<DAODataType> dataTypes, Collection<CallDAOFilter> callFilters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", dataTypes, callFilters);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getMinMaxRanksPerGene(dataTypes, callFilters));
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<String> getMinMaxRanksPerAnatEntity(
+            Collection<DAODataType> dataTypes, Collection<CallDAOFilter> callFilters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", dataTypes, callFilters);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getMinMaxRanksPerAnatEntity(dataTypes, callFilters));
+    }
+
+    @Override
+    public Set<Integer> getSpeciesIdsWithPrecomputedMinMaxRanks(Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesIds, conditionParameters);
+        //min. and max ranks are not precomputed in the column files
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getSpeciesIdsWithPrecomputedMinMaxRanks(speciesIds, conditionParameters));
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<Integer> getPrecomputedMinMaxRanksPerGene(
+            Collection<Integer> bgeeGeneIds, Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", bgeeGeneIds, speciesIds, conditionParameters);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getPrecomputedMinMaxRanksPerGene(bgeeGeneIds, speciesIds, conditionParameters));
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<String> getPrecomputedMinMaxRanksPerAnatEntity(
+            Collection<Integer> speciesIds, Collection<String> anatEntityIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", speciesIds, anatEntityIds, conditionParameters);
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO()
+                .getPrecomputedMinMaxRanksPerAnatEntity(speciesIds, anatEntityIds,
+                        conditionParameters));
+    }
+
+    @Override
+    public int insertPrecomputedMinMaxRanks(Collection<ConditionDAO.Attribute> conditionParameters,
+            CallDAOFilter callFilter) throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertPrecomputedMinMaxRanks");
+    }
+
+    @Override
+    public long getMaxGlobalExprId() throws DAOException {
+        log.traceEntry();
+        return log.traceExit(this.getDelegate().getGlobalExpressionCallDAO().getMaxGlobalExprId());
+    }
+
+    @Override
+    public int insertGlobalCalls(Collection<GlobalExpressionCallTO> callTOs)
+            throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertGlobalCalls");
+    }
+
+    //*************************************************************************
+    // FILTERING
+    //*************************************************************************
+    /**
+     * @param callFilters   A {@code Collection} of {@code DAOCallFilter}s.
+     * @return              A {@code Set} of {@code Integer}s that are the IDs of the only species
+     *                      that can have calls matching {@code callFilters},
+     *                      {@code null} if calls of any species can match.
+     */
+    static Set<Integer> getFilteredSpeciesIds(Collection<DAOCallFilter> callFilters) {
+        log.traceEntry("{}", callFilters);
+        //Genes and conditions requested can belong to species not requested
+        //in the same filter, so that we can restrict the species to read
+        //only when species are the only IDs requested in all filters.
+        if (callFilters.isEmpty() || callFilters.stream().anyMatch(f ->
+                f.getSpeciesIds().isEmpty() || !f.getGeneIds().isEmpty() ||
+                !f.getConditionIds().isEmpty())) {
+            return log.traceExit((Set<Integer>) null);
+        }
+        return log.traceExit(callFilters.stream().flatMap(f -> f.getSpeciesIds().stream())
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Retrieves the rows of the file {@link #TABLE_NAME} of a species matching
+     * the provided {@code DAOCallFilter}s, seen as "OR" conditions.
+     *
+     * @param file          The {@code ColumnarFile} storing the calls of the species.
+     * @param speciesId     An {@code int} that is the ID of the species.
+     * @param callFilters   A {@code Collection} of {@code DAOCallFilter}s. If empty,
+     *                      all rows are returned.
+     * @return              An {@code IntStream} of the matching rows, in ascending order.
+     */
+    static IntStream getMatchingRows(ColumnarFile file, int speciesId,
+            Collection<DAOCallFilter> callFilters) {
+        log.traceEntry("{}, {}, {}", file, speciesId, callFilters);
+        return log.traceExit(getMatchingRows(file, speciesId, callFilters, 0));
+    }
+    /**
+     * Same as {@link #getMatchingRows(ColumnarFile, int, Collection)}, but retrieving
+     * only the rows starting from {@code fromRow}, the blocks before it being skipped.
+     *
+     * @param file          The {@code ColumnarFile} storing the calls of the species.
+     * @param speciesId     An {@code int} that is the ID of the species.
+     * @param callFilters   A {@code Collection} of {@code DAOCallFilter}s. If empty,
+     *                      all rows are returned.
+     * @param fromRow       An {@code int} that is the first row to consider, inclusive.
+     * @return              An {@code IntStream} of the matching rows, in ascending order.
+     */
+    static IntStream getMatchingRows(ColumnarFile file, int speciesId,
+            Collection<DAOCallFilter> callFilters, int fromRow) {
+        log.traceEntry("{}, {}, {}, {}", file, speciesId, callFilters, fromRow);
+        if (callFilters.isEmpty()) {
+            return log.traceExit(IntStream.range(fromRow, file.getRowCount()));
+        }
+        ColumnarFile.Column geneCol = file.getColumn(BGEE_GENE_ID);
+        ColumnarFile.Column condCol = file.getColumn(GLOBAL_CONDITION_ID);
+        IntPredicate rowPredicate = row -> false;
+        IntPredicate blockPredicate = block -> false;
+        TreeSet<Integer> restrictedGeneIds = new TreeSet<>();
+        for (DAOCallFilter callFilter: callFilters) {
+            IntPredicate filterRowPredicate = getSpeciesGeneConditionPredicate(speciesId,
+                    callFilter, row -> (int) geneCol.getRawLong(row),
+                    row -> (int) condCol.getRawLong(row))
+                    .and(getDataPredicate(file, callFilter));
+            rowPredicate = rowPredicate.or(filterRowPredicate);
+            IntPredicate filterBlockPredicate = getSpeciesGeneConditionPredicate(speciesId,
+                    callFilter, null, null, geneCol, condCol)
+                    .and(getPValueBlockPredicate(file, callFilter));
+            blockPredicate = blockPredicate.or(filterBlockPredicate);
+            //Check whether the filter can only match the requested genes
+            if (restrictedGeneIds != null && isRestrictedToGenes(speciesId, callFilter)) {
+                restrictedGeneIds.addAll(callFilter.getGeneIds());
+            } else {
+                restrictedGeneIds = null;
+            }
+        }
+        final IntPredicate finalRowPredicate = rowPredicate;
+        final IntPredicate finalBlockPredicate = blockPredicate;
+        IntStream candidateRows = null;
+        if (restrictedGeneIds != null) {
+            //Binary search of the rows of each gene
+            candidateRows = restrictedGeneIds.stream().flatMapToInt(geneId -> {
+                int geneFromRow = geneCol.lowerBound(0, file.getRowCount(), geneId);
+                int geneToRow = geneCol.lowerBound(geneFromRow, file.getRowCount(),
+                        (long) geneId + 1);
+                return IntStream.range(Math.max(geneFromRow, fromRow), geneToRow);
+            });
+        } else {
+            candidateRows = IntStream.range(fromRow / file.getBlockSize(), file.getBlockCount())
+                    .filter(finalBlockPredicate)
+                    .flatMap(block -> IntStream.range(
+                            Math.max(block * file.getBlockSize(), fromRow),
+                            Math.min((block + 1) * file.getBlockSize(), file.getRowCount())));
+        }
+        return log.traceExit(candidateRows.filter(finalRowPredicate));
+    }
+
+    private static boolean isRestrictedToGenes(int speciesId, DAOCallFilter callFilter) {
+        log.traceEntry("{}, {}", speciesId, callFilter);
+        boolean speciesMatch = callFilter.getSpeciesIds().contains(speciesId);
+        return log.traceExit(!callFilter.getGeneIds().isEmpty() && !speciesMatch);
+    }
+
+    /**
+     * Builds the {@code IntPredicate} corresponding to the filtering on species IDs,
+     * Bgee gene IDs and global condition IDs of {@code callFilter}: the species IDs are seen
+     * as "OR" conditions with the gene IDs and condition IDs, the gene IDs and condition IDs
+     * are seen as "AND" conditions if both provided, as in the MySQL implementation.
+     *
+     * @param speciesId     An {@code int} that is the ID of the species the rows belong to.
+     * @param callFilter    The {@code DAOCallFilter} to build the predicate for.
+     * @param geneIdGetter  An {@code IntFunction} retrieving the Bgee gene ID of a row.
+     *                      Can be {@code null} if {@code callFilter} has no gene IDs.
+     * @param condIdGetter  An {@code IntFunction} retrieving the condition ID of a row.
+     * @return              An {@code IntPredicate} testing rows.
+     */
+    static IntPredicate getSpeciesGeneConditionPredicate(int speciesId, DAOCallFilter callFilter,
+            IntFunction<Integer> geneIdGetter, IntFunction<Integer> condIdGetter) {
+        log.traceEntry("{}, {}, {}, {}", speciesId, callFilter, geneIdGetter, condIdGetter);
+        Set<Integer> geneIds = callFilter.getGeneIds();
+        Set<Integer> condIds = callFilter.getConditionIds();
+        return log.traceExit(getSpeciesGeneConditionPredicate(speciesId, callFilter,
+                row -> geneIds.contains(geneIdGetter.apply(row)),
+                row -> condIds.contains(condIdGetter.apply(row)), null, null));
+    }
+    private static IntPredicate getSpeciesGeneConditionPredicate(int speciesId,
+            DAOCallFilter callFilter, IntPredicate geneIn, IntPredicate condIn,
+            ColumnarFile.Column geneCol, ColumnarFile.Column condCol) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", speciesId, callFilter, geneIn, condIn,
+                geneCol, condCol);
+        boolean hasSpecies = !callFilter.getSpeciesIds().isEmpty();
+        boolean hasGenes = !callFilter.getGeneIds().isEmpty();
+        boolean hasConds = !callFilter.getConditionIds().isEmpty();
+        if (!hasSpecies && !hasGenes && !hasConds ||
+                callFilter.getSpeciesIds().contains(speciesId)) {
+            return log.traceExit(row -> true);
+        }
+        //When testing blocks rather than rows, we use the zone maps
+        TreeSet<Integer> sortedGeneIds = new TreeSet<>(callFilter.getGeneIds());
+        TreeSet<Integer> sortedCondIds = new TreeSet<>(callFilter.getConditionIds());
+        IntPredicate finalGeneIn = geneIn != null? geneIn:
+            block -> isAnyIdInBlock(geneCol, block, sortedGeneIds);
+        IntPredicate finalCondIn = condIn != null? condIn:
+            block -> isAnyIdInBlock(condCol, block, sortedCondIds);
+        if (hasGenes && hasConds) {
+            return log.traceExit(finalGeneIn.and(finalCondIn));
+        }
+        if (hasGenes) {
+            return log.traceExit(finalGeneIn);
+        }
+        if (hasConds) {
+            return log.traceExit(finalCondIn);
+        }
+        return log.traceExit(row -> false);
+    }
+    private static boolean isAnyIdInBlock(ColumnarFile.Column col, int block, TreeSet<Integer> ids) {
+        log.traceEntry("{}, {}, {}", col, block, ids);
+        long min = col.getBlockMin(block);
+        long max = col.getBlockMax(block);
+        if (min > max) {
+            return log.traceExit(false);
+        }
+        Integer id = ids.ceiling((int) Math.max(min, Integer.MIN_VALUE));
+        return log.traceExit(id != null && id <= max);
+    }
+
+    private static IntPredicate getDataPredicate(ColumnarFile file, DAOCallFilter callFilter) {
+        log.traceEntry("{}, {}", file, callFilter);
+        IntPredicate predicate = row -> true;
+        if (!callFilter.getCallObservedDataFilters().isEmpty()) {
+            IntPredicate observedPredicate = row -> false;
+            for (CallObservedDataDAOFilter2 dataFilter: callFilter.getCallObservedDataFilters()) {
+                observedPredicate = observedPredicate.or(getObservedDataPredicate(file, dataFilter));
+            }
+            predicate = predicate.and(observedPredicate);
+        }
+        if (!callFilter.getPValueFilters().isEmpty()) {
+            IntPredicate pValuePredicate = row -> false;
+            for (Set<DAOFDRPValueFilter2> pValueFilters: callFilter.getPValueFilters()) {
+                IntPredicate andPredicate = row -> true;
+                for (DAOFDRPValueFilter2 pValueFilter: pValueFilters) {
+                    andPredicate = andPredicate.and(getPValuePredicate(file, pValueFilter));
+                }
+                pValuePredicate = pValuePredicate.or(andPredicate);
+            }
+            predicate = predicate.and(pValuePredicate);
+        }
+        return log.traceExit(predicate);
+    }
+
+    private static IntPredicate getObservedDataPredicate(ColumnarFile file,
+            CallObservedDataDAOFilter2 dataFilter) {
+        log.traceEntry("{}, {}", file, dataFilter);
+        EnumSet<ConditionDAO.Attribute> condParams = ColumnarConditionDAO.convertToAttributes(
+                dataFilter.getCondParams());
+        List<ColumnarFile.Column> selfCols = dataFilter.getDataTypes().stream()
+                .map(dt -> file.getColumn(getObsCountColumnName(dt, condParams, true)))
+                .collect(Collectors.toList());
+        if (dataFilter.isCallObservedData()) {
+            //If we request observed data, it can be observed by any data type
+            return log.traceExit(row -> selfCols.stream().anyMatch(col -> getCount(col, row) > 0));
+        }
+        //If we request non-observed data, it must be non-observed by each data type
+        IntPredicate predicate = row -> selfCols.stream().allMatch(col -> getCount(col, row) == 0);
+        if (!dataFilter.getDataTypes().equals(EnumSet.allOf(DAODataType.class))) {
+            //And we need to make sure we have data for at least one of the requested data types,
+            //using the only descendant observation counts available, for all condition parameters
+            List<ColumnarFile.Column[]> allCondParamsCols = dataFilter.getDataTypes().stream()
+                    .map(dt -> new ColumnarFile.Column[]{
+                            file.getColumn(getObsCountColumnName(dt, ALL_COND_PARAMS, true)),
+                            file.getColumn(getObsCountColumnName(dt, ALL_COND_PARAMS, false))})
+                    .collect(Collectors.toList());
+            predicate = predicate.and(row -> allCondParamsCols.stream()
+                    .anyMatch(cols -> getCount(cols[0], row) + getCount(cols[1], row) > 0));
+        }
+        return log.traceExit(predicate);
+    }
+
+    private static IntPredicate getPValuePredicate(ColumnarFile file,
+            DAOFDRPValueFilter2 pValueFilter) {
+        log.traceEntry("{}, {}", file, pValueFilter);
+        EnumSet<DAODataType> dataTypes = getPValueDataTypes(pValueFilter);
+        ColumnarFile.Column pValueCol = file.getColumn(getPValueColumnName(dataTypes,
+                isBestDescendantPValue(pValueFilter)));
+        BigDecimal threshold = pValueFilter.getPValue().getFdrPValue();
+        IntPredicate predicate = row -> {
+            BigDecimal pValue = pValueCol.getBigDecimal(row);
+            if (pValue == null) {
+                return pValueFilter.isNoDataAllowed();
+            }
+            int comp = pValue.compareTo(threshold);
+            switch (pValueFilter.getQualifier()) {
+            case EQUALS_TO:
+                return comp == 0;
+            case GREATER_THAN:
+                return comp > 0;
+            case GREATER_THAN_OR_EQUALS_TO:
+                return comp >= 0;
+            case LESS_THAN:
+                return comp < 0;
+            case LESS_THAN_OR_EQUALS_TO:
+                return comp <= 0;
+            default:
+                throw log.throwing(new IllegalStateException("Unsupported qualifier: "
+                        + pValueFilter.getQualifier()));
+            }
+        };
+        if (pValueFilter.isSelfObservationRequired()) {
+            EnumSet<ConditionDAO.Attribute> condParams = ColumnarConditionDAO.convertToAttributes(
+                    pValueFilter.getCondParams());
+            List<ColumnarFile.Column> selfCols = dataTypes.stream()
+                    .map(dt -> file.getColumn(getObsCountColumnName(dt, condParams, true)))
+                    .collect(Collectors.toList());
+            predicate = predicate.and(row -> selfCols.stream()
+                    .mapToInt(col -> getCount(col, row)).sum() > 0);
+        }
+        return log.traceExit(predicate);
+    }
+
+    /**
+     * Uses the zone maps of the FDR p-value columns to identify the blocks that cannot contain
+     * rows matching the FDR p-value filters of {@code callFilter}.
+     */
+    private static IntPredicate getPValueBlockPredicate(ColumnarFile file,
+            DAOCallFilter callFilter) {
+        log.traceEntry("{}, {}", file, callFilter);
+        if (callFilter.getPValueFilters().isEmpty()) {
+            return log.traceExit(block -> true);
+        }
+        IntPredicate pValuePredicate = block -> false;
+        for (Set<DAOFDRPValueFilter2> pValueFilters: callFilter.getPValueFilters()) {
+            IntPredicate andPredicate = block -> true;
+            for (DAOFDRPValueFilter2 pValueFilter: pValueFilters) {
+                //Zone maps do not store whether a block contains null values
+                if (pValueFilter.isNoDataAllowed()) {
+                    continue;
+                }
+                ColumnarFile.Column pValueCol = file.getColumn(getPValueColumnName(
+                        getPValueDataTypes(pValueFilter), isBestDescendantPValue(pValueFilter)));
+                double threshold = pValueFilter.getPValue().getFdrPValue().doubleValue();
+                //The bounds are extended to not be affected by rounding errors
+                double min = Double.NEGATIVE_INFINITY;
+                double max = Double.POSITIVE_INFINITY;
+                switch (pValueFilter.getQualifier()) {
+                case EQUALS_TO:
+                    min = Math.nextDown(threshold);
+                    max = Math.nextUp(threshold);
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUALS_TO:
+                    min = Math.nextDown(threshold);
+                    break;
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUALS_TO:
+                    max = Math.nextUp(threshold);
+                    break;
+                default:
+                    throw log.throwing(new IllegalStateException("Unsupported qualifier: "
+                            + pValueFilter.getQualifier()));
+                }
+                final double finalMin = min;
+                final double finalMax = max;
+                andPredicate = andPredicate.and(block ->
+                    pValueCol.isBlockOverlapping(block, finalMin, finalMax));
+            }
+            pValuePredicate = pValuePredicate.or(andPredicate);
+        }
+        return log.traceExit(pValuePredicate);
+    }
+
+    private static EnumSet<DAODataType> getPValueDataTypes(DAOFDRPValueFilter2 pValueFilter) {
+        return pValueFilter.getPValue().getDataTypes().isEmpty()?
+                EnumSet.allOf(DAODataType.class): pValueFilter.getPValue().getDataTypes();
+    }
+    private static boolean isBestDescendantPValue(DAOFDRPValueFilter2 pValueFilter) {
+        log.traceEntry("{}", pValueFilter);
+        if (DAOPropagationState.SELF_AND_DESCENDANT.equals(pValueFilter.getPropagationState())) {
+            return log.traceExit(false);
+        }
+        if (DAOPropagationState.DESCENDANT.equals(pValueFilter.getPropagationState())) {
+            return log.traceExit(true);
+        }
+        throw log.throwing(new IllegalArgumentException(
+                "Unsupported propagation state in PValueFilter: "
+                + pValueFilter.getPropagationState()));
+    }
+    private static int getCount(ColumnarFile.Column col, int row) {
+        Integer count = col.getInteger(row);
+        return count == null? 0: count;
+    }
+
+    //*************************************************************************
+    // ORDERING
+    //*************************************************************************
+    /**
+     * @return  {@code true} if the rows of the files, read one after the other,
+     *          are in the order requested by {@code orderingAttrs}.
+     */
+    private static boolean isNaturalOrder(
+            LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs) {
+        log.traceEntry("{}", orderingAttrs);
+        List<GlobalExpressionCallDAO.OrderingAttribute> naturalOrder = Arrays.asList(GlobalExpressionCallDAO.OrderingAttribute.BGEE_GENE_ID,
+                GlobalExpressionCallDAO.OrderingAttribute.GLOBAL_CONDITION_ID);
+        int i = 0;
+        for (Map.Entry<OrderingAttributeInfo, DAO.Direction> orderingAttr: orderingAttrs.entrySet()) {
+            if (i >= naturalOrder.size() ||
+                    !orderingAttr.getKey().getAttribute().equals(naturalOrder.get(i)) ||
+                    !DAO.Direction.ASC.equals(orderingAttr.getValue())) {
+                return log.traceExit(false);
+            }
+            i++;
+        }
+        return log.traceExit(true);
+    }
+
+    /**
+     * A row to be sorted in memory, with the values it is sorted on.
+     */
+    private static class SortableRow {
+        private final ColumnarFile file;
+        private final int row;
+        private final Comparable<?>[] sortKeys;
+        /**
+         * A {@code long} that is the index of this row in the order the rows were read,
+         * to order the rows with equal sort keys.
+         */
+        private final long readIndex;
+
+        private SortableRow(ColumnarFile file, int row, Comparable<?>[] sortKeys,
+                long readIndex) {
+            this.file = file;
+            this.row = row;
+            this.sortKeys = sortKeys;
+            this.readIndex = readIndex;
+        }
+    }
+
+    private List<IntFunction<Comparable<?>>> getSortKeyExtractors(int speciesId,
+            ColumnarFile file, LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs,
+            List<DAO.Direction> directions) throws DAOException {
+        log.traceEntry("{}, {}, {}, {}", speciesId, file, orderingAttrs, directions);
+
+        List<IntFunction<Comparable<?>>> keyExtractors = new ArrayList<>();
+        ColumnarFile.Column geneIdCol = file.getColumn(BGEE_GENE_ID);
+        ColumnarFile.Column condIdCol = file.getColumn(GLOBAL_CONDITION_ID);
+        for (Map.Entry<OrderingAttributeInfo, DAO.Direction> orderingAttr: orderingAttrs.entrySet()) {
+            GlobalExpressionCallDAO.OrderingAttribute attr = orderingAttr.getKey().getAttribute();
+            switch (attr) {
+            case BGEE_GENE_ID:
+                keyExtractors.add(row -> geneIdCol.getInteger(row));
+                break;
+            case GLOBAL_CONDITION_ID:
+                keyExtractors.add(row -> condIdCol.getInteger(row));
+                break;
+            case PUBLIC_GENE_ID:
+                //As in the MySQL implementation, calls are ordered by species ID first
+                keyExtractors.add(row -> speciesId);
+                directions.add(DAO.Direction.ASC);
+                ColumnarFile geneFile = this.getFile(speciesId, ColumnarGeneDAO.TABLE_NAME);
+                if (geneFile == null) {
+                    throw log.throwing(new DAOException("Missing file "
+                            + ColumnarGeneDAO.TABLE_NAME + " for species " + speciesId));
+                }
+                ColumnarFile.Column bgeeGeneIdCol = geneFile.getColumn(ColumnarGeneDAO.BGEE_GENE_ID);
+                ColumnarFile.Column publicGeneIdCol = geneFile.getColumn(ColumnarGeneDAO.GENE_ID);
+                keyExtractors.add(row -> {
+                    int geneRow = bgeeGeneIdCol.lowerBound(0, geneFile.getRowCount(),
+                            geneIdCol.getRawLong(row));
+                    return geneRow < geneFile.getRowCount()?
+                            publicGeneIdCol.getString(geneRow): null;
+                });
+                break;
+            case ANAT_ENTITY_ID:
+            case STAGE_ID:
+            case CELL_TYPE_ID:
+            case SEX_ID:
+            case STRAIN_ID:
+                ColumnarFile condFile = this.getFile(speciesId, ColumnarConditionDAO.TABLE_NAME);
+                if (condFile == null) {
+                    throw log.throwing(new DAOException("Missing file "
+                            + ColumnarConditionDAO.TABLE_NAME + " for species " + speciesId));
+                }
+                //the field names of these OrderingAttributes are the column names
+                ColumnarFile.Column condParamCol = condFile.getColumn(attr.getFieldName());
+                keyExtractors.add(row -> {
+                    int condRow = ColumnarConditionDAO.getRowByConditionId(condFile,
+                            condIdCol.getInteger(row));
+                    return condRow < 0? null: condParamCol.getString(condRow);
+                });
+                break;
+            case MEAN_RANK:
+                EnumSet<DAODataType> dataTypes = orderingAttr.getKey().getTargetedDataTypes();
+                keyExtractors.add(row -> computeMeanRank(file, row, dataTypes));
+                break;
+            default:
+                throw this.unsupportedOperation("ordering by " + attr);
+            }
+            directions.add(orderingAttr.getValue());
+        }
+        return log.traceExit(keyExtractors);
+    }
+
+    //As in MySQL, null values are considered lower than any non-null values
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareSortKeys(Comparable<?>[] keys1, Comparable<?>[] keys2,
+            List<DAO.Direction> directions) {
+        for (int i = 0; i < keys1.length; i++) {
+            Comparable key1 = keys1[i];
+            Comparable key2 = keys2[i];
+            int comp = 0;
+            if (key1 == null) {
+                comp = key2 == null? 0: -1;
+            } else if (key2 == null) {
+                comp = 1;
+            } else {
+                comp = key1.compareTo(key2);
+            }
+            if (DAO.Direction.DESC.equals(directions.get(i))) {
+                comp = -comp;
+            }
+            if (comp != 0) {
+                return comp;
+            }
+        }
+        return 0;
+    }
+
+    //*************************************************************************
+    // TO LOADING
+    //*************************************************************************
+    private static Set<AttributeInfo> getAttributeInfos(Collection<AttributeInfo> attributes,
+            Collection<OrderingAttributeInfo> orderingAttrs) {
+        log.traceEntry("{}, {}", attributes, orderingAttrs);
+        Set<AttributeInfo> attrs = new LinkedHashSet<>();
+        if (attributes == null || attributes.isEmpty()) {
+            for (GlobalExpressionCallDAO.Attribute attr: EnumSet.allOf(GlobalExpressionCallDAO.Attribute.class)) {
+                if (attr.isDataTypeDependent() || attr.isCondParamDependent()) {
+                    attrs.add(new AttributeInfo(attr, null, null));
+                } else {
+                    attrs.add(new AttributeInfo(attr));
+                }
+            }
+        } else {
+            attrs.addAll(attributes);
+        }
+        //fix for #173, as in the MySQL implementation
+        for (OrderingAttributeInfo a: orderingAttrs) {
+            switch (a.getAttribute()) {
+            case BGEE_GENE_ID:
+                attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.BGEE_GENE_ID));
+                break;
+            case GLOBAL_CONDITION_ID:
+                attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.GLOBAL_CONDITION_ID));
+                break;
+            case MEAN_RANK:
+                if (attrs.stream().noneMatch(ai -> ai.getAttribute().equals(GlobalExpressionCallDAO.Attribute.MEAN_RANK) &&
+                        ai.getTargetedDataTypes().equals(a.getTargetedDataTypes()))) {
+                    attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.MEAN_RANK, a.getTargetedDataTypes(),
+                            null));
+                }
+                break;
+            default:
+                //other ordering attributes do not have a corresponding select attribute
+                break;
+            }
+        }
+        return log.traceExit(Collections.unmodifiableSet(attrs));
+    }
+
+    /**
+     * Computes the weighted mean of the normalized ranks of the requested data types,
+     * as in the MySQL implementation.
+     *
+     * @return  A {@code BigDecimal} that is the mean rank, with a scale of 2,
+     *          or {@code null} if there is no rank for any of the requested data types.
+     */
+    private static BigDecimal computeMeanRank(ColumnarFile file, int row,
+            EnumSet<DAODataType> dataTypes) {
+        log.traceEntry("{}, {}, {}", file, row, dataTypes);
+        BigDecimal weightedRankSum = BigDecimal.ZERO;
+        BigDecimal weightSum = BigDecimal.ZERO;
+        boolean rankFound = false;
+        for (DAODataType dataType: dataTypes) {
+            BigDecimal rankNorm = file.getColumn(dataType.getRankNormFieldName(true))
+                    .getBigDecimal(row);
+            if (rankNorm == null) {
+                continue;
+            }
+            BigDecimal weight = file.getColumn(dataType.getRankWeightFieldName(true))
+                    .getBigDecimal(row);
+            if (weight == null) {
+                return log.traceExit((BigDecimal) null);
+            }
+            rankFound = true;
+            weightedRankSum = weightedRankSum.add(rankNorm.multiply(weight));
+            weightSum = weightSum.add(weight);
+        }
+        if (!rankFound || weightSum.signum() == 0) {
+            return log.traceExit((BigDecimal) null);
+        }
+        return log.traceExit(weightedRankSum.divide(weightSum, 2, RoundingMode.HALF_UP));
+    }
+
+    private static GlobalExpressionCallTO loadCallTO(ColumnarFile file, int row,
+            Set<AttributeInfo> attrs) {
+        log.traceEntry("{}, {}, {}", file, row, attrs);
+
+        Integer bgeeGeneId = null, conditionId = null;
+        Set<DAOMeanRank> meanRanks = new HashSet<>();
+        Set<DAOFDRPValue> pValues = new HashSet<>();
+        Set<DAOFDRPValue> bestDescendantPValues = new HashSet<>();
+        //Information for each data type, to build the GlobalExpressionCallDataTOs
+        Set<DAODataType> dataTypesWithInfo = EnumSet.noneOf(DAODataType.class);
+        Set<DAODataType> dataTypesWithRankInfo = EnumSet.noneOf(DAODataType.class);
+        Map<DAODataType, Map<EnumSet<ConditionDAO.Attribute>, Integer>> selfObsCounts =
+                new HashMap<>();
+        Map<DAODataType, Map<EnumSet<ConditionDAO.Attribute>, Integer>> descObsCounts =
+                new HashMap<>();
+
+        for (AttributeInfo attr: attrs) {
+            switch (attr.getAttribute()) {
+            case BGEE_GENE_ID:
+                bgeeGeneId = file.getColumn(BGEE_GENE_ID).getInteger(row);
+                break;
+            case GLOBAL_CONDITION_ID:
+                conditionId = file.getColumn(GLOBAL_CONDITION_ID).getInteger(row);
+                break;
+            case MEAN_RANK:
+                BigDecimal meanRank = computeMeanRank(file, row, attr.getTargetedDataTypes());
+                if (meanRank != null) {
+                    meanRanks.add(new DAOMeanRank(meanRank, attr.getTargetedDataTypes()));
+                }
+                break;
+            case DATA_TYPE_RANK_INFO:
+                dataTypesWithRankInfo.addAll(attr.getTargetedDataTypes());
+                dataTypesWithInfo.addAll(attr.getTargetedDataTypes());
+                break;
+            case FDR_P_VALUE_COND_INFO:
+                BigDecimal pValue = file.getColumn(getPValueColumnName(
+                        attr.getTargetedDataTypes(), false)).getBigDecimal(row);
+                if (pValue != null) {
+                    pValues.add(new DAOFDRPValue(pValue, attr.getTargetedDataTypes()));
+                }
+                if (attr.getTargetedDataTypes().size() == 1) {
+                    dataTypesWithInfo.addAll(attr.getTargetedDataTypes());
+                }
+                break;
+            case FDR_P_VALUE_DESCENDANT_COND_INFO:
+                BigDecimal bestDescendantPValue = file.getColumn(getPValueColumnName(
+                        attr.getTargetedDataTypes(), true)).getBigDecimal(row);
+                if (bestDescendantPValue != null) {
+                    bestDescendantPValues.add(new DAOFDRPValue(bestDescendantPValue, null,
+                            attr.getTargetedDataTypes()));
+                }
+                if (attr.getTargetedDataTypes().size() == 1) {
+                    dataTypesWithInfo.addAll(attr.getTargetedDataTypes());
+                }
+                break;
+            case DATA_TYPE_OBSERVATION_COUNT_INFO:
+                EnumSet<ConditionDAO.Attribute> condParams = attr.getTargetedCondParams();
+                for (DAODataType dataType: attr.getTargetedDataTypes()) {
+                    dataTypesWithInfo.add(dataType);
+                    int selfCount = getCount(file.getColumn(
+                            getObsCountColumnName(dataType, condParams, true)), row);
+                    int allSelfCount = getCount(file.getColumn(
+                            getObsCountColumnName(dataType, ALL_COND_PARAMS, true)), row);
+                    int allDescCount = getCount(file.getColumn(
+                            getObsCountColumnName(dataType, ALL_COND_PARAMS, false)), row);
+                    //Only for all condition parameters there is a descendant observation count,
+                    //otherwise it is computed from the total count, as in the MySQL implementation
+                    int descCount = condParams.equals(ALL_COND_PARAMS)? allDescCount:
+                        allSelfCount + allDescCount - selfCount;
+                    selfObsCounts.computeIfAbsent(dataType, k -> new HashMap<>())
+                            .put(condParams, selfCount);
+                    descObsCounts.computeIfAbsent(dataType, k -> new HashMap<>())
+                            .put(condParams, descCount);
+                }
+                break;
+            default:
+                throw log.throwing(new IllegalStateException("Unsupported attribute: "
+                        + attr.getAttribute()));
+            }
+        }
+
+        Set<GlobalExpressionCallDataTO> callDataTOs = new HashSet<>();
+        for (DAODataType dataType: dataTypesWithInfo) {
+            Map<EnumSet<ConditionDAO.Attribute>, Integer> selfObsCount =
+                    selfObsCounts.getOrDefault(dataType, new HashMap<>());
+            Map<EnumSet<ConditionDAO.Attribute>, Integer> descObsCount =
+                    descObsCounts.getOrDefault(dataType, new HashMap<>());
+            BigDecimal fdrPValue = pValues.stream()
+                    .filter(p -> p.getDataTypes().equals(EnumSet.of(dataType)))
+                    .map(p -> p.getFdrPValue()).findAny().orElse(null);
+            BigDecimal bestDescendantFDRPValue = bestDescendantPValues.stream()
+                    .filter(p -> p.getDataTypes().equals(EnumSet.of(dataType)))
+                    .map(p -> p.getFdrPValue()).findAny().orElse(null);
+            BigDecimal rank = null, rankNorm = null, weightForMeanRank = null;
+            if (dataTypesWithRankInfo.contains(dataType)) {
+                rank = file.getColumn(dataType.getRankFieldName(true)).getBigDecimal(row);
+                rankNorm = file.getColumn(dataType.getRankNormFieldName(true)).getBigDecimal(row);
+                weightForMeanRank = file.getColumn(dataType.getRankWeightFieldName(true))
+                        .getBigDecimal(row);
+            }
+            //If all variables are null/empty/0, there is no data for this data type
+            if (selfObsCount.values().stream().allMatch(c -> c == 0) &&
+                    descObsCount.values().stream().allMatch(c -> c == 0) &&
+                    fdrPValue == null && bestDescendantFDRPValue == null &&
+                    rank == null && rankNorm == null) {
+                continue;
+            }
+            callDataTOs.add(new GlobalExpressionCallDataTO(dataType, selfObsCount, descObsCount,
+                    fdrPValue, bestDescendantFDRPValue, rank, rankNorm, weightForMeanRank));
+        }
+
+        return log.traceExit(new GlobalExpressionCallTO(null, bgeeGeneId, conditionId,
+                meanRanks, callDataTOs, pValues, bestDescendantPValues));
+    }
+
+    /**
+     * Implementation of the {@code GlobalExpressionCallTOResultSet} for the columnar files.
+     */
+    private static class ColumnarGlobalExpressionCallTOResultSet
+            extends ColumnarDAOResultSet<GlobalExpressionCallTO>
+            implements GlobalExpressionCallTOResultSet {
+        private ColumnarGlobalExpressionCallTOResultSet(ColumnarDAOManager manager,
+                Iterator<GlobalExpressionCallTO> iterator) {
+            super(manager, iterator);
+        }
+    }
+}
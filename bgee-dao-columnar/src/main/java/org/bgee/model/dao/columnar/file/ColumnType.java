@@ -0,0 +1,49 @@
+package org.bgee.model.dao.columnar.file;
+
+/**
+ * The types of the columns stored in a {@link ColumnarFile}. Each type defines
+ * the value used to store {@code null} values.
+ * <ul>
+ * <li>{@code INT}: 4-byte integers, {@code null} stored as {@link Integer#MIN_VALUE}.
+ * {@code Boolean}s are stored as {@code INT}s, with 1 for {@code true} and 0 for {@code false}.
+ * <li>{@code LONG}: 8-byte integers, {@code null} stored as {@link Long#MIN_VALUE}.
+ * <li>{@code DOUBLE}: 8-byte floating point numbers, used to store decimal values,
+ * {@code null} stored as {@link Double#NaN}.
+ * <li>{@code STRING}: dictionary-encoded {@code String}s: the distinct values are stored
+ * once, sorted, in the header of the file, and each row stores the 4-byte index
+ * of its value in the dictionary, {@code null} stored as -1. Since the dictionary is sorted,
+ * the order of the indexes is the same as the natural order of the {@code String}s.
+ * </ul>
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public enum ColumnType {
+    INT(Integer.BYTES), LONG(Long.BYTES), DOUBLE(Double.BYTES), STRING(Integer.BYTES);
+
+    /**
+     * @see #getByteCount()
+     */
+    private final int byteCount;
+
+    private ColumnType(int byteCount) {
+        this.byteCount = byteCount;
+    }
+
+    /**
+     * @return  An {@code int} that is the number of bytes used to store one value
+     *          of this type in a row.
+     */
+    public int getByteCount() {
+        return byteCount;
+    }
+    /**
+     * @return  {@code true} if the values of this type are compared and stored
+     *          in zone maps as {@code long}s, {@code false} if they are compared
+     *          as {@code double}s.
+     */
+    public boolean isIntegral() {
+        return this != DOUBLE;
+    }
+}
@@ -0,0 +1,526 @@
+package org.bgee.model.dao.columnar.file;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Read-only access to a file storing a table column by column, written by
+ * {@link ColumnarFileWriter}. The data of each column are memory-mapped, so that
+ * the operating system page cache is shared between all the threads and processes
+ * reading a same file, and only the parts of the columns actually read are loaded.
+ * <p>
+ * The rows are split into blocks of {@link #getBlockSize()} rows, and the header
+ * of the file stores for each column the min. and max. values of each block
+ * ("zone maps"), allowing to skip the blocks that cannot contain a requested value.
+ * If the rows were sorted when writing the file (see {@link #getSortColumnNames()}),
+ * rows can also be retrieved by binary search, see {@link Column#lowerBound(int, int, long)}.
+ * <p>
+ * File layout, all numbers being big-endian:
+ * <pre>
+ * int      magic number, see {@link #MAGIC}
+ * int      format version, see {@link #FORMAT_VERSION}
+ * int      row count
+ * int      block size
+ * int      sort column count, followed by the sort column names
+ * int      column count, followed for each column by:
+ *   string   column name
+ *   byte     {@link ColumnType} ordinal
+ *   long     offset of the column data in the file
+ *   int      dictionary size, followed by the sorted dictionary, for {@code STRING} columns only
+ *   for each block: min. and max. values, as {@code double}s for {@code DOUBLE} columns,
+ *                   as {@code long}s otherwise
+ * column data, one value per row, each column stored contiguously
+ * </pre>
+ * Strings are stored as an {@code int} length followed by their UTF-8 bytes.
+ * Zone maps ignore {@code null} values: a block containing only {@code null} values
+ * has a min. value greater than its max. value.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarFile implements AutoCloseable {
+    private final static Logger log = LogManager.getLogger(ColumnarFile.class.getName());
+
+    /**
+     * An {@code int} that is the magic number starting a columnar file ("BGCF").
+     */
+    public final static int MAGIC = 0x42474346;
+    /**
+     * An {@code int} that is the version of the file format written and read.
+     */
+    public final static int FORMAT_VERSION = 1;
+    /**
+     * A {@code String} that is the extension of columnar files.
+     */
+    public final static String FILE_EXTENSION = ".bgcol";
+
+    /**
+     * A column of a {@code ColumnarFile}.
+     */
+    public static class Column {
+        private final String name;
+        private final ColumnType type;
+        private final int rowCount;
+        private final int blockSize;
+        private final ByteBuffer data;
+        private final String[] dictionary;
+        private final long[] blockMins;
+        private final long[] blockMaxs;
+        private final double[] blockMinDoubles;
+        private final double[] blockMaxDoubles;
+
+        private Column(String name, ColumnType type, int rowCount, int blockSize,
+                ByteBuffer data, String[] dictionary, long[] blockMins, long[] blockMaxs,
+                double[] blockMinDoubles, double[] blockMaxDoubles) {
+            this.name = name;
+            this.type = type;
+            this.rowCount = rowCount;
+            this.blockSize = blockSize;
+            this.data = data;
+            this.dictionary = dictionary;
+            this.blockMins = blockMins;
+            this.blockMaxs = blockMaxs;
+            this.blockMinDoubles = blockMinDoubles;
+            this.blockMaxDoubles = blockMaxDoubles;
+        }
+
+        /**
+         * @return  A {@code String} that is the name of this column.
+         */
+        public String getName() {
+            return name;
+        }
+        /**
+         * @return  The {@code ColumnType} of this column.
+         */
+        public ColumnType getType() {
+            return type;
+        }
+
+        private int getPosition(int row) {
+            if (row < 0 || row >= this.rowCount) {
+                throw log.throwing(new IndexOutOfBoundsException("Invalid row " + row
+                        + " for column " + this.name));
+            }
+            return row * this.type.getByteCount();
+        }
+        /**
+         * Returns the value stored for {@code row}, as a {@code long}: the value itself
+         * for {@code INT} and {@code LONG} columns, the dictionary index
+         * for {@code STRING} columns. {@code null} values are returned as the value
+         * used to store them (see {@link ColumnType}).
+         *
+         * @param row   An {@code int} that is the index of the row.
+         * @return      A {@code long} that is the raw value stored for {@code row}.
+         * @throws IllegalStateException    If this column is a {@code DOUBLE} column.
+         */
+        public long getRawLong(int row) throws IllegalStateException {
+            int position = this.getPosition(row);
+            switch (this.type) {
+            case INT:
+            case STRING:
+                return this.data.getInt(position);
+            case LONG:
+                return this.data.getLong(position);
+            default:
+                throw log.throwing(new IllegalStateException(
+                        "Raw long values not available for column " + this.name));
+            }
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      {@code true} if the value stored for {@code row} is {@code null}.
+         */
+        public boolean isNull(int row) {
+            switch (this.type) {
+            case INT:
+                return this.getRawLong(row) == Integer.MIN_VALUE;
+            case LONG:
+                return this.getRawLong(row) == Long.MIN_VALUE;
+            case STRING:
+                return this.getRawLong(row) < 0;
+            case DOUBLE:
+                return Double.isNaN(this.data.getDouble(this.getPosition(row)));
+            default:
+                throw log.throwing(new IllegalStateException("Unsupported type: " + this.type));
+            }
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      An {@code Integer} that is the value of an {@code INT} column
+         *              for {@code row}, or {@code null}.
+         */
+        public Integer getInteger(int row) {
+            this.checkType(ColumnType.INT);
+            int value = (int) this.getRawLong(row);
+            return value == Integer.MIN_VALUE? null: value;
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      A {@code Boolean} that is the value of an {@code INT} column
+         *              storing {@code Boolean}s for {@code row}, or {@code null}.
+         */
+        public Boolean getBoolean(int row) {
+            Integer value = this.getInteger(row);
+            return value == null? null: value != 0;
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      A {@code Long} that is the value of a {@code LONG} column
+         *              for {@code row}, or {@code null}.
+         */
+        public Long getLong(int row) {
+            this.checkType(ColumnType.LONG);
+            long value = this.getRawLong(row);
+            return value == Long.MIN_VALUE? null: value;
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      A {@code BigDecimal} that is the value of a {@code DOUBLE} column
+         *              for {@code row}, or {@code null}.
+         */
+        public BigDecimal getBigDecimal(int row) {
+            this.checkType(ColumnType.DOUBLE);
+            double value = this.data.getDouble(this.getPosition(row));
+            return Double.isNaN(value)? null: BigDecimal.valueOf(value);
+        }
+        /**
+         * @param row   An {@code int} that is the index of the row.
+         * @return      A {@code String} that is the value of a {@code STRING} column
+         *              for {@code row}, or {@code null}.
+         */
+        public String getString(int row) {
+            this.checkType(ColumnType.STRING);
+            int code = (int) this.getRawLong(row);
+            return code < 0? null: this.dictionary[code];
+        }
+        /**
+         * @param value A {@code String} to retrieve the dictionary index of.
+         * @return      An {@code int} that is the index of {@code value} in the dictionary
+         *              of this {@code STRING} column, or a negative value if {@code value}
+         *              is never stored in this column.
+         */
+        public int getDictionaryCode(String value) {
+            this.checkType(ColumnType.STRING);
+            if (value == null) {
+                return -1;
+            }
+            int code = Arrays.binarySearch(this.dictionary, value);
+            return code < 0? -1: code;
+        }
+        /**
+         * @return  An unmodifiable {@code List} of the distinct non-{@code null} values
+         *          stored in this {@code STRING} column, in natural order.
+         */
+        public List<String> getDictionary() {
+            this.checkType(ColumnType.STRING);
+            return Collections.unmodifiableList(Arrays.asList(this.dictionary));
+        }
+
+        /**
+         * Determines whether the block {@code block} can contain values between
+         * {@code min} and {@code max}, inclusive, based on the zone map of this column.
+         *
+         * @param block An {@code int} that is the index of the block.
+         * @param min   A {@code long} that is the min. value searched.
+         * @param max   A {@code long} that is the max. value searched.
+         * @return      {@code false} if the block cannot contain any value between
+         *              {@code min} and {@code max}.
+         */
+        public boolean isBlockOverlapping(int block, long min, long max) {
+            if (!this.type.isIntegral()) {
+                throw log.throwing(new IllegalStateException(
+                        "Zone maps of column " + this.name + " are not integral"));
+            }
+            return this.blockMins[block] <= max && this.blockMaxs[block] >= min;
+        }
+        /**
+         * Same as {@link #isBlockOverlapping(int, long, long)} for {@code DOUBLE} columns.
+         *
+         * @param block An {@code int} that is the index of the block.
+         * @param min   A {@code double} that is the min. value searched.
+         * @param max   A {@code double} that is the max. value searched.
+         * @return      {@code false} if the block cannot contain any value between
+         *              {@code min} and {@code max}.
+         */
+        public boolean isBlockOverlapping(int block, double min, double max) {
+            this.checkType(ColumnType.DOUBLE);
+            return this.blockMinDoubles[block] <= max && this.blockMaxDoubles[block] >= min;
+        }
+        /**
+         * @return  A {@code long} that is the min. non-{@code null} raw value
+         *          of this column, or {@link Long#MAX_VALUE} if all values are {@code null}.
+         */
+        public long getMin() {
+            return Arrays.stream(this.blockMins).min().orElse(Long.MAX_VALUE);
+        }
+        /**
+         * @return  A {@code long} that is the max. non-{@code null} raw value
+         *          of this column, or {@link Long#MIN_VALUE} if all values are {@code null}.
+         */
+        public long getMax() {
+            return Arrays.stream(this.blockMaxs).max().orElse(Long.MIN_VALUE);
+        }
+        /**
+         * @param block An {@code int} that is the index of the block.
+         * @return      A {@code long} that is the min. non-{@code null} raw value
+         *              of this integral column in {@code block}, or {@link Long#MAX_VALUE}
+         *              if all values of the block are {@code null}.
+         */
+        public long getBlockMin(int block) {
+            if (!this.type.isIntegral()) {
+                throw log.throwing(new IllegalStateException(
+                        "Zone maps of column " + this.name + " are not integral"));
+            }
+            return this.blockMins[block];
+        }
+        /**
+         * @param block An {@code int} that is the index of the block.
+         * @return      A {@code long} that is the max. non-{@code null} raw value
+         *              of this integral column in {@code block}, or {@link Long#MIN_VALUE}
+         *              if all values of the block are {@code null}.
+         */
+        public long getBlockMax(int block) {
+            if (!this.type.isIntegral()) {
+                throw log.throwing(new IllegalStateException(
+                        "Zone maps of column " + this.name + " are not integral"));
+            }
+            return this.blockMaxs[block];
+        }
+
+        /**
+         * Retrieves, by binary search, the first row between {@code fromRow}
+         * and {@code toRow} whose raw value is greater than or equal to {@code value}.
+         * The rows in this range must be sorted by this column.
+         *
+         * @param fromRow   An {@code int} that is the first row of the range, inclusive.
+         * @param toRow     An {@code int} that is the last row of the range, exclusive.
+         * @param value     A {@code long} that is the raw value searched.
+         * @return          An {@code int} that is the index of the first row whose raw value
+         *                  is greater than or equal to {@code value}, {@code toRow} if none.
+         * @see #getRawLong(int)
+         */
+        public int lowerBound(int fromRow, int toRow, long value) {
+            int low = fromRow;
+            int high = toRow;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.getRawLong(mid) < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void checkType(ColumnType expectedType) {
+            if (this.type != expectedType) {
+                throw log.throwing(new IllegalStateException("Column " + this.name
+                        + " is of type " + this.type + ", not " + expectedType));
+            }
+        }
+    }
+
+    /**
+     * Opens the columnar file {@code file} and maps its columns in memory.
+     *
+     * @param file          The {@code Path} of the file to open.
+     * @return              The opened {@code ColumnarFile}.
+     * @throws IOException  If {@code file} could not be read, or is not a valid
+     *                      columnar file.
+     */
+    public static ColumnarFile open(Path file) throws IOException {
+        log.traceEntry("{}", file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel)));
+            if (in.readInt() != MAGIC) {
+                throw log.throwing(new IOException("Not a columnar file: " + file));
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw log.throwing(new IOException("Unsupported format version " + version
+                        + " for file " + file));
+            }
+            int rowCount = in.readInt();
+            int blockSize = in.readInt();
+            int blockCount = getBlockCount(rowCount, blockSize);
+            int sortColumnCount = in.readInt();
+            List<String> sortColumnNames = new ArrayList<>();
+            for (int i = 0; i < sortColumnCount; i++) {
+                sortColumnNames.add(readString(in));
+            }
+            int columnCount = in.readInt();
+            Map<String, Column> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String name = readString(in);
+                ColumnType type = ColumnType.values()[in.readByte()];
+                long offset = in.readLong();
+                String[] dictionary = null;
+                if (type == ColumnType.STRING) {
+                    dictionary = new String[in.readInt()];
+                    for (int j = 0; j < dictionary.length; j++) {
+                        dictionary[j] = readString(in);
+                    }
+                }
+                long[] blockMins = null, blockMaxs = null;
+                double[] blockMinDoubles = null, blockMaxDoubles = null;
+                if (type.isIntegral()) {
+                    blockMins = new long[blockCount];
+                    blockMaxs = new long[blockCount];
+                    for (int j = 0; j < blockCount; j++) {
+                        blockMins[j] = in.readLong();
+                        blockMaxs[j] = in.readLong();
+                    }
+                } else {
+                    blockMinDoubles = new double[blockCount];
+                    blockMaxDoubles = new double[blockCount];
+                    for (int j = 0; j < blockCount; j++) {
+                        blockMinDoubles[j] = in.readDouble();
+                        blockMaxDoubles[j] = in.readDouble();
+                    }
+                }
+                long length = (long) rowCount * type.getByteCount();
+                if (length > Integer.MAX_VALUE) {
+                    throw log.throwing(new IOException("Column " + name + " too large in file "
+                            + file + ", the rows should be split in several files"));
+                }
+                //The mapping remains valid after the channel is closed
+                ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                columns.put(name, new Column(name, type, rowCount, blockSize, data, dictionary,
+                        blockMins, blockMaxs, blockMinDoubles, blockMaxDoubles));
+            }
+            return log.traceExit(new ColumnarFile(file, rowCount, blockSize, sortColumnNames,
+                    columns));
+        }
+    }
+
+    static int getBlockCount(int rowCount, int blockSize) {
+        return (rowCount + blockSize - 1) / blockSize;
+    }
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private final Path path;
+    private final int rowCount;
+    private final int blockSize;
+    private final List<String> sortColumnNames;
+    private final Map<String, Column> columns;
+
+    private ColumnarFile(Path path, int rowCount, int blockSize, List<String> sortColumnNames,
+            Map<String, Column> columns) {
+        this.path = path;
+        this.rowCount = rowCount;
+        this.blockSize = blockSize;
+        this.sortColumnNames = Collections.unmodifiableList(sortColumnNames);
+        this.columns = Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * @return  The {@code Path} of this file.
+     */
+    public Path getPath() {
+        return path;
+    }
+    /**
+     * @return  An {@code int} that is the number of rows stored in this file.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+    /**
+     * @return  An {@code int} that is the number of rows in each block for which
+     *          zone maps are stored.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+    /**
+     * @return  An {@code int} that is the number of blocks of rows in this file.
+     */
+    public int getBlockCount() {
+        return getBlockCount(this.rowCount, this.blockSize);
+    }
+    /**
+     * @return  An unmodifiable {@code List} of the names of the columns the rows
+     *          were sorted by, in order of priority.
+     */
+    public List<String> getSortColumnNames() {
+        return sortColumnNames;
+    }
+    /**
+     * @return  An unmodifiable {@code Set} of the names of the columns of this file.
+     */
+    public Set<String> getColumnNames() {
+        return columns.keySet();
+    }
+    /**
+     * @param name  A {@code String} that is the name of a column.
+     * @return      {@code true} if this file has a column named {@code name}.
+     */
+    public boolean hasColumn(String name) {
+        return this.columns.containsKey(name);
+    }
+    /**
+     * @param name  A {@code String} that is the name of a column.
+     * @return      The {@code Column} named {@code name}.
+     * @throws IllegalArgumentException If this file has no column named {@code name}.
+     */
+    public Column getColumn(String name) throws IllegalArgumentException {
+        Column column = this.columns.get(name);
+        if (column == null) {
+            throw log.throwing(new IllegalArgumentException("No column " + name
+                    + " in file " + this.path));
+        }
+        return column;
+    }
+
+    /**
+     * Does nothing, as the memory mappings cannot be released explicitly: they are released
+     * when the {@code ColumnarFile} is garbage collected. The file can safely be replaced
+     * once no {@code ColumnarFile} using it is reachable anymore.
+     */
+    @Override
+    public void close() {
+        log.traceEntry();
+        log.traceExit();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("ColumnarFile [path=").append(path)
+               .append(", rowCount=").append(rowCount)
+               .append(", blockSize=").append(blockSize)
+               .append(", sortColumnNames=").append(sortColumnNames)
+               .append(", columns=").append(columns.keySet())
+               .append("]");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,483 @@
+package org.bgee.model.dao.columnar.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes a {@link ColumnarFile}, row by row. The values of each column are first
+ * written to a temporary file, so that the rows do not need to be held in memory;
+ * the final file is assembled and atomically moved to its target location
+ * when {@link #finish()} is called. If {@link #close()} is called before
+ * {@link #finish()}, nothing is written at the target location.
+ * <p>
+ * If sort columns are provided, the rows must be added in ascending order
+ * of these columns, otherwise an {@code IllegalArgumentException} is thrown.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarFileWriter implements AutoCloseable {
+    private final static Logger log = LogManager.getLogger(ColumnarFileWriter.class.getName());
+
+    /**
+     * An {@code int} that is the default number of rows in each block
+     * for which zone maps are stored.
+     */
+    public final static int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * Holds the temporary data of a column being written.
+     */
+    private static class ColumnBuffer {
+        private final String name;
+        private final ColumnType type;
+        private final Path tempFile;
+        private final DataOutputStream out;
+        private final TreeSet<String> distinctValues;
+        private final List<long[]> zoneMaps;
+        private final List<double[]> doubleZoneMaps;
+
+        private ColumnBuffer(String name, ColumnType type, Path tempFile) throws IOException {
+            this.name = name;
+            this.type = type;
+            this.tempFile = tempFile;
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)));
+            this.distinctValues = type == ColumnType.STRING? new TreeSet<>(): null;
+            this.zoneMaps = new ArrayList<>();
+            this.doubleZoneMaps = new ArrayList<>();
+        }
+
+        private void updateZoneMap(int row, int blockSize, long value) {
+            if (row % blockSize == 0) {
+                this.zoneMaps.add(new long[]{Long.MAX_VALUE, Long.MIN_VALUE});
+            }
+            long[] zoneMap = this.zoneMaps.get(this.zoneMaps.size() - 1);
+            zoneMap[0] = Math.min(zoneMap[0], value);
+            zoneMap[1] = Math.max(zoneMap[1], value);
+        }
+        private void addEmptyZoneMap(int row, int blockSize) {
+            if (row % blockSize != 0) {
+                return;
+            }
+            if (this.type == ColumnType.DOUBLE) {
+                this.doubleZoneMaps.add(new double[]{Double.MAX_VALUE, -Double.MAX_VALUE});
+            } else {
+                this.zoneMaps.add(new long[]{Long.MAX_VALUE, Long.MIN_VALUE});
+            }
+        }
+        private void updateZoneMap(int row, int blockSize, double value) {
+            if (row % blockSize == 0) {
+                this.doubleZoneMaps.add(new double[]{Double.MAX_VALUE, -Double.MAX_VALUE});
+            }
+            double[] zoneMap = this.doubleZoneMaps.get(this.doubleZoneMaps.size() - 1);
+            zoneMap[0] = Math.min(zoneMap[0], value);
+            zoneMap[1] = Math.max(zoneMap[1], value);
+        }
+    }
+
+    private final Path target;
+    private final int blockSize;
+    private final List<ColumnBuffer> columns;
+    private final int[] sortColumnIndexes;
+    private final List<String> sortColumnNames;
+    private Object[] previousSortValues;
+    private int rowCount;
+    private boolean finished;
+
+    /**
+     * @param target            The {@code Path} where the file will be written.
+     * @param columnTypes       A {@code LinkedHashMap} where keys are the names of the columns,
+     *                          the associated value being their {@code ColumnType}, in the order
+     *                          of the values provided to {@link #addRow(Object...)}.
+     * @param sortColumnNames   A {@code List} of the names of the columns the rows are sorted by,
+     *                          in order of priority. Can be {@code null} or empty.
+     * @param blockSize         An {@code int} that is the number of rows in each block
+     *                          for which zone maps are stored.
+     * @throws IOException      If the temporary files could not be created.
+     * @throws IllegalArgumentException If a sort column is not part of {@code columnTypes},
+     *                                  or {@code blockSize} is not strictly positive.
+     */
+    public ColumnarFileWriter(Path target, LinkedHashMap<String, ColumnType> columnTypes,
+            List<String> sortColumnNames, int blockSize)
+                    throws IOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}", target, columnTypes, sortColumnNames, blockSize);
+        if (columnTypes == null || columnTypes.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("Columns must be provided"));
+        }
+        if (blockSize <= 0) {
+            throw log.throwing(new IllegalArgumentException("Invalid block size: " + blockSize));
+        }
+        this.target = target.toAbsolutePath();
+        this.blockSize = blockSize;
+        this.sortColumnNames = sortColumnNames == null? new ArrayList<>():
+            new ArrayList<>(sortColumnNames);
+        List<String> names = new ArrayList<>(columnTypes.keySet());
+        this.sortColumnIndexes = new int[this.sortColumnNames.size()];
+        for (int i = 0; i < this.sortColumnIndexes.length; i++) {
+            this.sortColumnIndexes[i] = names.indexOf(this.sortColumnNames.get(i));
+            if (this.sortColumnIndexes[i] < 0) {
+                throw log.throwing(new IllegalArgumentException("Unknown sort column: "
+                        + this.sortColumnNames.get(i)));
+            }
+        }
+        Files.createDirectories(this.target.getParent());
+        this.columns = new ArrayList<>();
+        try {
+            for (Entry<String, ColumnType> entry: columnTypes.entrySet()) {
+                this.columns.add(new ColumnBuffer(entry.getKey(), entry.getValue(),
+                        Files.createTempFile(this.target.getParent(),
+                                this.target.getFileName().toString(), ".tmp")));
+            }
+        } catch (IOException e) {
+            this.close();
+            throw log.throwing(e);
+        }
+        this.rowCount = 0;
+        this.finished = false;
+        log.traceExit();
+    }
+    /**
+     * Same as {@link #ColumnarFileWriter(Path, LinkedHashMap, List, int)}
+     * with the block size {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param target            See {@link #ColumnarFileWriter(Path, LinkedHashMap, List, int)}.
+     * @param columnTypes       See {@link #ColumnarFileWriter(Path, LinkedHashMap, List, int)}.
+     * @param sortColumnNames   See {@link #ColumnarFileWriter(Path, LinkedHashMap, List, int)}.
+     * @throws IOException      If the temporary files could not be created.
+     * @throws IllegalArgumentException If a sort column is not part of {@code columnTypes}.
+     */
+    public ColumnarFileWriter(Path target, LinkedHashMap<String, ColumnType> columnTypes,
+            List<String> sortColumnNames) throws IOException, IllegalArgumentException {
+        this(target, columnTypes, sortColumnNames, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Adds a row to the file. {@code INT} columns accept {@code Integer}s and {@code Boolean}s,
+     * {@code LONG} columns accept {@code Long}s and {@code Integer}s, {@code DOUBLE}
+     * columns accept any {@code Number}, notably {@code BigDecimal}s, {@code STRING}
+     * columns accept {@code String}s and {@code Enum}s (stored by name).
+     * Any value can be {@code null}, except the values of the sort columns.
+     *
+     * @param values    The values of the row, in the order of the columns provided
+     *                  at instantiation.
+     * @throws IOException              If the values could not be written.
+     * @throws IllegalArgumentException If the number or the type of the values is incorrect,
+     *                                  or if the row is not correctly sorted.
+     * @throws IllegalStateException    If {@link #finish()} or {@link #close()} was called.
+     */
+    public void addRow(Object... values)
+            throws IOException, IllegalArgumentException, IllegalStateException {
+        log.traceEntry("{}", values);
+        if (this.finished) {
+            throw log.throwing(new IllegalStateException("Writer already finished or closed"));
+        }
+        if (values == null || values.length != this.columns.size()) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of values: "
+                    + Arrays.toString(values)));
+        }
+        this.checkSortOrder(values);
+
+        for (int i = 0; i < values.length; i++) {
+            ColumnBuffer column = this.columns.get(i);
+            Object value = values[i];
+            switch (column.type) {
+            case INT:
+                if (value != null && !(value instanceof Integer) && !(value instanceof Boolean)) {
+                    throw log.throwing(new IllegalArgumentException("Invalid value for column "
+                            + column.name + ": " + value));
+                }
+                if (value == null) {
+                    column.out.writeInt(Integer.MIN_VALUE);
+                    column.addEmptyZoneMap(this.rowCount, this.blockSize);
+                } else {
+                    int intValue = value instanceof Boolean? ((Boolean) value? 1: 0):
+                        (Integer) value;
+                    column.out.writeInt(intValue);
+                    column.updateZoneMap(this.rowCount, this.blockSize, intValue);
+                }
+                break;
+            case LONG:
+                if (value != null && !(value instanceof Long) && !(value instanceof Integer)) {
+                    throw log.throwing(new IllegalArgumentException("Invalid value for column "
+                            + column.name + ": " + value));
+                }
+                if (value == null) {
+                    column.out.writeLong(Long.MIN_VALUE);
+                    column.addEmptyZoneMap(this.rowCount, this.blockSize);
+                } else {
+                    long longValue = ((Number) value).longValue();
+                    column.out.writeLong(longValue);
+                    column.updateZoneMap(this.rowCount, this.blockSize, longValue);
+                }
+                break;
+            case DOUBLE:
+                if (value != null && !(value instanceof Number)) {
+                    throw log.throwing(new IllegalArgumentException("Invalid value for column "
+                            + column.name + ": " + value));
+                }
+                if (value == null) {
+                    column.out.writeDouble(Double.NaN);
+                    column.addEmptyZoneMap(this.rowCount, this.blockSize);
+                } else {
+                    double doubleValue = ((Number) value).doubleValue();
+                    column.out.writeDouble(doubleValue);
+                    column.updateZoneMap(this.rowCount, this.blockSize, doubleValue);
+                }
+                break;
+            case STRING:
+                if (value != null && !(value instanceof String) && !(value instanceof Enum)) {
+                    throw log.throwing(new IllegalArgumentException("Invalid value for column "
+                            + column.name + ": " + value));
+                }
+                //The dictionary is built at the end, the Strings are temporarily stored as is
+                if (value == null) {
+                    column.out.writeBoolean(false);
+                } else {
+                    String stringValue = value instanceof Enum? ((Enum<?>) value).name():
+                        (String) value;
+                    column.out.writeBoolean(true);
+                    writeString(column.out, stringValue);
+                    column.distinctValues.add(stringValue);
+                }
+                break;
+            default:
+                throw log.throwing(new IllegalStateException("Unsupported type: " + column.type));
+            }
+        }
+        this.rowCount++;
+        log.traceExit();
+    }
+
+    private void checkSortOrder(Object[] values) throws IllegalArgumentException {
+        log.traceEntry("{}", values);
+        if (this.sortColumnIndexes.length == 0) {
+            log.traceExit(); return;
+        }
+        Object[] sortValues = new Object[this.sortColumnIndexes.length];
+        for (int i = 0; i < this.sortColumnIndexes.length; i++) {
+            sortValues[i] = values[this.sortColumnIndexes[i]];
+            if (sortValues[i] == null) {
+                throw log.throwing(new IllegalArgumentException("Sort column "
+                        + this.sortColumnNames.get(i) + " cannot have null values"));
+            }
+        }
+        if (this.previousSortValues != null) {
+            for (int i = 0; i < sortValues.length; i++) {
+                int comp = compare(this.previousSortValues[i], sortValues[i]);
+                if (comp < 0) {
+                    break;
+                }
+                if (comp > 0) {
+                    throw log.throwing(new IllegalArgumentException("Rows not sorted by "
+                            + this.sortColumnNames + ", previous values: "
+                            + Arrays.toString(this.previousSortValues) + ", new values: "
+                            + Arrays.toString(sortValues)));
+                }
+            }
+        }
+        this.previousSortValues = sortValues;
+        log.traceExit();
+    }
+    private static int compare(Object value1, Object value2) {
+        if (value1 instanceof Number && value2 instanceof Number &&
+                !(value1 instanceof BigDecimal) && !(value2 instanceof BigDecimal)) {
+            if (value1 instanceof Double || value2 instanceof Double) {
+                return Double.compare(((Number) value1).doubleValue(),
+                        ((Number) value2).doubleValue());
+            }
+            return Long.compare(((Number) value1).longValue(), ((Number) value2).longValue());
+        }
+        return value1.toString().compareTo(value2.toString());
+    }
+
+    /**
+     * Writes the file at its target location, replacing any existing file.
+     *
+     * @return              The {@code Path} where the file was written.
+     * @throws IOException  If the file could not be written.
+     * @throws IllegalStateException    If {@link #finish()} or {@link #close()}
+     *                                  was already called.
+     */
+    public Path finish() throws IOException, IllegalStateException {
+        log.traceEntry();
+        if (this.finished) {
+            throw log.throwing(new IllegalStateException("Writer already finished or closed"));
+        }
+        this.finished = true;
+        for (ColumnBuffer column: this.columns) {
+            column.out.close();
+        }
+        //Dictionary-encode the String columns
+        Map<ColumnBuffer, String[]> dictionaries = new LinkedHashMap<>();
+        for (ColumnBuffer column: this.columns) {
+            if (column.type == ColumnType.STRING) {
+                dictionaries.put(column, this.encodeStringColumn(column));
+            }
+        }
+
+        Path tempTarget = Files.createTempFile(this.target.getParent(),
+                this.target.getFileName().toString(), ".tmp");
+        try {
+            //The header has a fixed size whatever the offsets,
+            //so we generate it once to know its size
+            int headerSize = this.generateHeader(dictionaries, 0).length;
+            byte[] header = this.generateHeader(dictionaries, headerSize);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempTarget))) {
+                out.write(header);
+                for (ColumnBuffer column: this.columns) {
+                    Files.copy(column.tempFile, out);
+                }
+            }
+            Files.move(tempTarget, this.target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempTarget);
+            this.deleteTempFiles();
+        }
+        return log.traceExit(this.target);
+    }
+
+    private String[] encodeStringColumn(ColumnBuffer column) throws IOException {
+        log.traceEntry("{}", column.name);
+        String[] dictionary = column.distinctValues.toArray(new String[0]);
+        Path encodedFile = Files.createTempFile(this.target.getParent(),
+                this.target.getFileName().toString(), ".tmp");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(column.tempFile)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     Files.newOutputStream(encodedFile)))) {
+            for (int row = 0; row < this.rowCount; row++) {
+                if (!in.readBoolean()) {
+                    out.writeInt(-1);
+                    column.addEmptyZoneMap(row, this.blockSize);
+                } else {
+                    int code = Arrays.binarySearch(dictionary, readString(in));
+                    out.writeInt(code);
+                    column.updateZoneMap(row, this.blockSize, code);
+                }
+            }
+        }
+        Files.move(encodedFile, column.tempFile, StandardCopyOption.REPLACE_EXISTING);
+        return log.traceExit(dictionary);
+    }
+
+    private byte[] generateHeader(Map<ColumnBuffer, String[]> dictionaries, int headerSize)
+            throws IOException {
+        log.traceEntry("{}, {}", dictionaries, headerSize);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(ColumnarFile.MAGIC);
+            out.writeInt(ColumnarFile.FORMAT_VERSION);
+            out.writeInt(this.rowCount);
+            out.writeInt(this.blockSize);
+            out.writeInt(this.sortColumnNames.size());
+            for (String sortColumnName: this.sortColumnNames) {
+                writeString(out, sortColumnName);
+            }
+            out.writeInt(this.columns.size());
+            long offset = headerSize;
+            for (ColumnBuffer column: this.columns) {
+                writeString(out, column.name);
+                out.writeByte(column.type.ordinal());
+                out.writeLong(offset);
+                offset += (long) this.rowCount * column.type.getByteCount();
+                if (column.type == ColumnType.STRING) {
+                    String[] dictionary = dictionaries.get(column);
+                    out.writeInt(dictionary.length);
+                    for (String value: dictionary) {
+                        writeString(out, value);
+                    }
+                }
+                if (column.type.isIntegral()) {
+                    for (long[] zoneMap: column.zoneMaps) {
+                        out.writeLong(zoneMap[0]);
+                        out.writeLong(zoneMap[1]);
+                    }
+                } else {
+                    for (double[] zoneMap: column.doubleZoneMaps) {
+                        out.writeDouble(zoneMap[0]);
+                        out.writeDouble(zoneMap[1]);
+                    }
+                }
+            }
+        }
+        return log.traceExit(bytes.toByteArray());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    private static String readString(InputStream in) throws IOException {
+        DataInputStream dataIn = in instanceof DataInputStream? (DataInputStream) in:
+            new DataInputStream(in);
+        byte[] bytes = new byte[dataIn.readInt()];
+        try {
+            dataIn.readFully(bytes);
+        } catch (EOFException e) {
+            throw log.throwing(new IOException("Truncated temporary file", e));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void deleteTempFiles() {
+        log.traceEntry();
+        for (ColumnBuffer column: this.columns) {
+            try {
+                column.out.close();
+                Files.deleteIfExists(column.tempFile);
+            } catch (IOException e) {
+                log.catching(e);
+                log.warn("Could not delete temporary file {}", column.tempFile);
+            }
+        }
+        log.traceExit();
+    }
+
+    /**
+     * @return  An {@code int} that is the number of rows added so far.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Deletes the temporary files. If {@link #finish()} was not called,
+     * nothing is written at the target location.
+     */
+    @Override
+    public void close() {
+        log.traceEntry();
+        this.finished = true;
+        this.deleteTempFiles();
+        log.traceExit();
+    }
+}
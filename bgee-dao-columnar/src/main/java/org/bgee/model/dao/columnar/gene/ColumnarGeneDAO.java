@@ -0,0 +1,437 @@
+package org.bgee.model.dao.columnar.gene;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.gene.GeneDAO;
+import org.bgee.model.dao.columnar.ColumnarDAO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOResultSet;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarGlobalExpressionCallDAO;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+
+/**
+ * A {@code GeneDAO} reading the files {@link #TABLE_NAME}, stored for each species
+ * and sorted by Bgee gene ID, and the file {@link #BIO_TYPE_TABLE_NAME},
+ * not specific to any species.
+ * <p>
+ * Genes requested by Bgee gene IDs are retrieved by binary search, species whose
+ * range of Bgee gene IDs does not contain any requested ID are skipped. Genes requested
+ * by public gene IDs are retrieved by comparing the dictionary index of the requested IDs.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @see org.bgee.model.dao.api.gene.GeneDAO.GeneTO
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarGeneDAO extends ColumnarDAO<GeneDAO.Attribute> implements GeneDAO {
+    private final static Logger log = LogManager.getLogger(ColumnarGeneDAO.class.getName());
+
+    public final static String TABLE_NAME = "gene";
+    public final static String BGEE_GENE_ID = "bgeeGeneId";
+    public final static String GENE_ID = "geneId";
+    public final static String NAME = "geneName";
+    public final static String DESCRIPTION = "geneDescription";
+    public final static String SPECIES_ID = "speciesId";
+    public final static String GENE_BIO_TYPE_ID = "geneBioTypeId";
+    public final static String ENSEMBL_GENE = "ensemblGene";
+    public final static String GENE_MAPPED_TO_SAME_GENE_ID_COUNT = "geneMappedToGeneIdCount";
+    public final static String EXPRESSION_SUMMARY = "expressionSummary";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the files {@link #TABLE_NAME} are sorted by.
+     */
+    public final static List<String> SORT_COLUMNS = Collections.singletonList(BGEE_GENE_ID);
+
+    public final static String BIO_TYPE_TABLE_NAME = "geneBioType";
+    public final static String BIO_TYPE_ID = "geneBioTypeId";
+    public final static String BIO_TYPE_NAME = "geneBioTypeName";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the file {@link #BIO_TYPE_TABLE_NAME} are sorted by.
+     */
+    public final static List<String> BIO_TYPE_SORT_COLUMNS = Collections.singletonList(BIO_TYPE_ID);
+
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the files
+     *          {@link #TABLE_NAME}, in the order of the values of {@link #toRow(GeneTO)},
+     *          the associated value being their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(BGEE_GENE_ID, ColumnType.INT);
+        columnTypes.put(GENE_ID, ColumnType.STRING);
+        columnTypes.put(NAME, ColumnType.STRING);
+        columnTypes.put(DESCRIPTION, ColumnType.STRING);
+        columnTypes.put(SPECIES_ID, ColumnType.INT);
+        columnTypes.put(GENE_BIO_TYPE_ID, ColumnType.INT);
+        columnTypes.put(ENSEMBL_GENE, ColumnType.INT);
+        columnTypes.put(GENE_MAPPED_TO_SAME_GENE_ID_COUNT, ColumnType.INT);
+        columnTypes.put(EXPRESSION_SUMMARY, ColumnType.STRING);
+        return columnTypes;
+    }
+    /**
+     * @param geneTO    A {@code GeneTO} to be written in a file {@link #TABLE_NAME}.
+     * @return          An {@code Object} array that is the row to write for {@code geneTO}.
+     */
+    public static Object[] toRow(GeneTO geneTO) {
+        return new Object[]{geneTO.getId(), geneTO.getGeneId(), geneTO.getName(),
+                geneTO.getDescription(), geneTO.getSpeciesId(), geneTO.getGeneBioTypeId(),
+                geneTO.isEnsemblGene(), geneTO.getGeneMappedToGeneIdCount(),
+                geneTO.getExpressionSummary()};
+    }
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the file
+     *          {@link #BIO_TYPE_TABLE_NAME}, in the order of the values
+     *          of {@link #toRow(GeneBioTypeTO)}, the associated value being their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getBioTypeColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(BIO_TYPE_ID, ColumnType.INT);
+        columnTypes.put(BIO_TYPE_NAME, ColumnType.STRING);
+        return columnTypes;
+    }
+    /**
+     * @param bioTypeTO A {@code GeneBioTypeTO} to be written in the file {@link #BIO_TYPE_TABLE_NAME}.
+     * @return          An {@code Object} array that is the row to write for {@code bioTypeTO}.
+     */
+    public static Object[] toRow(GeneBioTypeTO bioTypeTO) {
+        return new Object[]{bioTypeTO.getId(), bioTypeTO.getName()};
+    }
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarGeneDAO(ColumnarDAOManager manager) throws IllegalArgumentException {
+        super(manager);
+    }
+
+    @Override
+    public GeneTOResultSet getAllGenes() throws DAOException {
+        log.traceEntry();
+        return log.traceExit(this.getGenes(null, null, false, false, 0, 0));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesByGeneIds(Collection<String> geneIds) throws DAOException {
+        log.traceEntry("{}", geneIds);
+        return log.traceExit(this.getGenesByGeneIds(geneIds, false));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesByGeneIds(Collection<String> geneIds,
+            boolean withExpressionSummary) throws DAOException {
+        log.traceEntry("{}, {}", geneIds, withExpressionSummary);
+        Map<Integer, Set<String>> speToGeneMap = new HashMap<>();
+        speToGeneMap.put(null, geneIds == null? null: new HashSet<>(geneIds));
+        return log.traceExit(this.getGenes(speToGeneMap, null, false, withExpressionSummary, 0, 0));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesByIds(Collection<Integer> geneIds) throws DAOException {
+        log.traceEntry("{}", geneIds);
+        return log.traceExit(this.getGenes(null, geneIds, false, false, 0, 0));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesBySpeciesIds(Collection<Integer> speciesIds)
+            throws DAOException {
+        log.traceEntry("{}", speciesIds);
+        return log.traceExit(this.getGenes(convertSpeciesIdsToMap(speciesIds), null,
+                false, false, 0, 0));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesWithDataBySpeciesIdsOrdered(Collection<Integer> speciesIds,
+            int offset, int geneCount) throws DAOException {
+        log.traceEntry("{}, {}, {}", speciesIds, offset, geneCount);
+        return log.traceExit(this.getGenes(convertSpeciesIdsToMap(speciesIds), null,
+                true, false, offset, geneCount));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesBySpeciesAndGeneIds(Map<Integer, Set<String>> speciesIdToGeneIds,
+            boolean withExpressionSummary) throws DAOException {
+        log.traceEntry("{}, {}", speciesIdToGeneIds, withExpressionSummary);
+        return log.traceExit(this.getGenes(speciesIdToGeneIds, null, false,
+                withExpressionSummary, 0, 0));
+    }
+
+    @Override
+    public GeneTOResultSet getGenesByBgeeIds(Collection<Integer> bgeeGeneIds)
+            throws DAOException {
+        log.traceEntry("{}", bgeeGeneIds);
+        return log.traceExit(this.getGenes(null, bgeeGeneIds, false, false, 0, 0));
+    }
+
+    @Override
+    public GeneBioTypeTOResultSet getGeneBioTypes() {
+        log.traceEntry();
+        ColumnarFile file = this.getFile(null, BIO_TYPE_TABLE_NAME);
+        List<GeneBioTypeTO> bioTypeTOs = new ArrayList<>();
+        if (file != null) {
+            ColumnarFile.Column idCol = file.getColumn(BIO_TYPE_ID);
+            ColumnarFile.Column nameCol = file.getColumn(BIO_TYPE_NAME);
+            for (int row = 0; row < file.getRowCount(); row++) {
+                bioTypeTOs.add(new GeneBioTypeTO(idCol.getInteger(row), nameCol.getString(row)));
+            }
+        }
+        return log.traceExit(new ColumnarGeneBioTypeTOResultSet(this.getManager(),
+                bioTypeTOs.iterator()));
+    }
+
+    @Override
+    public int updateGenes(Collection<GeneTO> genes,
+            Collection<GeneDAO.Attribute> attributesToUpdate)
+            throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("updateGenes");
+    }
+
+    /**
+     * Retrieves the rows of the gene file of a species with the requested Bgee gene IDs.
+     *
+     * @param file          The gene {@code ColumnarFile} of a species.
+     * @param bgeeGeneIds   A {@code TreeSet} of {@code Integer}s that are the requested
+     *                      Bgee gene IDs.
+     * @return              A {@code List} of {@code Integer}s that are the indexes
+     *                      of the matching rows, in ascending order.
+     */
+    public static List<Integer> getRowsByBgeeGeneIds(ColumnarFile file, TreeSet<Integer> bgeeGeneIds) {
+        log.traceEntry("{}, {}", file, bgeeGeneIds);
+        ColumnarFile.Column idCol = file.getColumn(BGEE_GENE_ID);
+        List<Integer> rows = new ArrayList<>();
+        if (file.getRowCount() == 0) {
+            return log.traceExit(rows);
+        }
+        //Each requested ID is searched from the row of the previous one
+        int fromRow = 0;
+        for (Integer bgeeGeneId: bgeeGeneIds.subSet((int) Math.max(idCol.getMin(), Integer.MIN_VALUE),
+                true, (int) Math.min(idCol.getMax(), Integer.MAX_VALUE), true)) {
+            fromRow = idCol.lowerBound(fromRow, file.getRowCount(), bgeeGeneId);
+            if (fromRow < file.getRowCount() && idCol.getRawLong(fromRow) == bgeeGeneId) {
+                rows.add(fromRow);
+            }
+        }
+        return log.traceExit(rows);
+    }
+
+    private static Map<Integer, Set<String>> convertSpeciesIdsToMap(Collection<Integer> speciesIds) {
+        log.traceEntry("{}", speciesIds);
+        if (speciesIds == null) {
+            return log.traceExit((Map<Integer, Set<String>>) null);
+        }
+        Map<Integer, Set<String>> speciesIdToGeneIds = new HashMap<>();
+        for (Integer speciesId: speciesIds) {
+            speciesIdToGeneIds.put(speciesId, new HashSet<>());
+        }
+        return log.traceExit(speciesIdToGeneIds);
+    }
+
+    private GeneTOResultSet getGenes(Map<Integer, Set<String>> speciesIdToGeneIds,
+            Collection<Integer> bgeeGeneIds, boolean withExprData, boolean withExpressionSummary,
+            int offset, int geneCount) throws DAOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", speciesIdToGeneIds, bgeeGeneIds, withExprData,
+                withExpressionSummary, offset, geneCount);
+
+        if (speciesIdToGeneIds != null &&
+                speciesIdToGeneIds.containsKey(null) && speciesIdToGeneIds.size() != 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "If a null species ID is provided, it should be the only Entry in the Map."));
+        }
+        if (offset < 0 || geneCount < 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "offset and geneCount cannot be negative"));
+        }
+        if (offset > 0 && geneCount == 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "geneCount must be provided if offset is provided"));
+        }
+        Map<Integer, Set<String>> clonedSpeciesIdToGeneIds = new HashMap<>();
+        if (speciesIdToGeneIds != null) {
+            for (Map.Entry<Integer, Set<String>> e: speciesIdToGeneIds.entrySet()) {
+                //eliminate entries with no species IDs and no gene IDs
+                if (e.getKey() == null && (e.getValue() == null || e.getValue().isEmpty())) {
+                    continue;
+                }
+                if (e.getKey() != null && e.getKey() <= 0) {
+                    throw log.throwing(new IllegalArgumentException(
+                            "No species ID can be less than 1"));
+                }
+                if (e.getValue() != null && e.getValue().stream()
+                        .anyMatch(geneId -> StringUtils.isBlank(geneId))) {
+                    throw log.throwing(new IllegalArgumentException("No gene ID can be null"));
+                }
+                clonedSpeciesIdToGeneIds.put(e.getKey(),
+                        e.getValue() == null? new HashSet<>(): new HashSet<>(e.getValue()));
+            }
+        }
+        TreeSet<Integer> clonedBgeeGeneIds = bgeeGeneIds == null? new TreeSet<>():
+            new TreeSet<>(bgeeGeneIds);
+        // By default all attributes are retrieved but expressionSummary can be
+        // removed if withExpressionSummary is false.
+        EnumSet<GeneDAO.Attribute> attrs = EnumSet.allOf(GeneDAO.Attribute.class);
+        if (!withExpressionSummary) {
+            attrs.remove(GeneDAO.Attribute.EXPRESSION_SUMMARY);
+        }
+
+        //Species to consider: if a null key is present, the gene IDs are searched in all species
+        Set<Integer> speciesIds = clonedSpeciesIdToGeneIds.isEmpty() ||
+                clonedSpeciesIdToGeneIds.containsKey(null)?
+                this.getManager().getSpeciesIds():
+                this.getManager().getSpeciesIds(clonedSpeciesIdToGeneIds.keySet());
+
+        List<GeneTO> geneTOs = new ArrayList<>();
+        for (Integer speciesId: speciesIds) {
+            ColumnarFile file = this.getFile(speciesId, TABLE_NAME);
+            if (file == null) {
+                continue;
+            }
+            Set<String> geneIds = clonedSpeciesIdToGeneIds.isEmpty()? new HashSet<>():
+                clonedSpeciesIdToGeneIds.getOrDefault(speciesId,
+                        clonedSpeciesIdToGeneIds.get(null));
+            List<Integer> rows = clonedBgeeGeneIds.isEmpty()? null:
+                getRowsByBgeeGeneIds(file, clonedBgeeGeneIds);
+            if (!geneIds.isEmpty()) {
+                rows = this.filterRowsByGeneIds(file, rows, geneIds);
+            }
+            if (withExprData) {
+                rows = this.filterRowsWithData(speciesId, file, rows);
+            }
+            if (rows == null) {
+                for (int row = 0; row < file.getRowCount(); row++) {
+                    geneTOs.add(loadGeneTO(file, row, attrs));
+                }
+            } else {
+                for (int row: rows) {
+                    geneTOs.add(loadGeneTO(file, row, attrs));
+                }
+            }
+        }
+        if (geneCount > 0) {
+            geneTOs.sort(Comparator.comparing(GeneTO::getId));
+            geneTOs = geneTOs.subList(Math.min(offset, geneTOs.size()),
+                    Math.min(offset + geneCount, geneTOs.size()));
+        }
+        return log.traceExit(new ColumnarGeneTOResultSet(this.getManager(), geneTOs.iterator()));
+    }
+
+    private List<Integer> filterRowsByGeneIds(ColumnarFile file, List<Integer> rows,
+            Set<String> geneIds) {
+        log.traceEntry("{}, {}, {}", file, rows, geneIds);
+        ColumnarFile.Column geneIdCol = file.getColumn(GENE_ID);
+        Set<Long> codes = new HashSet<>();
+        for (String geneId: geneIds) {
+            int code = geneIdCol.getDictionaryCode(geneId);
+            if (code >= 0) {
+                codes.add((long) code);
+            }
+        }
+        List<Integer> filteredRows = new ArrayList<>();
+        if (codes.isEmpty()) {
+            return log.traceExit(filteredRows);
+        }
+        if (rows == null) {
+            for (int row = 0; row < file.getRowCount(); row++) {
+                if (codes.contains(geneIdCol.getRawLong(row))) {
+                    filteredRows.add(row);
+                }
+            }
+        } else {
+            for (int row: rows) {
+                if (codes.contains(geneIdCol.getRawLong(row))) {
+                    filteredRows.add(row);
+                }
+            }
+        }
+        return log.traceExit(filteredRows);
+    }
+
+    private List<Integer> filterRowsWithData(Integer speciesId, ColumnarFile file,
+            List<Integer> rows) {
+        log.traceEntry("{}, {}, {}", speciesId, file, rows);
+        List<Integer> filteredRows = new ArrayList<>();
+        ColumnarFile callFile = this.getFile(speciesId, ColumnarGlobalExpressionCallDAO.TABLE_NAME);
+        if (callFile == null) {
+            return log.traceExit(filteredRows);
+        }
+        ColumnarFile.Column idCol = file.getColumn(BGEE_GENE_ID);
+        ColumnarFile.Column callGeneIdCol = callFile.getColumn(
+                ColumnarGlobalExpressionCallDAO.BGEE_GENE_ID);
+        //Both files are sorted by Bgee gene ID, each search starts from the previous match
+        int fromRow = 0;
+        int rowCount = rows == null? file.getRowCount(): rows.size();
+        for (int i = 0; i < rowCount; i++) {
+            int row = rows == null? i: rows.get(i);
+            long bgeeGeneId = idCol.getRawLong(row);
+            fromRow = callGeneIdCol.lowerBound(fromRow, callFile.getRowCount(), bgeeGeneId);
+            if (fromRow < callFile.getRowCount() && callGeneIdCol.getRawLong(fromRow) == bgeeGeneId) {
+                filteredRows.add(row);
+            }
+        }
+        return log.traceExit(filteredRows);
+    }
+
+    private static GeneTO loadGeneTO(ColumnarFile file, int row, Set<GeneDAO.Attribute> attrs) {
+        log.traceEntry("{}, {}, {}", file, row, attrs);
+        return log.traceExit(new GeneTO(
+                attrs.contains(GeneDAO.Attribute.ID)?
+                        file.getColumn(BGEE_GENE_ID).getInteger(row): null,
+                attrs.contains(GeneDAO.Attribute.GENE_ID)?
+                        file.getColumn(GENE_ID).getString(row): null,
+                attrs.contains(GeneDAO.Attribute.NAME)?
+                        file.getColumn(NAME).getString(row): null,
+                attrs.contains(GeneDAO.Attribute.DESCRIPTION)?
+                        file.getColumn(DESCRIPTION).getString(row): null,
+                attrs.contains(GeneDAO.Attribute.SPECIES_ID)?
+                        file.getColumn(SPECIES_ID).getInteger(row): null,
+                attrs.contains(GeneDAO.Attribute.GENE_BIO_TYPE_ID)?
+                        file.getColumn(GENE_BIO_TYPE_ID).getInteger(row): null,
+                //OMA parent node IDs are not retrieved, as in the MySQL implementation
+                null,
+                attrs.contains(GeneDAO.Attribute.ENSEMBL_GENE)?
+                        file.getColumn(ENSEMBL_GENE).getBoolean(row): null,
+                attrs.contains(GeneDAO.Attribute.GENE_MAPPED_TO_SAME_GENE_ID_COUNT)?
+                        file.getColumn(GENE_MAPPED_TO_SAME_GENE_ID_COUNT).getInteger(row): null,
+                attrs.contains(GeneDAO.Attribute.EXPRESSION_SUMMARY)?
+                        file.getColumn(EXPRESSION_SUMMARY).getString(row): null));
+    }
+
+    /**
+     * Implementation of the {@code GeneTOResultSet} for the columnar files.
+     */
+    private static class ColumnarGeneTOResultSet extends ColumnarDAOResultSet<GeneTO>
+            implements GeneTOResultSet {
+        private ColumnarGeneTOResultSet(ColumnarDAOManager manager, Iterator<GeneTO> iterator) {
+            super(manager, iterator);
+        }
+    }
+    /**
+     * Implementation of the {@code GeneBioTypeTOResultSet} for the columnar files.
+     */
+    private static class ColumnarGeneBioTypeTOResultSet extends ColumnarDAOResultSet<GeneBioTypeTO>
+            implements GeneBioTypeTOResultSet {
+        private ColumnarGeneBioTypeTOResultSet(ColumnarDAOManager manager,
+                Iterator<GeneBioTypeTO> iterator) {
+            super(manager, iterator);
+        }
+    }
+}
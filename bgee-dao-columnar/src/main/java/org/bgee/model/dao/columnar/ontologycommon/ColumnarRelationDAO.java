@@ -0,0 +1,304 @@
+package org.bgee.model.dao.columnar.ontologycommon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.ontologycommon.RelationDAO;
+import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO.RelationStatus;
+import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO.RelationType;
+import org.bgee.model.dao.columnar.ColumnarDAO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOResultSet;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+
+/**
+ * A {@code RelationDAO} reading the files {@link #ANAT_ENTITY_RELATION_TABLE_NAME}
+ * and {@link #STAGE_RELATION_TABLE_NAME}, stored for each species and containing
+ * the relations valid in that species, and the file {@link #TAXON_RELATION_TABLE_NAME},
+ * not specific to any species.
+ * <p>
+ * Relations valid in several species are stored in the file of each of these species,
+ * relations requested for several species are thus merged or intersected
+ * depending on the {@code anySpecies} argument of the methods.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @see org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarRelationDAO extends ColumnarDAO<RelationDAO.Attribute> implements RelationDAO {
+    private final static Logger log = LogManager.getLogger(ColumnarRelationDAO.class.getName());
+
+    public final static String ANAT_ENTITY_RELATION_TABLE_NAME = "anatEntityRelation";
+    public final static String STAGE_RELATION_TABLE_NAME = "stageRelation";
+    public final static String TAXON_RELATION_TABLE_NAME = "taxonRelation";
+    public final static String RELATION_ID = "relationId";
+    public final static String SOURCE_ID = "sourceId";
+    public final static String TARGET_ID = "targetId";
+    public final static String RELATION_TYPE = "relationType";
+    public final static String RELATION_STATUS = "relationStatus";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the relation files are sorted by. Rows are written in the order
+     * they are retrieved from the source data.
+     */
+    public final static List<String> SORT_COLUMNS = Collections.emptyList();
+
+    /**
+     * @param idType    The {@code ColumnType} of the IDs of the source and target
+     *                  of the relations: {@code ColumnType.STRING} for anat. entities
+     *                  and dev. stages, {@code ColumnType.INT} for taxa.
+     * @return          A {@code LinkedHashMap} where keys are the names of the columns
+     *                  of the relation files, in the order of the values
+     *                  of {@link #toRow(RelationTO)}, the associated value being
+     *                  their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getColumnTypes(ColumnType idType) {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(RELATION_ID, ColumnType.INT);
+        columnTypes.put(SOURCE_ID, idType);
+        columnTypes.put(TARGET_ID, idType);
+        columnTypes.put(RELATION_TYPE, ColumnType.STRING);
+        columnTypes.put(RELATION_STATUS, ColumnType.STRING);
+        return columnTypes;
+    }
+    /**
+     * @param relTO A {@code RelationTO} to be written in a relation file.
+     * @return      An {@code Object} array that is the row to write for {@code relTO}.
+     */
+    public static Object[] toRow(RelationTO<?> relTO) {
+        return new Object[]{relTO.getId(), relTO.getSourceId(), relTO.getTargetId(),
+                relTO.getRelationType() == null? null:
+                    relTO.getRelationType().getStringRepresentation(),
+                relTO.getRelationStatus() == null? null:
+                    relTO.getRelationStatus().getStringRepresentation()};
+    }
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarRelationDAO(ColumnarDAOManager manager) throws IllegalArgumentException {
+        super(manager);
+    }
+
+    @Override
+    public RelationTOResultSet<String> getAnatEntityRelations(Collection<Integer> speciesIds,
+            Boolean anySpecies, Collection<String> sourceAnatEntityIds,
+            Collection<String> targetAnatEntityIds, Boolean sourceOrTarget,
+            Collection<RelationType> relationTypes, Collection<RelationStatus> relationStatus,
+            Collection<RelationDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}, {}", speciesIds, anySpecies, sourceAnatEntityIds,
+                targetAnatEntityIds, sourceOrTarget, relationTypes, relationStatus, attributes);
+        return log.traceExit(this.getSpeciesRelations(ANAT_ENTITY_RELATION_TABLE_NAME,
+                speciesIds, anySpecies, sourceAnatEntityIds, targetAnatEntityIds,
+                sourceOrTarget, relationTypes, relationStatus, attributes));
+    }
+
+    @Override
+    public RelationTOResultSet<String> getStageRelationsBySpeciesIds(Set<Integer> speciesIds,
+            Set<RelationStatus> relationStatus) throws DAOException {
+        log.traceEntry("{}, {}", speciesIds, relationStatus);
+        return log.traceExit(this.getStageRelations(speciesIds, true, null, null, true,
+                relationStatus, this.getAttributes()));
+    }
+
+    @Override
+    public RelationTOResultSet<String> getStageRelations(Collection<Integer> speciesIds,
+            Boolean anySpecies, Collection<String> sourceDevStageIds,
+            Collection<String> targetDevStageIds, Boolean sourceOrTarget,
+            Collection<RelationStatus> relationStatus,
+            Collection<RelationDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", speciesIds, anySpecies, sourceDevStageIds,
+                targetDevStageIds, sourceOrTarget, relationStatus, attributes);
+        return log.traceExit(this.getSpeciesRelations(STAGE_RELATION_TABLE_NAME,
+                speciesIds, anySpecies, sourceDevStageIds, targetDevStageIds,
+                sourceOrTarget, null, relationStatus, attributes));
+    }
+
+    @Override
+    public RelationTOResultSet<Integer> getTaxonRelations(Collection<Integer> sourceTaxIds,
+            Collection<Integer> targetTaxIds, Boolean sourceOrTarget,
+            Collection<RelationStatus> relationStatus, boolean lca,
+            Collection<RelationDAO.Attribute> attributes) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", sourceTaxIds, targetTaxIds, sourceOrTarget,
+                relationStatus, lca, attributes);
+        if (lca) {
+            //the information about taxa being LCA of species in Bgee is not exported
+            return log.traceExit(this.getDelegate().getRelationDAO().getTaxonRelations(
+                    sourceTaxIds, targetTaxIds, sourceOrTarget, relationStatus, lca, attributes));
+        }
+        ColumnarFile file = this.getFile(null, TAXON_RELATION_TABLE_NAME);
+        if (file == null) {
+            return log.traceExit(new ColumnarRelationTOResultSet<>(this.getManager(),
+                    Collections.emptyIterator()));
+        }
+        ColumnarFile.Column sourceCol = file.getColumn(SOURCE_ID);
+        ColumnarFile.Column targetCol = file.getColumn(TARGET_ID);
+        List<RelationTO<Integer>> relTOs = this.loadRelationTOs(file, sourceCol::getInteger,
+                targetCol::getInteger, sourceTaxIds, targetTaxIds, sourceOrTarget,
+                null, relationStatus, attributes);
+        return log.traceExit(new ColumnarRelationTOResultSet<>(this.getManager(),
+                relTOs.iterator()));
+    }
+
+    /**
+     * Retrieves the IDs of the descendants of the requested taxa, using the file
+     * {@link #TAXON_RELATION_TABLE_NAME}.
+     *
+     * @param taxonIds  A {@code Collection} of {@code Integer}s that are the IDs
+     *                  of the taxa to retrieve descendants for.
+     * @return          A {@code Set} of {@code Integer}s that are the IDs of the descendants
+     *                  of the requested taxa, not including the requested taxa themselves
+     *                  unless they are descendants of another requested taxon.
+     * @throws DAOException If an error occurred while reading the file.
+     */
+    public Set<Integer> getTaxonDescendantIds(Collection<Integer> taxonIds) throws DAOException {
+        log.traceEntry("{}", taxonIds);
+        Set<Integer> descendantIds = new HashSet<>();
+        this.getTaxonRelations(null, taxonIds, false,
+                EnumSet.of(RelationStatus.DIRECT, RelationStatus.INDIRECT), false,
+                EnumSet.of(RelationDAO.Attribute.SOURCE_ID))
+        .stream().forEach(to -> descendantIds.add(to.getSourceId()));
+        return log.traceExit(descendantIds);
+    }
+
+    private RelationTOResultSet<String> getSpeciesRelations(String tableName,
+            Collection<Integer> speciesIds, Boolean anySpecies, Collection<String> sourceIds,
+            Collection<String> targetIds, Boolean sourceOrTarget,
+            Collection<RelationType> relationTypes, Collection<RelationStatus> relationStatus,
+            Collection<RelationDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}, {}, {}", tableName, speciesIds, anySpecies,
+                sourceIds, targetIds, sourceOrTarget, relationTypes, relationStatus, attributes);
+
+        boolean isSpeciesFilter = speciesIds != null && !speciesIds.isEmpty();
+        boolean intersect = isSpeciesFilter && !Boolean.TRUE.equals(anySpecies)
+                && new HashSet<>(speciesIds).size() > 1;
+
+        //For each relation, identified by all its attributes, we count the number
+        //of species where it is valid, to perform the intersection if needed.
+        Map<List<Object>, RelationTO<String>> relTOsByKey = new LinkedHashMap<>();
+        Map<List<Object>, Integer> speciesCountByKey = new LinkedHashMap<>();
+        Set<Integer> filesSpeciesIds = this.getManager().getSpeciesIds(speciesIds);
+        for (Integer speciesId: filesSpeciesIds) {
+            ColumnarFile file = this.getFile(speciesId, tableName);
+            if (file == null) {
+                continue;
+            }
+            ColumnarFile.Column sourceCol = file.getColumn(SOURCE_ID);
+            ColumnarFile.Column targetCol = file.getColumn(TARGET_ID);
+            //Duplicates within one file are counted only once
+            Set<List<Object>> speciesKeys = new HashSet<>();
+            for (RelationTO<String> relTO: this.loadRelationTOs(file, sourceCol::getString,
+                    targetCol::getString, sourceIds, targetIds, sourceOrTarget,
+                    relationTypes, relationStatus, attributes)) {
+                List<Object> key = Arrays.asList(relTO.getId(), relTO.getSourceId(),
+                        relTO.getTargetId(), relTO.getRelationType(), relTO.getRelationStatus());
+                if (speciesKeys.add(key)) {
+                    relTOsByKey.putIfAbsent(key, relTO);
+                    speciesCountByKey.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+        int requestedSpeciesCount = isSpeciesFilter? new HashSet<>(speciesIds).size(): 0;
+        List<RelationTO<String>> relTOs = new ArrayList<>();
+        for (Map.Entry<List<Object>, RelationTO<String>> entry: relTOsByKey.entrySet()) {
+            if (!intersect || speciesCountByKey.get(entry.getKey()) == requestedSpeciesCount) {
+                relTOs.add(entry.getValue());
+            }
+        }
+        return log.traceExit(new ColumnarRelationTOResultSet<>(this.getManager(),
+                relTOs.iterator()));
+    }
+
+    private <T> List<RelationTO<T>> loadRelationTOs(ColumnarFile file,
+            IntFunction<T> sourceIdGetter, IntFunction<T> targetIdGetter,
+            Collection<T> sourceIds, Collection<T> targetIds, Boolean sourceOrTarget,
+            Collection<RelationType> relationTypes, Collection<RelationStatus> relationStatus,
+            Collection<RelationDAO.Attribute> attributes) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}, {}, {}", file, sourceIdGetter,
+                targetIdGetter, sourceIds, targetIds, sourceOrTarget, relationTypes,
+                relationStatus, attributes);
+
+        Set<T> clonedSourceIds = sourceIds == null? new HashSet<>(): new HashSet<>(sourceIds);
+        Set<T> clonedTargetIds = targetIds == null? new HashSet<>(): new HashSet<>(targetIds);
+        Set<RelationType> clonedRelTypes = relationTypes == null || relationTypes.isEmpty()?
+                EnumSet.allOf(RelationType.class): EnumSet.copyOf(relationTypes);
+        Set<RelationStatus> clonedRelStatus = relationStatus == null || relationStatus.isEmpty()?
+                EnumSet.allOf(RelationStatus.class): EnumSet.copyOf(relationStatus);
+        Set<RelationDAO.Attribute> clonedAttrs = attributes == null || attributes.isEmpty()?
+                EnumSet.allOf(RelationDAO.Attribute.class): EnumSet.copyOf(attributes);
+        boolean orFilter = Boolean.TRUE.equals(sourceOrTarget) &&
+                !clonedSourceIds.isEmpty() && !clonedTargetIds.isEmpty();
+
+        ColumnarFile.Column idCol = file.getColumn(RELATION_ID);
+        ColumnarFile.Column typeCol = file.getColumn(RELATION_TYPE);
+        ColumnarFile.Column statusCol = file.getColumn(RELATION_STATUS);
+        List<RelationTO<T>> relTOs = new ArrayList<>();
+        for (int row = 0; row < file.getRowCount(); row++) {
+            T sourceId = sourceIdGetter.apply(row);
+            T targetId = targetIdGetter.apply(row);
+            boolean sourceMatch = clonedSourceIds.isEmpty() || clonedSourceIds.contains(sourceId);
+            boolean targetMatch = clonedTargetIds.isEmpty() || clonedTargetIds.contains(targetId);
+            if (orFilter? !clonedSourceIds.contains(sourceId) && !clonedTargetIds.contains(targetId):
+                    !sourceMatch || !targetMatch) {
+                continue;
+            }
+            RelationType relType = RelationType.convertToRelationType(typeCol.getString(row));
+            RelationStatus relStatus = RelationStatus.convertToRelationStatus(
+                    statusCol.getString(row));
+            if (!clonedRelTypes.contains(relType) || !clonedRelStatus.contains(relStatus)) {
+                continue;
+            }
+            relTOs.add(new RelationTO<>(
+                    clonedAttrs.contains(RelationDAO.Attribute.RELATION_ID)?
+                            idCol.getInteger(row): null,
+                    clonedAttrs.contains(RelationDAO.Attribute.SOURCE_ID)? sourceId: null,
+                    clonedAttrs.contains(RelationDAO.Attribute.TARGET_ID)? targetId: null,
+                    clonedAttrs.contains(RelationDAO.Attribute.RELATION_TYPE)? relType: null,
+                    clonedAttrs.contains(RelationDAO.Attribute.RELATION_STATUS)? relStatus: null));
+        }
+        return log.traceExit(relTOs);
+    }
+
+    @Override
+    public int insertAnatEntityRelations(Collection<RelationTO<String>> relationTOs)
+            throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertAnatEntityRelations");
+    }
+
+    @Override
+    public int insertGeneOntologyRelations(Collection<RelationTO<String>> relationTOs)
+            throws DAOException, IllegalArgumentException {
+        throw this.unsupportedOperation("insertGeneOntologyRelations");
+    }
+
+    /**
+     * Implementation of the {@code RelationTOResultSet} for the columnar files.
+     *
+     * @param <T>   The type of the IDs of the source and target of the relations.
+     */
+    private static class ColumnarRelationTOResultSet<T> extends ColumnarDAOResultSet<RelationTO<T>>
+            implements RelationTOResultSet<T> {
+        private ColumnarRelationTOResultSet(ColumnarDAOManager manager,
+                Iterator<RelationTO<T>> iterator) {
+            super(manager, iterator);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.bgee.model.dao.columnar.species;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.DAOException;
+import org.bgee.model.dao.api.species.SpeciesDAO;
+import org.bgee.model.dao.columnar.ColumnarDAO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOResultSet;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+import org.bgee.model.dao.columnar.ontologycommon.ColumnarRelationDAO;
+
+/**
+ * A {@code SpeciesDAO} reading the file {@link #TABLE_NAME}, storing one row per species,
+ * sorted by species ID. Retrieving species by taxon IDs uses the file
+ * {@link ColumnarRelationDAO#TAXON_RELATION_TABLE_NAME}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @see org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTO
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarSpeciesDAO extends ColumnarDAO<SpeciesDAO.Attribute> implements SpeciesDAO {
+    private final static Logger log = LogManager.getLogger(ColumnarSpeciesDAO.class.getName());
+
+    public final static String TABLE_NAME = "species";
+    public final static String SPECIES_ID = "speciesId";
+    public final static String COMMON_NAME = "speciesCommonName";
+    public final static String GENUS = "genus";
+    public final static String SPECIES_NAME = "species";
+    public final static String DISPLAY_ORDER = "speciesDisplayOrder";
+    public final static String PARENT_TAXON_ID = "taxonId";
+    public final static String GENOME_FILE_PATH = "genomeFilePath";
+    public final static String GENOME_VERSION = "genomeVersion";
+    public final static String GENOME_ASSEMBLY_XREF = "genomeAssemblyXRef";
+    public final static String DATA_SOURCE_ID = "dataSourceId";
+    public final static String GENOME_SPECIES_ID = "genomeSpeciesId";
+    /**
+     * A {@code List} of {@code String}s that are the names of the columns the rows
+     * of the file {@link #TABLE_NAME} are sorted by.
+     */
+    public final static List<String> SORT_COLUMNS = Collections.singletonList(SPECIES_ID);
+
+    /**
+     * @return  A {@code LinkedHashMap} where keys are the names of the columns of the file
+     *          {@link #TABLE_NAME}, in the order of the values of {@link #toRow(SpeciesTO)},
+     *          the associated value being their {@code ColumnType}.
+     */
+    public static LinkedHashMap<String, ColumnType> getColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put(SPECIES_ID, ColumnType.INT);
+        columnTypes.put(COMMON_NAME, ColumnType.STRING);
+        columnTypes.put(GENUS, ColumnType.STRING);
+        columnTypes.put(SPECIES_NAME, ColumnType.STRING);
+        columnTypes.put(DISPLAY_ORDER, ColumnType.INT);
+        columnTypes.put(PARENT_TAXON_ID, ColumnType.INT);
+        columnTypes.put(GENOME_FILE_PATH, ColumnType.STRING);
+        columnTypes.put(GENOME_VERSION, ColumnType.STRING);
+        columnTypes.put(GENOME_ASSEMBLY_XREF, ColumnType.STRING);
+        columnTypes.put(DATA_SOURCE_ID, ColumnType.INT);
+        columnTypes.put(GENOME_SPECIES_ID, ColumnType.INT);
+        return columnTypes;
+    }
+    /**
+     * @param speciesTO A {@code SpeciesTO} to be written in the file {@link #TABLE_NAME}.
+     * @return          An {@code Object} array that is the row to write for {@code speciesTO}.
+     */
+    public static Object[] toRow(SpeciesTO speciesTO) {
+        return new Object[]{speciesTO.getId(), speciesTO.getName(), speciesTO.getGenus(),
+                speciesTO.getSpeciesName(), speciesTO.getDisplayOrder(),
+                speciesTO.getParentTaxonId(), speciesTO.getGenomeFilePath(),
+                speciesTO.getGenomeVersion(), speciesTO.getGenomeAssemblyXRef(),
+                speciesTO.getDataSourceId(), speciesTO.getGenomeSpeciesId()};
+    }
+
+    /**
+     * Constructor providing the {@code ColumnarDAOManager} that this {@code ColumnarDAO}
+     * will use to obtain {@code ColumnarFile}s.
+     * @param manager   the {@code ColumnarDAOManager} to use.
+     * @throws IllegalArgumentException If {@code manager} is {@code null}.
+     */
+    public ColumnarSpeciesDAO(ColumnarDAOManager manager) throws IllegalArgumentException {
+        super(manager);
+    }
+
+    @Override
+    public SpeciesTOResultSet getAllSpecies(Collection<SpeciesDAO.Attribute> attributes)
+            throws DAOException {
+        log.traceEntry("{}", attributes);
+        return log.traceExit(this.getSpeciesByIdsAndTaxonIds(null, null, attributes));
+    }
+
+    @Override
+    public SpeciesTOResultSet getSpeciesByIds(Collection<Integer> speciesIds,
+            Collection<SpeciesDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}", speciesIds, attributes);
+        return log.traceExit(this.getSpeciesByIdsAndTaxonIds(speciesIds, null, attributes));
+    }
+
+    @Override
+    public SpeciesTOResultSet getSpeciesByTaxonIds(Collection<Integer> taxonIds,
+            Collection<SpeciesDAO.Attribute> attributes) throws DAOException {
+        log.traceEntry("{}, {}", taxonIds, attributes);
+        return log.traceExit(this.getSpeciesByIdsAndTaxonIds(null, taxonIds, attributes));
+    }
+
+    @Override
+    public SpeciesTOResultSet getSpeciesFromDataGroups(Collection<SpeciesDAO.Attribute> attributes)
+            throws DAOException {
+        log.traceEntry("{}", attributes);
+        //the species data groups are not exported
+        return log.traceExit(this.getDelegate().getSpeciesDAO().getSpeciesFromDataGroups(attributes));
+    }
+
+    private SpeciesTOResultSet getSpeciesByIdsAndTaxonIds(Collection<Integer> speciesIds,
+            Collection<Integer> taxonIds, Collection<SpeciesDAO.Attribute> attributes)
+                    throws DAOException {
+        log.traceEntry("{}, {}, {}", speciesIds, taxonIds, attributes);
+
+        Set<SpeciesDAO.Attribute> clonedAttrs = attributes == null || attributes.isEmpty()?
+                EnumSet.allOf(SpeciesDAO.Attribute.class): EnumSet.copyOf(attributes);
+        Set<Integer> clonedSpeIds = speciesIds == null? new HashSet<>(): new HashSet<>(speciesIds);
+        //the taxa requested and all their descendants
+        Set<Integer> clonedTaxIds = taxonIds == null? new HashSet<>(): new HashSet<>(taxonIds);
+        if (!clonedTaxIds.isEmpty()) {
+            clonedTaxIds.addAll(new ColumnarRelationDAO(this.getManager())
+                    .getTaxonDescendantIds(clonedTaxIds));
+        }
+
+        ColumnarFile file = this.getFile(null, TABLE_NAME);
+        if (file == null) {
+            return log.traceExit(new ColumnarSpeciesTOResultSet(this.getManager(),
+                    Collections.emptyIterator()));
+        }
+        ColumnarFile.Column idCol = file.getColumn(SPECIES_ID);
+        ColumnarFile.Column taxonCol = file.getColumn(PARENT_TAXON_ID);
+        return log.traceExit(new ColumnarSpeciesTOResultSet(this.getManager(),
+                IntStream.range(0, file.getRowCount())
+                .filter(row -> clonedSpeIds.isEmpty() ||
+                        clonedSpeIds.contains(idCol.getInteger(row)))
+                .filter(row -> clonedTaxIds.isEmpty() ||
+                        clonedTaxIds.contains(taxonCol.getInteger(row)))
+                .mapToObj(row -> loadSpeciesTO(file, row, clonedAttrs))
+                .iterator()));
+    }
+
+    private static SpeciesTO loadSpeciesTO(ColumnarFile file, int row,
+            Set<SpeciesDAO.Attribute> attrs) {
+        log.traceEntry("{}, {}, {}", file, row, attrs);
+        return log.traceExit(new SpeciesTO(
+                attrs.contains(SpeciesDAO.Attribute.ID)?
+                        file.getColumn(SPECIES_ID).getInteger(row): null,
+                attrs.contains(SpeciesDAO.Attribute.COMMON_NAME)?
+                        file.getColumn(COMMON_NAME).getString(row): null,
+                attrs.contains(SpeciesDAO.Attribute.GENUS)?
+                        file.getColumn(GENUS).getString(row): null,
+                attrs.contains(SpeciesDAO.Attribute.SPECIES_NAME)?
+                        file.getColumn(SPECIES_NAME).getString(row): null,
+                //fix for issue#173: the display order is always retrieved
+                file.getColumn(DISPLAY_ORDER).getInteger(row),
+                attrs.contains(SpeciesDAO.Attribute.PARENT_TAXON_ID)?
+                        file.getColumn(PARENT_TAXON_ID).getInteger(row): null,
+                attrs.contains(SpeciesDAO.Attribute.GENOME_FILE_PATH)?
+                        file.getColumn(GENOME_FILE_PATH).getString(row): null,
+                attrs.contains(SpeciesDAO.Attribute.GENOME_VERSION)?
+                        file.getColumn(GENOME_VERSION).getString(row): null,
+                attrs.contains(SpeciesDAO.Attribute.GENOME_ASSEMBLY_XREF)?
+                        file.getColumn(GENOME_ASSEMBLY_XREF).getString(row): null,
+                attrs.contains(SpeciesDAO.Attribute.DATA_SOURCE_ID)?
+                        file.getColumn(DATA_SOURCE_ID).getInteger(row): null,
+                attrs.contains(SpeciesDAO.Attribute.GENOME_SPECIES_ID)?
+                        file.getColumn(GENOME_SPECIES_ID).getInteger(row): null));
+    }
+
+    /**
+     * Implementation of the {@code SpeciesTOResultSet} for the columnar files.
+     */
+    private static class ColumnarSpeciesTOResultSet extends ColumnarDAOResultSet<SpeciesTO>
+            implements SpeciesTOResultSet {
+        private ColumnarSpeciesTOResultSet(ColumnarDAOManager manager,
+                Iterator<SpeciesTO> iterator) {
+            super(manager, iterator);
+        }
+    }
+}
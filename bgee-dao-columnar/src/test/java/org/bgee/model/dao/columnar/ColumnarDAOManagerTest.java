@@ -0,0 +1,152 @@
+package org.bgee.model.dao.columnar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.TestAncestor;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
+import org.bgee.model.dao.api.source.SourceDAO;
+import org.bgee.model.dao.api.source.SourceDAO.SourceTO;
+import org.bgee.model.dao.api.source.SourceDAO.SourceTOResultSet;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarGlobalExpressionCallDAO;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ColumnarDAOManager}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarDAOManagerTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ColumnarDAOManagerTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    /**
+     * Test {@link ColumnarDAOManager#decorateIfConfigured(DAOManager)}.
+     */
+    @Test
+    public void shouldDecorateIfConfigured() throws Exception {
+        DAOManager delegate = this.getDelegateWithRelease("104");
+        Properties props = new Properties();
+        when(delegate.getParameters()).thenReturn(props);
+        assertSame(delegate, ColumnarDAOManager.decorateIfConfigured(delegate));
+
+        ColumnarDAOManager.writeRelease(delegate, this.testFolder.getRoot().toPath());
+        props.setProperty(ColumnarDAOManager.DIRECTORY_KEY,
+                this.testFolder.getRoot().getAbsolutePath());
+        DAOManager manager = ColumnarDAOManager.decorateIfConfigured(delegate);
+        assertTrue(manager instanceof ColumnarDAOManager);
+        assertSame(delegate, ((ColumnarDAOManager) manager).getDelegate());
+        assertSame(props, manager.getParameters());
+    }
+
+    /**
+     * Test that {@link ColumnarDAOManager#decorateIfConfigured(DAOManager)} does not
+     * decorate the delegate if the columnar files were exported from another release
+     * of the database, or if the export is incomplete.
+     */
+    @Test
+    public void shouldNotDecorateIfOtherRelease() throws Exception {
+        File missingReleaseDir = this.testFolder.newFolder("missing");
+        File otherReleaseDir = this.testFolder.newFolder("other");
+        ColumnarDAOManager.writeRelease(this.getDelegateWithRelease("104"),
+                otherReleaseDir.toPath());
+
+        DAOManager delegate = this.getDelegateWithRelease("105");
+        assertTrue(ColumnarDAOManager.isSameRelease(this.getDelegateWithRelease("104"),
+                otherReleaseDir.toPath()));
+        assertFalse(ColumnarDAOManager.isSameRelease(delegate, otherReleaseDir.toPath()));
+        assertFalse(ColumnarDAOManager.isSameRelease(delegate, missingReleaseDir.toPath()));
+
+        Properties props = new Properties();
+        when(delegate.getParameters()).thenReturn(props);
+        props.setProperty(ColumnarDAOManager.DIRECTORY_KEY, otherReleaseDir.getAbsolutePath());
+        assertSame(delegate, ColumnarDAOManager.decorateIfConfigured(delegate));
+        props.setProperty(ColumnarDAOManager.DIRECTORY_KEY, missingReleaseDir.getAbsolutePath());
+        assertSame(delegate, ColumnarDAOManager.decorateIfConfigured(delegate));
+    }
+
+    /**
+     * @param ensemblRelease    A {@code String} that is the release of the Ensembl data source
+     *                          of the database.
+     * @return                  A mock {@code DAOManager} returning the Ensembl data source
+     *                          with the requested release.
+     */
+    private DAOManager getDelegateWithRelease(String ensemblRelease) {
+        DAOManager delegate = mock(DAOManager.class);
+        SourceDAO sourceDAO = mock(SourceDAO.class);
+        when(delegate.getSourceDAO()).thenReturn(sourceDAO);
+        SourceTOResultSet sourceTORS = mock(SourceTOResultSet.class);
+        when(sourceDAO.getAllDataSources(any())).thenReturn(sourceTORS);
+        when(sourceTORS.getAllTOs()).thenReturn(Arrays.asList(
+                new SourceTO(2, "Ensembl", null, null, null, null, null, null,
+                        ensemblRelease, null, null, null),
+                new SourceTO(1, "ZFIN", null, null, null, null, null, new Date(1000L),
+                        null, null, null, null)));
+        return delegate;
+    }
+
+    /**
+     * Test that the {@code DAO}s and the queries not served from the columnar files
+     * are delegated, as well as the closing and killing of the manager.
+     */
+    @Test
+    public void shouldDelegate() throws Exception {
+        DAOManager delegate = mock(DAOManager.class);
+        SourceDAO sourceDAO = mock(SourceDAO.class);
+        when(delegate.getSourceDAO()).thenReturn(sourceDAO);
+        GlobalExpressionCallDAO callDAO = mock(GlobalExpressionCallDAO.class);
+        when(delegate.getGlobalExpressionCallDAO()).thenReturn(callDAO);
+        DAOCallFilter callFilter = new DAOCallFilter(null, null, null, null, null);
+        when(callDAO.getPrecomputedGlobalExpressionCallsCount(callFilter)).thenReturn(5L);
+        when(delegate.getId()).thenReturn(10L);
+
+        ColumnarDAOManager manager = new ColumnarDAOManager(delegate,
+                this.testFolder.getRoot().toPath());
+        assertSame(sourceDAO, manager.getSourceDAO());
+        assertTrue(manager.getGlobalExpressionCallDAO() instanceof ColumnarGlobalExpressionCallDAO);
+        assertEquals(5L, manager.getGlobalExpressionCallDAO()
+                .getPrecomputedGlobalExpressionCallsCount(callFilter));
+        assertEquals(10L, manager.getId());
+
+        manager.setDeadline(1000L);
+        verify(delegate).setDeadline(1000L);
+        manager.setConnectionBudget("download");
+        verify(delegate).setConnectionBudget("download");
+
+        //the delegate being killed is seen by the decorator
+        when(delegate.isKilled()).thenReturn(true);
+        assertTrue(manager.isKilled());
+        when(delegate.isKilled()).thenReturn(false);
+        assertFalse(manager.isKilled());
+
+        manager.kill();
+        verify(delegate).kill();
+        assertTrue(manager.isKilled());
+        assertTrue(manager.isClosed());
+    }
+}
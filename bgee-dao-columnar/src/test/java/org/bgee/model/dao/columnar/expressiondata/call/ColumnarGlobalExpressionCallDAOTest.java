@@ -0,0 +1,219 @@
+package org.bgee.model.dao.columnar.expressiondata.call;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAO;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.TestAncestor;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter2;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValue;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallDataTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.OrderingAttribute;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.OrderingAttributeInfo;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.file.ColumnarFile;
+import org.bgee.model.dao.columnar.file.ColumnarFileWriter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ColumnarGlobalExpressionCallDAO}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarGlobalExpressionCallDAOTest extends TestAncestor {
+    private final static Logger log =
+            LogManager.getLogger(ColumnarGlobalExpressionCallDAOTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ColumnarDAOManager manager;
+
+    /**
+     * Writes, for two species, calls for 3 genes in 3 conditions, calls in condition 2
+     * having no self observations, and instantiates the {@code ColumnarDAOManager}.
+     */
+    @Before
+    public void writeFiles() throws Exception {
+        Path dir = testFolder.getRoot().toPath();
+        EnumSet<ConditionDAO.Attribute> allCondParams = EnumSet.of(
+                ConditionDAO.Attribute.ANAT_ENTITY_ID, ConditionDAO.Attribute.CELL_TYPE_ID,
+                ConditionDAO.Attribute.STAGE_ID, ConditionDAO.Attribute.SEX_ID,
+                ConditionDAO.Attribute.STRAIN_ID);
+        for (int speciesId: Arrays.asList(9606, 10090)) {
+            int firstGeneId = speciesId == 9606? 1: 100;
+            //small blocks to test the block skipping
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                    ColumnarDAOManager.getFilePath(dir, speciesId,
+                            ColumnarGlobalExpressionCallDAO.TABLE_NAME),
+                    ColumnarGlobalExpressionCallDAO.getColumnTypes(),
+                    ColumnarGlobalExpressionCallDAO.SORT_COLUMNS, 2)) {
+                for (int geneId = firstGeneId; geneId < firstGeneId + 3; geneId++) {
+                    for (int condId = 1; condId <= 3; condId++) {
+                        Map<EnumSet<ConditionDAO.Attribute>, Integer> selfCounts = new HashMap<>();
+                        selfCounts.put(allCondParams, condId == 2? 0: 3);
+                        Map<EnumSet<ConditionDAO.Attribute>, Integer> descCounts = new HashMap<>();
+                        descCounts.put(allCondParams, 1);
+                        BigDecimal rank = new BigDecimal(10 * geneId + condId);
+                        writer.addRow(ColumnarGlobalExpressionCallDAO.toRow(new GlobalExpressionCallTO(
+                                null, geneId, condId, null,
+                                Collections.singleton(new GlobalExpressionCallDataTO(
+                                        DAODataType.RNA_SEQ, selfCounts, descCounts, null, null,
+                                        rank, rank, new BigDecimal(2))),
+                                Collections.singleton(new DAOFDRPValue(
+                                        new BigDecimal("0.0" + condId),
+                                        EnumSet.of(DAODataType.RNA_SEQ))),
+                                null)));
+                    }
+                }
+                writer.finish();
+            }
+        }
+        this.manager = new ColumnarDAOManager(mock(DAOManager.class), dir);
+    }
+
+    /**
+     * Test {@link ColumnarGlobalExpressionCallDAO#getGlobalExpressionCalls2(
+     * java.util.Collection, java.util.Collection, LinkedHashMap, Long, Integer)}
+     * and {@link ColumnarGlobalExpressionCallDAO#getGlobalExpressionCallsCount(
+     * java.util.Collection)}.
+     */
+    @Test
+    public void shouldGetGlobalExpressionCalls() {
+        ColumnarGlobalExpressionCallDAO dao = new ColumnarGlobalExpressionCallDAO(this.manager);
+        DAOCallFilter filter = new DAOCallFilter(null, Arrays.asList(2, 101), null,
+                Collections.singleton(new CallObservedDataDAOFilter2(
+                        EnumSet.of(DAODataType.RNA_SEQ),
+                        EnumSet.allOf(ConditionDAO.ConditionParameter.class), true)),
+                null);
+        LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs = new LinkedHashMap<>();
+        orderingAttrs.put(new OrderingAttributeInfo(OrderingAttribute.MEAN_RANK,
+                EnumSet.of(DAODataType.RNA_SEQ)), DAO.Direction.DESC);
+
+        List<List<Integer>> expected = Arrays.asList(Arrays.asList(101, 3),
+                Arrays.asList(101, 1), Arrays.asList(2, 3), Arrays.asList(2, 1));
+        assertEquals(expected, dao.getGlobalExpressionCalls2(Collections.singleton(filter),
+                null, orderingAttrs, null, null).stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList()));
+        assertEquals(expected.subList(1, 3), dao.getGlobalExpressionCalls2(
+                Collections.singleton(filter), null, orderingAttrs, 1L, 2).stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList()));
+
+        assertEquals(4, dao.getGlobalExpressionCallsCount(Collections.singleton(filter)));
+        assertEquals(9, dao.getGlobalExpressionCallsCount(Collections.singleton(
+                new DAOCallFilter(Collections.singleton(10090), null, null, null, null))));
+    }
+
+    /**
+     * Test {@link ColumnarGlobalExpressionCallDAO#getGlobalExpressionCalls2AfterKey(
+     * java.util.Collection, java.util.Collection, Integer, Integer, int)}: iterating
+     * the calls by pages should return the same calls as a single ordered query.
+     */
+    @Test
+    public void shouldGetGlobalExpressionCallsAfterKey() {
+        ColumnarGlobalExpressionCallDAO dao = new ColumnarGlobalExpressionCallDAO(this.manager);
+        LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs = new LinkedHashMap<>();
+        orderingAttrs.put(new OrderingAttributeInfo(OrderingAttribute.BGEE_GENE_ID),
+                DAO.Direction.ASC);
+        orderingAttrs.put(new OrderingAttributeInfo(OrderingAttribute.GLOBAL_CONDITION_ID),
+                DAO.Direction.ASC);
+        List<List<Integer>> expected = dao.getGlobalExpressionCalls2(null, null, orderingAttrs,
+                null, 100).stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList());
+        assertEquals(18, expected.size());
+
+        List<List<Integer>> pages = new ArrayList<>(dao.getGlobalExpressionCalls2(null, null,
+                orderingAttrs, null, 4).stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList()));
+        List<List<Integer>> page = pages;
+        while (page.size() == 4) {
+            List<Integer> lastKey = page.get(page.size() - 1);
+            page = dao.getGlobalExpressionCalls2AfterKey(null, null, lastKey.get(0),
+                    lastKey.get(1), 4).stream()
+                    .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                    .collect(Collectors.toList());
+            pages.addAll(page);
+        }
+        assertEquals(expected, pages);
+
+        DAOCallFilter filter = new DAOCallFilter(null, Arrays.asList(2, 101), null, null, null);
+        assertEquals(Arrays.asList(Arrays.asList(2, 3), Arrays.asList(101, 1)),
+                dao.getGlobalExpressionCalls2AfterKey(Collections.singleton(filter), null, 2, 2, 2)
+                .stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Test that, when the calls are sorted in memory, keeping only the top
+     * {@code offset + limit} calls returns the same calls as sorting all the calls,
+     * calls with equal sort keys being returned in the order they are read.
+     */
+    @Test
+    public void shouldGetTopGlobalExpressionCalls() {
+        ColumnarGlobalExpressionCallDAO dao = new ColumnarGlobalExpressionCallDAO(this.manager);
+        LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs = new LinkedHashMap<>();
+        orderingAttrs.put(new OrderingAttributeInfo(OrderingAttribute.GLOBAL_CONDITION_ID),
+                DAO.Direction.DESC);
+        List<List<Integer>> allCalls = dao.getGlobalExpressionCalls2(null, null, orderingAttrs,
+                null, 100).stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList());
+        assertEquals(18, allCalls.size());
+        List<List<Integer>> expected = Arrays.asList(Arrays.asList(2, 3), Arrays.asList(3, 3),
+                Arrays.asList(100, 3), Arrays.asList(101, 3));
+        assertEquals(expected, allCalls.subList(1, 5));
+        assertEquals(expected, dao.getGlobalExpressionCalls2(null, null, orderingAttrs, 1L, 4)
+                .stream()
+                .map(to -> Arrays.asList(to.getBgeeGeneId(), to.getConditionId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Test {@link ColumnarGlobalExpressionCallDAO#getFirstRowAfterKey(
+     * org.bgee.model.dao.columnar.file.ColumnarFile, Integer, Integer)}.
+     */
+    @Test
+    public void shouldGetFirstRowAfterKey() {
+        ColumnarFile file = this.manager.getColumnarFile(9606,
+                ColumnarGlobalExpressionCallDAO.TABLE_NAME);
+        assertEquals(0, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, null, null));
+        assertEquals(0, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, 0, 5));
+        assertEquals(3, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, 1, 3));
+        assertEquals(4, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, 2, 1));
+        assertEquals(9, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, 3, 3));
+        assertEquals(9, ColumnarGlobalExpressionCallDAO.getFirstRowAfterKey(file, 5, 1));
+    }
+}
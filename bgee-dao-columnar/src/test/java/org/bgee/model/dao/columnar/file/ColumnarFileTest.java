@@ -0,0 +1,153 @@
+package org.bgee.model.dao.columnar.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.TestAncestor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ColumnarFileWriter} and {@link ColumnarFile}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ColumnarFileTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ColumnarFileTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private static LinkedHashMap<String, ColumnType> getTestColumnTypes() {
+        LinkedHashMap<String, ColumnType> columnTypes = new LinkedHashMap<>();
+        columnTypes.put("id", ColumnType.INT);
+        columnTypes.put("count", ColumnType.LONG);
+        columnTypes.put("score", ColumnType.DOUBLE);
+        columnTypes.put("name", ColumnType.STRING);
+        columnTypes.put("flag", ColumnType.INT);
+        return columnTypes;
+    }
+
+    /**
+     * Test writing a file with {@link ColumnarFileWriter} and reading it
+     * with {@link ColumnarFile}.
+     */
+    @Test
+    public void shouldWriteAndReadFile() throws Exception {
+        Path path = testFolder.getRoot().toPath().resolve("test" + ColumnarFile.FILE_EXTENSION);
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, getTestColumnTypes(),
+                Collections.singletonList("id"), 2)) {
+            writer.addRow(1, 10L, new BigDecimal("0.05"), "b", true);
+            writer.addRow(3, null, null, "a", false);
+            writer.addRow(3, 30L, 0.5, null, null);
+            writer.addRow(7, 70L, 2, "b", true);
+            writer.addRow(9, 90L, 0.01, "c", false);
+            assertEquals(5, writer.getRowCount());
+            writer.finish();
+        }
+
+        try (ColumnarFile file = ColumnarFile.open(path)) {
+            assertEquals(5, file.getRowCount());
+            assertEquals(2, file.getBlockSize());
+            assertEquals(3, file.getBlockCount());
+            assertEquals(Collections.singletonList("id"), file.getSortColumnNames());
+            assertTrue(file.hasColumn("score"));
+            assertFalse(file.hasColumn("unknown"));
+
+            ColumnarFile.Column idCol = file.getColumn("id");
+            ColumnarFile.Column countCol = file.getColumn("count");
+            ColumnarFile.Column scoreCol = file.getColumn("score");
+            ColumnarFile.Column nameCol = file.getColumn("name");
+            ColumnarFile.Column flagCol = file.getColumn("flag");
+
+            assertEquals(Integer.valueOf(7), idCol.getInteger(3));
+            assertEquals(Long.valueOf(90L), countCol.getLong(4));
+            assertNull(countCol.getLong(1));
+            assertTrue(countCol.isNull(1));
+            assertEquals(0, new BigDecimal("0.05").compareTo(scoreCol.getBigDecimal(0)));
+            assertNull(scoreCol.getBigDecimal(1));
+            assertEquals("a", nameCol.getString(1));
+            assertNull(nameCol.getString(2));
+            assertEquals(Boolean.TRUE, flagCol.getBoolean(0));
+            assertEquals(Boolean.FALSE, flagCol.getBoolean(1));
+            assertNull(flagCol.getBoolean(2));
+
+            //dictionary of the String column
+            assertEquals(Arrays.asList("a", "b", "c"), nameCol.getDictionary());
+            assertEquals(nameCol.getDictionaryCode("b"), nameCol.getRawLong(3));
+            assertEquals(-1, nameCol.getDictionaryCode("z"));
+
+            //zone maps
+            assertEquals(1, idCol.getMin());
+            assertEquals(9, idCol.getMax());
+            assertEquals(3, idCol.getBlockMin(1));
+            assertEquals(7, idCol.getBlockMax(1));
+            assertTrue(idCol.isBlockOverlapping(1, 5, 8));
+            assertFalse(idCol.isBlockOverlapping(0, 4, 6));
+            assertTrue(scoreCol.isBlockOverlapping(2, 0.0, 0.02));
+            assertFalse(scoreCol.isBlockOverlapping(0, 0.1, 1.0));
+            //null values are ignored by zone maps
+            assertEquals(10, countCol.getBlockMin(0));
+            assertEquals(10, countCol.getBlockMax(0));
+
+            //binary search on the sort column
+            assertEquals(1, idCol.lowerBound(0, file.getRowCount(), 3));
+            assertEquals(3, idCol.lowerBound(0, file.getRowCount(), 4));
+            assertEquals(5, idCol.lowerBound(0, file.getRowCount(), 10));
+        }
+    }
+
+    /**
+     * Test that {@link ColumnarFileWriter#addRow(Object...)} rejects incorrect rows.
+     */
+    @Test
+    public void shouldRejectIncorrectRows() throws Exception {
+        Path path = testFolder.getRoot().toPath().resolve("test" + ColumnarFile.FILE_EXTENSION);
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, getTestColumnTypes(),
+                Collections.singletonList("id"))) {
+            writer.addRow(2, 10L, 0.1, "a", true);
+            try {
+                writer.addRow(1, 10L, 0.1, "a", true);
+                fail("An exception should be thrown when rows are not sorted");
+            } catch (IllegalArgumentException e) {
+                //test passed
+            }
+            try {
+                writer.addRow(3, 10L, 0.1, "a");
+                fail("An exception should be thrown when values are missing");
+            } catch (IllegalArgumentException e) {
+                //test passed
+            }
+            try {
+                writer.addRow(3, "10", 0.1, "a", true);
+                fail("An exception should be thrown when a value has an incorrect type");
+            } catch (IllegalArgumentException e) {
+                //test passed
+            }
+            try {
+                writer.addRow(null, 10L, 0.1, "a", true);
+                fail("An exception should be thrown when a sort value is null");
+            } catch (IllegalArgumentException e) {
+                //test passed
+            }
+        }
+    }
+}
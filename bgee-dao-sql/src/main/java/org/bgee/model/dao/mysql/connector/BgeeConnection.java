@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -62,6 +63,13 @@ public class BgeeConnection implements AutoCloseable {
      * and has not yet been commit or rollback.
      */
     private boolean ongoingTransaction;
+    /**
+     * A {@code boolean} that is {@code true} if this {@code BgeeConnection} is connected 
+     * to a replica of the database. In that case, statements modifying data 
+     * and transactions are sent to the primary database 
+     * (see {@link MySQLDAOManager#getPrimaryConnection()}).
+     */
+    private final boolean replica;
     
     /**
      * Default constructor private, should not be used. 
@@ -69,7 +77,7 @@ public class BgeeConnection implements AutoCloseable {
     @SuppressWarnings("unused")
     private BgeeConnection()
     {
-        this(null, null, null);
+        this(null, null, null, false);
     }
     /**
      * Constructor providing the {@code MySQLDAOManager} object used to instantiate 
@@ -91,11 +99,32 @@ public class BgeeConnection implements AutoCloseable {
     BgeeConnection(MySQLDAOManager manager, Connection realConnection, 
             String id)
     {
-        log.entry(manager, realConnection, id);
+        this(manager, realConnection, id, false);
+    }
+    /**
+     * Same as {@link #BgeeConnection(MySQLDAOManager, Connection, String)}, 
+     * but allowing to define whether {@code realConnection} is connected 
+     * to a replica of the database.
+     * 
+     * @param manager           The {@code MySQLDAOManager} used to obtain 
+     *                          this connection.
+     * @param realConnection    The {@code java.sql.Connection} that this class wraps
+     * @param id                A {@code String} representing the ID of this 
+     *                          {@code BgeeConnection}, used by {@code manager} 
+     *                          to track the connection.
+     * @param replica           A {@code boolean} that is {@code true} if 
+     *                          {@code realConnection} is connected to a replica 
+     *                          of the database.
+     */
+    BgeeConnection(MySQLDAOManager manager, Connection realConnection, 
+            String id, boolean replica)
+    {
+        log.entry(manager, realConnection, id, replica);
 
         this.manager        = manager;
         this.realConnection = realConnection;
         this.id             = id;
+        this.replica        = replica;
         this.preparedStatements = Collections.newSetFromMap(
                 new ConcurrentHashMap<BgeePreparedStatement, Boolean>());
         this.setOngoingTransaction(false);
@@ -103,6 +132,12 @@ public class BgeeConnection implements AutoCloseable {
         log.traceExit();
     }
 
+    /**
+     * @return  The {@code MySQLDAOManager} used to obtain this {@code BgeeConnection}.
+     */
+    MySQLDAOManager getManager() {
+        return this.manager;
+    }
     /**
      * @return The real {@code java.sql.Connection} that this class wraps.
      */
@@ -117,10 +152,21 @@ public class BgeeConnection implements AutoCloseable {
     String getId() {
         return this.id;
     }
+    /**
+     * @return  A {@code boolean} that is {@code true} if this {@code BgeeConnection} 
+     *          is connected to a replica of the database. In that case, statements 
+     *          modifying data and transactions are sent to the primary database.
+     */
+    public boolean isReplica() {
+        return this.replica;
+    }
     
     /**
      * Creates a {@code BgeePreparedStatement} object for sending parameterized SQL 
-     * statements to the database. 
+     * statements to the database. If this {@code BgeeConnection} is connected 
+     * to a replica (see {@link #isReplica()}), and {@code sql} is not a read-only statement, 
+     * the {@code BgeePreparedStatement} is obtained from a {@code BgeeConnection} 
+     * connected to the primary database.
      * 
      * @param   sql an SQL statement that may contain one or more '?' IN 
      *          parameter placeholders
@@ -131,6 +177,14 @@ public class BgeeConnection implements AutoCloseable {
      */
     public BgeePreparedStatement prepareStatement(String sql) throws SQLException {
         log.entry(sql);
+        if (!isReadOnlyStatement(sql)) {
+            if (this.isReplica()) {
+                return log.traceExit(this.manager.getPrimaryConnection().prepareStatement(sql));
+            }
+            if (this.manager != null) {
+                this.manager.writePerformed();
+            }
+        }
         BgeePreparedStatement bgeeStmt = new BgeePreparedStatement(this, 
                 this.getRealConnection().prepareStatement(sql));
         this.preparedStatements.add(bgeeStmt);
@@ -145,12 +199,19 @@ public class BgeeConnection implements AutoCloseable {
      *              placeholders. Typically this statement is specified using JDBC call 
      *              escape syntax.
      * @return      a new {@code BgeeCallableStatement} object containing the pre-compiled 
-     *              SQL statement.
+     *              SQL statement. As stored procedures can modify data, it is always 
+     *              obtained from a {@code BgeeConnection} connected to the primary database.
      * @throws      SQLException if a database access error occurs or this method is 
      *              called on a closed connection.
      */
     public BgeeCallableStatement prepareCall(String sql) throws SQLException {
         log.entry(sql);
+        if (this.isReplica()) {
+            return log.traceExit(this.manager.getPrimaryConnection().prepareCall(sql));
+        }
+        if (this.manager != null) {
+            this.manager.writePerformed();
+        }
         BgeeCallableStatement bgeeCallStmt = new BgeeCallableStatement(this, 
                 this.getRealConnection().prepareCall(sql));
         this.preparedStatements.add(bgeeCallStmt);
@@ -170,6 +231,10 @@ public class BgeeConnection implements AutoCloseable {
      */
     public void startTransaction() throws SQLException, IllegalStateException {
         log.traceEntry();
+        if (this.isReplica()) {
+            this.manager.getPrimaryConnection().startTransaction();
+            log.traceExit(); return;
+        }
         if (this.isOngoingTransaction()) {
             throw log.throwing(new IllegalStateException("A transaction is already ongoing, " +
             		"cannot start a new one"));
@@ -190,6 +255,10 @@ public class BgeeConnection implements AutoCloseable {
      */
     public void commit() throws SQLException, IllegalStateException {
         log.traceEntry();
+        if (this.isReplica()) {
+            this.manager.getPrimaryConnection().commit();
+            log.traceExit(); return;
+        }
         if (!this.isOngoingTransaction()) {
             throw log.throwing(new IllegalStateException("Try to commit a transaction, " +
                     "but there was no ongoing transactions"));
@@ -211,6 +280,10 @@ public class BgeeConnection implements AutoCloseable {
      */
     public void rollback() throws SQLException, IllegalStateException {
         log.traceEntry();
+        if (this.isReplica()) {
+            this.manager.getPrimaryConnection().rollback();
+            log.traceExit(); return;
+        }
         if (!this.isOngoingTransaction()) {
             throw log.throwing(new IllegalStateException("Try to rollback a transaction, " +
                     "but there was no ongoing transactions"));
@@ -228,6 +301,38 @@ public class BgeeConnection implements AutoCloseable {
     public boolean isOngoingTransaction() {
         return ongoingTransaction;
     }
+    /**
+     * Determines whether {@code sql} is a read-only statement, that can be sent 
+     * to a replica of the database. Locking reads are not considered read-only.
+     * 
+     * @param sql   A {@code String} that is the SQL statement to check.
+     * @return      A {@code boolean} that is {@code true} if {@code sql} is read-only.
+     */
+    static boolean isReadOnlyStatement(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        int start = 0;
+        while (start < sql.length() && 
+                (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end).toUpperCase(Locale.ENGLISH);
+        if ("SHOW".equals(keyword) || "EXPLAIN".equals(keyword) || 
+                "DESCRIBE".equals(keyword)) {
+            return true;
+        }
+        if (!"SELECT".equals(keyword)) {
+            return false;
+        }
+        String upperSql = sql.toUpperCase(Locale.ENGLISH);
+        return !upperSql.contains("FOR UPDATE") && !upperSql.contains("LOCK IN SHARE MODE") && 
+                !upperSql.contains(" INTO ");
+    }
     /**
      * @param ongoingTransaction    {@code boolean} to set {@link #ongoingTransaction}.
      */
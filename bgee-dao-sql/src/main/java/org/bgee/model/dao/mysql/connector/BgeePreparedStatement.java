@@ -5,6 +5,7 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -16,6 +17,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.dao.api.TransferObject.EnumDAOField;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.dao.api.exception.QueryInterruptedException;
 
 /**
@@ -99,6 +101,24 @@ public class BgeePreparedStatement implements AutoCloseable {
          */
         T get() throws SQLException;
     }
+    /**
+     * A functional interface to read one row of a {@code ResultSet}, used by
+     * {@link BgeePreparedStatement#forEachRow(RowConsumer)}.
+     *
+     * @author Frederic Bastian
+     * @version Bgee 15.2, Oct. 2026
+     * @since Bgee 15.2, Oct. 2026
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        /**
+         * Reads the current row of {@code rs}. Implementations must not move the cursor.
+         *
+         * @param rs            The {@code ResultSet} positioned on the row to read.
+         * @throws SQLException If an error occurred while reading the row.
+         */
+        void accept(ResultSet rs) throws SQLException;
+    }
 
     /**
      * Returns a {@code String} to be used in a parameterized query with the number of parameters 
@@ -151,6 +171,32 @@ public class BgeePreparedStatement implements AutoCloseable {
      * on this {@code BgeePreparedStatement}.
      */
     private boolean executed;
+    /**
+     * A {@code String} that is the DAO method that prepared this {@code BgeePreparedStatement}, 
+     * used to record statistics with the {@link QueryMonitor}. {@code null} if queries 
+     * were not monitored when this {@code BgeePreparedStatement} was obtained.
+     */
+    private final String daoMethod;
+    /**
+     * A {@code String} that is the ID of the request that executed the last query, 
+     * see {@link QueryMonitor#getRequestId()}.
+     */
+    private String requestId;
+    /**
+     * A {@code boolean} defining whether the last query executed was not yet recorded 
+     * by the {@link QueryMonitor}.
+     */
+    private boolean executionToRecord;
+    /**
+     * A {@code long} that is the value of {@code System.nanoTime()} when the last query 
+     * was executed.
+     */
+    private long executionStartTime;
+    /**
+     * A {@code long} that is the time in nanoseconds for the execution of the last query 
+     * to return.
+     */
+    private long timeToFirstRow;
     /**
      * Default constructor private, should not be used. 
      */
@@ -177,6 +223,9 @@ public class BgeePreparedStatement implements AutoCloseable {
         this.bgeeConnection = connection;
         this.realPreparedStatement = realPreparedStatement;
         this.setCanceled(false);
+        this.daoMethod = QueryMonitor.getInstance().isEnabled()?
+                QueryMonitor.getCallingDAOMethod(): null;
+        this.executionToRecord = false;
     }  
     
     /**
@@ -629,6 +678,40 @@ public class BgeePreparedStatement implements AutoCloseable {
         return log.traceExit(this.<ResultSet>execute(this.getRealPreparedStatement()::executeQuery));
     }
     
+    /**
+     * Executes the SQL query in this {@code BgeePreparedStatement} object, and provides 
+     * each row of the results to {@code rowConsumer}. This method is meant for DAO methods 
+     * returning results that are not {@code TransferObject}s read through 
+     * a {@link MySQLDAOResultSet} (for instance, counts). As for queries performed through 
+     * a {@code MySQLDAOResultSet}, the query can be interrupted, the deadline of the request 
+     * is applied, and the query is recorded by the {@link QueryMonitor}. The underlying 
+     * {@code ResultSet} is closed before returning. 
+     * 
+     * @param rowConsumer   A {@code RowConsumer} reading each row of the results.
+     * @return              A {@code long} that is the number of rows read.
+     * @throws QueryInterruptedException    If the query was intentionally interrupted. 
+     * @throws SQLException If a database access error occurs, or if {@code rowConsumer} 
+     *                      throws a {@code SQLException}.
+     */
+    public long forEachRow(RowConsumer rowConsumer) throws QueryInterruptedException, SQLException {
+        log.traceEntry("{}", rowConsumer);
+        long rowCount = 0;
+        boolean error = true;
+        try (ResultSet rs = this.executeQuery()) {
+            while (rs.next()) {
+                rowConsumer.accept(rs);
+                rowCount++;
+                if (rowCount % 1000 == 0) {
+                    this.checkDeadline();
+                }
+            }
+            error = false;
+        } finally {
+            this.queryCompleted(rowCount, error);
+        }
+        return log.traceExit(rowCount);
+    }
+    
     /**
      * See {@link PreparedStatement#executeUpdate()}. 
      * 
@@ -639,7 +722,9 @@ public class BgeePreparedStatement implements AutoCloseable {
     public int executeUpdate() throws QueryInterruptedException, SQLException {
         log.traceEntry();
         //generic type hint needed for some compilers
-        return log.traceExit(this.<Integer>execute(this.getRealPreparedStatement()::executeUpdate));
+        int updateCount = this.<Integer>execute(this.getRealPreparedStatement()::executeUpdate);
+        this.queryCompleted(updateCount);
+        return log.traceExit(updateCount);
     }
     
     /**
@@ -676,18 +761,110 @@ public class BgeePreparedStatement implements AutoCloseable {
         //another thread, to release the lock while the query is running. Without 
         //such a mechanism, the cancel method would not be able to acquire the lock 
         //before the end of the query...
+        //the remaining time before the deadline of the request is used as query timeout
+        long deadline = this.applyDeadline();
+        long startTime = this.daoMethod != null? System.nanoTime(): 0;
+        boolean error = true;
         try {
-            return log.traceExit(executeFunction.get());
+            T result = executeFunction.get();
+            error = false;
+            return log.traceExit(result);
+        } catch (SQLTimeoutException e) {
+            if (deadline != 0) {
+                DeadlineExceededException timeoutException = new DeadlineExceededException(deadline);
+                timeoutException.initCause(e);
+                throw log.throwing(Level.DEBUG, timeoutException);
+            }
+            throw log.throwing(e);
         } finally {
             this.setExecuted(true);
+            boolean canceled = this.isCanceled();
+            if (this.daoMethod != null) {
+                this.executionToRecord = true;
+                this.executionStartTime = startTime;
+                this.timeToFirstRow = System.nanoTime() - startTime;
+                this.requestId = QueryMonitor.getRequestId();
+                if (error || canceled) {
+                    this.queryCompleted(0, true);
+                }
+            }
             //check that we did not return from the executeQuery method because of 
             //a cancellation
-            if (this.isCanceled()) {
+            if (canceled) {
                 throw log.throwing(Level.DEBUG, new QueryInterruptedException());
             }
         }
     }
 
+    /**
+     * Sets the query timeout of the real {@code PreparedStatement} to the time remaining 
+     * before the deadline of the {@code MySQLDAOManager} used to obtain this 
+     * {@code BgeePreparedStatement} (see {@link MySQLDAOManager#setDeadline(long)}), 
+     * if any.
+     * 
+     * @return  A {@code long} that is the deadline applied, 0 if no deadline is set.
+     * @throws DeadlineExceededException    If the deadline is already exceeded.
+     * @throws SQLException                 If an error occurred while setting the timeout.
+     */
+    private long applyDeadline() throws DeadlineExceededException, SQLException {
+        log.traceEntry();
+        MySQLDAOManager manager = this.getBgeeConnection() == null? null: 
+            this.getBgeeConnection().getManager();
+        long deadline = manager == null? 0: manager.getDeadline();
+        if (deadline == 0) {
+            return log.traceExit(0L);
+        }
+        manager.checkDeadline();
+        //JDBC timeouts are in seconds, a value of 0 meaning no timeout
+        long timeoutSeconds = Math.max(1, (manager.getRemainingTimeMillis() + 999) / 1000);
+        this.getRealPreparedStatement().setQueryTimeout((int) Math.min(Integer.MAX_VALUE, 
+                timeoutSeconds));
+        return log.traceExit(deadline);
+    }
+    /**
+     * Checks whether the deadline of the {@code MySQLDAOManager} used to obtain 
+     * this {@code BgeePreparedStatement} is exceeded (see 
+     * {@link MySQLDAOManager#checkDeadline()}). Used by {@link MySQLDAOResultSet} 
+     * to regularly check the deadline while iterating results.
+     * 
+     * @throws DeadlineExceededException    If the deadline is exceeded.
+     */
+    void checkDeadline() throws DeadlineExceededException {
+        if (this.getBgeeConnection() != null && this.getBgeeConnection().getManager() != null) {
+            this.getBgeeConnection().getManager().checkDeadline();
+        }
+    }
+
+    /**
+     * Notifies that the results of the last query executed have been all retrieved 
+     * or discarded, for the {@link QueryMonitor} to record the query. This method 
+     * has no effect if queries were not monitored when this {@code BgeePreparedStatement} 
+     * was obtained, or if the last query was already recorded.
+     * <p>
+     * This method is package-private, because only a {@link MySQLDAOResultSet} 
+     * is supposed to perform this call.
+     * 
+     * @param rowCount  A {@code long} that is the number of rows retrieved.
+     */
+    void queryCompleted(long rowCount) {
+        this.queryCompleted(rowCount, false);
+    }
+    /**
+     * See {@link #queryCompleted(long)}.
+     * 
+     * @param rowCount  A {@code long} that is the number of rows retrieved or updated.
+     * @param error     A {@code boolean} defining whether the query failed.
+     */
+    private void queryCompleted(long rowCount, boolean error) {
+        if (!this.executionToRecord) {
+            return;
+        }
+        this.executionToRecord = false;
+        QueryMonitor.getInstance().recordQuery(this.daoMethod, this.requestId, 
+                System.nanoTime() - this.executionStartTime, this.timeToFirstRow, 
+                rowCount, error, () -> this.getRealPreparedStatement().toString());
+    }
+
     /**
      * Call {@code clearParameters} method on the real {@code PreparedStatement} 
      * that this class wraps.
@@ -716,6 +893,8 @@ public class BgeePreparedStatement implements AutoCloseable {
     @Override
     public void close() throws SQLException {
         log.traceEntry();
+        //in case the results of the last query were not retrieved through a MySQLDAOResultSet
+        this.queryCompleted(0);
         try {
             if (!this.getRealPreparedStatement().isClosed()) {
                 this.getRealPreparedStatement().close();
@@ -0,0 +1,362 @@
+package org.bgee.model.dao.mysql.connector;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+
+/**
+ * A budget of connections, limiting the number of {@link MySQLDAOManager}s of a same class
+ * of requests (see {@link org.bgee.model.dao.api.DAOManager#setConnectionBudget(String)})
+ * concurrently holding connections to the database, so that, for instance, bulk data
+ * downloads cannot use all the connections at the expense of interactive browsing.
+ * A {@code MySQLDAOManager} acquires one permit of its budget when opening its first
+ * connection, whatever the number of connections it then opens (for instance to replicas),
+ * and releases it when all its connections are closed. {@code MySQLDAOManager}s performing
+ * queries on behalf of another one share its permit (see
+ * {@link org.bgee.model.dao.api.DAOManager#shareConnectionBudget(org.bgee.model.dao.api.DAOManager)}),
+ * so that a request holds one permit, whatever the number of its threads. When a budget is exhausted,
+ * a {@code MySQLDAOManager} waits for a permit to be released for at most
+ * {@link #getMaxWaitTimeMs()}, then a {@code ConnectionBudgetExceededException} is thrown.
+ * <p>
+ * Budgets are shared by all the {@code MySQLDAOManager}s of the JVM, and are configured
+ * through the parameters provided to {@link MySQLDAOManager#setParameters(java.util.Properties)}
+ * (see {@link MySQLDAOManager#CONNECTION_BUDGETS_KEY} and {@link #configure(Map, long)}).
+ * A {@code MySQLDAOManager} using a budget not configured is not limited. Utilisation and wait times of each budget
+ * can be pulled in the Prometheus text exposition format with {@link #getMetricsText()}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ConnectionBudget {
+    private final static Logger log = LogManager.getLogger(ConnectionBudget.class.getName());
+
+    /**
+     * A {@code long} that is the default value of {@link #getMaxWaitTimeMs()}.
+     */
+    public final static long DEFAULT_MAX_WAIT_TIME_MS = 2000;
+
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s that are names of budgets,
+     * the associated value being the corresponding {@code ConnectionBudget}.
+     */
+    private final static ConcurrentMap<String, ConnectionBudget> BUDGETS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Configures all the budgets of connections: the budgets in {@code maxPermitsPerBudget}
+     * are configured as with {@link #configure(String, int, long)}, and the budgets
+     * not present in {@code maxPermitsPerBudget} are removed. The permits held
+     * under a removed or replaced budget are still released to it.
+     *
+     * @param maxPermitsPerBudget   A {@code Map} where keys are {@code String}s that are
+     *                              names of budgets, the associated value being
+     *                              the maximum number of {@code MySQLDAOManager}s concurrently
+     *                              holding connections for this budget. If {@code null}
+     *                              or empty, all budgets are removed.
+     * @param maxWaitTimeMs         A {@code long} that is the maximum time in milliseconds
+     *                              to wait for a permit to be released when a budget
+     *                              is exhausted. If 0, requests are immediately rejected.
+     * @return                      A {@code Map} where keys are {@code String}s that are
+     *                              names of budgets, the associated value being
+     *                              the corresponding {@code ConnectionBudget} configured,
+     *                              ordered by name.
+     * @throws IllegalArgumentException If a name is blank, or a maximum number of permits
+     *                                  is less than 1, or {@code maxWaitTimeMs} is negative.
+     */
+    public static synchronized Map<String, ConnectionBudget> configure(
+            Map<String, Integer> maxPermitsPerBudget, long maxWaitTimeMs)
+                    throws IllegalArgumentException {
+        log.traceEntry("{}, {}", maxPermitsPerBudget, maxWaitTimeMs);
+        Map<String, ConnectionBudget> configured = new TreeMap<>();
+        if (maxPermitsPerBudget != null) {
+            for (Map.Entry<String, Integer> entry: maxPermitsPerBudget.entrySet()) {
+                ConnectionBudget budget = configure(entry.getKey(),
+                        entry.getValue() == null? 0: entry.getValue(), maxWaitTimeMs);
+                configured.put(budget.getName(), budget);
+            }
+        }
+        BUDGETS.keySet().retainAll(configured.keySet());
+        return log.traceExit(Collections.unmodifiableMap(configured));
+    }
+    /**
+     * Configures a budget of connections. If a budget with the same name already exists
+     * with the same parameters, it is kept, otherwise it is replaced: the permits
+     * held under the previous budget are released to it, not to the new one.
+     *
+     * @param name              A {@code String} that is the name of the budget.
+     * @param maxPermits        An {@code int} that is the maximum number
+     *                          of {@code MySQLDAOManager}s concurrently holding connections
+     *                          for this budget.
+     * @param maxWaitTimeMs     A {@code long} that is the maximum time in milliseconds
+     *                          to wait for a permit to be released when the budget
+     *                          is exhausted. If 0, requests are immediately rejected.
+     * @return                  The {@code ConnectionBudget} configured.
+     * @throws IllegalArgumentException If {@code name} is blank, or {@code maxPermits}
+     *                                  is less than 1, or {@code maxWaitTimeMs} is negative.
+     * @see #configure(Map, long)
+     */
+    public static ConnectionBudget configure(String name, int maxPermits, long maxWaitTimeMs)
+            throws IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", name, maxPermits, maxWaitTimeMs);
+        if (name == null || name.trim().isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("A budget name must be provided"));
+        }
+        if (maxPermits < 1 || maxWaitTimeMs < 0) {
+            throw log.throwing(new IllegalArgumentException("Invalid parameters for the budget "
+                    + name + ": max permits: " + maxPermits + " - max wait time: "
+                    + maxWaitTimeMs));
+        }
+        return log.traceExit(BUDGETS.compute(name.trim(), (k, v) ->
+            v != null && v.getMaxPermits() == maxPermits &&
+            v.getMaxWaitTimeMs() == maxWaitTimeMs? v:
+                new ConnectionBudget(k, maxPermits, maxWaitTimeMs)));
+    }
+    /**
+     * @param name  A {@code String} that is the name of a budget.
+     * @return      The {@code ConnectionBudget} with the name {@code name},
+     *              {@code null} if {@code name} is {@code null} or if no budget
+     *              was configured with this name.
+     */
+    public static ConnectionBudget getBudget(String name) {
+        if (name == null) {
+            return null;
+        }
+        return BUDGETS.get(name);
+    }
+    /**
+     * @return  A {@code Map} where keys are {@code String}s that are names of budgets,
+     *          the associated value being the corresponding {@code ConnectionBudget},
+     *          ordered by name.
+     */
+    public static Map<String, ConnectionBudget> getBudgets() {
+        return Collections.unmodifiableMap(new TreeMap<>(BUDGETS));
+    }
+    /**
+     * Removes all the budgets configured. The permits held under a removed budget
+     * are still released to it.
+     */
+    public static void clearBudgets() {
+        BUDGETS.clear();
+    }
+    /**
+     * @return  A {@code String} containing the utilisation and wait times of the budgets
+     *          in the Prometheus text exposition format.
+     */
+    public static String getMetricsText() {
+        log.traceEntry();
+        Map<String, ConnectionBudget> budgets = getBudgets();
+        StringBuilder sb = new StringBuilder();
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_max_permits", "gauge",
+                "Maximum number of DAOManagers concurrently holding connections for a budget.",
+                b -> String.valueOf(b.getMaxPermits()));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_permits_in_use", "gauge",
+                "Number of DAOManagers currently holding connections for a budget.",
+                b -> String.valueOf(b.getInUseCount()));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_waiting", "gauge",
+                "Number of requests currently waiting for a permit of a budget.",
+                b -> String.valueOf(b.getWaitingCount()));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_acquired_total", "counter",
+                "Number of permits acquired for a budget.",
+                b -> String.valueOf(b.getAcquiredCount()));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_rejected_total", "counter",
+                "Number of requests rejected because a budget was exhausted.",
+                b -> String.valueOf(b.getRejectedCount()));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_wait_seconds_total", "counter",
+                "Total time spent waiting for a permit of a budget.",
+                b -> String.valueOf(b.getTotalWaitTimeMs() / 1000.0));
+        appendMetric(sb, budgets, "bgee_dao_connection_budget_wait_seconds_max", "gauge",
+                "Maximum time spent waiting for a permit of a budget.",
+                b -> String.valueOf(b.getMaxWaitTimeObservedMs() / 1000.0));
+        return log.traceExit(sb.toString());
+    }
+    private static void appendMetric(StringBuilder sb, Map<String, ConnectionBudget> budgets,
+            String metricName, String type, String help,
+            Function<ConnectionBudget, String> valueFunction) {
+        sb.append("# HELP ").append(metricName).append(" ").append(help).append("\n")
+          .append("# TYPE ").append(metricName).append(" ").append(type).append("\n");
+        for (ConnectionBudget budget: budgets.values()) {
+            sb.append(metricName).append("{budget=\"")
+              .append(budget.getName().replace("\\", "\\\\").replace("\"", "\\\"")
+                      .replace("\n", "\\n"))
+              .append("\"} ").append(valueFunction.apply(budget)).append("\n");
+        }
+    }
+
+    /**
+     * @see #getName()
+     */
+    private final String name;
+    /**
+     * @see #getMaxPermits()
+     */
+    private final int maxPermits;
+    /**
+     * @see #getMaxWaitTimeMs()
+     */
+    private final long maxWaitTimeMs;
+    /**
+     * A {@code Semaphore} with one permit per {@code MySQLDAOManager} allowed for this budget.
+     * It is fair, so that requests obtain connections in the order they asked for them.
+     */
+    private final Semaphore permits;
+    /**
+     * @see #getWaitingCount()
+     */
+    private final LongAdder waitingCount;
+    /**
+     * @see #getAcquiredCount()
+     */
+    private final LongAdder acquiredCount;
+    /**
+     * @see #getRejectedCount()
+     */
+    private final LongAdder rejectedCount;
+    /**
+     * @see #getTotalWaitTimeMs()
+     */
+    private final LongAdder totalWaitTimeMs;
+    /**
+     * @see #getMaxWaitTimeObservedMs()
+     */
+    private final AtomicLong maxWaitTimeObservedMs;
+
+    /**
+     * @param name              See {@link #getName()}.
+     * @param maxPermits        See {@link #getMaxPermits()}.
+     * @param maxWaitTimeMs     See {@link #getMaxWaitTimeMs()}.
+     */
+    private ConnectionBudget(String name, int maxPermits, long maxWaitTimeMs) {
+        this.name = name;
+        this.maxPermits = maxPermits;
+        this.maxWaitTimeMs = maxWaitTimeMs;
+        this.permits = new Semaphore(maxPermits, true);
+        this.waitingCount = new LongAdder();
+        this.acquiredCount = new LongAdder();
+        this.rejectedCount = new LongAdder();
+        this.totalWaitTimeMs = new LongAdder();
+        this.maxWaitTimeObservedMs = new AtomicLong(0);
+    }
+
+    /**
+     * Acquires a permit of this budget, waiting for at most {@link #getMaxWaitTimeMs()}
+     * if the budget is exhausted. The permit must be released by calling
+     * {@link #release()} once all the connections using it are closed.
+     *
+     * @throws ConnectionBudgetExceededException    If no permit was released in time,
+     *                                              or if the thread was interrupted
+     *                                              while waiting.
+     */
+    void acquire() throws ConnectionBudgetExceededException {
+        log.traceEntry();
+        long startTime = System.nanoTime();
+        boolean acquired = this.permits.tryAcquire();
+        if (!acquired) {
+            this.waitingCount.increment();
+            try {
+                acquired = this.permits.tryAcquire(this.maxWaitTimeMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.waitingCount.decrement();
+            }
+        }
+        long waitTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        this.totalWaitTimeMs.add(waitTimeMs);
+        this.maxWaitTimeObservedMs.accumulateAndGet(waitTimeMs, Math::max);
+        if (!acquired) {
+            this.rejectedCount.increment();
+            throw log.throwing(Level.DEBUG,
+                    new ConnectionBudgetExceededException(this.name, waitTimeMs));
+        }
+        this.acquiredCount.increment();
+        log.traceExit();
+    }
+    /**
+     * Releases a permit acquired with {@link #acquire()}.
+     */
+    void release() {
+        this.permits.release();
+    }
+
+    /**
+     * @return  A {@code String} that is the name of this budget.
+     */
+    public String getName() {
+        return this.name;
+    }
+    /**
+     * @return  An {@code int} that is the maximum number of {@code MySQLDAOManager}s
+     *          concurrently holding connections for this budget.
+     */
+    public int getMaxPermits() {
+        return this.maxPermits;
+    }
+    /**
+     * @return  A {@code long} that is the maximum time in milliseconds to wait for
+     *          a permit to be released when this budget is exhausted.
+     */
+    public long getMaxWaitTimeMs() {
+        return this.maxWaitTimeMs;
+    }
+    /**
+     * @return  An {@code int} that is the number of permits currently held
+     *          for this budget, that is, the number of {@code MySQLDAOManager}s
+     *          currently holding connections.
+     */
+    public int getInUseCount() {
+        return Math.max(0, this.maxPermits - this.permits.availablePermits());
+    }
+    /**
+     * @return  A {@code long} that is the number of requests currently waiting
+     *          for a permit of this budget.
+     */
+    public long getWaitingCount() {
+        return this.waitingCount.sum();
+    }
+    /**
+     * @return  A {@code long} that is the number of permits acquired for this budget.
+     */
+    public long getAcquiredCount() {
+        return this.acquiredCount.sum();
+    }
+    /**
+     * @return  A {@code long} that is the number of requests rejected because
+     *          this budget was exhausted.
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+    /**
+     * @return  A {@code long} that is the total time in milliseconds spent waiting
+     *          for a permit of this budget.
+     */
+    public long getTotalWaitTimeMs() {
+        return this.totalWaitTimeMs.sum();
+    }
+    /**
+     * @return  A {@code long} that is the maximum time in milliseconds spent waiting
+     *          for a permit of this budget.
+     */
+    public long getMaxWaitTimeObservedMs() {
+        return this.maxWaitTimeObservedMs.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionBudget [name=" + name + ", maxPermits=" + maxPermits
+                + ", maxWaitTimeMs=" + maxWaitTimeMs + ", inUse=" + getInUseCount() + "]";
+    }
+}
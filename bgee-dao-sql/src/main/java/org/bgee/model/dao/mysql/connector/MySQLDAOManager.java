@@ -8,13 +8,16 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -27,6 +30,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.dao.api.DAOManager;
 import org.bgee.model.dao.api.anatdev.SexDAO;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
 import org.bgee.model.dao.api.exception.DAOException;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.SamplePValueDAO;
@@ -109,6 +113,22 @@ public class MySQLDAOManager extends DAOManager {
      * (see {@link BgeeConnection#getId()}). 
      */
     private final Map<String, BgeeConnection> connections;
+    /**
+     * A {@code Runnable} releasing the permit of a budget of connections held 
+     * by this {@code MySQLDAOManager} while it holds opened {@code BgeeConnection}s, 
+     * or while other {@code MySQLDAOManager}s share it (see {@link #connectionBudgetShareCount}): 
+     * either a permit of its own, or the permit of the {@code MySQLDAOManager} it shares 
+     * the permit of. {@code null} if it holds no permit. Accesses are synchronized 
+     * over {@link #connections}.
+     */
+    private Runnable heldConnectionBudgetRelease;
+    /**
+     * An {@code int} that is the number of {@code MySQLDAOManager}s currently holding 
+     * connections using the permit of this {@code MySQLDAOManager} 
+     * (see {@link #shareConnectionBudget(DAOManager)}). Accesses are synchronized 
+     * over {@link #connections}.
+     */
+    private int connectionBudgetShareCount;
     
     /**
      * The {@code DataSource} used to obtain {@code Connection} from. 
@@ -250,6 +270,182 @@ public class MySQLDAOManager extends DAOManager {
      * @see #EXPR_PROPAGATION_GENE_COUNT_KEY
      */
     public final static int DEFAULT_EXPR_PROPAGATION_GENE_COUNT = 1000;
+
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} whether the queries should be monitored 
+     * by the {@link QueryMonitor} ({@code true} or {@code false}). As there is a single 
+     * {@code QueryMonitor} per JVM, this setting applies to all {@code MySQLDAOManager}s. 
+     * If not provided, the setting of the {@code QueryMonitor} is not modified 
+     * (monitoring is disabled by default).
+     * 
+     * @see #QUERY_MONITORING_SLOW_QUERY_THRESHOLD_KEY
+     * @see #QUERY_MONITORING_SLOW_QUERY_MAX_COUNT_KEY
+     */
+    public final static String QUERY_MONITORING_KEY = "bgee.dao.jdbc.monitoring";
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the execution time in milliseconds above which 
+     * a query is captured by the {@link QueryMonitor} as a slow query. Only considered 
+     * if {@link #QUERY_MONITORING_KEY} is provided. Default value is 
+     * {@link QueryMonitor#DEFAULT_SLOW_QUERY_THRESHOLD_MS}.
+     */
+    public final static String QUERY_MONITORING_SLOW_QUERY_THRESHOLD_KEY = 
+            "bgee.dao.jdbc.monitoring.slowQueryThresholdMs";
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the maximum number of slow queries kept 
+     * by the {@link QueryMonitor}. Only considered if {@link #QUERY_MONITORING_KEY} 
+     * is provided. Default value is {@link QueryMonitor#DEFAULT_SLOW_QUERY_MAX_COUNT}.
+     */
+    public final static String QUERY_MONITORING_SLOW_QUERY_MAX_COUNT_KEY = 
+            "bgee.dao.jdbc.monitoring.slowQueryMaxCount";
+
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the JDBC connection URLs of read replicas 
+     * of the database, separated by commas. When provided, read-only queries are sent 
+     * to one of these replicas, while transactions and statements modifying data 
+     * are sent to the primary database (defined by {@link #JDBC_URL_KEY} or 
+     * {@link #RESOURCE_NAME_KEY}). A replica can be provided either as a JDBC URL, 
+     * connections being then obtained from the {@code DriverManager}, so that 
+     * {@link #JDBC_DRIVER_NAMES_KEY} must be provided, or as the JNDI resource name 
+     * of a {@code DataSource} prefixed with {@link #REPLICA_DATA_SOURCE_PREFIX}, 
+     * for instance {@code jndi:java:comp/env/jdbc/bgeeReplica1}, so that connections 
+     * to the replica are pooled by the {@code DataSource}. The user and password used 
+     * are the same as for the primary database (see {@link #getUser()} 
+     * and {@link #getPassword()}), unless provided in the URLs or to the {@code DataSource}.
+     * 
+     * @see #getReplicaJdbcUrls()
+     * @see #REPLICA_STICKY_KEY
+     * @see #REPLICA_EJECTION_TIME_MS_KEY
+     */
+    public final static String REPLICA_JDBC_URLS_KEY = "bgee.dao.jdbc.replica.urls";
+    /**
+     * A {@code String} that is the prefix of the replicas provided with 
+     * {@link #REPLICA_JDBC_URLS_KEY} as the JNDI resource name of a {@code DataSource}, 
+     * rather than as a JDBC URL.
+     */
+    public final static String REPLICA_DATA_SOURCE_PREFIX = "jndi:";
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} whether a {@code MySQLDAOManager} should send 
+     * all its following queries to the primary database once it modified data 
+     * ({@code true} or {@code false}), so that it reads its own writes, 
+     * as replicas can lag behind the primary database. Default value is 
+     * {@link #DEFAULT_REPLICA_STICKY}.
+     * <p>
+     * The fact that data were modified is held by each {@code MySQLDAOManager}: 
+     * it is not shared with other {@code MySQLDAOManager}s, and is lost when 
+     * the {@code MySQLDAOManager} is closed. As a {@code MySQLDAOManager} is usually 
+     * used for a single request to the webapp, the following requests of a same user 
+     * can thus be sent to a replica that has not yet received the modifications; 
+     * clients needing to read their writes across requests must use 
+     * {@link #getPrimaryConnection()}.
+     * 
+     * @see #REPLICA_JDBC_URLS_KEY
+     */
+    public final static String REPLICA_STICKY_KEY = "bgee.dao.jdbc.replica.sticky";
+    /**
+     * A {@code boolean} that is the default value of the parameter {@link #REPLICA_STICKY_KEY}.
+     */
+    public final static boolean DEFAULT_REPLICA_STICKY = true;
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the time in milliseconds during which 
+     * a replica is not used anymore, after it failed to provide a connection. 
+     * Default value is {@link #DEFAULT_REPLICA_EJECTION_TIME_MS}.
+     * 
+     * @see #REPLICA_JDBC_URLS_KEY
+     */
+    public final static String REPLICA_EJECTION_TIME_MS_KEY = "bgee.dao.jdbc.replica.ejectionTimeMs";
+    /**
+     * A {@code long} that is the default value of the parameter 
+     * {@link #REPLICA_EJECTION_TIME_MS_KEY}.
+     */
+    public final static long DEFAULT_REPLICA_EJECTION_TIME_MS = 30000;
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the budgets of connections, as names of budgets 
+     * associated to the maximum number of {@code MySQLDAOManager}s concurrently holding 
+     * connections for them, separated by commas, for instance 
+     * {@code interactive:20,dataApi:8,rPackage:4}. A {@code MySQLDAOManager} uses the budget 
+     * set with {@link #setConnectionBudget(String)}: it acquires one permit of the budget 
+     * when opening its first connection, and releases it when all its connections are closed. 
+     * A {@code MySQLDAOManager} sharing the permit of another one 
+     * (see {@link #shareConnectionBudget(DAOManager)}) does not acquire a permit: 
+     * the other {@code MySQLDAOManager} acquires its permit if needed, and keeps it 
+     * until the {@code MySQLDAOManager}s sharing it have closed their connections. 
+     * When the budget is exhausted, it waits for a permit to be released for at most 
+     * the time defined by {@link #CONNECTION_BUDGET_MAX_WAIT_MS_KEY}, then throws 
+     * a {@code ConnectionBudgetExceededException}. As budgets are shared by all 
+     * {@code MySQLDAOManager}s, this setting applies to all of them, and replaces 
+     * the budgets previously configured: budgets not defined anymore are removed. 
+     * A {@code MySQLDAOManager} using a budget not configured is not limited.
+     * 
+     * @see ConnectionBudget
+     */
+    public final static String CONNECTION_BUDGETS_KEY = "bgee.dao.jdbc.connectionBudgets";
+    /**
+     * A {@code String} that is the key to retrieve from the {@code Properties} provided 
+     * to the method {@code setParameters} the maximum time in milliseconds to wait 
+     * for a permit to be released when a budget is exhausted. Only considered 
+     * if {@link #CONNECTION_BUDGETS_KEY} is provided. Default value is 
+     * {@link ConnectionBudget#DEFAULT_MAX_WAIT_TIME_MS}.
+     */
+    public final static String CONNECTION_BUDGET_MAX_WAIT_MS_KEY = 
+            "bgee.dao.jdbc.connectionBudgets.maxWaitMs";
+    /**
+     * A {@code ConcurrentMap} where keys are {@code String}s that are hashes 
+     * of the JDBC URLs of replicas that failed to provide a connection, the associated 
+     * value being a {@code Long} that is the time in milliseconds since the epoch 
+     * until which they should not be used. This is shared by all {@code MySQLDAOManager}s, 
+     * so that a failing replica is ejected for all of them.
+     */
+    private final static ConcurrentMap<String, Long> ejectedReplicas = 
+            new ConcurrentHashMap<String, Long>();
+    /**
+     * An {@code AtomicInteger} used to distribute the {@code MySQLDAOManager}s 
+     * among the replicas in a round-robin manner.
+     */
+    private final static AtomicInteger replicaSelectionCounter = new AtomicInteger(0);
+    /**
+     * A {@code ConcurrentMap} where keys are the JNDI resource names of the replicas 
+     * provided as {@code DataSource}s (see {@link #REPLICA_DATA_SOURCE_PREFIX}), 
+     * the associated value being the {@code DataSource} obtained, shared by all 
+     * {@code MySQLDAOManager}s.
+     */
+    private final static ConcurrentMap<String, DataSource> replicaDataSources = 
+            new ConcurrentHashMap<String, DataSource>();
+    /**
+     * A {@code List} of {@code String}s that are the JDBC connection URLs of the replicas, 
+     * or their {@code DataSource} resource names prefixed with 
+     * {@link #REPLICA_DATA_SOURCE_PREFIX}.
+     * @see #REPLICA_JDBC_URLS_KEY
+     */
+    private final List<String> replicaJdbcUrls;
+    /**
+     * @see #REPLICA_STICKY_KEY
+     */
+    private boolean replicaSticky;
+    /**
+     * @see #REPLICA_EJECTION_TIME_MS_KEY
+     */
+    private long replicaEjectionTimeMs;
+    /**
+     * A {@code String} that is the JDBC URL of the replica selected by this 
+     * {@code MySQLDAOManager}, so that all its read-only queries are sent 
+     * to the same replica. {@code null} if no replica was selected yet.
+     */
+    private String selectedReplicaJdbcUrl;
+    /**
+     * A {@code boolean} that is {@code true} if a statement modifying data was sent 
+     * to the primary database through this {@code MySQLDAOManager}. It is specific 
+     * to this {@code MySQLDAOManager}, thus usually to a single request to the webapp, 
+     * and is not shared with other {@code MySQLDAOManager}s.
+     * @see #REPLICA_STICKY_KEY
+     */
+    private volatile boolean writePerformed;
     
     
     /**
@@ -272,8 +468,15 @@ public class MySQLDAOManager extends DAOManager {
     public MySQLDAOManager() {
         super();
         this.connections = new HashMap<String, BgeeConnection>();
+        this.heldConnectionBudgetRelease = null;
+        this.connectionBudgetShareCount = 0;
         this.jdbcDriverNames = new HashSet<String>();
+        this.replicaJdbcUrls = new ArrayList<String>();
         this.setExprPropagationGeneCount(DEFAULT_EXPR_PROPAGATION_GENE_COUNT);
+        this.replicaSticky = DEFAULT_REPLICA_STICKY;
+        this.replicaEjectionTimeMs = DEFAULT_REPLICA_EJECTION_TIME_MS;
+        this.selectedReplicaJdbcUrl = null;
+        this.writePerformed = false;
     }
     
     //******************************************
@@ -293,6 +496,20 @@ public class MySQLDAOManager extends DAOManager {
      * as long as it is not closed (by a call to {@link BgeeConnection#close()} 
      * for instance). 
      * <p>
+     * If replicas of the database were provided (see {@link #REPLICA_JDBC_URLS_KEY}), 
+     * the {@code BgeeConnection} returned is connected to a replica, unless a transaction 
+     * is ongoing, or data were modified through this {@code MySQLDAOManager} 
+     * and {@link #REPLICA_STICKY_KEY} is {@code true}, or no replica is available. 
+     * Statements modifying data and transactions requested to a {@code BgeeConnection} 
+     * connected to a replica are transparently sent to the primary database. 
+     * Use {@link #getPrimaryConnection()} to always obtain a {@code BgeeConnection} 
+     * connected to the primary database.
+     * <p>
+     * If a budget of connections is used (see {@link #setConnectionBudget(String)} and 
+     * {@link #CONNECTION_BUDGETS_KEY}), opening the first connection of this 
+     * {@code MySQLDAOManager} can wait for another {@code MySQLDAOManager} to release 
+     * its permit of the budget, and fail with a {@code ConnectionBudgetExceededException}.
+     * <p>
      * If this {@code MySQLDAOManager} was closed ({@link #isClosed()} 
      * returns {@code true}), this method will throw a {@code SQLException}.
      * <p>
@@ -306,9 +523,31 @@ public class MySQLDAOManager extends DAOManager {
      * @return  An opened {@code BgeeConnection}. 
      * @throws SQLException     If an error occurred while trying to obtain the connection, 
      *                          of if this {@code MySQLDAOManager} is already closed.
+     * @see #getPrimaryConnection()
      */
     public BgeeConnection getConnection() throws SQLException {
         log.traceEntry();
+        if (!this.getReplicaJdbcUrls().isEmpty() && !this.isPinnedToPrimary()) {
+            BgeeConnection replicaConnection = this.getReplicaConnection();
+            if (replicaConnection != null) {
+                return log.traceExit(replicaConnection);
+            }
+        }
+        return log.traceExit(this.getPrimaryConnection());
+    }
+
+    /**
+     * Same as {@link #getConnection()}, but always returns a {@code BgeeConnection} 
+     * connected to the primary database, even if replicas were provided 
+     * (see {@link #REPLICA_JDBC_URLS_KEY}).
+     * 
+     * @return  An opened {@code BgeeConnection} connected to the primary database. 
+     * @throws SQLException     If an error occurred while trying to obtain the connection, 
+     *                          of if this {@code MySQLDAOManager} is already closed.
+     * @see #getConnection()
+     */
+    public BgeeConnection getPrimaryConnection() throws SQLException {
+        log.traceEntry();
 
         if (this.isClosed()) {
             throw new SQLException("This DAOManager is already closed.");
@@ -328,61 +567,82 @@ public class MySQLDAOManager extends DAOManager {
                 log.trace("Return an already opened Connection with ID {}", connection.getId());
                 return log.traceExit(connection);
             }
-            //otherwise, create a new connection
-            Connection realConnection = null;
-            if (this.getDataSource() != null) {
-                if (this.getUser() == null) {
-                    log.debug("Trying to obtain a new Connection from the DataSource with default user/password");
-                    realConnection = this.getDataSource().getConnection();
-                } else {
-                    log.debug("Trying to obtain a new Connection from the DataSource using user {}", 
-                            this.getUser());
-                    realConnection = this.getDataSource().getConnection(
-                            this.getUser(), this.getPassword());
+        }
+        //otherwise, create a new connection, using a permit of the budget
+        //of this MySQLDAOManager, if any. The permit is acquired without holding the lock,
+        //so that waiting for it does not block other threads using this MySQLDAOManager
+        //(e.g., killDAOManager)
+        Runnable budgetRelease = this.acquireConnectionBudget();
+        synchronized(this.connections) {
+            boolean opened = false;
+            try {
+                BgeeConnection connection = this.connections.get(connectionId);
+                if (connection != null) {
+                    log.trace("Return an already opened Connection with ID {}", connection.getId());
+                    this.storeConnectionBudget(budgetRelease);
+                    opened = true;
+                    return log.traceExit(connection);
                 }
-            } else {
-                if (this.getUser() == null) {
-                    log.debug("Trying to obtain a new Connection from the DriverManager using connection URL");
-                    realConnection = DriverManager.getConnection(this.getJdbcUrl());
+                Connection realConnection = null;
+                if (this.getDataSource() != null) {
+                    if (this.getUser() == null) {
+                        log.debug("Trying to obtain a new Connection from the DataSource with default user/password");
+                        realConnection = this.getDataSource().getConnection();
+                    } else {
+                        log.debug("Trying to obtain a new Connection from the DataSource using user {}", 
+                                this.getUser());
+                        realConnection = this.getDataSource().getConnection(
+                                this.getUser(), this.getPassword());
+                    }
                 } else {
-                    log.debug("Trying to obtain a new Connection from the DriverManager using connection URL and user {}", 
-                            this.getUser());
-                    realConnection = DriverManager.getConnection(this.getJdbcUrl(), 
-                            this.getUser(), this.getPassword());
-                }
-            }
-            //just in case we couldn't obtain the connection, without exception
-            if (realConnection == null) {
-                String msg = "Could not obtain a Connection. ";
-                if (this.getDataSource() == null) {
-                    msg += "No DataSource was provided. ";
-                    if (!this.getJdbcDriverNames().isEmpty()) {
-                        msg += "The provided JDBC Drivers , " + this.getJdbcDriverNames() +
-                                ", did not allow to obtain a Connection. ";
+                    if (this.getUser() == null) {
+                        log.debug("Trying to obtain a new Connection from the DriverManager using connection URL");
+                        realConnection = DriverManager.getConnection(this.getJdbcUrl());
+                    } else {
+                        log.debug("Trying to obtain a new Connection from the DriverManager using connection URL and user {}", 
+                                this.getUser());
+                        realConnection = DriverManager.getConnection(this.getJdbcUrl(), 
+                                this.getUser(), this.getPassword());
                     }
-                    if (StringUtils.isNotBlank(this.getJdbcUrl())) {
-                        msg += "The provided JDBC URL, " + this.getJdbcUrl() + 
-                                ", did not allow to obtain a Connection. ";
+                }
+                //just in case we couldn't obtain the connection, without exception
+                if (realConnection == null) {
+                    String msg = "Could not obtain a Connection. ";
+                    if (this.getDataSource() == null) {
+                        msg += "No DataSource was provided. ";
+                        if (!this.getJdbcDriverNames().isEmpty()) {
+                            msg += "The provided JDBC Drivers , " + this.getJdbcDriverNames() +
+                                    ", did not allow to obtain a Connection. ";
+                        }
+                        if (StringUtils.isNotBlank(this.getJdbcUrl())) {
+                            msg += "The provided JDBC URL, " + this.getJdbcUrl() + 
+                                    ", did not allow to obtain a Connection. ";
+                        } else {
+                            msg += "No JDBC connection URL was provided. ";
+                        }
                     } else {
-                        msg += "No JDBC connection URL was provided. ";
+                        msg += "The DataSource did not allow to obtain a Connection. ";
                     }
-                } else {
-                    msg += "The DataSource did not allow to obtain a Connection. ";
+                    throw new SQLException(msg);
                 }
-                throw new SQLException(msg);
-            }
-            //now create the new BgeeConnection
-            connection = new BgeeConnection(this, realConnection, connectionId);
-            //if an alternative database to use has been specified, set it
-            if (this.getDatabaseToUse() != null) {
-                connection.getRealConnection().setCatalog(this.getDatabaseToUse());
-            }
-            //store and return it
-            this.connections.put(connection.getId(), connection);
-            
+                //now create the new BgeeConnection
+                connection = new BgeeConnection(this, realConnection, connectionId, false);
+                //if an alternative database to use has been specified, set it
+                if (this.getDatabaseToUse() != null) {
+                    connection.getRealConnection().setCatalog(this.getDatabaseToUse());
+                }
+                //store and return it
+                this.connections.put(connection.getId(), connection);
+                this.storeConnectionBudget(budgetRelease);
+                opened = true;
 
-            log.debug("Return a newly opened Connection with ID {}", connection.getId());
-            return log.traceExit(connection);
+                log.debug("Return a newly opened Connection with ID {}", connection.getId());
+                return log.traceExit(connection);
+            } finally {
+                if (!opened && budgetRelease != null) {
+                    budgetRelease.run();
+                }
+            }
         }
     }
     
@@ -540,9 +800,327 @@ public class MySQLDAOManager extends DAOManager {
         //have used a ConcurrentMap.
         synchronized(this.connections) {
             this.connections.remove(key);
+            //the permit of the budget is released when the last connection is closed
+            this.releaseUnusedConnectionBudget();
+        }
+    }
+    /**
+     * Acquires a permit of the budget of this {@code MySQLDAOManager} 
+     * (see {@link #setConnectionBudget(String)}), if it does not already hold one, 
+     * waiting for a permit to be released if the budget is exhausted. A {@code MySQLDAOManager} 
+     * holds one permit, whatever the number of connections it opens, until all its 
+     * connections are closed. If this {@code MySQLDAOManager} shares the permit 
+     * of another one (see {@link #shareConnectionBudget(DAOManager)}), the other 
+     * {@code MySQLDAOManager} is requested to keep its permit instead, acquiring it 
+     * if needed. This method must not be called while holding the lock 
+     * on {@link #connections}, and the permit returned must be stored with 
+     * {@link #storeConnectionBudget(Runnable)}, or released.
+     * 
+     * @return  A {@code Runnable} releasing the permit acquired, {@code null} 
+     *          if this {@code MySQLDAOManager} already holds a permit, 
+     *          uses no budget, or a budget not configured (see {@link #CONNECTION_BUDGETS_KEY}).
+     * @throws ConnectionBudgetExceededException    If no permit of the budget 
+     *                                              was released in time.
+     */
+    private Runnable acquireConnectionBudget() throws ConnectionBudgetExceededException {
+        log.traceEntry();
+        assert !Thread.holdsLock(this.connections);
+        synchronized(this.connections) {
+            if (this.heldConnectionBudgetRelease != null) {
+                return log.traceExit((Runnable) null);
+            }
+        }
+        DAOManager owner = this.getConnectionBudgetOwner();
+        if (owner instanceof MySQLDAOManager) {
+            MySQLDAOManager ownerManager = (MySQLDAOManager) owner;
+            ownerManager.retainConnectionBudget();
+            return log.traceExit(ownerManager::releaseRetainedConnectionBudget);
+        }
+        ConnectionBudget budget = ConnectionBudget.getBudget(this.getConnectionBudget());
+        if (budget == null) {
+            return log.traceExit((Runnable) null);
+        }
+        budget.acquire();
+        return log.traceExit(budget::release);
+    }
+    /**
+     * Stores the permit acquired with {@link #acquireConnectionBudget()}, so that 
+     * it is released when the last {@code BgeeConnection} of this {@code MySQLDAOManager} 
+     * is closed. If this {@code MySQLDAOManager} already holds a permit (for instance, 
+     * acquired concurrently by another thread), the permit provided is released. 
+     * Must be called while holding the lock on {@link #connections}, and after storing 
+     * the {@code BgeeConnection} opened.
+     * 
+     * @param budgetRelease A {@code Runnable} releasing the permit acquired. 
+     *                      If {@code null}, nothing is stored.
+     */
+    private void storeConnectionBudget(Runnable budgetRelease) {
+        assert Thread.holdsLock(this.connections);
+        if (budgetRelease == null) {
+            return;
+        }
+        if (this.heldConnectionBudgetRelease == null &&
+                (!this.connections.isEmpty() || this.connectionBudgetShareCount > 0)) {
+            this.heldConnectionBudgetRelease = budgetRelease;
+        } else {
+            budgetRelease.run();
+        }
+    }
+    /**
+     * Releases the permit held by this {@code MySQLDAOManager}, if it holds 
+     * no more connections and no other {@code MySQLDAOManager} shares it. 
+     * Must be called while holding the lock on {@link #connections}.
+     */
+    private void releaseUnusedConnectionBudget() {
+        assert Thread.holdsLock(this.connections);
+        if (this.connections.isEmpty() && this.connectionBudgetShareCount == 0 &&
+                this.heldConnectionBudgetRelease != null) {
+            Runnable budgetRelease = this.heldConnectionBudgetRelease;
+            this.heldConnectionBudgetRelease = null;
+            budgetRelease.run();
+        }
+    }
+    /**
+     * Requests this {@code MySQLDAOManager} to keep its permit of the budget of connections, 
+     * for a {@code MySQLDAOManager} sharing it that opens its first connection, acquiring 
+     * the permit if this {@code MySQLDAOManager} does not hold it. 
+     * {@link #releaseRetainedConnectionBudget()} must be called once the connections 
+     * of the {@code MySQLDAOManager} sharing the permit are closed. 
+     * Must not be called while holding the lock on {@link #connections}.
+     * 
+     * @throws ConnectionBudgetExceededException    If no permit of the budget 
+     *                                              was released in time.
+     */
+    private void retainConnectionBudget() throws ConnectionBudgetExceededException {
+        log.traceEntry();
+        Runnable budgetRelease = this.acquireConnectionBudget();
+        synchronized(this.connections) {
+            this.connectionBudgetShareCount++;
+            this.storeConnectionBudget(budgetRelease);
         }
+        log.traceExit();
+    }
+    /**
+     * Notification that a {@code MySQLDAOManager} sharing the permit of this one 
+     * closed its connections (see {@link #retainConnectionBudget()}).
+     */
+    private void releaseRetainedConnectionBudget() {
+        log.traceEntry();
+        synchronized(this.connections) {
+            this.connectionBudgetShareCount--;
+            this.releaseUnusedConnectionBudget();
+        }
+        log.traceExit();
     }
     
+    /**
+     * Notification that a statement modifying data was sent to the primary database 
+     * through this {@code MySQLDAOManager}. If {@link #REPLICA_STICKY_KEY} is {@code true}, 
+     * all following queries of this {@code MySQLDAOManager} will be sent 
+     * to the primary database; other {@code MySQLDAOManager}s are not affected.
+     */
+    void writePerformed() {
+        this.writePerformed = true;
+    }
+    /**
+     * @return  A {@code boolean} that is {@code true} if all queries should be sent 
+     *          to the primary database: if a transaction is ongoing on the primary database, 
+     *          or if data were modified and {@link #REPLICA_STICKY_KEY} is {@code true}.
+     */
+    private boolean isPinnedToPrimary() {
+        log.traceEntry();
+        if (this.replicaSticky && this.writePerformed) {
+            return log.traceExit(true);
+        }
+        String primaryConnectionId = this.generateConnectionId(this.getJdbcUrl(), 
+                this.getUser(), this.getDatabaseToUse());
+        synchronized(this.connections) {
+            BgeeConnection primaryConnection = this.connections.get(primaryConnectionId);
+            return log.traceExit(primaryConnection != null && 
+                    primaryConnection.isOngoingTransaction());
+        }
+    }
+    /**
+     * Obtains a {@code BgeeConnection} connected to the replica selected 
+     * by this {@code MySQLDAOManager}, or selects a new replica if none was selected yet, 
+     * or if the selected one is ejected. Replicas are selected in a round-robin manner 
+     * among the ones not ejected. A replica failing to provide a connection is ejected 
+     * for all {@code MySQLDAOManager}s during the time defined by 
+     * {@link #REPLICA_EJECTION_TIME_MS_KEY}, and another replica is tried.
+     * 
+     * @return  An opened {@code BgeeConnection} connected to a replica, 
+     *          {@code null} if no replica is available.
+     * @throws SQLException If this {@code MySQLDAOManager} is already closed.
+     */
+    private BgeeConnection getReplicaConnection() throws SQLException {
+        log.traceEntry();
+        if (this.isClosed()) {
+            throw new SQLException("This DAOManager is already closed.");
+        }
+        //we try each replica at most once
+        for (int i = 0; i < this.getReplicaJdbcUrls().size(); i++) {
+            if (this.selectedReplicaJdbcUrl == null || 
+                    isReplicaEjected(this.selectedReplicaJdbcUrl)) {
+                this.selectedReplicaJdbcUrl = this.selectReplica();
+                if (this.selectedReplicaJdbcUrl == null) {
+                    log.debug("No replica available, use of the primary database");
+                    return log.traceExit((BgeeConnection) null);
+                }
+            }
+            try {
+                return log.traceExit(this.getReplicaConnection(this.selectedReplicaJdbcUrl));
+            } catch (SQLException e) {
+                //we don't log the URL, as it can contain a password
+                log.catching(e);
+                log.warn("Replica #{} could not provide a connection, ejected for {} ms", 
+                        this.getReplicaJdbcUrls().indexOf(this.selectedReplicaJdbcUrl), 
+                        this.replicaEjectionTimeMs);
+                ejectedReplicas.put(DigestUtils.sha1Hex(this.selectedReplicaJdbcUrl), 
+                        System.currentTimeMillis() + this.replicaEjectionTimeMs);
+                this.selectedReplicaJdbcUrl = null;
+            }
+        }
+        log.debug("No replica available, use of the primary database");
+        return log.traceExit((BgeeConnection) null);
+    }
+    /**
+     * Selects a replica in a round-robin manner among the replicas not ejected.
+     * 
+     * @return  A {@code String} that is the JDBC URL of the selected replica, 
+     *          {@code null} if all replicas are ejected.
+     */
+    private String selectReplica() {
+        log.traceEntry();
+        List<String> urls = this.getReplicaJdbcUrls();
+        int start = Math.floorMod(replicaSelectionCounter.getAndIncrement(), urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get((start + i) % urls.size());
+            if (!isReplicaEjected(url)) {
+                return log.traceExit(url);
+            }
+        }
+        return log.traceExit((String) null);
+    }
+    /**
+     * @param jdbcUrl   A {@code String} that is the JDBC URL of a replica.
+     * @return          A {@code boolean} that is {@code true} if the replica is currently 
+     *                  ejected after it failed to provide a connection.
+     */
+    private static boolean isReplicaEjected(String jdbcUrl) {
+        String key = DigestUtils.sha1Hex(jdbcUrl);
+        Long ejectedUntil = ejectedReplicas.get(key);
+        if (ejectedUntil == null) {
+            return false;
+        }
+        if (ejectedUntil <= System.currentTimeMillis()) {
+            ejectedReplicas.remove(key, ejectedUntil);
+            return false;
+        }
+        return true;
+    }
+    /**
+     * Obtains a {@code BgeeConnection} connected to the replica {@code jdbcUrl}, 
+     * from the {@code DriverManager}, or from the {@code DataSource} of the replica 
+     * if provided with the prefix {@link #REPLICA_DATA_SOURCE_PREFIX}. 
+     * If a {@code BgeeConnection} to this replica is already held 
+     * by this {@code MySQLDAOManager}, it is returned.
+     * 
+     * @param jdbcUrl   A {@code String} that is the JDBC URL of the replica, 
+     *                  or its {@code DataSource} resource name prefixed with 
+     *                  {@link #REPLICA_DATA_SOURCE_PREFIX}.
+     * @return          An opened {@code BgeeConnection} connected to the replica.
+     * @throws SQLException If an error occurred while trying to obtain the connection.
+     */
+    private BgeeConnection getReplicaConnection(String jdbcUrl) throws SQLException {
+        log.traceEntry();
+        String connectionId = this.generateConnectionId(jdbcUrl, 
+                this.getUser(), this.getDatabaseToUse());
+        synchronized(this.connections) {
+            BgeeConnection connection = this.connections.get(connectionId);
+            if (connection != null) {
+                return log.traceExit(connection);
+            }
+        }
+        Runnable budgetRelease = this.acquireConnectionBudget();
+        synchronized(this.connections) {
+            boolean opened = false;
+            try {
+                BgeeConnection connection = this.connections.get(connectionId);
+                if (connection != null) {
+                    this.storeConnectionBudget(budgetRelease);
+                    opened = true;
+                    return log.traceExit(connection);
+                }
+                Connection realConnection = null;
+                if (jdbcUrl.startsWith(REPLICA_DATA_SOURCE_PREFIX)) {
+                    DataSource replicaDataSource = getReplicaDataSource(
+                            jdbcUrl.substring(REPLICA_DATA_SOURCE_PREFIX.length()));
+                    if (this.getUser() == null) {
+                        realConnection = replicaDataSource.getConnection();
+                    } else {
+                        realConnection = replicaDataSource.getConnection(
+                                this.getUser(), this.getPassword());
+                    }
+                } else if (this.getUser() == null) {
+                    realConnection = DriverManager.getConnection(jdbcUrl);
+                } else {
+                    realConnection = DriverManager.getConnection(jdbcUrl, 
+                            this.getUser(), this.getPassword());
+                }
+                if (realConnection == null) {
+                    throw new SQLException("Could not obtain a Connection to the replica.");
+                }
+                connection = new BgeeConnection(this, realConnection, connectionId, true);
+                if (this.getDatabaseToUse() != null) {
+                    connection.getRealConnection().setCatalog(this.getDatabaseToUse());
+                }
+                this.connections.put(connection.getId(), connection);
+                this.storeConnectionBudget(budgetRelease);
+                opened = true;
+
+                log.debug("Return a newly opened Connection to a replica with ID {}", 
+                        connection.getId());
+                return log.traceExit(connection);
+            } finally {
+                if (!opened && budgetRelease != null) {
+                    budgetRelease.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains the {@code DataSource} of a replica from a JNDI {@code InitialContext}, 
+     * or from {@link #replicaDataSources} if already obtained.
+     * 
+     * @param resourceName  A {@code String} that is the JNDI resource name 
+     *                      of the {@code DataSource} of the replica.
+     * @return              The {@code DataSource} of the replica.
+     * @throws SQLException If no {@code DataSource} could be obtained.
+     */
+    private static DataSource getReplicaDataSource(String resourceName) throws SQLException {
+        log.traceEntry("{}", resourceName);
+        DataSource replicaDataSource = replicaDataSources.get(resourceName);
+        if (replicaDataSource != null) {
+            return log.traceExit(replicaDataSource);
+        }
+        try {
+            Context ctx = new InitialContext();
+            replicaDataSource = (DataSource) ctx.lookup(resourceName);
+        } catch (NamingException e) {
+            throw log.throwing(new SQLException("The DataSource resource name of a replica " 
+                    + "did not allow to obtain a valid DataSource.", e));
+        }
+        if (replicaDataSource == null) {
+            throw log.throwing(new SQLException("The DataSource resource name of a replica " 
+                    + "did not allow to obtain a valid DataSource."));
+        }
+        DataSource previous = replicaDataSources.putIfAbsent(resourceName, replicaDataSource);
+        log.info("DataSource of a replica obtained from InitialContext {} using JNDI", 
+                resourceName);
+        return log.traceExit(previous != null? previous: replicaDataSource);
+    }
+
     /**
      * Generate an ID to uniquely identify the {@code BgeeConnection}s 
      * holded by this {@code MySQLDAOManager}. It is based on  
@@ -765,6 +1343,37 @@ public class MySQLDAOManager extends DAOManager {
         this.jdbcUrl = jdbcUrl;
     }
 
+    /**
+     * @return  An unmodifiable {@code List} of {@code String}s that are the JDBC connection 
+     *          URLs of the replicas of the database, used for read-only queries, 
+     *          or their {@code DataSource} resource names prefixed with 
+     *          {@link #REPLICA_DATA_SOURCE_PREFIX}.
+     * @see #REPLICA_JDBC_URLS_KEY
+     */
+    public List<String> getReplicaJdbcUrls() {
+        return Collections.unmodifiableList(this.replicaJdbcUrls);
+    }
+    /**
+     * Parses and sets the JDBC connection URLs of the replicas of the database.
+     * 
+     * @param replicaUrls   A {@code String} that is the JDBC connection URLs 
+     *                      of the replicas, separated by commas. Can be {@code null}.
+     * @see #REPLICA_JDBC_URLS_KEY
+     */
+    private void parseAndSetReplicaJdbcUrls(String replicaUrls) {
+        log.traceEntry("{}", replicaUrls);
+        this.replicaJdbcUrls.clear();
+        this.selectedReplicaJdbcUrl = null;
+        if (StringUtils.isNotBlank(replicaUrls)) {
+            for (String url: replicaUrls.split(",")) {
+                if (StringUtils.isNotBlank(url) && !this.replicaJdbcUrls.contains(url.trim())) {
+                    this.replicaJdbcUrls.add(url.trim());
+                }
+            }
+        }
+        log.traceExit();
+    }
+
     /**
      * Returns the gene count limit for expression propagation: when expression data 
      * are propagated on-the-fly, it is not possible to propagate all data at once 
@@ -897,6 +1506,68 @@ public class MySQLDAOManager extends DAOManager {
             }
         }
 
+        String queryMonitoringStr = props.getProperty(QUERY_MONITORING_KEY);
+        if (queryMonitoringStr != null) {
+            try {
+                String thresholdStr = props.getProperty(QUERY_MONITORING_SLOW_QUERY_THRESHOLD_KEY);
+                String maxCountStr = props.getProperty(QUERY_MONITORING_SLOW_QUERY_MAX_COUNT_KEY);
+                QueryMonitor.getInstance().configure(Boolean.parseBoolean(queryMonitoringStr.trim()),
+                        thresholdStr == null? QueryMonitor.DEFAULT_SLOW_QUERY_THRESHOLD_MS:
+                            Long.parseLong(thresholdStr.trim()),
+                        maxCountStr == null? QueryMonitor.DEFAULT_SLOW_QUERY_MAX_COUNT:
+                            Integer.parseInt(maxCountStr.trim()));
+            } catch (IllegalArgumentException e) {
+                throw log.throwing(new IllegalArgumentException("Incorrect format " +
+                        "when specifying query monitoring parameters", e));
+            }
+        }
+
+        this.parseAndSetReplicaJdbcUrls(props.getProperty(REPLICA_JDBC_URLS_KEY));
+        if (!this.getReplicaJdbcUrls().isEmpty() && this.getJdbcDriverNames().isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("JDBC Driver names must be provided "
+                    + "to use replicas of the database, parameter: " + JDBC_DRIVER_NAMES_KEY));
+        }
+        String replicaStickyStr = props.getProperty(REPLICA_STICKY_KEY);
+        this.replicaSticky = replicaStickyStr == null? DEFAULT_REPLICA_STICKY: 
+            Boolean.parseBoolean(replicaStickyStr.trim());
+        String ejectionTimeStr = props.getProperty(REPLICA_EJECTION_TIME_MS_KEY);
+        try {
+            this.replicaEjectionTimeMs = ejectionTimeStr == null? DEFAULT_REPLICA_EJECTION_TIME_MS: 
+                Long.parseLong(ejectionTimeStr.trim());
+        } catch (NumberFormatException e) {
+            throw log.throwing(new IllegalArgumentException("Incorrect format " +
+                    "when specifying replica ejection time, parameter: " 
+                    + REPLICA_EJECTION_TIME_MS_KEY, e));
+        }
+
+        //The budgets are always reconfigured, so that budgets not defined anymore are removed
+        String budgetsStr = props.getProperty(CONNECTION_BUDGETS_KEY);
+        String maxWaitStr = props.getProperty(CONNECTION_BUDGET_MAX_WAIT_MS_KEY);
+        try {
+            long maxWaitMs = maxWaitStr == null? ConnectionBudget.DEFAULT_MAX_WAIT_TIME_MS: 
+                Long.parseLong(maxWaitStr.trim());
+            Map<String, Integer> maxPermitsPerBudget = new HashMap<>();
+            if (StringUtils.isNotBlank(budgetsStr)) {
+                for (String budgetStr: budgetsStr.split(",")) {
+                    if (StringUtils.isBlank(budgetStr)) {
+                        continue;
+                    }
+                    String[] nameAndMax = budgetStr.split(":");
+                    if (nameAndMax.length != 2) {
+                        throw log.throwing(new IllegalArgumentException(
+                                "Incorrect definition of budget: " + budgetStr));
+                    }
+                    maxPermitsPerBudget.put(nameAndMax[0].trim(), 
+                            Integer.parseInt(nameAndMax[1].trim()));
+                }
+            }
+            ConnectionBudget.configure(maxPermitsPerBudget, maxWaitMs);
+        } catch (IllegalArgumentException e) {
+            throw log.throwing(new IllegalArgumentException("Incorrect format " +
+                    "when specifying connection budgets, parameters: " 
+                    + CONNECTION_BUDGETS_KEY + ", " + CONNECTION_BUDGET_MAX_WAIT_MS_KEY, e));
+        }
+
 //      log.trace("New parameters set: DataSource name: {} - JDBC URL: {} - Driver names: {} - User: {} - Password: {}", 
 //              this.getDataSourceResourceName(), this.getJdbcUrl(), 
 //              this.getJdbcDriverNames(), this.getUser(), this.getPassword());
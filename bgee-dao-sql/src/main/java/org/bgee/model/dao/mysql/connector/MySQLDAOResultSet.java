@@ -58,6 +58,11 @@ public abstract class MySQLDAOResultSet<T extends TransferObject> implements DAO
      */
     private final static Logger log = 
             LogManager.getLogger(MySQLDAOResultSet.class.getName());
+    /**
+     * An {@code int} that is the number of rows iterated between two checks of the deadline 
+     * of the request (see {@link BgeePreparedStatement#checkDeadline()}).
+     */
+    private final static int DEADLINE_CHECK_ROW_INTERVAL = 1000;
     
     /**
      * A {@code Spliterator} allowing to stream over {@code TransferObject}s 
@@ -540,6 +545,11 @@ public abstract class MySQLDAOResultSet<T extends TransferObject> implements DAO
             //we count this iteration even if it corresponds to a duplicated TO, 
             //as we need to know whether the database can potentially have other results.
             this.currentResultSetIterationCount++;
+            //the results can be iterated long after the query was executed, 
+            //so we regularly check the deadline of the request
+            if (this.currentResultSetIterationCount % DEADLINE_CHECK_ROW_INTERVAL == 0) {
+                this.currentStatement.checkDeadline();
+            }
             //check whether we need to filter duplicated TOs
             if (this.isFilterDuplicates()) {
                 T to = this.getTO();
@@ -779,6 +789,9 @@ public abstract class MySQLDAOResultSet<T extends TransferObject> implements DAO
      */
     private void closeCurrentResultSet() throws DAOException{
         log.traceEntry();
+        if (this.currentResultSet != null && this.currentStatement != null) {
+            this.currentStatement.queryCompleted(this.currentResultSetIterationCount);
+        }
         try {
             if (this.currentResultSet != null && !this.currentResultSet.isClosed()) {
                 this.currentResultSet.close();
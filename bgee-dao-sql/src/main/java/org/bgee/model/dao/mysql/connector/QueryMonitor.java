@@ -0,0 +1,517 @@
+package org.bgee.model.dao.mysql.connector;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records statistics about the queries executed through {@link BgeePreparedStatement}s:
+ * for each DAO method issuing queries, the number of queries, a histogram of their
+ * execution time (from the execution of the query to the end of the iteration
+ * of its results), their time to first row (the time for the execution of the query
+ * to return), the number of rows returned, and the number of queries in error.
+ * Queries slower than {@link #getSlowQueryThresholdMs()} are captured with their SQL
+ * and bound parameters, and with the ID of the request or job that issued them
+ * (see {@link #setRequestId(String)}). Request IDs are not used as labels of the metrics,
+ * as each request would create new time series.
+ * <p>
+ * There is a single {@code QueryMonitor} per JVM (see {@link #getInstance()}), configured
+ * through the parameters provided to {@link MySQLDAOManager#setParameters(java.util.Properties)}
+ * (see {@link MySQLDAOManager#QUERY_MONITORING_KEY}), or through JMX, where it is registered
+ * under the name {@link #OBJECT_NAME} once enabled. The statistics can be pulled in the Prometheus
+ * text exposition format with {@link #getMetricsText()}. Monitoring is disabled by default,
+ * in which case the cost for queries is a single {@code volatile} read.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class QueryMonitor implements QueryMonitorMBean {
+    private final static Logger log = LogManager.getLogger(QueryMonitor.class.getName());
+
+    /**
+     * A {@code String} that is the name under which the {@code QueryMonitor} is registered
+     * in the platform {@code MBeanServer}.
+     */
+    public final static String OBJECT_NAME = "org.bgee.model.dao.mysql:type=QueryMonitor";
+    /**
+     * A {@code long} that is the default value of {@link #getSlowQueryThresholdMs()}.
+     */
+    public final static long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 1000;
+    /**
+     * An {@code int} that is the default value of {@link #getSlowQueryMaxCount()}.
+     */
+    public final static int DEFAULT_SLOW_QUERY_MAX_COUNT = 100;
+    /**
+     * An {@code Array} of {@code long}s that are the upper bounds in milliseconds
+     * of the buckets of the execution time histograms.
+     */
+    private final static long[] TIME_BUCKETS_MS =
+            {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    /**
+     * A {@code String} that is the prefix of the packages of the classes that are considered
+     * as issuing queries, to determine the DAO method responsible for a query.
+     */
+    private final static String DAO_PACKAGE_PREFIX = "org.bgee.model.dao.mysql.";
+    /**
+     * A {@code String} that is the name of the package of this class, whose classes
+     * are never considered as issuing queries.
+     */
+    private final static String CONNECTOR_PACKAGE_PREFIX = QueryMonitor.class.getPackage().getName() + ".";
+
+    private final static QueryMonitor INSTANCE = new QueryMonitor();
+    /**
+     * An {@code InheritableThreadLocal} storing the ID of the request or job
+     * issuing queries in the current thread, inherited by the threads it starts
+     * (for instance, a {@link org.bgee.model.dao.api.PrefetchingDAOResultSet}).
+     */
+    private final static ThreadLocal<String> REQUEST_ID = new InheritableThreadLocal<>();
+
+    /**
+     * Statistics about a group of queries.
+     */
+    static class QueryStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder rowCount = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+        private final LongAdder totalTimeToFirstRowNanos = new LongAdder();
+        private final AtomicLong maxTimeNanos = new AtomicLong();
+        /**
+         * The number of queries falling in each bucket of {@link QueryMonitor#TIME_BUCKETS_MS},
+         * the last element counting the queries above the last bucket. Not cumulative.
+         */
+        private final LongAdder[] timeBuckets;
+
+        private QueryStatistics() {
+            this.timeBuckets = new LongAdder[TIME_BUCKETS_MS.length + 1];
+            for (int i = 0; i < this.timeBuckets.length; i++) {
+                this.timeBuckets[i] = new LongAdder();
+            }
+        }
+
+        private void add(long timeNanos, long timeToFirstRowNanos, long rowCount, boolean error) {
+            this.count.increment();
+            if (error) {
+                this.errorCount.increment();
+            }
+            this.rowCount.add(rowCount);
+            this.totalTimeNanos.add(timeNanos);
+            this.totalTimeToFirstRowNanos.add(timeToFirstRowNanos);
+            this.maxTimeNanos.accumulateAndGet(timeNanos, Math::max);
+            long timeMs = TimeUnit.NANOSECONDS.toMillis(timeNanos);
+            int bucket = 0;
+            while (bucket < TIME_BUCKETS_MS.length && timeMs > TIME_BUCKETS_MS[bucket]) {
+                bucket++;
+            }
+            this.timeBuckets[bucket].increment();
+        }
+
+        long getCount() {
+            return this.count.sum();
+        }
+        long getErrorCount() {
+            return this.errorCount.sum();
+        }
+        long getRowCount() {
+            return this.rowCount.sum();
+        }
+        long getTotalTimeNanos() {
+            return this.totalTimeNanos.sum();
+        }
+        long getTotalTimeToFirstRowNanos() {
+            return this.totalTimeToFirstRowNanos.sum();
+        }
+        long getMaxTimeNanos() {
+            return this.maxTimeNanos.get();
+        }
+    }
+
+    /**
+     * A query slower than {@link QueryMonitor#getSlowQueryThresholdMs()}.
+     */
+    public static class SlowQuery {
+        private final Instant date;
+        private final String daoMethod;
+        private final String requestId;
+        private final long timeMs;
+        private final long rowCount;
+        private final boolean error;
+        private final String sql;
+
+        private SlowQuery(Instant date, String daoMethod, String requestId, long timeMs,
+                long rowCount, boolean error, String sql) {
+            this.date = date;
+            this.daoMethod = daoMethod;
+            this.requestId = requestId;
+            this.timeMs = timeMs;
+            this.rowCount = rowCount;
+            this.error = error;
+            this.sql = sql;
+        }
+
+        /**
+         * @return  The {@code Instant} when the query completed.
+         */
+        public Instant getDate() {
+            return date;
+        }
+        /**
+         * @return  A {@code String} that is the DAO method that issued the query.
+         */
+        public String getDaoMethod() {
+            return daoMethod;
+        }
+        /**
+         * @return  A {@code String} that is the ID of the request that issued the query,
+         *          {@code null} if not defined.
+         */
+        public String getRequestId() {
+            return requestId;
+        }
+        /**
+         * @return  A {@code long} that is the execution time of the query in milliseconds.
+         */
+        public long getTimeMs() {
+            return timeMs;
+        }
+        /**
+         * @return  A {@code long} that is the number of rows returned or updated by the query.
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+        /**
+         * @return  A {@code boolean} defining whether the query failed.
+         */
+        public boolean isError() {
+            return error;
+        }
+        /**
+         * @return  A {@code String} that is the SQL of the query, with bound parameters
+         *          as provided by the JDBC driver.
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public String toString() {
+            return date + "\t" + daoMethod + "\t" + requestId + "\t" + timeMs + "ms\t"
+                    + rowCount + " rows\t" + (error? "error\t": "") + sql;
+        }
+    }
+
+    /**
+     * @return  The {@code QueryMonitor} of this JVM.
+     */
+    public static QueryMonitor getInstance() {
+        return INSTANCE;
+    }
+    /**
+     * Sets the ID of the request or job issuing queries in the current thread,
+     * also used by the threads it will start. The ID should be removed when the request
+     * is completed, by calling this method with a {@code null} argument.
+     *
+     * @param requestId A {@code String} that is the ID of the request or job
+     *                  of the current thread. If {@code null}, the ID is removed.
+     */
+    public static void setRequestId(String requestId) {
+        if (requestId == null) {
+            REQUEST_ID.remove();
+        } else {
+            REQUEST_ID.set(requestId);
+        }
+    }
+    /**
+     * @return  A {@code String} that is the ID of the request or job issuing queries
+     *          in the current thread, {@code null} if none was defined.
+     * @see #setRequestId(String)
+     */
+    public static String getRequestId() {
+        return REQUEST_ID.get();
+    }
+    /**
+     * Determines the DAO method that issued the query being prepared by the current thread,
+     * as the first method in the call stack belonging to a class of the MySQL DAO layer,
+     * outside of the connector package.
+     *
+     * @return  A {@code String} that is the simple name of the class and the name
+     *          of the method, separated by a dot. {@code unknown} if it could not
+     *          be determined.
+     */
+    static String getCallingDAOMethod() {
+        for (StackTraceElement element: Thread.currentThread().getStackTrace()) {
+            String className = element.getClassName();
+            if (className.startsWith(DAO_PACKAGE_PREFIX) &&
+                    !className.startsWith(CONNECTOR_PACKAGE_PREFIX)) {
+                return className.substring(className.lastIndexOf('.') + 1) + "."
+                        + element.getMethodName();
+            }
+        }
+        return "unknown";
+    }
+
+    private volatile boolean enabled;
+    private volatile long slowQueryThresholdMs;
+    private volatile int slowQueryMaxCount;
+    private final ConcurrentMap<String, QueryStatistics> statsPerDAOMethod;
+    /**
+     * A {@code Deque} storing the slow queries captured, all accesses must be synchronized on it.
+     */
+    private final Deque<SlowQuery> slowQueries;
+    private boolean registered;
+
+    /**
+     * Constructor package-private, the {@code QueryMonitor} to use should be obtained
+     * through {@link #getInstance()}.
+     */
+    QueryMonitor() {
+        this.enabled = false;
+        this.slowQueryThresholdMs = DEFAULT_SLOW_QUERY_THRESHOLD_MS;
+        this.slowQueryMaxCount = DEFAULT_SLOW_QUERY_MAX_COUNT;
+        this.statsPerDAOMethod = new ConcurrentHashMap<>();
+        this.slowQueries = new ArrayDeque<>();
+        this.registered = false;
+    }
+
+    /**
+     * Records the execution of a query.
+     *
+     * @param daoMethod             A {@code String} that is the DAO method that issued the query
+     *                              (see {@link #getCallingDAOMethod()}).
+     * @param requestId             A {@code String} that is the ID of the request that issued
+     *                              the query, stored with the query if it is captured
+     *                              as a slow query. Can be {@code null}.
+     * @param timeNanos             A {@code long} that is the time in nanoseconds from the execution
+     *                              of the query to the end of the iteration of its results.
+     * @param timeToFirstRowNanos   A {@code long} that is the time in nanoseconds
+     *                              for the execution of the query to return.
+     * @param rowCount              A {@code long} that is the number of rows returned
+     *                              or updated by the query.
+     * @param error                 A {@code boolean} defining whether the query failed.
+     * @param sqlSupplier           A {@code Supplier} of the SQL of the query with bound parameters,
+     *                              only called if the query is captured as a slow query.
+     */
+    void recordQuery(String daoMethod, String requestId, long timeNanos, long timeToFirstRowNanos,
+            long rowCount, boolean error, Supplier<String> sqlSupplier) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", daoMethod, requestId, timeNanos,
+                timeToFirstRowNanos, rowCount, error, sqlSupplier);
+        if (!this.enabled) {
+            log.traceExit(); return;
+        }
+        this.statsPerDAOMethod.computeIfAbsent(daoMethod, k -> new QueryStatistics())
+            .add(timeNanos, timeToFirstRowNanos, rowCount, error);
+
+        long thresholdMs = this.slowQueryThresholdMs;
+        long timeMs = TimeUnit.NANOSECONDS.toMillis(timeNanos);
+        if (thresholdMs > 0 && timeMs >= thresholdMs) {
+            String sql;
+            try {
+                sql = sqlSupplier.get();
+            } catch (RuntimeException e) {
+                log.catching(Level.DEBUG, e);
+                sql = "SQL not available";
+            }
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), daoMethod, requestId, timeMs,
+                    rowCount, error, sql);
+            log.debug("Slow query: {}", slowQuery);
+            synchronized (this.slowQueries) {
+                this.slowQueries.addLast(slowQuery);
+                while (this.slowQueries.size() > Math.max(this.slowQueryMaxCount, 0)) {
+                    this.slowQueries.removeFirst();
+                }
+            }
+        }
+        log.traceExit();
+    }
+
+    /**
+     * Configures this {@code QueryMonitor}, and registers it in the platform
+     * {@code MBeanServer} if {@code enabled} is {@code true}.
+     *
+     * @param enabled               See {@link #setEnabled(boolean)}.
+     * @param slowQueryThresholdMs  See {@link #setSlowQueryThresholdMs(long)}.
+     * @param slowQueryMaxCount     See {@link #setSlowQueryMaxCount(int)}.
+     */
+    public void configure(boolean enabled, long slowQueryThresholdMs, int slowQueryMaxCount) {
+        log.traceEntry("{}, {}, {}", enabled, slowQueryThresholdMs, slowQueryMaxCount);
+        this.setSlowQueryThresholdMs(slowQueryThresholdMs);
+        this.setSlowQueryMaxCount(slowQueryMaxCount);
+        this.setEnabled(enabled);
+        if (enabled) {
+            this.registerMBean();
+        }
+        log.traceExit();
+    }
+    /**
+     * Registers this {@code QueryMonitor} in the platform {@code MBeanServer}
+     * under the name {@link #OBJECT_NAME}, if not already done.
+     */
+    private synchronized void registerMBean() {
+        log.traceEntry();
+        if (this.registered || this != INSTANCE) {
+            log.traceExit(); return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+            this.registered = true;
+        } catch (JMException | SecurityException e) {
+            //monitoring is still available through getMetricsText
+            log.catching(Level.WARN, e);
+        }
+        log.traceExit();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    @Override
+    public long getSlowQueryThresholdMs() {
+        return this.slowQueryThresholdMs;
+    }
+    @Override
+    public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+        if (slowQueryThresholdMs < 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The slow query threshold cannot be negative"));
+        }
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+    }
+    @Override
+    public int getSlowQueryMaxCount() {
+        return this.slowQueryMaxCount;
+    }
+    @Override
+    public void setSlowQueryMaxCount(int slowQueryMaxCount) {
+        if (slowQueryMaxCount < 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The maximum number of slow queries cannot be negative"));
+        }
+        this.slowQueryMaxCount = slowQueryMaxCount;
+    }
+
+    /**
+     * @return  A {@code Map} where keys are {@code String}s that are DAO methods,
+     *          the associated value being the {@code QueryStatistics} of their queries.
+     */
+    Map<String, QueryStatistics> getStatisticsPerDAOMethod() {
+        return new TreeMap<>(this.statsPerDAOMethod);
+    }
+    /**
+     * @return  An {@code Array} of {@code SlowQuery}s that are the slow queries captured,
+     *          from the oldest to the most recent.
+     */
+    public SlowQuery[] getSlowQueryArray() {
+        synchronized (this.slowQueries) {
+            return this.slowQueries.toArray(new SlowQuery[0]);
+        }
+    }
+
+    @Override
+    public String[] getSlowQueries() {
+        SlowQuery[] queries = this.getSlowQueryArray();
+        String[] descriptions = new String[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            descriptions[i] = queries[i].toString();
+        }
+        return descriptions;
+    }
+
+    @Override
+    public String getMetricsText() {
+        log.traceEntry();
+        StringBuilder sb = new StringBuilder();
+        Map<String, QueryStatistics> statsPerMethod = this.getStatisticsPerDAOMethod();
+
+        sb.append("# HELP bgee_dao_query_duration_seconds Time from the execution of a query ")
+          .append("to the end of the iteration of its results.\n")
+          .append("# TYPE bgee_dao_query_duration_seconds histogram\n");
+        for (Map.Entry<String, QueryStatistics> entry: statsPerMethod.entrySet()) {
+            String label = "method=\"" + escapeLabelValue(entry.getKey()) + "\"";
+            QueryStatistics stats = entry.getValue();
+            long cumulativeCount = 0;
+            for (int i = 0; i < TIME_BUCKETS_MS.length; i++) {
+                cumulativeCount += stats.timeBuckets[i].sum();
+                sb.append("bgee_dao_query_duration_seconds_bucket{").append(label)
+                  .append(",le=\"").append(TIME_BUCKETS_MS[i] / 1000.0).append("\"} ")
+                  .append(cumulativeCount).append("\n");
+            }
+            cumulativeCount += stats.timeBuckets[TIME_BUCKETS_MS.length].sum();
+            sb.append("bgee_dao_query_duration_seconds_bucket{").append(label)
+              .append(",le=\"+Inf\"} ").append(cumulativeCount).append("\n");
+            sb.append("bgee_dao_query_duration_seconds_sum{").append(label).append("} ")
+              .append(toSeconds(stats.getTotalTimeNanos())).append("\n");
+            sb.append("bgee_dao_query_duration_seconds_count{").append(label).append("} ")
+              .append(cumulativeCount).append("\n");
+        }
+        appendMetric(sb, statsPerMethod, "method", "bgee_dao_query_duration_seconds_max", "gauge",
+                "Maximum time from the execution of a query to the end of the iteration of its results.",
+                stats -> toSeconds(stats.getMaxTimeNanos()));
+        appendMetric(sb, statsPerMethod, "method", "bgee_dao_query_time_to_first_row_seconds_total",
+                "counter", "Total time for the execution of the queries to return.",
+                stats -> toSeconds(stats.getTotalTimeToFirstRowNanos()));
+        appendMetric(sb, statsPerMethod, "method", "bgee_dao_query_rows_total", "counter",
+                "Number of rows returned or updated by the queries.",
+                stats -> String.valueOf(stats.getRowCount()));
+        appendMetric(sb, statsPerMethod, "method", "bgee_dao_query_errors_total", "counter",
+                "Number of queries in error.",
+                stats -> String.valueOf(stats.getErrorCount()));
+
+        return log.traceExit(sb.toString());
+    }
+    private static void appendMetric(StringBuilder sb, Map<String, QueryStatistics> stats,
+            String labelName, String metricName, String type, String help,
+            Function<QueryStatistics, String> valueFunction) {
+        sb.append("# HELP ").append(metricName).append(" ").append(help).append("\n")
+          .append("# TYPE ").append(metricName).append(" ").append(type).append("\n");
+        for (Map.Entry<String, QueryStatistics> entry: stats.entrySet()) {
+            sb.append(metricName).append("{").append(labelName).append("=\"")
+              .append(escapeLabelValue(entry.getKey())).append("\"} ")
+              .append(valueFunction.apply(entry.getValue())).append("\n");
+        }
+    }
+    private static String toSeconds(long nanos) {
+        return String.valueOf(nanos / 1e9);
+    }
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void reset() {
+        log.traceEntry();
+        this.statsPerDAOMethod.clear();
+        synchronized (this.slowQueries) {
+            this.slowQueries.clear();
+        }
+        log.traceExit();
+    }
+}
@@ -0,0 +1,56 @@
+package org.bgee.model.dao.mysql.connector;
+
+/**
+ * Management interface of the {@link QueryMonitor}, exposed through JMX under the name
+ * {@link QueryMonitor#OBJECT_NAME}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public interface QueryMonitorMBean {
+    /**
+     * @return  A {@code boolean} defining whether the queries are monitored.
+     */
+    public boolean isEnabled();
+    /**
+     * @param enabled   A {@code boolean} defining whether the queries should be monitored.
+     */
+    public void setEnabled(boolean enabled);
+    /**
+     * @return  A {@code long} that is the execution time in milliseconds above which
+     *          a query is captured as a slow query. If 0, no query is captured.
+     */
+    public long getSlowQueryThresholdMs();
+    /**
+     * @param slowQueryThresholdMs  A {@code long} that is the execution time in milliseconds
+     *                              above which a query is captured as a slow query.
+     *                              If 0, no query is captured.
+     */
+    public void setSlowQueryThresholdMs(long slowQueryThresholdMs);
+    /**
+     * @return  An {@code int} that is the maximum number of slow queries kept,
+     *          the oldest ones being discarded first.
+     */
+    public int getSlowQueryMaxCount();
+    /**
+     * @param slowQueryMaxCount An {@code int} that is the maximum number of slow queries kept,
+     *                          the oldest ones being discarded first.
+     */
+    public void setSlowQueryMaxCount(int slowQueryMaxCount);
+    /**
+     * @return  A {@code String} containing the statistics of the queries per DAO method,
+     *          in the Prometheus text exposition format.
+     */
+    public String getMetricsText();
+    /**
+     * @return  An {@code Array} of {@code String}s that are the descriptions
+     *          of the slow queries captured, from the oldest to the most recent,
+     *          including their SQL with bound parameters.
+     */
+    public String[] getSlowQueries();
+    /**
+     * Discards all statistics and slow queries recorded.
+     */
+    public void reset();
+}
@@ -3,8 +3,10 @@ package org.bgee.model.dao.mysql.expressiondata.call;
 import java.sql.SQLException;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.dao.api.DAO;
@@ -12,6 +14,7 @@ import org.bgee.model.dao.api.expressiondata.DAODataType;
 import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter2;
 import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
 import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValue;
 import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter2;
 import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
 import org.bgee.model.dao.mysql.MySQLDAO;
@@ -28,6 +31,9 @@ public abstract class MySQLCallDAO <T extends Enum<T> & DAO.Attribute> extends M
     protected final static String GLOBAL_BEST_DESCENDANT_P_VALUE_FIELD_START = "pValBestDescendant";
     protected final static String GLOBAL_SELF_OBS_COUNT_PREFIX = "selfObsCount";
     protected final static String GLOBAL_DESCENDANT_OBS_COUNT_PREFIX = "descObsCount";
+    protected final static String CALL_COUNT_TABLE_NAME = "globalExpressionCallCount";
+    protected final static String CALL_COUNT_SIGNATURE_FIELD = "callDataSignature";
+    protected final static String CALL_COUNT_FIELD = "callCount";
 
     private final static Logger log = LogManager.getLogger(MySQLCallDAO.class.getName());
 
@@ -341,6 +347,157 @@ public abstract class MySQLCallDAO <T extends Enum<T> & DAO.Attribute> extends M
                 + MySQLConditionDAO.getFieldNamePartFromCondParams2(condParams));
     }
 
+    /**
+     * Generates the signature identifying the counts of global calls precomputed
+     * in the table {@link #CALL_COUNT_TABLE_NAME} for the observed data filters
+     * and p-value filters of {@code callFilter}. The species IDs, gene IDs
+     * and condition IDs of {@code callFilter} are not considered.
+     *
+     * @param callFilter    A {@code DAOCallFilter} to generate the signature for.
+     * @return              A {@code String} that is the SHA-1 hash, in hexadecimal,
+     *                      of the observed data filters and p-value filters of {@code callFilter}.
+     */
+    protected static String generateCallDataSignature(DAOCallFilter callFilter) {
+        log.traceEntry("{}", callFilter);
+        //The signature is built from the values of the filters, rather than
+        //from their toString methods, so that it is not modified by changes
+        //to the textual representation of the filters. The filters are sorted
+        //in DAOCallFilter, so that the signature is consistent between the pipeline
+        //and the applications. Enums are identified by their names.
+        StringBuilder sb = new StringBuilder();
+        sb.append("observedData:");
+        for (CallObservedDataDAOFilter2 obsFilter: callFilter.getCallObservedDataFilters()) {
+            sb.append("(");
+            appendEnumNames(sb, obsFilter.getDataTypes());
+            sb.append(";");
+            appendEnumNames(sb, obsFilter.getCondParams());
+            sb.append(";").append(obsFilter.isCallObservedData()).append(")");
+        }
+        sb.append("|pValues:");
+        for (Set<DAOFDRPValueFilter2> pValFilters: callFilter.getPValueFilters()) {
+            sb.append("[");
+            for (DAOFDRPValueFilter2 pValFilter: pValFilters) {
+                DAOFDRPValue pValue = pValFilter.getPValue();
+                sb.append("(")
+                  //BigDecimals equal by compareTo must produce the same signature
+                  .append(pValue.getFdrPValue().stripTrailingZeros().toPlainString())
+                  .append(";").append(pValue.getConditionId()).append(";");
+                appendEnumNames(sb, pValue.getDataTypes());
+                sb.append(";").append(pValFilter.getQualifier().name())
+                  .append(";").append(pValFilter.getPropagationState().name())
+                  .append(";").append(pValFilter.isSelfObservationRequired())
+                  .append(";").append(pValFilter.isNoDataAllowed()).append(";");
+                appendEnumNames(sb, pValFilter.getCondParams());
+                sb.append(")");
+            }
+            sb.append("]");
+        }
+        return log.traceExit(DigestUtils.sha1Hex(sb.toString()));
+    }
+    private static void appendEnumNames(StringBuilder sb, Set<? extends Enum<?>> enums) {
+        sb.append(enums.stream().map(Enum::name).sorted().collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Generates the FROM and WHERE clauses of MySQL queries using the counts of global calls
+     * precomputed per global condition in the table {@link #CALL_COUNT_TABLE_NAME}.
+     * Parameters must then be set by calling
+     * {@link #configurePrecomputedCountStatement(BgeePreparedStatement, DAOCallFilter)}.
+     *
+     * @param callFilter        A {@code DAOCallFilter} to configure the query. Its species IDs
+     *                          and condition IDs are seen as "OR" conditions, its gene IDs
+     *                          must be empty.
+     * @param globalCondJoin    A {@code boolean} defining whether the globalCond table
+     *                          should be joined even if there is no filtering on species IDs.
+     * @return                  A {@code String} that is the FROM and WHERE clauses.
+     * @throws IllegalArgumentException If {@code callFilter} is {@code null}
+     *                                  or targets specific genes.
+     */
+    protected static String generatePrecomputedCountClauses(DAOCallFilter callFilter,
+            boolean globalCondJoin) throws IllegalArgumentException {
+        log.traceEntry("{}, {}", callFilter, globalCondJoin);
+        if (callFilter == null) {
+            throw log.throwing(new IllegalArgumentException("A DAOCallFilter must be provided"));
+        }
+        if (!callFilter.getGeneIds().isEmpty()) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Precomputed counts are not available per gene"));
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(" FROM ").append(CALL_COUNT_TABLE_NAME);
+        if (globalCondJoin || !callFilter.getSpeciesIds().isEmpty()) {
+            sb.append(" INNER JOIN ").append(MySQLConditionDAO.TABLE_NAME).append(" ON ")
+              .append(MySQLConditionDAO.TABLE_NAME).append(".")
+              .append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD).append(" = ")
+              .append(CALL_COUNT_TABLE_NAME).append(".")
+              .append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD);
+        }
+        sb.append(" WHERE ").append(CALL_COUNT_TABLE_NAME).append(".")
+          .append(CALL_COUNT_SIGNATURE_FIELD).append(" = ?");
+        if (!callFilter.getSpeciesIds().isEmpty() || !callFilter.getConditionIds().isEmpty()) {
+            sb.append(" AND (");
+            if (!callFilter.getSpeciesIds().isEmpty()) {
+                sb.append(MySQLConditionDAO.TABLE_NAME).append(".speciesId IN (")
+                  .append(BgeePreparedStatement.generateParameterizedQueryString(
+                          callFilter.getSpeciesIds().size()))
+                  .append(")");
+                if (!callFilter.getConditionIds().isEmpty()) {
+                    sb.append(" OR ");
+                }
+            }
+            if (!callFilter.getConditionIds().isEmpty()) {
+                sb.append(CALL_COUNT_TABLE_NAME).append(".")
+                  .append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD).append(" IN (")
+                  .append(BgeePreparedStatement.generateParameterizedQueryString(
+                          callFilter.getConditionIds().size()))
+                  .append(")");
+            }
+            sb.append(")");
+        }
+        return log.traceExit(sb.toString());
+    }
+    /**
+     * Sets the parameters of a query generated by using
+     * {@link #generatePrecomputedCountClauses(DAOCallFilter, boolean)}.
+     *
+     * @param stmt          The {@code BgeePreparedStatement} to configure.
+     * @param callFilter    The {@code DAOCallFilter} used to generate the query.
+     * @return              An {@code int} that is the index of the next parameter to set.
+     * @throws SQLException If an error occurred while setting the parameters.
+     */
+    protected static int configurePrecomputedCountStatement(BgeePreparedStatement stmt,
+            DAOCallFilter callFilter) throws SQLException {
+        log.traceEntry("{}, {}", stmt, callFilter);
+        int paramIndex = 1;
+        stmt.setString(paramIndex, generateCallDataSignature(callFilter));
+        paramIndex++;
+        if (!callFilter.getSpeciesIds().isEmpty()) {
+            stmt.setIntegers(paramIndex, callFilter.getSpeciesIds(), true);
+            paramIndex += callFilter.getSpeciesIds().size();
+        }
+        if (!callFilter.getConditionIds().isEmpty()) {
+            stmt.setIntegers(paramIndex, callFilter.getConditionIds(), true);
+            paramIndex += callFilter.getConditionIds().size();
+        }
+        return log.traceExit(paramIndex);
+    }
+
+    /**
+     * Generates a clause selecting the calls with a (Bgee gene ID, global condition ID) key
+     * greater than a key provided as parameters (see {@link #configureCallStatement2(
+     * BgeePreparedStatement, LinkedHashSet, Integer, Integer, Long, Integer)}).
+     * The clause can use the clustered index (bgeeGeneId, globalConditionId).
+     *
+     * @param callTableName A {@code String} that is the name of the call table.
+     * @return              A {@code String} that is the clause, without leading
+     *                      {@code WHERE} or {@code AND}.
+     */
+    protected static String generateAfterKeyClause2(String callTableName) {
+        log.traceEntry("{}", callTableName);
+        return log.traceExit(callTableName + ".bgeeGeneId >= ? AND (" + callTableName
+                + ".bgeeGeneId > ? OR " + callTableName + ".globalConditionId > ?)");
+    }
+
     protected static void performSanityChecks2(LinkedHashSet<DAOCallFilter> callFilters, Long offset,
             Integer limit)
             throws IllegalArgumentException {
@@ -359,6 +516,20 @@ public abstract class MySQLCallDAO <T extends Enum<T> & DAO.Attribute> extends M
             Long offset, Integer limit)
             throws SQLException {
         log.traceEntry("{}, {}, {}, {}", stmt, callFilters, offset, limit);
+        configureCallStatement2(stmt, callFilters, null, null, offset, limit);
+        log.traceExit();
+    }
+    /**
+     * Same as {@link #configureCallStatement2(BgeePreparedStatement, LinkedHashSet, Long, Integer)},
+     * but also setting the parameters of a clause selecting the calls after a key,
+     * generated by {@link #generateAfterKeyClause2(String)}, following the parameters
+     * of the call filters.
+     */
+    protected static void configureCallStatement2(BgeePreparedStatement stmt, LinkedHashSet<DAOCallFilter> callFilters,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, Long offset, Integer limit)
+            throws SQLException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", stmt, callFilters, afterBgeeGeneId,
+                afterGlobalConditionId, offset, limit);
 
         int offsetParamIndex = 1;
         for (DAOCallFilter callFilter: callFilters) {
@@ -382,6 +553,14 @@ public abstract class MySQLCallDAO <T extends Enum<T> & DAO.Attribute> extends M
                 }
             }
         }
+        if (afterBgeeGeneId != null) {
+            stmt.setInt(offsetParamIndex, afterBgeeGeneId);
+            offsetParamIndex++;
+            stmt.setInt(offsetParamIndex, afterBgeeGeneId);
+            offsetParamIndex++;
+            stmt.setInt(offsetParamIndex, afterGlobalConditionId);
+            offsetParamIndex++;
+        }
         if (offset != null) {
             stmt.setLong(offsetParamIndex, offset);
             offsetParamIndex++;
@@ -1,6 +1,5 @@
 package org.bgee.model.dao.mysql.expressiondata.call;
 
-import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -330,6 +329,30 @@ public class MySQLConditionDAO extends MySQLCallDAO<ConditionDAO.Attribute> impl
     }
 
 
+    @Override
+    public ConditionTOResultSet getGlobalConditionsFromPrecomputedCallCounts(DAOCallFilter callFilter,
+            Collection<ConditionDAO.Attribute> attributes) throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", callFilter, attributes);
+
+        final Set<ConditionDAO.Attribute> clonedAttrs = Collections.unmodifiableSet(attributes == null? 
+                EnumSet.noneOf(ConditionDAO.Attribute.class): EnumSet.copyOf(attributes));
+        StringBuilder sb = new StringBuilder();
+        sb.append(generateSelectClause(TABLE_NAME, getColToAttributesMap(), true, true, clonedAttrs));
+        sb.append(generatePrecomputedCountClauses(callFilter, true));
+        sb.append(" AND ").append(CALL_COUNT_TABLE_NAME).append(".").append(CALL_COUNT_FIELD)
+          .append(" > 0");
+        //we don't use a try-with-resource, because we return a pointer to the results,
+        //not the actual results, so we should not close this BgeePreparedStatement.
+        try {
+            BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString());
+            configurePrecomputedCountStatement(stmt, callFilter);
+            return log.traceExit(new MySQLConditionTOResultSet(stmt));
+
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
     @Override
     public ConditionTOResultSet getGlobalConditionsFromIds(Collection<Integer> conditionIds,
             Collection<ConditionDAO.Attribute> attributes)
@@ -734,18 +757,10 @@ public class MySQLConditionDAO extends MySQLCallDAO<ConditionDAO.Attribute> impl
             if (!clonedSpeIds.isEmpty()) {
                 stmt.setIntegers(1, clonedSpeIds, true);
             }
-            try (ResultSet rs = stmt.getRealPreparedStatement().executeQuery()) {
-                Map<Integer, ConditionRankInfoTO> results = new HashMap<>();
-                Integer speciesId = null;
-                BigDecimal maxRank = null, globalMaxRank = null;
-                while (rs.next()) {
-                    speciesId = rs.getInt(SPECIES_ID);
-                    maxRank = rs.getBigDecimal("maxRank");
-                    globalMaxRank = rs.getBigDecimal("globalMaxRank");
-                    results.put(speciesId, new ConditionRankInfoTO(maxRank, globalMaxRank));
-                }
-                return log.traceExit(results);
-            }
+            Map<Integer, ConditionRankInfoTO> results = new HashMap<>();
+            stmt.forEachRow(rs -> results.put(rs.getInt(SPECIES_ID), new ConditionRankInfoTO(
+                    rs.getBigDecimal("maxRank"), rs.getBigDecimal("globalMaxRank"))));
+            return log.traceExit(results);
         } catch (SQLException e) {
             throw log.throwing(new DAOException(e));
         }
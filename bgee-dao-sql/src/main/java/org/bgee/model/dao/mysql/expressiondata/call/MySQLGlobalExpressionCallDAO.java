@@ -32,6 +32,7 @@ import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter;
 import org.bgee.model.dao.api.expressiondata.call.DAOMeanRank;
 import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
 import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
+import org.bgee.model.dao.mysql.connector.BgeeConnection;
 import org.bgee.model.dao.mysql.connector.BgeePreparedStatement;
 import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
 import org.bgee.model.dao.mysql.connector.MySQLDAOResultSet;
@@ -55,6 +56,10 @@ implements GlobalExpressionCallDAO {
     private static final String MIN_MAX_RANK_ENTITY_ID_FIELD = "entitiyId";
     private static final String MIN_MAX_RANK_MIN_RANK_FIELD = "minRank";
     private static final String MIN_MAX_RANK_MAX_RANK_FIELD = "maxRank";
+    private static final String MIN_MAX_RANK_COND_PARAM_COMB_FIELD = "condParamCombination";
+
+    public static final String GENE_MIN_MAX_RANK_TABLE_NAME = "geneMinMaxRank";
+    public static final String ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME = "anatEntityMinMaxRank";
 
     public static final String TABLE_NAME = "globalExpression";
 
@@ -870,9 +875,35 @@ implements GlobalExpressionCallDAO {
         //sanity checks
         performSanityChecks(clonedCallFilters);
 
-        //*************************************
-        // GENERATE QUERY
-        //*************************************
+        //we don't use a try-with-resource, because we return a pointer to the results,
+        //not the actual results, so we should not close this BgeePreparedStatement.
+        try {
+            BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(
+                    generateMinMaxRanksQuery(clonedDataTypes, clonedCallFilters, geneEntity, globalRank));
+            configureCallStatement(stmt, clonedCallFilters);
+            return log.traceExit(new MySQLEntityMinMaxRanksTOResultSet<T>(stmt, entityIdType));
+
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+    /**
+     * Generates the query retrieving min and max ranks in a type of entities,
+     * see {@link #getMinMaxRanksPerEntity(Collection, Collection, boolean, Class)}.
+     *
+     * @param dataTypes     An {@code EnumSet} of {@code DAODataType}s that are the data types
+     *                      to consider to compute ranks.
+     * @param callFilters   A {@code LinkedHashSet} of {@code CallDAOFilter}s to configure the query.
+     * @param geneEntity    A {@code boolean} that is {@code true} if the min and max ranks
+     *                      should be retrieved for genes, {@code false} if they should be
+     *                      retrieved for anatomical entities.
+     * @param globalRank    A {@code boolean} that is {@code true} if global ranks should be used.
+     * @return              A {@code String} that is the generated query.
+     */
+    static String generateMinMaxRanksQuery(EnumSet<DAODataType> dataTypes,
+            LinkedHashSet<CallDAOFilter> callFilters, boolean geneEntity, boolean globalRank) {
+        log.traceEntry("{}, {}, {}, {}", dataTypes, callFilters, geneEntity, globalRank);
+
         String globalExprTableName = "globalExpression";
         String globalCondTableName = "globalCond";
 
@@ -888,31 +919,287 @@ implements GlobalExpressionCallDAO {
         if (!geneEntity) {
             sb.append(", ").append(speciesIdClause);
         }
-        String rankClause = generateMeanRankClause(clonedDataTypes, globalExprTableName,
+        String rankClause = generateMeanRankClause(dataTypes, globalExprTableName,
                 globalCondTableName, globalRank);
         sb.append(", MIN(").append(rankClause).append(") AS ").append(MIN_MAX_RANK_MIN_RANK_FIELD)
           .append(", MAX(").append(rankClause).append(") AS ").append(MIN_MAX_RANK_MAX_RANK_FIELD);
 
         sb.append(generateTableReferences(globalExprTableName, globalCondTableName, null, null,
                 true, false));
-        sb.append(generateWhereClause(clonedCallFilters, globalExprTableName, globalCondTableName,
+        sb.append(generateWhereClause(callFilters, globalExprTableName, globalCondTableName,
                 globalCondTableName));
 
         sb.append(" GROUP BY ").append(entityIdClause);
         if (!geneEntity) {
             sb.append(", ").append(speciesIdClause);
         }
+        return log.traceExit(sb.toString());
+    }
+
+    /**
+     * Generates the key identifying a combination of condition parameters
+     * in the tables storing precomputed min. and max ranks.
+     *
+     * @param condParams    A {@code Collection} of {@code ConditionDAO.Attribute}s
+     *                      that is the combination of condition parameters.
+     * @return              A {@code String} that is the key of the combination.
+     * @throws IllegalArgumentException If {@code condParams} is {@code null} or empty,
+     *                                  or contains {@code Attribute}s that are not
+     *                                  condition parameters.
+     */
+    static String getMinMaxRanksCondParamCombinationKey(Collection<ConditionDAO.Attribute> condParams)
+            throws IllegalArgumentException {
+        log.traceEntry("{}", condParams);
+        if (condParams == null || condParams.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException(
+                    "A combination of condition parameters must be provided"));
+        }
+        if (condParams.stream().anyMatch(a -> !a.isConditionParameter())) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Not a combination of condition parameters: " + condParams));
+        }
+        return log.traceExit(getFieldNamePartFromCondParams(EnumSet.copyOf(condParams)));
+    }
+
+    @Override
+    public Set<Integer> getSpeciesIdsWithPrecomputedMinMaxRanks(Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesIds, conditionParameters);
+        String combKey = getMinMaxRanksCondParamCombinationKey(conditionParameters);
+        Set<Integer> clonedSpeIds = speciesIds == null? new HashSet<>(): new HashSet<>(speciesIds);
+
+        //The primary key of the anat. entity table starts with speciesId and condParamCombination
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT DISTINCT ").append(MySQLConditionDAO.SPECIES_ID)
+          .append(" FROM ").append(ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME)
+          .append(" WHERE ").append(MIN_MAX_RANK_COND_PARAM_COMB_FIELD).append(" = ?");
+        if (!clonedSpeIds.isEmpty()) {
+            sb.append(" AND ").append(MySQLConditionDAO.SPECIES_ID).append(" IN (")
+              .append(BgeePreparedStatement.generateParameterizedQueryString(clonedSpeIds.size()))
+              .append(")");
+        }
+        try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(
+                sb.toString())) {
+            stmt.setString(1, combKey);
+            if (!clonedSpeIds.isEmpty()) {
+                stmt.setIntegers(2, clonedSpeIds, true);
+            }
+            Set<Integer> coveredSpeIds = new HashSet<>();
+            stmt.forEachRow(rs -> coveredSpeIds.add(rs.getInt(MySQLConditionDAO.SPECIES_ID)));
+            return log.traceExit(coveredSpeIds);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<Integer> getPrecomputedMinMaxRanksPerGene(
+            Collection<Integer> bgeeGeneIds, Collection<Integer> speciesIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", bgeeGeneIds, speciesIds, conditionParameters);
+        String combKey = getMinMaxRanksCondParamCombinationKey(conditionParameters);
+        Set<Integer> clonedGeneIds = bgeeGeneIds == null? new HashSet<>(): new HashSet<>(bgeeGeneIds);
+        Set<Integer> clonedSpeIds = speciesIds == null? new HashSet<>(): new HashSet<>(speciesIds);
+        if (clonedGeneIds.isEmpty() && clonedSpeIds.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("Gene IDs or species IDs must be provided"));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(MySQLGeneDAO.BGEE_GENE_ID).append(" AS ")
+          .append(MIN_MAX_RANK_ENTITY_ID_FIELD).append(", ")
+          .append(MIN_MAX_RANK_MIN_RANK_FIELD).append(", ").append(MIN_MAX_RANK_MAX_RANK_FIELD)
+          .append(" FROM ").append(GENE_MIN_MAX_RANK_TABLE_NAME)
+          .append(" WHERE ").append(MIN_MAX_RANK_COND_PARAM_COMB_FIELD).append(" = ? AND (");
+        if (!clonedGeneIds.isEmpty()) {
+            sb.append(MySQLGeneDAO.BGEE_GENE_ID).append(" IN (")
+              .append(BgeePreparedStatement.generateParameterizedQueryString(clonedGeneIds.size()))
+              .append(")");
+        }
+        if (!clonedSpeIds.isEmpty()) {
+            if (!clonedGeneIds.isEmpty()) {
+                sb.append(" OR ");
+            }
+            sb.append(MySQLConditionDAO.SPECIES_ID).append(" IN (")
+              .append(BgeePreparedStatement.generateParameterizedQueryString(clonedSpeIds.size()))
+              .append(")");
+        }
+        sb.append(")");
 
         //we don't use a try-with-resource, because we return a pointer to the results,
         //not the actual results, so we should not close this BgeePreparedStatement.
         try {
             BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString());
-            configureCallStatement(stmt, clonedCallFilters);
-            return log.traceExit(new MySQLEntityMinMaxRanksTOResultSet<T>(stmt, entityIdType));
+            stmt.setString(1, combKey);
+            int paramIndex = 2;
+            if (!clonedGeneIds.isEmpty()) {
+                stmt.setIntegers(paramIndex, clonedGeneIds, true);
+                paramIndex += clonedGeneIds.size();
+            }
+            if (!clonedSpeIds.isEmpty()) {
+                stmt.setIntegers(paramIndex, clonedSpeIds, true);
+            }
+            return log.traceExit(new MySQLEntityMinMaxRanksTOResultSet<>(stmt, Integer.class));
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
+    @Override
+    public EntityMinMaxRanksTOResultSet<String> getPrecomputedMinMaxRanksPerAnatEntity(
+            Collection<Integer> speciesIds, Collection<String> anatEntityIds,
+            Collection<ConditionDAO.Attribute> conditionParameters)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}", speciesIds, anatEntityIds, conditionParameters);
+        String combKey = getMinMaxRanksCondParamCombinationKey(conditionParameters);
+        if (speciesIds == null || speciesIds.isEmpty()) {
+            throw log.throwing(new IllegalArgumentException("Species IDs must be provided"));
+        }
+        Set<Integer> clonedSpeIds = new HashSet<>(speciesIds);
+        Set<String> clonedAnatEntityIds = anatEntityIds == null? new HashSet<>():
+            new HashSet<>(anatEntityIds);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(MySQLConditionDAO.ANAT_ENTITY_ID_FIELD).append(" AS ")
+          .append(MIN_MAX_RANK_ENTITY_ID_FIELD).append(", ").append(MySQLConditionDAO.SPECIES_ID)
+          .append(", ").append(MIN_MAX_RANK_MIN_RANK_FIELD).append(", ")
+          .append(MIN_MAX_RANK_MAX_RANK_FIELD)
+          .append(" FROM ").append(ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME)
+          .append(" WHERE ").append(MySQLConditionDAO.SPECIES_ID).append(" IN (")
+          .append(BgeePreparedStatement.generateParameterizedQueryString(clonedSpeIds.size()))
+          .append(") AND ").append(MIN_MAX_RANK_COND_PARAM_COMB_FIELD).append(" = ?");
+        if (!clonedAnatEntityIds.isEmpty()) {
+            sb.append(" AND ").append(MySQLConditionDAO.ANAT_ENTITY_ID_FIELD).append(" IN (")
+              .append(BgeePreparedStatement.generateParameterizedQueryString(
+                      clonedAnatEntityIds.size()))
+              .append(")");
+        }
+
+        //we don't use a try-with-resource, because we return a pointer to the results,
+        //not the actual results, so we should not close this BgeePreparedStatement.
+        try {
+            BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString());
+            stmt.setIntegers(1, clonedSpeIds, true);
+            int paramIndex = clonedSpeIds.size() + 1;
+            stmt.setString(paramIndex, combKey);
+            paramIndex++;
+            if (!clonedAnatEntityIds.isEmpty()) {
+                stmt.setStrings(paramIndex, clonedAnatEntityIds, true);
+            }
+            return log.traceExit(new MySQLEntityMinMaxRanksTOResultSet<>(stmt, String.class));
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
 
+    @Override
+    public int insertPrecomputedMinMaxRanks(Collection<ConditionDAO.Attribute> conditionParameters,
+            CallDAOFilter callFilter) throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", conditionParameters, callFilter);
+        String combKey = getMinMaxRanksCondParamCombinationKey(conditionParameters);
+        if (callFilter == null || callFilter.getSpeciesIds().size() != 1 ||
+                !callFilter.getGeneIds().isEmpty()) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The CallDAOFilter must target exactly one species, and no specific genes"));
+        }
+        int speciesId = callFilter.getSpeciesIds().iterator().next();
+        LinkedHashSet<CallDAOFilter> callFilters = new LinkedHashSet<>(Arrays.asList(callFilter));
+
+        //The deletion of the previous ranks and the insertion of the new ranks, in both tables,
+        //are performed in a transaction, so that the ranks of this species and combination
+        //are never missing or partial. If the caller already started a transaction,
+        //it is responsible for committing it.
+        BgeeConnection conn;
+        boolean ownTransaction;
+        try {
+            conn = this.getManager().getConnection();
+            ownTransaction = !conn.isOngoingTransaction();
+            if (ownTransaction) {
+                conn.startTransaction();
+            }
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        boolean committed = false;
+        try {
+            int inserted = 0;
+            for (boolean geneEntity: Arrays.asList(true, false)) {
+                try (BgeePreparedStatement deleteStmt = conn.prepareStatement(
+                        "DELETE FROM " + (geneEntity? GENE_MIN_MAX_RANK_TABLE_NAME:
+                            ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME) + " WHERE "
+                        + MySQLConditionDAO.SPECIES_ID + " = ? AND "
+                        + MIN_MAX_RANK_COND_PARAM_COMB_FIELD + " = ?");
+                     BgeePreparedStatement stmt = conn.prepareStatement(
+                        generateInsertPrecomputedMinMaxRanksQuery(speciesId, combKey,
+                                callFilters, geneEntity))) {
+                    deleteStmt.setInt(1, speciesId);
+                    deleteStmt.setString(2, combKey);
+                    deleteStmt.executeUpdate();
+                    configureCallStatement(stmt, callFilters);
+                    inserted += stmt.executeUpdate();
+                }
+            }
+            if (ownTransaction) {
+                conn.commit();
+            }
+            committed = true;
+            return log.traceExit(inserted);
         } catch (SQLException e) {
             throw log.throwing(new DAOException(e));
+        } finally {
+            if (ownTransaction && !committed) {
+                try {
+                    conn.rollback();
+                } catch (SQLException | IllegalStateException e) {
+                    log.catching(e);
+                }
+            }
+        }
+    }
+    /**
+     * Generates the query inserting the min. and max ranks precomputed for a species
+     * and a combination of condition parameters, over all data types, see
+     * {@link #insertPrecomputedMinMaxRanks(Collection, CallDAOFilter)}. The ranks are selected
+     * with the query used when they are not precomputed (see
+     * {@link #generateMinMaxRanksQuery(EnumSet, LinkedHashSet, boolean, boolean)}),
+     * so that both return the same ranks.
+     *
+     * @param speciesId     An {@code int} that is the ID of the species.
+     * @param combKey       A {@code String} that is the key of the combination of condition
+     *                      parameters (see {@link #getMinMaxRanksCondParamCombinationKey(Collection)}).
+     * @param callFilters   A {@code LinkedHashSet} of {@code CallDAOFilter}s to configure the query.
+     * @param geneEntity    A {@code boolean} that is {@code true} if the ranks of genes
+     *                      should be inserted, {@code false} for the ranks of anat. entities.
+     * @return              A {@code String} that is the generated query.
+     */
+    static String generateInsertPrecomputedMinMaxRanksQuery(int speciesId, String combKey,
+            LinkedHashSet<CallDAOFilter> callFilters, boolean geneEntity) {
+        log.traceEntry("{}, {}, {}, {}", speciesId, combKey, callFilters, geneEntity);
+        //The species ID and the combination key are safe to use directly,
+        //so that the parameters of the SELECT can be set by configureCallStatement
+        String ranksQuery = generateMinMaxRanksQuery(EnumSet.allOf(DAODataType.class),
+                callFilters, geneEntity, true);
+        if (geneEntity) {
+            return log.traceExit("INSERT INTO " + GENE_MIN_MAX_RANK_TABLE_NAME + " ("
+                    + MySQLGeneDAO.BGEE_GENE_ID + ", " + MySQLConditionDAO.SPECIES_ID + ", "
+                    + MIN_MAX_RANK_COND_PARAM_COMB_FIELD + ", " + MIN_MAX_RANK_MIN_RANK_FIELD + ", "
+                    + MIN_MAX_RANK_MAX_RANK_FIELD + ") "
+                    + "SELECT ranks." + MIN_MAX_RANK_ENTITY_ID_FIELD + ", " + speciesId + ", '"
+                    + combKey + "', ranks." + MIN_MAX_RANK_MIN_RANK_FIELD + ", ranks."
+                    + MIN_MAX_RANK_MAX_RANK_FIELD
+                    + " FROM (" + ranksQuery
+                    + ") AS ranks WHERE ranks." + MIN_MAX_RANK_MIN_RANK_FIELD + " IS NOT NULL");
         }
+        return log.traceExit("INSERT INTO " + ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME + " ("
+                + MySQLConditionDAO.SPECIES_ID + ", " + MIN_MAX_RANK_COND_PARAM_COMB_FIELD + ", "
+                + MySQLConditionDAO.ANAT_ENTITY_ID_FIELD + ", " + MIN_MAX_RANK_MIN_RANK_FIELD + ", "
+                + MIN_MAX_RANK_MAX_RANK_FIELD + ") "
+                + "SELECT ranks." + MySQLConditionDAO.SPECIES_ID + ", '" + combKey + "', ranks."
+                + MIN_MAX_RANK_ENTITY_ID_FIELD + ", ranks." + MIN_MAX_RANK_MIN_RANK_FIELD
+                + ", ranks." + MIN_MAX_RANK_MAX_RANK_FIELD
+                + " FROM (" + ranksQuery
+                + ") AS ranks WHERE ranks." + MIN_MAX_RANK_MIN_RANK_FIELD + " IS NOT NULL");
     }
 
     @Override
@@ -1625,7 +1912,42 @@ implements GlobalExpressionCallDAO {
             LinkedHashMap<GlobalExpressionCallDAO.OrderingAttributeInfo, DAO.Direction> orderingAttributes,
             Long offset, Integer limit)
                     throws DAOException, IllegalArgumentException {
-        log.traceEntry("{}, {}, {}", callFilters, attributes, orderingAttributes);
+        log.traceEntry("{}, {}, {}, {}, {}", callFilters, attributes, orderingAttributes,
+                offset, limit);
+        return log.traceExit(this.getGlobalExpressionCalls2(callFilters, attributes,
+                orderingAttributes, null, null, offset, limit));
+    }
+
+    @Override
+    public GlobalExpressionCallTOResultSet getGlobalExpressionCalls2AfterKey(
+            Collection<DAOCallFilter> callFilters,
+            Collection<GlobalExpressionCallDAO.AttributeInfo> attributes,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, int limit)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}", callFilters, attributes, afterBgeeGeneId,
+                afterGlobalConditionId, limit);
+        if (afterBgeeGeneId == null || afterGlobalConditionId == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The Bgee gene ID and the global condition ID of the key must be provided"));
+        }
+        LinkedHashMap<GlobalExpressionCallDAO.OrderingAttributeInfo, DAO.Direction> orderingAttrs =
+                new LinkedHashMap<>();
+        orderingAttrs.put(new GlobalExpressionCallDAO.OrderingAttributeInfo(
+                GlobalExpressionCallDAO.OrderingAttribute.BGEE_GENE_ID), DAO.Direction.ASC);
+        orderingAttrs.put(new GlobalExpressionCallDAO.OrderingAttributeInfo(
+                GlobalExpressionCallDAO.OrderingAttribute.GLOBAL_CONDITION_ID), DAO.Direction.ASC);
+        return log.traceExit(this.getGlobalExpressionCalls2(callFilters, attributes,
+                orderingAttrs, afterBgeeGeneId, afterGlobalConditionId, null, limit));
+    }
+
+    private GlobalExpressionCallTOResultSet getGlobalExpressionCalls2(
+            Collection<DAOCallFilter> callFilters,
+            Collection<GlobalExpressionCallDAO.AttributeInfo> attributes,
+            LinkedHashMap<GlobalExpressionCallDAO.OrderingAttributeInfo, DAO.Direction> orderingAttributes,
+            Integer afterBgeeGeneId, Integer afterGlobalConditionId, Long offset, Integer limit)
+                    throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", callFilters, attributes, orderingAttributes,
+                afterBgeeGeneId, afterGlobalConditionId, offset, limit);
 
         //As of Bgee 15.0, we always use globalRanks. We could add the possibility
         //to parameterize that in the configuration file, or the possibility to choose between
@@ -1676,7 +1998,16 @@ implements GlobalExpressionCallDAO {
                 globalRank));
         sb.append(generateTableReferences2(speciesIdFilterTableName, globalCondSortOrAttr,
                 geneSort, true));
-        sb.append(generateWhereClause2(clonedCallFilters, speciesIdFilterTableName, TABLE_NAME));
+        String whereClause = generateWhereClause2(clonedCallFilters, speciesIdFilterTableName,
+                TABLE_NAME);
+        if (afterBgeeGeneId != null) {
+            //the call filters are seen as "OR" conditions, they must be enclosed
+            //before adding the key condition
+            whereClause = (whereClause.isEmpty()? " WHERE ":
+                " WHERE (" + whereClause.substring(" WHERE ".length()) + ") AND ")
+                    + generateAfterKeyClause2(TABLE_NAME);
+        }
+        sb.append(whereClause);
         
         sb.append(generateOrderByClause2(clonedOrderingAttrs));
         sb.append(generateOffsetLimitClause(offset, limit));
@@ -1685,7 +2016,8 @@ implements GlobalExpressionCallDAO {
         //not the actual results, so we should not close this BgeePreparedStatement.
         try {
             BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString());
-            configureCallStatement2(stmt, clonedCallFilters, offset, limit);
+            configureCallStatement2(stmt, clonedCallFilters, afterBgeeGeneId,
+                    afterGlobalConditionId, offset, limit);
             return log.traceExit(new MySQLGlobalExpressionCallTOResultSet(stmt));
 
         } catch (SQLException e) {
@@ -1713,13 +2045,124 @@ implements GlobalExpressionCallDAO {
         sb.append(generateWhereClause2(clonedCallFilters, speciesIdFilterTableName, TABLE_NAME));
         try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString())){
             configureCallStatement2(stmt, clonedCallFilters, null, null);
-            ResultSet rs = stmt.getRealPreparedStatement().executeQuery();
-            if(rs.next()) {
-                return log.traceExit(rs.getLong("countCalls"));
+            long[] count = new long[1];
+            if (stmt.forEachRow(rs -> count[0] = rs.getLong("countCalls")) > 0) {
+                return log.traceExit(count[0]);
+            }
+            throw log.throwing(new IllegalStateException("empty ResultSet"));
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
+    @Override
+    public boolean isCoveredByPrecomputedCounts(DAOCallFilter callFilter) throws DAOException {
+        log.traceEntry("{}", callFilter);
+        if (callFilter == null || !callFilter.getGeneIds().isEmpty()) {
+            return log.traceExit(false);
+        }
+        String sql = "SELECT 1 FROM " + CALL_COUNT_TABLE_NAME + " WHERE "
+                + CALL_COUNT_SIGNATURE_FIELD + " = ? LIMIT 1";
+        try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sql)) {
+            stmt.setString(1, generateCallDataSignature(callFilter));
+            return log.traceExit(stmt.forEachRow(rs -> {}) > 0);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
+    @Override
+    public long getPrecomputedGlobalExpressionCallsCount(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}", callFilter);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT IFNULL(SUM(").append(CALL_COUNT_TABLE_NAME).append(".")
+          .append(CALL_COUNT_FIELD).append("), 0) AS countCalls");
+        sb.append(generatePrecomputedCountClauses(callFilter, false));
+        try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString())){
+            configurePrecomputedCountStatement(stmt, callFilter);
+            long[] count = new long[1];
+            if (stmt.forEachRow(rs -> count[0] = rs.getLong("countCalls")) > 0) {
+                return log.traceExit(count[0]);
             }
             throw log.throwing(new IllegalStateException("empty ResultSet"));
         } catch (SQLException e) {
             throw log.throwing(new DAOException(e));
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public int insertPrecomputedGlobalExpressionCallsCounts(DAOCallFilter callFilter)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}", callFilter);
+        if (callFilter == null) {
+            throw log.throwing(new IllegalArgumentException("A DAOCallFilter must be provided"));
+        }
+        if (!callFilter.getSpeciesIds().isEmpty() || !callFilter.getGeneIds().isEmpty() ||
+                !callFilter.getConditionIds().isEmpty()) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Counts must be precomputed for all species, genes and conditions"));
+        }
+        String signature = generateCallDataSignature(callFilter);
+        //If there is no filter on observed data nor p-values, all calls are counted
+        LinkedHashSet<DAOCallFilter> callFilters = callFilter.getCallObservedDataFilters().isEmpty() &&
+                callFilter.getPValueFilters().isEmpty()? new LinkedHashSet<>():
+                    new LinkedHashSet<>(Arrays.asList(callFilter));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("INSERT INTO ").append(CALL_COUNT_TABLE_NAME).append(" (")
+          .append(CALL_COUNT_SIGNATURE_FIELD).append(", ")
+          .append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD).append(", ")
+          .append(CALL_COUNT_FIELD).append(") ")
+          //the signature is a SHA-1 hash in hexadecimal, it is safe to use it directly,
+          //so that the parameters of the WHERE clause can be set by configureCallStatement2
+          .append("SELECT '").append(signature).append("', ")
+          .append(TABLE_NAME).append(".").append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD)
+          .append(", COUNT(*)");
+        sb.append(generateTableReferences2(null, false, false, true));
+        sb.append(generateWhereClause2(callFilters, null, TABLE_NAME));
+        sb.append(" GROUP BY ").append(TABLE_NAME).append(".")
+          .append(MySQLConditionDAO.GLOBAL_COND_ID_FIELD);
+
+        //The deletion of the previous counts and the insertion of the new counts
+        //are performed in a transaction, so that the counts for this signature
+        //are never missing or partial. If the caller already started a transaction,
+        //it is responsible for committing it.
+        BgeeConnection conn;
+        boolean ownTransaction;
+        try {
+            conn = this.getManager().getConnection();
+            ownTransaction = !conn.isOngoingTransaction();
+            if (ownTransaction) {
+                conn.startTransaction();
+            }
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        boolean committed = false;
+        try (BgeePreparedStatement deleteStmt = conn.prepareStatement(
+                "DELETE FROM " + CALL_COUNT_TABLE_NAME + " WHERE " + CALL_COUNT_SIGNATURE_FIELD + " = ?");
+             BgeePreparedStatement stmt = conn.prepareStatement(sb.toString())) {
+            deleteStmt.setString(1, signature);
+            deleteStmt.executeUpdate();
+            configureCallStatement2(stmt, callFilters, null, null);
+            int insertCount = stmt.executeUpdate();
+            if (ownTransaction) {
+                conn.commit();
+            }
+            committed = true;
+            return log.traceExit(insertCount);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        } finally {
+            if (ownTransaction && !committed) {
+                try {
+                    conn.rollback();
+                } catch (SQLException | IllegalStateException e) {
+                    log.catching(e);
+                }
+            }
+        }
+    }
+}
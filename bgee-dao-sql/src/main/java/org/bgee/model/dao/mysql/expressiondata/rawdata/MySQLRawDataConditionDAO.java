@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -22,6 +23,7 @@ import org.bgee.model.dao.api.expressiondata.rawdata.est.ESTLibraryDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.insitu.InSituSpotDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.microarray.AffymetrixChipDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqLibraryAnnotatedSampleDAO;
+import org.bgee.model.dao.mysql.connector.BgeeConnection;
 import org.bgee.model.dao.mysql.connector.BgeePreparedStatement;
 import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
 import org.bgee.model.dao.mysql.connector.MySQLDAOResultSet;
@@ -35,6 +37,19 @@ public class MySQLRawDataConditionDAO extends MySQLRawDataDAO<RawDataConditionDA
 implements RawDataConditionDAO {
     private final static Logger log = LogManager.getLogger(MySQLRawDataConditionDAO.class.getName());
     public final static String TABLE_NAME = "cond";
+    /**
+     * A {@code String} that is the name of the table storing the conditions used
+     * in the annotations of each data type, precomputed per species.
+     * @see #getPrecomputedRawDataConditions(int, DAODataType, Collection)
+     * @see #insertPrecomputedRawDataConditions(int, DAODataType)
+     */
+    public final static String PRECOMPUTED_DATA_TYPE_TABLE_NAME = "rawDataConditionDataType";
+    /**
+     * A {@code String} that is the name of the field storing the data type in the table
+     * {@link #PRECOMPUTED_DATA_TYPE_TABLE_NAME}, as returned by
+     * {@link DAODataType#getStringRepresentation()}.
+     */
+    public final static String PRECOMPUTED_DATA_TYPE_FIELD = "dataType";
 
     public MySQLRawDataConditionDAO(MySQLDAOManager manager) throws IllegalArgumentException {
         super(manager);
@@ -204,6 +219,128 @@ implements RawDataConditionDAO {
         }
     }
 
+    @Override
+    public RawDataConditionTOResultSet getPrecomputedRawDataConditions(int speciesId,
+            DAODataType dataType, Collection<RawDataConditionDAO.Attribute> attributes)
+                    throws DAOException {
+        log.traceEntry("{}, {}, {}", speciesId, dataType, attributes);
+        if (dataType == null) {
+            throw log.throwing(new IllegalArgumentException("dataType cannot be null"));
+        }
+        final Set<RawDataConditionDAO.Attribute> clonedAttrs = Collections
+                .unmodifiableSet(attributes == null || attributes.isEmpty()?
+                EnumSet.allOf(RawDataConditionDAO.Attribute.class): EnumSet.copyOf(attributes));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(generateSelectClause(TABLE_NAME, getColToAttributesMap(RawDataConditionDAO
+                .Attribute.class), true, clonedAttrs))
+          .append(" FROM ").append(TABLE_NAME).append(" INNER JOIN ")
+          .append(PRECOMPUTED_DATA_TYPE_TABLE_NAME).append(" ON ")
+          .append(TABLE_NAME).append(".").append(RawDataConditionDAO.Attribute.ID.getTOFieldName())
+          .append(" = ").append(PRECOMPUTED_DATA_TYPE_TABLE_NAME).append(".")
+          .append(RawDataConditionDAO.Attribute.ID.getTOFieldName())
+          .append(" WHERE ").append(TABLE_NAME).append(".")
+          .append(RawDataConditionDAO.Attribute.SPECIES_ID.getTOFieldName()).append(" = ? AND ")
+          .append(PRECOMPUTED_DATA_TYPE_TABLE_NAME).append(".").append(PRECOMPUTED_DATA_TYPE_FIELD)
+          .append(" = ?");
+        try {
+            BgeePreparedStatement stmt = this.getManager().getConnection()
+                    .prepareStatement(sb.toString());
+            stmt.setInt(1, speciesId);
+            stmt.setString(2, dataType.getStringRepresentation());
+            return log.traceExit(new MySQLRawDataConditionTOResultSet(stmt));
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
+    @Override
+    public int insertPrecomputedRawDataConditions(int speciesId, DAODataType dataType)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesId, dataType);
+        if (dataType == null) {
+            throw log.throwing(new IllegalArgumentException("dataType cannot be null"));
+        }
+        //Single-cell and bulk RNA-Seq data are stored in the same tables
+        DAODataType queriedDataType = dataType == DAODataType.SC_RNA_SEQ?
+                DAODataType.RNA_SEQ: dataType;
+        Boolean isSingleCell = queriedDataType == DAODataType.RNA_SEQ?
+                dataType == DAODataType.SC_RNA_SEQ: null;
+        List<Integer> condIds = this.getRawDataConditionsLinkedToDataType(
+                Set.of(new DAORawDataFilter(Set.of(speciesId), null, null, null, null)),
+                queriedDataType, isSingleCell, EnumSet.of(RawDataConditionDAO.Attribute.ID))
+                .stream()
+                .map(to -> to.getId())
+                .collect(Collectors.toList());
+
+        //The deletion of the previous conditions and the insertion of the new conditions
+        //are performed in a transaction, so that the conditions are never missing or partial.
+        //If the caller already started a transaction, it is responsible for committing it.
+        BgeeConnection conn;
+        boolean ownTransaction;
+        try {
+            conn = this.getManager().getConnection();
+            ownTransaction = !conn.isOngoingTransaction();
+            if (ownTransaction) {
+                conn.startTransaction();
+            }
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        boolean committed = false;
+        try {
+            try (BgeePreparedStatement deleteStmt = conn.prepareStatement(
+                    "DELETE " + PRECOMPUTED_DATA_TYPE_TABLE_NAME + " FROM "
+                    + PRECOMPUTED_DATA_TYPE_TABLE_NAME + " INNER JOIN " + TABLE_NAME + " ON "
+                    + TABLE_NAME + "." + RawDataConditionDAO.Attribute.ID.getTOFieldName() + " = "
+                    + PRECOMPUTED_DATA_TYPE_TABLE_NAME + "."
+                    + RawDataConditionDAO.Attribute.ID.getTOFieldName() + " WHERE "
+                    + TABLE_NAME + "." + RawDataConditionDAO.Attribute.SPECIES_ID.getTOFieldName()
+                    + " = ? AND " + PRECOMPUTED_DATA_TYPE_TABLE_NAME + "."
+                    + PRECOMPUTED_DATA_TYPE_FIELD + " = ?")) {
+                deleteStmt.setInt(1, speciesId);
+                deleteStmt.setString(2, dataType.getStringRepresentation());
+                deleteStmt.executeUpdate();
+            }
+            int insertCount = 0;
+            if (!condIds.isEmpty()) {
+                StringBuilder sb = new StringBuilder();
+                sb.append("INSERT INTO ").append(PRECOMPUTED_DATA_TYPE_TABLE_NAME).append(" (")
+                  .append(RawDataConditionDAO.Attribute.ID.getTOFieldName()).append(", ")
+                  .append(PRECOMPUTED_DATA_TYPE_FIELD).append(") VALUES ");
+                for (int i = 0; i < condIds.size(); i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append("(?, ?)");
+                }
+                try (BgeePreparedStatement stmt = conn.prepareStatement(sb.toString())) {
+                    int paramIndex = 1;
+                    for (Integer condId: condIds) {
+                        stmt.setInt(paramIndex++, condId);
+                        stmt.setString(paramIndex++, dataType.getStringRepresentation());
+                    }
+                    insertCount = stmt.executeUpdate();
+                }
+            }
+            if (ownTransaction) {
+                conn.commit();
+            }
+            committed = true;
+            return log.traceExit(insertCount);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        } finally {
+            if (ownTransaction && !committed) {
+                try {
+                    conn.rollback();
+                } catch (SQLException | IllegalStateException e) {
+                    log.catching(e);
+                }
+            }
+        }
+    }
+
     /**
      * Implementation of the {@code ConditionTOResultSet}. 
      * 
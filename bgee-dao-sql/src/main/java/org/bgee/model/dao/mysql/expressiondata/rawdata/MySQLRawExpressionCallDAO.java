@@ -26,7 +26,7 @@ import org.bgee.model.dao.mysql.gene.MySQLGeneDAO;
  * 
  * @author  Valentine Rech de Laval
  * @author  Frederic Bastian
- * @version Bgee 14, Feb. 2017
+ * @version Bgee 15.2, Oct. 2026
  * @see     org.bgee.model.dao.api.expressiondata.rawdata.RawExpressionCallDAO.RawExpressionCallTO
  * @since   Bgee 14, Feb. 2017
  */
@@ -82,6 +82,32 @@ public class MySQLRawExpressionCallDAO extends MySQLDAO<RawExpressionCallDAO.Att
         }
     }
 
+    @Override
+    public Map<Integer, Integer> getExpressionCallCountsBySpeciesId(int speciesId)
+            throws DAOException {
+        log.traceEntry("{}", speciesId);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(EXPR_TABLE_NAME).append(".").append(MySQLGeneDAO.BGEE_GENE_ID)
+          .append(", COUNT(*) AS callCount")
+          .append(" FROM ").append(EXPR_TABLE_NAME)
+          .append(" INNER JOIN ").append(MySQLGeneDAO.TABLE_NAME).append(" ON ")
+          .append(EXPR_TABLE_NAME).append(".").append(MySQLGeneDAO.BGEE_GENE_ID).append(" = ")
+          .append(MySQLGeneDAO.TABLE_NAME).append(".").append(MySQLGeneDAO.BGEE_GENE_ID)
+          .append(" WHERE ").append(MySQLGeneDAO.TABLE_NAME).append(".")
+          .append(MySQLGeneDAO.SPECIES_ID).append(" = ?")
+          .append(" GROUP BY ").append(EXPR_TABLE_NAME).append(".").append(MySQLGeneDAO.BGEE_GENE_ID);
+        try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sb.toString())) {
+            stmt.setInt(1, speciesId);
+            Map<Integer, Integer> counts = new HashMap<>();
+            stmt.forEachRow(rs -> counts.put(rs.getInt(MySQLGeneDAO.BGEE_GENE_ID),
+                    rs.getInt("callCount")));
+            return log.traceExit(counts);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+
     /**
      * Implementation of the {@code RawExpressionCallTOResultSet}. 
      * 
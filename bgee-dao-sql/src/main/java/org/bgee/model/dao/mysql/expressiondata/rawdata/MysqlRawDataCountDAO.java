@@ -1,5 +1,6 @@
 package org.bgee.model.dao.mysql.expressiondata.rawdata;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.HashSet;
@@ -21,6 +22,7 @@ import org.bgee.model.dao.api.expressiondata.rawdata.microarray.AffymetrixChipDA
 import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqLibraryAnnotatedSampleDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqLibraryDAO;
 import org.bgee.model.dao.api.expressiondata.rawdata.rnaseq.RNASeqResultAnnotatedSampleDAO;
+import org.bgee.model.dao.mysql.connector.BgeeConnection;
 import org.bgee.model.dao.mysql.connector.BgeePreparedStatement;
 import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
 import org.bgee.model.dao.mysql.connector.MySQLDAOResultSet;
@@ -38,6 +40,20 @@ import org.bgee.model.dao.mysql.expressiondata.rawdata.rnaseq.MySQLRNASeqResultA
 public class MysqlRawDataCountDAO extends MySQLRawDataDAO<RawDataCountDAO.Attribute>
         implements RawDataCountDAO {
 
+    /**
+     * A {@code String} that is the name of the table storing the counts precomputed
+     * per species and data type.
+     * @see #getPrecomputedRawDataCount(int, DAODataType)
+     * @see #insertPrecomputedRawDataCounts(int, DAODataType)
+     */
+    public final static String PRECOMPUTED_COUNT_TABLE_NAME = "rawDataCount";
+    /**
+     * A {@code String} that is the name of the field storing the data type in the table
+     * {@link #PRECOMPUTED_COUNT_TABLE_NAME}, as returned by
+     * {@link DAODataType#getStringRepresentation()}.
+     */
+    public final static String PRECOMPUTED_COUNT_DATA_TYPE_FIELD = "dataType";
+
     public MysqlRawDataCountDAO(MySQLDAOManager manager) throws IllegalArgumentException {
         super(manager);
     }
@@ -572,6 +588,115 @@ public class MysqlRawDataCountDAO extends MySQLRawDataDAO<RawDataCountDAO.Attrib
         }
     }
 
+    @Override
+    public RawDataCountContainerTO getPrecomputedRawDataCount(int speciesId, DAODataType dataType)
+            throws DAOException {
+        log.traceEntry("{}, {}", speciesId, dataType);
+        if (dataType == null) {
+            throw log.throwing(new IllegalArgumentException("A data type must be provided"));
+        }
+        String sql = "SELECT experimentCount, assayCount, callCount, libraryCount, "
+                + "assayConditionCount FROM " + PRECOMPUTED_COUNT_TABLE_NAME
+                + " WHERE speciesId = ? AND " + PRECOMPUTED_COUNT_DATA_TYPE_FIELD + " = ?";
+        try (BgeePreparedStatement stmt = this.getManager().getConnection().prepareStatement(sql)) {
+            stmt.setInt(1, speciesId);
+            stmt.setString(2, dataType.getStringRepresentation());
+            RawDataCountContainerTO[] to = new RawDataCountContainerTO[1];
+            stmt.forEachRow(rs -> to[0] = new RawDataCountContainerTO(
+                    getNullableInt(rs, "experimentCount"), getNullableInt(rs, "assayCount"),
+                    getNullableInt(rs, "callCount"), getNullableInt(rs, "libraryCount"),
+                    getNullableInt(rs, "assayConditionCount")));
+            return log.traceExit(to[0]);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+    }
+    private static Integer getNullableInt(ResultSet rs, String columnLabel) throws SQLException {
+        int value = rs.getInt(columnLabel);
+        return rs.wasNull()? null: value;
+    }
+
+    @Override
+    public int insertPrecomputedRawDataCounts(int speciesId, DAODataType dataType)
+            throws DAOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesId, dataType);
+        if (dataType == null) {
+            throw log.throwing(new IllegalArgumentException("A data type must be provided"));
+        }
+        //Counts are requested the same way as by the Bgee core, for each data type
+        Set<DAORawDataFilter> filters = Set.of(new DAORawDataFilter(Set.of(speciesId),
+                null, null, null, null));
+        RawDataCountContainerTO to = null;
+        switch (dataType) {
+        case AFFYMETRIX:
+            to = this.getAffymetrixCount(filters, true, true, true);
+            break;
+        case RNA_SEQ:
+        case SC_RNA_SEQ:
+            to = this.getRnaSeqCount(filters, dataType == DAODataType.SC_RNA_SEQ,
+                    true, true, true, true);
+            break;
+        case EST:
+            to = this.getESTCount(filters, true, true);
+            break;
+        case IN_SITU:
+            to = this.getInSituCount(filters, true, false, true, true);
+            break;
+        default:
+            throw log.throwing(new IllegalArgumentException("Unsupported data type: " + dataType));
+        }
+
+        //The deletion of the previous counts and the insertion of the new counts
+        //are performed in a transaction, so that the counts are never missing.
+        //If the caller already started a transaction, it is responsible for committing it.
+        BgeeConnection conn;
+        boolean ownTransaction;
+        try {
+            conn = this.getManager().getConnection();
+            ownTransaction = !conn.isOngoingTransaction();
+            if (ownTransaction) {
+                conn.startTransaction();
+            }
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        }
+        boolean committed = false;
+        try (BgeePreparedStatement deleteStmt = conn.prepareStatement(
+                "DELETE FROM " + PRECOMPUTED_COUNT_TABLE_NAME + " WHERE speciesId = ? AND "
+                + PRECOMPUTED_COUNT_DATA_TYPE_FIELD + " = ?");
+             BgeePreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + PRECOMPUTED_COUNT_TABLE_NAME + " (speciesId, "
+                + PRECOMPUTED_COUNT_DATA_TYPE_FIELD + ", experimentCount, assayCount, "
+                + "callCount, libraryCount, assayConditionCount) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            deleteStmt.setInt(1, speciesId);
+            deleteStmt.setString(2, dataType.getStringRepresentation());
+            deleteStmt.executeUpdate();
+            stmt.setInt(1, speciesId);
+            stmt.setString(2, dataType.getStringRepresentation());
+            stmt.setInt(3, to.getExperimentCount());
+            stmt.setInt(4, to.getAssayCount());
+            stmt.setInt(5, to.getCallCount());
+            stmt.setInt(6, to.getRnaSeqLibraryCount());
+            stmt.setInt(7, to.getInsituAssayConditionCount());
+            int insertCount = stmt.executeUpdate();
+            if (ownTransaction) {
+                conn.commit();
+            }
+            committed = true;
+            return log.traceExit(insertCount);
+        } catch (SQLException e) {
+            throw log.throwing(new DAOException(e));
+        } finally {
+            if (ownTransaction && !committed) {
+                try {
+                    conn.rollback();
+                } catch (SQLException | IllegalStateException e) {
+                    log.catching(e);
+                }
+            }
+        }
+    }
+
     /**
      * A {@code MySQLDAOResultSet} specific to {@code RawDataCountContainerTO}.
      *
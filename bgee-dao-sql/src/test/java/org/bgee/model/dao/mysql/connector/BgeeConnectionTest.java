@@ -293,4 +293,19 @@ public class BgeeConnectionTest extends TestAncestor
         
         MockDriver.initialize();
     }
+
+    /**
+     * Test {@link BgeeConnection#isReadOnlyStatement(String)}.
+     */
+    @Test
+    public void shouldDetectReadOnlyStatements() {
+        assertTrue(BgeeConnection.isReadOnlyStatement("SELECT * FROM gene WHERE geneId = ?"));
+        assertTrue(BgeeConnection.isReadOnlyStatement(" (SELECT 1) UNION (SELECT 2)"));
+        assertTrue(BgeeConnection.isReadOnlyStatement("show tables"));
+        assertFalse(BgeeConnection.isReadOnlyStatement("SELECT * FROM gene FOR UPDATE"));
+        assertFalse(BgeeConnection.isReadOnlyStatement("INSERT INTO gene SELECT * FROM gene2"));
+        assertFalse(BgeeConnection.isReadOnlyStatement("UPDATE gene SET geneName = ?"));
+        assertFalse(BgeeConnection.isReadOnlyStatement("DELETE FROM gene"));
+        assertFalse(BgeeConnection.isReadOnlyStatement(null));
+    }
 }
@@ -0,0 +1,117 @@
+package org.bgee.model.dao.mysql.connector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.mysql.TestAncestor;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConnectionBudget}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ConnectionBudgetTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(ConnectionBudgetTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @After
+    public void clearBudgets() {
+        ConnectionBudget.clearBudgets();
+    }
+
+    /**
+     * Test {@link ConnectionBudget#configure(String, int, long)} and
+     * {@link ConnectionBudget#getBudget(String)}.
+     */
+    @Test
+    public void shouldConfigureBudgets() {
+        ConnectionBudget budget = ConnectionBudget.configure(" dataApi ", 2, 0);
+        assertEquals("dataApi", budget.getName());
+        assertSame(budget, ConnectionBudget.getBudget("dataApi"));
+        //same parameters, the budget is kept
+        assertSame(budget, ConnectionBudget.configure("dataApi", 2, 0));
+        //new parameters, the budget is replaced
+        assertEquals(3, ConnectionBudget.configure("dataApi", 3, 0).getMaxPermits());
+        assertNull(ConnectionBudget.getBudget("interactive"));
+        assertNull(ConnectionBudget.getBudget(null));
+
+        try {
+            ConnectionBudget.configure("interactive", 0, 0);
+            fail("An exception should be thrown when no connection is allowed");
+        } catch (IllegalArgumentException e) {
+            //test passed
+        }
+    }
+
+    /**
+     * Test {@link ConnectionBudget#configure(java.util.Map, long)}.
+     */
+    @Test
+    public void shouldReplaceConfiguration() {
+        ConnectionBudget interactive = ConnectionBudget.configure("interactive", 20, 0);
+        ConnectionBudget.configure("dataApi", 8, 0);
+        Map<String, Integer> maxPermitsPerBudget = new HashMap<>();
+        maxPermitsPerBudget.put("interactive", 20);
+        maxPermitsPerBudget.put(" rPackage", 4);
+        Map<String, ConnectionBudget> budgets = ConnectionBudget.configure(maxPermitsPerBudget, 0);
+        assertEquals(Arrays.asList("interactive", "rPackage"), new ArrayList<>(budgets.keySet()));
+        assertEquals(budgets, ConnectionBudget.getBudgets());
+        //unchanged budget, it is kept
+        assertSame(interactive, ConnectionBudget.getBudget("interactive"));
+        //budget dropped from the configuration, it is removed
+        assertNull(ConnectionBudget.getBudget("dataApi"));
+
+        ConnectionBudget.configure(null, 0);
+        assertTrue(ConnectionBudget.getBudgets().isEmpty());
+    }
+
+    /**
+     * Test {@link ConnectionBudget#acquire()} and {@link ConnectionBudget#release()}.
+     */
+    @Test
+    public void shouldAcquireAndReject() {
+        ConnectionBudget budget = ConnectionBudget.configure("dataApi", 2, 0);
+        budget.acquire();
+        budget.acquire();
+        assertEquals(2, budget.getInUseCount());
+        try {
+            budget.acquire();
+            fail("An exception should be thrown when the budget is exhausted");
+        } catch (ConnectionBudgetExceededException e) {
+            assertEquals("dataApi", e.getConnectionBudget());
+        }
+        assertEquals(1, budget.getRejectedCount());
+
+        budget.release();
+        budget.acquire();
+        assertEquals(3, budget.getAcquiredCount());
+        assertEquals(2, budget.getInUseCount());
+        budget.release();
+        budget.release();
+        assertEquals(0, budget.getInUseCount());
+
+        String metrics = ConnectionBudget.getMetricsText();
+        assertTrue(metrics.contains(
+                "bgee_dao_connection_budget_acquired_total{budget=\"dataApi\"} 3\n"));
+        assertTrue(metrics.contains(
+                "bgee_dao_connection_budget_rejected_total{budget=\"dataApi\"} 1\n"));
+    }
+}
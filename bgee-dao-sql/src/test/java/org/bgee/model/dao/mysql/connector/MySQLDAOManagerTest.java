@@ -2,8 +2,10 @@ package org.bgee.model.dao.mysql.connector;
 
 import static org.junit.Assert.*;
 
+import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Enumeration;
@@ -18,6 +20,7 @@ import javax.naming.Reference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
 import org.bgee.model.dao.mysql.TestAncestor;
 import org.bgee.model.dao.mysql.connector.BgeeConnection;
 import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
@@ -728,4 +731,223 @@ public class MySQLDAOManagerTest extends TestAncestor
 
         MockDriver.initialize();
     }
+
+    /**
+     * Test the routing of queries to replicas of the database, 
+     * when providing {@link MySQLDAOManager#REPLICA_JDBC_URLS_KEY}.
+     */
+    @Test
+    public void shouldRouteToReplicas() throws SQLException {
+        MockDriver.initialize();
+        String replicaUrl = "jdbc:mock:replica";
+        String failingReplicaUrl = "jdbc:mock:failingReplica";
+        Driver mockDriver = MockDriver.getMockDriver();
+        Connection replicaConnection = mock(Connection.class);
+        when(mockDriver.acceptsURL(eq(replicaUrl))).thenReturn(true);
+        when(mockDriver.connect(eq(replicaUrl), any(Properties.class)))
+            .thenReturn(replicaConnection);
+        when(replicaConnection.prepareStatement(any(String.class)))
+            .thenReturn(mock(PreparedStatement.class));
+        when(mockDriver.acceptsURL(eq(failingReplicaUrl))).thenReturn(true);
+        when(mockDriver.connect(eq(failingReplicaUrl), any(Properties.class)))
+            .thenThrow(new SQLException("Replica unavailable"));
+
+        Properties props = new Properties();
+        props.setProperty(MySQLDAOManager.JDBC_URL_KEY, MockDriver.MOCKURL);
+        props.setProperty(MySQLDAOManager.JDBC_DRIVER_NAMES_KEY, MockDriver.class.getName());
+        //the failing replica should be ejected, and the primary database used
+        props.setProperty(MySQLDAOManager.REPLICA_JDBC_URLS_KEY, failingReplicaUrl);
+        MySQLDAOManager manager = new MySQLDAOManager();
+        manager.setParameters(props);
+        assertFalse("The primary database should be used when no replica is available", 
+                manager.getConnection().isReplica());
+        manager.close();
+
+        //read-only statements should be sent to the replica, other statements 
+        //to the primary database, and all following queries to the primary database 
+        //(sticky by default)
+        props.setProperty(MySQLDAOManager.REPLICA_JDBC_URLS_KEY, 
+                failingReplicaUrl + ", " + replicaUrl);
+        manager = new MySQLDAOManager();
+        manager.setParameters(props);
+        assertEquals(Arrays.asList(failingReplicaUrl, replicaUrl), manager.getReplicaJdbcUrls());
+        BgeeConnection conn = manager.getConnection();
+        assertTrue("A replica should be used", conn.isReplica());
+        conn.prepareStatement("SELECT * FROM gene");
+        verify(replicaConnection).prepareStatement("SELECT * FROM gene");
+        conn.prepareStatement("INSERT INTO gene VALUES (?)");
+        verify(MockDriver.getMockConnection()).prepareStatement("INSERT INTO gene VALUES (?)");
+        verify(replicaConnection, never()).prepareStatement("INSERT INTO gene VALUES (?)");
+        assertFalse("The primary database should be used after a write", 
+                manager.getConnection().isReplica());
+        manager.close();
+
+        //without sticky sessions, only transactions should be sent to the primary database
+        props.setProperty(MySQLDAOManager.REPLICA_JDBC_URLS_KEY, replicaUrl);
+        props.setProperty(MySQLDAOManager.REPLICA_STICKY_KEY, "false");
+        manager = new MySQLDAOManager();
+        manager.setParameters(props);
+        conn = manager.getConnection();
+        assertTrue("A replica should be used", conn.isReplica());
+        conn.startTransaction();
+        verify(MockDriver.getMockConnection()).setAutoCommit(false);
+        assertFalse("The primary database should be used during a transaction", 
+                manager.getConnection().isReplica());
+        manager.getConnection().commit();
+        assertTrue("A replica should be used after a transaction", 
+                manager.getConnection().isReplica());
+
+        manager.shutdown();
+        MockDriver.initialize();
+    }
+
+    /**
+     * Test the use of a replica provided as the JNDI resource name of a {@code DataSource} 
+     * (see {@link MySQLDAOManager#REPLICA_DATA_SOURCE_PREFIX}).
+     */
+    @Test
+    public void shouldRouteToReplicaDataSource() throws SQLException {
+        MockDriver.initialize();
+        Properties props = new Properties();
+        props.setProperty(MySQLDAOManager.JDBC_URL_KEY, MockDriver.MOCKURL);
+        props.setProperty(MySQLDAOManager.JDBC_DRIVER_NAMES_KEY, MockDriver.class.getName());
+        props.setProperty(MySQLDAOManager.REPLICA_JDBC_URLS_KEY, 
+                MySQLDAOManager.REPLICA_DATA_SOURCE_PREFIX + MockDataSource.DATASOURCENAME);
+        MySQLDAOManager manager = new MySQLDAOManager();
+        manager.setParameters(props);
+        BgeeConnection conn = manager.getConnection();
+        assertTrue("A replica should be used", conn.isReplica());
+        assertSame("The connection should be obtained from the DataSource of the replica", 
+                MockDataSource.getMockConnection(), conn.getRealConnection());
+        assertNotSame("The primary database should not be used", 
+                MockDriver.getMockConnection(), conn.getRealConnection());
+        assertFalse("The primary database should be used when requested", 
+                manager.getPrimaryConnection().isReplica());
+
+        manager.shutdown();
+        MockDriver.initialize();
+    }
+
+    /**
+     * Test that a {@link MySQLDAOManager} holds one permit of its budget of connections 
+     * (see {@link MySQLDAOManager#CONNECTION_BUDGETS_KEY}), whatever the number 
+     * of connections it opens, and releases it when all its connections are closed.
+     */
+    @Test
+    public void shouldHoldOnePermitPerDAOManager() throws SQLException {
+        MockDriver.initialize();
+        Properties props = new Properties();
+        props.setProperty(MySQLDAOManager.JDBC_URL_KEY, MockDriver.MOCKURL);
+        props.setProperty(MySQLDAOManager.JDBC_DRIVER_NAMES_KEY, MockDriver.class.getName());
+        props.setProperty(MySQLDAOManager.CONNECTION_BUDGETS_KEY, "dataApi:1,rPackage:2");
+        props.setProperty(MySQLDAOManager.CONNECTION_BUDGET_MAX_WAIT_MS_KEY, "0");
+        try {
+            MySQLDAOManager manager = new MySQLDAOManager();
+            manager.setParameters(props);
+            manager.setConnectionBudget("dataApi");
+            ConnectionBudget budget = ConnectionBudget.getBudget("dataApi");
+            assertEquals(1, budget.getMaxPermits());
+
+            BgeeConnection conn1 = manager.getConnection();
+            manager.setDatabaseToUse("bgee_other");
+            BgeeConnection conn2 = manager.getConnection();
+            assertNotEquals(conn1, conn2);
+            assertEquals("Only one permit should be held by a DAOManager", 
+                    1, budget.getInUseCount());
+
+            MySQLDAOManager otherManager = new MySQLDAOManager();
+            otherManager.setParameters(props);
+            otherManager.setConnectionBudget("dataApi");
+            try {
+                otherManager.getConnection();
+                fail("An exception should be thrown when the budget is exhausted");
+            } catch (ConnectionBudgetExceededException e) {
+                //test passed
+            }
+
+            conn1.close();
+            assertEquals("The permit should be held until all connections are closed", 
+                    1, budget.getInUseCount());
+            conn2.close();
+            assertEquals(0, budget.getInUseCount());
+            otherManager.getConnection();
+            assertEquals(1, budget.getInUseCount());
+            otherManager.close();
+            assertEquals(0, budget.getInUseCount());
+            manager.close();
+
+            //budgets not defined anymore should be removed
+            props.setProperty(MySQLDAOManager.CONNECTION_BUDGETS_KEY, "rPackage:2");
+            new MySQLDAOManager().setParameters(props);
+            assertNull(ConnectionBudget.getBudget("dataApi"));
+            assertNotNull(ConnectionBudget.getBudget("rPackage"));
+        } finally {
+            ConnectionBudget.clearBudgets();
+            MockDriver.initialize();
+        }
+    }
+
+    /**
+     * Test that {@link MySQLDAOManager}s sharing the permit of the budget of connections 
+     * of another one (see {@link MySQLDAOManager#shareConnectionBudget(
+     * org.bgee.model.dao.api.DAOManager)}) do not acquire other permits, and that 
+     * the permit is kept until they have closed their connections.
+     */
+    @Test
+    public void shouldSharePermitOfOwner() throws SQLException {
+        MockDriver.initialize();
+        Properties props = new Properties();
+        props.setProperty(MySQLDAOManager.JDBC_URL_KEY, MockDriver.MOCKURL);
+        props.setProperty(MySQLDAOManager.JDBC_DRIVER_NAMES_KEY, MockDriver.class.getName());
+        props.setProperty(MySQLDAOManager.CONNECTION_BUDGETS_KEY, "topAnat:1");
+        props.setProperty(MySQLDAOManager.CONNECTION_BUDGET_MAX_WAIT_MS_KEY, "0");
+        try {
+            MySQLDAOManager owner = new MySQLDAOManager();
+            owner.setParameters(props);
+            owner.setConnectionBudget("topAnat");
+            ConnectionBudget budget = ConnectionBudget.getBudget("topAnat");
+            BgeeConnection ownerConn = owner.getConnection();
+            assertEquals(1, budget.getInUseCount());
+
+            MySQLDAOManager worker1 = new MySQLDAOManager();
+            worker1.setParameters(props);
+            worker1.shareConnectionBudget(owner);
+            assertEquals("topAnat", worker1.getConnectionBudget());
+            MySQLDAOManager worker2 = new MySQLDAOManager();
+            worker2.setParameters(props);
+            worker2.shareConnectionBudget(worker1);
+            assertEquals("The root owner should be shared", owner, 
+                    worker2.getConnectionBudgetOwner());
+            //No exception should be thrown although the budget is exhausted
+            worker1.getConnection();
+            worker2.getConnection();
+            assertEquals("Only the permit of the owner should be held", 
+                    1, budget.getInUseCount());
+
+            ownerConn.close();
+            assertEquals("The permit should be kept while it is shared", 
+                    1, budget.getInUseCount());
+            worker1.close();
+            assertEquals(1, budget.getInUseCount());
+            worker2.close();
+            assertEquals(0, budget.getInUseCount());
+
+            //The owner acquires its permit for the workers if it does not hold it
+            MySQLDAOManager worker3 = new MySQLDAOManager();
+            worker3.setParameters(props);
+            worker3.shareConnectionBudget(owner);
+            worker3.getConnection();
+            assertEquals(1, budget.getInUseCount());
+            owner.getConnection();
+            assertEquals(1, budget.getInUseCount());
+            worker3.close();
+            assertEquals("The permit should be held until the owner closes its connections", 
+                    1, budget.getInUseCount());
+            owner.close();
+            assertEquals(0, budget.getInUseCount());
+        } finally {
+            ConnectionBudget.clearBudgets();
+            MockDriver.initialize();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.bgee.model.dao.mysql.connector;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
@@ -21,16 +22,23 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.PrefetchingDAOResultSet;
 import org.bgee.model.dao.api.TransferObject;
 import org.bgee.model.dao.api.exception.DAOException;
 import org.bgee.model.dao.api.exception.QueryInterruptedException;
 import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO;
 import org.bgee.model.dao.mysql.TestAncestor;
+import org.bgee.model.dao.mysql.connector.mock.MockDriver;
 import org.bgee.model.dao.mysql.ontologycommon.MySQLRelationDAO.MySQLRelationTOResultSet;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -1158,4 +1166,73 @@ public class MySQLDAOResultSetTest extends TestAncestor {
             //test passed
         }
     }
+
+    /**
+     * Test that a {@code MySQLDAOResultSet} iterating several statements is used 
+     * by a {@link PrefetchingDAOResultSet} only from its background thread: the statements 
+     * are prepared and executed with a {@code MySQLDAOManager} obtained by this thread, 
+     * distinct from the {@code MySQLDAOManager} of the caller, and closed by this thread.
+     */
+    @Test
+    public void shouldBePrefetchedWithOwnDAOManager() throws SQLException {
+        MockDriver.initialize();
+        Properties props = new Properties();
+        props.setProperty(MySQLDAOManager.JDBC_URL_KEY, MockDriver.MOCKURL);
+        props.setProperty(MySQLDAOManager.JDBC_DRIVER_NAMES_KEY, MockDriver.class.getName());
+
+        FakeTO fakeTO1 = new FakeTO("1");
+        FakeTO fakeTO2 = new FakeTO("2");
+        FakeTO fakeTO3 = new FakeTO("3");
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(eq(1))).thenReturn("column1");
+        ResultSet mockRs1 = mock(ResultSet.class);
+        when(mockRs1.getMetaData()).thenReturn(metaData);
+        when(mockRs1.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockRs1.unwrap(FakeTO.class)).thenReturn(fakeTO1).thenReturn(fakeTO2);
+        ResultSet mockRs2 = mock(ResultSet.class);
+        when(mockRs2.getMetaData()).thenReturn(metaData);
+        when(mockRs2.next()).thenReturn(true).thenReturn(false);
+        when(mockRs2.unwrap(FakeTO.class)).thenReturn(fakeTO3);
+        //the two statements are executed on the same mock PreparedStatement,
+        //we record the threads executing them
+        Set<Thread> executingThreads = ConcurrentHashMap.newKeySet();
+        List<ResultSet> resultSets = new CopyOnWriteArrayList<>(Arrays.asList(mockRs1, mockRs2));
+        when(MockDriver.getMockStatement().executeQuery()).thenAnswer(invocation -> {
+            executingThreads.add(Thread.currentThread());
+            return resultSets.remove(0);
+        });
+
+        List<DAOManager> queryManagers = new CopyOnWriteArrayList<>();
+        try (DAOManager manager = DAOManager.getDAOManager(props)) {
+            PrefetchingDAOResultSet<FakeTO> prefetchingRs = new PrefetchingDAOResultSet<>(
+                    manager, queryManager -> {
+                        queryManagers.add(queryManager);
+                        try {
+                            BgeeConnection conn = ((MySQLDAOManager) queryManager).getConnection();
+                            return new FakeDAOResultSet(Arrays.asList(
+                                    conn.prepareStatement("SELECT 1"),
+                                    conn.prepareStatement("SELECT 2")));
+                        } catch (SQLException e) {
+                            throw new DAOException(e);
+                        }
+                    }, 2, 1);
+            assertEquals("Incorrect TOs prefetched", Arrays.asList(fakeTO1, fakeTO2, fakeTO3),
+                    prefetchingRs.getAllTOs());
+
+            assertEquals("The statements should be executed by a single thread",
+                    1, executingThreads.size());
+            assertFalse("The statements should not be executed by the caller thread",
+                    executingThreads.contains(Thread.currentThread()));
+            assertEquals(1, queryManagers.size());
+            assertTrue("Incorrect DAOManager used for the query",
+                    queryManagers.get(0) instanceof MySQLDAOManager);
+            assertNotSame("The query should not use the DAOManager of the caller",
+                    manager, queryManagers.get(0));
+            assertTrue("The DAOManager of the background thread should be closed",
+                    queryManagers.get(0).isClosed());
+            assertFalse(manager.isClosed());
+            verify(MockDriver.getMockStatement(), times(2)).executeQuery();
+        }
+    }
 }
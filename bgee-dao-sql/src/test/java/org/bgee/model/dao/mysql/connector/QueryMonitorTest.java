@@ -0,0 +1,106 @@
+package org.bgee.model.dao.mysql.connector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.mysql.TestAncestor;
+import org.bgee.model.dao.mysql.connector.QueryMonitor.QueryStatistics;
+import org.bgee.model.dao.mysql.connector.QueryMonitor.SlowQuery;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link QueryMonitor}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class QueryMonitorTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(QueryMonitorTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link QueryMonitor#recordQuery(String, String, long, long, long, boolean,
+     * java.util.function.Supplier)} and the statistics and slow queries recorded.
+     */
+    @Test
+    public void shouldRecordQueries() {
+        QueryMonitor monitor = new QueryMonitor();
+        //not recorded when disabled
+        monitor.recordQuery("MySQLGeneDAO.getGenes", "request-1", 1000, 500, 10, false, () -> "SQL");
+        assertTrue(monitor.getStatisticsPerDAOMethod().isEmpty());
+
+        monitor.setEnabled(true);
+        monitor.setSlowQueryThresholdMs(100);
+        monitor.setSlowQueryMaxCount(1);
+        monitor.recordQuery("MySQLGeneDAO.getGenes", "request-1",
+                TimeUnit.MILLISECONDS.toNanos(3), TimeUnit.MILLISECONDS.toNanos(1), 10, false,
+                () -> "fast query");
+        monitor.recordQuery("MySQLGeneDAO.getGenes", "request-2",
+                TimeUnit.MILLISECONDS.toNanos(200), TimeUnit.MILLISECONDS.toNanos(150), 5, false,
+                () -> "SELECT 1");
+        monitor.recordQuery("MySQLSpeciesDAO.getSpecies", null,
+                TimeUnit.MILLISECONDS.toNanos(300), TimeUnit.MILLISECONDS.toNanos(300), 0, true,
+                () -> "SELECT 2");
+
+        Map<String, QueryStatistics> statsPerMethod = monitor.getStatisticsPerDAOMethod();
+        assertEquals(2, statsPerMethod.size());
+        QueryStatistics geneStats = statsPerMethod.get("MySQLGeneDAO.getGenes");
+        assertEquals(2, geneStats.getCount());
+        assertEquals(15, geneStats.getRowCount());
+        assertEquals(0, geneStats.getErrorCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(203), geneStats.getTotalTimeNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(151), geneStats.getTotalTimeToFirstRowNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), geneStats.getMaxTimeNanos());
+        assertEquals(1, statsPerMethod.get("MySQLSpeciesDAO.getSpecies").getErrorCount());
+
+        //only the most recent slow query is kept
+        SlowQuery[] slowQueries = monitor.getSlowQueryArray();
+        assertEquals(1, slowQueries.length);
+        assertEquals("SELECT 2", slowQueries[0].getSql());
+        assertEquals("MySQLSpeciesDAO.getSpecies", slowQueries[0].getDaoMethod());
+        assertTrue(slowQueries[0].isError());
+
+        String text = monitor.getMetricsText();
+        assertTrue(text.contains("bgee_dao_query_duration_seconds_bucket{"
+                + "method=\"MySQLGeneDAO.getGenes\",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("bgee_dao_query_duration_seconds_bucket{"
+                + "method=\"MySQLGeneDAO.getGenes\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("bgee_dao_query_rows_total{method=\"MySQLGeneDAO.getGenes\"} 15\n"));
+        //request IDs are not used as labels
+        assertFalse(text.contains("request"));
+
+        monitor.reset();
+        assertTrue(monitor.getStatisticsPerDAOMethod().isEmpty());
+        assertEquals(0, monitor.getSlowQueries().length);
+    }
+
+    /**
+     * Test {@link QueryMonitor#setRequestId(String)} and {@link QueryMonitor#getRequestId()}.
+     */
+    @Test
+    public void shouldSetRequestId() throws InterruptedException {
+        QueryMonitor.setRequestId("request-1");
+        try {
+            assertEquals("request-1", QueryMonitor.getRequestId());
+            //the ID is inherited by threads started
+            String[] childRequestId = new String[1];
+            Thread thread = new Thread(() -> childRequestId[0] = QueryMonitor.getRequestId());
+            thread.start();
+            thread.join();
+            assertEquals("request-1", childRequestId[0]);
+        } finally {
+            QueryMonitor.setRequestId(null);
+        }
+        assertEquals(null, QueryMonitor.getRequestId());
+    }
+}
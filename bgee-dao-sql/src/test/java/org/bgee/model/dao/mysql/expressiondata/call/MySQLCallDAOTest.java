@@ -0,0 +1,119 @@
+package org.bgee.model.dao.mysql.expressiondata.call;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter2;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter2;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilterBase.Qualifier;
+import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
+import org.bgee.model.dao.mysql.TestAncestor;
+import org.junit.Test;
+
+/**
+ * Unit tests for the methods of {@link MySQLCallDAO} using the counts of global calls
+ * precomputed per global condition.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class MySQLCallDAOTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(MySQLCallDAOTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link MySQLCallDAO#generateCallDataSignature(DAOCallFilter)}.
+     */
+    @Test
+    public void shouldGenerateCallDataSignature() {
+        CallObservedDataDAOFilter2 obsFilter = new CallObservedDataDAOFilter2(
+                EnumSet.allOf(DAODataType.class), EnumSet.of(ConditionDAO.ConditionParameter.ANAT_ENTITY),
+                true);
+        DAOFDRPValueFilter2 pValFilter = new DAOFDRPValueFilter2(new BigDecimal("0.05"),
+                EnumSet.allOf(DAODataType.class), Qualifier.LESS_THAN_OR_EQUALS_TO,
+                DAOPropagationState.SELF_AND_DESCENDANT, false, false,
+                EnumSet.of(ConditionDAO.ConditionParameter.ANAT_ENTITY));
+
+        String signature = MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, Set.of(obsFilter), Set.of(Set.of(pValFilter))));
+        assertEquals(40, signature.length());
+        //species, genes and conditions are not considered
+        assertEquals(signature, MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                Set.of(9606), Set.of(1, 2), Set.of(3), Set.of(obsFilter), Set.of(Set.of(pValFilter)))));
+        //p-values equal by compareTo produce the same signature
+        assertEquals(signature, MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, Set.of(obsFilter), Set.of(Set.of(new DAOFDRPValueFilter2(
+                        new BigDecimal("0.050"), EnumSet.allOf(DAODataType.class),
+                        Qualifier.LESS_THAN_OR_EQUALS_TO, DAOPropagationState.SELF_AND_DESCENDANT,
+                        false, false, EnumSet.of(ConditionDAO.ConditionParameter.ANAT_ENTITY)))))));
+        assertFalse(signature.equals(MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, Set.of(obsFilter), Set.of(Set.of(new DAOFDRPValueFilter2(
+                        new BigDecimal("0.01"), EnumSet.allOf(DAODataType.class),
+                        Qualifier.LESS_THAN_OR_EQUALS_TO, DAOPropagationState.SELF_AND_DESCENDANT,
+                        false, false, EnumSet.of(ConditionDAO.ConditionParameter.ANAT_ENTITY))))))));
+        assertFalse(signature.equals(MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, Set.of(new CallObservedDataDAOFilter2(
+                        EnumSet.allOf(DAODataType.class),
+                        EnumSet.of(ConditionDAO.ConditionParameter.ANAT_ENTITY), false)),
+                Set.of(Set.of(pValFilter))))));
+        assertFalse(signature.equals(MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, Set.of(obsFilter), null))));
+        assertFalse(signature.equals(MySQLCallDAO.generateCallDataSignature(new DAOCallFilter(
+                null, null, null, null, null))));
+    }
+
+    /**
+     * Test {@link MySQLCallDAO#generatePrecomputedCountClauses(DAOCallFilter, boolean)}.
+     */
+    @Test
+    public void shouldGeneratePrecomputedCountClauses() {
+        assertEquals(" FROM globalExpressionCallCount"
+                + " WHERE globalExpressionCallCount.callDataSignature = ?",
+                MySQLCallDAO.generatePrecomputedCountClauses(
+                        new DAOCallFilter(null, null, null, null, null), false));
+        assertEquals(" FROM globalExpressionCallCount INNER JOIN globalCond"
+                + " ON globalCond.globalConditionId = globalExpressionCallCount.globalConditionId"
+                + " WHERE globalExpressionCallCount.callDataSignature = ?"
+                + " AND (globalCond.speciesId IN (?))",
+                MySQLCallDAO.generatePrecomputedCountClauses(
+                        new DAOCallFilter(Set.of(9606), null, null, null, null), false));
+        assertEquals(" FROM globalExpressionCallCount INNER JOIN globalCond"
+                + " ON globalCond.globalConditionId = globalExpressionCallCount.globalConditionId"
+                + " WHERE globalExpressionCallCount.callDataSignature = ?"
+                + " AND (globalCond.speciesId IN (?) OR globalExpressionCallCount.globalConditionId IN (?, ?))",
+                MySQLCallDAO.generatePrecomputedCountClauses(
+                        new DAOCallFilter(Set.of(9606), null, Set.of(1, 2), null, null), true));
+
+        try {
+            MySQLCallDAO.generatePrecomputedCountClauses(
+                    new DAOCallFilter(null, Set.of(1), null, null, null), false);
+            fail("An exception should be thrown when genes are targeted");
+        } catch (IllegalArgumentException e) {
+            //test passed
+        }
+    }
+
+    /**
+     * Test {@link MySQLCallDAO#generateAfterKeyClause2(String)}.
+     */
+    @Test
+    public void shouldGenerateAfterKeyClause() {
+        assertEquals("globalExpression.bgeeGeneId >= ? AND (globalExpression.bgeeGeneId > ?"
+                + " OR globalExpression.globalConditionId > ?)",
+                MySQLCallDAO.generateAfterKeyClause2("globalExpression"));
+    }
+}
@@ -0,0 +1,101 @@
+package org.bgee.model.dao.mysql.expressiondata.call;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.CallDAOFilter;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOFDRPValueFilterBase.Qualifier;
+import org.bgee.model.dao.api.expressiondata.call.DAOPropagationState;
+import org.bgee.model.dao.mysql.TestAncestor;
+import org.junit.Test;
+
+/**
+ * Unit tests for the methods of {@link MySQLGlobalExpressionCallDAO} using the min. and max ranks
+ * precomputed per gene and per anatomical entity.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class MySQLGlobalExpressionCallDAOTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(MySQLGlobalExpressionCallDAOTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link MySQLGlobalExpressionCallDAO#getMinMaxRanksCondParamCombinationKey(
+     * java.util.Collection)}.
+     */
+    @Test
+    public void shouldGetMinMaxRanksCondParamCombinationKey() {
+        assertEquals("AnatEntityCellType", MySQLGlobalExpressionCallDAO
+                .getMinMaxRanksCondParamCombinationKey(Arrays.asList(
+                        ConditionDAO.Attribute.CELL_TYPE_ID, ConditionDAO.Attribute.ANAT_ENTITY_ID)));
+        assertEquals("AnatEntityCellTypeStageSexStrain", MySQLGlobalExpressionCallDAO
+                .getMinMaxRanksCondParamCombinationKey(ConditionDAO.Attribute.getCondParams()));
+
+        try {
+            MySQLGlobalExpressionCallDAO.getMinMaxRanksCondParamCombinationKey(
+                    EnumSet.of(ConditionDAO.Attribute.ANAT_ENTITY_ID, ConditionDAO.Attribute.SPECIES_ID));
+            fail("An exception should be thrown when an attribute is not a condition parameter");
+        } catch (IllegalArgumentException e) {
+            //test passed
+        }
+        try {
+            MySQLGlobalExpressionCallDAO.getMinMaxRanksCondParamCombinationKey(null);
+            fail("An exception should be thrown when no condition parameter is provided");
+        } catch (IllegalArgumentException e) {
+            //test passed
+        }
+    }
+
+    /**
+     * Test {@link MySQLGlobalExpressionCallDAO#generateInsertPrecomputedMinMaxRanksQuery(
+     * int, String, LinkedHashSet, boolean)}: the precomputed min. and max ranks must be
+     * selected with the same aggregation as when they are not precomputed, so that both
+     * paths return the same ranks.
+     */
+    @Test
+    public void shouldGenerateInsertPrecomputedMinMaxRanksQuery() {
+        EnumSet<ConditionDAO.Attribute> condParams = EnumSet.of(
+                ConditionDAO.Attribute.ANAT_ENTITY_ID, ConditionDAO.Attribute.CELL_TYPE_ID);
+        String combKey = MySQLGlobalExpressionCallDAO.getMinMaxRanksCondParamCombinationKey(
+                condParams);
+        LinkedHashSet<CallDAOFilter> callFilters = new LinkedHashSet<>(Arrays.asList(
+                new CallDAOFilter(null, Collections.singleton(9606), null, null,
+                        Collections.singleton(Collections.singleton(new DAOFDRPValueFilter(
+                                new BigDecimal("0.05"), EnumSet.allOf(DAODataType.class),
+                                Qualifier.LESS_THAN_OR_EQUALS_TO, DAOPropagationState.SELF_AND_DESCENDANT,
+                                true, false, condParams))))));
+
+        for (boolean geneEntity: Arrays.asList(true, false)) {
+            String fallbackQuery = MySQLGlobalExpressionCallDAO.generateMinMaxRanksQuery(
+                    EnumSet.allOf(DAODataType.class), callFilters, geneEntity, true);
+            String insertQuery = MySQLGlobalExpressionCallDAO
+                    .generateInsertPrecomputedMinMaxRanksQuery(9606, combKey, callFilters,
+                            geneEntity);
+            assertTrue("Incorrect query generated: " + insertQuery,
+                    insertQuery.startsWith("INSERT INTO " + (geneEntity?
+                            MySQLGlobalExpressionCallDAO.GENE_MIN_MAX_RANK_TABLE_NAME:
+                            MySQLGlobalExpressionCallDAO.ANAT_ENTITY_MIN_MAX_RANK_TABLE_NAME)));
+            assertTrue("The precomputed ranks must use the fallback aggregation: " + insertQuery,
+                    insertQuery.contains(" FROM (" + fallbackQuery + ") AS ranks "));
+            assertTrue("Incorrect combination key: " + insertQuery,
+                    insertQuery.contains("'" + combKey + "'"));
+        }
+    }
+}
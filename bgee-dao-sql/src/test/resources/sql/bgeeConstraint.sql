@@ -282,6 +282,33 @@ add primary key(bgeeGeneId, globalConditionId),
 add unique(globalExpressionId);
 /*!40000 ALTER TABLE `globalExpression` ENABLE KEYS */;
 
+/*!40000 ALTER TABLE `globalExpressionCallCount` DISABLE KEYS */;
+alter table globalExpressionCallCount
+add primary key(callDataSignature, globalConditionId);
+/*!40000 ALTER TABLE `globalExpressionCallCount` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `geneMinMaxRank` DISABLE KEYS */;
+alter table geneMinMaxRank
+add primary key(bgeeGeneId, condParamCombination),
+add index(speciesId, condParamCombination);
+/*!40000 ALTER TABLE `geneMinMaxRank` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `anatEntityMinMaxRank` DISABLE KEYS */;
+alter table anatEntityMinMaxRank
+add primary key(speciesId, condParamCombination, anatEntityId);
+/*!40000 ALTER TABLE `anatEntityMinMaxRank` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `rawDataCount` DISABLE KEYS */;
+alter table rawDataCount
+add primary key(speciesId, dataType);
+/*!40000 ALTER TABLE `rawDataCount` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `rawDataConditionDataType` DISABLE KEYS */;
+alter table rawDataConditionDataType
+add primary key(dataType, conditionId),
+add index(conditionId);
+/*!40000 ALTER TABLE `rawDataConditionDataType` ENABLE KEYS */;
+
 -- ****************************************************
 -- DIFFERENTIAL EXPRESSION DATA
 -- ****************************************************
@@ -220,6 +220,33 @@ add foreign key (bgeeGeneId) references gene(bgeeGeneId) on delete cascade,
 add foreign key (globalConditionId) references globalCond(globalConditionId) on delete cascade;
 /*!40000 ALTER TABLE `globalExpression` ENABLE KEYS */;
 
+/*!40000 ALTER TABLE `globalExpressionCallCount` DISABLE KEYS */;
+alter table globalExpressionCallCount
+add foreign key (globalConditionId) references globalCond(globalConditionId) on delete cascade;
+/*!40000 ALTER TABLE `globalExpressionCallCount` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `geneMinMaxRank` DISABLE KEYS */;
+alter table geneMinMaxRank
+add foreign key (bgeeGeneId) references gene(bgeeGeneId) on delete cascade,
+add foreign key (speciesId) references species(speciesId) on delete cascade;
+/*!40000 ALTER TABLE `geneMinMaxRank` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `anatEntityMinMaxRank` DISABLE KEYS */;
+alter table anatEntityMinMaxRank
+add foreign key (speciesId) references species(speciesId) on delete cascade,
+add foreign key (anatEntityId) references anatEntity(anatEntityId) on delete cascade;
+/*!40000 ALTER TABLE `anatEntityMinMaxRank` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `rawDataCount` DISABLE KEYS */;
+alter table rawDataCount
+add foreign key (speciesId) references species(speciesId) on delete cascade;
+/*!40000 ALTER TABLE `rawDataCount` ENABLE KEYS */;
+
+/*!40000 ALTER TABLE `rawDataConditionDataType` DISABLE KEYS */;
+alter table rawDataConditionDataType
+add foreign key (conditionId) references cond(conditionId) on delete cascade;
+/*!40000 ALTER TABLE `rawDataConditionDataType` ENABLE KEYS */;
+
 -- ****************************************************
 -- DIFFERENTIAL EXPRESSION DATA
 -- ****************************************************
@@ -1312,6 +1312,61 @@ create table globalExpression (
 ) engine = innodb
 comment = 'This table is a summary of expression calls for a given gene-condition (anatomical entity - developmental stage - sex- strain), over all the experiments and data types, with all data propagated and reconciled, and with experiment expression summaries computed.';
 
+-- This table contains the counts of global calls per global condition, precomputed for the filters
+-- on observed data and p-values most frequently used (e.g., the default filters of the web interface),
+-- to avoid counting calls in the globalExpression table when no specific genes are requested.
+create table globalExpressionCallCount (
+    callDataSignature char(40) not null COMMENT 'SHA-1 hash of the filters on observed data and p-values that calls were counted for.',
+    globalConditionId mediumint unsigned not null COMMENT 'ID of condition in the related condition table ("globalCond"), not stable between releases.',
+    callCount int unsigned not null COMMENT 'Number of global calls in this condition matching the filters identified by callDataSignature.'
+) engine = innodb
+comment = 'This table contains the counts of global calls per global condition, precomputed from the globalExpression table for some filters on observed data and p-values.';
+
+-- This table contains the min. and max ranks of each gene, precomputed for some combinations
+-- of condition parameters, over all data types, to compute qualitative expression levels
+-- without aggregating the globalExpression table on the fly.
+create table geneMinMaxRank (
+    bgeeGeneId mediumint unsigned not null COMMENT 'Internal gene ID',
+    speciesId mediumint unsigned not null COMMENT 'NCBI species taxon id',
+    condParamCombination varchar(40) not null COMMENT 'Combination of condition parameters considered (e.g., AnatEntityCellType)',
+    minRank decimal(9,2) unsigned not null COMMENT 'Min. global mean rank of the gene over all data types, in the conditions of this combination',
+    maxRank decimal(9,2) unsigned not null COMMENT 'Max. global mean rank of the gene over all data types, in the conditions of this combination'
+) engine = innodb
+comment = 'This table contains the min. and max ranks of genes precomputed from the globalExpression table.';
+
+-- This table contains the min. and max ranks in each anatomical entity, precomputed for some
+-- combinations of condition parameters, over all data types.
+create table anatEntityMinMaxRank (
+    speciesId mediumint unsigned not null COMMENT 'NCBI species taxon id',
+    condParamCombination varchar(40) not null COMMENT 'Combination of condition parameters considered (e.g., AnatEntityCellType)',
+    anatEntityId varchar(20) not null COMMENT 'Anatomical entity id',
+    minRank decimal(9,2) unsigned not null COMMENT 'Min. global mean rank in the anatomical entity over all data types, in the conditions of this combination',
+    maxRank decimal(9,2) unsigned not null COMMENT 'Max. global mean rank in the anatomical entity over all data types, in the conditions of this combination'
+) engine = innodb
+comment = 'This table contains the min. and max ranks in anatomical entities precomputed from the globalExpression table.';
+
+-- This table contains the counts of raw data of each data type, precomputed per species,
+-- to avoid counting raw data when no other filtering than on the species is requested.
+-- Distinct counts cannot be summed over species, so they are precomputed per species.
+create table rawDataCount (
+    speciesId mediumint unsigned not null COMMENT 'NCBI species taxon id',
+    dataType varchar(30) not null COMMENT 'Data type counted (e.g., affymetrix, rna-seq, single-cell RNA-Seq)',
+    experimentCount int unsigned COMMENT 'Number of experiments, NULL if not relevant for the data type',
+    assayCount int unsigned COMMENT 'Number of assays (annotated samples for RNA-Seq), NULL if not relevant for the data type',
+    callCount int unsigned COMMENT 'Number of raw calls',
+    libraryCount int unsigned COMMENT 'Number of RNA-Seq libraries, NULL if not relevant for the data type',
+    assayConditionCount int unsigned COMMENT 'Number of distinct in situ assay-condition pairs, NULL if not relevant for the data type'
+) engine = innodb
+comment = 'This table contains the counts of raw data precomputed per species and data type.';
+
+-- This table contains the raw conditions used in the annotations of each data type,
+-- to retrieve the post-filters of raw data queries with no other filtering than on the species.
+create table rawDataConditionDataType (
+    conditionId mediumint unsigned not null COMMENT 'Internal condition ID, see table cond',
+    dataType varchar(30) not null COMMENT 'Data type using the condition in its annotations (e.g., affymetrix, rna-seq, single-cell RNA-Seq)'
+) engine = innodb
+comment = 'This table contains the raw conditions used in the annotations of each data type.';
+
 -- ****************************************************
 -- SUMMARY DIFF EXPRESSION CALLS
 -- ****************************************************
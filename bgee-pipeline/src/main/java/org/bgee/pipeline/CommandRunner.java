@@ -12,13 +12,18 @@ import org.bgee.pipeline.annotations.AnnotationCommon;
 import org.bgee.pipeline.annotations.InsertSimilarityAnnotation;
 import org.bgee.pipeline.annotations.SimilarityAnnotation;
 import org.bgee.pipeline.easybgee.BgeeToEasyBgee;
+import org.bgee.pipeline.expression.GenerateTopAnatIncidenceMatrices;
 import org.bgee.pipeline.expression.GenoFishProject;
+import org.bgee.pipeline.expression.InsertGlobalCallCounts;
+import org.bgee.pipeline.expression.InsertMinMaxRanks;
 import org.bgee.pipeline.expression.InsertPropagatedCalls;
+import org.bgee.pipeline.expression.InsertRawDataCounts;
 import org.bgee.pipeline.expression.downloadfile.GenerateExprFile2;
 import org.bgee.pipeline.expression.downloadfile.GenerateXRefsFilesWithExprInfo;
 import org.bgee.pipeline.expression.downloadfile.collaboration.GenerateBioSODAFile;
 import org.bgee.pipeline.expression.downloadfile.collaboration.GenerateOncoMXFile;
 import org.bgee.pipeline.expression.downloadfile.GenerateDiffExprFile;
+import org.bgee.pipeline.gene.GenerateGeneHomologyIndex;
 import org.bgee.pipeline.gene.InsertGO;
 import org.bgee.pipeline.gene.ParseOrthoXML;
 import org.bgee.pipeline.ontologycommon.InsertCIO;
@@ -252,6 +257,9 @@ public class CommandRunner {
         case "ParseOrthoXML":
             ParseOrthoXML.main(newArgs);
             break;
+        case "GenerateGeneHomologyIndex":
+            GenerateGeneHomologyIndex.main(newArgs);
+            break;
 
         //---------- Call propagation -----------
         case "InsertGlobalCalls":
@@ -265,9 +273,21 @@ public class CommandRunner {
         case "InsertPropagatedCalls": 
             InsertPropagatedCalls.main(newArgs);
             break;
+        case "InsertMinMaxRanks":
+            InsertMinMaxRanks.main(newArgs);
+            break;
+        case "InsertGlobalCallCounts":
+            InsertGlobalCallCounts.main(newArgs);
+            break;
+        case "InsertRawDataCounts":
+            InsertRawDataCounts.main(newArgs);
+            break;
         case "CorrectTaxonConstraints":
             CorrectTaxonConstraints.main(newArgs);
             break;
+        case "GenerateTopAnatIncidenceMatrices":
+            GenerateTopAnatIncidenceMatrices.main(newArgs);
+            break;
  
         //---------- Download file generation -----------
         case "GenerateDiffExprFile":
@@ -37,6 +37,7 @@ import org.bgee.pipeline.annotations.SimilarityAnnotationUtils.ParseQualifier;
 import org.bgee.pipeline.annotations.SimilarityAnnotationUtils.RawAnnotationBean;
 import org.bgee.pipeline.annotations.SimilarityAnnotationUtils.SummaryAnnotationBean;
 import org.bgee.pipeline.ontologycommon.CIOWrapper;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.bgee.pipeline.uberon.TaxonConstraints;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
@@ -1313,6 +1314,12 @@ public class SimilarityAnnotation {
      * A {@code OWLGraphWrapper} storing the taxonomy ontology.
      */
     private final OWLGraphWrapper taxOntWrapper;
+    /**
+     * An {@code OntologySnapshot} of the taxonomy ontology, providing the precomputed
+     * closures of the taxonomy, {@code null} if no up-to-date snapshot is available,
+     * in which case they are retrieved from {@link #taxOntWrapper}.
+     */
+    private OntologySnapshot taxOntSnapshot;
     /**
      * A {@code OWLGraphWrapper} storing the HOM ontology.
      */
@@ -1362,6 +1369,7 @@ public class SimilarityAnnotation {
                 new OWLGraphWrapper(OntologyUtils.loadOntology(homOntFile)), 
                 new OWLGraphWrapper(OntologyUtils.loadOntology(ecoOntFile)), 
                 new OWLGraphWrapper(OntologyUtils.loadOntology(confOntFile)));
+        this.taxOntSnapshot = OntologySnapshot.loadIfUpToDate(taxOntFile);
     }
     /**
      * Constuctor receiving directly the objects needed.
@@ -1395,10 +1403,52 @@ public class SimilarityAnnotation {
         this.taxonConstraints = taxonConstraints;
         this.uberonOntWrapper = uberonOntWrapper;
         this.taxOntWrapper = taxOntWrapper;
+        this.taxOntSnapshot = null;
         this.ecoOntWrapper = ecoOntWrapper;
         this.homOntWrapper = homOntWrapper;
         this.cioWrapper = new CIOWrapper(confOntWrapper);
     }
+
+    /**
+     * Retrieves the ancestors through is_a relations of a taxon, from {@link #taxOntSnapshot}
+     * if available, otherwise from {@link #taxOntWrapper}.
+     *
+     * @param taxCls    An {@code OWLClass} that is a taxon of {@link #taxOntWrapper}.
+     * @return          A {@code Set} of {@code Integer}s that are the NCBI IDs
+     *                  of the ancestors of {@code taxCls}.
+     */
+    private Set<Integer> getTaxonAncestorIds(OWLClass taxCls) {
+        log.entry(taxCls);
+        if (this.taxOntSnapshot != null) {
+            return log.traceExit(this.taxOntSnapshot.getAncestorIdsThroughIsA(
+                    this.taxOntWrapper.getIdentifier(taxCls)).stream()
+                    .map(id -> OntologyUtils.getTaxNcbiId(id))
+                    .collect(Collectors.toSet()));
+        }
+        return log.traceExit(this.taxOntWrapper.getAncestorsThroughIsA(taxCls).stream()
+                .map(t -> OntologyUtils.getTaxNcbiId(this.taxOntWrapper.getIdentifier(t)))
+                .collect(Collectors.toSet()));
+    }
+    /**
+     * Retrieves the descendants through is_a relations of a taxon, from {@link #taxOntSnapshot}
+     * if available, otherwise from {@link #taxOntWrapper}.
+     *
+     * @param taxCls    An {@code OWLClass} that is a taxon of {@link #taxOntWrapper}.
+     * @return          A {@code Set} of {@code Integer}s that are the NCBI IDs
+     *                  of the descendants of {@code taxCls}.
+     */
+    private Set<Integer> getTaxonDescendantIds(OWLClass taxCls) {
+        log.entry(taxCls);
+        if (this.taxOntSnapshot != null) {
+            return log.traceExit(this.taxOntSnapshot.getDescendantIdsThroughIsA(
+                    this.taxOntWrapper.getIdentifier(taxCls)).stream()
+                    .map(id -> OntologyUtils.getTaxNcbiId(id))
+                    .collect(Collectors.toSet()));
+        }
+        return log.traceExit(this.taxOntWrapper.getDescendantsThroughIsA(taxCls).stream()
+                .map(t -> OntologyUtils.getTaxNcbiId(this.taxOntWrapper.getIdentifier(t)))
+                .collect(Collectors.toSet()));
+    }
     
     /**
      * Generate the similarity annotation release files from the annotations 
@@ -2262,10 +2312,7 @@ public class SimilarityAnnotation {
                 OWLClass taxCls = taxOntWrapper.getOWLClassByIdentifier(
                         OntologyUtils.getTaxOntologyId(negativeTaxonId), true);
                 if (taxCls != null) {
-                    for (OWLClass parentTaxon: taxOntWrapper.getAncestorsThroughIsA(taxCls)) {
-                        negativeParentTaxa.add(OntologyUtils.getTaxNcbiId(
-                                taxOntWrapper.getIdentifier(parentTaxon)));
-                    }
+                    negativeParentTaxa.addAll(this.getTaxonAncestorIds(taxCls));
                 }
             }
             //now, retain taxa of positive annotations, parent of taxa used in neg. annotations.
@@ -2364,10 +2411,7 @@ public class SimilarityAnnotation {
                 OWLClass taxCls = taxOntWrapper.getOWLClassByIdentifier(
                         OntologyUtils.getTaxOntologyId(negativeTaxonId), true);
                 
-                Set<Integer> negativeSubTaxa = taxOntWrapper.getDescendantsThroughIsA(taxCls)
-                        .stream()
-                        .map(t -> OntologyUtils.getTaxNcbiId(taxOntWrapper.getIdentifier(t)))
-                        .collect(Collectors.toSet());
+                Set<Integer> negativeSubTaxa = this.getTaxonDescendantIds(taxCls);
                 
                 //if !warnIfUnique, check whether we have no positive annotation in any sub-taxon.
                 //if warnIfUnique == true, generates a warning only if a NOT annotation 
@@ -3678,12 +3722,9 @@ public class SimilarityAnnotation {
                         annot.getNcbiTaxonId());
                 Set<Integer> selfAndAncestorsIds = new HashSet<>();
                 selfAndAncestorsIds.add(annot.getNcbiTaxonId());
-                for (OWLClass ancestor: taxOntWrapper.getAncestorsThroughIsA(
+                selfAndAncestorsIds.addAll(this.getTaxonAncestorIds(
                         taxOntWrapper.getOWLClassByIdentifierNoAltIds(
-                                OntologyUtils.getTaxOntologyId(annot.getNcbiTaxonId())))) {
-                    selfAndAncestorsIds.add(OntologyUtils.getTaxNcbiId(
-                            taxOntWrapper.getIdentifier(ancestor)));
-                }
+                                OntologyUtils.getTaxOntologyId(annot.getNcbiTaxonId()))));
                 log.trace("Generating mapping for taxon {}: {}", annot.getNcbiTaxonId(), 
                         selfAndAncestorsIds);
                 taxToSelfAndAncestors.put(annot.getNcbiTaxonId(), selfAndAncestorsIds);
@@ -0,0 +1,339 @@
+package org.bgee.pipeline.expression;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.DAO;
+import org.bgee.model.dao.api.DAOResultSet;
+import org.bgee.model.dao.api.PrefetchingDAOResultSet;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO.ConditionRankInfoTO;
+import org.bgee.model.dao.api.expressiondata.call.ConditionDAO.ConditionTO;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.DAOConditionFilter2;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.AttributeInfo;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.GlobalExpressionCallTO;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO.OrderingAttributeInfo;
+import org.bgee.model.dao.api.gene.GeneDAO.GeneBioTypeTO;
+import org.bgee.model.dao.api.gene.GeneDAO.GeneTO;
+import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO;
+import org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTO;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarConditionDAO;
+import org.bgee.model.dao.columnar.expressiondata.call.ColumnarGlobalExpressionCallDAO;
+import org.bgee.model.dao.columnar.file.ColumnType;
+import org.bgee.model.dao.columnar.file.ColumnarFileWriter;
+import org.bgee.model.dao.columnar.gene.ColumnarGeneDAO;
+import org.bgee.model.dao.columnar.ontologycommon.ColumnarRelationDAO;
+import org.bgee.model.dao.columnar.species.ColumnarSpeciesDAO;
+import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
+import org.bgee.pipeline.CommandRunner;
+import org.bgee.pipeline.MySQLDAOUser;
+
+/**
+ * Exports the data of a Bgee release from the MySQL database to the columnar files
+ * read by the {@link ColumnarDAOManager}, allowing to serve the read-only queries
+ * of the webapp without querying the database. Files not specific to a species (species,
+ * taxon relations, gene biotypes) are written at the root of the output directory,
+ * other files (genes, anat. entity and stage relations, global conditions,
+ * condition max ranks, global expression calls) are written in a sub-directory
+ * for each species.
+ * <p>
+ * The release of the database is written last, in the file
+ * {@link ColumnarDAOManager#RELEASE_FILE_NAME}, the columnar files being used only
+ * with the same release of the database. The output directory can then be provided
+ * to the webapp through the property {@link ColumnarDAOManager#DIRECTORY_KEY}
+ * of the DAO parameters.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class ExportColumnarFiles extends MySQLDAOUser {
+    private final static Logger log = LogManager.getLogger(ExportColumnarFiles.class.getName());
+    /**
+     * An {@code int} that is the number of global expression calls retrieved per batch
+     * in a background thread, while the previous calls are written.
+     */
+    private final static int CALL_PREFETCH_BATCH_SIZE = 10000;
+
+    /**
+     * Main method to trigger the export of the columnar files. Parameters that must be provided
+     * in order in {@code args} are:
+     * <ol>
+     * <li>a list of NCBI species IDs (for instance, {@code 9606} for human) to export
+     * the species-specific files for, separated by the {@code String}
+     * {@link CommandRunner#LIST_SEPARATOR}. If empty (see {@link CommandRunner#EMPTY_LIST}),
+     * all species in database are considered.
+     * <li>the path to the directory where to write the files.
+     * </ol>
+     *
+     * @param args          An {@code Array} of {@code String}s containing the requested parameters.
+     * @throws IOException  If an error occurred while writing the files.
+     */
+    public static void main(String[] args) throws IOException {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 2;
+        if (args.length != expectedArgLength) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " arguments, " + args.length
+                    + " provided."));
+        }
+        ExportColumnarFiles export = new ExportColumnarFiles();
+        try {
+            export.exportFiles(CommandRunner.parseListArgumentAsInt(args[0]), Paths.get(args[1]));
+        } finally {
+            export.getManager().releaseResources();
+        }
+
+        log.traceExit();
+    }
+
+    /**
+     * Default constructor using the default {@code MySQLDAOManager}.
+     */
+    public ExportColumnarFiles() {
+        this(null);
+    }
+    /**
+     * @param manager   The {@code MySQLDAOManager} to use.
+     */
+    public ExportColumnarFiles(MySQLDAOManager manager) {
+        super(manager);
+    }
+
+    /**
+     * Exports the columnar files for the requested species.
+     *
+     * @param speciesIds    A {@code Collection} of {@code Integer}s that are the IDs
+     *                      of the species to export the species-specific files for.
+     *                      If {@code null} or empty, all species in database are considered.
+     * @param outputDir     A {@code Path} that is the directory where to write the files.
+     * @throws IOException  If an error occurred while writing the files.
+     * @throws IllegalArgumentException If some requested species are not found in database.
+     */
+    public void exportFiles(Collection<Integer> speciesIds, Path outputDir)
+            throws IOException, IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesIds, outputDir);
+
+        List<SpeciesTO> speciesTOs = this.getSpeciesDAO().getAllSpecies(null).stream()
+                .sorted(Comparator.comparing(SpeciesTO::getId))
+                .collect(Collectors.toList());
+        Set<Integer> speciesIdsToUse = speciesTOs.stream().map(SpeciesTO::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (speciesIds != null && !speciesIds.isEmpty()) {
+            Set<Integer> unrecognized = new HashSet<>(speciesIds);
+            unrecognized.removeAll(speciesIdsToUse);
+            if (!unrecognized.isEmpty()) {
+                throw log.throwing(new IllegalArgumentException("Unrecognized species IDs: "
+                        + unrecognized));
+            }
+            speciesIdsToUse.retainAll(speciesIds);
+        }
+
+        log.info("Exporting files not specific to a species...");
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, null, ColumnarSpeciesDAO.TABLE_NAME),
+                ColumnarSpeciesDAO.getColumnTypes(), ColumnarSpeciesDAO.SORT_COLUMNS)) {
+            for (SpeciesTO speciesTO: speciesTOs) {
+                writer.addRow(ColumnarSpeciesDAO.toRow(speciesTO));
+            }
+            writer.finish();
+        }
+        this.writeRelations(ColumnarDAOManager.getFilePath(outputDir, null,
+                ColumnarRelationDAO.TAXON_RELATION_TABLE_NAME), ColumnType.INT,
+                this.getRelationDAO().getTaxonRelations(null, null, null, null, false, null)
+                .getAllTOs());
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, null, ColumnarGeneDAO.BIO_TYPE_TABLE_NAME),
+                ColumnarGeneDAO.getBioTypeColumnTypes(), ColumnarGeneDAO.BIO_TYPE_SORT_COLUMNS)) {
+            List<GeneBioTypeTO> bioTypeTOs = this.getGeneDAO().getGeneBioTypes().stream()
+                    .sorted(Comparator.comparing(GeneBioTypeTO::getId))
+                    .collect(Collectors.toList());
+            for (GeneBioTypeTO bioTypeTO: bioTypeTOs) {
+                writer.addRow(ColumnarGeneDAO.toRow(bioTypeTO));
+            }
+            writer.finish();
+        }
+
+        for (int speciesId: speciesIdsToUse) {
+            log.info("Exporting files for species {}...", speciesId);
+            this.exportSpeciesFiles(speciesId, outputDir);
+            log.info("Done exporting files for species {}.", speciesId);
+        }
+        //Written last, so that the files are not used if the export was interrupted
+        ColumnarDAOManager.writeRelease(this.getManager(), outputDir);
+
+        log.traceExit();
+    }
+
+    private void exportSpeciesFiles(int speciesId, Path outputDir) throws IOException {
+        log.traceEntry("{}, {}", speciesId, outputDir);
+
+        //Genes
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, speciesId, ColumnarGeneDAO.TABLE_NAME),
+                ColumnarGeneDAO.getColumnTypes(), ColumnarGeneDAO.SORT_COLUMNS)) {
+            List<GeneTO> geneTOs = this.getGeneDAO()
+                    .getGenesBySpeciesIds(Collections.singleton(speciesId)).stream()
+                    .sorted(Comparator.comparing(GeneTO::getId))
+                    .collect(Collectors.toList());
+            for (GeneTO geneTO: geneTOs) {
+                writer.addRow(ColumnarGeneDAO.toRow(geneTO));
+            }
+            writer.finish();
+        }
+
+        //Anat. entity and dev. stage relations valid in the species
+        this.writeRelations(ColumnarDAOManager.getFilePath(outputDir, speciesId,
+                ColumnarRelationDAO.ANAT_ENTITY_RELATION_TABLE_NAME), ColumnType.STRING,
+                this.getRelationDAO().getAnatEntityRelations(Collections.singleton(speciesId),
+                        null, null, null, null, null, null, null).getAllTOs());
+        this.writeRelations(ColumnarDAOManager.getFilePath(outputDir, speciesId,
+                ColumnarRelationDAO.STAGE_RELATION_TABLE_NAME), ColumnType.STRING,
+                this.getRelationDAO().getStageRelations(Collections.singleton(speciesId),
+                        null, null, null, null, null, null).getAllTOs());
+
+        //Global conditions, with the condition parameters they were observed for
+        Map<ConditionDAO.ConditionParameter, Set<Integer>> observedCondIdsPerParam =
+                new LinkedHashMap<>();
+        for (ConditionDAO.ConditionParameter condParam:
+            EnumSet.allOf(ConditionDAO.ConditionParameter.class)) {
+            observedCondIdsPerParam.put(condParam, this.getConditionDAO().getGlobalConditions(
+                    Collections.singleton(new DAOConditionFilter2(Collections.singleton(speciesId),
+                            null, null, null, null, null, EnumSet.of(condParam), null)),
+                    EnumSet.of(ConditionDAO.Attribute.ID))
+                    .stream().map(ConditionTO::getId).collect(Collectors.toSet()));
+        }
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, speciesId, ColumnarConditionDAO.TABLE_NAME),
+                ColumnarConditionDAO.getColumnTypes(), ColumnarConditionDAO.SORT_COLUMNS)) {
+            List<ConditionTO> condTOs = this.getConditionDAO().getGlobalConditions(
+                    Collections.singleton(new DAOConditionFilter2(Collections.singleton(speciesId),
+                            null, null, null, null, null, null, null)), null)
+                    .stream()
+                    .sorted(Comparator.comparing(ConditionTO::getId))
+                    .collect(Collectors.toList());
+            for (ConditionTO condTO: condTOs) {
+                Set<ConditionDAO.ConditionParameter> observedCondParams =
+                        observedCondIdsPerParam.entrySet().stream()
+                        .filter(e -> e.getValue().contains(condTO.getId()))
+                        .map(e -> e.getKey())
+                        .collect(Collectors.toCollection(
+                                () -> EnumSet.noneOf(ConditionDAO.ConditionParameter.class)));
+                writer.addRow(ColumnarConditionDAO.toRow(condTO, observedCondParams));
+            }
+            writer.finish();
+        }
+
+        //Max ranks for each data type
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, speciesId,
+                        ColumnarConditionDAO.MAX_RANK_TABLE_NAME),
+                ColumnarConditionDAO.getMaxRankColumnTypes(),
+                ColumnarConditionDAO.MAX_RANK_SORT_COLUMNS)) {
+            for (DAODataType dataType: EnumSet.allOf(DAODataType.class)) {
+                ConditionRankInfoTO rankInfoTO = this.getConditionDAO().getMaxRanks(
+                        Collections.singleton(speciesId), EnumSet.of(dataType)).get(speciesId);
+                if (rankInfoTO != null) {
+                    writer.addRow(ColumnarConditionDAO.toRow(dataType, rankInfoTO));
+                }
+            }
+            writer.finish();
+        }
+
+        //Global expression calls, ordered by gene and condition, with all their attributes
+        LinkedHashMap<OrderingAttributeInfo, DAO.Direction> orderingAttrs = new LinkedHashMap<>();
+        orderingAttrs.put(new OrderingAttributeInfo(
+                GlobalExpressionCallDAO.OrderingAttribute.BGEE_GENE_ID), DAO.Direction.ASC);
+        orderingAttrs.put(new OrderingAttributeInfo(
+                GlobalExpressionCallDAO.OrderingAttribute.GLOBAL_CONDITION_ID), DAO.Direction.ASC);
+        int callCount = 0;
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                ColumnarDAOManager.getFilePath(outputDir, speciesId,
+                        ColumnarGlobalExpressionCallDAO.TABLE_NAME),
+                ColumnarGlobalExpressionCallDAO.getColumnTypes(),
+                ColumnarGlobalExpressionCallDAO.SORT_COLUMNS);
+             //the calls are retrieved in a background thread, with its own DAOManager,
+             //while the previous ones are written
+             DAOResultSet<GlobalExpressionCallTO> rs = new PrefetchingDAOResultSet<>(
+                this.getManager(), manager -> manager.getGlobalExpressionCallDAO()
+                .getGlobalExpressionCalls2(Collections.singleton(new DAOCallFilter(
+                        Collections.singleton(speciesId), null, null, null, null)),
+                        getAllCallAttributes(), orderingAttrs, null, null),
+                CALL_PREFETCH_BATCH_SIZE)) {
+            while (rs.next()) {
+                GlobalExpressionCallTO callTO = rs.getTO();
+                writer.addRow(ColumnarGlobalExpressionCallDAO.toRow(callTO));
+                callCount++;
+                if (log.isDebugEnabled() && callCount % 1000000 == 0) {
+                    log.debug("{} calls exported for species {}", callCount, speciesId);
+                }
+            }
+            writer.finish();
+        }
+        log.info("{} calls exported for species {}", callCount, speciesId);
+
+        log.traceExit();
+    }
+
+    private void writeRelations(Path file, ColumnType idType,
+            Collection<? extends RelationTO<?>> relTOs) throws IOException {
+        log.traceEntry("{}, {}, {}", file, idType, relTOs);
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(file,
+                ColumnarRelationDAO.getColumnTypes(idType), ColumnarRelationDAO.SORT_COLUMNS)) {
+            for (RelationTO<?> relTO: relTOs) {
+                writer.addRow(ColumnarRelationDAO.toRow(relTO));
+            }
+            writer.finish();
+        }
+        log.traceExit();
+    }
+
+    /**
+     * @return  A {@code List} of {@code AttributeInfo}s allowing to retrieve all the information
+     *          stored in the file {@link ColumnarGlobalExpressionCallDAO#TABLE_NAME}: p-values
+     *          for all combinations of data types, ranks for each data type, and observation counts
+     *          for each data type and each combination of condition parameters.
+     */
+    private static List<AttributeInfo> getAllCallAttributes() {
+        log.traceEntry();
+        List<AttributeInfo> attrs = new ArrayList<>();
+        attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.BGEE_GENE_ID));
+        attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.GLOBAL_CONDITION_ID));
+        for (EnumSet<DAODataType> dataTypes: DAODataType.ALL_COMBINATIONS) {
+            attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.FDR_P_VALUE_COND_INFO,
+                    dataTypes, null));
+            attrs.add(new AttributeInfo(
+                    GlobalExpressionCallDAO.Attribute.FDR_P_VALUE_DESCENDANT_COND_INFO,
+                    dataTypes, null));
+        }
+        attrs.add(new AttributeInfo(GlobalExpressionCallDAO.Attribute.DATA_TYPE_RANK_INFO,
+                EnumSet.allOf(DAODataType.class), null));
+        for (EnumSet<ConditionDAO.Attribute> condParams:
+            ConditionDAO.Attribute.ALL_COND_PARAM_COMBINATIONS) {
+            attrs.add(new AttributeInfo(
+                    GlobalExpressionCallDAO.Attribute.DATA_TYPE_OBSERVATION_COUNT_INFO,
+                    EnumSet.allOf(DAODataType.class), condParams));
+        }
+        return log.traceExit(attrs);
+    }
+}
@@ -0,0 +1,212 @@
+package org.bgee.pipeline.expression;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.ServiceFactory;
+import org.bgee.model.expressiondata.baseelements.DataType;
+import org.bgee.model.expressiondata.baseelements.DecorrelationType;
+import org.bgee.model.expressiondata.baseelements.SummaryCallType.ExpressionSummary;
+import org.bgee.model.expressiondata.baseelements.SummaryQuality;
+import org.bgee.model.expressiondata.call.CallFilter.ExpressionCallFilter;
+import org.bgee.model.species.Species;
+import org.bgee.model.topanat.GeneAnatEntityIncidenceMatrix;
+import org.bgee.model.topanat.TopAnatParams;
+import org.bgee.model.topanat.TopAnatUtils;
+import org.bgee.pipeline.CommandRunner;
+
+/**
+ * Precomputes, for each species, the {@link GeneAnatEntityIncidenceMatrix}s used
+ * by TopAnat analyses without custom background, so that TopAnat does not need
+ * to query the expression calls of the whole species at the first analysis
+ * with a new combination of parameters. A matrix is generated for each requested
+ * summary quality, with and without decorrelation (which determine whether propagated
+ * anat. entities are considered), for expression calls produced from the requested
+ * data types. Matrices are generated without filtering on a developmental stage,
+ * and for each of the dev. stages requested, if any: TopAnat analyses requesting
+ * another dev. stage still query the calls. The Bgee release is stored in each matrix,
+ * so that TopAnat does not use matrices from a previous release. Matrices are written
+ * in the directory used by TopAnat to cache
+ * its background files (see {@code BgeeProperties#getTopAnatResultsWritingDirectory()}).
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class GenerateTopAnatIncidenceMatrices {
+    private final static Logger log = LogManager.getLogger(GenerateTopAnatIncidenceMatrices.class.getName());
+
+    /**
+     * Main method to trigger the generation of the incidence matrices. Parameters that must be provided
+     * in order in {@code args} are:
+     * <ol>
+     * <li>a list of NCBI species IDs (for instance, {@code 9606} for human) to generate
+     * the matrices for, separated by the {@code String} {@link CommandRunner#LIST_SEPARATOR}.
+     * If empty (see {@link CommandRunner#EMPTY_LIST}), all species in database are considered.
+     * <li>the path to the directory where to write the matrices.
+     * <li>a list of {@code DataType}s to consider, separated by the {@code String}
+     * {@link CommandRunner#LIST_SEPARATOR}. If empty (see {@link CommandRunner#EMPTY_LIST}),
+     * all data types are considered.
+     * <li>a list of {@code SummaryQuality}s to generate the matrices for, separated by
+     * the {@code String} {@link CommandRunner#LIST_SEPARATOR}. If empty
+     * (see {@link CommandRunner#EMPTY_LIST}), all summary qualities are considered.
+     * <li>(optional) a list of IDs of developmental stages to also generate the matrices for,
+     * separated by the {@code String} {@link CommandRunner#LIST_SEPARATOR}. If not provided,
+     * or empty (see {@link CommandRunner#EMPTY_LIST}), matrices are only generated
+     * without filtering on a dev. stage.
+     * </ol>
+     *
+     * @param args          An {@code Array} of {@code String}s containing the requested parameters.
+     * @throws IOException  If an error occurred while writing the matrices.
+     */
+    public static void main(String[] args) throws IOException {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 4;
+        if (args.length != expectedArgLength && args.length != expectedArgLength + 1) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " or " + (expectedArgLength + 1)
+                    + " arguments, " + args.length + " provided."));
+        }
+        List<Integer> speciesIds = CommandRunner.parseListArgumentAsInt(args[0]);
+        Path outputDir = Paths.get(args[1]);
+        Set<DataType> dataTypes = DataType.convertToDataTypeSet(
+                CommandRunner.parseListArgument(args[2]));
+        Set<SummaryQuality> qualities = CommandRunner.parseListArgument(args[3]).stream()
+                .map(s -> SummaryQuality.valueOf(s.toUpperCase()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SummaryQuality.class)));
+        List<String> devStageIds = args.length > expectedArgLength?
+                CommandRunner.parseListArgument(args[4]): null;
+
+        GenerateTopAnatIncidenceMatrices generator = new GenerateTopAnatIncidenceMatrices(
+                ServiceFactory::new);
+        generator.generateMatrices(speciesIds, outputDir,
+                dataTypes.isEmpty()? null: dataTypes,
+                qualities.isEmpty()? EnumSet.allOf(SummaryQuality.class): qualities,
+                devStageIds);
+
+        log.traceExit();
+    }
+
+    /**
+     * A {@code Supplier} of {@code ServiceFactory}s to be able to provide one to each thread.
+     */
+    private final Supplier<ServiceFactory> serviceFactorySupplier;
+
+    /**
+     * @param serviceFactorySupplier    A {@code Supplier} of {@code ServiceFactory}s
+     *                                  to be able to provide one to each thread.
+     */
+    public GenerateTopAnatIncidenceMatrices(Supplier<ServiceFactory> serviceFactorySupplier) {
+        this.serviceFactorySupplier = serviceFactorySupplier;
+    }
+
+    /**
+     * Generates the incidence matrices for the requested species, in parallel.
+     *
+     * @param speciesIds    A {@code Collection} of {@code Integer}s that are the IDs
+     *                      of the species to generate the matrices for. If {@code null}
+     *                      or empty, all species in database are considered.
+     * @param outputDir     A {@code Path} that is the directory where to write the matrices.
+     * @param dataTypes     A {@code Set} of {@code DataType}s to consider. If {@code null},
+     *                      all data types are considered.
+     * @param qualities     A {@code Set} of {@code SummaryQuality}s to generate the matrices for.
+     * @param devStageIds   A {@code Collection} of {@code String}s that are the IDs of
+     *                      the dev. stages to also generate the matrices for. Matrices
+     *                      without filtering on a dev. stage are always generated.
+     *                      Can be {@code null} or empty.
+     * @throws IOException  If an error occurred while writing the matrices.
+     */
+    public void generateMatrices(Collection<Integer> speciesIds, Path outputDir,
+            Set<DataType> dataTypes, Set<SummaryQuality> qualities,
+            Collection<String> devStageIds) throws IOException {
+        log.traceEntry("{}, {}, {}, {}, {}", speciesIds, outputDir, dataTypes, qualities,
+                devStageIds);
+        //null stands for the matrices without filtering on a dev. stage
+        List<String> devStageIdsToUse = new ArrayList<>();
+        devStageIdsToUse.add(null);
+        if (devStageIds != null) {
+            devStageIds.stream().distinct().forEach(devStageIdsToUse::add);
+        }
+
+        Set<Integer> speciesIdsToUse;
+        try (ServiceFactory serviceFactory = this.serviceFactorySupplier.get()) {
+            speciesIdsToUse = serviceFactory.getSpeciesService().loadSpeciesByIds(
+                    speciesIds, false)
+                    .stream().map(Species::getId).collect(Collectors.toSet());
+        }
+        if (speciesIds != null && !speciesIds.isEmpty() &&
+                !speciesIdsToUse.containsAll(speciesIds)) {
+            Set<Integer> unrecognized = new HashSet<>(speciesIds);
+            unrecognized.removeAll(speciesIdsToUse);
+            throw log.throwing(new IllegalArgumentException("Unrecognized species IDs: "
+                    + unrecognized));
+        }
+
+        try {
+            speciesIdsToUse.parallelStream().forEach(speciesId -> {
+                //one ServiceFactory per thread
+                try (ServiceFactory serviceFactory = this.serviceFactorySupplier.get()) {
+                    for (String devStageId: devStageIdsToUse) {
+                        for (SummaryQuality quality: qualities) {
+                            //Matrices with observed data only (decorrelation requested),
+                            //and with propagated data (no decorrelation)
+                            for (DecorrelationType decorrelationType: Arrays.asList(
+                                    DecorrelationType.ELIM, DecorrelationType.NONE)) {
+                                this.generateMatrix(serviceFactory, speciesId, outputDir,
+                                        dataTypes, devStageId, quality, decorrelationType);
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw log.throwing(e.getCause());
+        }
+        log.traceExit();
+    }
+
+    private void generateMatrix(ServiceFactory serviceFactory, int speciesId, Path outputDir,
+            Set<DataType> dataTypes, String devStageId, SummaryQuality quality,
+            DecorrelationType decorrelationType) throws IOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}", serviceFactory, speciesId, outputDir,
+                dataTypes, devStageId, quality, decorrelationType);
+        log.info("Generating incidence matrix for species {}, data types {}, dev. stage {}, "
+                + "quality {}, decorrelation {}...", speciesId, dataTypes, devStageId, quality,
+                decorrelationType);
+
+        //We use the same CallFilter as TopAnat for an analysis without custom background
+        ExpressionCallFilter callFilter = (ExpressionCallFilter)
+                TopAnatParams.convertRawParametersToCallFilter(speciesId, null, devStageId,
+                        ExpressionSummary.EXPRESSED, quality, dataTypes, decorrelationType);
+        Map<String, Set<String>> condIdsPerGeneId = new HashMap<>();
+        serviceFactory.getCallService().loadExpressionCalls(callFilter,
+                TopAnatUtils.CALL_SERVICE_ATTRIBUTES, null)
+        .forEach(call -> condIdsPerGeneId.computeIfAbsent(call.getGene().getGeneId(),
+                k -> new HashSet<>())
+                .add(TopAnatUtils.COND_ID_GENERATOR.apply(call.getCondition())));
+
+        Path file = outputDir.resolve(GeneAnatEntityIncidenceMatrix.getFileName(speciesId,
+                ExpressionSummary.EXPRESSED, devStageId, dataTypes, quality, decorrelationType));
+        GeneAnatEntityIncidenceMatrix.write(file,
+                GeneAnatEntityIncidenceMatrix.getRelease(serviceFactory.getBgeeProperties()),
+                condIdsPerGeneId);
+        log.traceExit();
+    }
+}
@@ -0,0 +1,218 @@
+package org.bgee.pipeline.expression;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.call.CallObservedDataDAOFilter2;
+import org.bgee.model.dao.api.expressiondata.call.DAOCallFilter;
+import org.bgee.model.dao.api.expressiondata.call.GlobalExpressionCallDAO;
+import org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTO;
+import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
+import org.bgee.model.expressiondata.baseelements.ConditionParameter;
+import org.bgee.model.expressiondata.baseelements.SummaryCallType.ExpressionSummary;
+import org.bgee.model.expressiondata.baseelements.SummaryQuality;
+import org.bgee.model.expressiondata.call.CallServiceParent;
+import org.bgee.model.expressiondata.call.CallServiceUtils;
+import org.bgee.model.expressiondata.call.CallFilter.ExpressionCallFilter2;
+import org.bgee.model.gene.GeneFilter;
+import org.bgee.pipeline.CommandRunner;
+import org.bgee.pipeline.MySQLDAOUser;
+
+/**
+ * Precomputes the counts of global expression calls per global condition for the filters
+ * most frequently used, for instance by the web interface, so that the count of results
+ * and the post-filters of queries not targeting specific genes are retrieved without
+ * scanning the global expression calls (see
+ * {@link GlobalExpressionCallDAO#insertPrecomputedGlobalExpressionCallsCounts(DAOCallFilter)}).
+ * Counts are computed for each combination of requested condition parameters,
+ * of summary call types (expressed, not expressed, or both) and of summary qualities,
+ * for all data types. The counts for all calls, with no filtering, are also computed.
+ * <p>
+ * This class must be used after the insertion of the global expression calls,
+ * see {@link InsertPropagatedCalls}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class InsertGlobalCallCounts extends MySQLDAOUser {
+    private final static Logger log = LogManager.getLogger(InsertGlobalCallCounts.class.getName());
+
+    /**
+     * Main method to trigger the insertion of the counts of global expression calls.
+     * Parameters that must be provided in order in {@code args} are:
+     * <ol>
+     * <li>a list of combinations of condition parameters to compute the counts for,
+     * separated by the {@code String} {@link CommandRunner#LIST_SEPARATOR}, the condition
+     * parameters in a combination being separated by the {@code String}
+     * {@link CommandRunner#VALUE_SEPARATOR}, and identified by the value returned
+     * by {@link ConditionParameter#getParameterName()} (for instance,
+     * {@code anat_entity,anat_entity--dev_stage--sex--strain}). If empty (see
+     * {@link CommandRunner#EMPTY_LIST}), the counts are computed for the combination
+     * of all condition parameters, and for the anatomical entity parameter alone.
+     * </ol>
+     *
+     * @param args  An {@code Array} of {@code String}s containing the requested parameters.
+     */
+    public static void main(String[] args) {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 1;
+        if (args.length != expectedArgLength) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " arguments, " + args.length
+                    + " provided."));
+        }
+        InsertGlobalCallCounts insert = new InsertGlobalCallCounts();
+        try {
+            insert.insertCounts(getCondParamCombinationsFromArg(
+                    CommandRunner.parseListArgument(args[0])));
+        } finally {
+            insert.getManager().releaseResources();
+        }
+
+        log.traceExit();
+    }
+    private static Set<Set<ConditionParameter<?, ?>>> getCondParamCombinationsFromArg(
+            List<String> arg) {
+        log.traceEntry("{}", arg);
+        Map<String, ConditionParameter<?, ?>> paramsByName = ConditionParameter.allOf().stream()
+                .collect(Collectors.toMap(p -> p.getParameterName(), p -> p));
+        Set<Set<ConditionParameter<?, ?>>> combinations = new LinkedHashSet<>();
+        for (String combination: arg) {
+            Set<ConditionParameter<?, ?>> condParams = new LinkedHashSet<>();
+            for (String name: combination.split(CommandRunner.VALUE_SEPARATOR)) {
+                ConditionParameter<?, ?> condParam = paramsByName.get(name.trim());
+                if (condParam == null) {
+                    throw log.throwing(new IllegalArgumentException(
+                            "Unrecognized condition parameter: " + name));
+                }
+                condParams.add(condParam);
+            }
+            combinations.add(condParams);
+        }
+        return log.traceExit(combinations);
+    }
+
+    /**
+     * A {@code CallServiceUtils} used to generate the filters on observed data and p-values,
+     * the same way as when querying the calls.
+     */
+    private final CallServiceUtils utils;
+
+    /**
+     * Default constructor using the default {@code MySQLDAOManager}.
+     */
+    public InsertGlobalCallCounts() {
+        this(null);
+    }
+    /**
+     * @param manager   The {@code MySQLDAOManager} to use.
+     */
+    public InsertGlobalCallCounts(MySQLDAOManager manager) {
+        this(manager, new CallServiceUtils());
+    }
+    /**
+     * @param manager   The {@code MySQLDAOManager} to use.
+     * @param utils     The {@code CallServiceUtils} used to generate the filters
+     *                  on observed data and p-values.
+     */
+    public InsertGlobalCallCounts(MySQLDAOManager manager, CallServiceUtils utils) {
+        super(manager);
+        if (utils == null) {
+            throw log.throwing(new IllegalArgumentException("A CallServiceUtils must be provided"));
+        }
+        this.utils = utils;
+    }
+
+    /**
+     * Computes and inserts the counts of global expression calls per global condition.
+     *
+     * @param condParamCombinations A {@code Collection} of {@code Set}s of
+     *                              {@code ConditionParameter}s, defining the combinations
+     *                              of condition parameters to compute the counts for.
+     *                              If {@code null} or empty, the counts are computed for
+     *                              the combination of all condition parameters,
+     *                              and for the anatomical entity parameter alone.
+     * @return                      An {@code int} that is the number of counts inserted.
+     * @throws IllegalStateException    If no species is found in database.
+     */
+    public int insertCounts(Collection<Set<ConditionParameter<?, ?>>> condParamCombinations)
+            throws IllegalStateException {
+        log.traceEntry("{}", condParamCombinations);
+
+        Set<Set<ConditionParameter<?, ?>>> combinations = condParamCombinations == null ||
+                condParamCombinations.isEmpty()?
+                new LinkedHashSet<>(Arrays.asList(
+                        Collections.unmodifiableSet(ConditionParameter.allOf()),
+                        Collections.<ConditionParameter<?, ?>>singleton(
+                                ConditionParameter.ANAT_ENTITY_CELL_TYPE))):
+                new LinkedHashSet<>(condParamCombinations);
+        //The filters on observed data and p-values do not depend on the species,
+        //but a GeneFilter is mandatory to create a non-empty ExpressionCallFilter2
+        int speciesId = this.getSpeciesDAO().getAllSpecies(null).stream()
+                .map(SpeciesTO::getId)
+                .min(Integer::compare)
+                .orElseThrow(() -> log.throwing(new IllegalStateException(
+                        "No species found in database")));
+
+        Set<DAOCallFilter> callFilters = new LinkedHashSet<>();
+        //Counts for all calls, used notably when the filter is empty
+        callFilters.add(new DAOCallFilter(null, null, null, null, null));
+        for (Set<ConditionParameter<?, ?>> combination: combinations) {
+            for (Set<ExpressionSummary> callTypes: Arrays.asList(
+                    EnumSet.of(ExpressionSummary.EXPRESSED),
+                    EnumSet.of(ExpressionSummary.NOT_EXPRESSED),
+                    EnumSet.allOf(ExpressionSummary.class))) {
+                for (SummaryQuality quality: SummaryQuality.values()) {
+                    Map<ExpressionSummary, SummaryQuality> callTypeQualities =
+                            new EnumMap<>(ExpressionSummary.class);
+                    callTypes.forEach(c -> callTypeQualities.put(c, quality));
+                    callFilters.add(this.generateDAOCallFilter(new ExpressionCallFilter2(
+                            callTypeQualities, new GeneFilter(speciesId), null, null,
+                            combination, null, null)));
+                }
+            }
+        }
+
+        GlobalExpressionCallDAO dao = this.getManager().getGlobalExpressionCallDAO();
+        int countInserted = 0;
+        for (DAOCallFilter callFilter: callFilters) {
+            log.info("Computing counts for filter {}", callFilter);
+            int inserted = dao.insertPrecomputedGlobalExpressionCallsCounts(callFilter);
+            log.info("{} counts inserted", inserted);
+            countInserted += inserted;
+        }
+        return log.traceExit(countInserted);
+    }
+
+    /**
+     * Generates the {@code DAOCallFilter} defining the filters on observed data and p-values
+     * used when querying the calls for {@code filter}, with no filtering on species,
+     * genes and conditions.
+     *
+     * @param filter    An {@code ExpressionCallFilter2} to generate the {@code DAOCallFilter} for.
+     * @return          The generated {@code DAOCallFilter}.
+     */
+    private DAOCallFilter generateDAOCallFilter(ExpressionCallFilter2 filter) {
+        log.traceEntry("{}", filter);
+        CallObservedDataDAOFilter2 obsDataFilter = this.utils.convertCallObservedDataToDAO(filter);
+        return log.traceExit(new DAOCallFilter(null, null, null,
+                obsDataFilter == null? Set.of(): Set.of(obsDataFilter),
+                this.utils.generateExprQualDAOPValFilters(filter,
+                        CallServiceParent.PRESENT_LOW_LESS_THAN_OR_EQUALS_TO,
+                        CallServiceParent.PRESENT_HIGH_LESS_THAN_OR_EQUALS_TO,
+                        CallServiceParent.ABSENT_LOW_GREATER_THAN,
+                        CallServiceParent.ABSENT_HIGH_GREATER_THAN)));
+    }
+}
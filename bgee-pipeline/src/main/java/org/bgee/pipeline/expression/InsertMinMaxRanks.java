@@ -0,0 +1,168 @@
+package org.bgee.pipeline.expression;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.ServiceFactory;
+import org.bgee.model.expressiondata.call.CallService;
+import org.bgee.model.species.Species;
+import org.bgee.pipeline.CommandRunner;
+
+/**
+ * Precomputes the min. and max ranks of genes and of anatomical entities, for each species
+ * and for the requested combinations of condition parameters, over all data types
+ * (see {@link CallService#insertPrecomputedMinMaxRanks(int, Collection)}). These ranks
+ * are used to compute qualitative expression levels, notably on the multi-gene
+ * comparison pages, without aggregating the global expression calls for each query.
+ * <p>
+ * This class must be used after the insertion of the global expression calls,
+ * see {@link InsertPropagatedCalls}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class InsertMinMaxRanks {
+    private final static Logger log = LogManager.getLogger(InsertMinMaxRanks.class.getName());
+
+    /**
+     * Main method to trigger the insertion of the min. and max ranks.
+     * Parameters that must be provided in order in {@code args} are:
+     * <ol>
+     * <li>a list of IDs of the species to compute the ranks for, separated by the {@code String}
+     * {@link CommandRunner#LIST_SEPARATOR}. If empty (see {@link CommandRunner#EMPTY_LIST}),
+     * all species in database are considered.
+     * <li>a list of combinations of condition parameters to compute the ranks for,
+     * separated by the {@code String} {@link CommandRunner#LIST_SEPARATOR}, the condition
+     * parameters in a combination being separated by the {@code String}
+     * {@link CommandRunner#VALUE_SEPARATOR}, and identified by the value returned
+     * by {@link CallService.Attribute#getCondParamName()} (for instance,
+     * {@code anat_entity--cell_type,anat_entity--dev_stage--cell_type--sex--strain}).
+     * If empty, the ranks are computed for the combination of all condition parameters,
+     * and for the combination of the anatomical entity and cell type parameters.
+     * </ol>
+     *
+     * @param args  An {@code Array} of {@code String}s containing the requested parameters.
+     */
+    public static void main(String[] args) {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 2;
+        if (args.length != expectedArgLength) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " arguments, " + args.length
+                    + " provided."));
+        }
+        InsertMinMaxRanks insert = new InsertMinMaxRanks(ServiceFactory::new);
+        insert.insertMinMaxRanks(CommandRunner.parseListArgumentAsInt(args[0]),
+                getCondParamCombinationsFromArg(CommandRunner.parseListArgument(args[1])));
+
+        log.traceExit();
+    }
+    private static Set<Set<CallService.Attribute>> getCondParamCombinationsFromArg(
+            List<String> arg) {
+        log.traceEntry("{}", arg);
+        Map<String, CallService.Attribute> paramsByName =
+                CallService.Attribute.getAllConditionParameters().stream()
+                .collect(Collectors.toMap(p -> p.getCondParamName(), p -> p));
+        Set<Set<CallService.Attribute>> combinations = new LinkedHashSet<>();
+        for (String combination: arg) {
+            Set<CallService.Attribute> condParams = EnumSet.noneOf(CallService.Attribute.class);
+            for (String name: combination.split(CommandRunner.VALUE_SEPARATOR)) {
+                CallService.Attribute condParam = paramsByName.get(name.trim());
+                if (condParam == null) {
+                    throw log.throwing(new IllegalArgumentException(
+                            "Unrecognized condition parameter: " + name));
+                }
+                condParams.add(condParam);
+            }
+            combinations.add(condParams);
+        }
+        return log.traceExit(combinations);
+    }
+
+    /**
+     * A {@code Supplier} of {@code ServiceFactory}s used to obtain the {@code CallService}
+     * computing the ranks.
+     */
+    private final Supplier<ServiceFactory> serviceFactorySupplier;
+
+    /**
+     * @param serviceFactorySupplier    A {@code Supplier} of {@code ServiceFactory}s
+     *                                  used to obtain the {@code CallService}
+     *                                  computing the ranks.
+     */
+    public InsertMinMaxRanks(Supplier<ServiceFactory> serviceFactorySupplier) {
+        if (serviceFactorySupplier == null) {
+            throw log.throwing(new IllegalArgumentException(
+                    "A Supplier of ServiceFactory must be provided"));
+        }
+        this.serviceFactorySupplier = serviceFactorySupplier;
+    }
+
+    /**
+     * Computes and inserts the min. and max ranks of genes and of anatomical entities.
+     *
+     * @param speciesIds            A {@code Collection} of {@code Integer}s that are the IDs
+     *                              of the species to compute the ranks for. If {@code null}
+     *                              or empty, all species in database are considered.
+     * @param condParamCombinations A {@code Collection} of {@code Set}s of
+     *                              {@code CallService.Attribute}s, defining the combinations
+     *                              of condition parameters to compute the ranks for.
+     *                              If {@code null} or empty, the ranks are computed for
+     *                              the combination of all condition parameters, and for
+     *                              the combination of the anatomical entity and cell type
+     *                              parameters.
+     * @return                      An {@code int} that is the number of ranks inserted.
+     * @throws IllegalArgumentException If some requested species were not found in database.
+     */
+    public int insertMinMaxRanks(Collection<Integer> speciesIds,
+            Collection<Set<CallService.Attribute>> condParamCombinations)
+                    throws IllegalArgumentException {
+        log.traceEntry("{}, {}", speciesIds, condParamCombinations);
+
+        Set<Set<CallService.Attribute>> combinations = condParamCombinations == null ||
+                condParamCombinations.isEmpty()?
+                new LinkedHashSet<>(Arrays.asList(
+                        CallService.Attribute.getAllConditionParameters(),
+                        EnumSet.of(CallService.Attribute.ANAT_ENTITY_ID,
+                                CallService.Attribute.CELL_TYPE_ID))):
+                new LinkedHashSet<>(condParamCombinations);
+
+        int countInserted = 0;
+        try (ServiceFactory serviceFactory = this.serviceFactorySupplier.get()) {
+            Set<Integer> speciesIdsToUse = serviceFactory.getSpeciesService()
+                    .loadSpeciesByIds(speciesIds, false)
+                    .stream().map(Species::getId).collect(Collectors.toSet());
+            if (speciesIds != null && !speciesIds.isEmpty() &&
+                    !speciesIdsToUse.containsAll(speciesIds)) {
+                Set<Integer> unrecognized = new HashSet<>(speciesIds);
+                unrecognized.removeAll(speciesIdsToUse);
+                throw log.throwing(new IllegalArgumentException(
+                        "Some species IDs were not found in database: " + unrecognized));
+            }
+
+            CallService callService = serviceFactory.getCallService();
+            for (int speciesId: speciesIdsToUse) {
+                for (Set<CallService.Attribute> combination: combinations) {
+                    log.info("Computing min./max ranks for species {} and combination {}",
+                            speciesId, combination);
+                    int inserted = callService.insertPrecomputedMinMaxRanks(speciesId, combination);
+                    log.info("{} min./max ranks inserted", inserted);
+                    countInserted += inserted;
+                }
+            }
+        }
+        return log.traceExit(countInserted);
+    }
+}
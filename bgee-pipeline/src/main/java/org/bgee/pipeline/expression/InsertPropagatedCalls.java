@@ -4,10 +4,12 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -18,13 +20,22 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -92,7 +103,7 @@ import com.google.common.base.Objects;
  * 
  * @author  Valentine Rech de Laval
  * @author  Frederic Bastian
- * @version Bgee 15.0, Apr. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 14, Jan. 2017
  */
 public class InsertPropagatedCalls extends CallService {
@@ -107,13 +118,30 @@ public class InsertPropagatedCalls extends CallService {
      */
     public final static int NB_SUBLEVELS_MAX = 1;
     /**
-     * An {@code int} that is the number of genes to load at a same time to propagate calls for,
+     * An {@code int} that is the maximum number of genes to load at a same time to propagate calls for,
      * and to run computations in parallel between groups of genes of this size.
      * The lower this number the higher the number of query to the database, but then they should be fast,
      * and the number of threads working in parallel until the end will be higher (for not waiting,
-     * e.g., that remaining threads handle 2000 genes.)
+     * e.g., that remaining threads handle 2000 genes.) Groups are also limited by their estimated cost,
+     * see {@link #GENE_GROUPS_PER_THREAD}.
      */
     public final static int GENE_PARALLEL_GROUP_SIZE = 200;
+    /**
+     * An {@code int} that is the minimum number of groups of genes to create for each thread
+     * computing propagated calls. The cost of a group is estimated from the number of raw calls
+     * of its genes, and groups are created so that their cost is at most the total cost
+     * divided by the number of threads times this value. The expensive groups are processed first,
+     * so that threads are not left idle at the end of the computations while a few threads
+     * handle genes with large amount of data.
+     *
+     * @see #partitionGenesByCost(List, Map, int, int)
+     */
+    public final static int GENE_GROUPS_PER_THREAD = 20;
+    /**
+     * A {@code long} that is the delay in seconds between two logs of the throughput
+     * of the threads computing propagated calls.
+     */
+    private final static long METRICS_LOG_DELAY_SECONDS = 300;
     
     /**
      * The maximum number of {@code Set}s that can be stored in {@link #callsToInsert}.
@@ -135,9 +163,15 @@ public class InsertPropagatedCalls extends CallService {
 
     private final static AtomicInteger COND_ID_COUNTER = new AtomicInteger(0);
     private final static AtomicLong EXPR_ID_COUNTER = new AtomicLong(0);
-    private final static BigDecimal ZERO_BIGDECIMAL = new BigDecimal("0");
-    private final static BigDecimal ABOVE_ZERO_BIGDECIMAL = new BigDecimal("0.000000000000000000000000000001");
+    private final static double ABOVE_ZERO_DOUBLE = 0.000000000000000000000000000001;
     private final static BigDecimal MIN_FDR_BIGDECIMAL = new BigDecimal("0.00000000000001");
+    /**
+     * An unmodifiable {@code Set} of {@code EnumSet}s of {@code CallService.Attribute}s that are
+     * all the possible combinations of condition parameters, computed once to be shared
+     * by all {@code PipelineCallData}s of source calls.
+     */
+    private final static Set<EnumSet<CallService.Attribute>> ALL_COND_PARAM_COMBINATIONS =
+            Collections.unmodifiableSet(CallService.Attribute.getAllPossibleCondParamCombinations());
 
     /**
      * A {@code Set} of {@code String}s storing the IDs of anatomical terms corresponding to
@@ -552,39 +586,41 @@ public class InsertPropagatedCalls extends CallService {
      * Warning: this class must override hashCode/equals from ExpressionCall class, 
      * we want each PipelineCall to be considered unique, otherwise this would result in incorrect 
      * generation of propagated calls.
+     * <p>
+     * Source raw calls are stored as immutable {@link RawCallSources}, so that they can be shared
+     * between all the calls propagated from a same call, without copy.
      * 
      * @author  Valentine Rech de Laval
-     * @version Bgee 14, Jan. 2017
+     * @version Bgee 15.2, Oct. 2026
      * @since   Bgee 14, Jan. 2017
      */
     private static class PipelineCall extends ExpressionCall {
 
         private int bgeeGeneId;
         
-        private final Set<RawExpressionCallTO> parentSourceCallTOs;
+        private final RawCallSources parentSourceCalls;
 
-        private final Set<RawExpressionCallTO> selfSourceCallTOs;
+        private final RawCallSources selfSourceCalls;
 
-        private final Set<RawExpressionCallTO> descendantSourceCallTOs;
+        private final RawCallSources descendantSourceCalls;
         
         private PipelineCall(int bgeeGeneId, Condition condition,
-                Set<RawExpressionCallTO> selfSourceCallTOs) {
-            this(bgeeGeneId, condition, null, null, null, null, selfSourceCallTOs, null);
+                RawCallSources selfSourceCalls) {
+            this(bgeeGeneId, condition, null, null, null, null, selfSourceCalls, null);
         }
         private PipelineCall(int bgeeGeneId, Condition condition,
                 Collection<ExpressionCallData> callData,
                 Collection<FDRPValue> pValues, Collection<FDRPValueCondition> bestDescendantPValues,
-                Set<RawExpressionCallTO> parentSourceCallTOs, Set<RawExpressionCallTO> selfSourceCallTOs,
-                Set<RawExpressionCallTO> descendantSourceCallTOs) {
+                RawCallSources parentSourceCalls, RawCallSources selfSourceCalls,
+                RawCallSources descendantSourceCalls) {
             super(null, condition, null, pValues, bestDescendantPValues, null, null,
                     callData, null, null);
             this.bgeeGeneId = bgeeGeneId;
-            this.parentSourceCallTOs = parentSourceCallTOs == null? null: 
-                Collections.unmodifiableSet(new HashSet<>(parentSourceCallTOs));
-            this.selfSourceCallTOs = selfSourceCallTOs == null? null: 
-                Collections.unmodifiableSet(new HashSet<>(selfSourceCallTOs));
-            this.descendantSourceCallTOs = descendantSourceCallTOs == null? null:
-                Collections.unmodifiableSet(new HashSet<>(descendantSourceCallTOs));
+            //RawCallSources are immutable, no defensive copying needed
+            this.parentSourceCalls = parentSourceCalls == null? RawCallSources.EMPTY: parentSourceCalls;
+            this.selfSourceCalls = selfSourceCalls == null? RawCallSources.EMPTY: selfSourceCalls;
+            this.descendantSourceCalls = descendantSourceCalls == null? RawCallSources.EMPTY:
+                descendantSourceCalls;
         }
 
         
@@ -595,25 +631,25 @@ public class InsertPropagatedCalls extends CallService {
             return bgeeGeneId;
         }
         /**
-         * @return  The {@code Set} of {@code RawExpressionCallTO}s corresponding to source call TOs
-         *             of parent calls of this {@code ExpressionCall}.
+         * @return  The {@code RawCallSources} corresponding to source raw calls
+         *          of parent calls of this {@code ExpressionCall}.
          */
-        public Set<RawExpressionCallTO> getParentSourceCallTOs() {
-            return parentSourceCallTOs;
+        public RawCallSources getParentSourceCalls() {
+            return parentSourceCalls;
         }
         /**
-         * @return      The {@code Set} of {@code RawExpressionCallTO}s corresponding to source call TOs
-         *              of self calls of this {@code ExpressionCall}.
+         * @return  The {@code RawCallSources} corresponding to source raw calls
+         *          of self calls of this {@code ExpressionCall}.
          */
-        public Set<RawExpressionCallTO> getSelfSourceCallTOs() {
-            return selfSourceCallTOs;
+        public RawCallSources getSelfSourceCalls() {
+            return selfSourceCalls;
         }
         /**
-         * @return  The {@code Set} of {@code RawExpressionCallTO}s corresponding to source call TOs
-         *             of descendant calls of this {@code ExpressionCall}.
+         * @return  The {@code RawCallSources} corresponding to source raw calls
+         *          of descendant calls of this {@code ExpressionCall}.
          */
-        public Set<RawExpressionCallTO> getDescendantSourceCallTOs() {
-            return descendantSourceCallTOs;
+        public RawCallSources getDescendantSourceCalls() {
+            return descendantSourceCalls;
         }
         
         /**
@@ -634,9 +670,9 @@ public class InsertPropagatedCalls extends CallService {
         public String toString() {
             StringBuilder builder = new StringBuilder();
             builder.append("PipelineCall [bgeeGeneId=").append(bgeeGeneId)
-                   .append(", parentSourceCallTOs=").append(parentSourceCallTOs)
-                   .append(", selfSourceCallTOs=").append(selfSourceCallTOs)
-                   .append(", descendantSourceCallTOs=").append(descendantSourceCallTOs)
+                   .append(", parentSourceCalls=").append(parentSourceCalls)
+                   .append(", selfSourceCalls=").append(selfSourceCalls)
+                   .append(", descendantSourceCalls=").append(descendantSourceCalls)
                    .append(", pValues=").append(getPValues())
                    .append(", bestDescendantPValues=").append(getBestDescendantPValues())
                    .append(", dataPropagation=").append(getDataPropagation())
@@ -650,72 +686,79 @@ public class InsertPropagatedCalls extends CallService {
     /**
      * This class describes the expression state related to gene baseline expression specific to pipeline.
      * Do not override hashCode/equals for proper call reconciliation.
+     * <p>
+     * Sample p-values are not stored as {@code SamplePValueTO}s, but as sorted {@code int} arrays
+     * of indexes of observations registered in the {@link SamplePValueTable} of the gene.
+     * The "self" p-values are the same for all the condition parameter combinations
+     * where the propagation state is "self", and empty for the other combinations,
+     * so that we only store the "self" observations once, along with these combinations.
      *
-     * @param <T>   The type of experiment ID of the {@code SamplePValueTO}s contained
-     *              in this {@code PipelineCallData}.
-     * @param <U>   The type of sample ID of the {@code SamplePValueTO}s contained
-     *              in this {@code PipelineCallData}.
      * @author  Valentine Rech de Laval
      * @author  Frederic Bastian
-     * @version Bgee 15.0, Mar. 2021
+     * @version Bgee 15.2, Oct. 2026
      * @since   Bgee 14, Jan. 2017
      */
-    private static class PipelineCallData<T extends Comparable<T>, U extends Comparable<U>> {
+    private static class PipelineCallData {
 
         final private DataType dataType;
 
-        final private Set<SamplePValueTO<T, U>> parentPValues;
-        //this stores the "self" p-values (in the condition itself)
-        //for all possible combination of condition parameters
-        final private Map<EnumSet<CallService.Attribute>, Set<SamplePValueTO<T, U>>>
-        selfPValuesPerCondParamCombinations;
-        final private Set<SamplePValueTO<T, U>> descendantPValues;
+        final private SamplePValueTable pValueTable;
+        final private int[] parentObservations;
+        //this stores the "self" observations (in the condition itself)
+        final private int[] selfObservations;
+        //the combinations of condition parameters for which selfObservations are considered,
+        //there is no self observation for the other combinations.
+        final private Set<EnumSet<CallService.Attribute>> selfCondParamCombinations;
+        final private int[] descendantObservations;
         
-        private PipelineCallData(DataType dataType,
-                Set<SamplePValueTO<T, U>> parentPValues,
-                Map<EnumSet<CallService.Attribute>, Set<SamplePValueTO<T, U>>>
-                selfPValuesPerCondParamCombinations,
-                Set<SamplePValueTO<T, U>> descendantPValues) {
-            if (selfPValuesPerCondParamCombinations != null &&
-                    !selfPValuesPerCondParamCombinations.keySet().equals(
-                            CallService.Attribute.getAllPossibleCondParamCombinations())) {
+        private PipelineCallData(DataType dataType, SamplePValueTable pValueTable,
+                int[] parentObservations, int[] selfObservations,
+                Set<EnumSet<CallService.Attribute>> selfCondParamCombinations,
+                int[] descendantObservations) {
+            if (selfCondParamCombinations != null &&
+                    !CallService.Attribute.getAllPossibleCondParamCombinations()
+                    .containsAll(selfCondParamCombinations)) {
                 throw log.throwing(new IllegalArgumentException("Invalid condition parameters."));
             }
-            if (selfPValuesPerCondParamCombinations != null &&
-                    selfPValuesPerCondParamCombinations.values().stream()
-                    .anyMatch(v -> v == null)) {
-                throw log.throwing(new IllegalArgumentException("Invalid null values."));
+            if (pValueTable == null) {
+                throw log.throwing(new IllegalArgumentException("A SamplePValueTable must be provided."));
             }
 
             this.dataType = dataType;
-            this.parentPValues = Collections.unmodifiableSet(parentPValues == null?
-                    new HashSet<>(): new HashSet<>(parentPValues));
-            //we will use defensive copying, there is no unmodifiableEnumSet
-            this.selfPValuesPerCondParamCombinations = selfPValuesPerCondParamCombinations == null?
-                    new HashMap<>(): selfPValuesPerCondParamCombinations.entrySet().stream()
-                    .collect(Collectors.toMap(
-                            e -> EnumSet.copyOf(e.getKey()),
-                            e -> new HashSet<>(e.getValue())));
-            this.descendantPValues = Collections.unmodifiableSet(descendantPValues == null?
-                    new HashSet<>(): new HashSet<>(descendantPValues));
+            this.pValueTable = pValueTable;
+            //Observation arrays are never modified after creation, so they can be shared
+            this.parentObservations = parentObservations == null? SamplePValueTable.EMPTY:
+                parentObservations;
+            this.selfObservations = selfObservations == null? SamplePValueTable.EMPTY:
+                selfObservations;
+            this.selfCondParamCombinations = selfCondParamCombinations == null?
+                    Collections.emptySet(): selfCondParamCombinations;
+            this.descendantObservations = descendantObservations == null? SamplePValueTable.EMPTY:
+                descendantObservations;
         }
     
         public DataType getDataType() {
             return dataType;
         }
-        public Set<SamplePValueTO<T, U>> getParentPValues() {
-            return parentPValues;
+        public SamplePValueTable getPValueTable() {
+            return pValueTable;
         }
-        public Map<EnumSet<CallService.Attribute>, Set<SamplePValueTO<T, U>>>
-        getSelfPValuesPerCondParamCombinations() {
-            //defensive copying, there is no unmodifiableEnumSet
-            return selfPValuesPerCondParamCombinations.entrySet().stream()
-                    .collect(Collectors.toMap(
-                            e -> EnumSet.copyOf(e.getKey()),
-                            e -> new HashSet<>(e.getValue())));
+        public int[] getParentObservations() {
+            return parentObservations;
         }
-        public Set<SamplePValueTO<T, U>> getDescendantPValues() {
-            return descendantPValues;
+        /**
+         * @param condParamCombination  An {@code EnumSet} of {@code CallService.Attribute}s
+         *                              that is a combination of condition parameters.
+         * @return                      An {@code int} array that are the indexes
+         *                              of the "self" observations for {@code condParamCombination}.
+         *                              Must not be modified.
+         */
+        public int[] getSelfObservations(EnumSet<CallService.Attribute> condParamCombination) {
+            return selfCondParamCombinations.contains(condParamCombination)? selfObservations:
+                SamplePValueTable.EMPTY;
+        }
+        public int[] getDescendantObservations() {
+            return descendantObservations;
         }
 
         //Note: do not implement hashCode/equals, otherwise we could discard different
@@ -724,9 +767,10 @@ public class InsertPropagatedCalls extends CallService {
         public String toString() {
             StringBuilder builder = new StringBuilder();
             builder.append("PipelineCallData [dataType=").append(dataType)
-                   .append(", parentPValues=").append(parentPValues)
-                   .append(", selfPValuesPerCondParamCombinations=").append(selfPValuesPerCondParamCombinations)
-                   .append(", descendantPValues=").append(descendantPValues)
+                   .append(", parentObservations=").append(Arrays.toString(parentObservations))
+                   .append(", selfObservations=").append(Arrays.toString(selfObservations))
+                   .append(", selfCondParamCombinations=").append(selfCondParamCombinations)
+                   .append(", descendantObservations=").append(Arrays.toString(descendantObservations))
                    .append("]");
             return builder.toString();
         }
@@ -879,6 +923,88 @@ public class InsertPropagatedCalls extends CallService {
         }
     }
     
+    /**
+     * A group of genes to propagate calls for in a same thread,
+     * with the estimated cost of the computations.
+     *
+     * @version Bgee 15.2 Oct. 2026
+     * @since Bgee 15.2 Oct. 2026
+     * @see InsertPropagatedCalls#partitionGenesByCost(List, Map, int, int)
+     */
+    static class GeneGroup {
+        private final List<Integer> bgeeGeneIds;
+        private final long estimatedCost;
+
+        private GeneGroup(List<Integer> bgeeGeneIds, long estimatedCost) {
+            this.bgeeGeneIds = Collections.unmodifiableList(bgeeGeneIds);
+            this.estimatedCost = estimatedCost;
+        }
+
+        /**
+         * @return  A {@code List} of {@code Integer}s that are the Bgee IDs of the genes
+         *          in this group, in the order they were provided.
+         */
+        List<Integer> getBgeeGeneIds() {
+            return this.bgeeGeneIds;
+        }
+        /**
+         * @return  A {@code long} that is the estimated cost of the computations for this group,
+         *          as the sum of the number of raw calls of its genes.
+         */
+        long getEstimatedCost() {
+            return this.estimatedCost;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("GeneGroup [geneCount=").append(bgeeGeneIds.size())
+                   .append(", estimatedCost=").append(estimatedCost).append("]");
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Class storing the throughput of a thread computing propagated calls,
+     * to be able to monitor the load balancing between threads.
+     *
+     * @version Bgee 15.2 Oct. 2026
+     * @since Bgee 15.2 Oct. 2026
+     */
+    private static class WorkerMetrics {
+        private final String workerName;
+        private final long startTimeMs;
+        private final AtomicLong groupCount;
+        private final AtomicLong geneCount;
+        private final AtomicLong rawCallCount;
+        private final AtomicLong propagatedCallCount;
+        private final AtomicLong busyTimeMs;
+
+        private WorkerMetrics(String workerName) {
+            this.workerName = workerName;
+            this.startTimeMs = System.currentTimeMillis();
+            this.groupCount = new AtomicLong(0);
+            this.geneCount = new AtomicLong(0);
+            this.rawCallCount = new AtomicLong(0);
+            this.propagatedCallCount = new AtomicLong(0);
+            this.busyTimeMs = new AtomicLong(0);
+        }
+
+        @Override
+        public String toString() {
+            long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - this.startTimeMs) / 1000);
+            StringBuilder builder = new StringBuilder();
+            builder.append(workerName).append(": ").append(groupCount.get()).append(" groups, ")
+                   .append(geneCount.get()).append(" genes, ")
+                   .append(rawCallCount.get()).append(" raw calls, ")
+                   .append(propagatedCallCount.get()).append(" propagated calls, ")
+                   .append(geneCount.get() * 60 / elapsedSeconds).append(" genes/min, ")
+                   .append(rawCallCount.get() / elapsedSeconds).append(" raw calls/s, busy ")
+                   .append(busyTimeMs.get() / 10 / (elapsedSeconds)).append("%");
+            return builder.toString();
+        }
+    }
+    
     /**
      * Class responsible for running in a separate thread the insertions to database
      * for a specific species ID and combination of condition parameters,
@@ -1547,36 +1673,29 @@ public class InsertPropagatedCalls extends CallService {
                     }
 
                     Set<PipelineGlobalCondToRawCondTO> relTOs = new HashSet<>();
-                    if (c.getParentSourceCallTOs() != null) {
-                        relTOs.addAll(c.getParentSourceCallTOs().stream()
-                                .map(source -> new PipelineGlobalCondToRawCondTO(
-                                        source.getConditionId(),
-                                        globalCondId,
-                                        GlobalConditionToRawConditionTO.ConditionRelationOrigin.PARENT))
-                                .collect(Collectors.toSet()));
-                    }
-                    if (c.getSelfSourceCallTOs() != null) {
-                        relTOs.addAll(c.getSelfSourceCallTOs().stream()
-                                .map(source -> new PipelineGlobalCondToRawCondTO(
-                                        source.getConditionId(),
-                                        globalCondId,
-                                        GlobalConditionToRawConditionTO.ConditionRelationOrigin.SELF))
-                                .collect(Collectors.toSet()));
-                    }
-                    if (c.getDescendantSourceCallTOs() != null) {
-                        relTOs.addAll(c.getDescendantSourceCallTOs().stream()
-                                .map(source -> new PipelineGlobalCondToRawCondTO(
-                                        source.getConditionId(),
-                                        globalCondId,
-                                        GlobalConditionToRawConditionTO.ConditionRelationOrigin.DESCENDANT))
-                                .collect(Collectors.toSet()));
-                    }
+                    addGlobalCondToRawCondTOs(relTOs, c.getParentSourceCalls(), globalCondId,
+                            GlobalConditionToRawConditionTO.ConditionRelationOrigin.PARENT);
+                    addGlobalCondToRawCondTOs(relTOs, c.getSelfSourceCalls(), globalCondId,
+                            GlobalConditionToRawConditionTO.ConditionRelationOrigin.SELF);
+                    addGlobalCondToRawCondTOs(relTOs, c.getDescendantSourceCalls(), globalCondId,
+                            GlobalConditionToRawConditionTO.ConditionRelationOrigin.DESCENDANT);
                     return relTOs.stream();
                 }).collect(Collectors.toSet());
 
         return log.traceExit(insertGlobalCondToRawConds(toInsert, insertedRels, condDAO));
     }
 
+    private static void addGlobalCondToRawCondTOs(Set<PipelineGlobalCondToRawCondTO> relTOs,
+            RawCallSources sources, int globalCondId,
+            GlobalConditionToRawConditionTO.ConditionRelationOrigin origin) {
+        log.traceEntry("{}, {}, {}, {}", relTOs, sources, globalCondId, origin);
+        for (int i = 0; i < sources.size(); i++) {
+            relTOs.add(new PipelineGlobalCondToRawCondTO(sources.getRawConditionId(i),
+                    globalCondId, origin));
+        }
+        log.traceExit();
+    }
+
     private static Set<PipelineGlobalCondToRawCondTO> insertGlobalCondToRawConds(
             Set<PipelineGlobalCondToRawCondTO> toInsert, Set<PipelineGlobalCondToRawCondTO> insertedRels,
             ConditionDAO condDAO) {
@@ -1879,6 +1998,9 @@ public class InsertPropagatedCalls extends CallService {
                         .stream().map(g -> g.getId())
                         .collect(Collectors.toList()));
             log.info("{} genes with data retrieved for species {}", bgeeGeneIds.size(), speciesId);
+            //We retrieve the number of raw calls per gene, to estimate the cost of the computations
+            final Map<Integer, Integer> rawCallCountPerGene = Collections.unmodifiableMap(
+                    mainManager.getRawExpressionCallDAO().getExpressionCallCountsBySpeciesId(speciesId));
             
             //Remaining computations/insertions will be made in separate threads
             //with a separate database connection, so we close the main connection immediately,
@@ -1894,57 +2016,79 @@ public class InsertPropagatedCalls extends CallService {
             //PARALLEL EXECUTION: start the insertion Thread
             insertThread.start();
 
-            //PARALLEL EXECUTION: we generate groups of genes of size GENES_PER_ITERATION
-            //and run the computations in parallel between groups
-            //(important to convert to float here before dividing, otherwise the rounding could be incorrect)
-            int iterationCount = (int) Math.ceil((float) bgeeGeneIds.size()/(float) GENE_PARALLEL_GROUP_SIZE);
-            IntStream.range(0, iterationCount).parallel()
-            .mapToObj(i -> bgeeGeneIds.subList(i * GENE_PARALLEL_GROUP_SIZE, 
-                    ((i + 1) * GENE_PARALLEL_GROUP_SIZE) > bgeeGeneIds.size()? 
-                            bgeeGeneIds.size(): ((i + 1) * GENE_PARALLEL_GROUP_SIZE)))
-            .forEach(subsetGeneIds -> {
-                //check at each iteration if an error occurred in another thread
-                this.checkErrorOccurred();
-                
-                //We need a new connection to the database for each thread, so we use
-                //a ServiceFactory Supplier
-                final ServiceFactory threadServiceFactory = this.serviceFactorySupplier.get();
-                
-                try (DAOManager threadDAOManager = threadServiceFactory.getDAOManager()) {
-                    //PARALLEL EXECUTION: each thread-specific DAOManager is registered
-                    //to be able to kill all queries in case of error in any thread.
-                    //The killing will be performed by this.insertThread, as we know this thread
-                    //will be running during the whole process and will be performing fast queries only.
-                    this.daoManagers.add(threadDAOManager);
-                    
-                    log.debug("Processing {} genes...", subsetGeneIds.size());
-                    // We propagate calls. Each Map contains all propagated calls for one gene
-                    final Stream<Set<PipelineCall>> propagatedCalls =
-                            this.generatePropagatedCalls(
-                                    new HashSet<>(subsetGeneIds), rawCondMap, conditionGraph,
-                                    threadDAOManager);
-                    
-                    //Provide the calls to insert to the Thread managing the insertions
-                    //through the dedicated BlockingQueue
-                    propagatedCalls.forEach(set -> {
-                        //Check error status
-                        this.checkErrorOccurred();
-                        try {
-                            //wait indefinitely for space in the queue to be available
-                            //(to not overload the memory)
-                            log.trace(BLOCKING_QUEUE_MARKER, "Offering Set of {} PipelineCalls", 
-                                    set.size());
-                            this.callsToInsert.put(set);
-                        } catch (InterruptedException e) {
-                            this.exceptionOccurs(e, localInsertThread);
+            //PARALLEL EXECUTION: we generate groups of genes of balanced estimated costs,
+            //and run the computations in parallel between groups, in a work-stealing pool,
+            //the most expensive groups first.
+            //The parallelism can be set with the sys prop "java.util.concurrent.ForkJoinPool.common.parallelism",
+            //as for the parallel Streams previously used.
+            final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            final List<GeneGroup> geneGroups = partitionGenesByCost(bgeeGeneIds, rawCallCountPerGene,
+                    parallelism * GENE_GROUPS_PER_THREAD, GENE_PARALLEL_GROUP_SIZE);
+            log.info("{} groups of genes generated for {} threads, max estimated cost: {}, min: {}",
+                    geneGroups.size(), parallelism,
+                    geneGroups.isEmpty()? 0: geneGroups.get(0).getEstimatedCost(),
+                    geneGroups.isEmpty()? 0: geneGroups.get(geneGroups.size() - 1).getEstimatedCost());
+
+            //Each worker thread holds its own ServiceFactory and DAOManager for all the groups
+            //it processes, and closes them when it is done. The groups are pulled from a shared queue,
+            //the most expensive groups first, so that idle workers take the remaining groups.
+            //The ConditionGraph is shared read-only between workers.
+            final Queue<GeneGroup> pendingGeneGroups = new ConcurrentLinkedQueue<>(geneGroups);
+            final int workerCount = Math.max(1, Math.min(parallelism, geneGroups.size()));
+            final ConcurrentMap<Thread, WorkerMetrics> workerMetrics = new ConcurrentHashMap<>();
+            ExecutorService workerPool = Executors.newFixedThreadPool(workerCount);
+            ScheduledExecutorService metricsLogger = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "propagation-metrics-" + this.speciesId);
+                t.setDaemon(true);
+                return t;
+            });
+            metricsLogger.scheduleWithFixedDelay(() -> logWorkerMetrics(workerMetrics.values()),
+                    METRICS_LOG_DELAY_SECONDS, METRICS_LOG_DELAY_SECONDS, TimeUnit.SECONDS);
+            try {
+                List<Future<?>> futures = IntStream.range(0, workerCount)
+                        .mapToObj(i -> workerPool.submit(() -> {
+                            WorkerMetrics metrics = workerMetrics.computeIfAbsent(Thread.currentThread(),
+                                    t -> new WorkerMetrics(t.getName()));
+                            //We need a new connection to the database for each thread, so we use
+                            //a ServiceFactory Supplier. The ServiceFactory is closed by the thread
+                            //owning it, once all groups are processed.
+                            try (ServiceFactory threadServiceFactory = this.serviceFactorySupplier.get()) {
+                                final DAOManager threadDAOManager = threadServiceFactory.getDAOManager();
+                                //PARALLEL EXECUTION: each thread-specific DAOManager is registered
+                                //to be able to kill all queries in case of error in any thread.
+                                //The killing will be performed by this.insertThread, as we know
+                                //this thread will be running during the whole process
+                                //and will be performing fast queries only.
+                                this.daoManagers.add(threadDAOManager);
+                                try {
+                                    GeneGroup geneGroup = null;
+                                    while ((geneGroup = pendingGeneGroups.poll()) != null) {
+                                        //check at each iteration if an error occurred in another thread
+                                        this.checkErrorOccurred();
+                                        this.processGeneGroup(geneGroup, rawCondMap, conditionGraph,
+                                                threadDAOManager, metrics, localInsertThread);
+                                    }
+                                } finally {
+                                    this.daoManagers.remove(threadDAOManager);
+                                }
+                            }
+                        }))
+                        .collect(Collectors.toList());
+                for (Future<?> future: futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof RuntimeException) {
+                            throw (RuntimeException) e.getCause();
                         }
-                    });
-                    
-                    log.debug("Done processing {} genes.", subsetGeneIds.size());
-                } catch (Exception e) {
-                    this.exceptionOccurs(e, localInsertThread);
+                        throw new IllegalStateException(e.getCause());
+                    }
                 }
-            });
+            } finally {
+                metricsLogger.shutdownNow();
+                workerPool.shutdownNow();
+                logWorkerMetrics(workerMetrics.values());
+            }
             
             //very important to set this flag here for the insertion thread to know it should quit.
             this.jobCompleted = true;
@@ -1980,6 +2124,74 @@ public class InsertPropagatedCalls extends CallService {
         log.traceExit();
     }
 
+    /**
+     * Partitions genes into groups of balanced estimated costs, the cost of a gene being estimated
+     * from its number of raw calls. Consecutive genes are grouped until the cost of the group
+     * reaches the total cost divided by {@code targetGroupCount}, or the group contains
+     * {@code maxGroupSize} genes. A gene more expensive than the target cost is alone in its group.
+     *
+     * @param bgeeGeneIds           A {@code List} of {@code Integer}s that are the Bgee IDs
+     *                              of the genes to partition.
+     * @param rawCallCountPerGene   A {@code Map} where keys are Bgee gene IDs, the associated value
+     *                              being the number of raw calls for this gene. Missing genes
+     *                              are considered to have a cost of 1.
+     * @param targetGroupCount      An {@code int} that is the minimum number of groups to generate,
+     *                              if there are enough genes.
+     * @param maxGroupSize          An {@code int} that is the maximum number of genes in a group.
+     * @return                      A {@code List} of {@code GeneGroup}s ordered by descending
+     *                              estimated cost.
+     * @throws IllegalArgumentException If {@code targetGroupCount} or {@code maxGroupSize}
+     *                                  is less than 1.
+     */
+    static List<GeneGroup> partitionGenesByCost(List<Integer> bgeeGeneIds,
+            Map<Integer, Integer> rawCallCountPerGene, int targetGroupCount, int maxGroupSize)
+                    throws IllegalArgumentException {
+        log.traceEntry("{}, {}, {}, {}", bgeeGeneIds, rawCallCountPerGene, targetGroupCount,
+                maxGroupSize);
+        if (targetGroupCount < 1 || maxGroupSize < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The target number of groups and the max size of groups must be greater than 0"));
+        }
+        long totalCost = 0;
+        for (Integer geneId: bgeeGeneIds) {
+            totalCost += getGeneCost(geneId, rawCallCountPerGene);
+        }
+        long maxGroupCost = Math.max(1, (long) Math.ceil((double) totalCost / (double) targetGroupCount));
+        log.debug("Total estimated cost: {}, max cost per group: {}", totalCost, maxGroupCost);
+
+        List<GeneGroup> groups = new ArrayList<>();
+        List<Integer> currentGroup = new ArrayList<>();
+        long currentCost = 0;
+        for (Integer geneId: bgeeGeneIds) {
+            long geneCost = getGeneCost(geneId, rawCallCountPerGene);
+            if (!currentGroup.isEmpty() && (currentCost + geneCost > maxGroupCost ||
+                    currentGroup.size() >= maxGroupSize)) {
+                groups.add(new GeneGroup(currentGroup, currentCost));
+                currentGroup = new ArrayList<>();
+                currentCost = 0;
+            }
+            currentGroup.add(geneId);
+            currentCost += geneCost;
+        }
+        if (!currentGroup.isEmpty()) {
+            groups.add(new GeneGroup(currentGroup, currentCost));
+        }
+        //The most expensive groups first, so that they do not end up running alone at the end
+        groups.sort(Comparator.comparingLong(GeneGroup::getEstimatedCost).reversed());
+        return log.traceExit(groups);
+    }
+    private static long getGeneCost(Integer geneId, Map<Integer, Integer> rawCallCountPerGene) {
+        Integer count = rawCallCountPerGene.get(geneId);
+        return count == null || count < 1? 1: count;
+    }
+    private static void logWorkerMetrics(Collection<WorkerMetrics> workerMetrics) {
+        log.traceEntry("{}", workerMetrics);
+        for (WorkerMetrics metrics: workerMetrics) {
+            log.info(COMPUTE_MARKER, "Propagation throughput - {}", metrics);
+        }
+        log.traceExit();
+    }
+
     /**
      * Method to check if an {@code Exception} occurred in a different {@code Thread}
      * than the caller {@code Thread}, launched by this {@code InsertPropagatedCalls} object.
@@ -2141,6 +2353,62 @@ public class InsertPropagatedCalls extends CallService {
                 );
     }
 
+    /**
+     * Propagates the calls of a group of genes and provides them to the thread
+     * managing the insertions, through {@link #callsToInsert}.
+     *
+     * @param geneGroup         The {@code GeneGroup} to process.
+     * @param rawCondMap        A {@code Map} where keys are IDs of raw conditions,
+     *                          the associated value being the corresponding {@code RawDataCondition}.
+     * @param conditionGraph    The {@code ConditionGraph} shared read-only between workers.
+     * @param daoManager        The {@code DAOManager} owned by the calling worker thread.
+     * @param metrics           The {@code WorkerMetrics} of the calling worker thread.
+     * @param insertThread      The {@code Thread} managing the insertions, to notify in case of error.
+     */
+    private void processGeneGroup(GeneGroup geneGroup, Map<Integer, RawDataCondition> rawCondMap,
+            ConditionGraph conditionGraph, DAOManager daoManager, WorkerMetrics metrics,
+            Thread insertThread) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", geneGroup, rawCondMap, conditionGraph, daoManager,
+                metrics, insertThread);
+        long startTimeMs = System.currentTimeMillis();
+        try {
+            log.debug("Processing {}...", geneGroup);
+            // We propagate calls. Each Map contains all propagated calls for one gene.
+            //The DAOManager is kept open for the next groups, so we close the Stream
+            //to release the underlying result sets.
+            try (Stream<Set<PipelineCall>> propagatedCalls = this.generatePropagatedCalls(
+                    new HashSet<>(geneGroup.getBgeeGeneIds()), rawCondMap, conditionGraph,
+                    daoManager)) {
+
+                //Provide the calls to insert to the Thread managing the insertions
+                //through the dedicated BlockingQueue
+                propagatedCalls.forEach(set -> {
+                    //Check error status
+                    this.checkErrorOccurred();
+                    try {
+                        //wait indefinitely for space in the queue to be available
+                        //(to not overload the memory)
+                        log.trace(BLOCKING_QUEUE_MARKER, "Offering Set of {} PipelineCalls",
+                                set.size());
+                        this.callsToInsert.put(set);
+                        metrics.propagatedCallCount.addAndGet(set.size());
+                    } catch (InterruptedException e) {
+                        this.exceptionOccurs(e, insertThread);
+                    }
+                });
+            }
+            log.debug("Done processing {}.", geneGroup);
+        } catch (Exception e) {
+            this.exceptionOccurs(e, insertThread);
+        } finally {
+            metrics.groupCount.incrementAndGet();
+            metrics.geneCount.addAndGet(geneGroup.getBgeeGeneIds().size());
+            metrics.rawCallCount.addAndGet(geneGroup.getEstimatedCost());
+            metrics.busyTimeMs.addAndGet(System.currentTimeMillis() - startTimeMs);
+        }
+        log.traceExit();
+    }
+
     /** 
      * Generate propagated and reconciled expression calls.
      * 
@@ -2186,7 +2454,11 @@ public class InsertPropagatedCalls extends CallService {
         Stream<Set<PipelineCall>> reconciledCalls = callTOsByGeneStream
             // First we convert each Set<RawExpressionCallData> for a gene
             // into one Map<PipelineCall, Set<PipelineCallData>> having source RawExpressionCallTO,
-            .map(geneData -> geneData.stream()
+            .map(geneData -> {
+                //The p-values of all the observations of the gene are stored in one table,
+                //the PipelineCallData only store indexes of observations.
+                SamplePValueTable pValueTable = new SamplePValueTable();
+                Map<PipelineCall, Set<PipelineCallData>> calls = geneData.stream()
                     .collect(Collectors.toMap(
                         rawExprCallData -> mapRawCallTOToPipelineCall(
                                 rawExprCallData.getRawExpressionCallTO(),
@@ -2194,7 +2466,10 @@ public class InsertPropagatedCalls extends CallService {
                                 this.condParams),
                         rawExprCallData -> mapExpExprTOsToPipelineCallData(
                                 rawExprCallData.getSamplePValueTOsPerDataType(),
-                                this.condParams))))
+                                pValueTable, this.condParams)));
+                pValueTable.compact();
+                return calls;
+            })
 
             //Now, we group all PipelineCalls and PipelineCallDatas mapped to a same Condition
             //g: Map<PipelineCall, Set<PipelineCallData>>
@@ -2209,18 +2484,12 @@ public class InsertPropagatedCalls extends CallService {
                     (e1, e2) -> {
                         PipelineCall call1 = e1.getKey();
                         PipelineCall call2 = e2.getKey();
-                        assert call1.getParentSourceCallTOs() == null ||
-                                call1.getParentSourceCallTOs().isEmpty();
-                        assert call1.getDescendantSourceCallTOs() == null ||
-                                call1.getDescendantSourceCallTOs().isEmpty();
-                        assert call1.getSelfSourceCallTOs() != null &&
-                                !call1.getSelfSourceCallTOs().isEmpty();
-                        assert call2.getParentSourceCallTOs() == null ||
-                                call2.getParentSourceCallTOs().isEmpty();
-                        assert call2.getDescendantSourceCallTOs() == null ||
-                                call2.getDescendantSourceCallTOs().isEmpty();
-                        assert call2.getSelfSourceCallTOs() != null &&
-                                !call2.getSelfSourceCallTOs().isEmpty();
+                        assert call1.getParentSourceCalls().isEmpty();
+                        assert call1.getDescendantSourceCalls().isEmpty();
+                        assert !call1.getSelfSourceCalls().isEmpty();
+                        assert call2.getParentSourceCalls().isEmpty();
+                        assert call2.getDescendantSourceCalls().isEmpty();
+                        assert !call2.getSelfSourceCalls().isEmpty();
 
                         assert Integer.compare(call1.getBgeeGeneId(), call2.getBgeeGeneId()) == 0;
                         assert call1.getCondition().equals(call2.getCondition());
@@ -2233,13 +2502,12 @@ public class InsertPropagatedCalls extends CallService {
                         .map(comb -> call2.getDataPropagation().getPropagationState(comb))
                         .allMatch(propState -> PropagationState.SELF.equals(propState));
 
-                        Set<RawExpressionCallTO> combinedTOs =
-                                new HashSet<>(call1.getSelfSourceCallTOs());
-                        combinedTOs.addAll(call2.getSelfSourceCallTOs());
                         PipelineCall combinedCall = new PipelineCall(
-                                call1.getBgeeGeneId(), call1.getCondition(), combinedTOs);
+                                call1.getBgeeGeneId(), call1.getCondition(),
+                                RawCallSources.union(Arrays.asList(
+                                        call1.getSelfSourceCalls(), call2.getSelfSourceCalls())));
 
-                        Set<PipelineCallData<?, ?>> combinedData = new HashSet<>(e1.getValue());
+                        Set<PipelineCallData> combinedData = new HashSet<>(e1.getValue());
                         combinedData.addAll(e2.getValue());
 
                         return new AbstractMap.SimpleEntry<>(combinedCall, combinedData);
@@ -2257,7 +2525,7 @@ public class InsertPropagatedCalls extends CallService {
             .map(g -> {
                 //propagatePipelineCalls returns only the new propagated calls, 
                 //we need to add the original calls to the Map for following steps
-                Map<PipelineCall, Set<PipelineCallData<?, ?>>> calls = 
+                Map<PipelineCall, Set<PipelineCallData>> calls = 
                         this.propagatePipelineCalls(g, conditionGraph);
                 calls.putAll(g);
                 return calls;
@@ -2273,7 +2541,7 @@ public class InsertPropagatedCalls extends CallService {
                         .collect(Collectors.groupingBy(e -> e.getKey().getCondition(),
                                  Collectors.mapping(e2 -> e2.getKey(), Collectors.toSet())));
                 //group CallData per Condition (they all are about the same gene already)
-                final Map<Condition, Set<PipelineCallData<?, ?>>> callDataGroup = g.entrySet().stream()
+                final Map<Condition, Set<PipelineCallData>> callDataGroup = g.entrySet().stream()
                         .collect(Collectors.groupingBy(e -> e.getKey().getCondition(), 
                                  Collectors.mapping(e2 -> e2.getValue(), Collectors.toSet()))) // produce Map<Condition, Set<Set<PipelineCallData>>
                         .entrySet().stream().collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()
@@ -2351,8 +2619,8 @@ public class InsertPropagatedCalls extends CallService {
                     log.trace("Done searching best descendant p-values for call: {}", c);
                     return new PipelineCall(c.getBgeeGeneId(), c.getCondition(), c.getCallData(),
                             c.getPValues(), bestPValuePerDataTypeComb.values(),
-                            c.getParentSourceCallTOs(), c.getSelfSourceCallTOs(),
-                            c.getDescendantSourceCallTOs());
+                            c.getParentSourceCalls(), c.getSelfSourceCalls(),
+                            c.getDescendantSourceCalls());
                 }).collect(Collectors.toSet());
             });
 
@@ -2475,13 +2743,13 @@ public class InsertPropagatedCalls extends CallService {
      * @throws IllegalArgumentException If {@code calls} or {@code conditionGraph} are {@code null},
      *                                  empty.
      */
-    private Map<PipelineCall, Set<PipelineCallData<?, ?>>> propagatePipelineCalls(
-            Map<PipelineCall, Set<PipelineCallData<?, ?>>> data, ConditionGraph conditionGraph)
+    private Map<PipelineCall, Set<PipelineCallData>> propagatePipelineCalls(
+            Map<PipelineCall, Set<PipelineCallData>> data, ConditionGraph conditionGraph)
                 throws IllegalArgumentException {
         log.traceEntry("{}, {}", data, conditionGraph);
         log.trace(COMPUTE_MARKER, "Starting to propagate {} PipelineCalls.", data.size());
 
-        Map<PipelineCall, Set<PipelineCallData<?, ?>>> propagatedData = new HashMap<>();
+        Map<PipelineCall, Set<PipelineCallData>> propagatedData = new HashMap<>();
         this.checkErrorOccurred();
 
         assert data != null && !data.isEmpty();
@@ -2505,7 +2773,7 @@ public class InsertPropagatedCalls extends CallService {
         int callCount = calls.size();
         int analyzedCallCount = 0;
 
-        for (Entry<PipelineCall, Set<PipelineCallData<?, ?>>> entry: data.entrySet()) {
+        for (Entry<PipelineCall, Set<PipelineCallData>> entry: data.entrySet()) {
             this.checkErrorOccurred();
             if (log.isTraceEnabled() && analyzedCallCount % 100 == 0) {
                 log.trace("{}/{} expression calls analyzed.", analyzedCallCount, callCount);
@@ -2525,7 +2793,7 @@ public class InsertPropagatedCalls extends CallService {
                     curCall.getCondition(), ancestorConditions.size());
             log.trace("Ancestor conditions: {}", ancestorConditions);
             if (!ancestorConditions.isEmpty()) {
-                Map<PipelineCall, Set<PipelineCallData<?, ?>>> ancestorCalls =
+                Map<PipelineCall, Set<PipelineCallData>> ancestorCalls =
                         propagatePipelineData(entry, ancestorConditions, true);
                 assert !ancestorCalls.isEmpty();
                 propagatedData.putAll(ancestorCalls);
@@ -2543,7 +2811,7 @@ public class InsertPropagatedCalls extends CallService {
 //                    curCall.getCondition(), descendantConditions.size());
 //            log.trace("Descendant conditions: {}", descendantConditions);
             if (!descendantConditions.isEmpty()) {
-                Map<PipelineCall, Set<PipelineCallData<?, ?>>> descendantCalls =
+                Map<PipelineCall, Set<PipelineCallData>> descendantCalls =
                         propagatePipelineData(entry, descendantConditions, false);
                 assert !descendantCalls.isEmpty();
                 propagatedData.putAll(descendantCalls);
@@ -2570,13 +2838,13 @@ public class InsertPropagatedCalls extends CallService {
      * @return                  A {@code Set} of {@code ExpressionCall}s that are propagated calls
      *                          from provided {@code data}, without including calls in {@code data}.
      */
-    private Map<PipelineCall, Set<PipelineCallData<?, ?>>> propagatePipelineData(
-            Entry<PipelineCall, Set<PipelineCallData<?, ?>>> data, Set<Condition> propagatedConds, 
+    private Map<PipelineCall, Set<PipelineCallData>> propagatePipelineData(
+            Entry<PipelineCall, Set<PipelineCallData>> data, Set<Condition> propagatedConds, 
             boolean areAncestors) {
         log.traceEntry("{}, {}, {}", data, propagatedConds, areAncestors);
         log.trace(COMPUTE_MARKER, "Start to propagate PipelineData, to ancestor? {}.", areAncestors);
 
-        Map<PipelineCall, Set<PipelineCallData<?, ?>>> map = new HashMap<>();
+        Map<PipelineCall, Set<PipelineCallData>> map = new HashMap<>();
         this.checkErrorOccurred();
         
         if (propagatedConds.isEmpty()) {
@@ -2592,11 +2860,11 @@ public class InsertPropagatedCalls extends CallService {
             log.trace("Propagation of the current call to condition: {}", condition);
             assert !callCondition.equals(condition);
 
-            Set<PipelineCallData<?, ?>> relativeData = new HashSet<>();
+            Set<PipelineCallData> relativeData = new HashSet<>();
 
             //for each original PipelineCallData, create a new PipelineCallData with DataPropagation updated 
             //and ExperimentExpressionTOs stored in the appropriate attributes
-            for (PipelineCallData<?, ?> pipelineData: data.getValue()) {
+            for (PipelineCallData pipelineData: data.getValue()) {
                 this.checkErrorOccurred();
 
                 // Here, we define propagation states.
@@ -2703,78 +2971,31 @@ public class InsertPropagatedCalls extends CallService {
                         CallService.Attribute.getAllPossibleCondParamCombinations(selfPropStateParams);
                 assert !selfPropStateParamCombinations.contains(
                         CallService.Attribute.getAllConditionParameters());
-                Set<EnumSet<CallService.Attribute>> notSelfPropStateParamCombinations =
-                        CallService.Attribute.getAllPossibleCondParamCombinations();
-                notSelfPropStateParamCombinations.removeAll(selfPropStateParamCombinations);
-                assert notSelfPropStateParamCombinations.contains(
+                //The "self" observations of the propagated data are the local observations
+                //of the call, for the combinations of condition parameters with a "self"
+                //propagation state only. Observation arrays are shared, not copied.
+                int[] localObservations = pipelineData.getSelfObservations(
                         CallService.Attribute.getAllConditionParameters());
-
-                switch(pipelineData.getDataType()) {
-                case EST:
-                case IN_SITU:
-                case RNA_SEQ:
-                case SC_RNA_SEQ:
-                    //We know the generic types depending on the data types
-                    @SuppressWarnings("unchecked")
-                    Set<SamplePValueTO<String, String>> localPValues = pipelineData
-                        .getSelfPValuesPerCondParamCombinations().get(
-                                CallService.Attribute.getAllConditionParameters())
-                        .stream()
-                        .map(pval -> (SamplePValueTO<String, String>) pval)
-                        .collect(Collectors.toSet());
-                    assert !localPValues.isEmpty();
-
-                    Map<EnumSet<CallService.Attribute>, Set<SamplePValueTO<String, String>>>
-                    selfPValuesPerCondParamCombinations = selfPropStateParamCombinations.stream()
-                            .collect(Collectors.toMap(comb -> comb, comb -> localPValues));
-                    selfPValuesPerCondParamCombinations.putAll(notSelfPropStateParamCombinations.stream()
-                            .collect(Collectors.toMap(comb -> comb, comb -> new HashSet<>())));
-                    Set<SamplePValueTO<String, String>> parentPValues = null;
-                    Set<SamplePValueTO<String, String>> descendantPValues = null;
-                    if (areAncestors) {
-                        descendantPValues = localPValues;
-                    } else {
-                        parentPValues = localPValues;
-                    }
-                    relativeData.add(new PipelineCallData<>(pipelineData.getDataType(),
-                            parentPValues, selfPValuesPerCondParamCombinations, descendantPValues));
-                    break;
-                case AFFYMETRIX:
-                    //We know the generic types depending on the data types
-                    @SuppressWarnings("unchecked")
-                    Set<SamplePValueTO<String, Integer>> localPValues2 = pipelineData
-                        .getSelfPValuesPerCondParamCombinations().get(
-                                CallService.Attribute.getAllConditionParameters())
-                        .stream()
-                        .map(pval -> (SamplePValueTO<String, Integer>) pval)
-                        .collect(Collectors.toSet());
-                    assert !localPValues2.isEmpty();
-
-                    Map<EnumSet<CallService.Attribute>, Set<SamplePValueTO<String, Integer>>>
-                    selfPValuesPerCondParamCombinations2 = selfPropStateParamCombinations.stream()
-                            .collect(Collectors.toMap(comb -> comb, comb -> localPValues2));
-                    selfPValuesPerCondParamCombinations2.putAll(notSelfPropStateParamCombinations.stream()
-                            .collect(Collectors.toMap(comb -> comb, comb -> new HashSet<>())));
-                    Set<SamplePValueTO<String, Integer>> parentPValues2 = null;
-                    Set<SamplePValueTO<String, Integer>> descendantPValues2 = null;
-                    if (areAncestors) {
-                        descendantPValues2 = localPValues2;
-                    } else {
-                        parentPValues2 = localPValues2;
-                    }
-                    relativeData.add(new PipelineCallData<>(pipelineData.getDataType(),
-                            parentPValues2, selfPValuesPerCondParamCombinations2, descendantPValues2));
-                    break;
+                assert localObservations.length > 0;
+                int[] parentObservations = null;
+                int[] descendantObservations = null;
+                if (areAncestors) {
+                    descendantObservations = localObservations;
+                } else {
+                    parentObservations = localObservations;
                 }
+                relativeData.add(new PipelineCallData(pipelineData.getDataType(),
+                        pipelineData.getPValueTable(), parentObservations, localObservations,
+                        selfPropStateParamCombinations, descendantObservations));
             }
 
             // Add propagated expression call.
-            Set<RawExpressionCallTO> ancestorCallTOs = null;
-            Set<RawExpressionCallTO> descendantCallTOs = null;
+            RawCallSources ancestorSourceCalls = null;
+            RawCallSources descendantSourceCalls = null;
             if (areAncestors) {
-                descendantCallTOs = call.getSelfSourceCallTOs();
+                descendantSourceCalls = call.getSelfSourceCalls();
             } else {
-                ancestorCallTOs = call.getSelfSourceCallTOs();
+                ancestorSourceCalls = call.getSelfSourceCalls();
             }
 
             PipelineCall propagatedCall = new PipelineCall(
@@ -2782,7 +3003,7 @@ public class InsertPropagatedCalls extends CallService {
                 condition,
                 null, // Collection<ExpressionCallData> callData (update after the propagation),
                 null, null, //corrected p-values
-                ancestorCallTOs, null, descendantCallTOs);
+                ancestorSourceCalls, null, descendantSourceCalls);
             
             log.trace("Add the propagated call: {}", propagatedCall);
             map.put(propagatedCall, relativeData);
@@ -2808,7 +3029,7 @@ public class InsertPropagatedCalls extends CallService {
      */
     //We return PipelineCall rather than ExpressionCall to be able to keep bgeeGeneId
     private PipelineCall reconcileGeneCalls(Set<PipelineCall> calls,
-            Set<PipelineCallData<?, ?>> pipelineData) {
+            Set<PipelineCallData> pipelineData) {
         log.traceEntry("{}, {}", calls, pipelineData);
 
         this.checkErrorOccurred();
@@ -2830,17 +3051,21 @@ public class InsertPropagatedCalls extends CallService {
         }
         Condition condition = conditions.iterator().next();
     
-        Map<DataType, Set<PipelineCallData<?, ?>>> pipelineDataByDataTypes = pipelineData.stream()
+        Map<DataType, Set<PipelineCallData>> pipelineDataByDataTypes = pipelineData.stream()
                 .collect(Collectors.groupingBy(PipelineCallData::getDataType, Collectors.toSet()));
 
         Set<ExpressionCallData> expressionCallData = new HashSet<>();
-        for (Entry<DataType, Set<PipelineCallData<?, ?>>> entry: pipelineDataByDataTypes.entrySet()) {
-            ExpressionCallData cd = mergePipelineCallDataIntoExpressionCallData(
+        //p-values are kept as doubles for computing the FDR, they are not stored
+        //in the ExpressionCallData, not needed for insertion
+        Map<DataType, double[]> pValuesPerDataType = new EnumMap<>(DataType.class);
+        for (Entry<DataType, Set<PipelineCallData>> entry: pipelineDataByDataTypes.entrySet()) {
+            Entry<ExpressionCallData, double[]> cd = mergePipelineCallDataIntoExpressionCallData(
                     entry.getKey(), entry.getValue());
             //the returned callData is null if there was no valid data to propagate
             //(e.g., only "present" expression calls in parent conditions)
             if (cd != null) {
-                expressionCallData.add(cd);
+                expressionCallData.add(cd.getKey());
+                pValuesPerDataType.put(entry.getKey(), cd.getValue());
             }
         }
         if (expressionCallData.isEmpty()) {
@@ -2864,11 +3089,9 @@ public class InsertPropagatedCalls extends CallService {
 //                   expressionCallData.stream().mapToInt(ecd -> ecd.getPropagatedExperimentCount()).sum() > 0;
 
 
-       Set<RawExpressionCallTO> selfSourceCallTOs = calls.stream()
-               .map(PipelineCall::getSelfSourceCallTOs)
-               .filter(s -> s != null)
-               .flatMap(s -> s.stream())
-               .collect(Collectors.toSet());
+       RawCallSources selfSourceCalls = RawCallSources.union(calls.stream()
+               .map(PipelineCall::getSelfSourceCalls)
+               .collect(Collectors.toList()));
 
        //************************
        // FDR-corrected p-values
@@ -2880,11 +3103,12 @@ public class InsertPropagatedCalls extends CallService {
        //And now we correct the p-values for all possible combination of the data types used
        Set<FDRPValue> correctedPValues = usedDataTypeCombs.stream()
                .map(dtComb -> {
-                   //Use List to not loose equal pvalues
-                   List<BigDecimal> pValues = expressionCallData.stream()
-                           .filter(ecd -> dtComb.contains(ecd.getDataType()))
-                           .flatMap(ecd -> ecd.getAllPValues().stream())
-                           .collect(Collectors.toList());
+                   //Use arrays to not loose equal pvalues
+                   double[] pValues = dtComb.stream()
+                           .map(dt -> pValuesPerDataType.get(dt))
+                           .filter(p -> p != null)
+                           .flatMapToDouble(p -> Arrays.stream(p))
+                           .toArray();
                    return new FDRPValue(computeFDRCorrectedPValue(pValues), dtComb);
                })
                .collect(Collectors.toSet());
@@ -2928,25 +3152,21 @@ public class InsertPropagatedCalls extends CallService {
        // we solely store p-values
         return log.traceExit(new PipelineCall(geneId, condition, expressionCallData,
                 allCorrectedPValues, null, 
-            calls.stream().map(PipelineCall::getParentSourceCallTOs)
-                          .filter(s -> s != null)
-                          .flatMap(Set::stream).collect(Collectors.toSet()),
-            selfSourceCallTOs,
-            calls.stream().map(PipelineCall::getDescendantSourceCallTOs)
-                          .filter(s -> s != null)
-                          .flatMap(Set::stream).collect(Collectors.toSet())));
+            RawCallSources.union(calls.stream().map(PipelineCall::getParentSourceCalls)
+                          .collect(Collectors.toList())),
+            selfSourceCalls,
+            RawCallSources.union(calls.stream().map(PipelineCall::getDescendantSourceCalls)
+                          .collect(Collectors.toList()))));
     }
     // code taken from https://github.com/cBioPortal/cbioportal/blob/master/core/src/main/java/
     // org/mskcc/cbio/portal/stats/BenjaminiHochbergFDR.java
-    private static BigDecimal computeFDRCorrectedPValue(List<BigDecimal> pValues) {
+    private static BigDecimal computeFDRCorrectedPValue(double[] pValues) {
         log.traceEntry("{}", pValues);
 
-        int m = pValues.size();
-        Double[] pValuesDouble = 
-                pValues.stream()
-                .map(p -> p.compareTo(ZERO_BIGDECIMAL) == 0 ? ABOVE_ZERO_BIGDECIMAL : p)
-                .map(p -> p.doubleValue())
-                .toArray(length -> new Double[length]);
+        int m = pValues.length;
+        double[] pValuesDouble = Arrays.stream(pValues)
+                .map(p -> p == 0 ? ABOVE_ZERO_DOUBLE : p)
+                .toArray();
         double[] adjustedPValues = new double[m];
 
         Arrays.sort(pValuesDouble);
@@ -2979,9 +3199,13 @@ public class InsertPropagatedCalls extends CallService {
      * @param pipelineCallData  A {@code Set} of {@code PipelineCallData} to be used to
      *                          build the {@code ExpressionCallData}.
      *                          on propagated data.
+     * @return                  An {@code Entry} where the key is the {@code ExpressionCallData}
+     *                          (not storing p-values), the associated value being
+     *                          a {@code double} array containing the self and descendant p-values
+     *                          used to compute FDR-corrected p-values.
      */
-    private ExpressionCallData mergePipelineCallDataIntoExpressionCallData(DataType dataType,
-            Set<PipelineCallData<?, ?>> pipelineCallData) {
+    private Entry<ExpressionCallData, double[]> mergePipelineCallDataIntoExpressionCallData(
+            DataType dataType, Set<PipelineCallData> pipelineCallData) {
         log.traceEntry("{}, {}", dataType, pipelineCallData);
 
         this.checkErrorOccurred();
@@ -2990,19 +3214,10 @@ public class InsertPropagatedCalls extends CallService {
         //at this point, we have only propagated one call at a time, so we should have
         //p-values in only one of these 3 attributes
         assert pipelineCallData.stream().allMatch(pcd ->
-            (/*(pcd.getSelfPValues() != null && !pcd.getSelfPValues().isEmpty()) &&*/
-            (pcd.getParentPValues() == null || pcd.getParentPValues().isEmpty()) &&
-            (pcd.getDescendantPValues() == null || pcd.getDescendantPValues().isEmpty()) ||
-
-            /*(pcd.getSelfPValues() == null || pcd.getSelfPValues().isEmpty()) &&*/
-            (pcd.getParentPValues() != null && !pcd.getParentPValues().isEmpty()) &&
-            (pcd.getDescendantPValues() == null || pcd.getDescendantPValues().isEmpty()) ||
-
-            /*(pcd.getSelfPValues() == null || pcd.getSelfPValues().isEmpty()) &&*/
-            (pcd.getParentPValues() == null || pcd.getParentPValues().isEmpty()) &&
-            (pcd.getDescendantPValues() != null && !pcd.getDescendantPValues().isEmpty())));
-
-
+            pcd.getParentObservations().length == 0 || pcd.getDescendantObservations().length == 0);
+        //All the PipelineCallData of a gene share the same SamplePValueTable
+        assert pipelineCallData.stream().map(pcd -> pcd.getPValueTable()).distinct().count() == 1;
+        SamplePValueTable pValueTable = pipelineCallData.iterator().next().getPValueTable();
 
         //Rank info: computed by the Perl pipeline after insertion of these global calls
 //        BigDecimal rank = null;
@@ -3035,40 +3250,32 @@ public class InsertPropagatedCalls extends CallService {
 
 
         EnumSet<CallService.Attribute> allCondParams = CallService.Attribute.getAllConditionParameters();
-        //We map to PipelineSamplePValueTO because it implements hashCode/equals,
-        //taking into account the experiment and sample IDs, so that we can be sure
-        //we don't count a p-value coming from a same observation several times.
-        Map<EnumSet<CallService.Attribute>, Set<PipelineSamplePValueTO<?, ?>>> selfPValuesPerCondParamComb =
-                pipelineCallData.stream()
-                .flatMap(pcd -> pcd.getSelfPValuesPerCondParamCombinations().entrySet().stream())
+        //Observations are identified by their index in the SamplePValueTable, taking into account
+        //the experiment and sample IDs, so that we can be sure we don't count a p-value
+        //coming from a same observation several times.
+        Map<EnumSet<CallService.Attribute>, int[]> selfObservationsPerCondParamComb =
+                ALL_COND_PARAM_COMBINATIONS.stream()
                 .collect(Collectors.toMap(
-                        e -> e.getKey(),
-                        e -> e.getValue().stream().map(p -> new PipelineSamplePValueTO<>(p))
-                        .collect(Collectors.toSet()),
-                        (v1, v2) -> {v1.addAll(v2); return v1;}));
-        Set<PipelineSamplePValueTO<?, ?>> descendantPValues = pipelineCallData.stream()
-                .flatMap(pcd -> pcd.getDescendantPValues().stream()
-                        .map(p -> new PipelineSamplePValueTO<>(p)))
-                .collect(Collectors.toSet());
-        Set<PipelineSamplePValueTO<?, ?>> selfPValues = selfPValuesPerCondParamComb.get(allCondParams);
-
-        assert Stream.concat(selfPValues.stream(), descendantPValues.stream())
-        .collect(Collectors.toSet()).containsAll(selfPValuesPerCondParamComb.values().stream()
-                .flatMap(s -> s.stream()).collect(Collectors.toSet()));
-        if (!Collections.disjoint(selfPValues, descendantPValues)) {
-            selfPValues.retainAll(descendantPValues);
+                        comb -> comb,
+                        comb -> SamplePValueTable.union(pipelineCallData.stream()
+                                .map(pcd -> pcd.getSelfObservations(comb))
+                                .collect(Collectors.toList()))));
+        int[] descendantObservations = SamplePValueTable.union(pipelineCallData.stream()
+                .map(pcd -> pcd.getDescendantObservations())
+                .collect(Collectors.toList()));
+        int[] selfObservations = selfObservationsPerCondParamComb.get(allCondParams);
+
+        if (!SamplePValueTable.disjoint(selfObservations, descendantObservations)) {
             throw log.throwing(new IllegalStateException(
-                    "self and desendant p-values should always be disjoined, p-values in common: "
-                    + selfPValues));
+                    "self and desendant p-values should always be disjoined, self observations: "
+                    + Arrays.toString(selfObservations) + " - descendant observations: "
+                    + Arrays.toString(descendantObservations)));
         }
         
         Map<EnumSet<CallService.Attribute>, Integer> selfObservationCounts =
-                selfPValuesPerCondParamComb.entrySet().stream()
-                .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().size()));
+                selfObservationsPerCondParamComb.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().length));
         assert selfObservationCounts.keySet().contains(CallService.Attribute.getAllConditionParameters());
-        //We collect to a List to not eliminate equals pvalues
-        List<BigDecimal> mappedDescendantPValues = descendantPValues.stream().map(p -> p.getpValue())
-                .collect(Collectors.toList());
         //For descendant observation counts, we store in database only the count
         //for all condition parameters. But for creating the DataPropagation object
         //we need to have the same keyset in both Maps.
@@ -3076,40 +3283,47 @@ public class InsertPropagatedCalls extends CallService {
                 selfObservationCounts.keySet().stream().collect(Collectors.toMap(
                         k -> k,
                         k -> k.equals(CallService.Attribute.getAllConditionParameters())?
-                                mappedDescendantPValues.size(): 0));
+                                descendantObservations.length: 0));
         DataPropagation dataProp = new DataPropagation(selfObservationCounts,
                 descendantObservationCounts);
 
+        //We use an array to not eliminate equals pvalues
+        double[] pValues = new double[selfObservations.length + descendantObservations.length];
+        int i = 0;
+        for (int obs: selfObservations) {
+            pValues[i++] = pValueTable.getPValue(obs);
+        }
+        for (int obs: descendantObservations) {
+            pValues[i++] = pValueTable.getPValue(obs);
+        }
+
         log.trace(COMPUTE_MARKER, "ExpressionCallData to be created: {} - {} - {} - {}",
-                dataType, selfPValuesPerCondParamComb, descendantPValues, dataProp);
-        return log.traceExit(new ExpressionCallData(dataType,
-                //We collect to a List to not eliminate equals pvalues
-                selfPValues.stream().map(p -> p.getpValue()).collect(Collectors.toList()),
-                mappedDescendantPValues,
-                null, null, null,
-                dataProp));
+                dataType, selfObservationCounts, descendantObservations.length, dataProp);
+        //The p-values are only needed to compute the FDR-corrected p-values,
+        //we don't store them in the ExpressionCallData to save memory
+        return log.traceExit(new AbstractMap.SimpleEntry<>(new ExpressionCallData(dataType,
+                null, null, null, null, null, null, null, dataProp), pValues));
     }
 
     //*************************************************************************
     // METHODS MAPPING dao-api objects to bgee-core objects
     //*************************************************************************
 
-    private static Set<PipelineCallData<?, ?>> mapExpExprTOsToPipelineCallData(
+    private static Set<PipelineCallData> mapExpExprTOsToPipelineCallData(
         Map<DataType, Set<SamplePValueTO<?, ?>>> pValuesByDataTypes,
-        Set<ConditionDAO.Attribute> condParams) {
-        log.traceEntry("{}, {}, {}", pValuesByDataTypes, condParams);
+        SamplePValueTable pValueTable, Set<ConditionDAO.Attribute> condParams) {
+        log.traceEntry("{}, {}, {}", pValuesByDataTypes, pValueTable, condParams);
         EnumSet<DataType> dataTypes = EnumSet.noneOf(DataType.class);
         dataTypes.addAll(pValuesByDataTypes.keySet());
         return log.traceExit(dataTypes.stream()
             .map(dt -> {
-                return new PipelineCallData<>(
-                        dt, null,
-                        CallService.Attribute.getAllPossibleCondParamCombinations().stream()
-                        .collect(Collectors.toMap(comb -> comb ,
-                                comb -> pValuesByDataTypes.get(dt).stream()
-                                        .map(pval -> pval)
-                                        .collect(Collectors.toSet()))),
-                        null);
+                int[] observations = pValuesByDataTypes.get(dt).stream()
+                        .mapToInt(pval -> pValueTable.register(dt, pval))
+                        .sorted().distinct().toArray();
+                //Source calls have the same "self" observations for all combinations
+                //of condition parameters
+                return new PipelineCallData(dt, pValueTable, null, observations,
+                        ALL_COND_PARAM_COMBINATIONS, null);
 //                switch(dt) {
 //                case EST:
 //                case IN_SITU:
@@ -3161,7 +3375,7 @@ public class InsertPropagatedCalls extends CallService {
                 mapRawDataConditionToCondition(cond),
                 // At this point, we do not generate data state, quality, and CallData,
                 // as we haven't reconcile data.
-                Collections.singleton(callTO)));
+                RawCallSources.of(callTO.getId(), callTO.getConditionId())));
     }
 
     private static Condition mapRawDataConditionToCondition(RawDataCondition rawCond) {
@@ -3205,8 +3419,8 @@ public class InsertPropagatedCalls extends CallService {
 //     *                          {@code ExperimentExpressionTO}s
 //     * @return                  The {@code int} that is the number of experiments for a combination.
 //     */
-//    private static int getSpecificCount(Set<PipelineCallData<?, ?>> pipelineCallData,
-//            Function<PipelineCallData<?, ?>, Set<ExperimentExpressionTO>> funCallDataToEETO,
+//    private static int getSpecificCount(Set<PipelineCallData> pipelineCallData,
+//            Function<PipelineCallData, Set<ExperimentExpressionTO>> funCallDataToEETO,
 //            CallDirection callDirection, CallQuality callQuality) {
 //        log.traceEntry("{}, {}, {}, {}", pipelineCallData, funCallDataToEETO, callQuality, callDirection);
 //        
@@ -3223,8 +3437,8 @@ public class InsertPropagatedCalls extends CallService {
 //            .count());
 //    }
 //    
-//    private static Set<ExperimentExpressionTO> getBestSelectedEETOs(Set<PipelineCallData<?, ?>> pipelineCallData,
-//            Function<PipelineCallData<?, ?>, Set<ExperimentExpressionTO>> funCallDataToEETO) {
+//    private static Set<ExperimentExpressionTO> getBestSelectedEETOs(Set<PipelineCallData> pipelineCallData,
+//            Function<PipelineCallData, Set<ExperimentExpressionTO>> funCallDataToEETO) {
 //        log.traceEntry("{}, {}", pipelineCallData, funCallDataToEETO);
 //        if (pipelineCallData == null || pipelineCallData.isEmpty()) {
 //            return log.traceExit(new HashSet<>());
@@ -3248,7 +3462,7 @@ public class InsertPropagatedCalls extends CallService {
 //     *                          {@code ExperimentExpressionTO}s
 //     * @return                  The {@code int} that is the number of experiments for total counts.
 //     */
-//    private static int getTotalCount(Set<PipelineCallData<?, ?>> pipelineCallData,
+//    private static int getTotalCount(Set<PipelineCallData> pipelineCallData,
 //            final CallDirection callDirection, CallQuality callQuality) {
 //        log.traceEntry("{}, {}, {}", pipelineCallData, callQuality, callDirection);
 //
@@ -3272,7 +3486,7 @@ public class InsertPropagatedCalls extends CallService {
 //     * @param pipelineCallData
 //     * @return
 //     */
-//    private static Set<ExperimentExpressionTO> getBestTotalEETOs(Set<PipelineCallData<?, ?>> pipelineCallData) {
+//    private static Set<ExperimentExpressionTO> getBestTotalEETOs(Set<PipelineCallData> pipelineCallData) {
 //        log.traceEntry("{}", pipelineCallData);
 //        if (pipelineCallData == null || pipelineCallData.isEmpty()) {
 //            return log.traceExit(new HashSet<>());
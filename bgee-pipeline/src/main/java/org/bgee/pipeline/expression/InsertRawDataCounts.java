@@ -0,0 +1,126 @@
+package org.bgee.pipeline.expression;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.DAODataType;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataConditionDAO;
+import org.bgee.model.dao.api.expressiondata.rawdata.RawDataCountDAO;
+import org.bgee.model.dao.api.species.SpeciesDAO.SpeciesTO;
+import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
+import org.bgee.pipeline.CommandRunner;
+import org.bgee.pipeline.MySQLDAOUser;
+
+/**
+ * Precomputes, for each species and each data type, the counts of raw data and the raw
+ * conditions used in annotations, so that the count of results and the post-filters
+ * of raw data queries targeting a species with no other filtering are retrieved
+ * without scanning the raw data tables (see
+ * {@link RawDataCountDAO#insertPrecomputedRawDataCounts(int, DAODataType)} and
+ * {@link RawDataConditionDAO#insertPrecomputedRawDataConditions(int, DAODataType)}).
+ * Distinct counts cannot be summed over species, so that they are precomputed per species.
+ * <p>
+ * This class must be used after the insertion of the raw data.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class InsertRawDataCounts extends MySQLDAOUser {
+    private final static Logger log = LogManager.getLogger(InsertRawDataCounts.class.getName());
+
+    /**
+     * Main method to trigger the insertion of the precomputed raw data counts and conditions.
+     * Parameters that must be provided in order in {@code args} are:
+     * <ol>
+     * <li>a list of NCBI species IDs (e.g., {@code 9606} for human) to compute the counts for,
+     * separated by the {@code String} {@link CommandRunner#LIST_SEPARATOR}. If empty
+     * (see {@link CommandRunner#EMPTY_LIST}), the counts are computed for all species
+     * in database.
+     * </ol>
+     *
+     * @param args  An {@code Array} of {@code String}s containing the requested parameters.
+     */
+    public static void main(String[] args) {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 1;
+        if (args.length != expectedArgLength) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " arguments, " + args.length
+                    + " provided."));
+        }
+        InsertRawDataCounts insert = new InsertRawDataCounts();
+        try {
+            insert.insertCounts(CommandRunner.parseListArgumentAsInt(args[0]));
+        } finally {
+            insert.getManager().releaseResources();
+        }
+
+        log.traceExit();
+    }
+
+    /**
+     * Default constructor using the default {@code MySQLDAOManager}.
+     */
+    public InsertRawDataCounts() {
+        this(null);
+    }
+    /**
+     * @param manager   The {@code MySQLDAOManager} to use.
+     */
+    public InsertRawDataCounts(MySQLDAOManager manager) {
+        super(manager);
+    }
+
+    /**
+     * Computes and inserts the counts of raw data and the raw conditions used in annotations,
+     * for each requested species and each data type. For a same species and data type,
+     * the conditions and the counts are inserted in a same transaction, so that
+     * the presence of the counts implies the presence of the conditions.
+     *
+     * @param speciesIds    A {@code Collection} of {@code Integer}s that are the IDs
+     *                      of the species to compute the counts for. If {@code null}
+     *                      or empty, the counts are computed for all species in database.
+     * @return              An {@code int} that is the number of counts inserted.
+     * @throws IllegalArgumentException If some requested species were not found in database.
+     */
+    public int insertCounts(Collection<Integer> speciesIds) throws IllegalArgumentException {
+        log.traceEntry("{}", speciesIds);
+
+        Set<Integer> speciesIdsInDb = this.getSpeciesDAO().getAllSpecies(null).stream()
+                .map(SpeciesTO::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Integer> requestedSpeciesIds = speciesIds == null || speciesIds.isEmpty()?
+                speciesIdsInDb: new LinkedHashSet<>(speciesIds);
+        if (!speciesIdsInDb.containsAll(requestedSpeciesIds)) {
+            List<Integer> missingIds = requestedSpeciesIds.stream()
+                    .filter(id -> !speciesIdsInDb.contains(id))
+                    .collect(Collectors.toList());
+            throw log.throwing(new IllegalArgumentException(
+                    "Some species were not found in database: " + missingIds));
+        }
+
+        RawDataCountDAO countDAO = this.getManager().getRawDataCountDAO();
+        RawDataConditionDAO condDAO = this.getManager().getRawDataConditionDAO();
+        int countInserted = 0;
+        for (int speciesId: requestedSpeciesIds) {
+            for (DAODataType dataType: EnumSet.allOf(DAODataType.class)) {
+                log.info("Computing raw data counts for species {} and data type {}",
+                        speciesId, dataType);
+                this.startTransaction();
+                int condInserted = condDAO.insertPrecomputedRawDataConditions(speciesId, dataType);
+                countInserted += countDAO.insertPrecomputedRawDataCounts(speciesId, dataType);
+                this.commit();
+                log.info("{} conditions inserted", condInserted);
+            }
+        }
+        return log.traceExit(countInserted);
+    }
+}
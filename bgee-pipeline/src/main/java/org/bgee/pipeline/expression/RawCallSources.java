@@ -0,0 +1,168 @@
+package org.bgee.pipeline.expression;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An immutable set of references to raw expression calls, used as sources of the calls
+ * generated by {@link InsertPropagatedCalls}. Rather than storing {@code RawExpressionCallTO}s
+ * in {@code HashSet}s, the expression IDs and raw condition IDs are stored in struct-of-arrays form,
+ * as primitive arrays sorted by expression ID and without duplicates. As instances are immutable,
+ * a same instance can be shared by all the calls propagated from a same source call,
+ * without defensive copying.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+final class RawCallSources {
+    private final static Logger log = LogManager.getLogger(RawCallSources.class.getName());
+
+    /**
+     * A {@code RawCallSources} containing no reference.
+     */
+    static final RawCallSources EMPTY = new RawCallSources(new long[0], new int[0]);
+
+    /**
+     * @param expressionId      A {@code long} that is the ID of a raw expression call.
+     * @param rawConditionId    An {@code int} that is the ID of the raw condition
+     *                          of the raw expression call.
+     * @return                  A {@code RawCallSources} containing only the reference
+     *                          to the requested raw expression call.
+     */
+    static RawCallSources of(long expressionId, int rawConditionId) {
+        return new RawCallSources(new long[]{expressionId}, new int[]{rawConditionId});
+    }
+    /**
+     * Merges {@code RawCallSources}, discarding duplicated references.
+     *
+     * @param sources   A {@code Collection} of {@code RawCallSources} to merge.
+     *                  Can contain {@code null} elements.
+     * @return          A {@code RawCallSources} containing all the references
+     *                  in {@code sources}.
+     */
+    static RawCallSources union(Collection<RawCallSources> sources) {
+        log.traceEntry("{}", sources);
+        RawCallSources single = null;
+        int totalSize = 0;
+        for (RawCallSources s: sources) {
+            if (s == null || s.isEmpty()) {
+                continue;
+            }
+            //Avoid creating new arrays when there is only one non-empty element
+            single = totalSize == 0? s: null;
+            totalSize += s.size();
+        }
+        if (totalSize == 0) {
+            return log.traceExit(EMPTY);
+        }
+        if (single != null) {
+            return log.traceExit(single);
+        }
+        long[] expressionIds = new long[totalSize];
+        int[] rawConditionIds = new int[totalSize];
+        int size = 0;
+        for (RawCallSources s: sources) {
+            if (s == null || s.isEmpty()) {
+                continue;
+            }
+            size = merge(expressionIds, rawConditionIds, size, s);
+        }
+        return log.traceExit(new RawCallSources(
+                size == totalSize? expressionIds: Arrays.copyOf(expressionIds, size),
+                size == totalSize? rawConditionIds: Arrays.copyOf(rawConditionIds, size)));
+    }
+    /**
+     * Merges the sorted references of {@code s} into the sorted references stored
+     * in the first {@code size} elements of the provided arrays.
+     *
+     * @return  An {@code int} that is the number of elements in the arrays after the merge.
+     */
+    private static int merge(long[] expressionIds, int[] rawConditionIds, int size, RawCallSources s) {
+        //We merge starting from the end of the arrays, to merge in place.
+        //First we count the number of new elements
+        int newCount = 0;
+        int i = 0;
+        int j = 0;
+        while (j < s.size()) {
+            if (i < size && expressionIds[i] < s.expressionIds[j]) {
+                i++;
+            } else if (i < size && expressionIds[i] == s.expressionIds[j]) {
+                i++;
+                j++;
+            } else {
+                newCount++;
+                j++;
+            }
+        }
+        int write = size + newCount - 1;
+        i = size - 1;
+        j = s.size() - 1;
+        while (j >= 0) {
+            if (i >= 0 && expressionIds[i] > s.expressionIds[j]) {
+                expressionIds[write] = expressionIds[i];
+                rawConditionIds[write] = rawConditionIds[i];
+                i--;
+            } else {
+                if (i >= 0 && expressionIds[i] == s.expressionIds[j]) {
+                    i--;
+                }
+                expressionIds[write] = s.expressionIds[j];
+                rawConditionIds[write] = s.rawConditionIds[j];
+                j--;
+            }
+            write--;
+        }
+        return size + newCount;
+    }
+
+    private final long[] expressionIds;
+    private final int[] rawConditionIds;
+
+    private RawCallSources(long[] expressionIds, int[] rawConditionIds) {
+        assert expressionIds.length == rawConditionIds.length;
+        this.expressionIds = expressionIds;
+        this.rawConditionIds = rawConditionIds;
+    }
+
+    /**
+     * @return  An {@code int} that is the number of raw expression calls referenced.
+     */
+    int size() {
+        return this.expressionIds.length;
+    }
+    /**
+     * @return  {@code true} if no raw expression call is referenced.
+     */
+    boolean isEmpty() {
+        return this.expressionIds.length == 0;
+    }
+    /**
+     * @param index An {@code int} that is the index of the reference, between 0 (inclusive)
+     *              and {@link #size()} (exclusive).
+     * @return      A {@code long} that is the ID of the raw expression call at {@code index}.
+     */
+    long getExpressionId(int index) {
+        return this.expressionIds[index];
+    }
+    /**
+     * @param index An {@code int} that is the index of the reference, between 0 (inclusive)
+     *              and {@link #size()} (exclusive).
+     * @return      An {@code int} that is the ID of the raw condition of the raw expression call
+     *              at {@code index}.
+     */
+    int getRawConditionId(int index) {
+        return this.rawConditionIds[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("RawCallSources [expressionIds=").append(Arrays.toString(expressionIds))
+               .append(", rawConditionIds=").append(Arrays.toString(rawConditionIds))
+               .append("]");
+        return builder.toString();
+    }
+}
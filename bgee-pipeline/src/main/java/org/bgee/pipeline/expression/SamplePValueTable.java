@@ -0,0 +1,200 @@
+package org.bgee.pipeline.expression;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.rawdata.SamplePValueDAO.SamplePValueTO;
+import org.bgee.model.expressiondata.baseelements.DataType;
+
+/**
+ * Stores the p-values of the sample observations used during the propagation of the calls
+ * of a gene, in struct-of-arrays form. Each distinct observation (defined by its data type,
+ * its expression ID, its experiment ID and its sample ID, as in
+ * {@link InsertPropagatedCalls.PipelineSamplePValueTO}) is assigned an {@code int} index
+ * when registered, and its p-value is stored as a {@code double} at this index.
+ * Sets of observations can then be represented as sorted {@code int} arrays of indexes
+ * (see {@link #union(Collection)}), rather than as {@code Set}s of {@code SamplePValueTO}s.
+ * <p>
+ * Once all observations of a gene are registered, {@link #compact()} releases the structures
+ * only needed for registration. This class is not thread-safe.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+final class SamplePValueTable {
+    private final static Logger log = LogManager.getLogger(SamplePValueTable.class.getName());
+
+    /**
+     * An empty {@code int} array, to use for empty sets of observations.
+     */
+    static final int[] EMPTY = new int[0];
+
+    /**
+     * Merges sets of observations, discarding duplicates.
+     *
+     * @param observations  A {@code Collection} of {@code int} arrays, each containing
+     *                      sorted indexes of observations, without duplicates.
+     *                      Can contain {@code null} elements.
+     * @return              An {@code int} array containing the sorted indexes
+     *                      of all observations, without duplicates.
+     */
+    static int[] union(Collection<int[]> observations) {
+        log.traceEntry("{}", observations);
+        int[] single = null;
+        int totalSize = 0;
+        for (int[] obs: observations) {
+            if (obs == null || obs.length == 0) {
+                continue;
+            }
+            single = totalSize == 0? obs: null;
+            totalSize += obs.length;
+        }
+        if (totalSize == 0) {
+            return log.traceExit(EMPTY);
+        }
+        if (single != null) {
+            return log.traceExit(single);
+        }
+        int[] all = new int[totalSize];
+        int pos = 0;
+        for (int[] obs: observations) {
+            if (obs == null) {
+                continue;
+            }
+            System.arraycopy(obs, 0, all, pos, obs.length);
+            pos += obs.length;
+        }
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (size == 0 || all[size - 1] != all[i]) {
+                all[size++] = all[i];
+            }
+        }
+        return log.traceExit(size == all.length? all: Arrays.copyOf(all, size));
+    }
+    /**
+     * @param obs1  An {@code int} array containing sorted indexes of observations.
+     * @param obs2  An {@code int} array containing sorted indexes of observations.
+     * @return      {@code true} if no observation is present in both arrays.
+     */
+    static boolean disjoint(int[] obs1, int[] obs2) {
+        int i = 0;
+        int j = 0;
+        while (i < obs1.length && j < obs2.length) {
+            if (obs1[i] == obs2[j]) {
+                return false;
+            }
+            if (obs1[i] < obs2[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Key used to identify an observation at registration.
+     */
+    private static final class ObservationKey {
+        private final DataType dataType;
+        private final Long expressionId;
+        private final Object experimentId;
+        private final Object sampleId;
+        private final int hashCode;
+
+        private ObservationKey(DataType dataType, SamplePValueTO<?, ?> to) {
+            this.dataType = dataType;
+            this.expressionId = to.getExpressionId();
+            this.experimentId = to.getExperimentId();
+            this.sampleId = to.getSampleId();
+            this.hashCode = Objects.hash(dataType, expressionId, experimentId, sampleId);
+        }
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ObservationKey)) {
+                return false;
+            }
+            ObservationKey other = (ObservationKey) obj;
+            return this.dataType == other.dataType &&
+                    Objects.equals(this.expressionId, other.expressionId) &&
+                    Objects.equals(this.experimentId, other.experimentId) &&
+                    Objects.equals(this.sampleId, other.sampleId);
+        }
+    }
+
+    private Map<ObservationKey, Integer> indexes;
+    private double[] pValues;
+    private int size;
+
+    SamplePValueTable() {
+        this.indexes = new HashMap<>();
+        this.pValues = new double[64];
+        this.size = 0;
+    }
+
+    /**
+     * Registers a sample observation, if not already registered.
+     *
+     * @param dataType  The {@code DataType} of the observation.
+     * @param to        The {@code SamplePValueTO} of the observation.
+     * @return          An {@code int} that is the index of the observation.
+     * @throws IllegalStateException    If {@link #compact()} was already called.
+     */
+    int register(DataType dataType, SamplePValueTO<?, ?> to) throws IllegalStateException {
+        if (this.indexes == null) {
+            throw log.throwing(new IllegalStateException("Table already compacted"));
+        }
+        ObservationKey key = new ObservationKey(dataType, to);
+        Integer existing = this.indexes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (this.size == this.pValues.length) {
+            this.pValues = Arrays.copyOf(this.pValues, this.size << 1);
+        }
+        this.pValues[this.size] = to.getpValue().doubleValue();
+        this.indexes.put(key, this.size);
+        return this.size++;
+    }
+    /**
+     * Releases the structures used for registering observations.
+     * No more observations can be registered afterwards.
+     */
+    void compact() {
+        this.indexes = null;
+        if (this.pValues.length > this.size) {
+            this.pValues = Arrays.copyOf(this.pValues, this.size);
+        }
+    }
+
+    /**
+     * @param index An {@code int} that is the index of a registered observation.
+     * @return      A {@code double} that is the p-value of the observation.
+     */
+    double getPValue(int index) {
+        if (index >= this.size) {
+            throw log.throwing(new IndexOutOfBoundsException("Unregistered observation: " + index));
+        }
+        return this.pValues[index];
+    }
+    /**
+     * @return  An {@code int} that is the number of observations registered.
+     */
+    int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,225 @@
+package org.bgee.pipeline.expression.downloadfile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@code Writer} producing a gzip-compressed download file. Data are encoded in UTF-8,
+ * compressed on the fly using a {@link ParallelGzipOutputStream}, and written
+ * to a temporary file located next to the requested file. The MD5 checksum
+ * and the size of the compressed file are computed while the data are written,
+ * so that the file never needs to be read back.
+ * <p>
+ * Once all data are written, {@link #publish()} atomically moves the temporary file
+ * to its final location, together with a checksum file in the format used by {@code md5sum}.
+ * If an error occurred, {@link #discard()} removes the temporary file. A typical usage is:
+ * <pre>
+ * CompressedDownloadFileWriter fileWriter = new CompressedDownloadFileWriter(path);
+ * try (ICsvMapWriter mapWriter = new CsvMapWriter(fileWriter, preference)) {
+ *     //write rows
+ * } catch (Exception e) {
+ *     fileWriter.discard();
+ *     throw e;
+ * }
+ * fileWriter.publish();
+ * </pre>
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class CompressedDownloadFileWriter extends Writer {
+    private final static Logger log = LogManager.getLogger(CompressedDownloadFileWriter.class.getName());
+
+    /**
+     * A {@code String} that is the extension of gzip-compressed files.
+     */
+    public final static String COMPRESSED_EXTENSION = ".gz";
+    /**
+     * A {@code String} that is the extension of the files storing the MD5 checksum
+     * of the published files.
+     */
+    public final static String CHECKSUM_EXTENSION = ".md5";
+    /**
+     * A {@code String} that is the extension of the temporary files written
+     * before publication.
+     */
+    private final static String TMP_EXTENSION = ".tmp";
+
+    /**
+     * A {@code Path} that is the final location of the compressed file.
+     */
+    private final Path file;
+    /**
+     * A {@code Path} that is the temporary file the data are written to.
+     */
+    private final Path tmpFile;
+    private final DigestOutputStream digestStream;
+    private final ParallelGzipOutputStream gzipStream;
+    private final Writer writer;
+
+    private String checksum;
+    private boolean closed;
+
+    /**
+     * Constructor compressing data with as many threads as available processors.
+     *
+     * @param file          A {@code Path} that is the final location of the compressed file.
+     *                      Any existing temporary file for this location is overwritten.
+     * @throws IOException  If the temporary file could not be created.
+     */
+    public CompressedDownloadFileWriter(Path file) throws IOException {
+        this(file, Runtime.getRuntime().availableProcessors());
+    }
+    /**
+     * @param file          A {@code Path} that is the final location of the compressed file.
+     *                      Any existing temporary file for this location is overwritten.
+     * @param threadCount   An {@code int} that is the number of threads used for compression.
+     * @throws IOException  If the temporary file could not be created.
+     */
+    public CompressedDownloadFileWriter(Path file, int threadCount) throws IOException {
+        if (file == null) {
+            throw log.throwing(new IllegalArgumentException("A file must be provided"));
+        }
+        this.file = file;
+        this.tmpFile = file.resolveSibling(file.getFileName() + TMP_EXTENSION);
+        MessageDigest md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            //MD5 is always available on any Java platform
+            throw log.throwing(new IllegalStateException(e));
+        }
+        this.digestStream = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(this.tmpFile), 64 * 1024), md5);
+        this.gzipStream = new ParallelGzipOutputStream(this.digestStream,
+                ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE, threadCount);
+        this.writer = new OutputStreamWriter(this.gzipStream, StandardCharsets.UTF_8);
+        this.checksum = null;
+        this.closed = false;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        this.writer.write(cbuf, off, len);
+    }
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        this.writer.write(str, off, len);
+    }
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+    /**
+     * Terminates the compression and closes the temporary file. This method does not
+     * publish the file, see {@link #publish()}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.writer.close();
+        StringBuilder sb = new StringBuilder();
+        for (byte b: this.digestStream.getMessageDigest().digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        this.checksum = sb.toString();
+    }
+
+    /**
+     * Closes this {@code Writer} if needed, then moves the temporary file to its final location
+     * and writes the associated checksum file. If a previous version of the file existed,
+     * it is atomically replaced.
+     *
+     * @throws IOException  If an error occurred while finishing the compression
+     *                      or moving the files.
+     */
+    public void publish() throws IOException {
+        log.traceEntry();
+        this.close();
+
+        Path checksumFile = this.file.resolveSibling(this.file.getFileName() + CHECKSUM_EXTENSION);
+        Path tmpChecksumFile = checksumFile.resolveSibling(checksumFile.getFileName() + TMP_EXTENSION);
+        Files.write(tmpChecksumFile, (this.checksum + "  " + this.file.getFileName() + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        move(this.tmpFile, this.file);
+        move(tmpChecksumFile, checksumFile);
+
+        log.info("File {} published: {} bytes ({} bytes uncompressed), MD5 checksum {}",
+                this.file, this.getCompressedSize(), this.getUncompressedSize(), this.checksum);
+        log.traceExit();
+    }
+    /**
+     * Closes this {@code Writer} if needed and deletes the temporary file.
+     * Any error is logged but not rethrown, so that this method can be called
+     * from error handling code.
+     */
+    public void discard() {
+        log.traceEntry();
+        try {
+            this.close();
+        } catch (IOException e) {
+            log.catching(e);
+        }
+        try {
+            Files.deleteIfExists(this.tmpFile);
+        } catch (IOException e) {
+            log.catching(e);
+        }
+        log.traceExit();
+    }
+
+    /**
+     * @return  A {@code Path} that is the final location of the compressed file.
+     */
+    public Path getFile() {
+        return this.file;
+    }
+    /**
+     * @return  A {@code long} that is the size in bytes of the compressed file,
+     *          as stored for the {@code DownloadFile}s.
+     */
+    public long getCompressedSize() {
+        return this.gzipStream.getCompressedSize();
+    }
+    /**
+     * @return  A {@code long} that is the number of bytes of UTF-8 encoded data
+     *          written before compression.
+     */
+    public long getUncompressedSize() {
+        return this.gzipStream.getUncompressedSize();
+    }
+    /**
+     * @return  A {@code String} that is the hexadecimal MD5 checksum of the compressed file,
+     *          {@code null} if this {@code Writer} was not closed yet.
+     */
+    public String getChecksum() {
+        return this.checksum;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        log.traceEntry("{}, {}", source, target);
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move not supported, standard move used for {}", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.traceExit();
+    }
+}
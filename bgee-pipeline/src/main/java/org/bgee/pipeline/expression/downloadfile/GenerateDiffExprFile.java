@@ -1,7 +1,5 @@
 package org.bgee.pipeline.expression.downloadfile;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -506,13 +504,11 @@ public class GenerateDiffExprFile extends GenerateDownloadFile {
         //for setting ORDER BY clause - it seems the best way to go, rather than storing 
         //results in memory just by laziness of creating this mechanism :p)
         
-        //OK, first we allow to store file names, writers, etc, associated to a DiffExprFileType, 
-        //for the catch and finally clauses. 
-        Map<FileType, String> generatedFileNames = new HashMap<FileType, String>();
-        
-        //we will write results in temporary files that we will rename at the end 
-        //if everything is correct
-        String tmpExtension = ".tmp";
+        //OK, first we allow to store file writers associated to a DiffExprFileType, 
+        //for the catch and finally clauses. Files are compressed while written 
+        //into temporary files, that we will publish at the end if everything is correct
+        Map<SingleSpDiffExprFileType, CompressedDownloadFileWriter> fileWriters = 
+                new HashMap<SingleSpDiffExprFileType, CompressedDownloadFileWriter>();
         
         //in order to close all writers in a finally clause
         Map<SingleSpDiffExprFileType, ICsvMapWriter> writersUsed = 
@@ -538,20 +534,16 @@ public class GenerateDiffExprFile extends GenerateDownloadFile {
                 //Create file name
                 String fileName = this.formatString(fileNamePrefix + "_" + 
                         fileType.getStringRepresentation() + EXTENSION);
-                generatedFileNames.put(fileType, fileName);
                 
-                //write in temp file
-                File file = new File(this.directory, fileName + tmpExtension);
-                //override any existing file
-                if (file.exists()) {
-                    file.delete();
-                }
+                //write in compressed temp file, overriding any existing file
+                CompressedDownloadFileWriter fileWriter = this.createCompressedFileWriter(fileName);
+                fileWriters.put(fileType, fileWriter);
                 
                 //create writer and write header
-                ICsvMapWriter mapWriter = new CsvMapWriter(new FileWriter(file), 
+                ICsvMapWriter mapWriter = new CsvMapWriter(fileWriter, 
                         Utils.getCsvPreferenceWithQuote(this.generateQuoteMode(fileTypeHeaders)));
-                mapWriter.writeHeader(fileTypeHeaders);
                 writersUsed.put(fileType, mapWriter);
+                mapWriter.writeHeader(fileTypeHeaders);
             }
             
             //****************************
@@ -562,15 +554,15 @@ public class GenerateDiffExprFile extends GenerateDownloadFile {
                     writersUsed, processors, headers, diffExprTOs);
     
         } catch (Exception e) {
-            this.deleteTempFiles(generatedFileNames, tmpExtension);
+            this.discardFiles(fileWriters.values());
             throw e;
         } finally {
             for (ICsvMapWriter writer: writersUsed.values()) {
                 writer.close();
             }
         }
-        //now, if everything went fine, we rename the temporary files
-        this.renameTempFiles(generatedFileNames, tmpExtension);
+        //now, if everything went fine, we publish the compressed files
+        this.publishFiles(fileWriters.values());
     
         log.traceExit();
     }
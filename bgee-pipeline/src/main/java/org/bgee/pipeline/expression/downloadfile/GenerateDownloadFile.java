@@ -1,6 +1,8 @@
 package org.bgee.pipeline.expression.downloadfile;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -905,6 +907,56 @@ public abstract class GenerateDownloadFile extends MySQLDAOUser {
         log.traceExit();
     }
 
+    /**
+     * Create a {@code CompressedDownloadFileWriter} writing a gzip-compressed file
+     * in the directory provided at instantiation. The name of the compressed file is
+     * {@code fileName} followed by {@link CompressedDownloadFileWriter#COMPRESSED_EXTENSION}.
+     *
+     * @param fileName      A {@code String} that is the name of the uncompressed file.
+     * @return              A {@code CompressedDownloadFileWriter} to write the file.
+     * @throws IOException  If the temporary file could not be created.
+     * @see #publishFiles(Collection)
+     * @see #discardFiles(Collection)
+     */
+    protected CompressedDownloadFileWriter createCompressedFileWriter(String fileName)
+            throws IOException {
+        log.traceEntry("{}", fileName);
+        return log.traceExit(new CompressedDownloadFileWriter(Paths.get(this.directory,
+                fileName + CompressedDownloadFileWriter.COMPRESSED_EXTENSION)));
+    }
+
+    /**
+     * Publish the compressed files written by the provided {@code CompressedDownloadFileWriter}s,
+     * see {@link CompressedDownloadFileWriter#publish()}.
+     *
+     * @param fileWriters   A {@code Collection} of {@code CompressedDownloadFileWriter}s
+     *                      used to write the files to publish.
+     * @throws IOException  If a file could not be published.
+     */
+    protected void publishFiles(Collection<CompressedDownloadFileWriter> fileWriters)
+            throws IOException {
+        log.traceEntry("{}", fileWriters);
+        for (CompressedDownloadFileWriter fileWriter: fileWriters) {
+            fileWriter.publish();
+        }
+        log.traceExit();
+    }
+
+    /**
+     * Delete the temporary files written by the provided {@code CompressedDownloadFileWriter}s,
+     * see {@link CompressedDownloadFileWriter#discard()}.
+     *
+     * @param fileWriters   A {@code Collection} of {@code CompressedDownloadFileWriter}s
+     *                      used to write the files to discard.
+     */
+    protected void discardFiles(Collection<CompressedDownloadFileWriter> fileWriters) {
+        log.traceEntry("{}", fileWriters);
+        for (CompressedDownloadFileWriter fileWriter: fileWriters) {
+            fileWriter.discard();
+        }
+        log.traceExit();
+    }
+
     /**
      * Delete temporary files from directory provided at instantiation. 
      *
@@ -1,5 +1,6 @@
 package org.bgee.pipeline.expression.downloadfile;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -7,8 +8,6 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -17,15 +16,19 @@ import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -581,36 +584,50 @@ public class GenerateExprFile2 extends GenerateDownloadFile {
                 generatedFileNames.values().iterator().next() + tmpExtension))
                 .count();
 
-        for (Entry<FileType, String> generatedFileName: generatedFileNames.entrySet()) {
-            Path sortedFile = Paths.get(this.directory, generatedFileName.getValue() + ".sorted");
-            Path tempFile = Paths.get(this.directory, generatedFileName.getValue()  + tmpExtension);
-            try {
-                String header =Files.lines(tempFile)
-                        .findFirst().get();
-                Stream<CharSequence> sortedLines =Files.lines(tempFile)
-                        .skip(1)
-                        .map(s ->  s.split("\t"))
-                        .sorted(generateComparator(headers.get(generatedFileName.getKey()),
-                                serviceOrdering))
-                        .map(s -> String.join("\t", s));
-                //write header
-                Files.write(sortedFile, (header + System.lineSeparator()).getBytes(),
-                        StandardOpenOption.CREATE,StandardOpenOption.APPEND);
-                //write sorted content
-                Files.write(sortedFile, sortedLines::iterator, StandardOpenOption.APPEND);
-                Files.move(sortedFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+        // Rows were written by several threads, we now sort them and write them
+        // directly into the final compressed files.
+        Map<FileType, CompressedDownloadFileWriter> fileWriters = new HashMap<>();
+        try {
+            for (Entry<FileType, String> generatedFileName: generatedFileNames.entrySet()) {
+                Path tempFile = Paths.get(this.directory, generatedFileName.getValue()  + tmpExtension);
+                CompressedDownloadFileWriter fileWriter = this.createCompressedFileWriter(
+                        generatedFileName.getValue());
+                fileWriters.put(generatedFileName.getKey(), fileWriter);
+
+                try (Stream<String> lines = Files.lines(tempFile);
+                        BufferedWriter writer = new BufferedWriter(fileWriter)) {
+                    Iterator<String> lineIterator = lines.iterator();
+                    //write header
+                    writer.write(lineIterator.next());
+                    writer.write(System.lineSeparator());
+                    //write sorted content
+                    Iterator<String> sortedLines = StreamSupport.stream(Spliterators
+                            .spliteratorUnknownSize(lineIterator, Spliterator.ORDERED), false)
+                            .map(s ->  s.split("\t"))
+                            .sorted(generateComparator(headers.get(generatedFileName.getKey()),
+                                    serviceOrdering))
+                            .map(s -> String.join("\t", s))
+                            .iterator();
+                    while (sortedLines.hasNext()) {
+                        writer.write(sortedLines.next());
+                        writer.write(System.lineSeparator());
+                    }
+                }
             }
-        }
 
-        // now, if everything went fine, we rename or delete the temporary files
-        if (numberOfRows > 1) {
-            log.info("Each expression file for the species {} contains {} rows.",
-                    speciesId, numberOfRows);
-            this.renameTempFiles(generatedFileNames, tmpExtension);
-        } else {
-            log.info("Expression files for the species {} contains no rows.", speciesId);
+            // now, if everything went fine, we publish or delete the compressed files
+            if (numberOfRows > 1) {
+                log.info("Each expression file for the species {} contains {} rows.",
+                        speciesId, numberOfRows);
+                this.publishFiles(fileWriters.values());
+            } else {
+                log.info("Expression files for the species {} contains no rows.", speciesId);
+                this.discardFiles(fileWriters.values());
+            }
+        } catch (IOException e) {
+            this.discardFiles(fileWriters.values());
+            throw new UncheckedIOException(e);
+        } finally {
             this.deleteTempFiles(generatedFileNames, tmpExtension);
         }
 
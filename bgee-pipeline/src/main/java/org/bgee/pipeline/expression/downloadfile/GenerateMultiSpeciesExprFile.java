@@ -1,7 +1,5 @@
 package org.bgee.pipeline.expression.downloadfile;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
@@ -689,13 +687,10 @@ public class GenerateMultiSpeciesExprFile   extends GenerateDownloadFile
         // Now, we write all requested files at once. This way, we will generate the data only once, 
         // and we will not have to store them in memory.
         
-        // First we allow to store file names, writers, etc, associated to a FileType, 
-        // for the catch and finally clauses. 
-        Map<FileType, String> generatedFileNames = new HashMap<FileType, String>();
-
-        // We will write results in temporary files that we will rename at the end
-        // if everything is correct
-        String tmpExtension = ".tmp";
+        // First we allow to store file writers associated to a FileType, 
+        // for the catch and finally clauses. Files are compressed while written 
+        // into temporary files, that we will publish at the end if everything is correct
+        Map<MultiSpExprFileType, CompressedDownloadFileWriter> fileWriters = new HashMap<>();
 
         // In order to close all writers in a finally clause.
         // We use ICsvMapWriter because the number of columns depends on the number of species for 
@@ -728,17 +723,13 @@ public class GenerateMultiSpeciesExprFile   extends GenerateDownloadFile
                 // Create file name
                 String fileName = this.groupPrefix + "_" +
                         currentFileType.getStringRepresentation() + EXTENSION;
-                generatedFileNames.put(currentFileType, fileName);
 
-                // write in temp file
-                File file = new File(this.directory, fileName + tmpExtension);
-                // override any existing file
-                if (file.exists()) {
-                    file.delete();
-                }
+                // write in compressed temp file, overriding any existing file
+                CompressedDownloadFileWriter fileWriter = this.createCompressedFileWriter(fileName);
+                fileWriters.put(currentFileType, fileWriter);
 
                 // create writer and write header
-                ICsvDozerBeanWriter beanWriter = new CsvDozerBeanWriter(new FileWriter(file),
+                ICsvDozerBeanWriter beanWriter = new CsvDozerBeanWriter(fileWriter,
                         Utils.getCsvPreferenceWithQuote(this.generateQuoteMode(fileTypeHeaders)));
                 // configure the mapping from the fields to the CSV columns
                 if (currentFileType.isSimpleFileType()) {
@@ -760,7 +751,7 @@ public class GenerateMultiSpeciesExprFile   extends GenerateDownloadFile
             numberOfRows = this.writeRows(geneNamesByIds, stageNamesByIds, anatEntityNamesByIds,
                     writersUsed, processors, headers, calls);
         } catch (Exception e) {
-            this.deleteTempFiles(generatedFileNames, tmpExtension);
+            this.discardFiles(fileWriters.values());
             throw e;
         } finally {
             for (ICsvDozerBeanWriter writer : writersUsed.values()) {
@@ -768,11 +759,11 @@ public class GenerateMultiSpeciesExprFile   extends GenerateDownloadFile
             }
         }
 
-        // now, if everything went fine, we rename or delete the temporary files
+        // now, if everything went fine, we publish or delete the temporary files
         if (numberOfRows > 0) {
-            this.renameTempFiles(generatedFileNames, tmpExtension);            
+            this.publishFiles(fileWriters.values());
         } else {
-            this.deleteTempFiles(generatedFileNames, tmpExtension);
+            this.discardFiles(fileWriters.values());
         }
 
         log.traceExit();
@@ -1,13 +1,10 @@
 package org.bgee.pipeline.expression.downloadfile;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -192,14 +189,13 @@ public class GenerateRankFile {
      * @param dataType          The {@code DataType} that is considered to generate the file. 
      *                          If {@code null}, then all data types were considered. 
      * @param outputDir         A {@code String} that is the path to the directory where the file is stored.
-     * @param tmpFile           A {@code boolean} defining whether a temp file name should be returned 
-     *                          (if {@code true}), or the name of the final file (if {@code false}).
-     * @return                  A {@code File} pointing to a file with a name capturing information 
-     *                          about the arguments, to be stored in {@code outputDir}.
+     * @return                  A {@code File} pointing to a gzip-compressed file with a name 
+     *                          capturing information about the arguments, to be stored 
+     *                          in {@code outputDir}.
      */
     protected static File getOutputFile(Species species, boolean anatEntityOnly, DataType dataType, 
-            String outputDir, boolean tmpFile) {
-        log.traceEntry("{}, {}, {}, {}, {}", species, anatEntityOnly, dataType, outputDir, tmpFile);
+            String outputDir) {
+        log.traceEntry("{}, {}, {}, {}", species, anatEntityOnly, dataType, outputDir);
         
         String fileName = species.getId().toString();
         if (anatEntityOnly) {
@@ -213,10 +209,7 @@ public class GenerateRankFile {
             fileName += "_" + dataType.getStringRepresentation().toLowerCase(Locale.ENGLISH).replace(" ", "-");
         }
         fileName += "_" + species.getScientificName().replace(" ", "_");
-        fileName += ".tsv";
-        if (tmpFile) {
-            fileName += ".tmp";
-        }
+        fileName += ".tsv" + CompressedDownloadFileWriter.COMPRESSED_EXTENSION;
         
         return log.traceExit(Paths.get(outputDir, fileName).toFile());
     }
@@ -597,16 +590,15 @@ public class GenerateRankFile {
         //********************
         // COMPUTATIONS AND WRITING INTO FILE
         //********************
-        //Open TSV file for writing. We'll write in tmp file and will move it at the end 
-        //if everything worked fine
-        File tmpOutputFile = getOutputFile(species, anatEntityOnly, dataType, outputDir, true);
-        Files.deleteIfExists(tmpOutputFile.toPath());
+        //Open compressed TSV file for writing. It is written in a tmp file that will be 
+        //published at the end if everything worked fine
+        CompressedDownloadFileWriter fileWriter = new CompressedDownloadFileWriter(
+                getOutputFile(species, anatEntityOnly, dataType, outputDir).toPath());
         String[] header = getFileHeader(anatEntityOnly, dataType);
         String[] colToAttribute = getColToAttributeMapping(anatEntityOnly, dataType);
         CellProcessor[] processors = getCellProcessors(anatEntityOnly, dataType);
         boolean rowWritten = false;
-        try (ICsvBeanWriter beanWriter = new CsvBeanWriter(new FileWriter(tmpOutputFile), 
-                Utils.TSVCOMMENTED)) {
+        try (ICsvBeanWriter beanWriter = new CsvBeanWriter(fileWriter, Utils.TSVCOMMENTED)) {
             
             // write the header
             beanWriter.writeHeader(header);
@@ -643,13 +635,14 @@ public class GenerateRankFile {
                         anatEntityOnt, devStageOnt, sexOnt, strainOnt,
                         beanWriter, colToAttribute, processors);
             }
+        } catch (Exception e) {
+            fileWriter.discard();
+            throw e;
         }
         if (!rowWritten) {
-            Files.deleteIfExists(tmpOutputFile.toPath());
+            fileWriter.discard();
         } else {
-            File outputFile = getOutputFile(species, anatEntityOnly, dataType, outputDir, false);
-            Files.deleteIfExists(outputFile.toPath());
-            Files.move(tmpOutputFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            fileWriter.publish();
         }
         
         log.traceExit();
@@ -1,10 +1,13 @@
 package org.bgee.pipeline.expression.downloadfile;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
@@ -12,15 +15,19 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,13 +60,18 @@ import org.supercsv.prefs.CsvPreference;
  * @author  Julien Wollbrett
  * @author  Frederic Bastian
  * @since Bgee 14 Jul 2017
- * @version Bgee 15 Feb 2022
+ * @version Bgee 15.2 Oct 2026
  */
 // FIXME: Add unit tests
 public class GenerateXRefsFilesWithExprInfo {
 
     private final static Logger log = LogManager.getLogger(GenerateXRefsFilesWithExprInfo.class.getName());
     private final static String GENECARDS_URL = "https://www.genecards.org/cgi-bin/carddisp.pl?gene=";
+    /**
+     * An {@code int} that is the maximum number of genes of a species for which
+     * expression calls are retrieved with one query.
+     */
+    private final static int GENE_BLOCK_SIZE = 5000;
 
     private final Supplier<ServiceFactory> serviceFactorySupplier;
 
@@ -179,11 +191,20 @@ public class GenerateXRefsFilesWithExprInfo {
                 .map(sp -> new GeneFilter(sp))
                 .collect(Collectors.toSet());
 
-        // Create one geneFilter per gene used to retrieve the calls
-        Set<GeneFilter> geneFiltersToLoadCalls = geneService
+        // Create geneFilters targeting blocks of genes of a same species, used to retrieve
+        // the calls of several genes with one query
+        Map<Integer, Set<String>> geneIdsBySpeciesId = geneService
                 .loadGenes(geneFiltersToLoadGenes, false, false, true, false)
-                .map(g -> new GeneFilter(g.getSpecies().getId(), g.getGeneId()))
-                .collect(Collectors.toSet());
+                .collect(Collectors.groupingBy(g -> g.getSpecies().getId(),
+                        Collectors.mapping(g -> g.getGeneId(), Collectors.toCollection(TreeSet::new))));
+        List<GeneFilter> geneFiltersToLoadCalls = new ArrayList<>();
+        for (Map.Entry<Integer, Set<String>> speciesGeneIds: geneIdsBySpeciesId.entrySet()) {
+            List<String> geneIds = new ArrayList<>(speciesGeneIds.getValue());
+            for (int i = 0; i < geneIds.size(); i += GENE_BLOCK_SIZE) {
+                geneFiltersToLoadCalls.add(new GeneFilter(speciesGeneIds.getKey(),
+                        geneIds.subList(i, Math.min(i + GENE_BLOCK_SIZE, geneIds.size()))));
+            }
+        }
 
         // We generate the ConditionGraph needed for filtering calls as on the gene page,
         // for each species present in the xref list. This will avoid creating a new condition 
@@ -200,14 +221,34 @@ public class GenerateXRefsFilesWithExprInfo {
                                 Collections.singleton(id), null, condGraphParam))));
         serviceFactory.close();
 
-        // We are now ready to retrieve expression and generate XRefs
-        Map<XrefsFileType, Map<String, List<String>>> geneIdToXrefLinesbyXrefsFileType = 
-                this.generateXrefs(geneFiltersToLoadCalls, condGraphBySpeId, requestedXrefFileTypes, 
-                        uniprotXrefByGeneIdBySpeciesId, wikidataUberonClasses);
-
-        // write XRef file
-        this.writeXrefWithExpressionInfo(requestedXrefFileTypes, geneIdToXrefLinesbyXrefsFileType, 
-                outputDir);
+        // We are now ready to retrieve expression and generate XRefs. XRefs lines of each block
+        // of genes are written to temporary files, sorted by gene IDs, merged at the end.
+        Path blockDir;
+        try {
+            blockDir = Files.createTempDirectory(Paths.get(outputDir), "xrefs_blocks");
+        } catch (IOException e) {
+            throw log.throwing(new UncheckedIOException("Can't create temporary directory in "
+                    + outputDir, e));
+        }
+        try {
+            Map<XrefsFileType, List<Path>> blockFilesByXrefsFileType =
+                    this.generateXrefs(geneFiltersToLoadCalls, condGraphBySpeId, requestedXrefFileTypes,
+                            uniprotXrefByGeneIdBySpeciesId, wikidataUberonClasses, blockDir);
+
+            // write XRef file
+            this.writeXrefWithExpressionInfo(requestedXrefFileTypes, blockFilesByXrefsFileType,
+                    outputDir);
+        } finally {
+            try (Stream<Path> blockFiles = Files.list(blockDir)) {
+                for (Path blockFile: blockFiles.collect(Collectors.toList())) {
+                    Files.delete(blockFile);
+                }
+                Files.delete(blockDir);
+            } catch (IOException e) {
+                log.catching(e);
+                log.warn("Could not delete temporary directory {}", blockDir);
+            }
+        }
         log.traceExit();
     }
 
@@ -304,9 +345,12 @@ public class GenerateXRefsFilesWithExprInfo {
 
     /**
      * Retrieve gene expression information and generate XRefs lines with expression information.
+     * The XRefs lines of each block of genes are written to a temporary file per XRefs file type,
+     * where each line is prefixed with the gene ID followed by a tab, and lines are sorted
+     * by gene IDs.
      *
-     * @param geneFilters               A {@code Set} of {@code GeneFilter}s. Each {@code GeneFilter} corresponds to
-     *                                  a filter of all genes for one species.
+     * @param geneFilters               A {@code List} of {@code GeneFilter}s. Each {@code GeneFilter}
+     *                                  corresponds to a block of genes of one species.
      * @param condGraphBySpeId          Map<Integer, ConditionGraph> condGraphBySpeId
      * @param requestedXrefFileTypes    A {@code Set} of {@code XrefsFileType}. Each {@code} corresponds to a
      *                                  type of XRef file to generate
@@ -315,22 +359,21 @@ public class GenerateXRefsFilesWithExprInfo {
      *                                  of {@code String} corresponding to UniProt IDs as value.
      * @param wikidataUberonClasses     A {@code Set} of {@code String} containing all Uberon IDs already inserted in
      *                                  wikidata
-     * @return                          The {@code Map} where keys correspond to gene IDs and each
-     *                                  value corresponds to one well formatted UniProtKB Xref line.
+     * @param blockDir                  A {@code Path} that is the directory where to write
+     *                                  the temporary files.
+     * @return                          The {@code Map} where keys are {@code XrefsFileType}s and
+     *                                  values are the {@code List} of temporary files of each block.
      */
-    private Map<XrefsFileType, Map<String, List<String>>> generateXrefs(Set<GeneFilter> geneFilters, 
+    private Map<XrefsFileType, List<Path>> generateXrefs(List<GeneFilter> geneFilters, 
             Map<Integer, ConditionGraph> condGraphBySpeId, Set<XrefsFileType> requestedXrefFileTypes, 
-            Map<Integer, Map<String, Set<String>>> uniprotXrefs, Set<String> wikidataUberonClasses) {
-        log.traceEntry("{}, {}, {}, {}, {}", geneFilters, condGraphBySpeId, requestedXrefFileTypes,
-                uniprotXrefs, wikidataUberonClasses);
+            Map<Integer, Map<String, Set<String>>> uniprotXrefs, Set<String> wikidataUberonClasses,
+            Path blockDir) {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", geneFilters, condGraphBySpeId, requestedXrefFileTypes,
+                uniprotXrefs, wikidataUberonClasses, blockDir);
 
         Instant start = Instant.now();
 
-        // init a Map where the key correspond to the type of xrefs and the value is a Map with a gene ID
-        // as key and the corresponding xrefs as value.
-        // Need to make it a synchronized sorted map in order to make it thread safe.
-        SortedMap<XrefsFileType, Map<String, List<String>>> xrefsLinesByFileTypeByGene = new TreeMap<>();
-        Map<XrefsFileType, Map<String, List<String>>> syncMap = Collections.synchronizedSortedMap(xrefsLinesByFileTypeByGene);
+        Map<XrefsFileType, List<Path>> blockFilesByXrefsFileType = new ConcurrentHashMap<>();
 
         //generate Frontend URL
         BgeeProperties props = BgeeProperties.getBgeeProperties(System.getProperties());
@@ -343,37 +386,35 @@ public class GenerateXRefsFilesWithExprInfo {
         String bgeeURL = new StringBuilder("https://www.bgee.org/bgee").append(majorBgeeVersion)
                 .append("_").append(minorBgeeVersion).append("/gene/").toString();
 
-        //retrieve expression information for each xref (unique geneId, speciesId, uniprotId)
-            geneFilters.parallelStream().forEach(gf -> {
-    
-                Integer speciesId = gf.getSpeciesId();
-                if(gf.getGeneIds() == null || gf.getGeneIds().size() == 0 || 
-                        gf.getGeneIds().size() > 1) {
-                    throw log.throwing(new IllegalArgumentException("the geneFilter should "
-                            + "contain exactly one geneId"));
-                }
-                String geneId = gf.getGeneIds().iterator().next();
-    
-                // Retrieve expression calls
-                ServiceFactory threadSpeServiceFactory = serviceFactorySupplier.get();
+        // keep only the expressionCall at anat entity level.
+        Set<CallService.Attribute> condParams = 
+                new HashSet<>(EnumSet.of(CallService.Attribute.ANAT_ENTITY_ID, CallService.Attribute.CELL_TYPE_ID));
+
+        //retrieve expression information for each block of genes
+        geneFilters.parallelStream().forEach(gf -> {
+
+            Integer speciesId = gf.getSpeciesId();
+            if (gf.getGeneIds() == null || gf.getGeneIds().isEmpty()) {
+                throw log.throwing(new IllegalArgumentException("the geneFilter should "
+                        + "contain at least one geneId"));
+            }
+            // XRefs lines of this block, sorted by gene IDs
+            Map<XrefsFileType, SortedMap<String, List<String>>> xrefsLinesByFileTypeByGene =
+                    new HashMap<>();
+            Set<String> genesWithoutExpression = new HashSet<>(gf.getGeneIds());
+
+            // Retrieve expression calls, one ServiceFactory per thread
+            try (ServiceFactory threadSpeServiceFactory = serviceFactorySupplier.get()) {
                 CallService callService = threadSpeServiceFactory.getCallService();
-    
-                // keep only the expressionCall at anat entity level. Comming from a LinkedHashMap they
-                // are already ordered by expressionlevel.
-                Set<CallService.Attribute> condParams = 
-                        new HashSet<>(EnumSet.of(CallService.Attribute.ANAT_ENTITY_ID, CallService.Attribute.CELL_TYPE_ID));
+
                 //XXX If in the future we plan to add more information than just the anat. entity, it will
                 // then be mandatory to keep calls at condition level ordered by anat. entity
-                List<ExpressionCall> callsByAnatEntity = callService.loadSilverCondObservedCalls(gf, 
-                                condParams, ExpressionSummary.EXPRESSED,
-                                null,
-                                condGraphBySpeId.get(speciesId));
-    
-                // If no expression for this gene in Bgee
-                if (callsByAnatEntity == null || callsByAnatEntity.isEmpty()) {
-                    log.info("No expression data for gene " + geneId);
-                } else {
-                    
+                callService.loadSilverCondObservedCallsByGene(gf, condParams,
+                        ExpressionSummary.EXPRESSED, null, condGraphBySpeId.get(speciesId))
+                .forEach(callsByAnatEntity -> {
+                    String geneId = callsByAnatEntity.iterator().next().getGene().getGeneId();
+                    genesWithoutExpression.remove(geneId);
+
                     if(requestedXrefFileTypes.contains(XrefsFileType.UNIPROT)
                             && (XrefsFileType.UNIPROT.getSpeciesIds().contains(speciesId) ||
                                     XrefsFileType.UNIPROT.getSpeciesIds() == null || 
@@ -382,49 +423,89 @@ public class GenerateXRefsFilesWithExprInfo {
                                 uniprotXrefs.get(speciesId).containsKey(geneId) ?
                                 uniprotXrefs.get(speciesId).get(geneId) : null;
                         if(filteredUniProtIds != null) {
-                            syncMap.computeIfAbsent(XrefsFileType.UNIPROT, k -> createNewSynchronizedSortedMap())
+                            xrefsLinesByFileTypeByGene.computeIfAbsent(XrefsFileType.UNIPROT, k -> new TreeMap<>())
                             .putAll(generateXrefLineUniProt(geneId, callsByAnatEntity, filteredUniProtIds));
                         }
                     }
-                    
+
                     if(requestedXrefFileTypes.contains(XrefsFileType.GENE_CARDS)
                             && (XrefsFileType.GENE_CARDS.getSpeciesIds().contains(speciesId) ||
                                     XrefsFileType.GENE_CARDS.getSpeciesIds() == null || 
                                     XrefsFileType.GENE_CARDS.getSpeciesIds().isEmpty())) {
-                        syncMap.computeIfAbsent(XrefsFileType.GENE_CARDS, k -> createNewSynchronizedSortedMap())
+                        xrefsLinesByFileTypeByGene.computeIfAbsent(XrefsFileType.GENE_CARDS, k -> new TreeMap<>())
                         .putAll(generateXrefLineGeneCards(geneId, callsByAnatEntity, bgeeURL));
                     }
                     if(requestedXrefFileTypes.contains(XrefsFileType.WIKIDATA)
                             && (XrefsFileType.WIKIDATA.getSpeciesIds().contains(speciesId) ||
                             XrefsFileType.WIKIDATA.getSpeciesIds() == null || 
                             XrefsFileType.WIKIDATA.getSpeciesIds().isEmpty())) {
-                        syncMap.computeIfAbsent(XrefsFileType.WIKIDATA, k -> createNewSynchronizedSortedMap())
+                        xrefsLinesByFileTypeByGene.computeIfAbsent(XrefsFileType.WIKIDATA, k -> new TreeMap<>())
                         .putAll(generateXrefLineWikidata(geneId, callsByAnatEntity, wikidataUberonClasses));
                     }
                     if (requestedXrefFileTypes.contains(XrefsFileType.BGEE_GENE_SUMMARY) 
                             && (XrefsFileType.BGEE_GENE_SUMMARY.getSpeciesIds().contains(speciesId) ||
                                     XrefsFileType.BGEE_GENE_SUMMARY.getSpeciesIds() == null || 
                                     XrefsFileType.BGEE_GENE_SUMMARY.getSpeciesIds().isEmpty())) {
-                        syncMap.computeIfAbsent(XrefsFileType.BGEE_GENE_SUMMARY, k -> createNewSynchronizedSortedMap())
+                        xrefsLinesByFileTypeByGene.computeIfAbsent(XrefsFileType.BGEE_GENE_SUMMARY, k -> new TreeMap<>())
                         .putAll(generateGeneSummary(geneId, speciesId, callsByAnatEntity));
                     }
-                }
-            });
-
+                });
+            }
+            // If no expression for these genes in Bgee
+            genesWithoutExpression.forEach(geneId -> log.info("No expression data for gene " + geneId));
+
+            // Write the XRefs lines of this block
+            for (Map.Entry<XrefsFileType, SortedMap<String, List<String>>> e:
+                    xrefsLinesByFileTypeByGene.entrySet()) {
+                Path blockFile = writeBlockFile(blockDir, e.getKey(), e.getValue());
+                blockFilesByXrefsFileType.computeIfAbsent(e.getKey(),
+                        k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(blockFile);
+            }
+        });
 
         Instant end = Instant.now();
-        log.info("Time needed to retrieve expressionSummary of {} genes is {} seconds", geneFilters.size(),
-                Duration.between(start, end).toSeconds());
-
-        return log.traceExit(syncMap);
+        log.info("Time needed to retrieve expressionSummary of {} blocks of genes is {} seconds",
+                geneFilters.size(), Duration.between(start, end).toSeconds());
 
+        return log.traceExit(blockFilesByXrefsFileType);
     }
-    
-    private SortedMap<String, List<String>> createNewSynchronizedSortedMap() {
-        SortedMap<String, List<String>> xrefsLinesByFileTypeByGene = new TreeMap<>();
-        return Collections.synchronizedSortedMap(xrefsLinesByFileTypeByGene);
+
+    /**
+     * Write the XRefs lines of a block of genes to a temporary file. Each line is prefixed
+     * with the gene ID followed by a tab, so that block files can then be merged.
+     *
+     * @param blockDir          A {@code Path} that is the directory where to write the file.
+     * @param xrefsFileType     The {@code XrefsFileType} of the XRefs lines.
+     * @param geneIdToXrefLines A {@code SortedMap} where keys correspond to gene IDs
+     *                          and each value corresponds to the XRefs lines of the gene.
+     * @return                  The {@code Path} of the written file.
+     */
+    private static Path writeBlockFile(Path blockDir, XrefsFileType xrefsFileType,
+            SortedMap<String, List<String>> geneIdToXrefLines) {
+        log.traceEntry("{}, {}, {}", blockDir, xrefsFileType, geneIdToXrefLines);
+        try {
+            Path blockFile = Files.createTempFile(blockDir, xrefsFileType.name(), ".tsv");
+            try (BufferedWriter writer = Files.newBufferedWriter(blockFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, List<String>> e: geneIdToXrefLines.entrySet()) {
+                    // to remove genes having no uniprot IDs
+                    if (e.getValue() == null) {
+                        continue;
+                    }
+                    for (String line: e.getValue()) {
+                        writer.write(e.getKey());
+                        writer.write("\t");
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+            return log.traceExit(blockFile);
+        } catch (IOException e) {
+            throw log.throwing(new UncheckedIOException("Can't write block file in " + blockDir, e));
+        }
     }
-    
+
     /**
      * generate UniProt XRefs lines with expression information for one gene
      * 
@@ -567,52 +648,67 @@ public class GenerateXRefsFilesWithExprInfo {
     }
 
     /**
-     * Sort Xrefs by gene IDs.
-     * 
-     * @param geneIdToXrefLines     A {@code Map} where keys correspond to gene IDs 
-     *                              and each value corresponds to UniProtKB Xref line.
-     * @return                      The {@code List} where each element is {@code String} representing one well
-     *                              formatted Uniprot XRef
-     */
-    private static List<String> sortXrefByGeneId(Map<String, List<String>> geneIdToXrefLines) {
-        log.traceEntry("{}",geneIdToXrefLines);
-        return log.traceExit(geneIdToXrefLines == null ? null :
-                geneIdToXrefLines.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                // to remove genes having no uniprot IDs
-                .filter(e -> e.getValue() != null)
-                .flatMap(e -> e.getValue().stream())
-                .collect(Collectors.toList()));
-    }
-
-    /**
-     * Write all requested XRef files
+     * Write all requested XRef files, by merging the block files of each XRefs file type,
+     * so that XRefs are sorted by gene IDs.
      * 
      * @param requestedXrefFileTypes    A {@code Set} of {@code XrefsFileType} containing information
      *                                  about all XRefs files to generate
-     * @param outputXrefLines           A {@code Map} with a {@code XrefsFileType} as key and as value
-     *                                  {@code Map} with {@code String} correpsonding to gene IDs as key
-     *                                  and a {@code List} of {@code String} corresponding to XRefs lines
-     *                                  as value
+     * @param blockFilesByXrefsFileType A {@code Map} with a {@code XrefsFileType} as key and as value
+     *                                  the {@code List} of block files generated by
+     *                                  {@link #generateXrefs(List, Map, Set, Map, Set, Path)}.
      * @param outputDir                 A {@code String} that is the path to the directory where XRefs files
      *                                  will be created
      */
     private void writeXrefWithExpressionInfo(Set<XrefsFileType> requestedXrefFileTypes, 
-            Map<XrefsFileType, Map<String, List<String>>> outputXrefLines, String outputDir) {
-
-        log.traceEntry("{}, {}, {}", requestedXrefFileTypes, outputXrefLines, outputDir);
-        for(XrefsFileType xrefFileType : outputXrefLines.keySet()) {
-            // sort Xrefs by gene ID
-            List<String> sortedGeneIdToXrefLines = GenerateXRefsFilesWithExprInfo
-                  .sortXrefByGeneId(outputXrefLines.get(xrefFileType));
-            try {
-                Files.write(Paths.get(outputDir, xrefFileType.getFileName()), sortedGeneIdToXrefLines, 
-                        Charset.forName("UTF-8"));
+            Map<XrefsFileType, List<Path>> blockFilesByXrefsFileType, String outputDir) {
+
+        log.traceEntry("{}, {}, {}", requestedXrefFileTypes, blockFilesByXrefsFileType, outputDir);
+        for(XrefsFileType xrefFileType : blockFilesByXrefsFileType.keySet()) {
+            List<Path> blockFiles = blockFilesByXrefsFileType.get(xrefFileType);
+            List<BufferedReader> readers = new ArrayList<>();
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    Paths.get(outputDir, xrefFileType.getFileName()), StandardCharsets.UTF_8)) {
+                // Lines to write, as arrays containing the gene ID and the XRef line,
+                // associated to the index of the block file they come from
+                PriorityQueue<Map.Entry<String[], Integer>> nextLines = new PriorityQueue<>(
+                        Math.max(1, blockFiles.size()),
+                        Comparator.<Map.Entry<String[], Integer>, String>comparing(e -> e.getKey()[0])
+                        .thenComparing(e -> e.getValue()));
+                for (int i = 0; i < blockFiles.size(); i++) {
+                    BufferedReader reader = Files.newBufferedReader(blockFiles.get(i),
+                            StandardCharsets.UTF_8);
+                    readers.add(reader);
+                    addNextLine(reader, i, nextLines);
+                }
+                while (!nextLines.isEmpty()) {
+                    Map.Entry<String[], Integer> next = nextLines.poll();
+                    writer.write(next.getKey()[1]);
+                    writer.newLine();
+                    addNextLine(readers.get(next.getValue()), next.getValue(), nextLines);
+                }
             } catch (IOException e) {
                 throw log.throwing(new UncheckedIOException("Can't write file " + 
                         xrefFileType.getFileName(), e));
+            } finally {
+                for (BufferedReader reader: readers) {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        log.catching(e);
+                    }
+                }
             }
         }
+        log.traceExit();
+    }
+
+    private static void addNextLine(BufferedReader reader, int readerIndex,
+            PriorityQueue<Map.Entry<String[], Integer>> nextLines) throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            // XRef lines can contain tabs, we only split on the first one
+            nextLines.add(new AbstractMap.SimpleEntry<>(line.split("\t", 2), readerIndex));
+        }
     }
 
     public static class XrefUniprotBean {
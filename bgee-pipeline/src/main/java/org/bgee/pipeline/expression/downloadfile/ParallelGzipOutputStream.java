@@ -0,0 +1,286 @@
+package org.bgee.pipeline.expression.downloadfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An {@code OutputStream} compressing data in the gzip format using several threads.
+ * Written data are split into blocks of fixed size, each block is compressed independently
+ * as a complete gzip member by a pool of threads, and the compressed members are written
+ * to the underlying stream in the order the data were provided. As allowed by the gzip
+ * specification (RFC 1952), the resulting file is a concatenation of gzip members,
+ * that is read transparently by {@code gunzip}, {@code zcat}, or {@code java.util.zip.GZIPInputStream}.
+ * <p>
+ * The number of blocks compressed or waiting to be written at any time is bounded,
+ * so that memory usage does not depend on the amount of data written.
+ * <p>
+ * This class is not thread-safe: writes must be externally synchronized
+ * (as is done by the SuperCSV writers wrapping it).
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ * @see CompressedDownloadFileWriter
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+    private final static Logger log = LogManager.getLogger(ParallelGzipOutputStream.class.getName());
+
+    /**
+     * An {@code int} that is the default size in bytes of the blocks of uncompressed data
+     * compressed independently.
+     */
+    public final static int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * An {@code AtomicInteger} used to give a unique name to the compression threads.
+     */
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+    /**
+     * The {@code ExecutorService} used to compress blocks, shut down when this stream is closed.
+     */
+    private final ExecutorService executorService;
+    /**
+     * An {@code int} that is the size in bytes of the blocks of uncompressed data.
+     */
+    private final int blockSize;
+    /**
+     * An {@code int} that is the maximum number of blocks submitted for compression
+     * and not yet written to the underlying stream.
+     */
+    private final int maxPendingBlockCount;
+    /**
+     * A {@code Deque} of {@code Future}s providing the compressed blocks,
+     * in the order they must be written.
+     */
+    private final Deque<Future<byte[]>> pendingBlocks;
+
+    private byte[] currentBlock;
+    private int currentBlockLength;
+    private long uncompressedSize;
+    private long compressedSize;
+    private boolean blockSubmitted;
+    private boolean closed;
+
+    /**
+     * Constructor using {@link #DEFAULT_BLOCK_SIZE} and as many threads as available processors.
+     *
+     * @param out   The {@code OutputStream} to write compressed data to.
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+    /**
+     * @param out           The {@code OutputStream} to write compressed data to.
+     * @param blockSize     An {@code int} that is the size in bytes of the blocks
+     *                      of uncompressed data compressed independently.
+     * @param threadCount   An {@code int} that is the number of threads used to compress blocks.
+     * @throws IllegalArgumentException If {@code out} is {@code null}, or {@code blockSize}
+     *                                  or {@code threadCount} is less than 1.
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int threadCount)
+            throws IllegalArgumentException {
+        super(out);
+        if (out == null) {
+            throw log.throwing(new IllegalArgumentException("An OutputStream must be provided"));
+        }
+        if (blockSize < 1 || threadCount < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Block size and thread count must be greater than 0"));
+        }
+        this.blockSize = blockSize;
+        //We allow one block in advance per thread, so that threads are never waiting
+        //for the writing of compressed data
+        this.maxPendingBlockCount = 2 * threadCount;
+        this.pendingBlocks = new ArrayDeque<>(this.maxPendingBlockCount + 1);
+        this.executorService = Executors.newFixedThreadPool(threadCount, r -> {
+            Thread t = new Thread(r, "gzip-compressor-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.currentBlock = new byte[blockSize];
+        this.currentBlockLength = 0;
+        this.uncompressedSize = 0;
+        this.compressedSize = 0;
+        this.blockSubmitted = false;
+        this.closed = false;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        this.currentBlock[this.currentBlockLength++] = (byte) b;
+        this.uncompressedSize++;
+        if (this.currentBlockLength == this.blockSize) {
+            this.submitCurrentBlock();
+        }
+    }
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw log.throwing(new IndexOutOfBoundsException());
+        }
+        int remaining = len;
+        int offset = off;
+        while (remaining > 0) {
+            int toCopy = Math.min(remaining, this.blockSize - this.currentBlockLength);
+            System.arraycopy(b, offset, this.currentBlock, this.currentBlockLength, toCopy);
+            this.currentBlockLength += toCopy;
+            offset += toCopy;
+            remaining -= toCopy;
+            if (this.currentBlockLength == this.blockSize) {
+                this.submitCurrentBlock();
+            }
+        }
+        this.uncompressedSize += len;
+    }
+
+    /**
+     * Writes the blocks already compressed to the underlying stream and flushes it.
+     * The data of the block currently being filled are not compressed, to avoid producing
+     * many small gzip members; they will be written when the block is full or when
+     * this stream is closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+        this.writeCompletedBlocks(false);
+        this.out.flush();
+    }
+
+    /**
+     * Compresses the remaining data, writes all compressed blocks to the underlying stream,
+     * and closes it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        try {
+            //Even if no data were written, we produce a valid empty gzip member
+            if (this.currentBlockLength > 0 || !this.blockSubmitted) {
+                this.submitCurrentBlock();
+            }
+            this.writeCompletedBlocks(true);
+            this.out.flush();
+        } finally {
+            this.closed = true;
+            this.currentBlock = null;
+            this.pendingBlocks.forEach(f -> f.cancel(true));
+            this.pendingBlocks.clear();
+            this.executorService.shutdownNow();
+            this.out.close();
+        }
+    }
+
+    /**
+     * @return  A {@code long} that is the number of uncompressed bytes written to this stream.
+     */
+    public long getUncompressedSize() {
+        return this.uncompressedSize;
+    }
+    /**
+     * @return  A {@code long} that is the number of compressed bytes written
+     *          to the underlying stream so far.
+     */
+    public long getCompressedSize() {
+        return this.compressedSize;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw log.throwing(new IOException("Stream closed"));
+        }
+    }
+
+    /**
+     * Submits the block currently filled for compression, and writes the oldest compressed
+     * blocks if the maximum number of pending blocks is reached.
+     *
+     * @throws IOException  If an error occurred while compressing or writing a block.
+     */
+    private void submitCurrentBlock() throws IOException {
+        log.traceEntry();
+        final byte[] block = this.currentBlock;
+        final int length = this.currentBlockLength;
+        this.pendingBlocks.addLast(this.executorService.submit(() -> compressBlock(block, length)));
+        this.blockSubmitted = true;
+        this.currentBlock = new byte[this.blockSize];
+        this.currentBlockLength = 0;
+
+        while (this.pendingBlocks.size() > this.maxPendingBlockCount) {
+            this.writeBlock(this.pendingBlocks.pollFirst());
+        }
+        this.writeCompletedBlocks(false);
+        log.traceExit();
+    }
+
+    /**
+     * Writes to the underlying stream the compressed blocks in order.
+     *
+     * @param waitForAll    A {@code boolean} defining whether to wait for the compression
+     *                      of all pending blocks (if {@code true}), or to stop at the first block
+     *                      not yet compressed (if {@code false}).
+     * @throws IOException  If an error occurred while compressing or writing a block.
+     */
+    private void writeCompletedBlocks(boolean waitForAll) throws IOException {
+        log.traceEntry("{}", waitForAll);
+        while (!this.pendingBlocks.isEmpty() &&
+                (waitForAll || this.pendingBlocks.peekFirst().isDone())) {
+            this.writeBlock(this.pendingBlocks.pollFirst());
+        }
+        log.traceExit();
+    }
+
+    private void writeBlock(Future<byte[]> compressedBlock) throws IOException {
+        log.traceEntry("{}", compressedBlock);
+        byte[] compressed;
+        try {
+            compressed = compressedBlock.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw log.throwing(new InterruptedIOException("Interrupted while compressing data"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw log.throwing((IOException) e.getCause());
+            }
+            throw log.throwing(new IOException(e.getCause()));
+        }
+        this.out.write(compressed);
+        this.compressedSize += compressed.length;
+        log.traceExit();
+    }
+
+    /**
+     * Compresses a block of data as a complete gzip member.
+     *
+     * @param block     A {@code byte} array containing the data to compress.
+     * @param length    An {@code int} that is the number of bytes to read from {@code block}.
+     * @return          A {@code byte} array that is the compressed gzip member.
+     * @throws IOException  If an error occurred during compression.
+     */
+    private static byte[] compressBlock(byte[] block, int length) throws IOException {
+        //We don't log the block content, it would be too large.
+        //Text files are usually compressed more than 2 times
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(length / 2, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 64 * 1024)) {
+            gzip.write(block, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,122 @@
+package org.bgee.pipeline.gene;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.ServiceFactory;
+import org.bgee.model.dao.api.gene.GeneDAO;
+import org.bgee.model.dao.api.gene.GeneHomologsDAO;
+import org.bgee.model.dao.api.gene.GeneHomologsDAO.GeneHomologsTO;
+import org.bgee.model.gene.GeneHomologs;
+import org.bgee.model.gene.GeneHomologyIndex;
+
+/**
+ * Generates the {@link GeneHomologyIndex} used by the {@code GeneHomologsService}
+ * to retrieve the homologs of genes without querying the database. All the orthology
+ * and paralogy relations are retrieved, species per species, together with the species
+ * of the homologous genes. The Bgee release is stored in the index, so that
+ * the webapp does not use an index from a previous release. The path to the index
+ * must then be provided to the webapp (see
+ * {@code BgeeProperties#getHomologyIndexFile()}).
+ * <p>
+ * This class must be used after the insertion of the homology relations.
+ *
+ * @author  Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class GenerateGeneHomologyIndex {
+    private final static Logger log = LogManager.getLogger(GenerateGeneHomologyIndex.class.getName());
+
+    /**
+     * Main method to trigger the generation of the homology index. Parameters that must be
+     * provided in order in {@code args} are:
+     * <ol>
+     * <li>the path to the file where to write the index.
+     * </ol>
+     *
+     * @param args          An {@code Array} of {@code String}s containing the requested parameters.
+     * @throws IOException  If an error occurred while writing the index.
+     */
+    public static void main(String[] args) throws IOException {
+        log.traceEntry("{}", (Object[]) args);
+
+        int expectedArgLength = 1;
+        if (args.length != expectedArgLength) {
+            throw log.throwing(new IllegalArgumentException("Incorrect number of arguments "
+                    + "provided, expected " + expectedArgLength + " arguments, " + args.length
+                    + " provided."));
+        }
+        GenerateGeneHomologyIndex generator = new GenerateGeneHomologyIndex(ServiceFactory::new);
+        generator.generateIndex(Paths.get(args[0]));
+
+        log.traceExit();
+    }
+
+    /**
+     * A {@code Supplier} of {@code ServiceFactory}s.
+     */
+    private final Supplier<ServiceFactory> serviceFactorySupplier;
+
+    /**
+     * @param serviceFactorySupplier    A {@code Supplier} of {@code ServiceFactory}s.
+     */
+    public GenerateGeneHomologyIndex(Supplier<ServiceFactory> serviceFactorySupplier) {
+        this.serviceFactorySupplier = serviceFactorySupplier;
+    }
+
+    /**
+     * Generates the homology index from the homology relations in database.
+     *
+     * @param file          A {@code Path} that is the file where to write the index.
+     * @throws IOException  If an error occurred while writing the index.
+     */
+    public void generateIndex(Path file) throws IOException {
+        log.traceEntry("{}", file);
+
+        try (ServiceFactory serviceFactory = this.serviceFactorySupplier.get()) {
+            GeneDAO geneDAO = serviceFactory.getDAOManager().getGeneDAO();
+            GeneHomologsDAO homologsDAO = serviceFactory.getDAOManager().getGeneHomologsDAO();
+
+            Map<Integer, Integer> speciesIdsByGeneId = new HashMap<>();
+            //Sorted species IDs, for reproducible logs
+            Map<Integer, Set<Integer>> geneIdsBySpeciesId = new TreeMap<>();
+            geneDAO.getAllGenes().stream().forEach(to -> {
+                speciesIdsByGeneId.put(to.getId(), to.getSpeciesId());
+                geneIdsBySpeciesId.computeIfAbsent(to.getSpeciesId(), k -> new HashSet<>())
+                .add(to.getId());
+            });
+
+            Map<GeneHomologs.HomologyType, Collection<GeneHomologsTO>> homologsTOsPerType =
+                    new EnumMap<>(GeneHomologs.HomologyType.class);
+            homologsTOsPerType.put(GeneHomologs.HomologyType.ORTHOLOGY, new ArrayList<>());
+            homologsTOsPerType.put(GeneHomologs.HomologyType.PARALOGY, new ArrayList<>());
+            for (Map.Entry<Integer, Set<Integer>> entry: geneIdsBySpeciesId.entrySet()) {
+                log.info("Retrieving homology relations for species {}...", entry.getKey());
+                //The relations are returned for the requested genes in both directions,
+                //the requested gene being returned by GeneHomologsTO#getBgeeGeneId()
+                homologsTOsPerType.get(GeneHomologs.HomologyType.ORTHOLOGY).addAll(
+                        homologsDAO.getOrthologousGenes(entry.getValue()).getAllTOs());
+                homologsTOsPerType.get(GeneHomologs.HomologyType.PARALOGY).addAll(
+                        homologsDAO.getParalogousGenes(entry.getValue()).getAllTOs());
+            }
+
+            GeneHomologyIndex.write(file,
+                    GeneHomologyIndex.getRelease(serviceFactory.getBgeeProperties()),
+                    homologsTOsPerType, speciesIdsByGeneId);
+        }
+        log.traceExit();
+    }
+}
@@ -47,11 +47,17 @@ import sbc.orthoxml.io.OrthoXMLReader;
  * This class parses the OrthoXML file which contains all the data of the hierarchical 
  * orthologous groups obtained from OMA. It retrieves all the data pertaining to the
  * orthologous genes.
+ * <p>
+ * Groups are read one top-level group at a time from the file, and the {@code TransferObject}s 
+ * generated are inserted as soon as more than {@link #getFlushThreshold()} of them 
+ * are waiting for insertion, so that the memory used is bounded by the size 
+ * of the largest group, rather than by the size of the whole file. All insertions 
+ * are still performed in a same transaction.
  * 
  * @author Komal Sanjeev
  * @author Valentine Rech de Laval
  * @author Julien Wollbrett
- * @version Bgee 14
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 public class ParseOrthoXML extends MySQLDAOUser {
@@ -81,6 +87,16 @@ public class ParseOrthoXML extends MySQLDAOUser {
      * from the mapping TSV file.
      */
     public static final String GENE_ID_KEY = "gene ID";
+    /**
+     * An {@code int} that is the default number of {@code TransferObject}s waiting 
+     * for insertion above which they are inserted, see {@link #getFlushThreshold()}.
+     */
+    public static final int DEFAULT_FLUSH_THRESHOLD = 50000;
+    /**
+     * An {@code int} that is the number of top-level groups read between two logs 
+     * of the progress of the parsing.
+     */
+    private static final int PROGRESS_LOG_INTERVAL = 1000;
 
     /**
      * An {@code int} that is a unique ID for each node inside an OMA Hierarchical
@@ -154,14 +170,34 @@ public class ParseOrthoXML extends MySQLDAOUser {
     private Map<Integer, Set<Integer>> speciesPrefixes;
     
     /**
-     * A {@code Map} storing the mappings from gene IDs to the first OMA Node ID found in 
-     * the file to be able to check if the gene is present in different HOGs. See this 
-     * method for details.
+     * A {@code Map} storing the mappings from Bgee gene IDs to the first OMA Node ID found 
+     * in the file to be able to check if the gene is present in different HOGs. See this 
+     * method for details. It is emptied with the {@code TransferObject}s at each insertion 
+     * (see {@link #flushTOs(boolean)}), so that the memory used stays bounded: 
+     * the check is thus performed among the groups inserted together.
      * 
      * see #addGeneTO()
      */
     private Map<Integer, String> genesUpdated;
 
+    /**
+     * @see #getFlushThreshold()
+     */
+    private int flushThreshold;
+    /**
+     * @see #getGroupReadCount()
+     */
+    private int groupReadCount;
+    /**
+     * An {@code int} that is the number of hierarchical groups inserted so far.
+     */
+    private int insertedGroupCount;
+    /**
+     * An {@code int} that is the number of mappings between hierarchical groups and genes 
+     * inserted so far.
+     */
+    private int insertedGroupToGeneCount;
+
     /**
      * Default constructor. 
      */
@@ -187,6 +223,10 @@ public class ParseOrthoXML extends MySQLDAOUser {
         this.speciesIdsInBgee = new HashSet<Integer>();
         this.speciesPrefixes = new HashMap<Integer, Set<Integer>>();
         this.genesUpdated = new HashMap<Integer, String>();
+        this.flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+        this.groupReadCount = 0;
+        this.insertedGroupCount = 0;
+        this.insertedGroupToGeneCount = 0;
     }
 
     /**
@@ -247,7 +287,9 @@ public class ParseOrthoXML extends MySQLDAOUser {
      * orthologous groups present in the file and builds a {@code Collection} of
      * {@code HierarchicalNodeTO}s as a nested set model, and a {@code Collection} of
      * {@code GeneTO}s, in order to insert data into the OMAHierarchicalGroup table and to
-     * update data in the gene table.
+     * update data in the gene table. These {@code Collection}s are inserted and emptied 
+     * each time their size exceeds {@link #getFlushThreshold()}, after reading 
+     * a top-level group.
      * 
      * @param orthoXMLFile              A {@code String} that is the path to the OMA groups file.
      * @param geneMappingFile           A {@code String} that is the path to the gene mapping file.
@@ -284,33 +326,22 @@ public class ParseOrthoXML extends MySQLDAOUser {
             // Retrieve species from Bgee that use genome of another species.
             this.loadMappingSpeciesToGenomeSpecies();
             
-            // Construct HierarchicalNodeTOs and GeneTOs
-            this.generateTOsFromFile(orthoXMLFile, geneMapping);
-
             // Start a transaction to insert HierarchicalNodeTOs and update GeneTOs
             // in the Bgee data source. Note that we do not need to call rollback if
             // an error occurs, calling closeDAO will rollback any ongoing transaction.
-            int nbInsertedGroups = 0, nbUpdatedGenes = 0, nbInsertedGroupToGene = 0;
-
             this.startTransaction(); 
 
-            log.info("Start inserting of hierarchical groups...");
-            nbInsertedGroups = this.getHierarchicalGroupDAO()
-                    .insertHierarchicalNodes(this.hierarchicalNodeTOs);
-            log.info("Done inserting hierarchical groups");
-
-            log.info("Start updating genes...");
-//            nbUpdatedGenes = this.getGeneDAO().updateGenes(this.geneTOs,
-//                    Arrays.asList(GeneDAO.Attribute.OMA_PARENT_NODE_ID));
-            log.info("Done updating genes.");
-            log.info("Start inserting gene to hierarchical group mapping...");
-            nbInsertedGroupToGene = this.getHierarchicalGroupDAO()
-            		.insertHierarchicalNodeToGene(this.hierarchicalNodeToGeneTOs);
-            log.info("Done inserting gene to hierarchical group mapping.");
+            // Construct HierarchicalNodeTOs and GeneTOs, and insert them 
+            // while reading the file
+            this.generateTOsFromFile(orthoXMLFile, geneMapping);
+            // Insert remaining TOs
+            this.flushTOs(true);
 
             this.commit();
-            log.info("Done parsing of OrthoXML file: {} hierarchical groups inserted " +
-                    ",{} genes updated, and {} mapping between hierarchical group and genes inserted.", nbInsertedGroups, nbUpdatedGenes, nbInsertedGroupToGene);
+            log.info("Done parsing of OrthoXML file: {} top-level groups read, " 
+                    + "{} hierarchical groups inserted, " 
+                    + "and {} mapping between hierarchical group and genes inserted.", 
+                    this.groupReadCount, this.insertedGroupCount, this.insertedGroupToGeneCount);
         } catch (IllegalStateException e) {
             log.catching(e);
             throw log.throwing(new IllegalArgumentException(
@@ -537,11 +568,58 @@ public class ParseOrthoXML extends MySQLDAOUser {
             this.generateTOsFromGroup(group, group.getId(), geneMapping);
             // We increment the nestedSetBoundSeed because we move to the next OMA group.
             this.nestedSetBoundSeed++;
+            this.groupReadCount++;
+            if (this.groupReadCount % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("{} top-level groups read, {} hierarchical groups inserted so far", 
+                        this.groupReadCount, this.insertedGroupCount);
+            }
+            // Nested set bounds of a top-level group do not depend on the following groups, 
+            // so the TOs generated can be inserted right away
+            this.flushTOs(false);
         }
         log.info("Done retrieving hierarchical groups.");
         log.traceExit();
     }
     
+    /**
+     * Inserts the {@code TransferObject}s generated so far into the data source, 
+     * if their number exceeds {@link #getFlushThreshold()} or if {@code force} is {@code true}, 
+     * then empties the {@code Collection}s storing them. A transaction must have been 
+     * started.
+     * 
+     * @param force         A {@code boolean} defining whether the {@code TransferObject}s 
+     *                      should be inserted whatever their number.
+     * @throws DAOException If an error occurred while inserting the data.
+     */
+    private void flushTOs(boolean force) throws DAOException {
+        log.traceEntry("{}", force);
+        if (!force && this.hierarchicalNodeTOs.size() + this.hierarchicalNodeToGeneTOs.size() 
+                + this.geneTOs.size() < this.getFlushThreshold()) {
+            log.traceExit();
+            return;
+        }
+        if (!this.hierarchicalNodeTOs.isEmpty()) {
+            log.debug("Inserting {} hierarchical groups...", this.hierarchicalNodeTOs.size());
+            this.insertedGroupCount += this.getHierarchicalGroupDAO()
+                    .insertHierarchicalNodes(this.hierarchicalNodeTOs);
+            this.hierarchicalNodeTOs = new HashSet<HierarchicalNodeTO>();
+        }
+//        if (!this.geneTOs.isEmpty()) {
+//            this.getGeneDAO().updateGenes(this.geneTOs,
+//                    Arrays.asList(GeneDAO.Attribute.OMA_PARENT_NODE_ID));
+//        }
+        this.geneTOs = new HashSet<GeneTO>();
+        this.genesUpdated = new HashMap<Integer, String>();
+        if (!this.hierarchicalNodeToGeneTOs.isEmpty()) {
+            log.debug("Inserting {} mappings between hierarchical groups and genes...", 
+                    this.hierarchicalNodeToGeneTOs.size());
+            this.insertedGroupToGeneCount += this.getHierarchicalGroupDAO()
+                    .insertHierarchicalNodeToGene(this.hierarchicalNodeToGeneTOs);
+            this.hierarchicalNodeToGeneTOs = new HashSet<HierarchicalNodeToGeneTO>();
+        }
+        log.traceExit();
+    }
+    
     /**
      * Extract all relevant information from a {@code Group} and create a 
      * {@code Collection} of {@code HierarchicalNodeTO}s as a nested set model, and a
@@ -741,10 +819,10 @@ public class ParseOrthoXML extends MySQLDAOUser {
             return log.traceExit(false);
         }
         
-        if (this.genesUpdated.containsKey(geneTO.getGeneId())
+        if (this.genesUpdated.containsKey(geneTO.getId())
                 && !this.genesUpdated.get(geneTO.getId()).equals(omaXrefId)) {
             log.warn("The gene {} is in different hierarchical orthologous groups: " +
-                    "/{}/ and /{}/", geneTO.getGeneId(), this.genesUpdated.get(geneTO.getGeneId()),
+                    "/{}/ and /{}/", geneTO.getGeneId(), this.genesUpdated.get(geneTO.getId()),
                     omaXrefId);
             return log.traceExit(false); 
         } 
@@ -781,4 +859,26 @@ public class ParseOrthoXML extends MySQLDAOUser {
         }
         return log.traceExit(c);
     }
+
+    /**
+     * @return  An {@code int} that is the number of {@code TransferObject}s waiting 
+     *          for insertion above which they are inserted, after reading a top-level group. 
+     *          Default is {@link #DEFAULT_FLUSH_THRESHOLD}.
+     */
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+    /**
+     * @param flushThreshold    See {@link #getFlushThreshold()}.
+     */
+    public void setFlushThreshold(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+    /**
+     * @return  An {@code int} that is the number of top-level groups read so far 
+     *          from the OrthoXML file, to follow the progress of the parsing.
+     */
+    public int getGroupReadCount() {
+        return groupReadCount;
+    }
 }
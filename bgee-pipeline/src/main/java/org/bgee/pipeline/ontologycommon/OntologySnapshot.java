@@ -0,0 +1,812 @@
+package org.bgee.pipeline.ontologycommon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import owltools.graph.OWLGraphEdge;
+import owltools.graph.OWLGraphWrapper;
+
+/**
+ * A compact binary snapshot of the parts of an ontology used by the pipeline:
+ * classes with their labels, alternative IDs, xrefs and subsets, direct is_a
+ * and part_of related relations with their taxon constraints (GCI fillers),
+ * and the closures of these relations. It allows the pipeline steps only reading
+ * an ontology not to parse it, and the steps modifying it not to recompute closures.
+ * <p>
+ * Snapshots are created explicitly, next to the ontology file, using {@link #create(String)}
+ * (see the action {@code GenerateSnapshots} of {@link OntologyTools#main(String[])}).
+ * They are then used through {@link #loadIfUpToDate(String)}, that never creates
+ * a snapshot: it returns {@code null} if the snapshot does not exist, or if it was created
+ * from a different version of the ontology file, as identified by the SHA-256 hash
+ * of its content. Snapshots are loaded by mapping the file in memory: only the strings
+ * are read in the heap, relations and closures stay in the mapped file.
+ * <p>
+ * Closures are computed over all is_a and part_of related relations, including
+ * relations with a GCI filler, as {@code OWLGraphWrapper#getOWLClassAncestorsWithGCI}.
+ * Closures over is_a relations only do not consider relations with a GCI filler,
+ * as {@code OWLGraphWrapper#getAncestorsThroughIsA}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class OntologySnapshot {
+    /**
+     * {@code Logger} of the class.
+     */
+    private final static Logger log = LogManager.getLogger(OntologySnapshot.class.getName());
+
+    /**
+     * A {@code String} that is the extension appended to the path of an ontology file
+     * to obtain the path of its snapshot.
+     */
+    public final static String FILE_EXTENSION = ".snapshot";
+
+    private final static int MAGIC_NUMBER = 0x4F4E5453;
+    /**
+     * An {@code int} that is the version of the format of the snapshot files. It must be
+     * incremented each time the format or the content of the snapshots is modified,
+     * so that outdated snapshots are not used.
+     */
+    private final static int FORMAT_VERSION = 3;
+    private final static String DIGEST_ALGORITHM = "SHA-256";
+
+    private final static byte OBSOLETE_FLAG = 1;
+    private final static byte REAL_CLASS_FLAG = 2;
+
+    //order of the sections in the file
+    private final static int ALT_IDS_SECTION = 0;
+    private final static int XREFS_SECTION = 1;
+    private final static int SUBSETS_SECTION = 2;
+    private final static int EDGES_SECTION = 3;
+    private final static int ANCESTORS_SECTION = 4;
+    private final static int DESCENDANTS_SECTION = 5;
+    private final static int IS_A_ANCESTORS_SECTION = 6;
+    private final static int IS_A_DESCENDANTS_SECTION = 7;
+    private final static int SECTION_COUNT = 8;
+    /**
+     * An {@code int} that is the number of {@code int}s stored per edge:
+     * target class index, relation type ordinal, GCI filler string index or -1.
+     */
+    private final static int EDGE_STRIDE = 3;
+
+    /**
+     * The types of relations stored in snapshots.
+     */
+    public static enum RelationType {
+        IS_A, PART_OF;
+    }
+
+    /**
+     * A direct is_a or part_of related relation stored in a snapshot.
+     */
+    public static class SnapshotEdge {
+        private final String targetId;
+        private final RelationType relationType;
+        private final String gciFillerId;
+
+        private SnapshotEdge(String targetId, RelationType relationType, String gciFillerId) {
+            this.targetId = targetId;
+            this.relationType = relationType;
+            this.gciFillerId = gciFillerId;
+        }
+
+        /**
+         * @return  A {@code String} that is the OBO-like ID of the target of this relation.
+         */
+        public String getTargetId() {
+            return targetId;
+        }
+        /**
+         * @return  The {@code RelationType} of this relation.
+         */
+        public RelationType getRelationType() {
+            return relationType;
+        }
+        /**
+         * @return  A {@code String} that is the OBO-like ID of the taxon this relation
+         *          is restricted to (GCI filler), {@code null} if it is not restricted.
+         */
+        public String getGCIFillerId() {
+            return gciFillerId;
+        }
+
+        @Override
+        public String toString() {
+            return "SnapshotEdge [targetId=" + targetId + ", relationType=" + relationType
+                    + ", gciFillerId=" + gciFillerId + "]";
+        }
+    }
+
+    /**
+     * Loads the ontology stored in {@code ontFile}, writes its snapshot next to it,
+     * and returns it. An existing snapshot is replaced.
+     *
+     * @param ontFile   A {@code String} that is the path to the ontology file.
+     * @return          The {@code OntologySnapshot} of the ontology.
+     * @throws OWLOntologyCreationException If an error occurred while loading
+     *                                      the ontology.
+     * @throws OBOFormatParserException     If the ontology file could not be parsed.
+     * @throws IOException                  If the ontology file could not be read,
+     *                                      or the snapshot could not be written.
+     */
+    public static OntologySnapshot create(String ontFile) throws OWLOntologyCreationException,
+            OBOFormatParserException, IOException {
+        log.traceEntry("{}", ontFile);
+        Path sourceFile = Paths.get(ontFile);
+        //The hash is computed before loading the ontology, so that a modification
+        //of the file while it is loaded results in an outdated snapshot
+        byte[] sourceDigest = digest(sourceFile);
+
+        Path snapshotFile = getSnapshotFile(ontFile);
+        write(snapshotFile, new OntologyUtils(ontFile), sourceDigest);
+        return log.traceExit(load(snapshotFile));
+    }
+
+    /**
+     * Loads the snapshot of the ontology stored in {@code ontFile}, if it exists
+     * and was created from the current content of {@code ontFile}. This method
+     * never creates a snapshot, see {@link #create(String)}.
+     *
+     * @param ontFile   A {@code String} that is the path to the ontology file.
+     * @return          The {@code OntologySnapshot} of the ontology, or {@code null}
+     *                  if there is no up-to-date snapshot.
+     * @throws IOException  If the ontology file could not be read.
+     */
+    public static OntologySnapshot loadIfUpToDate(String ontFile) throws IOException {
+        log.traceEntry("{}", ontFile);
+        Path snapshotFile = getSnapshotFile(ontFile);
+        if (!Files.exists(snapshotFile)) {
+            return log.traceExit((OntologySnapshot) null);
+        }
+        OntologySnapshot snapshot;
+        try {
+            snapshot = load(snapshotFile);
+        } catch (IOException e) {
+            log.catching(e);
+            log.warn("Invalid snapshot {}, not used", snapshotFile);
+            return log.traceExit((OntologySnapshot) null);
+        }
+        if (!Arrays.equals(snapshot.sourceDigest, digest(Paths.get(ontFile)))) {
+            log.info("Snapshot {} outdated, not used", snapshotFile);
+            return log.traceExit((OntologySnapshot) null);
+        }
+        log.info("Using snapshot {}", snapshotFile);
+        return log.traceExit(snapshot);
+    }
+
+    private static Path getSnapshotFile(String ontFile) {
+        return Paths.get(ontFile + FILE_EXTENSION);
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        log.traceEntry("{}", file);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw log.throwing(new IllegalStateException(e));
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return log.traceExit(digest.digest());
+    }
+
+    /**
+     * Writes the snapshot of the ontology wrapped into {@code utils}. The snapshot is first
+     * written to a temporary file, then moved to {@code file}, so that a partially written
+     * snapshot is never loaded.
+     *
+     * @param file          A {@code Path} that is the file to write the snapshot to.
+     * @param utils         The {@code OntologyUtils} wrapping the ontology.
+     * @param sourceDigest  A {@code byte} array that is the hash of the content
+     *                      of the ontology file.
+     * @throws IOException  If an error occurred while writing the snapshot.
+     */
+    private static void write(Path file, OntologyUtils utils, byte[] sourceDigest)
+            throws IOException {
+        log.traceEntry("{}, {}, {}", file, utils, sourceDigest);
+
+        OWLGraphWrapper wrapper = utils.getWrapper();
+        //Classes sorted by ID, for reproducible files
+        Map<String, OWLClass> classesById = new TreeMap<>();
+        for (OWLClass cls: wrapper.getAllOWLClasses()) {
+            if (wrapper.isOboAltId(cls) || cls.isOWLThing() || cls.isOWLNothing()) {
+                continue;
+            }
+            classesById.put(wrapper.getIdentifier(cls), cls);
+        }
+        List<String> classIds = new ArrayList<>(classesById.keySet());
+        Map<String, Integer> classIndexes = new HashMap<>();
+        for (int i = 0; i < classIds.size(); i++) {
+            classIndexes.put(classIds.get(i), i);
+        }
+        Set<OWLClass> realClasses = wrapper.getAllRealOWLClasses();
+
+        StringTable strings = new StringTable();
+        int[] idStrings = new int[classIds.size()];
+        int[] labelStrings = new int[classIds.size()];
+        byte[] flags = new byte[classIds.size()];
+        List<int[]> altIds = new ArrayList<>();
+        List<int[]> xrefs = new ArrayList<>();
+        List<int[]> subsets = new ArrayList<>();
+        List<int[]> edges = new ArrayList<>();
+        List<int[]> parents = new ArrayList<>();
+        List<int[]> isAParents = new ArrayList<>();
+        for (int i = 0; i < classIds.size(); i++) {
+            OWLClass cls = classesById.get(classIds.get(i));
+            idStrings[i] = strings.index(classIds.get(i));
+            String label = wrapper.getLabel(cls);
+            labelStrings[i] = label == null? -1: strings.index(label);
+            flags[i] = (byte) ((utils.isObsolete(cls)? OBSOLETE_FLAG: 0) |
+                    (realClasses.contains(cls)? REAL_CLASS_FLAG: 0));
+            altIds.add(strings.indexes(wrapper.getAltIds(cls)));
+            xrefs.add(strings.indexes(wrapper.getXref(cls)));
+            subsets.add(strings.indexes(wrapper.getSubsets(cls)));
+
+            //Sorted edges, for reproducible files
+            TreeMap<String, int[]> classEdges = new TreeMap<>();
+            for (OWLGraphEdge edge: utils.getIsAPartOfOutgoingEdges(cls)) {
+                if (!(edge.getTarget() instanceof OWLClass)) {
+                    continue;
+                }
+                Integer targetIndex = classIndexes.get(wrapper.getIdentifier(edge.getTarget()));
+                if (targetIndex == null) {
+                    continue;
+                }
+                RelationType type = utils.isASubClassOfEdge(edge)? RelationType.IS_A:
+                    RelationType.PART_OF;
+                String gciFillerId = edge.getGCIFiller() == null? null:
+                    wrapper.getIdentifier(edge.getGCIFiller());
+                classEdges.put(targetIndex + "|" + type + "|" + gciFillerId, new int[]{
+                        targetIndex, type.ordinal(),
+                        gciFillerId == null? -1: strings.index(gciFillerId)});
+            }
+            int[] classEdgeValues = new int[classEdges.size() * EDGE_STRIDE];
+            int pos = 0;
+            for (int[] edge: classEdges.values()) {
+                System.arraycopy(edge, 0, classEdgeValues, pos, EDGE_STRIDE);
+                pos += EDGE_STRIDE;
+            }
+            edges.add(classEdgeValues);
+            parents.add(classEdges.values().stream().mapToInt(e -> e[0]).distinct().sorted()
+                    .toArray());
+            isAParents.add(classEdges.values().stream()
+                    .filter(e -> e[1] == RelationType.IS_A.ordinal() && e[2] < 0)
+                    .mapToInt(e -> e[0]).distinct().sorted().toArray());
+        }
+        List<int[]> ancestors = computeClosure(parents);
+        List<int[]> descendants = invert(ancestors);
+        List<int[]> isAAncestors = computeClosure(isAParents);
+        List<int[]> isADescendants = invert(isAAncestors);
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sourceDigest.length);
+            out.write(sourceDigest);
+            out.writeInt(strings.values.size());
+            for (String s: strings.values) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    throw log.throwing(new IllegalArgumentException("String too long: " + s));
+                }
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(classIds.size());
+            for (int i = 0; i < classIds.size(); i++) {
+                out.writeInt(idStrings[i]);
+                out.writeInt(labelStrings[i]);
+                out.writeByte(flags[i]);
+            }
+            for (List<int[]> section: Arrays.asList(altIds, xrefs, subsets, edges,
+                    ancestors, descendants, isAAncestors, isADescendants)) {
+                writeSection(out, section);
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        log.info("Snapshot written to {}: {} classes, {} strings", file, classIds.size(),
+                strings.values.size());
+        log.traceExit();
+    }
+
+    /**
+     * Writes a section: the number of values, then the offsets of the values
+     * of each class, then the values.
+     */
+    private static void writeSection(DataOutputStream out, List<int[]> valuesPerClass)
+            throws IOException {
+        int valueCount = valuesPerClass.stream().mapToInt(v -> v.length).sum();
+        out.writeInt(valueCount);
+        int offset = 0;
+        out.writeInt(offset);
+        for (int[] values: valuesPerClass) {
+            offset += values.length;
+            out.writeInt(offset);
+        }
+        for (int[] values: valuesPerClass) {
+            for (int value: values) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Computes the transitive closure of {@code parents}.
+     *
+     * @param parents   A {@code List} where each element contains the indexes
+     *                  of the direct parents of the class at the same index.
+     * @return          A {@code List} where each element contains the sorted indexes
+     *                  of all the ancestors of the class at the same index.
+     */
+    private static List<int[]> computeClosure(List<int[]> parents) {
+        log.traceEntry();
+        int[][] closures = new int[parents.size()][];
+        for (int i = 0; i < parents.size(); i++) {
+            Set<Integer> visited = new HashSet<>();
+            Deque<Integer> walker = new ArrayDeque<>();
+            for (int parent: parents.get(i)) {
+                walker.push(parent);
+            }
+            while (!walker.isEmpty()) {
+                int current = walker.pop();
+                if (current == i || !visited.add(current)) {
+                    continue;
+                }
+                if (closures[current] != null) {
+                    //closure of this ancestor already computed
+                    for (int ancestor: closures[current]) {
+                        if (ancestor != i) {
+                            visited.add(ancestor);
+                        }
+                    }
+                    continue;
+                }
+                for (int parent: parents.get(current)) {
+                    walker.push(parent);
+                }
+            }
+            closures[i] = visited.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        return log.traceExit(Arrays.asList(closures));
+    }
+
+    /**
+     * @param relatives A {@code List} where each element contains indexes of classes
+     *                  related to the class at the same index.
+     * @return          A {@code List} storing the inverse relations, sorted.
+     */
+    private static List<int[]> invert(List<int[]> relatives) {
+        log.traceEntry();
+        int[] counts = new int[relatives.size()];
+        for (int[] values: relatives) {
+            for (int value: values) {
+                counts[value]++;
+            }
+        }
+        int[][] inverted = new int[relatives.size()][];
+        for (int i = 0; i < counts.length; i++) {
+            inverted[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        //iterating in order of index produces sorted arrays
+        for (int i = 0; i < relatives.size(); i++) {
+            for (int value: relatives.get(i)) {
+                inverted[value][counts[value]++] = i;
+            }
+        }
+        return log.traceExit(Arrays.asList(inverted));
+    }
+
+    /**
+     * Stores distinct {@code String}s, to refer to them by index in snapshots.
+     */
+    private static class StringTable {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private int index(String s) {
+            Integer index = this.indexes.get(s);
+            if (index == null) {
+                index = this.values.size();
+                this.values.add(s);
+                this.indexes.put(s, index);
+            }
+            return index;
+        }
+        private int[] indexes(Iterable<String> strings) {
+            if (strings == null) {
+                return new int[0];
+            }
+            Set<String> distinct = new LinkedHashSet<>();
+            strings.forEach(distinct::add);
+            return distinct.stream().sorted().mapToInt(this::index).toArray();
+        }
+    }
+
+    /**
+     * Loads a snapshot written by {@link #create(String)}, by mapping the file in memory.
+     *
+     * @param file          A {@code Path} that is the snapshot file.
+     * @return              The loaded {@code OntologySnapshot}.
+     * @throws IOException  If the file could not be read, or is not a valid snapshot
+     *                      of the current format.
+     */
+    static OntologySnapshot load(Path file) throws IOException {
+        log.traceEntry("{}", file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw log.throwing(new IOException("Snapshot file too large to be mapped: "
+                        + file));
+            }
+            //The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            if (buffer.getInt() != MAGIC_NUMBER) {
+                throw log.throwing(new IOException("Not a snapshot file: " + file));
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw log.throwing(new IOException("Unsupported snapshot format version "
+                        + version + " in file: " + file));
+            }
+            byte[] sourceDigest = new byte[buffer.getInt()];
+            buffer.get(sourceDigest);
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int classCount = buffer.getInt();
+            String[] classIds = new String[classCount];
+            int[] labels = new int[classCount];
+            byte[] flags = new byte[classCount];
+            for (int i = 0; i < classCount; i++) {
+                classIds[i] = strings[buffer.getInt()];
+                labels[i] = buffer.getInt();
+                flags[i] = buffer.get();
+            }
+            int[] sectionStarts = new int[SECTION_COUNT];
+            for (int i = 0; i < SECTION_COUNT; i++) {
+                sectionStarts[i] = buffer.position();
+                int valueCount = buffer.getInt();
+                long next = (long) buffer.position()
+                        + (long) (classCount + 1 + valueCount) * Integer.BYTES;
+                if (valueCount < 0 || next > channel.size()) {
+                    throw log.throwing(new IOException("Truncated snapshot file: " + file));
+                }
+                buffer.position((int) next);
+            }
+            if (buffer.position() != channel.size()) {
+                throw log.throwing(new IOException("Invalid snapshot file: " + file));
+            }
+            return log.traceExit(new OntologySnapshot(buffer, sourceDigest, strings,
+                    classIds, labels, flags, sectionStarts));
+        } catch (RuntimeException e) {
+            //BufferUnderflowException or IndexOutOfBoundsException on a corrupted file
+            throw log.throwing(new IOException("Invalid snapshot file: " + file, e));
+        }
+    }
+
+    /**
+     * The {@code ByteBuffer} mapping the snapshot file. Only absolute get methods are used
+     * after loading, so that it can be read concurrently.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * A {@code byte} array that is the hash of the content of the ontology file
+     * the snapshot was created from.
+     */
+    private final byte[] sourceDigest;
+    private final String[] strings;
+    private final String[] classIds;
+    private final int[] labels;
+    private final byte[] flags;
+    /**
+     * Positions of the sections in {@link #buffer}, see {@link #ALT_IDS_SECTION}
+     * and following constants.
+     */
+    private final int[] sectionStarts;
+    /**
+     * A {@code Map} where keys are OBO-like IDs of classes, or their alternative IDs,
+     * the associated value being the index of the class.
+     */
+    private final Map<String, Integer> classIndexes;
+    /**
+     * A {@code Map} where keys are xrefs, the associated value being the indexes
+     * of the classes they are associated to.
+     */
+    private final Map<String, int[]> classIndexesByXRef;
+
+    private OntologySnapshot(ByteBuffer buffer, byte[] sourceDigest, String[] strings,
+            String[] classIds, int[] labels, byte[] flags, int[] sectionStarts) {
+        this.buffer = buffer;
+        this.sourceDigest = sourceDigest;
+        this.strings = strings;
+        this.classIds = classIds;
+        this.labels = labels;
+        this.flags = flags;
+        this.sectionStarts = sectionStarts;
+
+        this.classIndexes = new HashMap<>();
+        Map<String, List<Integer>> xrefIndexes = new HashMap<>();
+        for (int i = 0; i < classIds.length; i++) {
+            final int classIndex = i;
+            this.forEachValue(ALT_IDS_SECTION, i,
+                    v -> this.classIndexes.putIfAbsent(this.strings[v], classIndex));
+            this.forEachValue(XREFS_SECTION, i, v -> xrefIndexes.computeIfAbsent(
+                    this.strings[v], k -> new ArrayList<>()).add(classIndex));
+        }
+        //IDs of classes have precedence over alternative IDs
+        for (int i = 0; i < classIds.length; i++) {
+            this.classIndexes.put(classIds[i], i);
+        }
+        this.classIndexesByXRef = xrefIndexes.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey(),
+                        e -> e.getValue().stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private int getValueStart(int section, int classIndex) {
+        return this.sectionStarts[section] + Integer.BYTES
+                + this.buffer.getInt(this.sectionStarts[section] + Integer.BYTES
+                        * (1 + classIndex)) * Integer.BYTES
+                + (this.classIds.length + 1) * Integer.BYTES;
+    }
+    private int getValueCount(int section, int classIndex) {
+        int offsetPos = this.sectionStarts[section] + Integer.BYTES * (1 + classIndex);
+        return this.buffer.getInt(offsetPos + Integer.BYTES) - this.buffer.getInt(offsetPos);
+    }
+    private void forEachValue(int section, int classIndex, IntConsumer consumer) {
+        int start = this.getValueStart(section, classIndex);
+        int count = this.getValueCount(section, classIndex);
+        for (int i = 0; i < count; i++) {
+            consumer.accept(this.buffer.getInt(start + i * Integer.BYTES));
+        }
+    }
+    private Set<String> getValues(int section, String classId, IntFunction<String> mapper) {
+        Integer classIndex = this.classIndexes.get(classId);
+        if (classIndex == null) {
+            return Collections.emptySet();
+        }
+        Set<String> values = new LinkedHashSet<>();
+        this.forEachValue(section, classIndex, v -> values.add(mapper.apply(v)));
+        return Collections.unmodifiableSet(values);
+    }
+
+    /**
+     * @return  An unmodifiable {@code List} of {@code String}s that are the OBO-like IDs
+     *          of all the classes of the ontology, including obsolete classes, sorted.
+     */
+    public List<String> getClassIds() {
+        return Collections.unmodifiableList(Arrays.asList(this.classIds));
+    }
+    /**
+     * @return  A {@code Set} of {@code String}s that are the OBO-like IDs
+     *          of the "real" classes of the ontology, as returned by
+     *          {@link OntologyTools#getAllRealOWLClassIds(OWLGraphWrapper)}.
+     */
+    public Set<String> getRealClassIds() {
+        log.traceEntry();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < this.classIds.length; i++) {
+            if ((this.flags[i] & REAL_CLASS_FLAG) != 0) {
+                ids.add(this.classIds[i]);
+            }
+        }
+        return log.traceExit(ids);
+    }
+    /**
+     * @return  A {@code Set} of {@code String}s that are the OBO-like IDs
+     *          of obsolete classes and their alternative IDs, as returned by
+     *          {@link OntologyTools#getObsoleteIds(OWLOntology)}.
+     */
+    public Set<String> getObsoleteIds() {
+        log.traceEntry();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < this.classIds.length; i++) {
+            if ((this.flags[i] & OBSOLETE_FLAG) != 0) {
+                ids.add(this.classIds[i]);
+                this.forEachValue(ALT_IDS_SECTION, i, v -> ids.add(this.strings[v]));
+            }
+        }
+        return log.traceExit(ids);
+    }
+    /**
+     * @param id    A {@code String} that is the OBO-like ID, or an alternative ID, of a class.
+     * @return      A {@code String} that is the OBO-like ID of the class, {@code null}
+     *              if no class corresponds to {@code id}.
+     */
+    public String getClassId(String id) {
+        Integer classIndex = this.classIndexes.get(id);
+        return classIndex == null? null: this.classIds[classIndex];
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          A {@code String} that is the label of the class, {@code null}
+     *                  if it has none or if the class does not exist.
+     */
+    public String getLabel(String classId) {
+        Integer classIndex = this.classIndexes.get(classId);
+        if (classIndex == null || this.labels[classIndex] < 0) {
+            return null;
+        }
+        return this.strings[this.labels[classIndex]];
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          {@code true} if the class is obsolete, as determined by
+     *                  {@link OntologyUtils#isObsolete(org.semanticweb.owlapi.model.OWLObject)}.
+     */
+    public boolean isObsolete(String classId) {
+        Integer classIndex = this.classIndexes.get(classId);
+        return classIndex != null && (this.flags[classIndex] & OBSOLETE_FLAG) != 0;
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are
+     *                  the alternative IDs of the class.
+     */
+    public Set<String> getAltIds(String classId) {
+        return this.getValues(ALT_IDS_SECTION, classId, v -> this.strings[v]);
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are
+     *                  the xrefs of the class.
+     */
+    public Set<String> getXRefs(String classId) {
+        return this.getValues(XREFS_SECTION, classId, v -> this.strings[v]);
+    }
+    /**
+     * Equivalent to {@link OntologyUtils#getXRefMappings()}: an xref mapped to several
+     * classes is only mapped to the non-obsolete ones, if any.
+     *
+     * @return  A {@code Map} where keys are {@code String}s that are XRef IDs,
+     *          the associated value being an unmodifiable {@code Set} of {@code String}s
+     *          that are the OBO-like IDs of the classes they are associated to.
+     * @see #getXRefMapping(String)
+     */
+    public Map<String, Set<String>> getXRefMappings() {
+        log.traceEntry();
+        Map<String, Set<String>> mappings = new HashMap<>();
+        for (String xref: this.classIndexesByXRef.keySet()) {
+            mappings.put(xref, this.getXRefMapping(xref));
+        }
+        return log.traceExit(mappings);
+    }
+    /**
+     * Equivalent to {@code getXRefMappings().get(xref)}, without generating the mappings
+     * of all xrefs.
+     *
+     * @param xref  A {@code String} that is an XRef ID.
+     * @return      An unmodifiable {@code Set} of {@code String}s that are the OBO-like IDs
+     *              of the classes {@code xref} is associated to, {@code null} if none.
+     * @see #getXRefMappings()
+     */
+    public Set<String> getXRefMapping(String xref) {
+        int[] indexes = this.classIndexesByXRef.get(xref);
+        if (indexes == null) {
+            return null;
+        }
+        boolean hasNonObsolete = indexes.length > 1 && Arrays.stream(indexes)
+                .anyMatch(i -> (this.flags[i] & OBSOLETE_FLAG) == 0);
+        return Collections.unmodifiableSet(Arrays.stream(indexes)
+                .filter(i -> !hasNonObsolete || (this.flags[i] & OBSOLETE_FLAG) == 0)
+                .mapToObj(i -> this.classIds[i])
+                .collect(Collectors.toSet()));
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are
+     *                  the subsets the class belongs to.
+     */
+    public Set<String> getSubsets(String classId) {
+        return this.getValues(SUBSETS_SECTION, classId, v -> this.strings[v]);
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code List} of {@code SnapshotEdge}s that are
+     *                  the direct is_a and part_of related relations outgoing from the class,
+     *                  as returned by {@link OntologyUtils#getIsAPartOfOutgoingEdges(
+     *                  org.semanticweb.owlapi.model.OWLObject)}, restricted to named classes.
+     */
+    public List<SnapshotEdge> getIsAPartOfOutgoingEdges(String classId) {
+        log.traceEntry("{}", classId);
+        Integer classIndex = this.classIndexes.get(classId);
+        if (classIndex == null) {
+            return log.traceExit(Collections.emptyList());
+        }
+        int start = this.getValueStart(EDGES_SECTION, classIndex);
+        int count = this.getValueCount(EDGES_SECTION, classIndex);
+        List<SnapshotEdge> edges = new ArrayList<>(count / EDGE_STRIDE);
+        for (int i = 0; i < count; i += EDGE_STRIDE) {
+            int pos = start + i * Integer.BYTES;
+            int gciFiller = this.buffer.getInt(pos + 2 * Integer.BYTES);
+            edges.add(new SnapshotEdge(this.classIds[this.buffer.getInt(pos)],
+                    RelationType.values()[this.buffer.getInt(pos + Integer.BYTES)],
+                    gciFiller < 0? null: this.strings[gciFiller]));
+        }
+        return log.traceExit(Collections.unmodifiableList(edges));
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are the OBO-like IDs
+     *                  of the ancestors of the class through is_a and part_of related relations.
+     */
+    public Set<String> getAncestorIds(String classId) {
+        return this.getValues(ANCESTORS_SECTION, classId, v -> this.classIds[v]);
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are the OBO-like IDs
+     *                  of the descendants of the class through is_a and part_of
+     *                  related relations.
+     */
+    public Set<String> getDescendantIds(String classId) {
+        return this.getValues(DESCENDANTS_SECTION, classId, v -> this.classIds[v]);
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are the OBO-like IDs
+     *                  of the ancestors of the class through is_a relations only.
+     */
+    public Set<String> getAncestorIdsThroughIsA(String classId) {
+        return this.getValues(IS_A_ANCESTORS_SECTION, classId, v -> this.classIds[v]);
+    }
+    /**
+     * @param classId   A {@code String} that is the OBO-like ID of a class.
+     * @return          An unmodifiable {@code Set} of {@code String}s that are the OBO-like IDs
+     *                  of the descendants of the class through is_a relations only.
+     */
+    public Set<String> getDescendantIdsThroughIsA(String classId) {
+        return this.getValues(IS_A_DESCENDANTS_SECTION, classId, v -> this.classIds[v]);
+    }
+}
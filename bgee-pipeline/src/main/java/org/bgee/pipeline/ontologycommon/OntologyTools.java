@@ -51,7 +51,7 @@ import owltools.graph.OWLGraphWrapper;
  * Class responsible for various generic operations on ontologies.
  * 
  * @author Frederic Bastian
- * @version Bgee 15 Mar. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 //TODO: merge this class with OntologyUtils? Not sure actually.
@@ -93,6 +93,16 @@ public class OntologyTools {
      *     <li>path to the file where to store the list of IDs.
      *   </ol>
      * </li>
+     * <li>If the first element in {@code args} is {@code GenerateSnapshots}, 
+     * the action will be to write the snapshots of ontologies, next to them, 
+     * to be reused by following pipeline steps while the ontology files are unchanged, see 
+     * {@link OntologySnapshot#create(String)}. Snapshots are only written by this action. 
+     * Following elements in {@code args} must then be: 
+     *   <ol>
+     *     <li>a list of paths to ontology files, separated by 
+     *     {@link CommandRunner#LIST_SEPARATOR}.
+     *   </ol>
+     * </li>
      * <li>If the first element in {@code args} is {@code RetrieveAnatIncorrectIndirectRels}, 
      * the action will be to retrieve from the database indirect relations that cannot be reached
      * through a chain of direct relations, to find explanations from the Uberon ontology,
@@ -142,6 +152,15 @@ public class OntologyTools {
                         "3 arguments, " + args.length + " provided."));
             }
             tools.writeOWLClassIdsToFile(args[1], args[2]);
+        } else if (args[0].equalsIgnoreCase("GenerateSnapshots")) {
+            if (args.length != 2) {
+                throw log.throwing(new IllegalArgumentException(
+                        "Incorrect number of arguments provided, expected " + 
+                        "2 arguments, " + args.length + " provided."));
+            }
+            for (String ontFile: CommandRunner.parseListArgument(args[1])) {
+                OntologySnapshot.create(ontFile);
+            }
         } else if (args[0].equalsIgnoreCase("RetrieveAnatIncorrectIndirectRels")) {
             if (args.length < 4) {
                 throw log.throwing(new IllegalArgumentException(
@@ -229,7 +248,7 @@ public class OntologyTools {
     
     /**
      * Extract the OBO-like IDs of obsoleted terms from the provided ontology, stored 
-     * in the file {@code ontFile}.
+     * in the file {@code ontFile}. The snapshot of the ontology is used if up-to-date.
      * 
      * @param ontFile   A {@code String} that is the path to the file storing an ontology, 
      *                  in OBO or OWL.
@@ -240,11 +259,16 @@ public class OntologyTools {
      * @throws OBOFormatParserException         If the ontology file could not be parsed.
      * @throws IOException                      If the ontology file coud not be read. 
      * @see #getObsoleteIds(OWLOntology)
+     * @see OntologySnapshot#loadIfUpToDate(String)
      */
     public Set<String> getObsoleteIds(String ontFile) throws UnknownOWLOntologyException, 
         OWLOntologyCreationException, OBOFormatParserException, IOException {
         log.traceEntry("{}", ontFile);
         
+        OntologySnapshot snapshot = OntologySnapshot.loadIfUpToDate(ontFile);
+        if (snapshot != null) {
+            return log.traceExit(snapshot.getObsoleteIds());
+        }
         return log.traceExit(this.getObsoleteIds(OntologyUtils.loadOntology(ontFile)));
     }
     
@@ -280,7 +304,8 @@ public class OntologyTools {
     /**
      * Same method as {@link #getAllRealOWLClassIds(OWLGraphWrapper)}, except 
      * that it is the path to the ontology file that is provided, rather than 
-     * an ontology already loaded into an {@code OWLGraphWrapper}. 
+     * an ontology already loaded into an {@code OWLGraphWrapper}. The snapshot 
+     * of the ontology is used if up-to-date. 
      * 
      * @param ontFile   A {@code String} that is the path to the ontology file.
      * @return          A {@code Set} of {@code String}s that are the OBO-like IDs 
@@ -295,12 +320,17 @@ public class OntologyTools {
      * @throws IOException                      If an error occurred while 
      *                                          loading the ontology.
      * @see #getAllRealOWLClassIds(OWLGraphWrapper)
+     * @see OntologySnapshot#loadIfUpToDate(String)
      */
     public Set<String> getAllRealOWLClassIds(String ontFile) 
             throws UnknownOWLOntologyException, OWLOntologyCreationException, 
             OBOFormatParserException, IOException {
         log.traceEntry("{}", ontFile);
         
+        OntologySnapshot snapshot = OntologySnapshot.loadIfUpToDate(ontFile);
+        if (snapshot != null) {
+            return log.traceExit(snapshot.getRealClassIds());
+        }
         return log.traceExit(this.getAllRealOWLClassIds(
                 new OWLGraphWrapper(OntologyUtils.loadOntology(ontFile))));
     }
@@ -1,12 +1,21 @@
 package org.bgee.pipeline.uberon;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -20,9 +29,12 @@ import org.bgee.model.dao.mysql.connector.MySQLDAOManager;
 import org.bgee.pipeline.CommandRunner;
 import org.bgee.pipeline.MySQLDAOUser;
 import org.bgee.pipeline.annotations.AnnotationCommon;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.bgee.pipeline.ontologycommon.OntologyUtils.PipelineRelationTO;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -34,7 +46,7 @@ import owltools.graph.OWLGraphWrapper;
  * Class dedicated to the insertion of Uberon information into the Bgee data source.
  * 
  * @author Frederic Bastian
- * @version Bgee 14.2 Oct. 2020
+ * @version Bgee 15.2 Oct. 2026
  * @since Bgee 13
  */
 public class InsertUberon extends MySQLDAOUser {
@@ -42,6 +54,15 @@ public class InsertUberon extends MySQLDAOUser {
      * {@code Logger} of the class.
      */
     private final static Logger log = LogManager.getLogger(InsertUberon.class.getName());
+    /**
+     * An {@code int} that is the default maximum number of {@code TransferObject}s 
+     * inserted in one call to a DAO, see {@link #setInsertionChunkSize(int)}.
+     */
+    public final static int DEFAULT_INSERTION_CHUNK_SIZE = 10000;
+    /**
+     * An {@code AtomicInteger} used to name the threads generating relations concurrently.
+     */
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
     
     /**
      * Several actions can be launched from this main method, depending on the first 
@@ -74,6 +95,11 @@ public class InsertUberon extends MySQLDAOUser {
      *   <li>A list of OBO-like IDs of terms that are roots of subgraph to ignore, 
      *   see {@link UberonCommon#getToIgnoreSubgraphRootIds()}. Can be empty.
      *   <li>Path to the file listing species used in Bgee. can be empty.
+     *   <li>OPTIONNAL: the number of threads used to generate the relations, 
+     *   see {@link #setWorkerCount(int)}. Can be equal to {@link CommandRunner#EMPTY_ARG} 
+     *   if the next argument is provided.
+     *   <li>OPTIONNAL: the maximum number of elements inserted in one call to a DAO, 
+     *   see {@link #setInsertionChunkSize(int)}.
      *   </ol>
      * </ul>
      * @param args  An {@code Array} of {@code String}s containing the requested parameters.
@@ -94,6 +120,7 @@ public class InsertUberon extends MySQLDAOUser {
             
             UberonDevStage ub = new UberonDevStage(new OntologyUtils(args[1]), 
                     new OntologyUtils(args[2]), args[3]);
+            ub.setTaxOntSnapshot(OntologySnapshot.loadIfUpToDate(args[2]));
             ub.setToIgnoreSubgraphRootIds(CommandRunner.parseListArgument(args[4]));
             
             InsertUberon insert = new InsertUberon();
@@ -105,22 +132,30 @@ public class InsertUberon extends MySQLDAOUser {
             insert.insertStageOntologyIntoDataSource(ub, speciesIds);
             
         } else if (args[0].equalsIgnoreCase("insertAnatomy")) {
-            if (args.length < 5 || args.length > 6) {
+            if (args.length < 5 || args.length > 8) {
                 throw log.throwing(new IllegalArgumentException(
                         "Incorrect number of arguments provided, expected " + 
-                        "5 or 6 arguments, " + args.length + " provided."));
+                        "5 to 8 arguments, " + args.length + " provided."));
             }
             
             Uberon ub = new Uberon(new OntologyUtils(args[1]), args[2]);
+            //the ontology is not modified, its closures can be retrieved from its snapshot
+            ub.setOntologySnapshot(OntologySnapshot.loadIfUpToDate(args[1]));
             //FIXME setting setToFilterSubgraphRootIds don't do anything
             //in the method insertAnatOntologyIntoDataSource, it's not implemented
             ub.setToFilterSubgraphRootIds(CommandRunner.parseListArgument(args[3]));
             ub.setToIgnoreSubgraphRootIds(CommandRunner.parseListArgument(args[4]));
             
             InsertUberon insert = new InsertUberon();
+            if (args.length > 6 && CommandRunner.parseArgument(args[6]) != null) {
+                insert.setWorkerCount(Integer.parseInt(args[6]));
+            }
+            if (args.length > 7 && CommandRunner.parseArgument(args[7]) != null) {
+                insert.setInsertionChunkSize(Integer.parseInt(args[7]));
+            }
             
             Collection<Integer> speciesIds = null;
-            if (args.length > 5 && StringUtils.isNotBlank(args[5])) {
+            if (args.length > 5 && StringUtils.isNotBlank(CommandRunner.parseArgument(args[5]))) {
                 speciesIds = AnnotationCommon.getTaxonIds(args[5]);
             }
             insert.insertAnatOntologyIntoDataSource(ub, speciesIds);
@@ -160,6 +195,14 @@ public class InsertUberon extends MySQLDAOUser {
      * for each relation stored in {@link #anatRelationTOs}.
      */
     private Set<TaxonConstraintTO<Integer>> anatRelTaxonConstraintTOs;
+    /**
+     * @see #getWorkerCount()
+     */
+    private int workerCount;
+    /**
+     * @see #getInsertionChunkSize()
+     */
+    private int insertionChunkSize;
 
     /**
      * Default constructor using default {@code MySQLDAOManager}.
@@ -180,6 +223,8 @@ public class InsertUberon extends MySQLDAOUser {
         this.anatEntityTaxonConstraintTOs = new HashSet<TaxonConstraintTO<String>>();
         this.anatRelationTOs = new HashSet<>();
         this.anatRelTaxonConstraintTOs = new HashSet<TaxonConstraintTO<Integer>>();
+        this.setWorkerCount(1);
+        this.setInsertionChunkSize(DEFAULT_INSERTION_CHUNK_SIZE);
     }
     
     /**
@@ -308,7 +353,15 @@ public class InsertUberon extends MySQLDAOUser {
                 OWLClass cls = wrapper.getOWLClassByIdentifier(rootIdToIgnore, true);
                 if (cls != null) {
                     classesToIgnore.add(cls);
-                    classesToIgnore.addAll(wrapper.getDescendantsThroughIsA(cls));
+                    if (uberon.getOntologySnapshot() != null) {
+                        uberon.getOntologySnapshot().getDescendantIdsThroughIsA(
+                                wrapper.getIdentifier(cls)).stream()
+                        .map(id -> wrapper.getOWLClassByIdentifierNoAltIds(id))
+                        .filter(c -> c != null)
+                        .forEach(c -> classesToIgnore.add(c));
+                    } else {
+                        classesToIgnore.addAll(wrapper.getDescendantsThroughIsA(cls));
+                    }
                 }
             }
         }
@@ -320,19 +373,21 @@ public class InsertUberon extends MySQLDAOUser {
             log.info("Start inserting info into data source...");
             this.startTransaction();
             
-            //insert anat entities and their taxon constraints
-            this.getAnatEntityDAO().insertAnatEntities(this.anatEntityTOs);
-            //save memory
-            this.anatEntityTOs = new HashSet<AnatEntityTO>();
-            this.getTaxonConstraintDAO().insertAnatEntityTaxonConstraints(
-                    this.anatEntityTaxonConstraintTOs);
-            this.anatEntityTaxonConstraintTOs = new HashSet<TaxonConstraintTO<String>>();
+            //insert anat entities and their taxon constraints.
+            //TOs are removed as they are inserted, to save memory
+            this.insertByChunks(this.anatEntityTOs, 
+                    tos -> this.getAnatEntityDAO().insertAnatEntities(tos), 
+                    "anatomical entities");
+            this.insertByChunks(this.anatEntityTaxonConstraintTOs, 
+                    tos -> this.getTaxonConstraintDAO().insertAnatEntityTaxonConstraints(tos), 
+                    "anatomical entity taxon constraints");
             //insert relations between anat entities and their taxon constraints
-            this.getRelationDAO().insertAnatEntityRelations(this.anatRelationTOs);
-            this.anatRelationTOs = new HashSet<>();
-            this.getTaxonConstraintDAO().insertAnatEntityRelationTaxonConstraints(
-                    this.anatRelTaxonConstraintTOs);
-            this.anatRelTaxonConstraintTOs = new HashSet<TaxonConstraintTO<Integer>>();
+            this.insertByChunks(this.anatRelationTOs, 
+                    tos -> this.getRelationDAO().insertAnatEntityRelations(tos), 
+                    "relations");
+            this.insertByChunks(this.anatRelTaxonConstraintTOs, 
+                    tos -> this.getTaxonConstraintDAO().insertAnatEntityRelationTaxonConstraints(tos), 
+                    "relation taxon constraints");
             
             this.commit();
             log.info("Done inserting info into data source.");
@@ -342,6 +397,41 @@ public class InsertUberon extends MySQLDAOUser {
 
         log.info("Done inserting anatomy.", speciesIds);
     }
+
+    /**
+     * Inserts {@code tos} into the data source by chunks of at most 
+     * {@link #getInsertionChunkSize()} elements, using {@code inserter}. 
+     * {@code TransferObject}s are removed from {@code tos} as soon as they are inserted, 
+     * so that the memory they use can be released during the insertion.
+     * 
+     * @param tos       A {@code Collection} of {@code TransferObject}s to insert. 
+     *                  Will be empty after the call to this method.
+     * @param inserter  A {@code Function} inserting the {@code Collection} 
+     *                  of {@code TransferObject}s provided, and returning the number 
+     *                  of rows inserted.
+     * @param toType    A {@code String} describing the {@code TransferObject}s inserted, 
+     *                  for logging purpose.
+     * @param <T>       The type of {@code TransferObject}s inserted.
+     * @throws DAOException If an error occurred while inserting into the data source.
+     */
+    private <T> void insertByChunks(Collection<T> tos, Function<Collection<T>, Integer> inserter, 
+            String toType) throws DAOException {
+        log.traceEntry("{}, {}, {}", tos, inserter, toType);
+        int totalCount = tos.size();
+        int insertedCount = 0;
+        Iterator<T> iterator = tos.iterator();
+        while (iterator.hasNext()) {
+            Set<T> chunk = new HashSet<>();
+            while (iterator.hasNext() && chunk.size() < this.getInsertionChunkSize()) {
+                chunk.add(iterator.next());
+                iterator.remove();
+            }
+            insertedCount += inserter.apply(chunk);
+            log.debug("{}/{} {} inserted", insertedCount, totalCount, toType);
+        }
+        log.info("{} {} inserted", insertedCount, toType);
+        log.traceExit();
+    }
     
     /**
      * Generate the {@code anatEntityTO} and {@code TaxonConstraintTO}s represented 
@@ -472,7 +562,7 @@ public class InsertUberon extends MySQLDAOUser {
         
         //this method will fill the Maps directRelationTOs and indirectRelationTOs 
         generateRelationTOsFirstPass(directRelationTOs, indirectRelationTOs, uberon, 
-                classesToIgnore, speciesIds);
+                classesToIgnore, speciesIds, this.getWorkerCount());
         
         //OK, now we can generate the actual RelationTOs with proper IDs and RelationStatus, 
         //and avoiding to insert redundant relations.
@@ -532,6 +622,7 @@ public class InsertUberon extends MySQLDAOUser {
      *                          in at least one of these species will be considered. 
      * @see #generateRelationInformation(Uberon, Set, Collection)
      * @see #generateRelationTOsSecondPass(Map, Map, Collection)
+     * @see #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection, int)
      * @throws IllegalArgumentException If it was not possible to retrieve an OBO-like ID 
      *                                  and a label for an {@code OWLClass} that should 
      *                                  have been considered.
@@ -542,26 +633,163 @@ public class InsertUberon extends MySQLDAOUser {
             Uberon uberon, Set<OWLClass> classesToIgnore, Collection<Integer> speciesIds) {
         log.traceEntry("{} - {} - {} - {}", directRelationTOs, indirectRelationTOs,
                 classesToIgnore, speciesIds);
+        generateRelationTOsFirstPass(directRelationTOs, indirectRelationTOs, uberon, 
+                classesToIgnore, speciesIds, 1);
+        log.traceExit();
+    }
+    /**
+     * Same as {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}, 
+     * but with the classes examined by a pool of {@code workerCount} threads. 
+     * <p>
+     * The {@code OWLGraphWrapper} and {@code OntologyUtils} of {@code uberon} lazily populate 
+     * non thread-safe caches, and we do not rely on the thread-safety of OWLAPI 
+     * to read a same ontology from several threads: each thread uses its own {@code Uberon}, 
+     * wrapping its own copy of the ontologies of {@code uberon}, in its own 
+     * {@code OWLOntologyManager}. 
+     * Each thread generates its own {@code Map}s of {@code RelationTO}s, that are merged 
+     * into {@code directRelationTOs} and {@code indirectRelationTOs} at the end 
+     * of the generation, by merging the species IDs associated to a same {@code RelationTO}, 
+     * so that the result is the same as when the classes are examined sequentially. 
+     * 
+     * @param directRelationTOs     See {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}.
+     * @param indirectRelationTOs   See {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}.
+     * @param uberon                See {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}.
+     * @param classesToIgnore       See {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}.
+     * @param speciesIds            See {@link #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection)}.
+     * @param workerCount           An {@code int} that is the number of threads to use. 
+     *                              If less than 2, classes are examined in the calling thread, 
+     *                              using {@code uberon}.
+     * @throws IllegalArgumentException If it was not possible to retrieve an OBO-like ID 
+     *                                  and a label for an {@code OWLClass} that should 
+     *                                  have been considered.
+     * @throws IllegalStateException    If the generation was interrupted, or if an error 
+     *                                  occurred while wrapping the ontology for a thread.
+     */
+    public static void generateRelationTOsFirstPass(
+            Map<PipelineRelationTO<String>, Set<Integer>> directRelationTOs, 
+            Map<PipelineRelationTO<String>, Set<Integer>> indirectRelationTOs, 
+            Uberon uberon, Set<OWLClass> classesToIgnore, Collection<Integer> speciesIds, 
+            int workerCount) throws IllegalArgumentException, IllegalStateException {
+        log.traceEntry("{} - {} - {} - {} - {}", directRelationTOs, indirectRelationTOs,
+                classesToIgnore, speciesIds, workerCount);
         
         OntologyUtils utils = uberon.getOntologyUtils();
         OWLGraphWrapper wrapper = utils.getWrapper();
         
-        log.info("Generating RelationTOs (first pass)...");
-        Set<OWLClass> allClasses = new HashSet<>();
+        log.info("Generating RelationTOs (first pass) using {} threads...", 
+                Math.max(1, workerCount));
+        Set<OWLClass> classSet = new HashSet<>();
         for (OWLOntology ont: wrapper.getAllOntologies()) {
-            allClasses.addAll(ont.getClassesInSignature(Imports.INCLUDED));
+            classSet.addAll(ont.getClassesInSignature(Imports.INCLUDED));
+        }
+        List<OWLClass> allClasses = new ArrayList<>(classSet);
+        //index of the next class to examine, shared by all threads
+        AtomicInteger nextIndex = new AtomicInteger(0);
+        if (workerCount < 2) {
+            generateRelationTOsFirstPass(allClasses, nextIndex, directRelationTOs, 
+                    indirectRelationTOs, uberon, classesToIgnore, speciesIds);
+            log.info("Done generating RelationTOs (first pass).");
+            log.traceExit();
+            return;
+        }
+
+        //The Uberon used by each thread are created sequentially before starting 
+        //the threads, as creating an Uberon is not read-only. Each of them uses 
+        //its own copy of the ontologies, so that no ontology is read by several threads.
+        List<Uberon> workerUberons = new ArrayList<>();
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                OWLOntology workerOnt = OWLManager.createOWLOntologyManager().createOntology(
+                        IRI.create("Uberon_for_worker_" + i), 
+                        new HashSet<OWLOntology>(wrapper.getAllOntologies()));
+                //the taxon constraints are only read
+                Uberon workerUberon = new Uberon(new OntologyUtils(
+                        new OWLGraphWrapper(workerOnt)), 
+                        uberon.getTaxonConstraints());
+                workerUberon.setToIgnoreSubgraphRootIds(uberon.getToIgnoreSubgraphRootIds());
+                //the snapshot is immutable and can be shared
+                workerUberon.setOntologySnapshot(uberon.getOntologySnapshot());
+                workerUberons.add(workerUberon);
+            }
+        } catch (OWLOntologyCreationException e) {
+            throw log.throwing(new IllegalStateException(
+                    "Could not wrap the ontology for concurrent generation", e));
         }
+        ExecutorService executorService = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "insert-uberon-relations-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<List<Map<PipelineRelationTO<String>, Set<Integer>>>>> futures = 
+                    new ArrayList<>();
+            for (Uberon workerUberon: workerUberons) {
+                futures.add(executorService.submit(() -> {
+                    Map<PipelineRelationTO<String>, Set<Integer>> workerDirectTOs = new HashMap<>();
+                    Map<PipelineRelationTO<String>, Set<Integer>> workerIndirectTOs = new HashMap<>();
+                    generateRelationTOsFirstPass(allClasses, nextIndex, workerDirectTOs, 
+                            workerIndirectTOs, workerUberon, classesToIgnore, speciesIds);
+                    List<Map<PipelineRelationTO<String>, Set<Integer>>> result = new ArrayList<>();
+                    result.add(workerDirectTOs);
+                    result.add(workerIndirectTOs);
+                    return result;
+                }));
+            }
+            for (Future<List<Map<PipelineRelationTO<String>, Set<Integer>>>> future: futures) {
+                List<Map<PipelineRelationTO<String>, Set<Integer>>> result = future.get();
+                mergeRelationTOs(result.get(0), directRelationTOs);
+                mergeRelationTOs(result.get(1), indirectRelationTOs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw log.throwing(new IllegalStateException(
+                    "Interrupted while generating RelationTOs", e));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw log.throwing((RuntimeException) e.getCause());
+            }
+            if (e.getCause() instanceof Error) {
+                throw log.throwing((Error) e.getCause());
+            }
+            throw log.throwing(new IllegalStateException(e.getCause()));
+        } finally {
+            //stop other threads if an error occurred
+            executorService.shutdownNow();
+        }
+        log.info("Done generating RelationTOs (first pass).");
+        
+        log.traceExit();
+    }
+    /**
+     * Examines the classes in {@code allClasses} for the first pass of the generation 
+     * of {@code RelationTO}s, until all of them have been examined. 
+     * This method can be called concurrently by several threads, each of them 
+     * with their own {@code Uberon} and {@code Map}s, {@code nextIndex} being used 
+     * to not examine a same class twice.
+     * 
+     * @param allClasses        A {@code List} of all the {@code OWLClass}es to examine.
+     * @param nextIndex         An {@code AtomicInteger} that is the index in {@code allClasses} 
+     *                          of the next class to examine. 
+     * @see #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection, int)
+     */
+    private static void generateRelationTOsFirstPass(List<OWLClass> allClasses, 
+            AtomicInteger nextIndex, 
+            Map<PipelineRelationTO<String>, Set<Integer>> directRelationTOs, 
+            Map<PipelineRelationTO<String>, Set<Integer>> indirectRelationTOs, 
+            Uberon uberon, Set<OWLClass> classesToIgnore, Collection<Integer> speciesIds) {
+        log.traceEntry("{} - {} - {} - {} - {} - {}", allClasses, nextIndex, directRelationTOs, 
+                indirectRelationTOs, classesToIgnore, speciesIds);
         //for logging purpose
         int allClassesSize = allClasses.size();
-        int i = 0;
-        for (OWLClass iteratedCls: allClasses) {
-            i++;
+        int i;
+        while ((i = nextIndex.getAndIncrement()) < allClassesSize) {
+            OWLClass iteratedCls = allClasses.get(i);
             boolean isValid = 
                     uberon.isValidClass(iteratedCls, classesToIgnore, speciesIds);
-            if (log.isInfoEnabled() && (i % 1000) == 0) {
-                log.info("Classes examined: {}/{}", i, allClassesSize);
+            if (log.isInfoEnabled() && ((i + 1) % 1000) == 0) {
+                log.info("Classes examined: {}/{}", i + 1, allClassesSize);
             }
-            log.debug("Iterating class {}/{}: {} - is valid: {}", i, allClassesSize, 
+            log.debug("Iterating class {}/{}: {} - is valid: {}", i + 1, allClassesSize, 
                     iteratedCls, isValid);
             if (!isValid) {
                 continue;
@@ -570,8 +798,24 @@ public class InsertUberon extends MySQLDAOUser {
                     uberon.getValidOutgoingEdgesForOWLClass(iteratedCls, classesToIgnore, speciesIds),
                     directRelationTOs, indirectRelationTOs, classesToIgnore, speciesIds);
         }
-        log.info("Done generating RelationTOs (first pass).");
-        
+        log.traceExit();
+    }
+    /**
+     * Merges the {@code RelationTO}s in {@code source} into {@code target}: species IDs 
+     * associated to a {@code RelationTO} already present in {@code target} are added 
+     * to the species IDs associated to it in {@code target}.
+     */
+    private static void mergeRelationTOs(Map<PipelineRelationTO<String>, Set<Integer>> source, 
+            Map<PipelineRelationTO<String>, Set<Integer>> target) {
+        log.traceEntry("{}, {}", source, target);
+        for (Entry<PipelineRelationTO<String>, Set<Integer>> entry: source.entrySet()) {
+            Set<Integer> inSpecies = target.get(entry.getKey());
+            if (inSpecies == null) {
+                target.put(entry.getKey(), entry.getValue());
+            } else {
+                inSpecies.addAll(entry.getValue());
+            }
+        }
         log.traceExit();
     }
 
@@ -624,4 +868,47 @@ public class InsertUberon extends MySQLDAOUser {
         log.info("Done generating proper RelationTOs (second pass).");
         log.traceExit();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return  An {@code int} that is the number of threads used to generate 
+     *          the relations between anatomical entities. Each thread uses its own copy 
+     *          of the ontology, this value should be defined according to the memory 
+     *          available. Default is 1, it can be overridden from the command line, 
+     *          see {@link #main(String[])}.
+     * @see #generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection, int)
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+    /**
+     * @param workerCount   See {@link #getWorkerCount()}.
+     * @throws IllegalArgumentException If {@code workerCount} is less than 1.
+     */
+    public void setWorkerCount(int workerCount) throws IllegalArgumentException {
+        if (workerCount < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The number of threads must be greater than 0"));
+        }
+        this.workerCount = workerCount;
+    }
+    /**
+     * @return  An {@code int} that is the maximum number of {@code TransferObject}s 
+     *          inserted in one call to a DAO, so that the memory they use can be released 
+     *          progressively. Default is {@link #DEFAULT_INSERTION_CHUNK_SIZE}, 
+     *          it can be overridden from the command line, see {@link #main(String[])}.
+     */
+    public int getInsertionChunkSize() {
+        return insertionChunkSize;
+    }
+    /**
+     * @param insertionChunkSize    See {@link #getInsertionChunkSize()}.
+     * @throws IllegalArgumentException If {@code insertionChunkSize} is less than 1.
+     */
+    public void setInsertionChunkSize(int insertionChunkSize) throws IllegalArgumentException {
+        if (insertionChunkSize < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The insertion chunk size must be greater than 0"));
+        }
+        this.insertionChunkSize = insertionChunkSize;
+    }
+}
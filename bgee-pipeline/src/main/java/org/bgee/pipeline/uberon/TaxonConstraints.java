@@ -5,6 +5,14 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.AbstractMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -19,7 +27,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -31,6 +48,7 @@ import org.bgee.model.species.Taxon;
 import org.bgee.pipeline.CommandRunner;
 import org.bgee.pipeline.Utils;
 import org.bgee.pipeline.annotations.AnnotationCommon;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.bgee.pipeline.species.GenerateTaxonOntology;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
@@ -106,7 +124,7 @@ import owltools.mooncat.SpeciesSubsetterUtil;
  * </ol>
  * 
  * @author Frederic Bastian
- * @version Bgee 13
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 public class TaxonConstraints {
@@ -118,10 +136,31 @@ public class TaxonConstraints {
     
     /**
      * An {@code int} that is the maximum number of workers when using the 
-     * {@code ElkResoner}, see {@link #createReasoner(OWLOntology)}.
+     * {@code ElkResoner}, see {@link #createReasoner(OWLOntology, int)}.
      * NOTE: we now use HermiT which does not allow this configuration.
      */
     private final static int MAX_WORKER_COUNT = 10;
+    /**
+     * A {@code long} that is the estimated amount of memory, in bytes, needed by each taxon 
+     * examined concurrently: its own copy of the ontology, and the reasoner working on it. 
+     * Used to define the default value of {@link #getMaxConcurrentReasonerCount()}.
+     */
+    private final static long REASONER_MEMORY_FOOTPRINT = 4L * 1024 * 1024 * 1024;
+    /**
+     * A {@code String} that is the prefix of the names of the files storing 
+     * the classes existing in a taxon, in the checkpoint directory, 
+     * see {@link #setCheckpointDir(String)}.
+     */
+    private final static String CHECKPOINT_FILE_PREFIX = "taxon_";
+    /**
+     * A {@code String} that is the prefix of the first line of checkpoint files, 
+     * storing the parameters used to generate them.
+     */
+    private final static String CHECKPOINT_HEADER_PREFIX = "#";
+    /**
+     * An {@code AtomicInteger} used to name the threads examining taxa concurrently.
+     */
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
     
     /**
      * A {@code String} that is the name of the column containing Uberon IDs, 
@@ -215,7 +254,15 @@ public class TaxonConstraints {
      *   ontologies. If this parameter is provided, an ontology will be generated 
      *   for each taxon, and stored in this directory, containing only 
      *   the {@code OWLClass}es existing in this taxon. If not provided, the intermediate 
-     *   ontologies will not be stored. 
+     *   ontologies will not be stored. Can be equal to {@link CommandRunner#EMPTY_ARG} 
+     *   if the next argument is provided.
+     *   <li>OPTIONNAL: a path to a directory where to store the classes existing in each taxon, 
+     *   as soon as they are computed, so that an interrupted generation can be resumed, 
+     *   see {@link #setCheckpointDir(String)}. Can be equal to {@link CommandRunner#EMPTY_ARG} 
+     *   if the next argument is provided.
+     *   <li>OPTIONNAL: the maximum number of taxa examined concurrently, 
+     *   see {@link #setMaxConcurrentReasonerCount(int)}. If not provided, 
+     *   it is estimated from the memory and the number of processors available.
      *   </ol>
      * <li>If the first element in {@code args} is "generateCuratedTaxonConstraints" or
      * "generateCuratedTaxonConstraintsFromMergedOntology", the action will be to generate
@@ -349,15 +396,21 @@ public class TaxonConstraints {
         } else if (args[0].equalsIgnoreCase("generateTaxonConstraints") ||
                 args[0].equalsIgnoreCase("generateTaxonConstraintsFromMergedOntology")) {
         
-            if (args.length < 7 || args.length > 8) {
+            if (args.length < 7 || args.length > 10) {
                 throw log.throwing(new IllegalArgumentException("Incorrect number of arguments " +
-                        "provided, expected 7 to 8 arguments, " + args.length + 
+                        "provided, expected 7 to 10 arguments, " + args.length + 
                         " provided."));
             }
             
             String storeDir = null;
-            if (args.length == 8) {
-                storeDir = args[7];
+            if (args.length >= 8) {
+                storeDir = CommandRunner.parseArgument(args[7]);
+            }
+            if (args.length >= 9) {
+                taxonConstraints.setCheckpointDir(CommandRunner.parseArgument(args[8]));
+            }
+            if (args.length == 10) {
+                taxonConstraints.setMaxConcurrentReasonerCount(Integer.parseInt(args[9]));
             }
             taxonConstraints.generateTaxonConstraints(args[3],
                     CommandRunner.parseMapArgumentAsAllInteger(args[4]), 
@@ -431,12 +484,27 @@ public class TaxonConstraints {
      * {@code OWLOntology}, used to generate or retrieve taxon constraints.
      */
     private final OWLGraphWrapper taxOntWrapper;
+    /**
+     * An {@code OntologySnapshot} of the taxonomy ontology, providing the precomputed
+     * closures of the taxonomy, {@code null} if no up-to-date snapshot is available,
+     * or if the taxonomy was not provided in its own file, in which case they are retrieved
+     * from {@link #taxOntWrapper}.
+     */
+    private OntologySnapshot taxOntSnapshot;
     /**
      * A {@code Function} accepting an {@code OWLGraphWrapper} as input and returning 
      * a {@code SpeciesSubsetterUtil} using it in return. This is useful for injecting 
      * the {@code SpeciesSubsetterUtil}s to use. 
      */
     private final Function<OWLGraphWrapper, SpeciesSubsetterUtil> subsetterUtilSupplier;
+    /**
+     * @see #getCheckpointDir()
+     */
+    private String checkpointDir;
+    /**
+     * @see #getMaxConcurrentReasonerCount()
+     */
+    private int maxConcurrentReasonerCount;
 
     /**
      * Constructor accepting the path to the Uberon ontology and the path to the taxonomy 
@@ -458,6 +526,7 @@ public class TaxonConstraints {
             OBOFormatParserException, IOException {
         this(new OWLGraphWrapper(OntologyUtils.loadOntology(uberonFile)), 
                 new OWLGraphWrapper(OntologyUtils.loadOntology(taxOntFile)));
+        this.taxOntSnapshot = OntologySnapshot.loadIfUpToDate(taxOntFile);
     }
     /**
      * Constructor accepting the path to the ontology containing Uberon and the taxonomy
@@ -575,7 +644,11 @@ public class TaxonConstraints {
         } else {
             this.taxOntWrapper = taxOntGraph;
         }
+        this.taxOntSnapshot = null;
         this.subsetterUtilSupplier = subsetterUtilSupplier;
+        this.checkpointDir = null;
+        this.maxConcurrentReasonerCount = estimateMaxConcurrentReasonerCount(
+                Runtime.getRuntime().maxMemory(), Runtime.getRuntime().availableProcessors());
         
         this.prepareUberon(taxOntGraph == null);
     }
@@ -836,8 +909,8 @@ public class TaxonConstraints {
                         + "in overriding constraints is not present in the taxonomy ontology: "
                         + taxId));
             }
-            Map<Integer, List<Integer>> newSteps = taxOntWrapper.getDescendantsThroughIsA(taxCls).stream()
-                    .map(c -> OntologyUtils.getTaxNcbiId(taxOntWrapper.getIdentifier(c)))
+            Map<Integer, List<Integer>> newSteps = this.getTaxonDescendantIds(taxCls).stream()
+                    .map(id -> OntologyUtils.getTaxNcbiId(id))
                     //we add the simplification steps to a descendant only if not already defined
                     .filter(id -> !clonedSteps.containsKey(id))
                     .collect(Collectors.toMap(id -> id, id -> e.getValue()));
@@ -875,9 +948,7 @@ public class TaxonConstraints {
                 //We don't simply check whether the taxonomy ontology contains the class,
                 //because as of Bgee 15 we can use a version of Uberon already merged with the taxonomy
                 .filter(cls -> !UberonCommon.TAXONOMY_ROOT_ID.equals(this.taxOntWrapper.getIdentifier(cls)) &&
-                               this.taxOntWrapper.getAncestorsThroughIsA(cls).stream()
-                                   .map(a -> this.taxOntWrapper.getIdentifier(a))
-                                   .noneMatch(id -> UberonCommon.TAXONOMY_ROOT_ID.equals(id)))
+                               !this.getTaxonAncestorIds(cls).contains(UberonCommon.TAXONOMY_ROOT_ID))
                 .map(refWrapper::getIdentifier).collect(Collectors.toSet());
         
         //launch the generation of taxon constraints. 
@@ -958,6 +1029,12 @@ public class TaxonConstraints {
      * These taxa to be used to simplify the ontology, step by step, are provided 
      * as values of the {@code taxonIds} {@code Map}. If the {@code List} is {@code null} 
      * or empty, then no pre-fitering is requested for the associated taxon stored as key. 
+     * <p>
+     * Taxa can be examined concurrently, each on its own copy of the ontology, 
+     * see {@link #setMaxConcurrentReasonerCount(int)}. If a checkpoint directory was provided 
+     * (see {@link #setCheckpointDir(String)}), the classes existing in each taxon are stored 
+     * in this directory as soon as they are computed, and taxa already examined 
+     * with the same simplification steps are not examined again. 
      * 
      * @param taxonIds          A {@code Map} where keys are {@code Integer}s that are the NCBI IDs 
      *                          of taxa for which we want to generate taxon constraints, 
@@ -1004,16 +1081,13 @@ public class TaxonConstraints {
         //and the taxa it exists in. 
         Map<String, Set<Integer>> taxonConstraints = new HashMap<String, Set<Integer>>();
         
-        //now, generate the constraints one taxon at a time.
-        for (Entry<Integer, List<Integer>> taxonEntry: taxonIds.entrySet()) {
-            int taxonId = taxonEntry.getKey();
-            
-            Set<OWLClass> classesDefined = this.getExistingOWLClasses(
-                    taxonId, taxonEntry.getValue(), storeOntologyDir);
-            
+        //now, generate the constraints, several taxa at a time.
+        Map<Integer, Set<String>> classIdsPerTaxon = this.getExistingClassIdsPerTaxon(
+                taxonIds, storeOntologyDir);
+        //iterate in the requested order to produce predictable results
+        for (int taxonId: taxonIds.keySet()) {
             //store results in taxonConstraints
-            for (OWLClass classDefined: classesDefined) {
-                String classId = this.uberonOntWrapper.getIdentifier(classDefined);
+            for (String classId: classIdsPerTaxon.get(taxonId)) {
                 log.trace("Defining existence of {} in taxon {}", classId, taxonId);
                 Set<Integer> existsInTaxa = taxonConstraints.get(classId);
                 if (existsInTaxa == null) {
@@ -1030,9 +1104,7 @@ public class TaxonConstraints {
                 //We don't simply check whether the taxonomy ontology contains the class,
                 //because as of Bgee 15 we can use a version of Uberon already merged with the taxonomy
                 .filter(cls -> !UberonCommon.TAXONOMY_ROOT_ID.equals(this.taxOntWrapper.getIdentifier(cls)) &&
-                               this.taxOntWrapper.getAncestorsThroughIsA(cls).stream()
-                                   .map(a -> this.taxOntWrapper.getIdentifier(a))
-                                   .noneMatch(id -> UberonCommon.TAXONOMY_ROOT_ID.equals(id)))
+                               !this.getTaxonAncestorIds(cls).contains(UberonCommon.TAXONOMY_ROOT_ID))
                 .map(this.uberonOntWrapper::getIdentifier).collect(Collectors.toSet());
         log.trace("Existing OWLClasses in source Uberon ontology: {}", existingClassIds);
         
@@ -1248,6 +1320,43 @@ public class TaxonConstraints {
         log.traceExit();
     }
 
+    /**
+     * Retrieves the ancestors through is_a relations of a class in the taxonomy, 
+     * from {@link #taxOntSnapshot} if available, otherwise from {@link #taxOntWrapper}.
+     * 
+     * @param cls   An {@code OWLClass} for which we want the ancestors in the taxonomy.
+     * @return      A {@code Set} of {@code String}s that are the OBO-like IDs 
+     *              of the ancestors of {@code cls} in the taxonomy.
+     */
+    private Set<String> getTaxonAncestorIds(OWLClass cls) {
+        log.traceEntry("{}", cls);
+        if (this.taxOntSnapshot != null) {
+            return log.traceExit(this.taxOntSnapshot.getAncestorIdsThroughIsA(
+                    this.taxOntWrapper.getIdentifier(cls)));
+        }
+        return log.traceExit(this.taxOntWrapper.getAncestorsThroughIsA(cls).stream()
+                .map(a -> this.taxOntWrapper.getIdentifier(a))
+                .collect(Collectors.toSet()));
+    }
+    /**
+     * Retrieves the descendants through is_a relations of a class in the taxonomy, 
+     * from {@link #taxOntSnapshot} if available, otherwise from {@link #taxOntWrapper}.
+     * 
+     * @param cls   An {@code OWLClass} for which we want the descendants in the taxonomy.
+     * @return      A {@code Set} of {@code String}s that are the OBO-like IDs 
+     *              of the descendants of {@code cls} in the taxonomy.
+     */
+    private Set<String> getTaxonDescendantIds(OWLClass cls) {
+        log.traceEntry("{}", cls);
+        if (this.taxOntSnapshot != null) {
+            return log.traceExit(this.taxOntSnapshot.getDescendantIdsThroughIsA(
+                    this.taxOntWrapper.getIdentifier(cls)));
+        }
+        return log.traceExit(this.taxOntWrapper.getDescendantsThroughIsA(cls).stream()
+                .map(d -> this.taxOntWrapper.getIdentifier(d))
+                .collect(Collectors.toSet()));
+    }
+
     private boolean isEdgeValidInSpecies(OWLGraphEdge edge, int speciesId) {
         log.traceEntry("{}, {}", edge, speciesId);
         //If it is not a GCI relation, it is valid in any species and we consider it
@@ -1257,11 +1366,7 @@ public class TaxonConstraints {
         //if it is a GCI, we retrieve the associated species
         Set<String> speciesClsIdsToConsider = new HashSet<>(Arrays.asList(
                 this.taxOntWrapper.getIdentifier(edge.getGCIFiller())));
-        for (OWLClass taxonGCIDescendants:
-            this.taxOntWrapper.getDescendantsThroughIsA(edge.getGCIFiller())) {
-            speciesClsIdsToConsider.add(
-                    this.taxOntWrapper.getIdentifier(taxonGCIDescendants));
-        }
+        speciesClsIdsToConsider.addAll(this.getTaxonDescendantIds(edge.getGCIFiller()));
         Set<Integer> speciesIdsToConsider = OntologyUtils.convertToNcbiIds(
                 speciesClsIdsToConsider);
         //And we consider the relation if it is valid in the iterated species.
@@ -1468,9 +1573,8 @@ public class TaxonConstraints {
             if (speciesIds.contains(taxId)) {
                 taxSpeIds.add(taxId);
             } else {
-                taxSpeIds = this.taxOntWrapper
-                        .getDescendantsThroughIsA(cls).stream()
-                        .map(d -> OntologyUtils.getTaxNcbiId(this.taxOntWrapper.getIdentifier(d)))
+                taxSpeIds = this.getTaxonDescendantIds(cls).stream()
+                        .map(id -> OntologyUtils.getTaxNcbiId(id))
                         // Keep only Bgee species Ids
                         .filter(id -> id != null && speciesIds.contains(id))
                         .collect(Collectors.toSet());
@@ -1542,6 +1646,250 @@ public class TaxonConstraints {
         return log.traceExit(uberonToTaxIds);
     }
     
+    /**
+     * Retrieves the OBO-like IDs of the {@code OWLClass}es existing in each taxon 
+     * in {@code taxonIds}, see {@link #getExistingOWLClasses(int, List, String, Set, int)}. 
+     * Taxa are examined by at most {@link #getMaxConcurrentReasonerCount()} threads, 
+     * the number of workers of each reasoner being adjusted accordingly. When several threads 
+     * are used, each of them examines the taxa from its own copy of the ontology, 
+     * in its own {@code OWLOntologyManager}. If a checkpoint directory was provided, 
+     * results already stored for a taxon with the same simplification steps and the same 
+     * ontology content are reused, and new results are stored as soon as they are computed. 
+     * 
+     * @param taxonIds          See {@link #generateTaxonConstraints(Map, Set, String)}.
+     * @param storeOntologyDir  See {@link #generateTaxonConstraints(Map, Set, String)}.
+     * @return                  A {@code Map} where keys are the NCBI IDs of the taxa 
+     *                          in {@code taxonIds}, the associated value being a {@code Set} 
+     *                          of {@code String}s that are the OBO-like IDs 
+     *                          of the {@code OWLClass}es existing in this taxon.
+     * @throws IllegalArgumentException     See {@link #getExistingOWLClasses(int, List, String, Set, int)}.
+     * @throws IOException                  If an error occurred while reading or writing 
+     *                                      a checkpoint file.
+     * @throws OWLOntologyCreationException See {@link #getExistingOWLClasses(int, List, String, Set, int)}.
+     * @throws OWLOntologyStorageException  See {@link #getExistingOWLClasses(int, List, String, Set, int)}.
+     */
+    private Map<Integer, Set<String>> getExistingClassIdsPerTaxon(
+            Map<Integer, List<Integer>> taxonIds, String storeOntologyDir) 
+                    throws IllegalArgumentException, IOException, OWLOntologyCreationException, 
+                    OWLOntologyStorageException {
+        log.traceEntry("{}, {}", taxonIds, storeOntologyDir);
+
+        Path checkpointPath = this.getCheckpointDir() == null? null: 
+            Paths.get(this.getCheckpointDir());
+        //computed once, before any copy of the ontology is made
+        String ontologyDigest = checkpointPath == null? null: this.getOntologyDigest();
+        if (checkpointPath != null) {
+            Files.createDirectories(checkpointPath);
+        }
+        Map<Integer, Set<String>> classIdsPerTaxon = new ConcurrentHashMap<>();
+        Map<Integer, List<Integer>> taxaToExamine = new LinkedHashMap<>();
+        for (Entry<Integer, List<Integer>> taxonEntry: taxonIds.entrySet()) {
+            Set<String> checkpointedClassIds = checkpointPath == null? null: 
+                this.readCheckpoint(checkpointPath, taxonEntry.getKey(), taxonEntry.getValue(), 
+                        ontologyDigest);
+            if (checkpointedClassIds != null) {
+                log.info("Reusing classes stored in checkpoint for taxon {}", taxonEntry.getKey());
+                classIdsPerTaxon.put(taxonEntry.getKey(), checkpointedClassIds);
+            } else {
+                taxaToExamine.put(taxonEntry.getKey(), taxonEntry.getValue());
+            }
+        }
+        if (taxaToExamine.isEmpty()) {
+            return log.traceExit(classIdsPerTaxon);
+        }
+
+        int threadCount = Math.min(taxaToExamine.size(), this.getMaxConcurrentReasonerCount());
+        //we share the processors between the reasoners
+        int workerCount = Math.max(1, Math.min(MAX_WORKER_COUNT, 
+                Runtime.getRuntime().availableProcessors() / threadCount));
+        log.info("Examining {} taxa with {} concurrent reasoners using {} workers each", 
+                taxaToExamine.size(), threadCount, workerCount);
+
+        if (threadCount == 1) {
+            //taxa examined one at a time in the current thread, directly from the source ontology
+            Set<OWLOntology> sourceOntologies = this.uberonOntWrapper.getAllOntologies();
+            for (Entry<Integer, List<Integer>> taxonEntry: taxaToExamine.entrySet()) {
+                this.examineTaxon(taxonEntry.getKey(), taxonEntry.getValue(), storeOntologyDir, 
+                        sourceOntologies, workerCount, checkpointPath, ontologyDigest, 
+                        classIdsPerTaxon);
+            }
+            return log.traceExit(classIdsPerTaxon);
+        }
+
+        Queue<Entry<Integer, List<Integer>>> taxonQueue = 
+                new ConcurrentLinkedQueue<>(taxaToExamine.entrySet());
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount, r -> {
+            Thread t = new Thread(r, "taxon-constraints-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    //Each thread uses its own copy of the ontology, in its own manager, 
+                    //so that the source ontology is read only once per thread, 
+                    //and no OWLAPI object is modified by several threads. 
+                    //We do not rely on the thread-safety of OWLAPI to read the source ontology.
+                    OWLOntology threadUberon;
+                    synchronized (this.uberonOntWrapper) {
+                        threadUberon = OWLManager.createOWLOntologyManager().createOntology(
+                            IRI.create("Uberon_for_" + Thread.currentThread().getName()), 
+                            new HashSet<OWLOntology>(this.uberonOntWrapper.getAllOntologies()));
+                    }
+                    Set<OWLOntology> sourceOntologies = Collections.singleton(threadUberon);
+                    Entry<Integer, List<Integer>> taxonEntry;
+                    while ((taxonEntry = taxonQueue.poll()) != null) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw log.throwing(new InterruptedException());
+                        }
+                        this.examineTaxon(taxonEntry.getKey(), taxonEntry.getValue(), 
+                                storeOntologyDir, sourceOntologies, workerCount, checkpointPath, 
+                                ontologyDigest, classIdsPerTaxon);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future: futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw log.throwing(new IllegalStateException(
+                    "Interrupted while generating taxon constraints", e));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw log.throwing((IOException) cause);
+            }
+            if (cause instanceof OWLOntologyCreationException) {
+                throw log.throwing((OWLOntologyCreationException) cause);
+            }
+            if (cause instanceof OWLOntologyStorageException) {
+                throw log.throwing((OWLOntologyStorageException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw log.throwing((RuntimeException) cause);
+            }
+            if (cause instanceof Error) {
+                throw log.throwing((Error) cause);
+            }
+            throw log.throwing(new IllegalStateException(cause));
+        } finally {
+            //interrupt the examination of other taxa if an error occurred
+            executorService.shutdownNow();
+        }
+
+        return log.traceExit(classIdsPerTaxon);
+    }
+
+    /**
+     * Examines one taxon (see {@link #getExistingOWLClasses(int, List, String, Set, int)}), 
+     * stores the OBO-like IDs of the classes existing in it into {@code classIdsPerTaxon}, 
+     * and into a checkpoint file if {@code checkpointPath} is not {@code null}.
+     */
+    private void examineTaxon(int taxonId, List<Integer> intermediateTaxonIds, 
+            String storeOntologyDir, Set<OWLOntology> sourceOntologies, int workerCount, 
+            Path checkpointPath, String ontologyDigest, Map<Integer, Set<String>> classIdsPerTaxon) 
+                    throws IllegalArgumentException, IOException, OWLOntologyCreationException, 
+                    OWLOntologyStorageException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}, {}, {}", taxonId, intermediateTaxonIds, 
+                storeOntologyDir, sourceOntologies, workerCount, checkpointPath, ontologyDigest, 
+                classIdsPerTaxon);
+        Set<String> classIds = this.getExistingOWLClasses(taxonId, intermediateTaxonIds, 
+                storeOntologyDir, sourceOntologies, workerCount);
+        if (checkpointPath != null) {
+            this.writeCheckpoint(checkpointPath, taxonId, intermediateTaxonIds, 
+                    ontologyDigest, classIds);
+        }
+        classIdsPerTaxon.put(taxonId, classIds);
+        log.traceExit();
+    }
+
+    /**
+     * Computes a hash of the content of the ontologies wrapped into {@link #uberonOntWrapper}, 
+     * to not reuse checkpoints generated from a different ontology. The hash does not depend 
+     * on the order of the axioms: the SHA-256 hashes of the axioms are summed.
+     * 
+     * @return  A {@code String} that is the hexadecimal representation of the hash.
+     */
+    private String getOntologyDigest() {
+        log.traceEntry();
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw log.throwing(new IllegalStateException(e));
+        }
+        BigInteger sum = BigInteger.ZERO;
+        long axiomCount = 0;
+        for (OWLOntology ont: this.uberonOntWrapper.getAllOntologies()) {
+            for (OWLAxiom ax: ont.getAxioms()) {
+                sum = sum.add(new BigInteger(1, digest.digest(
+                        ax.toString().getBytes(StandardCharsets.UTF_8))));
+                axiomCount++;
+            }
+        }
+        log.debug("Hash computed over {} axioms", axiomCount);
+        return log.traceExit(axiomCount + "-" + sum.toString(16));
+    }
+
+    /**
+     * Generates the first line of a checkpoint file, storing the parameters used 
+     * to examine a taxon, to not reuse results obtained with different parameters.
+     */
+    private static String getCheckpointHeader(List<Integer> intermediateTaxonIds, 
+            String ontologyDigest) {
+        return CHECKPOINT_HEADER_PREFIX + "simplification steps: " 
+                + (intermediateTaxonIds == null? "[]": intermediateTaxonIds) 
+                + " - ontology hash: " + ontologyDigest;
+    }
+    /**
+     * Reads the OBO-like IDs of the {@code OWLClass}es existing in {@code taxonId}, 
+     * from a checkpoint file written by {@link #writeCheckpoint(Path, int, List, String, Set)}.
+     * 
+     * @return  A {@code Set} of {@code String}s that are the OBO-like IDs of the classes 
+     *          existing in the taxon, {@code null} if no checkpoint file exists 
+     *          for this taxon, or if it was generated with different parameters.
+     */
+    private Set<String> readCheckpoint(Path checkpointPath, int taxonId, 
+            List<Integer> intermediateTaxonIds, String ontologyDigest) throws IOException {
+        log.traceEntry("{}, {}, {}, {}", checkpointPath, taxonId, intermediateTaxonIds, 
+                ontologyDigest);
+        Path file = checkpointPath.resolve(CHECKPOINT_FILE_PREFIX + taxonId + ".txt");
+        if (!Files.exists(file)) {
+            return log.traceExit((Set<String>) null);
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(
+                getCheckpointHeader(intermediateTaxonIds, ontologyDigest))) {
+            log.warn("Checkpoint for taxon {} generated with different parameters, ignored", 
+                    taxonId);
+            return log.traceExit((Set<String>) null);
+        }
+        return log.traceExit(new HashSet<>(lines.subList(1, lines.size())));
+    }
+    /**
+     * Writes the OBO-like IDs of the {@code OWLClass}es existing in {@code taxonId} 
+     * to a checkpoint file. The file is first written to a temporary file, then moved, 
+     * so that a partially written checkpoint is never used.
+     */
+    private void writeCheckpoint(Path checkpointPath, int taxonId, 
+            List<Integer> intermediateTaxonIds, String ontologyDigest, Set<String> classIds) 
+                    throws IOException {
+        log.traceEntry("{}, {}, {}, {}, {}", checkpointPath, taxonId, intermediateTaxonIds, 
+                ontologyDigest, classIds);
+        Path file = checkpointPath.resolve(CHECKPOINT_FILE_PREFIX + taxonId + ".txt");
+        Path tmpFile = checkpointPath.resolve(file.getFileName() + ".tmp");
+        List<String> lines = new ArrayList<>();
+        lines.add(getCheckpointHeader(intermediateTaxonIds, ontologyDigest));
+        lines.addAll(new TreeSet<>(classIds));
+        Files.write(tmpFile, lines, StandardCharsets.UTF_8);
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, 
+                StandardCopyOption.ATOMIC_MOVE);
+        log.traceExit();
+    }
+
     /**
      * Returns the {@code OWLClass}es existing in the requested taxon. This methods 
      * returns the {@code OWLClass}es, present in the Uberon ontology provided at instantiation, 
@@ -1576,8 +1924,14 @@ public class TaxonConstraints {
      * @param storeOntologyDir      A {@code String} that is the path to a directory 
      *                              where to store the generated ontology. If {@code null}, 
      *                              the generated ontology will not be stored.
-     * @return                      A {@code Set} containing the {@code OWLClass}es 
-     *                              existing in the taxon with ID {@code taxonId}.
+     * @param sourceOntologies      A {@code Set} of {@code OWLOntology}s that are 
+     *                              the ontologies to copy to examine the taxon. They are 
+     *                              only read, from the current thread.
+     * @param workerCount           An {@code int} that is the number of workers 
+     *                              of the reasoners used.
+     * @return                      A {@code Set} containing the OBO-like IDs of 
+     *                              the {@code OWLClass}es existing in the taxon 
+     *                              with ID {@code taxonId}.
      * @throws IllegalArgumentException     If some taxa could not be found 
      *                                      in the taxonomy ontology provided at instantiation, 
      *                                      or if some taxa in {@code intermediateTaxonIds} 
@@ -1587,17 +1941,18 @@ public class TaxonConstraints {
      * @throws OWLOntologyStorageException  If an error occurred while saving an ontology.
      * @throws UnknownOWLOntologyException  If an error occurred while loading an ontology.
      */
-    private Set<OWLClass> getExistingOWLClasses(int taxonId, List<Integer> intermediateTaxonIds, 
-            String storeOntologyDir) throws IllegalArgumentException, IOException, 
-            OWLOntologyCreationException, OWLOntologyStorageException, UnknownOWLOntologyException {
-        log.traceEntry("{}, {}, {}", taxonId, intermediateTaxonIds, storeOntologyDir);
+    private Set<String> getExistingOWLClasses(int taxonId, List<Integer> intermediateTaxonIds, 
+            String storeOntologyDir, Set<OWLOntology> sourceOntologies, int workerCount) 
+                    throws IllegalArgumentException, IOException, OWLOntologyCreationException, 
+                    OWLOntologyStorageException, UnknownOWLOntologyException {
+        log.traceEntry("{}, {}, {}, {}, {}", taxonId, intermediateTaxonIds, storeOntologyDir, 
+                sourceOntologies, workerCount);
         
         //for each taxon, we clone our Uberon ontology merged with our taxonomy ontology, 
         //because the method getExistingOWLClasses will modified it.
         //we use a new OWLOntologyManager to be sure there is no memory leack.
         OWLOntology clonedUberon = OWLManager.createOWLOntologyManager().createOntology(
-            IRI.create("Uberon_for_" + taxonId), 
-            new HashSet<OWLOntology>(this.uberonOntWrapper.getAllOntologies()));
+                IRI.create("Uberon_for_" + taxonId), new HashSet<OWLOntology>(sourceOntologies));
         try (OWLGraphWrapper graph = new OWLGraphWrapper(clonedUberon)) {
             
             //Get the OWLClass corresponding to the requested taxon
@@ -1639,13 +1994,17 @@ public class TaxonConstraints {
                     //we do not care about the classes existing in this intermediate ontology, 
                     //but the getExistingOWLClasses method will filter the classes 
                     //from the ontology all the same... we do not request to store this ontology.
-                    this.getExistingOWLClasses(graph, intermediateTaxClass, null, false);
+                    this.getExistingOWLClasses(graph, intermediateTaxClass, null, false, 
+                            workerCount);
                 }
             }
             
             //Use the OWLGraphWrapper that was potentially already filtered for structures 
             //specific to completely unrelated taxa. 
-            return log.traceExit(this.getExistingOWLClasses(graph, taxClass, storeOntologyDir, true));
+            return log.traceExit(this.getExistingOWLClasses(graph, taxClass, storeOntologyDir, 
+                    true, workerCount).stream()
+                    .map(graph::getIdentifier)
+                    .collect(Collectors.toSet()));
         }
     }
     
@@ -1680,6 +2039,7 @@ public class TaxonConstraints {
      * @param removeOtherTaxa   A {@code boolean} defining whether classes not existing 
      *                          in {@code taxClass} should be removed, or classes specific to 
      *                          {@code taxClass}.
+     * @param workerCount       An {@code int} that is the number of workers of the reasoner.
      * @return                  A {@code Set} containing the {@code OWLClass}es 
      *                          existing in the taxon {@code taxClass}.
      * @throws UnknownOWLOntologyException  If the ontology stored in 
@@ -1690,9 +2050,11 @@ public class TaxonConstraints {
      * @throws IOException                  If {@code uberonFile} could not be opened. 
      */
     private Set<OWLClass> getExistingOWLClasses(OWLGraphWrapper ontWrapper, OWLClass taxClass, 
-            String storeOntologyDir, boolean removeOtherTaxa) throws UnknownOWLOntologyException, 
-            IllegalArgumentException, OWLOntologyStorageException  {
-        log.traceEntry("{}, {}, {}, {}", ontWrapper, taxClass, storeOntologyDir, removeOtherTaxa);
+            String storeOntologyDir, boolean removeOtherTaxa, int workerCount) 
+                    throws UnknownOWLOntologyException, IllegalArgumentException, 
+                    OWLOntologyStorageException  {
+        log.traceEntry("{}, {}, {}, {}, {}", ontWrapper, taxClass, storeOntologyDir, 
+                removeOtherTaxa, workerCount);
         log.info("Examining ontology for taxon {} - removeOtherTaxa: {}...", taxClass, removeOtherTaxa);
         log.debug("Before reasoning - Total memory: {} Go - Memory free: {} Go - Memory used: {} Go", 
                 Runtime.getRuntime().totalMemory()/(1024*1024*1024), 
@@ -1703,7 +2065,7 @@ public class TaxonConstraints {
         //filter ontology
         SpeciesSubsetterUtil subSetter = this.subsetterUtilSupplier.apply(ontWrapper);
         subSetter.taxClass = taxClass;
-        subSetter.reasoner = this.createReasoner(ontWrapper.getSourceOntology());
+        subSetter.reasoner = this.createReasoner(ontWrapper.getSourceOntology(), workerCount);
         if (removeOtherTaxa) {
             subSetter.removeOtherSpecies();
         } else {
@@ -1739,23 +2101,25 @@ public class TaxonConstraints {
      * {@code OWLOntology}. 
      * <p>
      * As of Bgee 13, the reasoner used is the {@code ElkReasoner}, configured 
-     * to use a maximum number of workers of {@link #MAX_WORKER_COUNT} (can be less 
+     * to use a maximum number of workers of {@code workerCount} (can be less 
      * depending on your number of processors).
      * 
-     * @param ont  The {@code OWLOntology} which the returned {@code OWLReasoner} 
-     *              should reason on.
-     * @return      An <code>OWLReasoner</code> set to reason on {@code ont}.
+     * @param ont           The {@code OWLOntology} which the returned {@code OWLReasoner} 
+     *                      should reason on.
+     * @param workerCount   An {@code int} that is the maximum number of workers 
+     *                      of the reasoner.
+     * @return              An <code>OWLReasoner</code> set to reason on {@code ont}.
      */
-    private OWLReasoner createReasoner(OWLOntology ont) {
-        log.traceEntry("{}", ont);
+    private OWLReasoner createReasoner(OWLOntology ont, int workerCount) {
+        log.traceEntry("{}, {}", ont, workerCount);
         ElkReasonerConfiguration config = new ElkReasonerConfiguration();
         //we need to set the number of workers because on our ubber machines,
         //we have too many processors, so that we have too many workers,
-        //and too many memory consumed.
+        //and too many memory consumed. Several reasoners can also be used concurrently.
         if (config.getElkConfiguration().getParameterAsInt(
-                ReasonerConfiguration.NUM_OF_WORKING_THREADS) > MAX_WORKER_COUNT) {
+                ReasonerConfiguration.NUM_OF_WORKING_THREADS) > workerCount) {
             config.getElkConfiguration().setParameter(
-                ReasonerConfiguration.NUM_OF_WORKING_THREADS, String.valueOf(MAX_WORKER_COUNT));
+                ReasonerConfiguration.NUM_OF_WORKING_THREADS, String.valueOf(workerCount));
         }
         return log.traceExit(new ElkReasonerFactory().createReasoner(ont, config));
     }
@@ -2029,8 +2393,8 @@ public class TaxonConstraints {
             OWLClass taxon1 = this.extractTargetedTaxonFromExplanation(e1);
             OWLClass taxon2 = this.extractTargetedTaxonFromExplanation(e2);
             //try to find which one is the more precise (more ancestors = deeper level)
-            int diff = this.taxOntWrapper.getAncestorsThroughIsA(taxon2).size() - 
-                    this.taxOntWrapper.getAncestorsThroughIsA(taxon1).size();
+            int diff = this.getTaxonAncestorIds(taxon2).size() - 
+                    this.getTaxonAncestorIds(taxon1).size();
             if (diff != 0) {
                 return diff;
             }
@@ -2115,6 +2479,67 @@ public class TaxonConstraints {
     public OWLGraphWrapper getUberonOntWrapper() {
         return uberonOntWrapper;
     }
+    /**
+     * @return  A {@code String} that is the path to the directory where the classes existing 
+     *          in each taxon are stored as soon as they are computed, when generating 
+     *          taxon constraints, so that an interrupted generation can be resumed. 
+     *          If {@code null}, no checkpoint is stored.
+     * @see #generateTaxonConstraints(Map, Set, String)
+     */
+    public String getCheckpointDir() {
+        return checkpointDir;
+    }
+    /**
+     * @param checkpointDir A {@code String} that is the path to the directory where to store 
+     *                      the classes existing in each taxon when generating taxon constraints.
+     * @see #getCheckpointDir()
+     */
+    public void setCheckpointDir(String checkpointDir) {
+        this.checkpointDir = checkpointDir;
+    }
+    /**
+     * Estimates the maximum number of taxa that can be examined concurrently: 
+     * each of them needs {@link #REASONER_MEMORY_FOOTPRINT} bytes, in addition to 
+     * the ontology loaded in the main thread, and there is no point in examining 
+     * more taxa than there are processors. 
+     * 
+     * @param maxMemory         A {@code long} that is the maximum amount of memory, in bytes, 
+     *                          the JVM will attempt to use, see {@link Runtime#maxMemory()}.
+     * @param processorCount    An {@code int} that is the number of processors available.
+     * @return                  An {@code int} that is the estimated maximum number of taxa 
+     *                          examined concurrently, at least 1.
+     */
+    static int estimateMaxConcurrentReasonerCount(long maxMemory, int processorCount) {
+        log.traceEntry("{}, {}", maxMemory, processorCount);
+        long memoryCount = maxMemory / REASONER_MEMORY_FOOTPRINT - 1;
+        return log.traceExit((int) Math.max(1, Math.min(processorCount, memoryCount)));
+    }
+    /**
+     * @return  An {@code int} that is the maximum number of taxa examined concurrently 
+     *          when generating taxon constraints. Each taxon examined concurrently 
+     *          needs its own copies of the ontology. Default is estimated 
+     *          from the memory and the number of processors available 
+     *          (see {@link #REASONER_MEMORY_FOOTPRINT}), it can be overridden 
+     *          according to the size of the ontology.
+     * @see #generateTaxonConstraints(Map, Set, String)
+     */
+    public int getMaxConcurrentReasonerCount() {
+        return maxConcurrentReasonerCount;
+    }
+    /**
+     * @param maxConcurrentReasonerCount    An {@code int} that is the maximum number of taxa 
+     *                                      examined concurrently.
+     * @throws IllegalArgumentException     If {@code maxConcurrentReasonerCount} is less than 1.
+     * @see #getMaxConcurrentReasonerCount()
+     */
+    public void setMaxConcurrentReasonerCount(int maxConcurrentReasonerCount) 
+            throws IllegalArgumentException {
+        if (maxConcurrentReasonerCount < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The number of taxa examined concurrently must be at least 1"));
+        }
+        this.maxConcurrentReasonerCount = maxConcurrentReasonerCount;
+    }
     public OWLGraphWrapper getTaxOntWrapper() {
         return taxOntWrapper;
     }
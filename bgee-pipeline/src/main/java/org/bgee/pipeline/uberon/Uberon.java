@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
@@ -29,6 +30,7 @@ import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO.RelationStat
 import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO.RelationType;
 import org.bgee.pipeline.CommandRunner;
 import org.bgee.pipeline.Utils;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.bgee.pipeline.ontologycommon.OntologyUtils.PipelineRelationTO;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
@@ -259,7 +261,13 @@ public class Uberon extends UberonCommon {
                         "Incorrect number of arguments provided, expected " + 
                         "3 arguments, " + args.length + " provided."));
             }
-            new Uberon(args[1]).saveXRefMappingsToFile(args[2]);
+            //the ontology is not parsed if an up-to-date snapshot is available
+            OntologySnapshot snapshot = OntologySnapshot.loadIfUpToDate(args[1]);
+            if (snapshot != null) {
+                Uberon.saveXRefMappingsToFile(snapshot.getXRefMappings(), args[2]);
+            } else {
+                new Uberon(args[1]).saveXRefMappingsToFile(args[2]);
+            }
 //        } else if (args[0].equalsIgnoreCase("test")) {
 //            Uberon.test();
         } else if (args[0].equalsIgnoreCase("extractSexInfo")) {
@@ -268,7 +276,13 @@ public class Uberon extends UberonCommon {
                         "Incorrect number of arguments provided, expected " + 
                         "3 arguments, " + args.length + " provided."));
             }
-            new Uberon(args[1]).extractSexInfoToFile(args[2]);
+            //the ontology is not parsed if an up-to-date snapshot is available
+            OntologySnapshot snapshot = OntologySnapshot.loadIfUpToDate(args[1]);
+            if (snapshot != null) {
+                Uberon.extractSexInfoToFile(snapshot, args[2]);
+            } else {
+                new Uberon(args[1]).extractSexInfoToFile(args[2]);
+            }
         } else if (args[0].equalsIgnoreCase("explainRelation")) {
             if (args.length != 5) {
                 throw log.throwing(new IllegalArgumentException(
@@ -1053,6 +1067,24 @@ public class Uberon extends UberonCommon {
      */
     public void saveXRefMappingsToFile(String outputFile) throws IOException {
         log.traceEntry("{}", outputFile);
+        saveXRefMappingsToFile(this.getOntologySnapshot() != null?
+                this.getOntologySnapshot().getXRefMappings():
+                this.getOntologyUtils().getXRefMappings(), outputFile);
+        log.traceExit();
+    }
+    /**
+     * Save the XRef mappings {@code xRefMappings} to {@code outputFile}, 
+     * see {@link #saveXRefMappingsToFile(String)}.
+     * 
+     * @param xRefMappings  A {@code Map} where keys are XRef IDs, the associated value 
+     *                      being the OBO-like IDs of the Uberon classes they are mapped to, 
+     *                      as returned by {@link OntologySnapshot#getXRefMappings()}.
+     * @param outputFile    A {@code String} that is the path to the generated output file.
+     * @throws IOException  If an error occurred while writing in the output file.
+     */
+    public static void saveXRefMappingsToFile(Map<String, Set<String>> xRefMappings, 
+            String outputFile) throws IOException {
+        log.traceEntry("{}, {}", xRefMappings, outputFile);
         
         //create the header of the file, and the conditions on the columns
         String[] header = new String[2];
@@ -1067,8 +1099,7 @@ public class Uberon extends UberonCommon {
             
             mapWriter.writeHeader(header);
             
-            for (Entry<String, Set<String>> mappings: 
-                this.getOntologyUtils().getXRefMappings().entrySet()) {
+            for (Entry<String, Set<String>> mappings: xRefMappings.entrySet()) {
                 for (String uberonId: mappings.getValue()) {
                     Map<String, Object> row = new HashMap<String, Object>();
                     row.put(header[0], mappings.getKey());
@@ -1123,6 +1154,69 @@ public class Uberon extends UberonCommon {
                 .sorted(Comparator.comparing(c -> wrapper.getIdentifier(c), OntologyUtils.ID_COMPARATOR))
                 .collect(Collectors.toList());
         
+        Map<String, String> labels = new HashMap<>();
+        for (OWLClass cls: allClasses) {
+            labels.put(wrapper.getIdentifier(cls), wrapper.getLabel(cls));
+        }
+        Function<Set<OWLClass>, Set<String>> toIds = classes -> classes.stream()
+                .map(c -> wrapper.getIdentifier(c)).collect(Collectors.toSet());
+        
+        writeSexInfoToFile(allClasses.stream().map(c -> wrapper.getIdentifier(c))
+                .collect(Collectors.toList()), labels::get, 
+                toIds.apply(femaleClasses), toIds.apply(maleClasses), 
+                toIds.apply(hermaphroditeClasses), outputFile);
+        
+        log.traceExit();
+    }
+    /**
+     * Same as {@link #extractSexInfoToFile(String)}, but using the {@code OntologySnapshot} 
+     * of the Uberon ontology, without parsing the ontology.
+     * 
+     * @param snapshot      The {@code OntologySnapshot} of the Uberon ontology.
+     * @param outputFile    A {@code String} that is the path the the output TSV file.
+     * @throws IOException  If an error occurred while writing in the output file.
+     */
+    public static void extractSexInfoToFile(OntologySnapshot snapshot, String outputFile) 
+            throws IOException {
+        log.traceEntry("{}, {}", snapshot, outputFile);
+        
+        //Retrieve descendants of sex-related terms
+        List<Set<String>> sexClassIds = new ArrayList<>();
+        for (String rootId: Arrays.asList(FEMALE_ORGANISM_ID, MALE_ORGANISM_ID, 
+                HERMAPHRODITE_ORGANISM_ID)) {
+            //the ID must not be an alternative ID, as when using getOWLClassByIdentifierNoAltIds
+            if (!rootId.equals(snapshot.getClassId(rootId))) {
+                throw log.throwing(new IllegalStateException("Could not find some sex-related terms"));
+            }
+            Set<String> ids = new HashSet<>(snapshot.getDescendantIds(rootId));
+            if (ids.isEmpty()) {
+                throw log.throwing(new IllegalStateException("No descendants for some sex-related terms"));
+            }
+            ids.add(rootId);
+            sexClassIds.add(ids);
+        }
+        
+        //Retrieve all classes and order them by ID for consistent diffs between releases
+        List<String> allClassIds = snapshot.getRealClassIds().stream()
+                .sorted(OntologyUtils.ID_COMPARATOR)
+                .collect(Collectors.toList());
+        
+        writeSexInfoToFile(allClassIds, snapshot::getLabel, sexClassIds.get(0), 
+                sexClassIds.get(1), sexClassIds.get(2), outputFile);
+        
+        log.traceExit();
+    }
+    /**
+     * Write the sex information about anatomical terms to a TSV file, 
+     * see {@link #extractSexInfoToFile(String)}.
+     */
+    private static void writeSexInfoToFile(List<String> allClassIds, 
+            Function<String, String> labelFunction, Set<String> femaleClassIds, 
+            Set<String> maleClassIds, Set<String> hermaphroditeClassIds, String outputFile) 
+                    throws IOException {
+        log.traceEntry("{}, {}, {}, {}, {}, {}", allClassIds, labelFunction, femaleClassIds, 
+                maleClassIds, hermaphroditeClassIds, outputFile);
+        
         //generate output file containing all classes
         //create the header of the file, and the conditions on the columns
         String[] header = new String[5];
@@ -1144,13 +1238,13 @@ public class Uberon extends UberonCommon {
             
             mapWriter.writeHeader(header);
             
-            for (OWLClass cls: allClasses) {
+            for (String id: allClassIds) {
                 Map<String, Object> row = new HashMap<String, Object>();
-                row.put(header[0], wrapper.getIdentifier(cls));
-                row.put(header[1], wrapper.getLabel(cls));
-                row.put(header[2], femaleClasses.contains(cls));
-                row.put(header[3], maleClasses.contains(cls));
-                row.put(header[4], hermaphroditeClasses.contains(cls));
+                row.put(header[0], id);
+                row.put(header[1], labelFunction.apply(id));
+                row.put(header[2], femaleClassIds.contains(id));
+                row.put(header[3], maleClassIds.contains(id));
+                row.put(header[4], hermaphroditeClassIds.contains(id));
                 
                 mapWriter.write(row, header, processors);
             }
@@ -1172,7 +1266,10 @@ public class Uberon extends UberonCommon {
     public boolean isNonInformativeSubsetMember(OWLObject object) {
         log.traceEntry("{}", object);
         
-        Collection<String> subsets = this.getOntologyUtils().getWrapper().getSubsets(object);
+        Collection<String> subsets = this.getOntologySnapshot() != null?
+                this.getOntologySnapshot().getSubsets(
+                        this.getOntologyUtils().getWrapper().getIdentifier(object)):
+                this.getOntologyUtils().getWrapper().getSubsets(object);
         return log.traceExit(!Collections.disjoint(NON_INFORMATIVE_SUBSETS, subsets) && 
                 Collections.disjoint(INFORMATIVE_SUBSETS, subsets));
     }
@@ -10,6 +10,7 @@ import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
@@ -174,6 +175,10 @@ public abstract class UberonCommon {
      * that will be used. 
      */
     private final OntologyUtils ontUtils;
+    /**
+     * @see #getOntologySnapshot()
+     */
+    private OntologySnapshot ontSnapshot;
     
     /**
      * Constructor providing the path to the Uberon ontology to used to perforn operations.
@@ -202,6 +207,7 @@ public abstract class UberonCommon {
         this.setPathToUberonOnt(ontUtils.getPathToOntology());
         this.classesRemoved = new HashMap<String, String>();
         this.setTaxonConstraints(null);
+        this.setOntologySnapshot(null);
     }
 
     
@@ -318,7 +324,9 @@ public abstract class UberonCommon {
             }
         } else {
             //in case the id provided was actually an xref
-            Set<String> classIdsMapped = this.getOntologyUtils().getXRefMappings().get(id);
+            Set<String> classIdsMapped = this.getOntologySnapshot() != null?
+                    this.getOntologySnapshot().getXRefMapping(id):
+                    this.getOntologyUtils().getXRefMappings().get(id);
             if (classIdsMapped != null) {
                 Set<OWLClass> classesMapped = new HashSet<OWLClass>();
                 for (String idMapped: classIdsMapped) {
@@ -908,4 +916,24 @@ public abstract class UberonCommon {
     public OntologyUtils getOntologyUtils() {
         return this.ontUtils;
     }
+    /**
+     * @return  The {@code OntologySnapshot} of the ontology wrapped by 
+     *          {@link #getOntologyUtils()}, used to retrieve precomputed closures, xrefs 
+     *          and subsets. {@code null} if no up-to-date snapshot was provided, in which case 
+     *          they are retrieved from the ontology.
+     * @see #setOntologySnapshot(OntologySnapshot)
+     */
+    public OntologySnapshot getOntologySnapshot() {
+        return this.ontSnapshot;
+    }
+    /**
+     * @param ontSnapshot   The {@code OntologySnapshot} of the ontology wrapped by 
+     *                      {@link #getOntologyUtils()}, see {@link OntologySnapshot#loadIfUpToDate(String)}. 
+     *                      It must not be provided if the ontology is modified, 
+     *                      for instance by a simplification.
+     * @see #getOntologySnapshot()
+     */
+    public void setOntologySnapshot(OntologySnapshot ontSnapshot) {
+        this.ontSnapshot = ontSnapshot;
+    }
 }
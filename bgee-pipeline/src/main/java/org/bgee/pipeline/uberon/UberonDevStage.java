@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.pipeline.CommandRunner;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -156,6 +157,7 @@ public class UberonDevStage extends UberonCommon {
         } else if (args[0].equalsIgnoreCase("generateStageNestedSetModelAndReport")) {
             log.info(Arrays.stream(args).collect(Collectors.joining(", ")));
             UberonDevStage ub = new UberonDevStage(new OntologyUtils(args[1]), new OntologyUtils(args[2]), args[3]);
+            ub.setTaxOntSnapshot(OntologySnapshot.loadIfUpToDate(args[2]));
             ub.generateStageNestedSetModelAndReport(args[4], Integer.parseInt(args[5]), args[6]);
         } else {
             throw log.throwing(new UnsupportedOperationException("The following action " +
@@ -171,6 +173,10 @@ public class UberonDevStage extends UberonCommon {
      * in their graph closure. The {@code OWLClass}es will not be removed. 
      */
     private Collection<String> childrenOfToRemove;
+    /**
+     * @see #getTaxOntSnapshot()
+     */
+    private OntologySnapshot taxOntSnapshot;
     /**
      * A {@code Map} associating a nested set model (as values), to the least common ancestor 
      * it was computed for, in a given species (as keys). This will allow to avoid recomputing a nested set model 
@@ -781,8 +787,20 @@ public class UberonDevStage extends UberonCommon {
                             }
                             taxAndAncestors = new HashSet<>();
                             taxAndAncestors.add(tax);
-                            taxAndAncestors.addAll(this.getOntologyUtils().getWrapper()
-                                    .getAncestorsThroughIsA(tax));
+                            if (this.getTaxOntSnapshot() != null) {
+                                for (String ancId: this.getTaxOntSnapshot()
+                                        .getAncestorIdsThroughIsA(OntologyUtils.getTaxOntologyId(
+                                                selectedTaxId))) {
+                                    OWLClass anc = this.getOntologyUtils().getWrapper()
+                                            .getOWLClassByIdentifierNoAltIds(ancId);
+                                    if (anc != null) {
+                                        taxAndAncestors.add(anc);
+                                    }
+                                }
+                            } else {
+                                taxAndAncestors.addAll(this.getOntologyUtils().getWrapper()
+                                        .getAncestorsThroughIsA(tax));
+                            }
                             log.trace("Taxon and ancestors: {}", taxAndAncestors);
                         }
                         
@@ -1347,4 +1365,22 @@ public class UberonDevStage extends UberonCommon {
     public void setChildrenOfToRemove(Collection<String> childrenOfToRemove) {
         this.childrenOfToRemove = childrenOfToRemove;
     }
+    /**
+     * @return  The {@code OntologySnapshot} of the taxonomy ontology merged into Uberon, 
+     *          used to retrieve the ancestors of taxa without walking the merged ontology. 
+     *          {@code null} if the ancestors are retrieved from the merged ontology.
+     * @see #setTaxOntSnapshot(OntologySnapshot)
+     */
+    public OntologySnapshot getTaxOntSnapshot() {
+        return taxOntSnapshot;
+    }
+    /**
+     * Sets the parameter returned by {@link #getTaxOntSnapshot()}.
+     * 
+     * @param taxOntSnapshot    See {@link #getTaxOntSnapshot()}.
+     * @see #getTaxOntSnapshot()
+     */
+    public void setTaxOntSnapshot(OntologySnapshot taxOntSnapshot) {
+        this.taxOntSnapshot = taxOntSnapshot;
+    }
 }
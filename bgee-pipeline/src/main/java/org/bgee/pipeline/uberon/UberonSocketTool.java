@@ -3,11 +3,22 @@ package org.bgee.pipeline.uberon;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -20,9 +31,17 @@ import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 /**
  * An utility class allowing to query Uberon-related methods over sockets. 
+ * <p>
+ * Several clients can be connected at the same time, each of them served by a thread 
+ * from a fixed pool. A client can send one query per line, a response being returned 
+ * for each line; or, to avoid one round trip per query, a batch of queries: a line 
+ * {@link #BATCH_COMMAND}, followed by {@link CommandRunner#SOCKET_RESPONSE_SEPARATOR} 
+ * and the number of queries, followed by one line per query. The responses to the queries 
+ * of a batch are then returned at once, one line per query, in the same order. 
+ * Results are memoized, as the ontologies are not modified while listening.
  * 
  * @author Frederic Bastian
- * @version Bgee 13
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 13
  */
 public class UberonSocketTool {
@@ -34,6 +53,25 @@ public class UberonSocketTool {
     private enum SocketAction {
         STAGES_BETWEEN, ID_MAPPINGS;
     }
+
+    /**
+     * A {@code String} that is the command starting a batch of queries, followed by 
+     * {@link CommandRunner#SOCKET_RESPONSE_SEPARATOR} and the number of queries in the batch.
+     */
+    public final static String BATCH_COMMAND = "batch";
+    /**
+     * A {@code String} that is the command requesting the server to stop listening.
+     * @see #stopListening()
+     */
+    public final static String SHUTDOWN_COMMAND = "shutdown";
+    /**
+     * An {@code int} that is the default maximum number of clients served concurrently.
+     */
+    public final static int DEFAULT_MAX_CLIENT_COUNT = 8;
+    /**
+     * An {@code AtomicInteger} used to name the threads serving clients.
+     */
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
     
     /**
      * Several actions can be launched from this main method, depending on the first 
@@ -49,6 +87,7 @@ public class UberonSocketTool {
      *   <li>path to the taxon constraints file
      *   <li>the ID of the species to consider to retrieve stage ranges.
      *   <li>the port to connect the {@code ServerSocket} to.
+     *   <li>(optional) the maximum number of clients served concurrently.
      *   </ol>
      * <li>If the first element in {@code args} is "idMapping", the action 
      * will be to launch a {@code ServerSocket} to perform ID mapping queries, 
@@ -57,6 +96,7 @@ public class UberonSocketTool {
      *   <ol>
      *   <li>path to the file storing the Uberon ontology.
      *   <li>the port to connect the {@code ServerSocket} to.
+     *   <li>(optional) the maximum number of clients served concurrently.
      *   </ol>
      * </ul>
      * @param args  An {@code Array} of {@code String}s containing the requested parameters.
@@ -72,11 +112,15 @@ public class UberonSocketTool {
             UberonSocketTool tool = new UberonSocketTool(new UberonDevStage(
                     new OntologyUtils(args[1]), new OntologyUtils(args[2]), args[3]), 
                     Integer.parseInt(args[4]), 
-                    new ServerSocket(Integer.parseInt(args[5])));
+                    new ServerSocket(Integer.parseInt(args[5])), 
+                    args.length > 6? Integer.parseInt(args[6]): DEFAULT_MAX_CLIENT_COUNT, 
+                    SocketAction.STAGES_BETWEEN);
             tool.startListening();
         } else if (args[0].equalsIgnoreCase("idMapping")) {
-            UberonSocketTool tool = new UberonSocketTool(new Uberon(args[1]), 
-                    new ServerSocket(Integer.parseInt(args[2])));
+            UberonSocketTool tool = new UberonSocketTool(new Uberon(args[1]), 0, 
+                    new ServerSocket(Integer.parseInt(args[2])), 
+                    args.length > 3? Integer.parseInt(args[3]): DEFAULT_MAX_CLIENT_COUNT, 
+                    SocketAction.ID_MAPPINGS);
             tool.startListening();
         } else {
             throw log.throwing(new UnsupportedOperationException("The following action " +
@@ -111,6 +155,23 @@ public class UberonSocketTool {
      * The {@code SocketAction} defining which queries will be performed. 
      */
     private final SocketAction action;
+    /**
+     * An {@code int} that is the maximum number of clients served concurrently.
+     */
+    private final int maxClientCount;
+    /**
+     * A {@code ConcurrentMap} where keys are queries already received, 
+     * the associated values being {@code CompletableFuture}s completed with the responses
+     * to these queries. A query is performed by the first client requesting it,
+     * other clients requesting the same query wait for its response.
+     */
+    private final ConcurrentMap<String, CompletableFuture<String>> responseCache;
+    /**
+     * An {@code Object} used to synchronize calls to {@link #uberonCommon} and 
+     * {@link #uberonDevStage}, that are not thread-safe: they lazily populate internal maps.
+     * Only the calls to the ontology are performed while holding this lock.
+     */
+    private final Object ontologyLock;
     
     
     /**
@@ -132,7 +193,8 @@ public class UberonSocketTool {
      */
     public UberonSocketTool(UberonDevStage uberon, int speciesId, ServerSocket serverSocket) 
             throws OWLOntologyCreationException {
-        this(uberon, speciesId, serverSocket, SocketAction.STAGES_BETWEEN);
+        this(uberon, speciesId, serverSocket, DEFAULT_MAX_CLIENT_COUNT, 
+                SocketAction.STAGES_BETWEEN);
     }
     /**
      * Constructor to use a {@code ServerSocket} to perform ID mapping queries, as with 
@@ -150,7 +212,7 @@ public class UberonSocketTool {
      */
     public UberonSocketTool(UberonCommon uberon, ServerSocket serverSocket) 
             throws OWLOntologyCreationException {
-        this(uberon, 0, serverSocket, SocketAction.ID_MAPPINGS);
+        this(uberon, 0, serverSocket, DEFAULT_MAX_CLIENT_COUNT, SocketAction.ID_MAPPINGS);
     }
     
     /**
@@ -163,12 +225,20 @@ public class UberonSocketTool {
      * @param speciesId     An {@code int} that is the ID of the species to consider to retrieve 
      *                      stage ranges, see {@link UberonDevStage#getStageIdsBetween(String, String, int)}.
      * @param serverSocket  The {@code ServerSocket} to use to communicate.
+     * @param maxClientCount    An {@code int} that is the maximum number of clients 
+     *                          served concurrently.
      * @param action        The {@code SocketAction} defining which query to perform.
      * @throws OWLOntologyCreationException If an error occurred while merging 
      *                                      the import closure of the ontology.
+     * @throws IllegalArgumentException     If {@code maxClientCount} is less than 1.
      */
     private UberonSocketTool(UberonCommon uberon, int speciesId, 
-            ServerSocket serverSocket, SocketAction action) throws OWLOntologyCreationException {
+            ServerSocket serverSocket, int maxClientCount, SocketAction action) 
+                    throws OWLOntologyCreationException {
+        if (maxClientCount < 1) {
+            throw log.throwing(new IllegalArgumentException(
+                    "The maximum number of clients must be greater than 0"));
+        }
         this.uberonCommon = uberon;
         this.uberonCommon.getOntologyUtils().getWrapper().mergeImportClosure();
         if (uberon instanceof UberonDevStage) {
@@ -179,23 +249,35 @@ public class UberonSocketTool {
         this.devStageSpeciesId = speciesId;
         this.serverSocket = serverSocket;
         this.action = action;
+        this.maxClientCount = maxClientCount;
+        this.responseCache = new ConcurrentHashMap<>();
+        this.ontologyLock = new Object();
     }
     
     /**
-     * Start listening to clients through the {@code ServerSocket} provided at instantiation.
-     * @throws IOException  If an error occurred while reading input from client 
-     *                      or while returning response. 
+     * Start listening to clients through the {@code ServerSocket} provided at instantiation. 
+     * This method returns only once {@link #stopListening()} has been called, 
+     * or a client has sent the command {@link #SHUTDOWN_COMMAND}.
+     * @throws IOException  If an error occurred while accepting client connections. 
      */
     public void startListening() throws IOException {
         this.genericSocket(this.action);
     }
+    /**
+     * Stop listening to clients, by closing the {@code ServerSocket} provided at instantiation. 
+     * Clients already connected are disconnected.
+     * @throws IOException  If an error occurred while closing the {@code ServerSocket}.
+     */
+    public void stopListening() throws IOException {
+        log.traceEntry();
+        this.serverSocket.close();
+        log.traceExit();
+    }
     
     /**
-     * This method uses the {@code #serverSocket} to receive queries that will be delegated 
-     * to {@link #stageRangeQuery(String)} if {@code action} is equal to 
-     * {@link SocketAction STAGES_BETWEEN}, or to {@link #idMappingQuery(String)} 
-     * if {@code action} is equal to {@link SocketAction STAGES_BETWEEN}. The value returned 
-     * by one of these methods is then returned using the server socket. 
+     * This method uses the {@code #serverSocket} to accept client connections, each of them 
+     * served by a thread from a pool of size {@link #maxClientCount}, 
+     * see {@link #serveClient(Socket, SocketAction)}. 
      * <p>
      * Note that for {@link #stageRangeQuery(String)} to work properly, a loaded {@code UberonDevStage} 
      * and a {@code speciesId} must have been provided at instantiation. 
@@ -203,56 +285,180 @@ public class UberonSocketTool {
      * must have been provided at instantiation. 
      * 
      * @param action    A {@code SocketAction} defining the query to execute.
-     * @throws IOException  If an error occurred while reading input from client 
-     *                      or while returning response. 
+     * @throws IOException  If an error occurred while accepting client connections. 
      */
     private void genericSocket(SocketAction action) throws IOException {
-        log.entry(action);
+        log.traceEntry("{}", action);
         
-        log.debug("Trying to acquire client socket from ServerSocket {}...", 
-                this.serverSocket);
-        try (Socket clientSocket = this.serverSocket.accept();
-                PrintWriter out =
-                        new PrintWriter(clientSocket.getOutputStream(), true);
+        ExecutorService clientPool = Executors.newFixedThreadPool(this.maxClientCount, r -> {
+            Thread t = new Thread(r, "uberon-socket-client-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        List<Socket> clientSockets = new ArrayList<>();
+        try {
+            while (!this.serverSocket.isClosed()) {
+                log.debug("Trying to acquire client socket from ServerSocket {}...", 
+                        this.serverSocket);
+                Socket clientSocket;
+                try {
+                    clientSocket = this.serverSocket.accept();
+                } catch (SocketException e) {
+                    if (this.serverSocket.isClosed()) {
+                        log.debug("ServerSocket closed, stop listening.");
+                        break;
+                    }
+                    throw log.throwing(e);
+                }
+                log.debug("Client socket acquired.");
+                synchronized (clientSockets) {
+                    clientSockets.removeIf(Socket::isClosed);
+                    clientSockets.add(clientSocket);
+                }
+                clientPool.execute(() -> this.serveClient(clientSocket, action));
+            }
+        } finally {
+            if (!this.serverSocket.isClosed()) {
+                this.serverSocket.close();
+            }
+            clientPool.shutdown();
+            synchronized (clientSockets) {
+                for (Socket clientSocket: clientSockets) {
+                    try {
+                        clientSocket.close();
+                    } catch (IOException e) {
+                        log.catching(e);
+                    }
+                }
+            }
+            try {
+                clientPool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        log.traceExit();
+    }
+
+    /**
+     * Serve the queries sent by a client through {@code clientSocket}, until the client 
+     * disconnects or sends a command to exit. Each query is delegated to 
+     * {@link #query(String, SocketAction)}, and the responses are returned using 
+     * {@code clientSocket}. Queries are either sent one per line, or by batch, 
+     * see {@link #BATCH_COMMAND}. 
+     * 
+     * @param clientSocket  The {@code Socket} connected to the client.
+     * @param action        A {@code SocketAction} defining the query to execute.
+     */
+    private void serveClient(Socket clientSocket, SocketAction action) {
+        log.traceEntry("{}, {}", clientSocket, action);
+
+        try (Socket socket = clientSocket;
+                PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                        socket.getOutputStream(), "UTF-8"), false);
                 BufferedReader in = new BufferedReader(
-                        new InputStreamReader(clientSocket.getInputStream(), "UTF-8"));) {
+                        new InputStreamReader(socket.getInputStream(), "UTF-8"));) {
 
-            log.debug("Client socket acquired.");
             String inputLine;
             while ((inputLine = in.readLine()) != null) {
-                try {
-                    log.debug("Receiving query: " + inputLine);
-                    inputLine = inputLine.trim();
-
-                    if (inputLine.equals("exit") || inputLine.equals("logout") || 
-                            inputLine.equals("quit") || inputLine.equals("bye")) {
-                        out.println("Bye.");
-                        log.debug("Exiting.");
-                        break;
-                    }
+                log.debug("Receiving query: " + inputLine);
+                inputLine = inputLine.trim();
 
-                    String output = "";
-                    if (action.equals(SocketAction.STAGES_BETWEEN)) {
-                        output = this.stageRangeQuery(inputLine);
-                    } else if (action.equals(SocketAction.ID_MAPPINGS)) {
-                        output = this.idMappingQuery(inputLine);
-                    } 
+                if (inputLine.equals("exit") || inputLine.equals("logout") || 
+                        inputLine.equals("quit") || inputLine.equals("bye")) {
+                    out.println("Bye.");
+                    out.flush();
+                    log.debug("Exiting.");
+                    break;
+                }
+                if (inputLine.equals(SHUTDOWN_COMMAND)) {
+                    out.println("Bye.");
+                    out.flush();
+                    log.debug("Shutting down.");
+                    this.stopListening();
+                    break;
+                }
 
-                    log.debug("Sending response: {}", output);
-                    out.println(output);
-                } catch (Exception e) {
-                    log.catching(e);
-                    out.println(e);
+                if (inputLine.startsWith(BATCH_COMMAND + CommandRunner.SOCKET_RESPONSE_SEPARATOR)) {
+                    int queryCount;
+                    try {
+                        queryCount = Integer.parseInt(inputLine.substring(
+                                (BATCH_COMMAND + CommandRunner.SOCKET_RESPONSE_SEPARATOR)
+                                .length()).trim());
+                    } catch (NumberFormatException e) {
+                        log.catching(e);
+                        out.println(e);
+                        out.flush();
+                        continue;
+                    }
+                    log.debug("Receiving batch of {} queries", queryCount);
+                    for (int i = 0; i < queryCount; i++) {
+                        String query = in.readLine();
+                        if (query == null) {
+                            log.warn("Client disconnected before end of batch");
+                            break;
+                        }
+                        out.println(this.query(query.trim(), action));
+                    }
+                } else {
+                    out.println(this.query(inputLine, action));
                 }
+                //responses to a batch are sent at once
+                out.flush();
             }
-        } finally {
-            if (this.serverSocket != null) {
-                this.serverSocket.close();
+        } catch (IOException e) {
+            if (!this.serverSocket.isClosed()) {
+                log.catching(e);
             }
         }
         
         log.traceExit();
     }
+
+    /**
+     * Delegate {@code input} to {@link #stageRangeQuery(String)} if {@code action} is equal to 
+     * {@link SocketAction STAGES_BETWEEN}, or to {@link #idMappingQuery(String)} 
+     * if {@code action} is equal to {@link SocketAction ID_MAPPINGS}. Responses are memoized.
+     * 
+     * @param input     A {@code String} that is the query.
+     * @param action    A {@code SocketAction} defining the query to execute.
+     * @return          A {@code String} that is the response to the query, or the description 
+     *                  of the {@code Exception} thrown if the query failed.
+     */
+    private String query(String input, SocketAction action) {
+        log.traceEntry("{}, {}", input, action);
+        CompletableFuture<String> newResponse = new CompletableFuture<>();
+        CompletableFuture<String> response = this.responseCache.putIfAbsent(input, newResponse);
+        if (response == null) {
+            //The query is performed by this thread. It is not performed in computeIfAbsent,
+            //to not block other threads accessing the cache
+            response = newResponse;
+            try {
+                String output;
+                if (action.equals(SocketAction.STAGES_BETWEEN)) {
+                    output = this.stageRangeQuery(input);
+                } else if (action.equals(SocketAction.ID_MAPPINGS)) {
+                    output = this.idMappingQuery(input);
+                } else {
+                    output = "";
+                }
+                newResponse.complete(output);
+            } catch (Exception e) {
+                //failed queries are not memoized
+                this.responseCache.remove(input, newResponse);
+                newResponse.completeExceptionally(e);
+            }
+        }
+        try {
+            String output = response.join();
+            log.debug("Sending response: {}", output);
+            return log.traceExit(output);
+        } catch (CompletionException e) {
+            log.catching(e.getCause());
+            return log.traceExit(e.getCause().toString());
+        }
+    }
     
     /**
      * Extract from {@code input} a start stage ID and a end stage ID and perform 
@@ -278,8 +484,11 @@ public class UberonSocketTool {
         log.debug("Start stage retrieved: {} - End stage retrieved: {}", 
                 params.get(0), params.get(1));
         
-        List<String> stageIds = this.uberonDevStage.getStageIdsBetween(params.get(0), 
-                params.get(1), this.devStageSpeciesId);
+        List<String> stageIds;
+        synchronized (this.ontologyLock) {
+            stageIds = this.uberonDevStage.getStageIdsBetween(params.get(0), 
+                    params.get(1), this.devStageSpeciesId);
+        }
         for (String stageId: stageIds) {
             if (StringUtils.isNotBlank(output)) {
                 output += CommandRunner.SOCKET_RESPONSE_SEPARATOR;
@@ -308,13 +517,20 @@ public class UberonSocketTool {
     private String idMappingQuery(String input) {
         log.entry(input);
         
-        Set<OWLClass> classes = this.uberonCommon.getOWLClasses(input, false);
-        this.uberonCommon.getOntologyUtils().retainLeafClasses(
-                classes, this.uberonCommon.getOntologyUtils().getGenericPartOfProps());
+        Set<OWLClass> classes;
+        String identifier = null;
+        synchronized (this.ontologyLock) {
+            classes = this.uberonCommon.getOWLClasses(input, false);
+            this.uberonCommon.getOntologyUtils().retainLeafClasses(
+                    classes, this.uberonCommon.getOntologyUtils().getGenericPartOfProps());
+            if (classes.size() == 1) {
+                identifier = this.uberonCommon.getOntologyUtils().getWrapper().getIdentifier(
+                        classes.iterator().next());
+            }
+        }
         
         if (classes.size() == 1) {
-            return log.traceExit(this.uberonCommon.getOntologyUtils().getWrapper().getIdentifier(
-                    classes.iterator().next()));
+            return log.traceExit(identifier);
         } 
         if (log.isWarnEnabled()) {
             if (classes.isEmpty()) {
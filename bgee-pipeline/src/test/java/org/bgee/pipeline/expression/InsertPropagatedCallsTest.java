@@ -1,8 +1,19 @@
 package org.bgee.pipeline.expression;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.pipeline.TestAncestor;
+import org.bgee.pipeline.expression.InsertPropagatedCalls.GeneGroup;
+import org.junit.Test;
 
 /**
  * Unit tests for {@link InsertPropagatedCalls}.
@@ -51,6 +62,46 @@ public class InsertPropagatedCallsTest extends TestAncestor {
         return log;
     }
 
+    /**
+     * Test {@link InsertPropagatedCalls#partitionGenesByCost(List, Map, int, int)}.
+     */
+    @Test
+    public void shouldPartitionGenesByCost() {
+        List<Integer> geneIds = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+        Map<Integer, Integer> rawCallCounts = new HashMap<>();
+        rawCallCounts.put(1, 10);
+        rawCallCounts.put(2, 10);
+        rawCallCounts.put(3, 100);
+        rawCallCounts.put(4, 10);
+        rawCallCounts.put(5, 10);
+        rawCallCounts.put(6, 10);
+        rawCallCounts.put(7, 10);
+        //gene 8 has no count, cost of 1
+
+        //total cost 161, max cost per group 41
+        List<GeneGroup> groups = InsertPropagatedCalls.partitionGenesByCost(
+                geneIds, rawCallCounts, 4, 200);
+        assertEquals("Incorrect number of groups", 3, groups.size());
+        assertEquals("Most expensive group should be first", Arrays.asList(3),
+                groups.get(0).getBgeeGeneIds());
+        assertEquals("Incorrect cost", 100, groups.get(0).getEstimatedCost());
+        List<Integer> allGeneIds = new ArrayList<>();
+        long previousCost = Long.MAX_VALUE;
+        for (GeneGroup group: groups) {
+            assertTrue("Groups should be ordered by descending cost",
+                    group.getEstimatedCost() <= previousCost);
+            previousCost = group.getEstimatedCost();
+            allGeneIds.addAll(group.getBgeeGeneIds());
+        }
+        allGeneIds.sort(null);
+        assertEquals("All genes should be partitioned", geneIds, allGeneIds);
+
+        //Test the max size of groups
+        groups = InsertPropagatedCalls.partitionGenesByCost(geneIds, new HashMap<>(), 1, 3);
+        assertEquals("Incorrect number of groups", 3, groups.size());
+        assertEquals("Incorrect group", Arrays.asList(1, 2, 3), groups.get(0).getBgeeGeneIds());
+    }
+
 //  /**
 //  * Test the method 
 //  * {@link CallService#propagateExpressionCalls(Collection, Collection, ConditionGraph, String)}.
@@ -0,0 +1,87 @@
+package org.bgee.pipeline.expression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.api.expressiondata.rawdata.SamplePValueDAO.SamplePValueTO;
+import org.bgee.model.expressiondata.baseelements.DataType;
+import org.bgee.pipeline.TestAncestor;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RawCallSources} and {@link SamplePValueTable}.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class RawCallSourcesTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(RawCallSourcesTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link RawCallSources#union(java.util.Collection)}.
+     */
+    @Test
+    public void shouldMergeRawCallSources() {
+        RawCallSources s1 = RawCallSources.union(Arrays.asList(
+                RawCallSources.of(5L, 50), RawCallSources.of(1L, 10)));
+        RawCallSources s2 = RawCallSources.union(Arrays.asList(
+                RawCallSources.of(3L, 30), RawCallSources.of(5L, 50), null));
+        RawCallSources merged = RawCallSources.union(Arrays.asList(s1, RawCallSources.EMPTY, s2));
+
+        assertEquals("Incorrect number of sources", 3, merged.size());
+        long[] expressionIds = new long[merged.size()];
+        int[] condIds = new int[merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            expressionIds[i] = merged.getExpressionId(i);
+            condIds[i] = merged.getRawConditionId(i);
+        }
+        assertArrayEquals("Incorrect expression IDs", new long[]{1L, 3L, 5L}, expressionIds);
+        assertArrayEquals("Incorrect condition IDs", new int[]{10, 30, 50}, condIds);
+
+        assertSame("Single non-empty sources should be reused", s1,
+                RawCallSources.union(Arrays.asList(RawCallSources.EMPTY, s1)));
+        assertTrue("Incorrect empty sources",
+                RawCallSources.union(Arrays.asList(RawCallSources.EMPTY, null)).isEmpty());
+    }
+
+    /**
+     * Test {@link SamplePValueTable#register(DataType, SamplePValueTO)}
+     * and the operations on observations.
+     */
+    @Test
+    public void shouldStoreSamplePValues() {
+        SamplePValueTable table = new SamplePValueTable();
+        int i1 = table.register(DataType.AFFYMETRIX,
+                new SamplePValueTO<>(1L, "exp1", 1, new BigDecimal("0.01")));
+        int i2 = table.register(DataType.AFFYMETRIX,
+                new SamplePValueTO<>(1L, "exp1", 2, new BigDecimal("0.5")));
+        assertEquals("Same observation should have the same index", i1, table.register(
+                DataType.AFFYMETRIX, new SamplePValueTO<>(1L, "exp1", 1, new BigDecimal("0.01"))));
+        int i3 = table.register(DataType.RNA_SEQ,
+                new SamplePValueTO<>(1L, "exp1", 1, new BigDecimal("0.2")));
+        table.compact();
+
+        assertEquals("Incorrect number of observations", 3, table.size());
+        assertEquals("Incorrect p-value", 0.5, table.getPValue(i2), 0);
+        assertEquals("Incorrect p-value", 0.2, table.getPValue(i3), 0);
+
+        int[] union = SamplePValueTable.union(Arrays.asList(new int[]{i1, i3}, new int[]{i2, i3}));
+        assertArrayEquals("Incorrect union", new int[]{0, 1, 2}, union);
+        assertTrue("Observations should be disjoint",
+                SamplePValueTable.disjoint(new int[]{i1}, new int[]{i2, i3}));
+        assertFalse("Observations should not be disjoint",
+                SamplePValueTable.disjoint(new int[]{i1, i3}, new int[]{i3}));
+    }
+}
@@ -0,0 +1,118 @@
+package org.bgee.pipeline.expression.downloadfile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.pipeline.TestAncestor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link CompressedDownloadFileWriter} and {@link ParallelGzipOutputStream}.
+ *
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class CompressedDownloadFileWriterTest extends TestAncestor {
+    private final static Logger log = LogManager.getLogger(CompressedDownloadFileWriterTest.class.getName());
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    /**
+     * Test that data spanning several blocks are correctly compressed, and that
+     * sizes and checksum are computed while writing.
+     */
+    @Test
+    public void shouldCompressInParallel() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            sb.append("ENSG").append(i).append("\tUBERON:").append(i % 97).append("\tgold quality\n");
+        }
+        String content = sb.toString();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        //small blocks to make sure several gzip members are generated
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, 4096, 3)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            out.close();
+            assertEquals("Incorrect uncompressed size", content.length(), out.getUncompressedSize());
+            assertEquals("Incorrect compressed size", compressed.size(), out.getCompressedSize());
+        }
+        try (InputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals("Incorrect decompressed content", content, readAll(in));
+        }
+    }
+
+    /**
+     * Test {@link CompressedDownloadFileWriter#publish()}.
+     */
+    @Test
+    public void shouldPublishFile() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("file.tsv.gz");
+        String content = "Gene ID\tAnatomical entity ID\nENSG1\tUBERON:0000001\n";
+
+        CompressedDownloadFileWriter writer = new CompressedDownloadFileWriter(file, 2);
+        writer.write(content);
+        writer.close();
+        assertFalse("File should not be visible before publication", Files.exists(file));
+        writer.publish();
+
+        assertTrue("File should be published", Files.exists(file));
+        assertEquals("Incorrect compressed size", Files.size(file), writer.getCompressedSize());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals("Incorrect decompressed content", content, readAll(in));
+        }
+        StringBuilder expectedChecksum = new StringBuilder();
+        for (byte b: MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file))) {
+            expectedChecksum.append(String.format("%02x", b));
+        }
+        assertEquals("Incorrect checksum", expectedChecksum.toString(), writer.getChecksum());
+        assertEquals("Incorrect checksum file", expectedChecksum + "  file.tsv.gz\n",
+                new String(Files.readAllBytes(testFolder.getRoot().toPath().resolve(
+                        "file.tsv.gz" + CompressedDownloadFileWriter.CHECKSUM_EXTENSION)),
+                        StandardCharsets.US_ASCII));
+        assertEquals("No temporary file should remain", 2, testFolder.getRoot().list().length);
+    }
+
+    /**
+     * Test {@link CompressedDownloadFileWriter#discard()}.
+     */
+    @Test
+    public void shouldDiscardFile() throws IOException {
+        Path file = testFolder.getRoot().toPath().resolve("file.tsv.gz");
+        CompressedDownloadFileWriter writer = new CompressedDownloadFileWriter(file, 2);
+        writer.write("Gene ID\n");
+        writer.discard();
+        assertEquals("No file should remain", 0, testFolder.getRoot().list().length);
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
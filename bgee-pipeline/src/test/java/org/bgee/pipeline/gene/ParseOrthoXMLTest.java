@@ -1,5 +1,6 @@
 package org.bgee.pipeline.gene;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -9,6 +10,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -64,6 +66,103 @@ public class ParseOrthoXMLTest extends TestAncestor {
     protected Logger getLogger() {
         return log;
     }
+    
+    /**
+     * Test that {@link ParseOrthoXML#parseXML(String, String)} inserts hierarchical groups 
+     * in several batches when a low flush threshold is used 
+     * (see {@link ParseOrthoXML#setFlushThreshold(int)}), with the same nested set bounds 
+     * as when they are all inserted at once.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void shouldParseXMLWithSeveralFlushes() throws DAOException, XMLStreamException, 
+            XMLParseException, IOException {
+        
+        List<HierarchicalNodeTO> expectedNodeTOs = Arrays.asList(
+                new HierarchicalNodeTO(1, "HOG:SVYPSSI", 1, 4, 117571),
+                new HierarchicalNodeTO(2, "HOG:SVYPSSI", 2, 3, 0),
+                new HierarchicalNodeTO(3, "HOG:HADISHS", 5, 6, 9604),
+                new HierarchicalNodeTO(4, "HOG:AFFEFGG", 7, 18, 117571),
+                new HierarchicalNodeTO(5, "HOG:AFFEFGG", 8, 11, 0),
+                new HierarchicalNodeTO(6, "HOG:AFFEFGG", 9, 10, 186625),
+                new HierarchicalNodeTO(7, "HOG:AFFEFGG", 12, 17, 32523),
+                new HierarchicalNodeTO(8, "HOG:AFFEFGG", 13, 16, 32524),
+                new HierarchicalNodeTO(9, "HOG:AFFEFGG", 14, 15, 32525),
+                new HierarchicalNodeTO(10, "HOG:RIQLVEE", 19, 28, 33213),
+                new HierarchicalNodeTO(11, "HOG:RIQLVEE", 20, 21, 0),
+                new HierarchicalNodeTO(12, "HOG:RIQLVEE", 22, 23, 1206794),
+                new HierarchicalNodeTO(13, "HOG:RIQLVEE", 24, 25, 1206794),
+                new HierarchicalNodeTO(14, "HOG:RIQLVEE", 26, 27, 1206794));
+        
+        //all groups inserted at once with the default threshold
+        MockDAOManager mockManager = this.getOrthoXMLMockManager();
+        new ParseOrthoXML(mockManager).parseXML(
+                this.getClass().getResource(OMAFILE).getFile(), null);
+        ArgumentCaptor<Set> nodeTOsArg = ArgumentCaptor.forClass(Set.class);
+        verify(mockManager.mockHierarchicalGroupDAO, times(1)).insertHierarchicalNodes(
+                nodeTOsArg.capture());
+        assertTrue("Incorrect HierarchicalNodeTOs generated", TOComparator.areTOCollectionsEqual(
+                expectedNodeTOs, nodeTOsArg.getValue()));
+        
+        //groups inserted after each top-level group with a low threshold
+        mockManager = this.getOrthoXMLMockManager();
+        ParseOrthoXML parser = new ParseOrthoXML(mockManager);
+        parser.setFlushThreshold(1);
+        parser.parseXML(this.getClass().getResource(OMAFILE).getFile(), null);
+        nodeTOsArg = ArgumentCaptor.forClass(Set.class);
+        verify(mockManager.mockHierarchicalGroupDAO, times(4)).insertHierarchicalNodes(
+                nodeTOsArg.capture());
+        List<Set> batches = nodeTOsArg.getAllValues();
+        assertEquals("Incorrect number of insertion batches", 4, batches.size());
+        List<HierarchicalNodeTO> nodeTOs = new ArrayList<>();
+        for (Set batch: batches) {
+            //each batch should contain exactly one top-level group, with its nested groups
+            assertEquals("Incorrect groups in batch", 1, ((Set<HierarchicalNodeTO>) batch)
+                    .stream().map(to -> to.getOMAGroupId()).distinct().count());
+            nodeTOs.addAll(batch);
+        }
+        assertTrue("Incorrect HierarchicalNodeTOs generated with several flushes", 
+                TOComparator.areTOCollectionsEqual(expectedNodeTOs, nodeTOs));
+        assertEquals("Incorrect number of top-level groups read", 4, parser.getGroupReadCount());
+        verify(mockManager.getConnection(), times(1)).startTransaction();
+        verify(mockManager.getConnection(), times(1)).commit();
+    }
+    
+    /**
+     * @return  A {@code MockDAOManager} returning the species, taxa and genes 
+     *          used to parse {@link #OMAFILE}.
+     */
+    private MockDAOManager getOrthoXMLMockManager() {
+        MockDAOManager mockManager = new MockDAOManager();
+        MySQLSpeciesTOResultSet mockSpeciesTORs = this.createMockDAOResultSet(Arrays.asList(
+                new SpeciesTO(9606, "human", null, null, null, null, null, null, null, null, 9606),
+                new SpeciesTO(7955, "zebrafish", null, null, null, null, null, null, null, null, 7955),
+                new SpeciesTO(7227, "fruitfly", null, null, null, null, null, null, null, null, 0),
+                new SpeciesTO(6239, "c.elegans", null, null, null, null, null, null, null, null, 0)), 
+                MySQLSpeciesTOResultSet.class);
+        when(mockManager.mockSpeciesDAO.getAllSpecies(null)).thenReturn(mockSpeciesTORs);
+        //The taxon Sauria is present in the fakeOMA file, and not in this list.
+        MySQLTaxonTOResultSet mockTaxonTORs = this.createMockDAOResultSet(Arrays.asList(
+                new TaxonTO(9604, null, null, null, null, null, null),
+                new TaxonTO(33213, null, null, null, null, null, null),
+                new TaxonTO(32523, null, null, null, null, null, null),
+                new TaxonTO(32524, null, null, null, null, null, null),
+                new TaxonTO(32525, null, null, null, null, null, null),
+                new TaxonTO(117571, null, null, null, null, null, null),
+                new TaxonTO(186625, null, null, null, null, null, null),
+                new TaxonTO(1206794, null, null, null, null, null, null)), 
+                MySQLTaxonTOResultSet.class);
+        when(mockManager.mockTaxonDAO.getTaxa(null, false, null)).thenReturn(mockTaxonTORs);
+        MySQLGeneTOResultSet mockGeneTORs = this.createMockDAOResultSet(Arrays.asList(
+                new GeneTO(1, "ENSDARG00000087888", null, 7955),
+                new GeneTO(2, "ENSG00000027681", null, 9606),
+                new GeneTO(3, "ENSDARG00000025613", null, 7955),
+                new GeneTO(4, "ENSG00000171791", null, 9606),
+                new GeneTO(5, "FBgn0003721", null, 7227)), 
+                MySQLGeneTOResultSet.class);
+        when(mockManager.mockGeneDAO.getAllGenes()).thenReturn(mockGeneTORs);
+        return mockManager;
+    }
 //    
 //    /**
 //     * Test {@link ParseOrthoXML#parseXML(String, String)}, which is the central method of the
@@ -0,0 +1,173 @@
+package org.bgee.pipeline.ontologycommon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.pipeline.TestAncestor;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot.RelationType;
+import org.bgee.pipeline.ontologycommon.OntologySnapshot.SnapshotEdge;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the class {@link OntologySnapshot}.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class OntologySnapshotTest extends TestAncestor {
+    /**
+     * {@code Logger} of the class.
+     */
+    private final static Logger log =
+            LogManager.getLogger(OntologySnapshotTest.class.getName());
+
+    /**
+     * A {@code String} that is the path from the classpath to the fake Gene
+     * Ontology file.
+     */
+    private final String GOFILE = "/ontologies/fakeGO.obo";
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    /**
+     * Test {@link OntologySnapshot#create(String)} and
+     * {@link OntologySnapshot#loadIfUpToDate(String)}.
+     */
+    @Test
+    public void shouldCreateAndLoadSnapshot() throws Exception {
+        Path ontFile = this.copyOntology(GOFILE);
+        File snapshotFile = new File(ontFile.toString() + OntologySnapshot.FILE_EXTENSION);
+
+        //no snapshot should be created when loading
+        assertNull(OntologySnapshot.loadIfUpToDate(ontFile.toString()));
+        assertFalse("Snapshot should not have been written", snapshotFile.exists());
+
+        Set<String> expectedRealIds = new HashSet<>(Arrays.asList(
+                "GO:1", "GO:2", "GO:3", "GO:4", "GO:5", "GO:6", "GO:7"));
+        Set<String> expectedObsoleteIds = new HashSet<>(Arrays.asList("GO:8", "GO:9", "GO:12"));
+        OntologySnapshot snapshot = OntologySnapshot.create(ontFile.toString());
+        assertTrue("Snapshot not written", snapshotFile.exists());
+        assertEquals("Incorrect real class IDs", expectedRealIds, snapshot.getRealClassIds());
+        assertEquals("Incorrect obsolete IDs", expectedObsoleteIds, snapshot.getObsoleteIds());
+
+        snapshot = OntologySnapshot.loadIfUpToDate(ontFile.toString());
+        assertNotNull("Snapshot should be up-to-date", snapshot);
+        assertEquals("Incorrect real class IDs", expectedRealIds, snapshot.getRealClassIds());
+        assertEquals("Incorrect obsolete IDs", expectedObsoleteIds, snapshot.getObsoleteIds());
+        assertEquals(expectedObsoleteIds, new OntologyTools().getObsoleteIds(ontFile.toString()));
+
+        //the snapshot should not be used anymore once the ontology is modified,
+        //whatever its last modification time
+        long lastModified = ontFile.toFile().lastModified();
+        Files.write(ontFile, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertTrue(ontFile.toFile().setLastModified(lastModified));
+        assertNull("Snapshot should be outdated",
+                OntologySnapshot.loadIfUpToDate(ontFile.toString()));
+        assertEquals(expectedRealIds, new OntologyTools().getAllRealOWLClassIds(ontFile.toString()));
+    }
+
+    /**
+     * Test the labels, relations and closures stored in {@link OntologySnapshot}s.
+     */
+    @Test
+    public void shouldSnapshotGraph() throws Exception {
+        OntologySnapshot snapshot = OntologySnapshot.create(this.copyOntology(GOFILE).toString());
+
+        assertEquals("Incorrect label", "test F", snapshot.getLabel("GO:6"));
+        assertEquals("Incorrect ID for alt ID", "GO:2", snapshot.getClassId("GO:2_alt1"));
+        assertEquals("Incorrect alt IDs", new HashSet<>(Arrays.asList("GO:7_alt1")),
+                snapshot.getAltIds("GO:7"));
+        assertTrue("Incorrect obsolete status", snapshot.isObsolete("GO:8"));
+        assertFalse("Incorrect obsolete status", snapshot.isObsolete("GO:1"));
+
+        List<SnapshotEdge> edges = snapshot.getIsAPartOfOutgoingEdges("GO:4");
+        assertEquals("Incorrect edges", 1, edges.size());
+        assertEquals("Incorrect edge target", "GO:3", edges.get(0).getTargetId());
+        assertEquals("Incorrect edge type", RelationType.IS_A, edges.get(0).getRelationType());
+        assertNull("Incorrect GCI filler", edges.get(0).getGCIFillerId());
+        edges = snapshot.getIsAPartOfOutgoingEdges("GO:5");
+        assertEquals("Incorrect edges", 1, edges.size());
+        assertEquals("Incorrect edge target", "GO:4", edges.get(0).getTargetId());
+        assertEquals("Incorrect edge type", RelationType.PART_OF, edges.get(0).getRelationType());
+        //regulates relations are not considered
+        assertTrue("Incorrect edges", snapshot.getIsAPartOfOutgoingEdges("GO:7").isEmpty());
+
+        assertEquals("Incorrect ancestors",
+                new HashSet<>(Arrays.asList("GO:1", "GO:3", "GO:4", "GO:5")),
+                snapshot.getAncestorIds("GO:6"));
+        assertEquals("Incorrect is_a ancestors", new HashSet<>(Arrays.asList("GO:1")),
+                snapshot.getAncestorIdsThroughIsA("GO:6"));
+        assertEquals("Incorrect descendants",
+                new HashSet<>(Arrays.asList("GO:4", "GO:5", "GO:6")),
+                snapshot.getDescendantIds("GO:3"));
+        assertEquals("Incorrect is_a descendants", new HashSet<>(Arrays.asList("GO:4")),
+                snapshot.getDescendantIdsThroughIsA("GO:3"));
+        assertTrue("Incorrect descendants", snapshot.getDescendantIds("GO:6").isEmpty());
+        assertTrue("Unknown class should have no ancestors",
+                snapshot.getAncestorIds("GO:100").isEmpty());
+    }
+
+    /**
+     * Test the xrefs and subsets stored in {@link OntologySnapshot}s.
+     */
+    @Test
+    public void shouldSnapshotXRefsAndSubsets() throws Exception {
+        Path ontFile = this.copyOntology("/ontologies/xRefMappings.obo");
+        OntologySnapshot snapshot = OntologySnapshot.create(ontFile.toString());
+        Map<String, Set<String>> expectedMappings =
+                new OntologyUtils(ontFile.toString()).getXRefMappings();
+        assertEquals("Incorrect XRef mappings", expectedMappings, snapshot.getXRefMappings());
+        assertEquals("Incorrect XRef mapping", new HashSet<>(Arrays.asList("ID:4", "ID:5")),
+                snapshot.getXRefMapping("ID_XREF_OBSOLETE:6"));
+        assertEquals("Incorrect XRef mapping", new HashSet<>(Arrays.asList("ID:1")),
+                snapshot.getXRefMapping("ID_XREF_OBSOLETE:1"));
+        assertNull("Incorrect XRef mapping", snapshot.getXRefMapping("ABSENT_ID:1"));
+
+        snapshot = OntologySnapshot.create(
+                this.copyOntology("/ontologies/nonInformativeSubset.obo").toString());
+        assertEquals("Incorrect subsets",
+                new HashSet<>(Arrays.asList("non_informative", "uberon_slim")),
+                snapshot.getSubsets("UBERON:0000003"));
+        assertTrue("Incorrect subsets", snapshot.getSubsets("UBERON:0000002").isEmpty());
+    }
+
+    /**
+     * Copy an ontology from the test resources, to not write snapshots in them.
+     *
+     * @param resource  A {@code String} that is the path from the classpath to the ontology.
+     * @return          The {@code Path} to the copy of the ontology.
+     */
+    private Path copyOntology(String resource) throws Exception {
+        Path ontFile = testFolder.getRoot().toPath().resolve(Paths.get(resource).getFileName());
+        Files.copy(Paths.get(this.getClass().getResource(resource).toURI()), ontFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        return ontFile;
+    }
+}
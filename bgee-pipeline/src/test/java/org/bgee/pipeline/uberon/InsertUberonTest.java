@@ -6,6 +6,7 @@ import static org.mockito.Mockito.verify;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -21,9 +22,11 @@ import org.bgee.model.dao.api.exception.DAOException;
 import org.bgee.model.dao.api.ontologycommon.RelationDAO.RelationTO;
 import org.bgee.pipeline.TestAncestor;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
+import org.bgee.pipeline.ontologycommon.OntologyUtils.PipelineRelationTO;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
@@ -155,30 +158,7 @@ public class InsertUberonTest extends TestAncestor {
         OntologyUtils utils = new OntologyUtils(wrapper);
         
         //instantiate an Uberon with custom taxon constraints and mock manager
-        Map<String, Set<Integer>> taxonConstraints = new HashMap<String, Set<Integer>>();
-        taxonConstraints.put("ID:1", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:2", new HashSet<Integer>(Arrays.asList(7955)));
-        taxonConstraints.put("ID:3", new HashSet<Integer>(Arrays.asList(7955)));
-        //obsolete class, should not be considered
-        taxonConstraints.put("ID:4", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        //ID:5 is a taxon equivalent to ID:1, should not be seen
-        taxonConstraints.put("ID:5", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        
-        taxonConstraints.put("ID:6", new HashSet<Integer>(Arrays.asList(9606, 10090)));
-        taxonConstraints.put("ID:7", new HashSet<Integer>(Arrays.asList(9606, 10090)));
-
-        taxonConstraints.put("ID:8", new HashSet<Integer>(Arrays.asList(7955, 9606)));
-        taxonConstraints.put("ID:9", new HashSet<Integer>(Arrays.asList(9606, 10090)));
-
-        taxonConstraints.put("ID:10", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:11", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:12", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:13", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:14", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:15", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:16", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:17", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
-        taxonConstraints.put("ID:18", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        Map<String, Set<Integer>> taxonConstraints = getAnatTaxonConstraints();
         
         Uberon uberon = new Uberon(utils, taxonConstraints);
         uberon.setToIgnoreSubgraphRootIds(Arrays.asList("NCBITaxon:1"));
@@ -476,4 +456,73 @@ public class InsertUberonTest extends TestAncestor {
         assertEquals("Incorrect relation taxon constraints generated: " + 
                 relTaxonConstraintTOsArg, 10, restrainedOtherTaxonConstraints);
     }
+
+    /**
+     * Test {@link InsertUberon#generateRelationTOsFirstPass(Map, Map, Uberon, Set, Collection, int)}: 
+     * the relations generated concurrently should be the same as the relations 
+     * generated sequentially.
+     */
+    @Test
+    public void shouldGenerateSameRelationsConcurrently() throws OBOFormatParserException, 
+    OWLOntologyCreationException, IOException {
+        OWLOntology ont = OntologyUtils.loadOntology(InsertUberonTest.class.
+                getResource("/ontologies/insertAnatOntTest.obo").getFile());
+        OWLGraphWrapper wrapper = new OWLGraphWrapper(ont);
+        Uberon uberon = new Uberon(new OntologyUtils(wrapper), getAnatTaxonConstraints());
+        //classes to ignore, as in InsertUberon#insertAnatOntologyIntoDataSource
+        OWLClass rootToIgnore = wrapper.getOWLClassByIdentifier("NCBITaxon:1", true);
+        Set<OWLClass> classesToIgnore = new HashSet<>();
+        classesToIgnore.add(rootToIgnore);
+        classesToIgnore.addAll(wrapper.getDescendantsThroughIsA(rootToIgnore));
+        Collection<Integer> speciesIds = Arrays.asList(9606, 10090);
+        
+        Map<PipelineRelationTO<String>, Set<Integer>> expectedDirectTOs = new HashMap<>();
+        Map<PipelineRelationTO<String>, Set<Integer>> expectedIndirectTOs = new HashMap<>();
+        InsertUberon.generateRelationTOsFirstPass(expectedDirectTOs, expectedIndirectTOs, 
+                uberon, classesToIgnore, speciesIds, 1);
+        assertFalse("Incorrect test setup, no relation generated", 
+                expectedDirectTOs.isEmpty() || expectedIndirectTOs.isEmpty());
+        
+        Map<PipelineRelationTO<String>, Set<Integer>> directTOs = new HashMap<>();
+        Map<PipelineRelationTO<String>, Set<Integer>> indirectTOs = new HashMap<>();
+        InsertUberon.generateRelationTOsFirstPass(directTOs, indirectTOs, 
+                uberon, classesToIgnore, speciesIds, 3);
+        assertEquals("Incorrect direct relations generated concurrently", 
+                expectedDirectTOs, directTOs);
+        assertEquals("Incorrect indirect relations generated concurrently", 
+                expectedIndirectTOs, indirectTOs);
+    }
+
+    /**
+     * @return  A {@code Map} where keys are the IDs of the classes of the ontology 
+     *          {@code /ontologies/insertAnatOntTest.obo}, the associated value being 
+     *          the IDs of the species they exist in.
+     */
+    private static Map<String, Set<Integer>> getAnatTaxonConstraints() {
+        Map<String, Set<Integer>> taxonConstraints = new HashMap<String, Set<Integer>>();
+        taxonConstraints.put("ID:1", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:2", new HashSet<Integer>(Arrays.asList(7955)));
+        taxonConstraints.put("ID:3", new HashSet<Integer>(Arrays.asList(7955)));
+        //obsolete class, should not be considered
+        taxonConstraints.put("ID:4", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        //ID:5 is a taxon equivalent to ID:1, should not be seen
+        taxonConstraints.put("ID:5", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        
+        taxonConstraints.put("ID:6", new HashSet<Integer>(Arrays.asList(9606, 10090)));
+        taxonConstraints.put("ID:7", new HashSet<Integer>(Arrays.asList(9606, 10090)));
+
+        taxonConstraints.put("ID:8", new HashSet<Integer>(Arrays.asList(7955, 9606)));
+        taxonConstraints.put("ID:9", new HashSet<Integer>(Arrays.asList(9606, 10090)));
+
+        taxonConstraints.put("ID:10", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:11", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:12", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:13", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:14", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:15", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:16", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:17", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        taxonConstraints.put("ID:18", new HashSet<Integer>(Arrays.asList(7955, 9606, 10090)));
+        return taxonConstraints;
+    }
 }
@@ -261,6 +261,72 @@ public class TaxonConstraintsTest extends TestAncestor {
         this.checkConstraints(constraints);
     }
     
+    /**
+     * Test that {@link TaxonConstraints#generateTaxonConstraints(Map, Set, String)} 
+     * generates the same taxon constraints when taxa are examined concurrently 
+     * (see {@link TaxonConstraints#setMaxConcurrentReasonerCount(int)}) as when they are 
+     * examined one at a time, and that checkpoints are reused.
+     */
+    @Test
+    public void shouldGenerateSameTaxonConstraintsConcurrently() throws IOException, 
+        UnknownOWLOntologyException, OWLOntologyCreationException, 
+        OBOFormatParserException, IllegalArgumentException, OWLOntologyStorageException {
+        
+        Map<Integer, List<Integer>> taxIdsWithPrefiltering = 
+                TAXONIDS.stream().collect(Collectors.toMap(Function.identity(), ArrayList::new, 
+                (u, v) -> {throw new IllegalStateException("Duplicate key: " + u);}, 
+                LinkedHashMap::new));
+        
+        TaxonConstraints sequential = new TaxonConstraints(UBERONFILE, TAXONTFILE);
+        assertEquals("Incorrect default number of taxa examined concurrently", 
+                TaxonConstraints.estimateMaxConcurrentReasonerCount(
+                        Runtime.getRuntime().maxMemory(), 
+                        Runtime.getRuntime().availableProcessors()), 
+                sequential.getMaxConcurrentReasonerCount());
+        sequential.setMaxConcurrentReasonerCount(1);
+        Map<String, Set<Integer>> expectedConstraints = sequential.generateTaxonConstraints(
+                taxIdsWithPrefiltering, UBERON_IDS, null);
+        
+        TaxonConstraints concurrent = new TaxonConstraints(UBERONFILE, TAXONTFILE);
+        concurrent.setMaxConcurrentReasonerCount(3);
+        concurrent.setCheckpointDir(testFolder.newFolder("checkpoints").getPath());
+        Map<String, Set<Integer>> constraints = concurrent.generateTaxonConstraints(
+                taxIdsWithPrefiltering, UBERON_IDS, null);
+        assertEquals("Incorrect taxon constraints generated concurrently", 
+                expectedConstraints, constraints);
+        this.checkConstraints(constraints);
+        
+        //all taxa should now be retrieved from the checkpoints, no taxon is examined
+        List<SpeciesSubsetterUtil> spiedSubsetters = new ArrayList<SpeciesSubsetterUtil>();
+        TaxonConstraints resumed = new TaxonConstraints(
+                new OWLGraphWrapper(OntologyUtils.loadOntology(UBERONFILE)), 
+                new OWLGraphWrapper(OntologyUtils.loadOntology(TAXONTFILE)), 
+                e -> {
+                    SpeciesSubsetterUtil spiedSubsetter = spy(new SpeciesSubsetterUtil(e));
+                    spiedSubsetters.add(spiedSubsetter);
+                    return spiedSubsetter;
+                });
+        resumed.setCheckpointDir(concurrent.getCheckpointDir());
+        assertEquals("Incorrect taxon constraints retrieved from checkpoints", 
+                expectedConstraints, resumed.generateTaxonConstraints(
+                        taxIdsWithPrefiltering, UBERON_IDS, null));
+        assertEquals("No taxon should have been examined", 0, spiedSubsetters.size());
+    }
+    
+    /**
+     * Test {@link TaxonConstraints#estimateMaxConcurrentReasonerCount(long, int)}.
+     */
+    @Test
+    public void shouldEstimateMaxConcurrentReasonerCount() {
+        long gb = 1024L * 1024 * 1024;
+        assertEquals("At least one taxon should be examined", 1, 
+                TaxonConstraints.estimateMaxConcurrentReasonerCount(2 * gb, 8));
+        assertEquals("Incorrect estimate limited by memory", 3, 
+                TaxonConstraints.estimateMaxConcurrentReasonerCount(16 * gb, 8));
+        assertEquals("Incorrect estimate limited by processors", 8, 
+                TaxonConstraints.estimateMaxConcurrentReasonerCount(128 * gb, 8));
+    }
+    
     /**
      * Test that {@link TaxonConstraints#generateTaxonConstraints(String, Map, String, Map, String, String)} 
      * correctly launch generation of taxon constraints.
@@ -1,8 +1,11 @@
 package org.bgee.pipeline.uberon;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.BufferedReader;
@@ -11,14 +14,19 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.pipeline.CommandRunner;
 import org.bgee.pipeline.TestAncestor;
 import org.bgee.pipeline.ontologycommon.OntologyUtils;
+import org.junit.After;
 import org.junit.Test;
 import org.semanticweb.owlapi.model.OWLClass;
 
@@ -40,6 +48,35 @@ public class UberonSocketToolTest extends TestAncestor {
     protected Logger getLogger() {
         return log;
     }
+
+    /**
+     * A {@code List} of the {@code UberonSocketTool}s launched by a test,
+     * to stop them after the test.
+     */
+    private final List<UberonSocketTool> socketTools =
+            Collections.synchronizedList(new ArrayList<>());
+    /**
+     * A {@code List} of the {@code Thread}s running the {@code UberonSocketTool}s
+     * launched by a test, to wait for their termination after the test.
+     */
+    private final List<Thread> serverThreads = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Stop the {@code UberonSocketTool}s launched by a test, and wait for their
+     * {@code Thread}s to terminate.
+     */
+    @After
+    public void stopServers() throws IOException, InterruptedException {
+        for (UberonSocketTool tool: this.socketTools) {
+            tool.stopListening();
+        }
+        for (Thread thread: this.serverThreads) {
+            thread.join(10000);
+            assertFalse("Server still listening", thread.isAlive());
+        }
+        this.socketTools.clear();
+        this.serverThreads.clear();
+    }
     
     /**
      * Test the method {@link UberonSocketTool#UberonSocketTool(UberonDevStage, int, ServerSocket)}
@@ -75,6 +112,7 @@ public class UberonSocketToolTest extends TestAncestor {
                     getLogger().debug("ServerSocket launched: {}", server);
                     getLogger().debug("Trying to instantiate UberonSocketTool...");
                     UberonSocketTool tool = new UberonSocketTool(mockUberon, 0, server);
+                    socketTools.add(tool);
                     this.socketTool = tool; //to be sure it is initialized before being set
                     this.socketTool.startListening();
                     getLogger().debug("ServerSocket launched: {}", this.socketTool);
@@ -93,6 +131,7 @@ public class UberonSocketToolTest extends TestAncestor {
         }
 
         ThreadTest test = new ThreadTest();
+        this.serverThreads.add(test);
         try {
             getLogger().debug("Launching second thread");
             test.start();
@@ -171,6 +210,7 @@ public class UberonSocketToolTest extends TestAncestor {
                 try {
                     server = new ServerSocket(port);
                     UberonSocketTool tool = new UberonSocketTool(uberon, server);
+                    socketTools.add(tool);
                     this.socketTool = tool; //to be sure it is initialized before being set
                     this.socketTool.startListening();
                 } catch (Exception e) {
@@ -188,6 +228,7 @@ public class UberonSocketToolTest extends TestAncestor {
         }
 
         ThreadTest test = new ThreadTest();
+        this.serverThreads.add(test);
         try {
             getLogger().debug("Launching second thread");
             test.start();
@@ -229,4 +270,75 @@ public class UberonSocketToolTest extends TestAncestor {
             Thread.currentThread().interrupt();
         } 
     }
+
+    /**
+     * Test batches of queries and concurrent clients for 
+     * {@link UberonSocketTool#UberonSocketTool(UberonCommon, ServerSocket)}, 
+     * and the memoization of responses.
+     */
+    @Test
+    public void testSocketBatchQueries() throws Exception {
+        final int port = 15558;
+        final String host = "127.0.0.1";
+        final UberonCommon uberon = mock(UberonCommon.class);
+        OWLClass mockClass1 = mock(OWLClass.class);
+        OWLClass mockClass2 = mock(OWLClass.class);
+        when(uberon.getOWLClasses(eq("ID:0"), eq(false))).thenReturn(
+                new HashSet<OWLClass>(Arrays.asList(mockClass1)));
+        when(uberon.getOWLClasses(eq("ID:2"), eq(false))).thenReturn(
+                new HashSet<OWLClass>(Arrays.asList(mockClass2)));
+        OWLGraphWrapper mockWrapper = mock(OWLGraphWrapper.class);
+        OntologyUtils mockUtils = mock(OntologyUtils.class);
+        when(uberon.getOntologyUtils()).thenReturn(mockUtils);
+        when(mockUtils.getWrapper()).thenReturn(mockWrapper);
+        when(mockWrapper.getIdentifier(eq(mockClass1))).thenReturn("ID:1");
+        when(mockWrapper.getIdentifier(eq(mockClass2))).thenReturn("ID:3");
+
+        final UberonSocketTool tool = new UberonSocketTool(uberon, new ServerSocket(port));
+        this.socketTools.add(tool);
+        final AtomicReference<Exception> exceptionThrown = new AtomicReference<>();
+        Thread serverThread = new Thread(() -> {
+            try {
+                tool.startListening();
+            } catch (Exception e) {
+                exceptionThrown.set(e);
+            }
+        });
+        this.serverThreads.add(serverThread);
+        serverThread.start();
+
+        //two clients connected at the same time
+        try (Socket socket1 = new Socket(host, port);
+                PrintWriter out1 = new PrintWriter(socket1.getOutputStream(), true);
+                BufferedReader in1 = new BufferedReader(
+                        new InputStreamReader(socket1.getInputStream()));
+                Socket socket2 = new Socket(host, port);
+                PrintWriter out2 = new PrintWriter(socket2.getOutputStream(), true);
+                BufferedReader in2 = new BufferedReader(
+                        new InputStreamReader(socket2.getInputStream()));) {
+
+            out1.println(UberonSocketTool.BATCH_COMMAND 
+                    + CommandRunner.SOCKET_RESPONSE_SEPARATOR + "3");
+            out1.println("ID:0");
+            out1.println("ID:2");
+            out1.println("ID:0");
+            out2.println("ID:2");
+            assertEquals("Incorrect value returned through socket", "ID:3", in2.readLine());
+            assertEquals("Incorrect value returned through socket", "ID:1", in1.readLine());
+            assertEquals("Incorrect value returned through socket", "ID:3", in1.readLine());
+            assertEquals("Incorrect value returned through socket", "ID:1", in1.readLine());
+            out2.println("quit");
+            assertEquals("Bye.", in2.readLine());
+            out1.println(UberonSocketTool.SHUTDOWN_COMMAND);
+            assertEquals("Bye.", in1.readLine());
+        }
+        serverThread.join(10000);
+        assertFalse("Server still listening", serverThread.isAlive());
+        if (exceptionThrown.get() != null) {
+            throw exceptionThrown.get();
+        }
+        //responses should have been memoized
+        verify(uberon, times(1)).getOWLClasses(eq("ID:0"), eq(false));
+        verify(uberon, times(1)).getOWLClasses(eq("ID:2"), eq(false));
+    }
 }
@@ -1,7 +1,14 @@
 package org.bgee.controller;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.model.expressiondata.call.Call.ExpressionCall;
@@ -209,6 +216,43 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
      */
     public final static String REQUEST_PARAMETERS_STORAGE_DIRECTORY_DEFAULT = 
             System.getProperty("java.io.tmpdir");
+    /**
+     * A {@code String} that is the key to access to the System property that is read at the 
+     * initialization of {@code BgeeProperties} to set the type of storage of request parameters.
+     * 
+     * @see #REQUEST_PARAMETERS_STORAGE_TYPE_DEFAULT
+     * @see #getRequestParametersStorageType()
+     */
+    public final static String REQUEST_PARAMETERS_STORAGE_TYPE_KEY = 
+            "org.bgee.webapp.requestParametersStorageType";
+    /**
+     * A {@code String} that is the default value of the type of storage of request parameters:
+     * each query string is stored in its own file, see
+     * {@link org.bgee.controller.utils.FileRequestParametersStore}.
+     * 
+     * @see #REQUEST_PARAMETERS_STORAGE_TYPE_KEY
+     * @see #getRequestParametersStorageType()
+     */
+    public final static String REQUEST_PARAMETERS_STORAGE_TYPE_DEFAULT = 
+            org.bgee.controller.utils.FileRequestParametersStore.STORAGE_TYPE;
+    /**
+     * A {@code String} that is the key to access to the System property that is read at the 
+     * initialization of {@code BgeeProperties} to set the maximum number of query strings
+     * holding storable parameters kept in memory.
+     * 
+     * @see #REQUEST_PARAMETERS_CACHE_SIZE_DEFAULT
+     * @see #getRequestParametersCacheSize()
+     */
+    public final static String REQUEST_PARAMETERS_CACHE_SIZE_KEY = 
+            "org.bgee.webapp.requestParametersCacheSize";
+    /**
+     * An {@code int} that is the default value of the maximum number of query strings
+     * holding storable parameters kept in memory.
+     * 
+     * @see #REQUEST_PARAMETERS_CACHE_SIZE_KEY
+     * @see #getRequestParametersCacheSize()
+     */
+    public final static int REQUEST_PARAMETERS_CACHE_SIZE_DEFAULT = 10000;
 
     /**
      * A {@code String} that is the key to access to the System property that is read at the 
@@ -565,6 +609,110 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
      */
     public final static boolean INITIALIZE_COMMANDDATA_CACHES_ON_STARTUP_DEFAULT = false;
 
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * the {@code int} that is the maximum time in seconds allowed to process a request, 
+     * before the queries to the data source are cancelled and an error is returned. 
+     * If 0, no deadline is applied. Can be overridden for specific pages and actions 
+     * with the property {@link #REQUEST_TIMEOUTS_PER_PAGE_KEY}.
+     * 
+     * @see #REQUEST_TIMEOUT_DEFAULT
+     * @see #getRequestTimeout(String, String)
+     */
+    public final static String REQUEST_TIMEOUT_KEY = "org.bgee.webapp.requestTimeout";
+    /**
+     * The default {@code int} value for the property {@link #REQUEST_TIMEOUT_KEY}.
+     */
+    public final static int REQUEST_TIMEOUT_DEFAULT = 0;
+
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * the maximum times in seconds allowed to process requests to specific pages 
+     * and actions, overriding the value of the property {@link #REQUEST_TIMEOUT_KEY}. 
+     * The format is a comma-separated list of {@code page=seconds} 
+     * or {@code page/action=seconds}, for instance, {@code gene=20,data/experiments=60}.
+     * 
+     * @see #REQUEST_TIMEOUTS_PER_PAGE_DEFAULT
+     * @see #getRequestTimeout(String, String)
+     */
+    public final static String REQUEST_TIMEOUTS_PER_PAGE_KEY = "org.bgee.webapp.requestTimeoutsPerPage";
+    /**
+     * The default value for the property {@link #REQUEST_TIMEOUTS_PER_PAGE_KEY}.
+     */
+    public final static String REQUEST_TIMEOUTS_PER_PAGE_DEFAULT = null;
+
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * the name of the budget of connections to the data source used to process requests 
+     * (see {@link org.bgee.model.ServiceFactory#setConnectionBudget(String)}). Budgets 
+     * are defined in the DAO parameters, for instance, with the property 
+     * {@code bgee.dao.jdbc.connectionBudgets} for the MySQL DAO. If blank, no budget is used. 
+     * Can be overridden for specific pages and actions with the property 
+     * {@link #CONNECTION_BUDGETS_PER_PAGE_KEY}.
+     * 
+     * @see #CONNECTION_BUDGET_DEFAULT
+     * @see #getConnectionBudget(String, String)
+     */
+    public final static String CONNECTION_BUDGET_KEY = "org.bgee.webapp.connectionBudget";
+    /**
+     * The default value for the property {@link #CONNECTION_BUDGET_KEY}.
+     */
+    public final static String CONNECTION_BUDGET_DEFAULT = null;
+
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * the names of the budgets of connections used to process requests to specific pages 
+     * and actions, overriding the value of the property {@link #CONNECTION_BUDGET_KEY}. 
+     * The format is a comma-separated list of {@code page=budget} 
+     * or {@code page/action=budget}, for instance, 
+     * {@code data=dataApi,r_package=rPackage,top_anat=topAnat}. The TopAnat analyses 
+     * run in background use the budget of the request that launched them.
+     * 
+     * @see #CONNECTION_BUDGETS_PER_PAGE_DEFAULT
+     * @see #getConnectionBudget(String, String)
+     */
+    public final static String CONNECTION_BUDGETS_PER_PAGE_KEY = 
+            "org.bgee.webapp.connectionBudgetsPerPage";
+    /**
+     * The default value for the property {@link #CONNECTION_BUDGETS_PER_PAGE_KEY}.
+     */
+    public final static String CONNECTION_BUDGETS_PER_PAGE_DEFAULT = null;
+
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * the token to provide to access the statistics about the queries to the database 
+     * (see {@link org.bgee.controller.servletutils.QueryMetricsServlet QueryMetricsServlet}), 
+     * in the header {@code Authorization: Bearer <token>}. If blank, no token is accepted. 
+     * If neither this property nor the property {@link #DAO_METRICS_ALLOWED_ADDRESSES_KEY} 
+     * are defined, the statistics cannot be accessed.
+     * 
+     * @see #DAO_METRICS_TOKEN_DEFAULT
+     * @see #getDaoMetricsToken()
+     */
+    public final static String DAO_METRICS_TOKEN_KEY = "org.bgee.webapp.daoMetricsToken";
+    /**
+     * The default value for the property {@link #DAO_METRICS_TOKEN_KEY}.
+     */
+    public final static String DAO_METRICS_TOKEN_DEFAULT = null;
+
+    /**
+     * A {@code String} that is the key to access to the property containing 
+     * a comma-separated list of IP addresses allowed to access the statistics about 
+     * the queries to the database without token (see {@link #DAO_METRICS_TOKEN_KEY}). 
+     * The addresses are compared to the address of the client as seen by the servlet 
+     * container: behind a reverse proxy, it is the address of the proxy, unless 
+     * the container is configured to use the address forwarded by the proxy. 
+     * 
+     * @see #DAO_METRICS_ALLOWED_ADDRESSES_DEFAULT
+     * @see #getDaoMetricsAllowedAddresses()
+     */
+    public final static String DAO_METRICS_ALLOWED_ADDRESSES_KEY = 
+            "org.bgee.webapp.daoMetricsAllowedAddresses";
+    /**
+     * The default value for the property {@link #DAO_METRICS_ALLOWED_ADDRESSES_KEY}.
+     */
+    public final static String DAO_METRICS_ALLOWED_ADDRESSES_DEFAULT = null;
+
     /**
      * @return  An instance of {@code BgeeProperties} with values based on the System properties
      *          or the properties file present in the classpath or the default properties if 
@@ -624,6 +772,14 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
      * from previous large queries are stored. 
      */
     private final String requestParametersStorageDirectory;
+    /**
+     * @see #getRequestParametersStorageType()
+     */
+    private final String requestParametersStorageType;
+    /**
+     * @see #getRequestParametersCacheSize()
+     */
+    private final int requestParametersCacheSize;
 
     /**
      * A {@code String} that defines the root of URLs to Bgee, 
@@ -801,6 +957,31 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
      */
     private final boolean initializeCommandDataCachesOnStartup;
 
+    /**
+     * @see #getRequestTimeout(String, String)
+     */
+    private final int requestTimeout;
+    /**
+     * @see #getRequestTimeout(String, String)
+     */
+    private final Map<String, Integer> requestTimeoutsPerPage;
+    /**
+     * @see #getConnectionBudget(String, String)
+     */
+    private final String connectionBudget;
+    /**
+     * @see #getConnectionBudget(String, String)
+     */
+    private final Map<String, String> connectionBudgetsPerPage;
+    /**
+     * @see #getDaoMetricsToken()
+     */
+    private final String daoMetricsToken;
+    /**
+     * @see #getDaoMetricsAllowedAddresses()
+     */
+    private final Set<String> daoMetricsAllowedAddresses;
+
     /**
      * Private constructor, can be only called through the use of one of the
      * {@code getBgeeProperties} method, the only way for the user to obtain an instance of this
@@ -830,6 +1011,11 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
         requestParametersStorageDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
                 REQUEST_PARAMETERS_STORAGE_DIRECTORY_KEY,  
                 REQUEST_PARAMETERS_STORAGE_DIRECTORY_DEFAULT);
+        requestParametersStorageType = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
+                REQUEST_PARAMETERS_STORAGE_TYPE_KEY,  
+                REQUEST_PARAMETERS_STORAGE_TYPE_DEFAULT);
+        requestParametersCacheSize = getIntegerOption(prop, SYS_PROPS, FILE_PROPS, 
+                REQUEST_PARAMETERS_CACHE_SIZE_KEY, REQUEST_PARAMETERS_CACHE_SIZE_DEFAULT);
         bgeeRootDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS, 
                 BGEE_ROOT_DIRECTORY_KEY, BGEE_ROOT_DIRECTORY_DEFAULT);
         bgeeStableRootDirectory = getStringOption(prop, SYS_PROPS, FILE_PROPS,
@@ -887,6 +1073,26 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
                 GENE_SCORE_CLUSTERING_THRESHOLD_KEY, GENE_SCORE_CLUSTERING_THRESHOLD_DEFAULT);
         initializeCommandDataCachesOnStartup = getBooleanOption(prop, SYS_PROPS, FILE_PROPS,
                 INITIALIZE_COMMANDDATA_CACHES_ON_STARTUP_KEY, INITIALIZE_COMMANDDATA_CACHES_ON_STARTUP_DEFAULT);
+        requestTimeout = getIntegerOption(prop, SYS_PROPS, FILE_PROPS,
+                REQUEST_TIMEOUT_KEY, REQUEST_TIMEOUT_DEFAULT);
+        requestTimeoutsPerPage = Collections.unmodifiableMap(parseRequestTimeoutsPerPage(
+                getStringOption(prop, SYS_PROPS, FILE_PROPS,
+                        REQUEST_TIMEOUTS_PER_PAGE_KEY, REQUEST_TIMEOUTS_PER_PAGE_DEFAULT)));
+        connectionBudget = getStringOption(prop, SYS_PROPS, FILE_PROPS,
+                CONNECTION_BUDGET_KEY, CONNECTION_BUDGET_DEFAULT);
+        connectionBudgetsPerPage = Collections.unmodifiableMap(parseConnectionBudgetsPerPage(
+                getStringOption(prop, SYS_PROPS, FILE_PROPS,
+                        CONNECTION_BUDGETS_PER_PAGE_KEY, CONNECTION_BUDGETS_PER_PAGE_DEFAULT)));
+        daoMetricsToken = getStringOption(prop, SYS_PROPS, FILE_PROPS,
+                DAO_METRICS_TOKEN_KEY, DAO_METRICS_TOKEN_DEFAULT);
+        String allowedAddresses = getStringOption(prop, SYS_PROPS, FILE_PROPS,
+                DAO_METRICS_ALLOWED_ADDRESSES_KEY, DAO_METRICS_ALLOWED_ADDRESSES_DEFAULT);
+        daoMetricsAllowedAddresses = StringUtils.isBlank(allowedAddresses)? 
+                Collections.emptySet(): 
+                Collections.unmodifiableSet(Arrays.stream(allowedAddresses.split(","))
+                        .map(String::trim)
+                        .filter(StringUtils::isNotBlank)
+                        .collect(Collectors.toSet()));
         log.debug("Initialization done.");
         log.traceExit();
     }
@@ -935,6 +1141,23 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
     public String getRequestParametersStorageDirectory() {
         return requestParametersStorageDirectory;
     }
+    /**
+     * @return  A {@code String} that defines how query strings holding storable parameters
+     *          are stored: {@code segmented} to store them in segment files
+     *          (see {@link org.bgee.controller.utils.SegmentedRequestParametersStore}),
+     *          {@code file} to store each of them in a file
+     *          (see {@link org.bgee.controller.utils.FileRequestParametersStore}).
+     */
+    public String getRequestParametersStorageType() {
+        return requestParametersStorageType;
+    }
+    /**
+     * @return  An {@code int} that is the maximum number of query strings holding
+     *          storable parameters kept in memory.
+     */
+    public int getRequestParametersCacheSize() {
+        return requestParametersCacheSize;
+    }
 
     /**
      * @return  A {@code String} that defines the root of URLs to Bgee, for instance, 
@@ -1207,4 +1430,151 @@ public class BgeeProperties extends org.bgee.model.BgeeProperties
     public boolean isInitializeCommandDataCachesOnStartup() {
         return initializeCommandDataCachesOnStartup;
     }
+
+    /**
+     * Parses the value of the property {@link #REQUEST_TIMEOUTS_PER_PAGE_KEY}.
+     * 
+     * @param value A {@code String} that is the value of the property.
+     * @return      A {@code Map} where keys are {@code String}s that are a page, 
+     *              or a page and an action separated by '/', the associated value being 
+     *              an {@code Integer} that is the timeout in seconds.
+     * @throws IllegalArgumentException If {@code value} is not correctly formatted.
+     */
+    private static Map<String, Integer> parseRequestTimeoutsPerPage(String value)
+            throws IllegalArgumentException {
+        log.traceEntry("{}", value);
+        Map<String, Integer> timeouts = new HashMap<>();
+        if (StringUtils.isBlank(value)) {
+            return log.traceExit(timeouts);
+        }
+        for (String timeout: value.split(",")) {
+            if (StringUtils.isBlank(timeout)) {
+                continue;
+            }
+            String[] keyValue = timeout.split("=");
+            if (keyValue.length != 2 || StringUtils.isBlank(keyValue[0])) {
+                throw log.throwing(new IllegalArgumentException("Incorrect format for property "
+                        + REQUEST_TIMEOUTS_PER_PAGE_KEY + ": " + value));
+            }
+            try {
+                timeouts.put(keyValue[0].trim(), Integer.parseInt(keyValue[1].trim()));
+            } catch (NumberFormatException e) {
+                throw log.throwing(new IllegalArgumentException("Incorrect timeout for property "
+                        + REQUEST_TIMEOUTS_PER_PAGE_KEY + ": " + value, e));
+            }
+        }
+        return log.traceExit(timeouts);
+    }
+
+    /**
+     * Gets the maximum time in seconds allowed to process a request to {@code page} 
+     * with {@code action}. The value defined for the page and action 
+     * in the property {@link #REQUEST_TIMEOUTS_PER_PAGE_KEY} is used first, 
+     * otherwise the value defined for the page, otherwise the value of the property 
+     * {@link #REQUEST_TIMEOUT_KEY}.
+     * 
+     * @param page      A {@code String} that is the page requested. Can be {@code null}.
+     * @param action    A {@code String} that is the action requested. Can be {@code null}.
+     * @return          An {@code int} that is the maximum time in seconds allowed 
+     *                  to process the request. If 0, no deadline should be applied.
+     * @see #REQUEST_TIMEOUT_KEY
+     * @see #REQUEST_TIMEOUTS_PER_PAGE_KEY
+     */
+    public int getRequestTimeout(String page, String action) {
+        log.traceEntry("{}, {}", page, action);
+        if (page != null) {
+            Integer timeout = null;
+            if (action != null) {
+                timeout = requestTimeoutsPerPage.get(page + "/" + action);
+            }
+            if (timeout == null) {
+                timeout = requestTimeoutsPerPage.get(page);
+            }
+            if (timeout != null) {
+                return log.traceExit(timeout);
+            }
+        }
+        return log.traceExit(requestTimeout);
+    }
+
+    /**
+     * Parses the value of the property {@link #CONNECTION_BUDGETS_PER_PAGE_KEY}.
+     * 
+     * @param value A {@code String} that is the value of the property.
+     * @return      A {@code Map} where keys are {@code String}s that are a page, 
+     *              or a page and an action separated by '/', the associated value being 
+     *              a {@code String} that is the name of a budget of connections.
+     * @throws IllegalArgumentException If {@code value} is not correctly formatted.
+     */
+    private static Map<String, String> parseConnectionBudgetsPerPage(String value)
+            throws IllegalArgumentException {
+        log.traceEntry("{}", value);
+        Map<String, String> budgets = new HashMap<>();
+        if (StringUtils.isBlank(value)) {
+            return log.traceExit(budgets);
+        }
+        for (String budget: value.split(",")) {
+            if (StringUtils.isBlank(budget)) {
+                continue;
+            }
+            String[] keyValue = budget.split("=");
+            if (keyValue.length != 2 || StringUtils.isBlank(keyValue[0]) ||
+                    StringUtils.isBlank(keyValue[1])) {
+                throw log.throwing(new IllegalArgumentException("Incorrect format for property "
+                        + CONNECTION_BUDGETS_PER_PAGE_KEY + ": " + value));
+            }
+            budgets.put(keyValue[0].trim(), keyValue[1].trim());
+        }
+        return log.traceExit(budgets);
+    }
+
+    /**
+     * Gets the name of the budget of connections to the data source used to process 
+     * a request to {@code page} with {@code action}. The value defined for the page 
+     * and action in the property {@link #CONNECTION_BUDGETS_PER_PAGE_KEY} is used first, 
+     * otherwise the value defined for the page, otherwise the value of the property 
+     * {@link #CONNECTION_BUDGET_KEY}.
+     * 
+     * @param page      A {@code String} that is the page requested. Can be {@code null}.
+     * @param action    A {@code String} that is the action requested. Can be {@code null}.
+     * @return          A {@code String} that is the name of the budget of connections 
+     *                  to use. If {@code null} or blank, no budget should be used.
+     * @see #CONNECTION_BUDGET_KEY
+     * @see #CONNECTION_BUDGETS_PER_PAGE_KEY
+     */
+    public String getConnectionBudget(String page, String action) {
+        log.traceEntry("{}, {}", page, action);
+        if (page != null) {
+            String budget = null;
+            if (action != null) {
+                budget = connectionBudgetsPerPage.get(page + "/" + action);
+            }
+            if (budget == null) {
+                budget = connectionBudgetsPerPage.get(page);
+            }
+            if (budget != null) {
+                return log.traceExit(budget);
+            }
+        }
+        return log.traceExit(connectionBudget);
+    }
+
+    /**
+     * @return  A {@code String} that is the token to provide to access the statistics 
+     *          about the queries to the database. If {@code null} or blank, 
+     *          no token is accepted.
+     * @see #DAO_METRICS_TOKEN_KEY
+     */
+    public String getDaoMetricsToken() {
+        return daoMetricsToken;
+    }
+    /**
+     * @return  An unmodifiable {@code Set} of {@code String}s that are the IP addresses 
+     *          allowed to access the statistics about the queries to the database 
+     *          without token.
+     * @see #DAO_METRICS_ALLOWED_ADDRESSES_KEY
+     */
+    public Set<String> getDaoMetricsAllowedAddresses() {
+        return daoMetricsAllowedAddresses;
+    }
 }
@@ -76,6 +76,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -91,11 +92,19 @@ public class CommandData extends CommandParent {
 
     public static class ExpressionCallResponse {
 
-        private final List<ExpressionCall2> calls;
+        private final Stream<ExpressionCall2> calls;
         private final LinkedHashSet<ConditionParameter<?, ?>> condParams;
         private final EnumSet<DataType> requestedDataTypes;
 
-        public ExpressionCallResponse(List<ExpressionCall2> calls,
+        /**
+         * @param calls                 A {@code Stream} of {@code ExpressionCall2}s to send
+         *                              to the client. It can be lazily populated,
+         *                              to be consumed while the response is written.
+         * @param condParams            A {@code LinkedHashSet} of the requested
+         *                              {@code ConditionParameter}s.
+         * @param requestedDataTypes    An {@code EnumSet} of the requested {@code DataType}s.
+         */
+        public ExpressionCallResponse(Stream<ExpressionCall2> calls,
                 LinkedHashSet<ConditionParameter<?, ?>> condParams,
                 EnumSet<DataType> requestedDataTypes) {
             this.calls = calls;
@@ -103,7 +112,11 @@ public class CommandData extends CommandParent {
             this.requestedDataTypes = requestedDataTypes;
         }
 
-        public List<ExpressionCall2> getCalls() {
+        /**
+         * @return  A {@code Stream} of {@code ExpressionCall2}s to send to the client.
+         *          It can be consumed only once.
+         */
+        public Stream<ExpressionCall2> getCalls() {
             return calls;
         }
         public LinkedHashSet<ConditionParameter<?, ?>> getCondParams() {
@@ -630,6 +643,13 @@ public class CommandData extends CommandParent {
      * Value: 10,000.
      */
     private final static int LIMIT_MAX = 10000;
+    /**
+     * An {@code int} that is the maximum allowed number of expression calls
+     * to retrieve in one request. Above {@link #LIMIT_MAX}, results are not cached
+     * and are streamed to the client while they are retrieved, by pages of
+     * {@code ExpressionCallLoader.LIMIT_MAX} calls. Value: 1,000,000.
+     */
+    private final static int STREAMING_LIMIT_MAX = 1000000;
     /**
      * An {@code int} that is the default number of results
      * to retrieve in one request, for each requested data type independently.
@@ -909,9 +929,12 @@ public class CommandData extends CommandParent {
 
         log.debug("Action identified: {}", this.requestParameters.getAction());
         List<ColumnDescription> colDescriptions = null;
-        List<ExpressionCall2> calls = null;
+        Stream<ExpressionCall2> calls = null;
         Long count = null;
         ExpressionCallPostFilter postFilter = null;
+        //When calls are streamed, they are retrieved while the response is written,
+        //so the job must be released only after the display
+        Job streamingJob = null;
 
         URLParameters urlParameters = requestParameters.getUrlParametersInstance();
         //Condition parameters
@@ -990,21 +1013,33 @@ public class CommandData extends CommandParent {
                     postFilter = this.loadExprCallPostFilters(loaderToUse);
                 }
 
-                job.completeWithSuccess();
+                if (this.requestParameters.isGetResults() && this.isExprCallStreamingRequested()) {
+                    streamingJob = job;
+                } else {
+                    job.completeWithSuccess();
+                }
             } finally {
-                if (job != null) {
+                if (job != null && job != streamingJob) {
                     job.release();
                 }
             }
         }
-        if (this.requestParameters.isGetColumnDefinition()) {
-            colDescriptions = this.getExprCallColumnDescriptions(condParams);
+        try {
+            if (this.requestParameters.isGetColumnDefinition()) {
+                colDescriptions = this.getExprCallColumnDescriptions(condParams);
+            }
+            DataDisplay display = viewFactory.getDataDisplay();
+            log.debug("Count: {}", count);
+            display.displayExprCallPage(speciesList, formDetails, colDescriptions,
+                    new ExpressionCallResponse(calls, condParams, dataTypes), count, postFilter);
+            if (streamingJob != null) {
+                streamingJob.completeWithSuccess();
+            }
+        } finally {
+            if (streamingJob != null) {
+                streamingJob.release();
+            }
         }
-        DataDisplay display = viewFactory.getDataDisplay();
-        log.debug("Count: {}", count);
-        log.trace("Calls: {}", calls);
-        display.displayExprCallPage(speciesList, formDetails, colDescriptions,
-                new ExpressionCallResponse(calls, condParams, dataTypes), count, postFilter);
 
         log.traceExit();
     }
@@ -1643,6 +1678,11 @@ public class CommandData extends CommandParent {
             throw log.throwing(new IllegalStateException("Wrong null value for parameter action"));
         }
 
+        //Contrary to expression calls, raw data are not streamed above LIMIT_MAX:
+        //a RawDataContainer links calls to their assays and experiments, that are
+        //deduplicated over the whole page, and the containers are stored in the result cache.
+        //Pages are thus bounded by LIMIT_MAX, and only their serialization is streamed
+        //(see JsonHelper#toJson(java.util.LinkedHashMap, Appendable)).
         RawDataFilter sourceFilter = rawDataLoader.getRawDataProcessedFilter().getSourceFilter();
         return log.traceExit(dataTypes.stream()
                 .collect(Collectors.toMap(
@@ -1664,21 +1704,38 @@ public class CommandData extends CommandParent {
                         () -> new EnumMap<>(DataType.class))));
     }
 
-    private List<ExpressionCall2> loadExprCallResults(ExpressionCallLoader callLoader)
+    /**
+     * @return  A {@code boolean} that is {@code true} if the number of expression calls
+     *          requested is greater than {@link #LIMIT_MAX}, meaning that they must be
+     *          streamed to the client rather than loaded in memory.
+     */
+    private boolean isExprCallStreamingRequested() {
+        log.traceEntry();
+        return log.traceExit(this.requestParameters.getLimit() != null &&
+                this.requestParameters.getLimit() > LIMIT_MAX);
+    }
+
+    private Stream<ExpressionCall2> loadExprCallResults(ExpressionCallLoader callLoader)
             throws InvalidRequestException {
         log.traceEntry("{}", callLoader);
 
         Integer limit = this.requestParameters.getLimit() == null? DEFAULT_LIMIT:
             this.requestParameters.getLimit();
-        if (limit > LIMIT_MAX) {
+        if (limit > STREAMING_LIMIT_MAX) {
             throw log.throwing(new InvalidRequestException("It is not possible to request more than "
-                    + LIMIT_MAX + " results."));
+                    + STREAMING_LIMIT_MAX + " results."));
         }
         Long offset = this.requestParameters.getOffset() == null? 0:
             this.requestParameters.getOffset();
         if (offset != null && offset < 0) {
             throw log.throwing(new InvalidRequestException("Offset cannot be less than 0."));
         }
+        //Large requests are not cached and are loaded lazily, page by page,
+        //while the response is written
+        if (this.isExprCallStreamingRequested()) {
+            log.debug("Streaming {} results from offset {}", limit, offset);
+            return log.traceExit(callLoader.loadDataStream(offset, limit.longValue()));
+        }
         ExprCallResultCacheKey cacheKey = new ExprCallResultCacheKey(
                 callLoader.getProcessedFilter().getSourceFilter(),
                 offset, limit);
@@ -1689,7 +1746,7 @@ public class CommandData extends CommandParent {
                 cacheKey,
                 () -> callLoader.loadData(offset, limit),
                 COMPUTE_TIME_RESULT_CACHE_MS);
-        return log.traceExit(results);
+        return log.traceExit(results.stream());
     }
 
     private EnumMap<DataType, RawDataCountContainer> loadRawDataCounts(RawDataLoader rawDataLoader,
@@ -306,6 +306,10 @@ public class CommandGene extends CommandParent {
                 g -> g.getName(), Comparator.nullsLast(String::compareTo))
                 .thenComparing(g -> g.getGeneId());
 
+        //The genes are sorted by name, so they cannot be streamed from the data source
+        //by pages of Bgee gene IDs: the list is held in memory, but it is bounded by
+        //the number of genes of one species, and it is sent to the client by chunks
+        //(see JsonHelper#toJson(java.util.LinkedHashMap, Appendable)) while it is serialized.
         List<Gene> genes = null;
         try {
             genes = geneService.loadGenes(filter)
@@ -459,6 +463,9 @@ public class CommandGene extends CommandParent {
         if (speciesId == null || speciesId < 1) {
             throw log.throwing(new InvalidRequestException("Invalid species ID argument: " + speciesId));
         }
+        //The calls of one gene are clustered on their expression scores, so they need
+        //to be all loaded before the response is sent, they cannot be streamed by pages.
+        //Their number is bounded by the number of conditions with data for the gene.
         GeneExpressionResponse exprResponse = loadExpression(callType, geneId, speciesId, condParamAttrs,
                 dataTypes, callService, getClusteringFunction());
         display.displayGeneExpression(exprResponse);
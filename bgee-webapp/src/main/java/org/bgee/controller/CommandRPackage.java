@@ -70,7 +70,7 @@ import org.bgee.view.ViewFactory;
  * direct {@code DAO} calls (handled in {@link CommandDAO}).
  * 
  * @author  Frederic Bastian
- * @version Bgee 15.0, Apr. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @see https://www.bioconductor.org/packages/BgeeDB/
  * @since   Bgee 14 Mar. 2017
  */
@@ -165,7 +165,7 @@ public class CommandRPackage extends CommandParent {
             BgeeProperties prop, ViewFactory viewFactory, ServiceFactory serviceFactory, 
             JobService jobService, User user) {
         super(response, requestParameters, prop, viewFactory, serviceFactory, jobService, user, null, null);
-        this.manageReadWriteLocks = new ManageReadWriteLocks();
+        this.manageReadWriteLocks = new ManageReadWriteLocks(prop.isTopAnatUseFileLocks());
     }
 
     @Override
@@ -322,10 +322,9 @@ public class CommandRPackage extends CommandParent {
                     CommandRPackage.getGeneToAnatEntitiesFileName(true, speciesId,
                             callType, stageIds == null || stageIds.isEmpty()? null : stageIds.get(0),
                                     dataTypes, this.checkAndGetSummaryQuality()));//, 
+            ManageReadWriteLocks.FileLocks locks = this.manageReadWriteLocks.acquireLocks(null, 
+                    Arrays.asList(finalGeneToAnatEntitiesFile.toString(), tmpFile.toString()));
             try {
-                this.manageReadWriteLocks.acquireWriteLock(finalGeneToAnatEntitiesFile.toString());
-                this.manageReadWriteLocks.acquireWriteLock(tmpFile.toString());
-
                 //check, AFTER having acquired the locks, that the final file does not 
                 //already exist (maybe another thread generated the files before this one 
                 //acquired the lock)
@@ -339,8 +338,7 @@ public class CommandRPackage extends CommandParent {
                 }
             } finally {
                 Files.deleteIfExists(tmpFile);
-                this.manageReadWriteLocks.releaseWriteLock(finalGeneToAnatEntitiesFile.toString());
-                this.manageReadWriteLocks.releaseWriteLock(tmpFile.toString());
+                locks.close();
             }
             // Now that the file is created we can read it
             try {
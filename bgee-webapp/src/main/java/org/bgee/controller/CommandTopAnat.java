@@ -184,13 +184,18 @@ public class CommandTopAnat extends CommandParent {
                         //we need to acquire a different DAOManager than the one used 
                         //by the launching thread, because it will be closed when the thread terminates. 
                         this.serviceFactoryProvider.get(), 
-                        job);
+                        job,
+                        //to provide a ServiceFactory to each thread running analyses concurrently
+                        this.serviceFactoryProvider);
                 
                 //we need to consume the Stream to actually launch the analysis. 
                 //Also, if it is requested to send an email to the user, we count number of results, 
                 //otherwise it is not needed.
-                Set<TopAnatResults> results = controller2.proceedToTopAnatAnalyses()
-                        .collect(Collectors.toSet());
+                //the Stream is closed to stop the remaining analyses if one fails
+                Set<TopAnatResults> results;
+                try (Stream<TopAnatResults> resultStream = controller2.proceedToTopAnatAnalyses()) {
+                    results = resultStream.collect(Collectors.toSet());
+                }
                 if (sendMail) {
                     for (TopAnatResults result: results) {
                         int rowCount = result.getRows().size();
@@ -552,11 +557,11 @@ public class CommandTopAnat extends CommandParent {
                         data));
             }
 
-            Stream<TopAnatResults> topAnatResults = controller.proceedToTopAnatAnalyses();
-
-            //FIXME: I don't know why, but I don't manage to make the Stream to be printed.
-            //Collecting the results while waiting for a fix.
-            data.put("topAnatResults", topAnatResults.collect(Collectors.toSet()));
+            try (Stream<TopAnatResults> topAnatResults = controller.proceedToTopAnatAnalyses()) {
+                //FIXME: I don't know why, but I don't manage to make the Stream to be printed.
+                //Collecting the results while waiting for a fix.
+                data.put("topAnatResults", topAnatResults.collect(Collectors.toSet()));
+            }
 
             display.sendResultResponse(data, "");
 
@@ -612,6 +617,11 @@ public class CommandTopAnat extends CommandParent {
         final String email = this.requestParameters.getFirstValue(
                 this.requestParameters.getUrlParametersInstance().getParamEmail());
         final Properties daoProps = this.serviceFactory.getDAOManager().getParameters();
+        //The job uses the budget of connections of the request launching it, 
+        //otherwise TopAnat jobs would not be limited. The ServiceFactories of the analyses
+        //run concurrently share the permit of the job (see TopAnatController), 
+        //so that a job holds one permit whatever the number of its analyses.
+        final String connectionBudget = this.serviceFactory.getDAOManager().getConnectionBudget();
         
         
         Thread newThread = new Thread(new TopAnatJobRunner(
@@ -621,7 +631,11 @@ public class CommandTopAnat extends CommandParent {
                 //Also, for properly loading the ServiceFactory, 
                 //we need to acquire a different DAOManager than the one used 
                 //by the launching thread, because it will be closed when the thread terminates.
-                () -> new ServiceFactory(daoProps)));
+                () -> {
+                    ServiceFactory jobServiceFactory = new ServiceFactory(daoProps);
+                    jobServiceFactory.setConnectionBudget(connectionBudget);
+                    return jobServiceFactory;
+                }));
         
         newThread.start();
         
@@ -645,8 +659,10 @@ public class CommandTopAnat extends CommandParent {
             throw log.throwing(new InvalidRequestException(
                     "No results available for the provided parameters."));
         }
-        List<TopAnatResults> topAnatResults = controller.proceedToTopAnatAnalyses()
-                .collect(Collectors.toList());
+        List<TopAnatResults> topAnatResults;
+        try (Stream<TopAnatResults> resultStream = controller.proceedToTopAnatAnalyses()) {
+            topAnatResults = resultStream.collect(Collectors.toList());
+        }
         Function<TopAnatResults, Path> generateFilePath = result -> 
             Paths.get(controller.getBgeeProperties().getTopAnatResultsWritingDirectory(), 
                 result.getResultDirectory(), result.getZipFileName());
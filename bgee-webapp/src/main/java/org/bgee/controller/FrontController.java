@@ -26,7 +26,11 @@ import org.bgee.controller.exception.InvalidFormatException;
 import org.bgee.controller.exception.InvalidRequestException;
 import org.bgee.controller.exception.JobResultNotFoundException;
 import org.bgee.model.ServiceFactory;
+import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.dao.api.exception.QueryInterruptedException;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
 import org.bgee.model.gene.GeneNotFoundException;
 import org.bgee.model.job.JobService;
 import org.bgee.model.job.exception.TooManyJobsException;
@@ -155,9 +159,11 @@ public class FrontController extends HttpServlet {
         // If the bgee prop object is null, just get the default instance from BgeeProperties
         this.prop = prop != null? prop: BgeeProperties.getBgeeProperties();
 
-        //If serviceFactoryProvider is null, use default constructor of ServiceFactory
+        //If serviceFactoryProvider is null, use the default DAOManager, reading
+        //the call data from the columnar files if they are configured
         this.serviceFactoryProvider = serviceFactoryProvider != null? serviceFactoryProvider: 
-            () -> new ServiceFactory(this.prop);
+            () -> new ServiceFactory(this.prop,
+                    ColumnarDAOManager.decorateIfConfigured(DAOManager.getDAOManager()));
         
         this.jobService  = jobService != null? jobService: new JobService(this.prop);
         this.cacheService = cacheService != null? cacheService: new BgeeCacheService();
@@ -226,6 +232,16 @@ public class FrontController extends HttpServlet {
                         requestParameters.getRequestURL(), postData);
             }
             
+            //Apply the deadline of the request, if any, to the queries performed
+            int requestTimeout = this.prop.getRequestTimeout(requestParameters.getPage(),
+                    requestParameters.getAction());
+            if (requestTimeout > 0) {
+                serviceFactory.setDeadline(System.currentTimeMillis() + requestTimeout * 1000L);
+            }
+            //Limit the connections to the data source used by this class of requests
+            serviceFactory.setConnectionBudget(this.prop.getConnectionBudget(
+                    requestParameters.getPage(), requestParameters.getAction()));
+            
             //Load a User instance to track users between requests
             User user = this.userService.createNewUser(request, requestParameters);
             //If needed we'll set a tracking cookie, unless it is inappropriate for the requested page 
@@ -360,6 +376,13 @@ public class FrontController extends HttpServlet {
             }
             log.catching(logLevel, realException);
 
+            //If part of the response was already sent (e.g., streamed JSON),
+            //we cannot send an error response anymore, the view already terminated it.
+            if (response.isCommitted()) {
+                log.error("Response already committed, no error message sent");
+                log.traceExit(); return;
+            }
+
             if (errorDisplay == null) {
                 //In that case we directly send to user an error response from here,
                 //just text as we can't have a view from the proper requested format
@@ -373,7 +396,12 @@ public class FrontController extends HttpServlet {
                 log.traceExit(); return;
             }
             
-            if (realException instanceof InvalidFormatException) {
+            if (realException instanceof ConnectionBudgetExceededException) {
+                errorDisplay.displayControllerException(
+                        (ConnectionBudgetExceededException) realException);
+            } else if (realException instanceof DeadlineExceededException) {
+                errorDisplay.displayControllerException((DeadlineExceededException) realException);
+            } else if (realException instanceof InvalidFormatException) {
                 errorDisplay.displayControllerException((InvalidFormatException) realException);
             } else if (realException instanceof InvalidRequestException) {
                 errorDisplay.displayControllerException((InvalidRequestException) realException);
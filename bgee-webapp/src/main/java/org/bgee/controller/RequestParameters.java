@@ -1,10 +1,5 @@
 package org.bgee.controller;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -18,7 +13,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -36,6 +30,9 @@ import org.bgee.controller.exception.RequestSizeExceededException;
 import org.bgee.controller.exception.ValueSizeExceededException;
 import org.bgee.controller.exception.InvalidFormatException;
 import org.bgee.controller.servletutils.BgeeHttpServletRequest;
+import org.bgee.controller.utils.FileRequestParametersStore;
+import org.bgee.controller.utils.RequestParametersStore;
+import org.bgee.controller.utils.SegmentedRequestParametersStore;
 import org.bgee.model.expressiondata.baseelements.SummaryQuality;
 
 /**
@@ -85,7 +82,7 @@ import org.bgee.model.expressiondata.baseelements.SummaryQuality;
  * @author  Mathieu Seppey
  * @author  Frederic Bastian
  * @author  Valentine Rech de Laval
- * @version Bgee 15.0, Jan. 2023
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 1
  */
 public class RequestParameters {
@@ -93,16 +90,14 @@ public class RequestParameters {
     private final static Logger log = LogManager.getLogger(RequestParameters.class.getName());
 
     /**
-     * {@code ConcurrentMap} used to manage concurrent access to 
-     * the read/write locks that are used to manage concurrent reading and writing 
-     * of the files storing query strings holding storable parameters. 
-     * The generated key of the {@code RequestParameters} object to be 
-     * loaded or stored is associated to the lock in this {@code Map}.
+     * {@code ConcurrentMap} storing the {@code RequestParametersStore}s used to load and store
+     * query strings holding storable parameters, associated to a key generated
+     * from their configuration.
      * 
-     * @see #store()
-     * @see #loadStorableParametersFromKey(String)
+     * @see #getStore(BgeeProperties)
+     * @see #releaseStores()
      */
-    private static final ConcurrentMap<String, ReentrantReadWriteLock> readWriteLocks = 
+    private static final ConcurrentMap<String, RequestParametersStore> stores = 
             new ConcurrentHashMap<>();
     
     /**
@@ -1077,13 +1072,13 @@ public class RequestParameters {
     }
 
     /**
-     * Load the storable parameters from the file corresponding to the provided key.
+     * Load the storable parameters from the query string stored for the provided key.
      * If a key is provided, but no stored query string is found corresponding to this key, 
      * a IOException is thrown.
      * 
      * @throws IOException                              thrown if a error occurs while trying 
-     *                                                  to read the file associated to the key,
-     *                                                  containing the query string to be used.
+     *                                                  to read the query string associated
+     *                                                  to the key, or if none was stored.
      *                                                  
      * @throws MultipleValuesNotAllowedException        if more than one value is present in the
      *                                                  {@code request}
@@ -1101,188 +1096,122 @@ public class RequestParameters {
     MultipleValuesNotAllowedException, InvalidFormatException {
         log.traceEntry("{}", key);
 
-        ReentrantReadWriteLock lock = this.getReadWriteLock(key);
-        try {
-            lock.readLock().lock();
-
-            while (readWriteLocks.get(key) == null ||  
-                    !readWriteLocks.get(key).equals(lock)) {
-                lock = this.getReadWriteLock(key);
-                lock.readLock().lock();
-            }
-            try (BufferedReader br = new BufferedReader(new FileReader(
-                    prop.getRequestParametersStorageDirectory() + key))) {
-                String retrievedQueryString;
-                //just one line in the file, a query string including storable parameters, 
-                //that will be used to recover storable parameters
-                if ((retrievedQueryString = br.readLine()) != null) {
-                    //here we create a fake HttpServletRequest using the query 
-                    // string we retrieved.
-                    //this way we do not duplicate code to load parameters into 
-                    // this RequestParameters object.
-                    HttpServletRequest request = new BgeeHttpServletRequest(
-                            retrievedQueryString, this.getCharacterEncoding());
-                    this.loadParametersFromRequest(request.getParameterMap(), true, false);
-                }
-            }
-
-        } finally {
-            lock.readLock().unlock();
-            this.removeLockIfPossible(key);
+        //just one query string stored per key, including storable parameters, 
+        //that will be used to recover storable parameters
+        String retrievedQueryString = getStore(this.prop).load(key);
+        if (retrievedQueryString == null) {
+            throw log.throwing(new IOException("No parameters stored for key " + key));
         }
+        //here we create a fake HttpServletRequest using the query 
+        // string we retrieved.
+        //this way we do not duplicate code to load parameters into 
+        // this RequestParameters object.
+        HttpServletRequest request = new BgeeHttpServletRequest(
+                retrievedQueryString, this.getCharacterEncoding());
+        this.loadParametersFromRequest(request.getParameterMap(), true, false);
 
         log.traceExit();
-
     }
 
     /**
-     * Store the part of the query string holding storable parameters into a file: 
+     * Store the part of the query string holding storable parameters: 
      * get the part of the query string containing "storable" parameters 
-     * generate a key based on that string, and store the string in a file named as the key.
+     * generate a key based on that string, and store the string associated with the key.
      * This allows to store parameters too lengthy to be put in URL, to replace these parameters 
      * by the key, which is stored in the {@code URLParameters.Parameter} DATA 
      * and to store these parameters to retrieve them at later pages 
      * using that key.
      * 
      * @throws RequestParametersNotStorableException    if an error occur while trying to use
-     *                                                  the key or to write the query string in
-     *                                                  a file
+     *                                                  the key or to store the query string
      * @see #generateParametersQuery(Set, boolean, boolean, String, Collection, boolean)
      * @see URLParameters#getParamData
+     * @see #getStore(BgeeProperties)
      */
     private void store() throws RequestParametersNotStorableException {
         log.traceEntry();
 
-        if (StringUtils.isBlank(this.getFirstValue(
-                this.getKeyParam()))) {
+        String key = this.getFirstValue(this.getKeyParam());
+        if (StringUtils.isBlank(key)) {
             throw new RequestParametersNotStorableException(
                     "No key was generated before trying to store the associated parameters.");
         }
-        //first check whether these parameters have already been serialized
-        String fileLocation = prop.getRequestParametersStorageDirectory() 
-                + this.getFirstValue(this.getKeyParam());
-        File storageFile = new File(fileLocation);
-        if (storageFile.exists()) {
-            //file already exists, no need to continue
-            return;
-        }
-        ReentrantReadWriteLock lock = this.getReadWriteLock(this.getFirstValue(
-                this.getKeyParam()));
-        String parametersQuery = null;
+        // we cannot store an URL-decoded query string, to store encoding-independent values, 
+        // because of cases where, e.g., a parameter value include a character such as '&': 
+        // we couldn't distinguish it anymore from real parameter separators.
+        String parametersQuery = generateParametersQuery(null, true, false, "&", null, false);
         try {
-            lock.writeLock().lock();
-            while (readWriteLocks.get(this.getDataKey()) == null ||  
-                    !readWriteLocks.get(this.getDataKey()).equals(lock)) {
-                lock = this.getReadWriteLock(this.getDataKey());
-                lock.writeLock().lock();
-            }
-            //A bit hacky to know where the error occurred in this try block,
-            //rather than having debug logs, we will distinguish between parametersQuery = null
-            //and parametersQuery = ""
-            parametersQuery = "";
-            try (BufferedWriter bufferedWriter = new BufferedWriter(
-                    new FileWriter(fileLocation))) {
-                // we cannot store an URL-decoded query string, to store encoding-independent values, 
-                // because of cases where, e.g., a parameter value include a character such as '&': 
-                // we couldn't distinguish it anymore from real parameter separators.
-                parametersQuery = generateParametersQuery(null, true, false, "&", null, false);
-                bufferedWriter.write(parametersQuery);
-            }
+            //No lock needed: the stores manage concurrent writes,
+            //and a same key is always associated to a same query string
+            getStore(this.prop).store(key, parametersQuery);
         } catch (IOException e) {
             log.catching(e);
-            log.error("Error trying to write requestparameters file {}, parametersQuery: {}",
-                    fileLocation, parametersQuery);
-            //delete the file if something went wrong
-            storageFile = new File(fileLocation);
-            if (storageFile.exists()) {
-                log.error("File was created, deleting it");
-                if (!storageFile.delete()) {
-                    log.error("The file was not deleted before before throwing the exception");
-                }
-            }
+            log.error("Error trying to store requestparameters with key {}, parametersQuery: {}",
+                    key, parametersQuery);
             throw new RequestParametersNotStorableException(
                     "An error occurred and it was not possible to store the parameters.");
-        } finally {
-            lock.writeLock().unlock();
-            this.removeLockIfPossible(this.getFirstValue(
-                    this.getKeyParam()));
         }
 
         log.traceExit();
     }
 
     /**
-     * Try to remove the {@code ReentrantReadWriteLock} corresponding to 
-     * the argument {@code key}, from the {@code ConcurrentHashMap} 
-     * {@link #readWriteLocks}.
-     * The lock will be removed from the map only if there are no read or write locks, 
-     * and no ongoing request for a read or write lock.
-     * <p>
-     * Note: there might be here a race, where another thread acquired the lock and 
-     * actually locked it, i) just after this method tests the presence of read or write locks 
-     * and ongoing requests for a read or write lock, 
-     * and ii) just before removing it from the map.
-     * To solve this issue, methods acquiring a lock must check after locking it 
-     * whether it is still in the readWriteLocks map, 
-     * or whether the element present in the map for the key is equal to the acquired lock. 
-     * If it is not, they must generate a new lock to be used.
-     * 
-     * @param key   a {@code String} corresponding to the key to retrieve the lock from 
-     *              {@code readWriteLocks}, to remove it. This key is generated by the method
-     *              {@code generateKey}
-     * @see         #generateKey(String)
-     * @see         #readWriteLocks
-     */
-    private void removeLockIfPossible(String key) {
-        log.traceEntry("{}", key);
-
-        //check if there is already a lock stored for this key
-        ReentrantReadWriteLock lock = readWriteLocks.get(key);
-        //there is a lock to remove
-        if (lock != null) {
-            //there is no thread with write lock, or read lock, or waiting to acquire a lock
-            if (!lock.isWriteLocked() && lock.getReadLockCount() == 0 && !lock.hasQueuedThreads()) {
-                readWriteLocks.remove(key);
+     * Obtain the {@code RequestParametersStore} to use to load and store query strings
+     * holding storable parameters, depending on
+     * {@link BgeeProperties#getRequestParametersStorageType()} and
+     * {@link BgeeProperties#getRequestParametersStorageDirectory()}. A same store is shared
+     * by all {@code RequestParameters} with the same configuration.
+     * 
+     * @param prop          The {@code BgeeProperties} providing the store configuration.
+     * @return              The {@code RequestParametersStore} to use.
+     * @throws IOException  If the store could not be instantiated.
+     * @see #stores
+     */
+    private static RequestParametersStore getStore(BgeeProperties prop) throws IOException {
+        log.traceEntry("{}", prop);
+        String type = prop.getRequestParametersStorageType();
+        String storeKey = type + "|" + prop.getRequestParametersStorageDirectory();
+        RequestParametersStore store = stores.get(storeKey);
+        if (store != null) {
+            return log.traceExit(store);
+        }
+        synchronized (stores) {
+            store = stores.get(storeKey);
+            if (store == null) {
+                if (SegmentedRequestParametersStore.STORAGE_TYPE.equals(type)) {
+                    store = new SegmentedRequestParametersStore(
+                            prop.getRequestParametersStorageDirectory(),
+                            prop.getRequestParametersCacheSize());
+                } else if (FileRequestParametersStore.STORAGE_TYPE.equals(type)) {
+                    store = new FileRequestParametersStore(
+                            prop.getRequestParametersStorageDirectory());
+                } else {
+                    throw log.throwing(new IllegalStateException(
+                            "Unknown request parameters storage type: " + type));
+                }
+                stores.put(storeKey, store);
             }
         }
-
-        log.traceExit();
+        return log.traceExit(store);
     }
 
     /**
-     * Obtain a {@code ReentrantReadWriteLock}, for the param {@code key}.
-     * 
-     * This method tries to obtain {@code ReentrantReadWriteLock} corresponding to the key, 
-     * from the {@code ConcurrentHashMap} {@code readWriteLocks}. 
-     * If the lock is not already stored, 
-     * create a new one, and put it in {@code readWriteLocks}, to be used by other threads.
-     * 
-     * @param key   a {@code String} corresponding to the key to retrieve the lock from 
-     *              {@code readWriteLocks}. This key is generated by the method {@code generateKey}
-     * @return  a {@code ReentrantReadWriteLock} corresponding to the key.
-     * @see #generateKey(String)
-     * @see #readWriteLocks
+     * Close all the {@code RequestParametersStore}s used by this class.
+     * Should be called when the webapp is shut down.
      */
-    private ReentrantReadWriteLock getReadWriteLock(String key) {
-        log.traceEntry("{}", key);
-
-        //check if there is already a lock stored for this key
-        ReentrantReadWriteLock readWritelock = readWriteLocks.get(key);
-
-        //no lock already stored
-        if (readWritelock == null) {
-            ReentrantReadWriteLock newReadWriteLock = new ReentrantReadWriteLock(true);
-            //try to put the new lock in the ConcurrentHashMap
-            readWritelock = readWriteLocks.putIfAbsent(key, newReadWriteLock);
-            //if readWritelock is null, the newLock has been successfully put in the map, and we use it.
-            //otherwise, it means that another thread has inserted a new lock for this key in the mean time.
-            //readWritelock then corresponds to this value, that we should use.
-            if (readWritelock == null) {
-                readWritelock = newReadWriteLock;
+    public static void releaseStores() {
+        log.traceEntry();
+        synchronized (stores) {
+            for (RequestParametersStore store: stores.values()) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    log.catching(e);
+                }
             }
+            stores.clear();
         }
-
-        return log.traceExit(readWritelock);
+        log.traceExit();
     }
 
     /**
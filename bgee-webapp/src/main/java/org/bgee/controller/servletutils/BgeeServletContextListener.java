@@ -6,9 +6,11 @@ import javax.servlet.ServletContextListener;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bgee.controller.FrontController;
+import org.bgee.controller.RequestParameters;
 import org.bgee.controller.utils.BgeeCacheService;
 import org.bgee.model.BgeeProperties;
 import org.bgee.model.dao.api.DAOManager;
+import org.bgee.model.dao.columnar.ColumnarDAOManager;
 
 /**
  * A {@code ServletContextListener} allowing to properly start/shutdown the Bgee webapp. 
@@ -25,7 +27,7 @@ import org.bgee.model.dao.api.DAOManager;
  * }</pre>
  * 
  * @author Frederic Bastian
- * @version Bgee 15.0, Jan. 2023
+ * @version Bgee 15.2, Oct. 2026
  * @since Bgee 11
  *
  */
@@ -62,8 +64,10 @@ public class BgeeServletContextListener implements ServletContextListener {
 	public void contextDestroyed(ServletContextEvent servletContextEvent) {
 	    log.traceEntry();
 		DAOManager.closeAll();
+		ColumnarDAOManager.closeFiles();
 		BgeeProperties.releaseAll();
 		BgeeCacheService.releaseAll();
+		RequestParameters.releaseStores();
 		log.traceExit();
 	}
 }
@@ -0,0 +1,119 @@
+package org.bgee.controller.servletutils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.controller.BgeeProperties;
+import org.bgee.model.dao.mysql.connector.ConnectionBudget;
+import org.bgee.model.dao.mysql.connector.QueryMonitor;
+
+/**
+ * A {@code HttpServlet} exposing the statistics recorded by the {@link QueryMonitor},
+ * and the utilisation of the budgets of connections (see {@link ConnectionBudget}),
+ * in the Prometheus text exposition format, to be pulled by a monitoring system.
+ * If the parameter {@link #SLOW_QUERIES_PARAMETER} is provided, the slow queries captured
+ * are returned instead, one per line.
+ * <p>
+ * As slow queries contain the parameters of the queries, this servlet only responds
+ * to requests providing the token defined by {@link BgeeProperties#getDaoMetricsToken()}
+ * in the header {@code Authorization: Bearer <token>}, or coming from an address listed in
+ * {@link BgeeProperties#getDaoMetricsAllowedAddresses()}. Other requests, or all requests
+ * if none of these properties are defined, receive a 404 error.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class QueryMetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = -6091544316578862364L;
+    private final static Logger log = LogManager.getLogger(QueryMetricsServlet.class.getName());
+
+    /**
+     * A {@code String} that is the name of the parameter requesting the slow queries.
+     */
+    public final static String SLOW_QUERIES_PARAMETER = "slow_queries";
+    /**
+     * A {@code String} that is the prefix of the value of the header {@code Authorization}
+     * providing the token.
+     */
+    private final static String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * The {@code BgeeProperties} defining the token and the addresses allowed.
+     */
+    private final BgeeProperties prop;
+
+    /**
+     * Default constructor, using the {@code BgeeProperties} returned by
+     * {@link BgeeProperties#getBgeeProperties()}.
+     */
+    public QueryMetricsServlet() {
+        this(null);
+    }
+    /**
+     * @param prop  The {@code BgeeProperties} defining the token and the addresses allowed.
+     *              If {@code null}, the value returned by {@link BgeeProperties#getBgeeProperties()}
+     *              is used.
+     */
+    public QueryMetricsServlet(BgeeProperties prop) {
+        this.prop = prop != null? prop: BgeeProperties.getBgeeProperties();
+    }
+
+    @Override
+    public void doGet(final HttpServletRequest request, final HttpServletResponse response)
+            throws IOException {
+        log.traceEntry("{}, {}", request, response);
+
+        if (!this.isAuthorized(request)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            log.traceExit(); return;
+        }
+        response.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        PrintWriter writer = response.getWriter();
+        QueryMonitor monitor = QueryMonitor.getInstance();
+        if (request.getParameter(SLOW_QUERIES_PARAMETER) != null) {
+            for (String slowQuery: monitor.getSlowQueries()) {
+                writer.println(slowQuery);
+            }
+        } else {
+            writer.print(monitor.getMetricsText());
+            writer.print(ConnectionBudget.getMetricsText());
+        }
+        writer.flush();
+
+        log.traceExit();
+    }
+
+    /**
+     * @param request   The {@code HttpServletRequest} to check.
+     * @return          {@code true} if {@code request} provides the configured token,
+     *                  or comes from an allowed address.
+     */
+    private boolean isAuthorized(HttpServletRequest request) {
+        log.traceEntry("{}", request);
+        String token = this.prop.getDaoMetricsToken();
+        String authorization = request.getHeader("Authorization");
+        if (StringUtils.isNotBlank(token) && authorization != null &&
+                authorization.startsWith(BEARER_PREFIX)) {
+            //constant-time comparison, to not leak the token through response times
+            if (MessageDigest.isEqual(token.trim().getBytes(StandardCharsets.UTF_8),
+                    authorization.substring(BEARER_PREFIX.length()).trim()
+                    .getBytes(StandardCharsets.UTF_8))) {
+                return log.traceExit(true);
+            }
+        }
+        String address = request.getRemoteAddr();
+        return log.traceExit(address != null &&
+                this.prop.getDaoMetricsAllowedAddresses().contains(address));
+    }
+}
@@ -0,0 +1,69 @@
+package org.bgee.controller.servletutils;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.model.dao.mysql.connector.QueryMonitor;
+
+/**
+ * A {@code Filter} tagging the queries issued while processing a request with an ID,
+ * for the {@link QueryMonitor} to identify the request that issued a slow query. The ID is taken from the header {@link #REQUEST_ID_HEADER}
+ * if provided (for instance by a reverse proxy), otherwise it is generated.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class QueryMonitoringFilter implements Filter {
+    private final static Logger log = LogManager.getLogger(QueryMonitoringFilter.class.getName());
+
+    /**
+     * A {@code String} that is the name of the header providing the request ID.
+     */
+    public final static String REQUEST_ID_HEADER = "X-Request-Id";
+    /**
+     * An {@code AtomicLong} used to generate request IDs.
+     */
+    private final static AtomicLong REQUEST_COUNT = new AtomicLong(0);
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        log.traceEntry("{}, {}, {}", request, response, chain);
+
+        String requestId = null;
+        if (request instanceof HttpServletRequest) {
+            requestId = ((HttpServletRequest) request).getHeader(REQUEST_ID_HEADER);
+        }
+        if (requestId == null || requestId.trim().isEmpty()) {
+            requestId = "request-" + REQUEST_COUNT.incrementAndGet();
+        }
+        QueryMonitor.setRequestId(requestId.trim());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryMonitor.setRequestId(null);
+        }
+
+        log.traceExit();
+    }
+
+    @Override
+    public void destroy() {
+        //nothing to do
+    }
+    @Override
+    public void init(FilterConfig arg0) throws ServletException {
+        //nothing to do
+    }
+}
@@ -0,0 +1,110 @@
+package org.bgee.controller.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link RequestParametersStore} storing each query string in a file named after its key,
+ * in a storage directory. This was the only storage available before Bgee 15.2,
+ * {@link SegmentedRequestParametersStore} can read the files written by this class.
+ * <p>
+ * Files are written to a temporary file first, then moved atomically, so that no lock
+ * is needed to read or write them.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class FileRequestParametersStore implements RequestParametersStore {
+    private final static Logger log = LogManager.getLogger(FileRequestParametersStore.class.getName());
+
+    /**
+     * A {@code String} that is the value of
+     * {@link org.bgee.controller.BgeeProperties#getRequestParametersStorageType()}
+     * to use this store.
+     */
+    public final static String STORAGE_TYPE = "file";
+
+    /**
+     * Retrieve the file storing the query string associated with {@code key}.
+     * For backward compatibility, the key is simply appended to the storage directory.
+     *
+     * @param storageDirectory  A {@code String} that is the storage directory.
+     * @param key               A {@code String} that is a key generated from a query string.
+     * @return                  The {@code Path} to the file storing the query string.
+     */
+    static Path getFile(String storageDirectory, String key) {
+        return Paths.get(storageDirectory + key);
+    }
+
+    /**
+     * @see #getStorageDirectory()
+     */
+    private final String storageDirectory;
+
+    /**
+     * @param storageDirectory  A {@code String} that is the directory where query strings
+     *                          are stored.
+     */
+    public FileRequestParametersStore(String storageDirectory) {
+        this.storageDirectory = storageDirectory;
+    }
+
+    @Override
+    public String load(String key) throws IOException {
+        log.traceEntry("{}", key);
+        try (Stream<String> lines = Files.lines(getFile(this.storageDirectory, key),
+                StandardCharsets.UTF_8)) {
+            //just one line in the file, a query string including storable parameters
+            return log.traceExit(lines.findFirst().orElse(null));
+        } catch (NoSuchFileException e) {
+            log.catching(Level.DEBUG, e);
+            return log.traceExit((String) null);
+        }
+    }
+
+    @Override
+    public boolean store(String key, String queryString) throws IOException {
+        log.traceEntry("{}, {}", key, queryString);
+        Path file = getFile(this.storageDirectory, key);
+        if (Files.exists(file)) {
+            return log.traceExit(false);
+        }
+        Path tmpFile = Files.createTempFile(file.toAbsolutePath().getParent(),
+                file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmpFile, queryString.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            //stored by another thread in the meantime, same key means same content
+            log.catching(Level.DEBUG, e);
+            return log.traceExit(false);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+        return log.traceExit(true);
+    }
+
+    @Override
+    public void close() {
+        //nothing to close
+    }
+
+    /**
+     * @return  A {@code String} that is the directory where query strings are stored.
+     */
+    public String getStorageDirectory() {
+        return storageDirectory;
+    }
+}
@@ -0,0 +1,40 @@
+package org.bgee.controller.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface for classes storing the query strings holding storable parameters
+ * of {@link org.bgee.controller.RequestParameters}, associated with the key generated
+ * from them. As keys are hashes of the query strings, a same key is always associated
+ * with a same query string, and a query string stored once never needs to be stored again.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public interface RequestParametersStore extends Closeable {
+
+    /**
+     * Retrieve the query string associated with {@code key}.
+     *
+     * @param key           A {@code String} that is the key generated from the query string.
+     * @return              A {@code String} that is the query string associated with {@code key},
+     *                      {@code null} if no query string was stored for this key.
+     * @throws IOException  If an error occurred while reading the stored query string.
+     */
+    public String load(String key) throws IOException;
+
+    /**
+     * Store {@code queryString} associated with {@code key}, if it was not already stored.
+     *
+     * @param key           A {@code String} that is the key generated from {@code queryString}.
+     * @param queryString   A {@code String} that is the query string to store.
+     * @return              {@code true} if {@code queryString} was stored, {@code false}
+     *                      if it was already stored.
+     * @throws IOException  If an error occurred while storing the query string.
+     */
+    public boolean store(String key, String queryString) throws IOException;
+}
@@ -0,0 +1,461 @@
+package org.bgee.controller.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link RequestParametersStore} appending query strings to segment files, rather than
+ * writing one file per key in a same directory. Each segment is made of a log file,
+ * storing the query strings one after the other, and of an index file, storing for each key
+ * the position of its query string in the log file. Index files are read at instantiation
+ * to populate an in-memory index, query strings are then read from log files only when needed,
+ * with an LRU cache in front.
+ * <p>
+ * A same directory can be shared by several instances, possibly in different JVMs
+ * (for instance, several webapp instances using a shared storage): writes are serialized
+ * by a {@code FileLock} on a lock file of the segment directory, and the index files
+ * are read again from the last position read when a key is not found in the in-memory index,
+ * and before each write. Reads of stored query strings do not need any lock.
+ * As keys are hashes of the query strings, the in-memory index is checked without lock
+ * to discard query strings already stored.
+ * <p>
+ * For backward compatibility, query strings not found in the segments are searched
+ * in the files written by {@link FileRequestParametersStore}, and are then appended
+ * to the segments.
+ *
+ * @author Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since Bgee 15.2, Oct. 2026
+ */
+public class SegmentedRequestParametersStore implements RequestParametersStore {
+    private final static Logger log = LogManager.getLogger(SegmentedRequestParametersStore.class.getName());
+
+    /**
+     * A {@code String} that is the value of
+     * {@link org.bgee.controller.BgeeProperties#getRequestParametersStorageType()}
+     * to use this store.
+     */
+    public final static String STORAGE_TYPE = "segmented";
+    /**
+     * A {@code String} that is the name of the sub-directory of the storage directory
+     * where segments are written.
+     */
+    public final static String SEGMENT_DIRECTORY = "segments";
+    /**
+     * A {@code long} that is the size in bytes above which a new segment is started.
+     */
+    public final static long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private final static String LOG_FILE_EXTENSION = ".log";
+    private final static String INDEX_FILE_EXTENSION = ".idx";
+    private final static String LOCK_FILE_NAME = "write.lock";
+    private final static Pattern SEGMENT_FILE_PATTERN = Pattern.compile(
+            "^(\\d+)" + Pattern.quote(LOG_FILE_EXTENSION) + "$");
+    /**
+     * A {@code ConcurrentMap} where keys are segment directories, the associated value
+     * being the monitor used to serialize the writes of the instances of this JVM
+     * in this directory. A {@code FileLock} is held on behalf of the whole JVM,
+     * so the instances of a same JVM must not request it concurrently.
+     */
+    private final static ConcurrentMap<Path, Object> WRITE_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Position of a query string in a segment.
+     */
+    private static class Location {
+        private final int segment;
+        private final long offset;
+        private final int length;
+
+        private Location(int segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A {@code String} that is the storage directory of {@link FileRequestParametersStore},
+     * to retrieve query strings stored before segments were used.
+     */
+    private final String legacyStorageDirectory;
+    private final Path segmentDirectory;
+    private final long maxSegmentSize;
+    /**
+     * Index of all the query strings stored in the segments, populated at instantiation
+     * and updated when reading again the index files.
+     */
+    private final ConcurrentHashMap<String, Location> index;
+    /**
+     * A {@code Map} where keys are segment numbers, the associated value being the position
+     * in the index file of the segment up to which entries were loaded in {@link #index}.
+     * Accesses are synchronized on this {@code Map}.
+     */
+    private final Map<Integer, Long> indexReadPositions;
+    /**
+     * LRU cache of the query strings most recently requested.
+     */
+    private final Map<String, String> cache;
+    /**
+     * {@code FileChannel}s opened to read the log files, associated to their segment number.
+     * They are thread-safe for positional reads.
+     */
+    private final ConcurrentHashMap<Integer, FileChannel> readChannels;
+    /**
+     * Lock to append to the current segment, shared by all the instances
+     * of this JVM using the same segment directory.
+     */
+    private final Object writeLock;
+    /**
+     * The {@code FileChannel} of the lock file, used to serialize writes between JVMs.
+     */
+    private final FileChannel lockChannel;
+
+    //Following attributes are only accessed while holding writeLock
+    private int currentSegment;
+    private FileChannel currentLog;
+    private DataOutputStream currentIndex;
+    private boolean closed;
+
+    /**
+     * @param storageDirectory  A {@code String} that is the directory where query strings
+     *                          are stored. Segments are stored in its sub-directory
+     *                          {@link #SEGMENT_DIRECTORY}.
+     * @param cacheSize         An {@code int} that is the maximum number of query strings
+     *                          kept in memory.
+     * @throws IOException      If an error occurred while reading the existing segments.
+     */
+    public SegmentedRequestParametersStore(String storageDirectory, int cacheSize)
+            throws IOException {
+        this(storageDirectory, cacheSize, MAX_SEGMENT_SIZE);
+    }
+    /**
+     * @param storageDirectory  A {@code String} that is the directory where query strings
+     *                          are stored. Segments are stored in its sub-directory
+     *                          {@link #SEGMENT_DIRECTORY}.
+     * @param cacheSize         An {@code int} that is the maximum number of query strings
+     *                          kept in memory.
+     * @param maxSegmentSize    A {@code long} that is the size in bytes above which
+     *                          a new segment is started.
+     * @throws IOException      If an error occurred while reading the existing segments.
+     */
+    public SegmentedRequestParametersStore(String storageDirectory, int cacheSize,
+            long maxSegmentSize) throws IOException {
+        log.traceEntry("{}, {}, {}", storageDirectory, cacheSize, maxSegmentSize);
+        if (cacheSize < 0 || maxSegmentSize <= 0) {
+            throw log.throwing(new IllegalArgumentException(
+                    "Incorrect cache size or max segment size"));
+        }
+        this.legacyStorageDirectory = storageDirectory;
+        this.segmentDirectory = Paths.get(storageDirectory, SEGMENT_DIRECTORY)
+                .toAbsolutePath().normalize();
+        this.maxSegmentSize = maxSegmentSize;
+        this.index = new ConcurrentHashMap<>();
+        this.indexReadPositions = new HashMap<>();
+        this.cache = Collections.synchronizedMap(new LRUCache<>(cacheSize));
+        this.readChannels = new ConcurrentHashMap<>();
+        this.writeLock = WRITE_LOCKS.computeIfAbsent(this.segmentDirectory, k -> new Object());
+        this.currentLog = null;
+        this.currentIndex = null;
+        this.closed = false;
+
+        Files.createDirectories(this.segmentDirectory);
+        this.lockChannel = FileChannel.open(this.segmentDirectory.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        int segmentCount = this.refreshIndex();
+        log.info("{} stored query strings loaded from {} segments in {}", this.index.size(),
+                segmentCount, this.segmentDirectory);
+        log.traceExit();
+    }
+
+    /**
+     * @return  A {@code List} of {@code Integer}s that are the numbers of the segments
+     *          existing in the segment directory, in ascending order.
+     * @throws IOException  If an error occurred while listing the segment directory.
+     */
+    private List<Integer> listSegments() throws IOException {
+        log.traceEntry();
+        try (Stream<Path> files = Files.list(this.segmentDirectory)) {
+            return log.traceExit(files
+                    .map(f -> SEGMENT_FILE_PATTERN.matcher(f.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(m -> Integer.parseInt(m.group(1)))
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Loads in {@link #index} the entries of the index files not already read,
+     * possibly written by other instances sharing the segment directory.
+     *
+     * @return              An {@code int} that is the number of existing segments.
+     * @throws IOException  If an error occurred while reading the index files.
+     */
+    private int refreshIndex() throws IOException {
+        log.traceEntry();
+        List<Integer> segments = this.listSegments();
+        synchronized (this.indexReadPositions) {
+            for (int segment: segments) {
+                this.loadIndex(segment);
+            }
+        }
+        return log.traceExit(segments.size());
+    }
+
+    /**
+     * Populate {@link #index} from the index file of {@code segment}, starting from
+     * the position stored in {@link #indexReadPositions}. An incomplete last entry,
+     * being written by another instance, is read again at next call. Entries pointing
+     * after the end of the log file, written while the log was not fully written,
+     * are ignored. Must be called while holding the lock on {@link #indexReadPositions}.
+     */
+    private void loadIndex(int segment) throws IOException {
+        log.traceEntry("{}", segment);
+        Path indexFile = this.getIndexFile(segment);
+        if (!Files.exists(indexFile)) {
+            //the log file can be created just before the index file
+            log.debug("Missing index file for segment {}", segment);
+            log.traceExit();
+            return;
+        }
+        long position = this.indexReadPositions.getOrDefault(segment, 0L);
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= position) {
+                log.traceExit();
+                return;
+            }
+            buffer = ByteBuffer.allocate((int) (size - position));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        //Read after the index, so that all entries complete in the index
+        //have their query string in the log
+        long logSize = Files.size(this.getLogFile(segment));
+        ByteArrayInputStream bytes = new ByteArrayInputStream(buffer.array(), 0, buffer.position());
+        DataInputStream in = new DataInputStream(bytes);
+        long readCount = 0;
+        while (true) {
+            String key;
+            long offset;
+            int length;
+            try {
+                key = in.readUTF();
+                offset = in.readLong();
+                length = in.readInt();
+            } catch (EOFException e) {
+                break;
+            }
+            readCount = buffer.position() - bytes.available();
+            if (offset + length <= logSize) {
+                this.index.put(key, new Location(segment, offset, length));
+            } else {
+                log.warn("Ignoring incomplete entry for key {} in segment {}", key, segment);
+            }
+        }
+        this.indexReadPositions.put(segment, position + readCount);
+        log.traceExit();
+    }
+
+    /**
+     * Makes {@link #currentLog} and {@link #currentIndex} point to the last segment,
+     * possibly created by another instance, or to a new segment if the last one is full.
+     * Must be called while holding {@link #writeLock} and the {@code FileLock}.
+     */
+    private void prepareCurrentSegment() throws IOException {
+        log.traceEntry();
+        List<Integer> segments = this.listSegments();
+        int lastSegment = segments.isEmpty()? 0: segments.get(segments.size() - 1);
+        if (this.currentLog == null || lastSegment != this.currentSegment) {
+            this.closeCurrentSegment();
+            this.currentSegment = lastSegment;
+            this.openCurrentSegment();
+        }
+        if (this.currentLog.size() >= this.maxSegmentSize) {
+            this.closeCurrentSegment();
+            this.currentSegment++;
+            this.openCurrentSegment();
+        }
+        log.traceExit();
+    }
+
+    private void openCurrentSegment() throws IOException {
+        log.traceEntry();
+        this.currentLog = FileChannel.open(this.getLogFile(this.currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        OutputStream indexOut = Files.newOutputStream(this.getIndexFile(this.currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.currentIndex = new DataOutputStream(indexOut);
+        log.traceExit();
+    }
+    private void closeCurrentSegment() throws IOException {
+        log.traceEntry();
+        if (this.currentLog != null) {
+            try {
+                this.currentLog.close();
+                this.currentIndex.close();
+            } finally {
+                this.currentLog = null;
+                this.currentIndex = null;
+            }
+        }
+        log.traceExit();
+    }
+
+    @Override
+    public String load(String key) throws IOException {
+        log.traceEntry("{}", key);
+        String queryString = this.cache.get(key);
+        if (queryString != null) {
+            return log.traceExit(queryString);
+        }
+        Location location = this.index.get(key);
+        if (location == null) {
+            //maybe stored by another instance sharing the segment directory
+            this.refreshIndex();
+            location = this.index.get(key);
+        }
+        if (location != null) {
+            queryString = this.read(location);
+        } else {
+            //maybe stored before segments were used
+            queryString = new FileRequestParametersStore(this.legacyStorageDirectory).load(key);
+            if (queryString == null) {
+                return log.traceExit((String) null);
+            }
+            this.store(key, queryString);
+        }
+        this.cache.put(key, queryString);
+        return log.traceExit(queryString);
+    }
+
+    private String read(Location location) throws IOException {
+        log.traceEntry();
+        FileChannel channel = this.readChannels.get(location.segment);
+        if (channel == null) {
+            FileChannel newChannel = FileChannel.open(this.getLogFile(location.segment),
+                    StandardOpenOption.READ);
+            channel = this.readChannels.putIfAbsent(location.segment, newChannel);
+            if (channel == null) {
+                channel = newChannel;
+            } else {
+                newChannel.close();
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        long position = location.offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw log.throwing(new EOFException("Unexpected end of segment "
+                        + location.segment));
+            }
+            position += read;
+        }
+        return log.traceExit(new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean store(String key, String queryString) throws IOException {
+        log.traceEntry("{}, {}", key, queryString);
+        //No lock needed: a same key is always associated to a same query string
+        if (this.index.containsKey(key)) {
+            return log.traceExit(false);
+        }
+        byte[] bytes = queryString.getBytes(StandardCharsets.UTF_8);
+        synchronized (this.writeLock) {
+            if (this.closed) {
+                throw log.throwing(new IllegalStateException("Store already closed"));
+            }
+            try (FileLock fileLock = this.lockChannel.lock()) {
+                //Maybe stored by another thread or another instance in the meantime
+                this.refreshIndex();
+                if (this.index.containsKey(key)) {
+                    return log.traceExit(false);
+                }
+                this.prepareCurrentSegment();
+                long offset = this.currentLog.size();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    this.currentLog.write(buffer);
+                }
+                //The query string must be on disk before it is referenced in the index file
+                this.currentLog.force(false);
+                this.currentIndex.writeUTF(key);
+                this.currentIndex.writeLong(offset);
+                this.currentIndex.writeInt(bytes.length);
+                this.currentIndex.flush();
+                this.index.put(key, new Location(this.currentSegment, offset, bytes.length));
+            }
+        }
+        this.cache.put(key, queryString);
+        return log.traceExit(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.traceEntry();
+        synchronized (this.writeLock) {
+            if (this.closed) {
+                log.traceExit();
+                return;
+            }
+            this.closed = true;
+            try {
+                this.closeCurrentSegment();
+            } finally {
+                this.lockChannel.close();
+                for (FileChannel channel: this.readChannels.values()) {
+                    channel.close();
+                }
+                this.readChannels.clear();
+                this.cache.clear();
+            }
+        }
+        log.traceExit();
+    }
+
+    private Path getLogFile(int segment) {
+        return this.segmentDirectory.resolve(String.format("%06d", segment) + LOG_FILE_EXTENSION);
+    }
+    private Path getIndexFile(int segment) {
+        return this.segmentDirectory.resolve(String.format("%06d", segment) + INDEX_FILE_EXTENSION);
+    }
+
+    /**
+     * @return  An {@code int} that is the number of query strings stored in the segments.
+     */
+    public int getStoredCount() {
+        return this.index.size();
+    }
+}
@@ -8,6 +8,8 @@ import org.bgee.controller.exception.RequestParametersNotFoundException;
 import org.bgee.controller.exception.RequestParametersNotStorableException;
 import org.bgee.controller.exception.RequestSizeExceededException;
 import org.bgee.controller.exception.ValueSizeExceededException;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.job.exception.TooManyJobsException;
 
 /**
@@ -68,6 +70,18 @@ public interface ErrorDisplay {
      * @param e     The {@link TooManyJobsException} to display details about.
      */
     public void displayControllerException(TooManyJobsException e);
+    /**
+     * Display an error message following a {@link DeadlineExceededException}, 
+     * when the request took too long to be processed.
+     * @param e     The {@link DeadlineExceededException} to display details about.
+     */
+    public void displayControllerException(DeadlineExceededException e);
+    /**
+     * Display an error message following a {@link ConnectionBudgetExceededException}, 
+     * when the server is too busy to process this type of request.
+     * @param e     The {@link ConnectionBudgetExceededException} to display details about.
+     */
+    public void displayControllerException(ConnectionBudgetExceededException e);
     
     //******************************
     // OTHER EXCEPTION TYPES
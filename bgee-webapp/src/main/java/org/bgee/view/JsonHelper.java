@@ -1,5 +1,8 @@
 package org.bgee.view;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.LinkedHashMap;
 
 import org.apache.logging.log4j.LogManager;
@@ -39,6 +42,7 @@ import com.google.gson.ExclusionStrategy;
 import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 
 /**
  * This class handles the serialization of objects to JSON.
@@ -47,7 +51,7 @@ import com.google.gson.GsonBuilder;
  * @author  Philippe Moret
  * @author  Frederic Bastian
  * @author  Valentine Rech de Laval
- * @version Bgee 15, Dec. 2021
+ * @version Bgee 15.2, Oct. 2026
  * @since   Bgee 13, Oct. 2015
  */
 public class JsonHelper {
@@ -82,6 +86,106 @@ public class JsonHelper {
         }
     }
 
+    /**
+     * A {@code Writer} buffering the generated JSON in chunks of fixed size, and sending
+     * each chunk to the underlying {@code Appendable} as soon as it is full, flushing it
+     * if it is {@code Flushable}. This allows to send large responses to the client
+     * while they are generated, without accumulating them in the servlet response buffer.
+     * Nothing is sent before the first chunk is full, so that an error occurring
+     * while generating the beginning of the response can still be reported normally.
+     * The underlying {@code Appendable} is never closed by this {@code Writer}.
+     */
+    private static final class ChunkedFlushWriter extends Writer {
+        private final Appendable out;
+        private final char[] chunk;
+        private int chunkLength;
+        private boolean committed;
+
+        private ChunkedFlushWriter(Appendable out, int chunkSize) {
+            this.out = out;
+            this.chunk = new char[chunkSize];
+            this.chunkLength = 0;
+            this.committed = false;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int remaining = len;
+            int offset = off;
+            while (remaining > 0) {
+                int toCopy = Math.min(remaining, this.chunk.length - this.chunkLength);
+                System.arraycopy(cbuf, offset, this.chunk, this.chunkLength, toCopy);
+                this.chunkLength += toCopy;
+                offset += toCopy;
+                remaining -= toCopy;
+                if (this.chunkLength == this.chunk.length) {
+                    this.flush();
+                }
+            }
+        }
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            int remaining = len;
+            int offset = off;
+            while (remaining > 0) {
+                int toCopy = Math.min(remaining, this.chunk.length - this.chunkLength);
+                str.getChars(offset, offset + toCopy, this.chunk, this.chunkLength);
+                this.chunkLength += toCopy;
+                offset += toCopy;
+                remaining -= toCopy;
+                if (this.chunkLength == this.chunk.length) {
+                    this.flush();
+                }
+            }
+        }
+        @Override
+        public void flush() throws IOException {
+            if (this.chunkLength > 0) {
+                if (this.out instanceof Writer) {
+                    ((Writer) this.out).write(this.chunk, 0, this.chunkLength);
+                } else {
+                    this.out.append(new String(this.chunk, 0, this.chunkLength));
+                }
+                this.chunkLength = 0;
+                this.committed = true;
+            }
+            if (this.out instanceof Flushable) {
+                ((Flushable) this.out).flush();
+            }
+        }
+        @Override
+        public void close() throws IOException {
+            this.flush();
+        }
+        /**
+         * Drops the characters not yet sent to the underlying {@code Appendable}.
+         */
+        private void discard() {
+            this.chunkLength = 0;
+        }
+        /**
+         * @return  {@code true} if some characters were already sent
+         *          to the underlying {@code Appendable}.
+         */
+        private boolean isCommitted() {
+            return this.committed;
+        }
+    }
+
+    /**
+     * An {@code int} that is the number of characters of JSON generated before sending them
+     * to the client, when using {@link #toJson(LinkedHashMap, Appendable)}.
+     * Value: 65,536.
+     */
+    public static final int FLUSH_CHUNK_SIZE = 64 * 1024;
+    /**
+     * A {@code String} that is the JSON object appended to a response that failed
+     * after part of it was sent to the client, see {@link #toJson(LinkedHashMap, Appendable)}.
+     */
+    public static final String STREAM_ERROR_JSON = "{\"code\": 500, \"status\": \"fail\", "
+            + "\"message\": \"An error occurred while generating the response, "
+            + "the data sent are incomplete.\"}";
+
 
     
     /**
@@ -193,14 +297,47 @@ public class JsonHelper {
      * Dump the provided {@code Map} into JSON and print it immediately using {@code out}. 
      * Such a {@code Map} is typically used to print Bgee server responses in JSON. 
      * It is a {@code LinkedHashMap} to allow the generation of predictable responses. 
+     * <p>
+     * The JSON is streamed to {@code out} in chunks of {@link #FLUSH_CHUNK_SIZE} characters, 
+     * {@code out} being flushed after each chunk if it is {@code Flushable}. 
+     * If {@code response} contains {@code Stream}s, their elements are thus sent 
+     * while they are produced, without being all held in memory. 
+     * <p>
+     * If an exception is thrown while generating the JSON before the first chunk is sent, 
+     * nothing is written to {@code out}, and the exception is rethrown, so that the caller 
+     * can send an error response. If it is thrown after some chunks were sent, 
+     * the response already started cannot be replaced: {@link #STREAM_ERROR_JSON} is then 
+     * appended to the incomplete JSON, so that clients cannot take it for a complete response, 
+     * before rethrowing the exception. 
      * 
      * @param response  A {@code LinkedHashMap} where keys are {@code String}s that are 
      *                  the name for dumping in JSON of the associated value {@code Object}.
      * @param out       An {@code Appendable} used to print the generated JSON.
+     * @throws JsonIOException  If an error occurred while writing to {@code out}.
      */
-    public void toJson(LinkedHashMap<String, Object> response, Appendable out) {
+    public void toJson(LinkedHashMap<String, Object> response, Appendable out)
+            throws JsonIOException {
         log.traceEntry("{}, {}", response, out);
-        gson.toJson(response, out);
+        ChunkedFlushWriter writer = new ChunkedFlushWriter(out, FLUSH_CHUNK_SIZE);
+        try {
+            gson.toJson(response, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw log.throwing(new JsonIOException(e));
+        } catch (RuntimeException e) {
+            if (!writer.isCommitted()) {
+                writer.discard();
+                throw log.throwing(e);
+            }
+            log.error("Error after part of the response was sent, terminating it with an error");
+            try {
+                writer.write("\n" + STREAM_ERROR_JSON);
+                writer.flush();
+            } catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            throw log.throwing(e);
+        }
         log.traceExit();
     }
 
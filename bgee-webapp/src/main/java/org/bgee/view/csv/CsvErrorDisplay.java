@@ -16,6 +16,8 @@ import org.bgee.controller.exception.RequestParametersNotFoundException;
 import org.bgee.controller.exception.RequestParametersNotStorableException;
 import org.bgee.controller.exception.RequestSizeExceededException;
 import org.bgee.controller.exception.ValueSizeExceededException;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.job.exception.TooManyJobsException;
 import org.bgee.view.ErrorDisplay;
 import org.bgee.view.ViewFactory;
@@ -198,6 +200,34 @@ public class CsvErrorDisplay extends CsvParentDisplay implements ErrorDisplay {
         
         log.traceExit();
     }
+
+    @Override
+    public void displayControllerException(DeadlineExceededException e) {
+        log.traceEntry("{}", e);
+        
+        this.sendServiceUnavailableHeaders();
+        
+        this.startDisplay();
+        this.displayErrorMessage("The request took too long to be processed, "
+                + "please try again later or with a more restrictive query.");
+        this.endDisplay();
+        
+        log.traceExit();
+    }
+
+    @Override
+    public void displayControllerException(ConnectionBudgetExceededException e) {
+        log.traceEntry("{}", e);
+        
+        this.sendServiceUnavailableHeaders();
+        
+        this.startDisplay();
+        this.displayErrorMessage("The server is currently too busy to process "
+                + "this type of request, please try again later.");
+        this.endDisplay();
+        
+        log.traceExit();
+    }
     
     /**
      * Format an error message before displaying it. Notably, all CSV error messages 
@@ -16,6 +16,8 @@ import org.bgee.controller.exception.RequestParametersNotFoundException;
 import org.bgee.controller.exception.RequestParametersNotStorableException;
 import org.bgee.controller.exception.RequestSizeExceededException;
 import org.bgee.controller.exception.ValueSizeExceededException;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.job.exception.TooManyJobsException;
 import org.bgee.view.ErrorDisplay;
 
@@ -222,6 +224,34 @@ public class HtmlErrorDisplay extends HtmlParentDisplay implements ErrorDisplay
         log.traceExit();
     }
 
+    @Override
+    public void displayControllerException(DeadlineExceededException e) {
+        log.traceEntry("{}", e);
+
+        this.sendServiceUnavailableHeaders();
+
+        this.startDisplay("Request took too long");
+        this.writeln("<p class='alert'>The request took too long to be processed, "
+                + "please try again later or with a more restrictive query.</p>");
+        this.endDisplay();
+
+        log.traceExit();
+    }
+
+    @Override
+    public void displayControllerException(ConnectionBudgetExceededException e) {
+        log.traceEntry("{}", e);
+
+        this.sendServiceUnavailableHeaders();
+
+        this.startDisplay("Server busy");
+        this.writeln("<p class='alert'>The server is currently too busy to process "
+                + "this type of request, please try again later.</p>");
+        this.endDisplay();
+
+        log.traceExit();
+    }
+
     @Override
     protected void includeCss() {
         log.traceEntry();
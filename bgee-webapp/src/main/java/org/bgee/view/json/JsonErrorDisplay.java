@@ -17,6 +17,8 @@ import org.bgee.controller.exception.RequestParametersNotFoundException;
 import org.bgee.controller.exception.RequestParametersNotStorableException;
 import org.bgee.controller.exception.RequestSizeExceededException;
 import org.bgee.controller.exception.ValueSizeExceededException;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.job.exception.TooManyJobsException;
 import org.bgee.view.ErrorDisplay;
 import org.bgee.view.JsonHelper;
@@ -216,4 +218,30 @@ public class JsonErrorDisplay extends JsonParentDisplay implements ErrorDisplay
         
         log.traceExit();
     }
+
+    @Override
+    public void displayControllerException(DeadlineExceededException e) {
+        log.traceEntry("{}", e);
+        
+        LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+        data.put(EXCEPTION_TYPE_KEY, e.getClass().getSimpleName());
+        this.sendResponse(HttpServletResponse.SC_SERVICE_UNAVAILABLE, 
+                "The request took too long to be processed, please try again later "
+                + "or with a more restrictive query.", data);
+        
+        log.traceExit();
+    }
+
+    @Override
+    public void displayControllerException(ConnectionBudgetExceededException e) {
+        log.traceEntry("{}", e);
+        
+        LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+        data.put(EXCEPTION_TYPE_KEY, e.getClass().getSimpleName());
+        this.sendResponse(HttpServletResponse.SC_SERVICE_UNAVAILABLE, 
+                "The server is currently too busy to process this type of request, "
+                + "please try again later.", data);
+        
+        log.traceExit();
+    }
 }
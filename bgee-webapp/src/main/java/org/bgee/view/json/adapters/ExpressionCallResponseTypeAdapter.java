@@ -3,6 +3,7 @@ package org.bgee.view.json.adapters;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -58,7 +59,10 @@ public class ExpressionCallResponseTypeAdapter extends TypeAdapter<ExpressionCal
         if (value.getCalls() != null) {
             out.name("expressionCalls");
             out.beginArray();
-            for (ExpressionCall2 call: value.getCalls()) {
+            //Use the Stream Iterator to be able to throw checked Exceptions
+            Iterator<ExpressionCall2> iterator = value.getCalls().iterator();
+            while (iterator.hasNext()) {
+                ExpressionCall2 call = iterator.next();
                 EnumSet<DataType> dataTypes = call.getCallData().stream().map(ExpressionCallData2::getDataType)
                         .collect(Collectors.toCollection(() -> EnumSet.noneOf(DataType.class)));
                 boolean highQualScore = false;
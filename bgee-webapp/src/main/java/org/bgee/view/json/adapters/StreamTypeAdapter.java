@@ -2,6 +2,8 @@ package org.bgee.view.json.adapters;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -16,9 +18,11 @@ import com.google.gson.stream.JsonWriter;
  * A {@code TypeAdapter} for {@code Stream}s, capable of correctly dumping 
  * the iterated elements, by retrieving the correct {@code TypeAdapter} corresponding to 
  * their actual type. Recursion is not a problem ({@code Stream} of {@code Stream}s).
+ * The {@code TypeAdapter}s are cached per concrete class of the elements, 
+ * to avoid requesting them to the {@code Gson} object for each element.
  * 
  * @author Frederic Bastian
- * @version Bgee 13 Nov. 2015
+ * @version Bgee 15.2 Oct. 2026
  * @since Bgee 13 Nov. 2015
  * @see BgeeTypeAdapterFactory
  *
@@ -30,6 +34,11 @@ public final class StreamTypeAdapter<T> extends TypeAdapter<Stream<T>> {
      * for the elements of the {@code Stream} to dump.
      */
     private final Gson gson;
+    /**
+     * A {@code Map} where keys are the concrete {@code Class}es of the elements dumped, 
+     * the associated value being the {@code TypeAdapter} to use for them.
+     */
+    private final Map<Class<?>, TypeAdapter<?>> adapterCache;
     
     private static final Logger log = LogManager.getLogger(StreamTypeAdapter.class.getName());
     
@@ -37,6 +46,7 @@ public final class StreamTypeAdapter<T> extends TypeAdapter<Stream<T>> {
     //see https://google-gson.googlecode.com/svn/trunk/gson/docs/javadocs/com/google/gson/TypeAdapterFactory.html
     protected StreamTypeAdapter(Gson gson) {
         this.gson = gson;
+        this.adapterCache = new ConcurrentHashMap<>();
     }
     
     @Override
@@ -64,12 +74,14 @@ public final class StreamTypeAdapter<T> extends TypeAdapter<Stream<T>> {
             //but maybe the Stream contains elements of mix-types, 
             //and we can't use the generic type declaration to decide which Adapter to use. 
             //So, we always use the Adapter corresponding to the actual type of the element, 
-            //not to its declared type.
+            //not to its declared type. The Adapters are cached per concrete class, 
+            //Gson lookups are costly when done for each element of large Streams.
             
             //it is a mandatory to cast the returned factory, note that this is also the case 
             //in Gson factory implementations
             @SuppressWarnings("unchecked")
-            TypeAdapter<T> typeAdapter = (TypeAdapter<T>) gson.getAdapter(e.getClass());
+            TypeAdapter<T> typeAdapter = (TypeAdapter<T>) this.adapterCache.computeIfAbsent(
+                    e.getClass(), c -> gson.getAdapter(c));
             typeAdapter.write(out, e);
         }
         
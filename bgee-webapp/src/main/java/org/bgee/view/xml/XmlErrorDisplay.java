@@ -5,6 +5,8 @@ import org.apache.logging.log4j.Logger;
 import org.bgee.controller.BgeeProperties;
 import org.bgee.controller.RequestParameters;
 import org.bgee.controller.exception.*;
+import org.bgee.model.dao.api.exception.ConnectionBudgetExceededException;
+import org.bgee.model.dao.api.exception.DeadlineExceededException;
 import org.bgee.model.job.exception.TooManyJobsException;
 import org.bgee.view.ErrorDisplay;
 import org.bgee.view.ViewFactory;
@@ -169,6 +171,30 @@ public class XmlErrorDisplay extends XmlParentDisplay implements ErrorDisplay {
         log.traceExit();
     }
 
+    @Override
+    public void displayControllerException(DeadlineExceededException e) {
+        log.traceEntry("{}", e);
+
+        this.sendServiceUnavailableHeaders();
+
+        this.displayError("Request took too long", "The request took too long to be processed, "
+                + "please try again later or with a more restrictive query.");
+
+        log.traceExit();
+    }
+
+    @Override
+    public void displayControllerException(ConnectionBudgetExceededException e) {
+        log.traceEntry("{}", e);
+
+        this.sendServiceUnavailableHeaders();
+
+        this.displayError("Server busy", "The server is currently too busy to process "
+                + "this type of request, please try again later.");
+
+        log.traceExit();
+    }
+
     @Override
     public void displayUnsupportedOperationException() {
         log.traceEntry();
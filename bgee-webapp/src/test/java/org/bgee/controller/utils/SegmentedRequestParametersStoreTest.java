@@ -0,0 +1,140 @@
+package org.bgee.controller.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bgee.TestAncestor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link SegmentedRequestParametersStore}.
+ *
+ * @author  Frederic Bastian
+ * @version Bgee 15.2, Oct. 2026
+ * @since   Bgee 15.2, Oct. 2026
+ */
+public class SegmentedRequestParametersStoreTest extends TestAncestor {
+
+    private final static Logger log =
+            LogManager.getLogger(SegmentedRequestParametersStoreTest.class.getName());
+
+    @Override
+    protected Logger getLogger() {
+        return log;
+    }
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    /**
+     * Test {@link SegmentedRequestParametersStore#store(String, String)} and
+     * {@link SegmentedRequestParametersStore#load(String)}, including when reopening
+     * the store and when segments are rolled over.
+     */
+    @Test
+    public void shouldStoreAndLoad() throws IOException {
+        String dir = testFolder.newFolder().getPath() + File.separator;
+        //very small segment size to use several segments
+        try (SegmentedRequestParametersStore store =
+                new SegmentedRequestParametersStore(dir, 1, 10)) {
+            assertNull(store.load("key1"));
+            assertTrue(store.store("key1", "page=gene&gene_id=ID1"));
+            assertFalse(store.store("key1", "page=gene&gene_id=ID1"));
+            assertTrue(store.store("key2", "page=top_anat&fg_list=é"));
+            assertTrue(store.store("key3", "page=expression"));
+            assertEquals("page=gene&gene_id=ID1", store.load("key1"));
+            assertEquals("page=top_anat&fg_list=é", store.load("key2"));
+            assertEquals(3, store.getStoredCount());
+        }
+        try (SegmentedRequestParametersStore store =
+                new SegmentedRequestParametersStore(dir, 1, 10)) {
+            assertEquals(3, store.getStoredCount());
+            assertEquals("page=gene&gene_id=ID1", store.load("key1"));
+            assertEquals("page=top_anat&fg_list=é", store.load("key2"));
+            assertEquals("page=expression", store.load("key3"));
+            assertFalse(store.store("key3", "page=expression"));
+        }
+    }
+
+    /**
+     * Test that {@link SegmentedRequestParametersStore#load(String)} retrieves
+     * the query strings stored by {@link FileRequestParametersStore}.
+     */
+    @Test
+    public void shouldLoadLegacyFiles() throws IOException {
+        String dir = testFolder.newFolder().getPath() + File.separator;
+        Files.write(FileRequestParametersStore.getFile(dir, "legacyKey"),
+                "page=gene".getBytes(StandardCharsets.UTF_8));
+        try (SegmentedRequestParametersStore store =
+                new SegmentedRequestParametersStore(dir, 10)) {
+            assertEquals(0, store.getStoredCount());
+            assertEquals("page=gene", store.load("legacyKey"));
+            assertEquals(1, store.getStoredCount());
+        }
+    }
+
+    /**
+     * Test two {@link SegmentedRequestParametersStore}s sharing a same directory,
+     * as several webapp instances would do: query strings stored by one instance
+     * must be retrieved by the other, and concurrent writes must not corrupt the segments.
+     */
+    @Test
+    public void shouldShareDirectory() throws IOException, InterruptedException, ExecutionException {
+        String dir = testFolder.newFolder().getPath() + File.separator;
+        //very small segment size to use several segments
+        try (SegmentedRequestParametersStore store1 =
+                    new SegmentedRequestParametersStore(dir, 0, 100);
+             SegmentedRequestParametersStore store2 =
+                    new SegmentedRequestParametersStore(dir, 0, 100)) {
+            assertTrue(store1.store("key1", "page=gene&gene_id=ID1"));
+            //not in the in-memory index of store2, the index files must be read again
+            assertEquals("page=gene&gene_id=ID1", store2.load("key1"));
+            assertFalse(store2.store("key1", "page=gene&gene_id=ID1"));
+            assertTrue(store2.store("key2", "page=expression"));
+            assertEquals("page=expression", store1.load("key2"));
+
+            //concurrent writes from both instances
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    final int id = i;
+                    final SegmentedRequestParametersStore store = i % 2 == 0? store1: store2;
+                    futures.add(executor.submit(() -> {
+                        store.store("concurrentKey" + id, "page=gene&gene_id=" + id);
+                        return null;
+                    }));
+                }
+                for (Future<?> future: futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        try (SegmentedRequestParametersStore store =
+                new SegmentedRequestParametersStore(dir, 0, 100)) {
+            assertEquals(202, store.getStoredCount());
+            for (int i = 0; i < 200; i++) {
+                assertEquals("page=gene&gene_id=" + i, store.load("concurrentKey" + i));
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.bgee.view;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -8,6 +10,7 @@ import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -184,6 +187,56 @@ public class JsonHelperTest extends TestAncestor {
                 out.toString());
     }
     
+    /**
+     * Test method {@link JsonHelper#toJson(LinkedHashMap, Appendable)} when an exception
+     * is thrown while generating the JSON.
+     */
+    @Test
+    public void shouldTerminateFailedJsonStream() {
+        JsonHelper helper = new JsonHelper();
+
+        //Failure before the first chunk is sent: nothing should be written
+        LinkedHashMap<String, Object> response = new LinkedHashMap<>();
+        response.put("code", 200);
+        response.put("data", Stream.of("1", "2").map(s -> {
+            if ("2".equals(s)) {
+                throw new IllegalStateException("test");
+            }
+            return s;
+        }));
+        StringBuilder out = new StringBuilder();
+        try {
+            helper.toJson(response, out);
+            fail("An exception should be thrown");
+        } catch (IllegalStateException e) {
+            //test passed
+        }
+        assertEquals("Nothing should be sent before the first chunk is full", "", out.toString());
+
+        //Failure after the first chunk is sent: the response should be terminated
+        //with an error object
+        int elementCount = JsonHelper.FLUSH_CHUNK_SIZE / 10 + 1;
+        response = new LinkedHashMap<>();
+        response.put("code", 200);
+        response.put("data", IntStream.range(0, elementCount + 1).mapToObj(i -> {
+            if (i == elementCount) {
+                throw new IllegalStateException("test");
+            }
+            return "element" + i;
+        }));
+        StringBuilder outCommitted = new StringBuilder();
+        try {
+            helper.toJson(response, outCommitted);
+            fail("An exception should be thrown");
+        } catch (IllegalStateException e) {
+            //test passed
+        }
+        assertTrue("Part of the response should have been sent",
+                outCommitted.toString().startsWith("{\n  \"code\": 200,"));
+        assertTrue("The response should be terminated with an error object",
+                outCommitted.toString().endsWith("\n" + JsonHelper.STREAM_ERROR_JSON));
+    }
+
     /**
      * Test the dumping of {@code Stream}s into JSON.
      */